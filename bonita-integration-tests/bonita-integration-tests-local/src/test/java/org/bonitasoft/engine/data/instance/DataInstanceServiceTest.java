@@ -87,7 +87,7 @@ public class DataInstanceServiceTest extends CommonBPMServicesTest {
         final ArchiveService archiveService = getTenantAccessor().getArchiveService();
         parentContainerResolver = getTenantAccessor().getParentContainerResolver();
         dataInstanceService = new DataInstanceServiceImpl(recorder, persistenceService, archiveService,
-                technicalLoggerService);
+                technicalLoggerService, getTransactionService(), getTenantAccessor().getEventService());
         final CacheService cacheService = getTenantAccessor().getCacheService();
         if (cacheService.isStopped()) {
             try {
@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.bonitasoft.engine.test.persistence.builder.ActorBuilder.anActor;
 import static org.bonitasoft.engine.test.persistence.builder.ActorMemberBuilder.anActorMember;
 import static org.bonitasoft.engine.test.persistence.builder.PendingActivityMappingBuilder.aPendingActivityMapping;
+import static org.bonitasoft.engine.test.persistence.builder.PendingTaskInboxEntryBuilder.aPendingTaskInboxEntry;
 import static org.bonitasoft.engine.test.persistence.builder.ProcessInstanceBuilder.aProcessInstance;
 import static org.bonitasoft.engine.test.persistence.builder.UserBuilder.aUser;
 import static org.bonitasoft.engine.test.persistence.builder.UserMembershipBuilder.aUserMembership;
@@ -451,19 +452,24 @@ public class FlowNodeInstanceTest {
         final SFlowNodeInstance normalTask1 = repository.add(aUserTask().withName("normalTask1").withStateExecuting(false).withStable(true).withTerminal(false)
                 .withRootProcessInstanceId(ROOT_PROCESS_INSTANCE_ID).withId(NORMAL_HUMAN_INSTANCE_ID).build());
         repository.add(aPendingActivityMapping().withUserId(JOHN_ID).withActivityId(normalTask1.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(JOHN_ID).forTask(normalTask1.getId()).build());
 
         // Tasks KO not assigned & pending for john, and OK not assigned & not pending
         final SFlowNodeInstance executingTask = buildAndAddExecutingTask();
         repository.add(aPendingActivityMapping().withUserId(JOHN_ID).withActivityId(executingTask.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(JOHN_ID).forTask(executingTask.getId()).build());
         final SFlowNodeInstance notStableTask = buildAndAddNotStableTask();
         repository.add(aPendingActivityMapping().withUserId(JOHN_ID).withActivityId(notStableTask.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(JOHN_ID).forTask(notStableTask.getId()).build());
         final SFlowNodeInstance terminalTask = buildAndAddTerminalTask();
         repository.add(aPendingActivityMapping().withUserId(JOHN_ID).withActivityId(terminalTask.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(JOHN_ID).forTask(terminalTask.getId()).build());
         buildAndAddNormalTask("normalTask4", ROOT_PROCESS_INSTANCE_ID);
 
         // Tasks OK not assigned & pending for Bob
         final SFlowNodeInstance normalTask4 = buildAndAddNormalTask("normalTask2", ROOT_PROCESS_INSTANCE_ID);
         repository.add(aPendingActivityMapping().withUserId(BOB_ID).withActivityId(normalTask4.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(BOB_ID).forTask(normalTask4.getId()).build());
     }
 
     private void buildAndAddTasksWithPendingMappingForActorMappedToUser() {
@@ -494,19 +500,24 @@ public class FlowNodeInstanceTest {
         final SFlowNodeInstance normalTask1 = repository.add(aUserTask().withName("normalTask1").withStateExecuting(false).withStable(true).withTerminal(false)
                 .withRootProcessInstanceId(ROOT_PROCESS_INSTANCE_ID).withId(NORMAL_HUMAN_INSTANCE_ID).build());
         repository.add(aPendingActivityMapping().withActorId(actorForJohn.getId()).withActivityId(normalTask1.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(JOHN_ID).forTask(normalTask1.getId()).build());
 
         // Tasks KO not assigned & pending for john, and OK not assigned & not pending
         final SFlowNodeInstance executingTask = buildAndAddExecutingTask();
         repository.add(aPendingActivityMapping().withActorId(actorForJohn.getId()).withActivityId(executingTask.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(JOHN_ID).forTask(executingTask.getId()).build());
         final SFlowNodeInstance notStableTask = buildAndAddNotStableTask();
         repository.add(aPendingActivityMapping().withActorId(actorForJohn.getId()).withActivityId(notStableTask.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(JOHN_ID).forTask(notStableTask.getId()).build());
         final SFlowNodeInstance terminalTask = buildAndAddTerminalTask();
         repository.add(aPendingActivityMapping().withActorId(actorForJohn.getId()).withActivityId(terminalTask.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(JOHN_ID).forTask(terminalTask.getId()).build());
         buildAndAddNormalTask("normalTask4", ROOT_PROCESS_INSTANCE_ID);
 
         // Tasks OK not assigned & pending for Bob
         final SFlowNodeInstance normalTask4 = buildAndAddNormalTask("normalTask2", ROOT_PROCESS_INSTANCE_ID);
         repository.add(aPendingActivityMapping().withActorId(actorForBob.getId()).withActivityId(normalTask4.getId()).build());
+        repository.add(aPendingTaskInboxEntry().forUser(BOB_ID).forTask(normalTask4.getId()).build());
     }
 
     private SFlowNodeInstance buildAndAddNormalTask(final String taskName, final long rootProcessInstanceId) {
@@ -240,6 +240,57 @@ public class ProcessInstanceQueriesTest {
         assertThat(userIds).containsExactly(john.getId(), marie.getId(), paul.getId(), walter.getId());
     }
 
+    @Test
+    public void getUserIdsOfActorMembershipMembers_should_return_users_having_a_membership_matching_the_actor_members() {
+        final SUser inGroup = repository.add(aUser().withId(1L).build());
+        final SUser inRole = repository.add(aUser().withId(2L).build());
+        final SUser inNeither = repository.add(aUser().withId(3L).build());
+        repository.add(aUserMembership().forUser(inGroup).memberOf(aGroupId, anotherRoleId).build());
+        repository.add(aUserMembership().forUser(inRole).memberOf(anotherGroupId, aRoleId).build());
+        repository.add(aUserMembership().forUser(inNeither).memberOf(anotherGroupId, anotherRoleId).build());
+        final SActor actor = repository.add(anActor().build());
+        repository.add(anActorMember().forActor(actor).withGroupId(aGroupId).withRoleId(-1).build());
+        repository.add(anActorMember().forActor(actor).withGroupId(-1).withRoleId(aRoleId).build());
+
+        final List<Long> userIds = repository.getUserIdsOfActorMembershipMembers(actor.getId());
+
+        assertThat(userIds).containsExactly(inGroup.getId(), inRole.getId());
+    }
+
+    @Test
+    public void getActorIdsOfMembership_should_return_actors_mapped_to_the_group_the_role_or_the_membership() {
+        final SActor groupActor = repository.add(anActor().build());
+        repository.add(anActorMember().forActor(groupActor).withGroupId(aGroupId).withRoleId(-1).build());
+        final SActor roleActor = repository.add(anActor().build());
+        repository.add(anActorMember().forActor(roleActor).withGroupId(-1).withRoleId(aRoleId).build());
+        final SActor membershipActor = repository.add(anActor().build());
+        repository.add(anActorMember().forActor(membershipActor).withGroupId(aGroupId).withRoleId(aRoleId).build());
+        final SActor otherActor = repository.add(anActor().build());
+        repository.add(anActorMember().forActor(otherActor).withGroupId(aGroupId).withRoleId(anotherRoleId).build());
+
+        final List<Long> actorIds = repository.getActorIdsOfMembership(aGroupId, aRoleId);
+
+        assertThat(actorIds).containsOnly(groupActor.getId(), roleActor.getId(), membershipActor.getId());
+    }
+
+    @Test
+    public void getPendingTaskIdsOfUserAmong_should_only_return_tasks_the_user_is_still_a_candidate_for() {
+        final SUser user = repository.add(aUser().withId(1L).build());
+        repository.add(aUserMembership().forUser(user).memberOf(aGroupId, aRoleId).build());
+        final SActor actorOfMembership = repository.add(anActor().build());
+        repository.add(anActorMember().forActor(actorOfMembership).withGroupId(aGroupId).withRoleId(-1).build());
+        final SActor actorOfOtherGroup = repository.add(anActor().build());
+        repository.add(anActorMember().forActor(actorOfOtherGroup).withGroupId(anotherGroupId).withRoleId(-1).build());
+        final SPendingActivityMapping stillPending = repository.add(aPendingActivityMapping().withActorId(actorOfMembership.getId()).build());
+        final SPendingActivityMapping mappedToUser = repository.add(aPendingActivityMapping().withUserId(user.getId()).build());
+        final SPendingActivityMapping noLongerPending = repository.add(aPendingActivityMapping().withActorId(actorOfOtherGroup.getId()).build());
+
+        final List<Long> taskIds = repository.getPendingTaskIdsOfUserAmong(user.getId(),
+                Arrays.asList(stillPending.getActivityId(), mappedToUser.getActivityId(), noLongerPending.getActivityId()));
+
+        assertThat(taskIds).containsOnly(stillPending.getActivityId(), mappedToUser.getActivityId());
+    }
+
     @Test
     public void getNumberOfSUserWhoCanStartPendingTask_should_return_users_mapped_through_user_filters() {
         final SUser expectedUser = repository.add(aUser().withId(1L).build());
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ */
+package org.bonitasoft.engine.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.bonitasoft.engine.identity.model.impl.SGroupImpl;
+import org.bonitasoft.engine.identity.model.impl.SRoleImpl;
+import org.bonitasoft.engine.test.persistence.builder.PersistentObjectBuilder;
+import org.bonitasoft.engine.test.persistence.repository.BatchInsertRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = { "/testContext.xml" })
+@Transactional
+public class BatchInsertTest {
+
+    @Inject
+    private BatchInsertRepository repository;
+
+    @Test
+    public void insertInBatch_should_prepare_one_statement_per_entity_type_when_entities_are_interleaved() throws Exception {
+        final List<PersistentObject> entities = new ArrayList<PersistentObject>();
+        for (long id = 1; id <= 10; id++) {
+            entities.add(aRole(id));
+            entities.add(aGroup(id));
+        }
+
+        final long preparedStatements = repository.insertInBatch(entities);
+
+        assertThat(preparedStatements).isEqualTo(2);
+    }
+
+    private SRoleImpl aRole(final long id) {
+        final SRoleImpl role = new SRoleImpl();
+        role.setId(id);
+        role.setTenantId(PersistentObjectBuilder.DEFAULT_TENANT_ID);
+        role.setName("role" + id);
+        return role;
+    }
+
+    private SGroupImpl aGroup(final long id) {
+        final SGroupImpl group = new SGroupImpl();
+        group.setId(id);
+        group.setTenantId(PersistentObjectBuilder.DEFAULT_TENANT_ID);
+        group.setName("group" + id);
+        return group;
+    }
+
+}
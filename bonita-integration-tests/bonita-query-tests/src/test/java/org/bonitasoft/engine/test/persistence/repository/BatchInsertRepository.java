@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ */
+package org.bonitasoft.engine.test.persistence.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bonitasoft.engine.identity.model.impl.SGroupImpl;
+import org.bonitasoft.engine.identity.model.impl.SRoleImpl;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerSLF4JImpl;
+import org.bonitasoft.engine.persistence.PersistentObject;
+import org.bonitasoft.engine.persistence.PlatformHibernatePersistenceService;
+import org.bonitasoft.engine.services.SPersistenceException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+public class BatchInsertRepository extends TestRepository {
+
+    private final SessionFactory sessionFactory;
+
+    private final IdentityPersistenceService persistenceService;
+
+    public BatchInsertRepository(final SessionFactory sessionFactory) throws ClassNotFoundException {
+        super(sessionFactory);
+        this.sessionFactory = sessionFactory;
+        persistenceService = new IdentityPersistenceService(sessionFactory);
+    }
+
+    /**
+     * @return the number of JDBC statements prepared to insert and flush the entities
+     */
+    public long insertInBatch(final List<PersistentObject> entities) throws SPersistenceException {
+        final Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            persistenceService.insertInBatch(entities);
+            getSession().flush();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private static class IdentityPersistenceService extends PlatformHibernatePersistenceService {
+
+        IdentityPersistenceService(final SessionFactory sessionFactory) throws ClassNotFoundException {
+            super(sessionFactory, Arrays.<Class<? extends PersistentObject>> asList(SRoleImpl.class, SGroupImpl.class),
+                    Collections.<String, String> emptyMap(), false, Collections.<String> emptySet(), new TechnicalLoggerSLF4JImpl());
+        }
+
+    }
+
+}
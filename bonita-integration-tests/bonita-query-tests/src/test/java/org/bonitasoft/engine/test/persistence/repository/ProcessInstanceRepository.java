@@ -59,6 +59,32 @@ public class ProcessInstanceRepository extends TestRepository {
         return ((Number) namedQuery.uniqueResult()).longValue() == 1;
     }
 
+    @SuppressWarnings("unchecked")
+    public List<Long> getUserIdsOfActorMembershipMembers(final long actorId) {
+        getSession().enableFilter("tenantFilter").setParameter("tenantId", PersistentObjectBuilder.DEFAULT_TENANT_ID);
+        final Query namedQuery = getNamedQuery("getUserIdsOfActorMembershipMembers");
+        namedQuery.setParameter("actorId", actorId);
+        return namedQuery.list();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Long> getActorIdsOfMembership(final long groupId, final long roleId) {
+        getSession().enableFilter("tenantFilter").setParameter("tenantId", PersistentObjectBuilder.DEFAULT_TENANT_ID);
+        final Query namedQuery = getNamedQuery("getActorIdsOfMembership");
+        namedQuery.setParameter("groupId", groupId);
+        namedQuery.setParameter("roleId", roleId);
+        return namedQuery.list();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Long> getPendingTaskIdsOfUserAmong(final long userId, final List<Long> humanTaskInstanceIds) {
+        getSession().enableFilter("tenantFilter").setParameter("tenantId", PersistentObjectBuilder.DEFAULT_TENANT_ID);
+        final Query namedQuery = getNamedQuery("getPendingTaskIdsOfUserAmong");
+        namedQuery.setParameter("userId", userId);
+        namedQuery.setParameterList("humanTaskInstanceIds", humanTaskInstanceIds);
+        return namedQuery.list();
+    }
+
     public long countChildrenInstanceIdsOfProcessInstance(final long processInstanceId) {
         getSession().enableFilter("tenantFilter").setParameter("tenantId", PersistentObjectBuilder.DEFAULT_TENANT_ID);
         final Query namedQuery = getNamedQuery("getNumberOfChildInstancesOfProcessInstance");
@@ -52,4 +52,12 @@ public class BusinessDataQueryResultImpl implements BusinessDataQueryResult {
     public List getResult() {
         return null;
     }
+
+    /**
+     * @return false, the results of a business data query are all in its JSON results
+     * @see org.bonitasoft.engine.search.CountedSearchResult#hasMoreResults()
+     */
+    public boolean hasMoreResults() {
+        return false;
+    }
 }
@@ -26,6 +26,7 @@ import org.bonitasoft.engine.bpm.document.DocumentValue;
 import org.bonitasoft.engine.bpm.process.ProcessInstanceNotFoundException;
 import org.bonitasoft.engine.exception.AlreadyExistsException;
 import org.bonitasoft.engine.exception.DeletionException;
+import org.bonitasoft.engine.exception.IncorrectParameterException;
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.identity.UserNotFoundException;
 import org.bonitasoft.engine.search.SearchOptions;
@@ -283,6 +284,27 @@ public interface DocumentAPI {
      */
     byte[] getDocumentContent(String storageId) throws DocumentNotFoundException;
 
+    /**
+     * Get a range of the content of the document with the specified identifier.
+     * Large contents can be read chunk by chunk with this method instead of being loaded at once.
+     *
+     * @param storageId
+     *        The identifier of the document to retrieve the content from
+     * @param offset
+     *        The position of the first byte to read
+     * @param length
+     *        The maximum number of bytes to read
+     * @return the bytes of the document content in the range, fewer than length bytes when the end of the content is reached
+     * @throws DocumentNotFoundException
+     *         If the specified identifier does not refer to an existing document.
+     * @throws IncorrectParameterException
+     *         If the offset or the length is negative.
+     * @throws org.bonitasoft.engine.session.InvalidSessionException
+     *         when the session is note valid
+     * @since 7.2
+     */
+    byte[] getDocumentContent(String storageId, long offset, int length) throws DocumentNotFoundException, IncorrectParameterException;
+
     /**
      * Get the last version of the named document for the specified process instance.
      * This method does not work on archived process instances.
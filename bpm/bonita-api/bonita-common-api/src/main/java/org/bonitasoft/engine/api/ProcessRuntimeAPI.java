@@ -326,6 +326,28 @@ public interface ProcessRuntimeAPI {
      */
     long deleteArchivedProcessInstances(long processDefinitionId, int startIndex, int maxResults) throws DeletionException;
 
+    /**
+     * Purge the archived process instances of process definition given as input parameter that ended in the given period, with the archived
+     * elements of all the process instances they called.
+     * Unlike {@link #deleteArchivedProcessInstances(long, int, int)}, archived process instances are not deleted in the transaction of the call:
+     * they are deleted by chunks of root process instances, each chunk in its own transaction, using several threads. The number of threads, the
+     * size of a chunk and the pause between two chunks are configured in bonita-tenant-community.properties.
+     * A chunk that can't be purged is logged and left untouched, calling this method again for the same period resumes the purge.
+     * No event is fired for the deleted archived elements.
+     *
+     * @param processDefinitionId
+     *        Identifier of the processDefinition
+     * @param fromEndDate
+     *        The lowest end date of the root process instances to purge, inclusive
+     * @param toEndDate
+     *        The highest end date of the root process instances to purge, exclusive
+     * @return The number of archived process instances that have been deleted in any state, including the called ones
+     * @throws DeletionException
+     *         If the process instances to purge can't be read
+     * @since 7.2
+     */
+    long purgeArchivedProcessInstances(long processDefinitionId, Date fromEndDate, Date toEndDate) throws DeletionException;
+
     /**
      * Delete all archived process instance (different states) of the source identifier list.
      * Passing {@link Integer#MAX_VALUE} identifiers is discouraged as the amount of operations may be large and may thus result in timeout operation.
@@ -0,0 +1,27 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.connector;
+
+/**
+ * Marker of the {@link Connector}s whose instances can be executed more than once.
+ * Once disconnected, an instance of a reusable connector may be kept by the engine and given the inputs of a later execution of the same
+ * implementation, instead of creating a new instance.
+ * Implementations must not keep any state of an execution once {@link #disconnect()} is called, other than what is replaced by
+ * {@link #setInputParameters(java.util.Map)}.
+ *
+ * @since 7.2
+ */
+public interface ReusableConnector extends Connector {
+
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.search;
+
+/**
+ * How the total number of results of a search is computed, see {@link SearchResult#getCount()}.
+ *
+ * @since 7.2
+ */
+public enum CountMode {
+
+    /**
+     * All matching results are counted.
+     */
+    EXACT,
+
+    /**
+     * Matching results are counted up to the count limit of the {@link SearchOptions}, without counting the whole table. Use
+     * {@link CountedSearchResult#isCountExact()} to know if the limit was reached.
+     */
+    CAPPED,
+
+    /**
+     * Matching results are not counted, {@link SearchResult#getCount()} returns the number of results known to match from the retrieved ones. Use
+     * {@link CountedSearchResult#hasMoreResults()} to know if there is a next page.
+     */
+    NONE;
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.search;
+
+import java.io.Serializable;
+
+/**
+ * {@link SearchResult} telling how its count was computed, for searches whose {@link SearchOptions} do not count all matching results (see
+ * {@link SearchOptionsBuilder#countUpTo(int)} and {@link SearchOptionsBuilder#withoutCount()}).
+ * The results of the searches of the engine APIs are <code>CountedSearchResult</code>s.
+ *
+ * @param <T>
+ *        the type of the objects being returned by the search.
+ * @since 7.2
+ */
+public interface CountedSearchResult<T extends Serializable> extends SearchResult<T> {
+
+    /**
+     * Tell whether some matching results are after the ones retrieved by the search, i.e. whether there is a next page.
+     *
+     * @return true if there are more matching results after the retrieved ones
+     */
+    boolean hasMoreResults();
+
+    /**
+     * Tell whether {@link #getCount()} is the total number of matching results. When it is not, {@link #getCount()} is a lower bound of it: the limit of
+     * a capped count, or the number of results known to match when the results are not counted.
+     *
+     * @return true if {@link #getCount()} is the total number of matching results
+     */
+    boolean isCountExact();
+
+}
@@ -58,6 +58,10 @@ public class SearchOptionsBuilder {
         options.setFilters(searchOptions.getFilters());
         options.setSorts(searchOptions.getSorts());
         options.setSearchTerm(searchOptions.getSearchTerm());
+        if (searchOptions instanceof SearchOptionsImpl) {
+            options.setCountMode(((SearchOptionsImpl) searchOptions).getCountMode());
+            options.setCountLimit(((SearchOptionsImpl) searchOptions).getCountLimit());
+        }
     }
 
     /**
@@ -220,6 +224,36 @@ public class SearchOptionsBuilder {
         return this;
     }
 
+    /**
+     * Count the matching results only up to {@code limit}: {@link SearchResult#getCount()} returns the number of matching results if it is lower than
+     * {@code limit}, {@code limit} otherwise. At most {@code limit} results are read to count them, instead of counting all matching results.
+     * {@link CountedSearchResult#isCountExact()} tells whether the limit was reached.
+     *
+     * @param limit
+     *        the number of results up to which the matching results are counted
+     * @return this builder itself
+     * @see CountMode#CAPPED
+     * @since 7.2
+     */
+    public SearchOptionsBuilder countUpTo(final int limit) {
+        options.setCountMode(CountMode.CAPPED);
+        options.setCountLimit(limit);
+        return this;
+    }
+
+    /**
+     * Do not count the matching results: {@link SearchResult#getCount()} returns the number of results known to match from the retrieved ones, and
+     * {@link CountedSearchResult#hasMoreResults()} tells whether there is a next page.
+     *
+     * @return this builder itself
+     * @see CountMode#NONE
+     * @since 7.2
+     */
+    public SearchOptionsBuilder withoutCount() {
+        options.setCountMode(CountMode.NONE);
+        return this;
+    }
+
     /**
      * @return the <code>SearchOptions</code> finally built using this builder.
      */
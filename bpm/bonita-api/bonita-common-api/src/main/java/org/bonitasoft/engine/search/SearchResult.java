@@ -34,6 +34,7 @@ public interface SearchResult<T extends Serializable> extends Serializable {
     /**
      * Get the total number of matching result in the data base. This number can be greater than the number of elements retrieved in the search depending on
      * paging criterion.
+     * When the search options do not count all matching results, this number can be a lower bound of it, see {@link CountedSearchResult#isCountExact()}.
      * 
      * @return The total number of matching result in the data base.
      * @since 6.0
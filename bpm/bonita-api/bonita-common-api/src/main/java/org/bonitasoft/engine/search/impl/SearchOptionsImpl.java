@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.bonitasoft.engine.exception.IncorrectParameterException;
+import org.bonitasoft.engine.search.CountMode;
 import org.bonitasoft.engine.search.Order;
 import org.bonitasoft.engine.search.SearchFilterOperation;
 import org.bonitasoft.engine.search.SearchOptions;
@@ -42,6 +43,10 @@ public class SearchOptionsImpl implements SearchOptions {
 
     private List<Sort> sorts;
 
+    private CountMode countMode = CountMode.EXACT;
+
+    private int countLimit;
+
     public SearchOptionsImpl(final int startIndex, final int numberOfResults) {
         filters = new ArrayList<SearchFilter>(5);
         sorts = new ArrayList<Sort>(2);
@@ -150,6 +155,35 @@ public class SearchOptionsImpl implements SearchOptions {
         this.sorts = sorts;
     }
 
+    /**
+     * How the total number of matching results is computed
+     *
+     * @return the count mode, {@link CountMode#EXACT} by default
+     * @since 7.2
+     */
+    public CountMode getCountMode() {
+        // options serialized by a client of a previous version have no count mode
+        return countMode == null ? CountMode.EXACT : countMode;
+    }
+
+    public void setCountMode(final CountMode countMode) {
+        this.countMode = countMode;
+    }
+
+    /**
+     * The number of results up to which matching results are counted when the count mode is {@link CountMode#CAPPED}
+     *
+     * @return the count limit
+     * @since 7.2
+     */
+    public int getCountLimit() {
+        return countLimit;
+    }
+
+    public void setCountLimit(final int countLimit) {
+        this.countLimit = countLimit;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -159,6 +193,8 @@ public class SearchOptionsImpl implements SearchOptions {
         result = prime * result + (searchTerm == null ? 0 : searchTerm.hashCode());
         result = prime * result + (sorts == null ? 0 : sorts.hashCode());
         result = prime * result + startIndex;
+        result = prime * result + getCountMode().hashCode();
+        result = prime * result + countLimit;
         return result;
     }
 
@@ -201,6 +237,12 @@ public class SearchOptionsImpl implements SearchOptions {
         if (startIndex != other.startIndex) {
             return false;
         }
+        if (getCountMode() != other.getCountMode()) {
+            return false;
+        }
+        if (countLimit != other.countLimit) {
+            return false;
+        }
         return true;
     }
 
@@ -16,12 +16,12 @@ package org.bonitasoft.engine.search.impl;
 import java.io.Serializable;
 import java.util.List;
 
-import org.bonitasoft.engine.search.SearchResult;
+import org.bonitasoft.engine.search.CountedSearchResult;
 
 /**
  * @author Emmanuel Duchastenier
  */
-public class SearchResultImpl<T extends Serializable> implements SearchResult<T> {
+public class SearchResultImpl<T extends Serializable> implements CountedSearchResult<T> {
 
     private static final long serialVersionUID = -685595668360293014L;
 
@@ -29,10 +29,25 @@ public class SearchResultImpl<T extends Serializable> implements SearchResult<T>
 
     private final List<T> list;
 
+    private final boolean hasMoreResults;
+
+    // false when deserialized from a result of an older server, which always counted exactly
+    private final boolean countLowerBound;
+
     public SearchResultImpl(final long count, final List<T> list) {
+        this(count, list, false);
+    }
+
+    public SearchResultImpl(final long count, final List<T> list, final boolean hasMoreResults) {
+        this(count, list, hasMoreResults, true);
+    }
+
+    public SearchResultImpl(final long count, final List<T> list, final boolean hasMoreResults, final boolean countExact) {
         super();
         this.count = count;
         this.list = list;
+        this.hasMoreResults = hasMoreResults;
+        countLowerBound = !countExact;
     }
 
     @Override
@@ -45,12 +60,24 @@ public class SearchResultImpl<T extends Serializable> implements SearchResult<T>
         return list;
     }
 
+    @Override
+    public boolean hasMoreResults() {
+        return hasMoreResults;
+    }
+
+    @Override
+    public boolean isCountExact() {
+        return !countLowerBound;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + (int) (count ^ count >>> 32);
         result = prime * result + (list == null ? 0 : list.hashCode());
+        result = prime * result + (hasMoreResults ? 1231 : 1237);
+        result = prime * result + (countLowerBound ? 1231 : 1237);
         return result;
     }
 
@@ -69,6 +96,12 @@ public class SearchResultImpl<T extends Serializable> implements SearchResult<T>
         if (count != other.count) {
             return false;
         }
+        if (hasMoreResults != other.hasMoreResults) {
+            return false;
+        }
+        if (countLowerBound != other.countLowerBound) {
+            return false;
+        }
         if (list == null) {
             if (other.list != null) {
                 return false;
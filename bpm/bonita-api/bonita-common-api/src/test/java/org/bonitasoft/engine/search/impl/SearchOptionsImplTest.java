@@ -15,6 +15,7 @@ package org.bonitasoft.engine.search.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.bonitasoft.engine.search.CountMode;
 import org.junit.Test;
 
 public class SearchOptionsImplTest {
@@ -35,6 +36,20 @@ public class SearchOptionsImplTest {
         assertThat(options1.hashCode()).isEqualTo(options2.hashCode());
     }
 
+    @Test
+    public void should_count_exactly_by_default() {
+        assertThat(buildSearchOptions().getCountMode()).isEqualTo(CountMode.EXACT);
+    }
+
+    @Test
+    public void equals_should_check_the_count_mode() {
+        final SearchOptionsImpl options1 = buildSearchOptions();
+        final SearchOptionsImpl options2 = buildSearchOptions();
+        options2.setCountMode(CountMode.NONE);
+
+        assertThat(options1).isNotEqualTo(options2);
+    }
+
     private SearchOptionsImpl buildSearchOptions() {
         final SearchOptionsImpl options = new SearchOptionsImpl(0, 2000);
         options.addFilter("field1", "value");
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.connector.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bonitasoft.engine.core.connector.parser.JarDependencies;
+import org.bonitasoft.engine.core.connector.parser.SConnectorImplementationDescriptor;
+
+/**
+ * Compact binary form of all the connector implementation descriptors of a process.
+ * It is written when the connector implementations of a process are deployed, so that they can be loaded again without parsing each
+ * implementation XML.
+ */
+public final class ConnectorImplementationIndex {
+
+    public static final String NAME = "connectors.index";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private ConnectorImplementationIndex() {
+    }
+
+    public static byte[] write(final List<SConnectorImplementationDescriptor> descriptors) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(FORMAT_VERSION);
+            output.writeInt(descriptors.size());
+            for (final SConnectorImplementationDescriptor descriptor : descriptors) {
+                writeString(output, descriptor.getImplementationClassName());
+                writeString(output, descriptor.getId());
+                writeString(output, descriptor.getVersion());
+                writeString(output, descriptor.getDefinitionId());
+                writeString(output, descriptor.getDefinitionVersion());
+                final List<String> dependencies = descriptor.getJarDependencies() == null ? null : descriptor.getJarDependencies().getDependencies();
+                if (dependencies == null) {
+                    output.writeInt(-1);
+                } else {
+                    output.writeInt(dependencies.size());
+                    for (final String dependency : dependencies) {
+                        writeString(output, dependency);
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the descriptors of the index, or null if the index was written in a format this version does not read
+     */
+    public static List<SConnectorImplementationDescriptor> read(final byte[] index) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(index))) {
+            if (input.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            final int size = input.readInt();
+            final List<SConnectorImplementationDescriptor> descriptors = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final String implementationClassName = readString(input);
+                final String id = readString(input);
+                final String version = readString(input);
+                final String definitionId = readString(input);
+                final String definitionVersion = readString(input);
+                final int numberOfDependencies = input.readInt();
+                JarDependencies jarDependencies = null;
+                if (numberOfDependencies >= 0) {
+                    final List<String> dependencies = new ArrayList<>(numberOfDependencies);
+                    for (int j = 0; j < numberOfDependencies; j++) {
+                        dependencies.add(readString(input));
+                    }
+                    jarDependencies = new JarDependencies(dependencies);
+                }
+                descriptors.add(new SConnectorImplementationDescriptor(implementationClassName, id, version, definitionId, definitionVersion,
+                        jarDependencies));
+            }
+            return descriptors;
+        }
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+}
@@ -57,6 +57,7 @@ import org.bonitasoft.engine.persistence.SelectListDescriptor;
 import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.BulkDeleteRecord;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
 import org.bonitasoft.engine.recorder.model.InsertRecord;
@@ -216,20 +217,6 @@ public class ConnectorInstanceServiceImpl implements ConnectorInstanceService {
         }
     }
 
-    private List<SConnectorInstance> getConnectorInstancesOrderedById(final long containerId, final String containerType, final int from,
-            final int numberOfResult) throws SConnectorInstanceReadException {
-        final Map<String, Object> inputParameters = new HashMap<String, Object>(2);
-        inputParameters.put("containerId", containerId);
-        inputParameters.put("containerType", containerType);
-        final SelectListDescriptor<SConnectorInstance> selectListDescriptor = new SelectListDescriptor<SConnectorInstance>("getConnectorInstancesOrderedById",
-                inputParameters, SConnectorInstance.class, new QueryOptions(from, numberOfResult));
-        try {
-            return persistenceService.selectList(selectListDescriptor);
-        } catch (final SBonitaReadException e) {
-            throw new SConnectorInstanceReadException(e);
-        }
-    }
-
     @Override
     public SConnectorInstance getNextExecutableConnectorInstance(final long containerId, final String containerType, final ConnectorEvent activationEvent)
             throws SConnectorInstanceReadException {
@@ -398,14 +385,12 @@ public class ConnectorInstanceServiceImpl implements ConnectorInstanceService {
     @Override
     public void deleteConnectors(final long containerId, final String containerType) throws SConnectorInstanceReadException,
             SConnectorInstanceDeletionException {
-        List<SConnectorInstance> connetorInstances;
-        do {
-            // the QueryOptions always will use 0 as start index because the retrieved results will be deleted
-            connetorInstances = getConnectorInstancesOrderedById(containerId, containerType, 0, 100);
-            for (final SConnectorInstance sConnectorInstance : connetorInstances) {
-                deleteConnectorInstance(sConnectorInstance);
-            }
-        } while (!connetorInstances.isEmpty());
+        final List<FilterOption> filters = buildFiltersForConnectors(containerId, containerType, false);
+        try {
+            recorder.recordBulkDelete(new BulkDeleteRecord(SConnectorInstance.class, filters, CONNECTOR_INSTANCE));
+        } catch (final SRecorderException e) {
+            throw new SConnectorInstanceDeletionException(e);
+        }
     }
 
     private List<FilterOption> buildFiltersForConnectors(final long containerId, final String containerType, final boolean archived) {
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.connector.impl;
+
+import java.lang.reflect.Constructor;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bonitasoft.engine.classloader.ClassLoaderListener;
+import org.bonitasoft.engine.classloader.ClassLoaderService;
+import org.bonitasoft.engine.connector.Connector;
+import org.bonitasoft.engine.connector.ReusableConnector;
+import org.bonitasoft.engine.dependency.model.ScopeType;
+
+/**
+ * Creates the instances of connector implementations.
+ * The constructor of an implementation class is looked up once per process definition and class loader, and dropped when the class loader of
+ * the process is updated or destroyed.
+ * Instances of {@link ReusableConnector}s are kept once released, up to maxIdleInstances per implementation class, and given back by the
+ * next {@link #newInstance(long, String, ClassLoader)}.
+ */
+public class ConnectorInstantiator {
+
+    private final ClassLoaderService classLoaderService;
+
+    private final int maxIdleInstances;
+
+    private final ConcurrentMap<Long, ConnectorClasses> connectorClassesByProcess = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Queue<Connector>> idleConnectors = new ConcurrentHashMap<>();
+
+    public ConnectorInstantiator(final ClassLoaderService classLoaderService, final int maxIdleInstances) {
+        this.classLoaderService = classLoaderService;
+        this.maxIdleInstances = maxIdleInstances;
+    }
+
+    public Connector newInstance(final long processDefinitionId, final String implementationClassName, final ClassLoader classLoader)
+            throws ReflectiveOperationException {
+        final Constructor<? extends Connector> constructor = getConstructor(processDefinitionId, implementationClassName, classLoader);
+        final Queue<Connector> idle = idleConnectors.get(constructor.getDeclaringClass());
+        if (idle != null) {
+            final Connector connector = idle.poll();
+            if (connector != null) {
+                return connector;
+            }
+        }
+        return constructor.newInstance();
+    }
+
+    /**
+     * Give back a connector that was disconnected, it is kept for a later execution if it is a {@link ReusableConnector}
+     */
+    public void release(final Connector connector) {
+        if (maxIdleInstances <= 0 || !(connector instanceof ReusableConnector)) {
+            return;
+        }
+        Queue<Connector> idle = idleConnectors.get(connector.getClass());
+        if (idle == null) {
+            final Queue<Connector> newIdle = new ArrayBlockingQueue<>(maxIdleInstances);
+            idle = idleConnectors.putIfAbsent(connector.getClass(), newIdle);
+            if (idle == null) {
+                idle = newIdle;
+            }
+        }
+        // when the queue is full the connector is simply dropped
+        idle.offer(connector);
+    }
+
+    private Constructor<? extends Connector> getConstructor(final long processDefinitionId, final String implementationClassName,
+            final ClassLoader classLoader) throws ReflectiveOperationException {
+        final ConnectorClasses connectorClasses = getConnectorClasses(processDefinitionId, classLoader);
+        Constructor<? extends Connector> constructor = connectorClasses.constructors.get(implementationClassName);
+        if (constructor == null) {
+            constructor = Class.forName(implementationClassName, true, classLoader).asSubclass(Connector.class).getConstructor();
+            connectorClasses.constructors.put(implementationClassName, constructor);
+        }
+        return constructor;
+    }
+
+    private ConnectorClasses getConnectorClasses(final long processDefinitionId, final ClassLoader classLoader) {
+        final ConnectorClasses connectorClasses = connectorClassesByProcess.get(processDefinitionId);
+        if (connectorClasses != null && connectorClasses.classLoader == classLoader) {
+            return connectorClasses;
+        }
+        if (connectorClasses != null) {
+            evict(processDefinitionId);
+        }
+        final ConnectorClasses newConnectorClasses = new ConnectorClasses(classLoader);
+        connectorClassesByProcess.put(processDefinitionId, newConnectorClasses);
+        classLoaderService.addListener(ScopeType.PROCESS.name(), processDefinitionId, new EvictionListener(processDefinitionId));
+        return newConnectorClasses;
+    }
+
+    void evict(final long processDefinitionId) {
+        final ConnectorClasses connectorClasses = connectorClassesByProcess.remove(processDefinitionId);
+        if (connectorClasses != null) {
+            for (final Constructor<? extends Connector> constructor : connectorClasses.constructors.values()) {
+                idleConnectors.remove(constructor.getDeclaringClass());
+            }
+        }
+    }
+
+    private static final class ConnectorClasses {
+
+        private final ClassLoader classLoader;
+
+        private final ConcurrentMap<String, Constructor<? extends Connector>> constructors = new ConcurrentHashMap<>();
+
+        ConnectorClasses(final ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+    }
+
+    private final class EvictionListener implements ClassLoaderListener {
+
+        private final long processDefinitionId;
+
+        EvictionListener(final long processDefinitionId) {
+            this.processDefinitionId = processDefinitionId;
+        }
+
+        @Override
+        public void onUpdate(final ClassLoader newClassLoader) {
+            evict(processDefinitionId);
+        }
+
+        @Override
+        public void onDestroy(final ClassLoader oldClassLoader) {
+            evict(processDefinitionId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof EvictionListener && ((EvictionListener) obj).processDefinitionId == processDefinitionId;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (processDefinitionId ^ processDefinitionId >>> 32);
+        }
+    }
+
+}
@@ -32,6 +32,7 @@ import org.bonitasoft.engine.bar.ResourcesService;
 import org.bonitasoft.engine.bar.SBARResource;
 import org.bonitasoft.engine.cache.CacheService;
 import org.bonitasoft.engine.cache.SCacheException;
+import org.bonitasoft.engine.classloader.ClassLoaderService;
 import org.bonitasoft.engine.commons.exceptions.SBonitaException;
 import org.bonitasoft.engine.commons.io.IOUtil;
 import org.bonitasoft.engine.connector.Connector;
@@ -93,10 +94,12 @@ public class ConnectorServiceImpl implements ConnectorService {
     private final TechnicalLoggerService logger;
     private final TimeTracker timeTracker;
     private final ResourcesService resourcesService;
+    private final ConnectorInstantiator connectorInstantiator;
 
     public ConnectorServiceImpl(final CacheService cacheService, final ConnectorExecutor connectorExecutor, final ParserFactory parserFactory,
                                 final ExpressionResolverService expressionResolverService, final OperationService operationService,
-                                final DependencyService dependencyService, final TechnicalLoggerService logger, final TimeTracker timeTracker, ResourcesService resourcesService) {
+                                final DependencyService dependencyService, final TechnicalLoggerService logger, final TimeTracker timeTracker, ResourcesService resourcesService,
+                                final ClassLoaderService classLoaderService, final int maxIdleReusableConnectors) {
         this.cacheService = cacheService;
         this.connectorExecutor = connectorExecutor;
         this.expressionResolverService = expressionResolverService;
@@ -109,6 +112,7 @@ public class ConnectorServiceImpl implements ConnectorService {
         this.dependencyService = dependencyService;
         this.logger = logger;
         this.timeTracker = timeTracker;
+        connectorInstantiator = new ConnectorInstantiator(classLoaderService, maxIdleReusableConnectors);
     }
 
     /**
@@ -144,7 +148,7 @@ public class ConnectorServiceImpl implements ConnectorService {
             SConnectorImplementationDescriptor connectorImplementationDescriptor, final ClassLoader classLoader,
                                             final Map<String, Object> inputParameters) throws SConnectorException {
         final String implementationClassName = connectorImplementationDescriptor.getImplementationClassName();
-        final ConnectorResult connectorResult = executeConnectorInClassloader(implementationClassName, classLoader, inputParameters);
+        final ConnectorResult connectorResult = executeConnectorInClassloader(processDefinitionId, implementationClassName, classLoader, inputParameters);
         if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.DEBUG)) {
             final String message = "Executed connector " + buildConnectorContextMessage(sConnectorInstance)
                     + buildConnectorInputMessage(inputParameters);
@@ -192,6 +196,7 @@ public class ConnectorServiceImpl implements ConnectorService {
         final long startTime = System.currentTimeMillis();
         try {
             connectorExecutor.disconnect(new SConnectorAdapter(result.getConnector()));
+            connectorInstantiator.release(result.getConnector());
         } catch (final org.bonitasoft.engine.connector.exception.SConnectorException e) {
             throw new SConnectorException(e);
         } finally {
@@ -249,7 +254,7 @@ public class ConnectorServiceImpl implements ConnectorService {
         } catch (final SBonitaException e) {
             throw new SConnectorException(e);
             }
-            final ConnectorResult connectorResult = executeConnectorInClassloader(implementationClassName, classLoader, inputParameters);
+            final ConnectorResult connectorResult = executeConnectorInClassloader(processDefinitionId, implementationClassName, classLoader, inputParameters);
             if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.DEBUG)) {
             logger.log(this.getClass(), TechnicalLogSeverity.DEBUG, "Executed connector <" + implementationClassName
                     + "> with definition id <" + connectorDefinitionId + ">, version <" + connectorDefinitionVersion
@@ -258,19 +263,19 @@ public class ConnectorServiceImpl implements ConnectorService {
             return connectorResult;
     }
 
-    private ConnectorResult executeConnectorInClassloader(final String implementationClassName, final ClassLoader classLoader,
+    private ConnectorResult executeConnectorInClassloader(final long processDefinitionId, final String implementationClassName, final ClassLoader classLoader,
             final Map<String, Object> inputParameters) throws SConnectorException {
         final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(classLoader);
-            final Connector connector = (Connector) Class.forName(implementationClassName, true, classLoader).newInstance();
+            final Connector connector = connectorInstantiator.newInstance(processDefinitionId, implementationClassName, classLoader);
             final SConnectorAdapter sConnectorAdapter = new SConnectorAdapter(connector);
             return new ConnectorResult(connector, connectorExecutor.execute(sConnectorAdapter, inputParameters, classLoader));
         } catch (final ClassNotFoundException e) {
             throw new SConnectorException(implementationClassName + " can not be found.", e);
-        } catch (final InstantiationException e) {
+        } catch (final InstantiationException | NoSuchMethodException e) {
             throw new SConnectorException(implementationClassName + " can not be instantiated.", e);
-        } catch (final IllegalAccessException | org.bonitasoft.engine.connector.exception.SConnectorException e) {
+        } catch (final ReflectiveOperationException | org.bonitasoft.engine.connector.exception.SConnectorException e) {
             throw new SConnectorException(e);
         } finally {
             Thread.currentThread().setContextClassLoader(contextClassLoader);
@@ -310,33 +315,92 @@ public class ConnectorServiceImpl implements ConnectorService {
         return inputParameters;
     }
 
+    /**
+     * Parse the implementation XMLs of the process, cache them and write the connector implementation index of the process
+     */
     @Override
     public boolean loadConnectors(final SProcessDefinition sDefinition) throws SConnectorException {
-        return loadConnectors(sDefinition.getId());
+        return loadConnectors(sDefinition, parseConnectorImplementations(sDefinition.getId()));
+    }
+
+    @Override
+    public boolean loadConnectors(final SProcessDefinition sDefinition, final List<SConnectorImplementationDescriptor> descriptors) throws SConnectorException {
+        cache(sDefinition.getId(), descriptors);
+        writeIndex(sDefinition.getId(), descriptors);
+        return true;
     }
 
     protected boolean loadConnectors(final long processDefinitionId) throws SConnectorException {
-        String name = null;
+        List<SConnectorImplementationDescriptor> descriptors = readIndex(processDefinitionId);
+        if (descriptors == null) {
+            // process deployed without index
+            descriptors = parseConnectorImplementations(processDefinitionId);
+        }
+        cache(processDefinitionId, descriptors);
+        return true;
+    }
+
+    private List<SConnectorImplementationDescriptor> parseConnectorImplementations(final long processDefinitionId) throws SConnectorException {
+        final List<SBARResource> connectorImplementations;
         try {
-            final List<SBARResource> connectorImplementations = getConnectorImplementations(processDefinitionId, 0, Integer.MAX_VALUE);
-            for (SBARResource connectorImplementationFile : connectorImplementations) {
-                name = connectorImplementationFile.getName();
-                final Object objectFromXML = parser.getObjectFromXML(connectorImplementationFile.getContent());
-                            if (objectFromXML == null) {
-                                throw new SConnectorException("Can not parse ConnectorImplementation XML. The file name is <" + name + ">.");
-                            }
-                            // check dependencies in the bar
-                cache(processDefinitionId, (SConnectorImplementationDescriptor) objectFromXML);
-            }
-        } catch (final IOException | SXMLParseException e) {
-                            throw new SConnectorException("Can not load ConnectorImplementation XML. The file name is <" + name + ">.", e);
-                        } catch (final SCacheException e) {
-                            throw new SConnectorException("Unable to cache the connector implementation " + name + ".", e);
+            connectorImplementations = getConnectorImplementations(processDefinitionId, 0, Integer.MAX_VALUE);
         } catch (SBonitaReadException e) {
             throw new SConnectorException("Unable to list the connector implementations", e);
-                        }
-        return true;
-                    }
+        }
+        final List<SConnectorImplementationDescriptor> descriptors = new ArrayList<>(connectorImplementations.size());
+        for (SBARResource connectorImplementationFile : connectorImplementations) {
+            descriptors.add(parseConnectorImplementation(connectorImplementationFile.getName(), connectorImplementationFile.getContent()));
+        }
+        return descriptors;
+    }
+
+    @Override
+    public SConnectorImplementationDescriptor parseConnectorImplementation(final String name, final byte[] content) throws SConnectorException {
+        try {
+            final Object objectFromXML = parser.getObjectFromXML(content);
+            if (objectFromXML == null) {
+                throw new SConnectorException("Can not parse ConnectorImplementation XML. The file name is <" + name + ">.");
+            }
+            return (SConnectorImplementationDescriptor) objectFromXML;
+        } catch (final IOException | SXMLParseException e) {
+            throw new SConnectorException("Can not load ConnectorImplementation XML. The file name is <" + name + ">.", e);
+        }
+    }
+
+    private void cache(final long processDefinitionId, final List<SConnectorImplementationDescriptor> descriptors) throws SConnectorException {
+        for (final SConnectorImplementationDescriptor descriptor : descriptors) {
+            try {
+                cache(processDefinitionId, descriptor);
+            } catch (final SCacheException e) {
+                throw new SConnectorException("Unable to cache the connector implementation " + descriptor.getId() + ".", e);
+            }
+        }
+    }
+
+    private List<SConnectorImplementationDescriptor> readIndex(final long processDefinitionId) throws SConnectorException {
+        try {
+            final SBARResource index = resourcesService.get(processDefinitionId, BARResourceType.CONNECTOR_INDEX, ConnectorImplementationIndex.NAME);
+            if (index == null) {
+                return null;
+            }
+            return ConnectorImplementationIndex.read(index.getContent());
+        } catch (final SBonitaReadException | IOException e) {
+            throw new SConnectorException("Unable to read the connector implementation index of process " + processDefinitionId, e);
+        }
+    }
+
+    private void writeIndex(final long processDefinitionId, final List<SConnectorImplementationDescriptor> descriptors) throws SConnectorException {
+        try {
+            final SBARResource index = resourcesService.get(processDefinitionId, BARResourceType.CONNECTOR_INDEX, ConnectorImplementationIndex.NAME);
+            if (index != null) {
+                resourcesService.remove(index);
+            }
+            resourcesService.add(processDefinitionId, ConnectorImplementationIndex.NAME, BARResourceType.CONNECTOR_INDEX,
+                    ConnectorImplementationIndex.write(descriptors));
+        } catch (final SBonitaReadException | SRecorderException | IOException e) {
+            throw new SConnectorException("Unable to write the connector implementation index of process " + processDefinitionId, e);
+        }
+    }
 
     @Override
     public void setConnectorImplementation(final SProcessDefinition sProcessDefinition, final String connectorId,
@@ -626,5 +690,6 @@ public class ConnectorServiceImpl implements ConnectorService {
     @Override
     public void removeConnectorImplementations(long processDefinitionId) throws SBonitaReadException, SRecorderException {
         resourcesService.removeAll(processDefinitionId, BARResourceType.CONNECTOR);
+        resourcesService.removeAll(processDefinitionId, BARResourceType.CONNECTOR_INDEX);
     }
 }
@@ -34,11 +34,14 @@ import org.bonitasoft.engine.bar.ResourcesService;
 import org.bonitasoft.engine.bar.SBARResource;
 import org.bonitasoft.engine.cache.CacheService;
 import org.bonitasoft.engine.cache.SCacheException;
+import org.bonitasoft.engine.classloader.ClassLoaderService;
 import org.bonitasoft.engine.connector.AbstractConnector;
 import org.bonitasoft.engine.connector.ConnectorException;
 import org.bonitasoft.engine.connector.ConnectorExecutor;
 import org.bonitasoft.engine.connector.ConnectorValidationException;
+import org.bonitasoft.engine.connector.ReusableConnector;
 import org.bonitasoft.engine.connector.SConnector;
+import org.bonitasoft.engine.core.connector.ConnectorResult;
 import org.bonitasoft.engine.core.connector.exception.SConnectorException;
 import org.bonitasoft.engine.core.connector.exception.SInvalidConnectorImplementationException;
 import org.bonitasoft.engine.core.connector.parser.JarDependencies;
@@ -101,6 +104,8 @@ public class ConnectorServiceImplTest {
     private TimeTracker timeTracker;
     @Mock
     private TechnicalLoggerService technicalLoggerService;
+    @Mock
+    private ClassLoaderService classLoaderService;
     @Captor
     private ArgumentCaptor<SConnector> connectorArgumentCaptor;
 
@@ -112,7 +117,7 @@ public class ConnectorServiceImplTest {
         doReturn(parser).when(parserFactory).createParser(anyList());
         connectorService = new ConnectorServiceImpl(cacheService, connectorExecutor, parserFactory, expressionResolverService,
                 operationService, dependencyService,
-                technicalLoggerService, timeTracker, resourcesService);
+                technicalLoggerService, timeTracker, resourcesService, classLoaderService, 10);
     }
 
     @Test(expected = SInvalidConnectorImplementationException.class)
@@ -291,6 +296,86 @@ public class ConnectorServiceImplTest {
 
     }
 
+    @Test
+    public void loadConnectors_should_write_the_connector_implementation_index() throws Exception {
+        final SProcessDefinitionImpl sProcessDef = new SProcessDefinitionImpl("MyProcess", "1.0");
+        sProcessDef.setId(PROCESS_DEFINITION_ID);
+        final SConnectorImplementationDescriptor descriptor = new SConnectorImplementationDescriptor("org.Test", "myConnectorImpl", "1.0.0",
+                "myConnector", "1.0.0", new JarDependencies(Collections.singletonList("my.jar")));
+        doReturn(Collections.singletonList(new SBARResource("my.impl", BARResourceType.CONNECTOR, PROCESS_DEFINITION_ID, "impl".getBytes())))
+                .when(resourcesService).get(eq(PROCESS_DEFINITION_ID), eq(BARResourceType.CONNECTOR), eq(0), anyInt());
+        when(parser.getObjectFromXML(eq("impl".getBytes()))).thenReturn(descriptor);
+
+        connectorService.loadConnectors(sProcessDef);
+
+        verify(resourcesService).add(PROCESS_DEFINITION_ID, ConnectorImplementationIndex.NAME, BARResourceType.CONNECTOR_INDEX,
+                ConnectorImplementationIndex.write(Collections.singletonList(descriptor)));
+        verify(cacheService).store(ConnectorServiceImpl.CONNECTOR_CACHE_NAME,
+                connectorService.buildConnectorImplementationKey(PROCESS_DEFINITION_ID, "myConnector", "1.0.0"), descriptor);
+    }
+
+    @Test
+    public void getConnectorImplementation_should_load_connectors_from_the_index_without_parsing_them() throws Exception {
+        final SConnectorImplementationDescriptor descriptor = new SConnectorImplementationDescriptor("org.Test", "myConnectorImpl", "1.0.0",
+                "myConnector", "1.0.0", new JarDependencies(Collections.singletonList("my.jar")));
+        doReturn(new SBARResource(ConnectorImplementationIndex.NAME, BARResourceType.CONNECTOR_INDEX, PROCESS_DEFINITION_ID,
+                ConnectorImplementationIndex.write(Collections.singletonList(descriptor)))).when(resourcesService)
+                .get(PROCESS_DEFINITION_ID, BARResourceType.CONNECTOR_INDEX, ConnectorImplementationIndex.NAME);
+        final String key = connectorService.buildConnectorImplementationKey(PROCESS_DEFINITION_ID, "myConnector", "1.0.0");
+        doReturn(null).doReturn(descriptor).when(cacheService).get(ConnectorServiceImpl.CONNECTOR_CACHE_NAME, key);
+
+        connectorService.getConnectorImplementation(PROCESS_DEFINITION_ID, "myConnector", "1.0.0");
+
+        verify(cacheService).store(eq(ConnectorServiceImpl.CONNECTOR_CACHE_NAME), eq(key), any(SConnectorImplementationDescriptor.class));
+        verify(resourcesService, never()).get(eq(PROCESS_DEFINITION_ID), eq(BARResourceType.CONNECTOR), anyInt(), anyInt());
+        verifyZeroInteractions(parser);
+    }
+
+    @Test
+    public void disconnect_should_reuse_instances_of_reusable_connectors() throws Exception {
+        final SConnectorImplementationDescriptor descriptor = new SConnectorImplementationDescriptor(MyReusableConnector.class.getName(), "implId",
+                "implVersion", "defId", "defVersion", new JarDependencies(Collections.<String> emptyList()));
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final Map<String, Object> inputParameters = Collections.<String, Object> singletonMap("key", "value");
+
+        final ConnectorResult first = connectorService.executeConnector(PROCESS_DEFINITION_ID, mock(SConnectorInstance.class), descriptor, classLoader,
+                inputParameters);
+        connectorService.disconnect(first);
+        final ConnectorResult second = connectorService.executeConnector(PROCESS_DEFINITION_ID, mock(SConnectorInstance.class), descriptor, classLoader,
+                inputParameters);
+
+        assertThat(second.getConnector()).isSameAs(first.getConnector());
+    }
+
+    @Test
+    public void disconnect_should_not_reuse_instances_of_other_connectors() throws Exception {
+        final SConnectorImplementationDescriptor descriptor = new SConnectorImplementationDescriptor(MyTestConnector.class.getName(), "implId",
+                "implVersion", "defId", "defVersion", new JarDependencies(Collections.<String> emptyList()));
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final Map<String, Object> inputParameters = Collections.<String, Object> singletonMap("key", "value");
+
+        final ConnectorResult first = connectorService.executeConnector(PROCESS_DEFINITION_ID, mock(SConnectorInstance.class), descriptor, classLoader,
+                inputParameters);
+        connectorService.disconnect(first);
+        final ConnectorResult second = connectorService.executeConnector(PROCESS_DEFINITION_ID, mock(SConnectorInstance.class), descriptor, classLoader,
+                inputParameters);
+
+        assertThat(second.getConnector()).isNotSameAs(first.getConnector());
+    }
+
+    public static class MyReusableConnector extends AbstractConnector implements ReusableConnector {
+
+        @Override
+        public void validateInputParameters() throws ConnectorValidationException {
+
+        }
+
+        @Override
+        protected void executeBusinessLogic() throws ConnectorException {
+
+        }
+    }
+
     public static class MyTestConnector extends AbstractConnector {
 
         @Override
@@ -88,6 +88,33 @@ public interface ConnectorService {
      */
     boolean loadConnectors(SProcessDefinition sDefinition) throws SConnectorException;
 
+    /**
+     * Same as {@link #loadConnectors(SProcessDefinition)}, with the connector implementations of the process already parsed by
+     * {@link #parseConnectorImplementation(String, byte[])}
+     *
+     * @param sDefinition
+     *        The process definition
+     * @param descriptors
+     *        The parsed connector implementations of the process
+     * @return true if all connectors found have all them dependencies resolved and are correctly loaded
+     * @throws SConnectorException
+     *         Error thrown if has exceptions during the connector loading
+     */
+    boolean loadConnectors(SProcessDefinition sDefinition, List<SConnectorImplementationDescriptor> descriptors) throws SConnectorException;
+
+    /**
+     * Parse a connector implementation file (.impl). Does not access the database and can be called by several threads at once.
+     *
+     * @param name
+     *        The name of the connector implementation file
+     * @param content
+     *        The content of the connector implementation file
+     * @return the parsed connector implementation
+     * @throws SConnectorException
+     *         Error thrown if the file is not a valid connector implementation
+     */
+    SConnectorImplementationDescriptor parseConnectorImplementation(String name, byte[] content) throws SConnectorException;
+
     /**
      * Set connector implementation for id and version specified connector.
      * Store all connector related files if they are not existed and replace the old implementation with the new one in file system.
@@ -14,6 +14,7 @@
 package org.bonitasoft.engine.core.contract.data;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,9 +27,9 @@ import org.bonitasoft.engine.commons.exceptions.SBonitaException;
 import org.bonitasoft.engine.commons.exceptions.SObjectModificationException;
 import org.bonitasoft.engine.events.EventActionType;
 import org.bonitasoft.engine.events.EventService;
-import org.bonitasoft.engine.events.model.SDeleteEvent;
 import org.bonitasoft.engine.events.model.SInsertEvent;
 import org.bonitasoft.engine.events.model.builders.SEventBuilderFactory;
+import org.bonitasoft.engine.persistence.FilterOption;
 import org.bonitasoft.engine.persistence.QueryOptions;
 import org.bonitasoft.engine.persistence.ReadPersistenceService;
 import org.bonitasoft.engine.persistence.SBonitaReadException;
@@ -42,7 +43,7 @@ import org.bonitasoft.engine.queriablelogger.model.builder.SLogBuilder;
 import org.bonitasoft.engine.queriablelogger.model.builder.SPersistenceLogBuilder;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
-import org.bonitasoft.engine.recorder.model.DeleteRecord;
+import org.bonitasoft.engine.recorder.model.BulkDeleteRecord;
 import org.bonitasoft.engine.recorder.model.InsertRecord;
 import org.bonitasoft.engine.services.QueriableLoggerService;
 
@@ -115,27 +116,7 @@ public class ContractDataServiceImpl implements ContractDataService {
 
     @Override
     public void deleteUserTaskData(final long userTaskId) throws SContractDataDeletionException {
-        try {
-            final List<STaskContractData> contractData = getContractDataOfUserTask(userTaskId);
-            for (final STaskContractData data : contractData) {
-                deleteUserTaskData(data);
-            }
-        } catch (final SBonitaReadException sbre) {
-            throw new SContractDataDeletionException(sbre);
-        }
-    }
-
-    protected void deleteUserTaskData(final STaskContractData taskContractData) throws SContractDataDeletionException {
-        final DeleteRecord deleteRecord = new DeleteRecord(taskContractData);
-        SDeleteEvent deleteEvent = null;
-        if (eventService.hasHandlers(USERTASK_CONTRACT_DATA, EventActionType.DELETED)) {
-            deleteEvent = (SDeleteEvent) BuilderFactory.get(SEventBuilderFactory.class).createDeleteEvent(USERTASK_CONTRACT_DATA).setObject(taskContractData).done();
-        }
-        try {
-            recorder.recordDelete(deleteRecord, deleteEvent);
-        } catch (final SRecorderException sre) {
-            throw new SContractDataDeletionException(sre);
-        }
+        deleteContractData(STaskContractData.class, userTaskId, USERTASK_CONTRACT_DATA);
     }
 
     @Override
@@ -145,9 +126,7 @@ public class ContractDataServiceImpl implements ContractDataService {
             if (!contractData.isEmpty()) {
                 final ArchiveInsertRecord[] records = buildArchiveUserTaskRecords(contractData);
                 archiveService.recordInserts(archiveDate, records);
-                for (STaskContractData taskContractData : contractData) {
-                    deleteUserTaskData(taskContractData);
-                }
+                deleteUserTaskData(userTaskId);
             }
         } catch (final SBonitaException sbe) {
             throw new SObjectModificationException(sbe);
@@ -259,25 +238,14 @@ public class ContractDataServiceImpl implements ContractDataService {
 
     @Override
     public void deleteProcessData(final long processInstanceId) throws SContractDataDeletionException {
-        try {
-            final List<SProcessContractData> contractData = getContractDataOfProcess(processInstanceId);
-            for (final SProcessContractData data : contractData) {
-                deleteProcessData(data);
-            }
-        } catch (final SBonitaReadException sbre) {
-            throw new SContractDataDeletionException(sbre);
-        }
+        deleteContractData(SProcessContractData.class, processInstanceId, PROCESS_CONTRACT_DATA);
     }
 
-    protected void deleteProcessData(final SProcessContractData processContractData) throws SContractDataDeletionException {
-        final DeleteRecord deleteRecord = new DeleteRecord(processContractData);
-        SDeleteEvent deleteEvent = null;
-        if (eventService.hasHandlers(PROCESS_CONTRACT_DATA, EventActionType.DELETED)) {
-            deleteEvent = (SDeleteEvent) BuilderFactory.get(SEventBuilderFactory.class).createDeleteEvent(PROCESS_CONTRACT_DATA).setObject(processContractData)
-                    .done();
-        }
+    private void deleteContractData(final Class<? extends SContractData> contractDataClass, final long scopeId, final String eventType)
+            throws SContractDataDeletionException {
+        final FilterOption filterOption = new FilterOption(contractDataClass, "scopeId", scopeId);
         try {
-            recorder.recordDelete(deleteRecord, deleteEvent);
+            recorder.recordBulkDelete(new BulkDeleteRecord(contractDataClass, Collections.singletonList(filterOption), eventType));
         } catch (final SRecorderException sre) {
             throw new SContractDataDeletionException(sre);
         }
@@ -290,9 +258,7 @@ public class ContractDataServiceImpl implements ContractDataService {
             if (!contractData.isEmpty()) {
                 final ArchiveInsertRecord[] records = buildArchiveProcessRecords(contractData);
                 archiveService.recordInserts(archiveDate, records);
-                for (SProcessContractData processContractData : contractData) {
-                    deleteProcessData(processContractData);
-                }
+                deleteProcessData(processInstanceId);
             }
         } catch (final SBonitaException sbe) {
             throw new SObjectModificationException(sbe);
@@ -27,6 +27,7 @@ import org.bonitasoft.engine.commons.exceptions.SObjectModificationException;
 import org.bonitasoft.engine.events.EventService;
 import org.bonitasoft.engine.events.model.SDeleteEvent;
 import org.bonitasoft.engine.events.model.SInsertEvent;
+import org.bonitasoft.engine.persistence.FilterOption;
 import org.bonitasoft.engine.persistence.ReadPersistenceService;
 import org.bonitasoft.engine.persistence.SBonitaReadException;
 import org.bonitasoft.engine.persistence.SelectListDescriptor;
@@ -34,12 +35,14 @@ import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.queriablelogger.model.SQueriableLogSeverity;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.BulkDeleteRecord;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.InsertRecord;
 import org.bonitasoft.engine.services.QueriableLoggerService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -125,35 +128,20 @@ public class ContractDataServiceImplTest {
     }
 
     @Test
-    public void deleteUserTaskData_deletes_data() throws Exception {
-        final List<STaskContractData> data = new ArrayList<STaskContractData>();
-        data.add(new STaskContractData(1983L, "id", 456478L));
-        data.add(new STaskContractData(1983L, "id2", 4564456478L));
-        when(queriableLoggerService.isLoggable(anyString(), any(SQueriableLogSeverity.class))).thenReturn(false);
-        when(persistenceService.selectList(any(SelectListDescriptor.class))).thenReturn(data);
-
+    public void deleteUserTaskData_deletes_data_of_the_user_task_in_bulk() throws Exception {
         contractDataService.deleteUserTaskData(1983L);
 
-        verify(recorder, times(2)).recordDelete(any(DeleteRecord.class), any(SDeleteEvent.class));
+        final ArgumentCaptor<BulkDeleteRecord> record = ArgumentCaptor.forClass(BulkDeleteRecord.class);
+        verify(recorder).recordBulkDelete(record.capture());
+        assertThat(record.getValue().getEntityClass()).isEqualTo(STaskContractData.class);
+        assertThat(record.getValue().getFilters()).containsExactly(new FilterOption(STaskContractData.class, "scopeId", 1983L));
+        assertThat(record.getValue().getEventType()).isEqualTo("USERTASK_CONTRACT_DATA");
+        verify(recorder, never()).recordDelete(any(DeleteRecord.class), any(SDeleteEvent.class));
     }
 
     @Test(expected = SContractDataDeletionException.class)
     public void deleteUserTaskData_throws_exception() throws Exception {
-        when(queriableLoggerService.isLoggable(anyString(), any(SQueriableLogSeverity.class))).thenReturn(false);
-        final List<STaskContractData> data = new ArrayList<STaskContractData>();
-        data.add(new STaskContractData(1983L, "id", 456478L));
-        data.add(new STaskContractData(1983L, "id2", 4564456478L));
-        when(queriableLoggerService.isLoggable(anyString(), any(SQueriableLogSeverity.class))).thenReturn(false);
-        when(persistenceService.selectList(any(SelectListDescriptor.class))).thenReturn(data);
-        doThrow(new SRecorderException("exception")).when(recorder).recordDelete(any(DeleteRecord.class), any(SDeleteEvent.class));
-
-        contractDataService.deleteUserTaskData(1983L);
-    }
-
-    @Test(expected = SContractDataDeletionException.class)
-    public void deleteUserTaskData_throws_exception_when_retrieving_data() throws Exception {
-        when(queriableLoggerService.isLoggable(anyString(), any(SQueriableLogSeverity.class))).thenReturn(false);
-        when(persistenceService.selectList(any(SelectListDescriptor.class))).thenThrow(new SBonitaReadException("exception"));
+        doThrow(new SRecorderException("exception")).when(recorder).recordBulkDelete(any(BulkDeleteRecord.class));
 
         contractDataService.deleteUserTaskData(1983L);
     }
@@ -282,35 +270,20 @@ public class ContractDataServiceImplTest {
     }
 
     @Test
-    public void deleteProcessData_deletes_data() throws Exception {
-        final List<SProcessContractData> data = new ArrayList<SProcessContractData>();
-        data.add(new SProcessContractData(1983L, "id", 456478L));
-        data.add(new SProcessContractData(1983L, "id2", 4564456478L));
-        when(queriableLoggerService.isLoggable(anyString(), any(SQueriableLogSeverity.class))).thenReturn(false);
-        when(persistenceService.selectList(any(SelectListDescriptor.class))).thenReturn(data);
-
+    public void deleteProcessData_deletes_data_of_the_process_in_bulk() throws Exception {
         contractDataService.deleteProcessData(1983L);
 
-        verify(recorder, times(2)).recordDelete(any(DeleteRecord.class), any(SDeleteEvent.class));
+        final ArgumentCaptor<BulkDeleteRecord> record = ArgumentCaptor.forClass(BulkDeleteRecord.class);
+        verify(recorder).recordBulkDelete(record.capture());
+        assertThat(record.getValue().getEntityClass()).isEqualTo(SProcessContractData.class);
+        assertThat(record.getValue().getFilters()).containsExactly(new FilterOption(SProcessContractData.class, "scopeId", 1983L));
+        assertThat(record.getValue().getEventType()).isEqualTo("PROCESS_CONTRACT_DATA");
+        verify(recorder, never()).recordDelete(any(DeleteRecord.class), any(SDeleteEvent.class));
     }
 
     @Test(expected = SContractDataDeletionException.class)
     public void deleteProcessData_throws_exception() throws Exception {
-        when(queriableLoggerService.isLoggable(anyString(), any(SQueriableLogSeverity.class))).thenReturn(false);
-        final List<SProcessContractData> data = new ArrayList<SProcessContractData>();
-        data.add(new SProcessContractData(1983L, "id", 456478L));
-        data.add(new SProcessContractData(1983L, "id2", 4564456478L));
-        when(queriableLoggerService.isLoggable(anyString(), any(SQueriableLogSeverity.class))).thenReturn(false);
-        when(persistenceService.selectList(any(SelectListDescriptor.class))).thenReturn(data);
-        doThrow(new SRecorderException("exception")).when(recorder).recordDelete(any(DeleteRecord.class), any(SDeleteEvent.class));
-
-        contractDataService.deleteProcessData(1983L);
-    }
-
-    @Test(expected = SContractDataDeletionException.class)
-    public void deleteProcessData_throws_exception_when_retrieving_data() throws Exception {
-        when(queriableLoggerService.isLoggable(anyString(), any(SQueriableLogSeverity.class))).thenReturn(false);
-        when(persistenceService.selectList(any(SelectListDescriptor.class))).thenThrow(new SBonitaReadException("exception"));
+        doThrow(new SRecorderException("exception")).when(recorder).recordBulkDelete(any(BulkDeleteRecord.class));
 
         contractDataService.deleteProcessData(1983L);
     }
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.document.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Stores the content of documents outside of the database.
+ * Content is addressed by a key computed from the content itself, so that identical contents are stored once.
+ * Each call to {@link #store(InputStream)} adds a reference to the content, each call to {@link #release(String)} removes one, and the content is
+ * deleted when its last reference is released.
+ */
+public interface DocumentContentStore {
+
+    /**
+     * Store the given content, reading it as a stream.
+     *
+     * @param content
+     *            the content to store, it is not closed by this method
+     * @return the key of the stored content
+     * @throws IOException
+     */
+    String store(InputStream content) throws IOException;
+
+    /**
+     * @param key
+     *            the key of the content
+     * @return a stream on the whole content, to be closed by the caller
+     * @throws IOException
+     *             if the content does not exist or can't be read
+     */
+    InputStream read(String key) throws IOException;
+
+    /**
+     * @param key
+     *            the key of the content
+     * @param offset
+     *            the position of the first byte to read
+     * @param length
+     *            the maximum number of bytes to read
+     * @return a stream on the given range of the content, to be closed by the caller
+     * @throws IOException
+     *             if the content does not exist or can't be read
+     */
+    InputStream read(String key, long offset, long length) throws IOException;
+
+    /**
+     * @param key
+     *            the key of the content
+     * @return the size of the content in bytes
+     * @throws IOException
+     *             if the content does not exist
+     */
+    long getSize(String key) throws IOException;
+
+    /**
+     * Remove a reference to the content, the content is deleted when no reference remains.
+     *
+     * @param key
+     *            the key of the content
+     * @throws IOException
+     */
+    void release(String key) throws IOException;
+
+}
@@ -13,12 +13,14 @@
  **/
 package org.bonitasoft.engine.core.document.api;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.bonitasoft.engine.commons.exceptions.SObjectAlreadyExistsException;
 import org.bonitasoft.engine.commons.exceptions.SObjectCreationException;
 import org.bonitasoft.engine.commons.exceptions.SObjectModificationException;
 import org.bonitasoft.engine.commons.exceptions.SObjectNotFoundException;
+import org.bonitasoft.engine.commons.exceptions.SObjectReadException;
 import org.bonitasoft.engine.core.document.model.SDocument;
 import org.bonitasoft.engine.core.document.model.SDocumentMapping;
 import org.bonitasoft.engine.core.document.model.SLightDocument;
@@ -103,6 +105,27 @@ public interface DocumentService {
      */
     byte[] getDocumentContent(String documentId) throws SObjectNotFoundException;
 
+    /**
+     * Get a range of the document content by document id
+     *
+     * @param documentId identifier of the document
+     * @param offset position of the first byte to read
+     * @param length maximum number of bytes to read
+     * @return the bytes of the content in the range, fewer than length bytes if the end of the content is reached
+     * @throws SObjectNotFoundException
+     * @throws SObjectReadException if the offset or the length is negative
+     */
+    byte[] getDocumentContent(String documentId, long offset, int length) throws SObjectNotFoundException, SObjectReadException;
+
+    /**
+     * Get document content as a stream by document id, the content is not loaded in memory when it is held by the content store
+     *
+     * @param documentId identifier of the document
+     * @return a stream on the document content, to be closed by the caller
+     * @throws SObjectNotFoundException
+     */
+    InputStream getDocumentContentStream(String documentId) throws SObjectNotFoundException;
+
     /**
      * Get document with mapping by its mapping id
      *
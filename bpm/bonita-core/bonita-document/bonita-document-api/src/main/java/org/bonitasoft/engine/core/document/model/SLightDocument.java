@@ -34,4 +34,10 @@ public interface SLightDocument extends PersistentObject {
 
     String getUrl();
 
+    /**
+     * @return the key of the content in the {@link org.bonitasoft.engine.core.document.api.DocumentContentStore}, or null when the content is stored in
+     *         the database
+     */
+    String getContentStoreKey();
+
 }
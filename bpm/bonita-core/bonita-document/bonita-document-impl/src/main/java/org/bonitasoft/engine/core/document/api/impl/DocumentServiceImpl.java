@@ -13,7 +13,11 @@
  **/
 package org.bonitasoft.engine.core.document.api.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +31,9 @@ import org.bonitasoft.engine.commons.exceptions.SObjectAlreadyExistsException;
 import org.bonitasoft.engine.commons.exceptions.SObjectCreationException;
 import org.bonitasoft.engine.commons.exceptions.SObjectModificationException;
 import org.bonitasoft.engine.commons.exceptions.SObjectNotFoundException;
+import org.bonitasoft.engine.commons.exceptions.SObjectReadException;
+import org.bonitasoft.engine.commons.io.IOUtil;
+import org.bonitasoft.engine.core.document.api.DocumentContentStore;
 import org.bonitasoft.engine.core.document.api.DocumentService;
 import org.bonitasoft.engine.core.document.model.SDocument;
 import org.bonitasoft.engine.core.document.model.SDocumentMapping;
@@ -35,6 +42,7 @@ import org.bonitasoft.engine.core.document.model.SMappedDocument;
 import org.bonitasoft.engine.core.document.model.archive.SADocumentMapping;
 import org.bonitasoft.engine.core.document.model.archive.SAMappedDocument;
 import org.bonitasoft.engine.core.document.model.archive.impl.SADocumentMappingImpl;
+import org.bonitasoft.engine.core.document.model.impl.SDocumentImpl;
 import org.bonitasoft.engine.core.document.model.impl.SDocumentMappingImpl;
 import org.bonitasoft.engine.core.document.model.impl.SMappedDocumentImpl;
 import org.bonitasoft.engine.core.document.model.recorder.SelectDescriptorBuilder;
@@ -56,6 +64,8 @@ import org.bonitasoft.engine.recorder.SRecorderException;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.InsertRecord;
 import org.bonitasoft.engine.recorder.model.UpdateRecord;
+import org.bonitasoft.engine.transaction.STransactionNotFoundException;
+import org.bonitasoft.engine.transaction.TransactionService;
 
 /**
  * @author Nicolas Chabanoles
@@ -71,14 +81,31 @@ public class DocumentServiceImpl implements DocumentService {
     private final Recorder recorder;
     private final ReadPersistenceService persistenceService;
     private final ReadPersistenceService definitiveArchiveReadPersistenceService;
+    private final DocumentContentStore contentStore;
+    private final TransactionService transactionService;
+    private final int contentStoreThreshold;
 
     public DocumentServiceImpl(final Recorder recorder, final ReadPersistenceService persistenceService,
             final SDocumentDownloadURLProvider urlProvider, final EventService eventService, final ArchiveService archiveService) {
+        this(recorder, persistenceService, urlProvider, eventService, archiveService, null, null, -1);
+    }
+
+    /**
+     * @param contentStoreThreshold
+     *        size in bytes from which the content of a document is kept in the content store instead of the database, a negative value keeps all
+     *        contents in the database
+     */
+    public DocumentServiceImpl(final Recorder recorder, final ReadPersistenceService persistenceService,
+            final SDocumentDownloadURLProvider urlProvider, final EventService eventService, final ArchiveService archiveService,
+            final DocumentContentStore contentStore, final TransactionService transactionService, final int contentStoreThreshold) {
         this.recorder = recorder;
         this.persistenceService = persistenceService;
         this.urlProvider = urlProvider;
         this.eventService = eventService;
         this.archiveService = archiveService;
+        this.contentStore = contentStore;
+        this.transactionService = transactionService;
+        this.contentStoreThreshold = contentStoreThreshold;
         definitiveArchiveReadPersistenceService = archiveService.getDefinitiveArchiveReadPersistenceService();
 
     }
@@ -159,6 +186,7 @@ public class DocumentServiceImpl implements DocumentService {
     }
 
     private SDocument insertDocument(final SDocument document) throws SRecorderException {
+        moveContentToStore(document);
         final InsertRecord insertRecord = new InsertRecord(document);
         SInsertEvent insertEvent = null;
         if (eventService.hasHandlers(DOCUMENT, EventActionType.CREATED)) {
@@ -169,6 +197,46 @@ public class DocumentServiceImpl implements DocumentService {
         return document;
     }
 
+    private void moveContentToStore(final SDocument document) throws SRecorderException {
+        final byte[] content = document.getContent();
+        if (contentStore == null || contentStoreThreshold < 0 || content == null || content.length < contentStoreThreshold
+                || !(document instanceof SDocumentImpl)) {
+            return;
+        }
+        final String key;
+        try {
+            key = contentStore.store(new ByteArrayInputStream(content));
+        } catch (final IOException e) {
+            throw new SRecorderException(e);
+        }
+        releaseContentOnCompletion(key, false);
+        final SDocumentImpl documentImpl = (SDocumentImpl) document;
+        documentImpl.setContentStoreKey(key);
+        documentImpl.setContent(null);
+    }
+
+    /**
+     * Release the content once the transaction is completed: when it is committed for a deleted document, when it is rolled back for a document that
+     * was being created
+     */
+    private void releaseContentOnCompletion(final String key, final boolean onCommit) {
+        if (transactionService != null) {
+            try {
+                transactionService.registerBonitaSynchronization(new ReleaseContentSynchronization(contentStore, key, onCommit));
+                return;
+            } catch (final STransactionNotFoundException e) {
+                // not in a transaction: nothing will be rolled back
+            }
+        }
+        if (onCommit) {
+            try {
+                contentStore.release(key);
+            } catch (final IOException e) {
+                // the content is only left unreferenced in the store
+            }
+        }
+    }
+
     @Override
     public void deleteDocumentsFromProcessInstance(final Long processInstanceId) throws SBonitaReadException, SObjectModificationException {
         List<SMappedDocument> mappedDocuments;
@@ -261,11 +329,62 @@ public class DocumentServiceImpl implements DocumentService {
         try {
             final Long id = Long
                     .valueOf(documentId);
-            return getDocumentWithContent(id).getContent();
+            final SDocument document = getDocumentWithContent(id);
+            if (document.getContentStoreKey() != null) {
+                return IOUtil.getAllContentFrom(contentStore.read(document.getContentStoreKey()));
+            }
+            return document.getContent();
+        } catch (final NumberFormatException e) {
+            throw new SObjectNotFoundException("Identifier " + documentId + " is not valid, it must be a long");
+        } catch (final SBonitaReadException e) {
+            throw new SObjectNotFoundException(e);
+        } catch (final IOException e) {
+            throw new SObjectNotFoundException(e);
+        }
+    }
+
+    @Override
+    public byte[] getDocumentContent(final String documentId, final long offset, final int length) throws SObjectNotFoundException,
+            SObjectReadException {
+        if (offset < 0 || length < 0) {
+            throw new SObjectReadException("The offset and the length of the content to read must be positive: [offset: " + offset + ", length: "
+                    + length + "]");
+        }
+        try {
+            final long id = Long.parseLong(documentId);
+            final SLightDocument document = getDocument(id);
+            if (document.getContentStoreKey() != null) {
+                return IOUtil.getAllContentFrom(contentStore.read(document.getContentStoreKey(), offset, length));
+            }
+            final byte[] content = getDocumentWithContent(id).getContent();
+            if (content == null) {
+                return null;
+            }
+            final int from = (int) Math.min(offset, content.length);
+            return Arrays.copyOfRange(content, from, (int) Math.min((long) from + length, content.length));
         } catch (final NumberFormatException e) {
             throw new SObjectNotFoundException("Identifier " + documentId + " is not valid, it must be a long");
         } catch (final SBonitaReadException e) {
             throw new SObjectNotFoundException(e);
+        } catch (final IOException e) {
+            throw new SObjectNotFoundException(e);
+        }
+    }
+
+    @Override
+    public InputStream getDocumentContentStream(final String documentId) throws SObjectNotFoundException {
+        try {
+            final SDocument document = getDocumentWithContent(Long.parseLong(documentId));
+            if (document.getContentStoreKey() != null) {
+                return contentStore.read(document.getContentStoreKey());
+            }
+            return document.getContent() == null ? null : new ByteArrayInputStream(document.getContent());
+        } catch (final NumberFormatException e) {
+            throw new SObjectNotFoundException("Identifier " + documentId + " is not valid, it must be a long");
+        } catch (final SBonitaReadException e) {
+            throw new SObjectNotFoundException(e);
+        } catch (final IOException e) {
+            throw new SObjectNotFoundException(e);
         }
     }
 
@@ -359,6 +478,9 @@ public class DocumentServiceImpl implements DocumentService {
                 .setObject(document)
                 .done();
         recorder.recordDelete(deleteDocRecord, deleteDocEvent);
+        if (document.getContentStoreKey() != null) {
+            releaseContentOnCompletion(document.getContentStoreKey(), true);
+        }
     }
 
     private void delete(final SADocumentMapping mappedDocument) throws SRecorderException {
@@ -476,13 +598,19 @@ public class DocumentServiceImpl implements DocumentService {
     public void deleteContentOfArchivedDocument(final long archivedDocumentId) throws SObjectNotFoundException, SBonitaReadException, SRecorderException {
         final SAMappedDocument archivedDocument = getArchivedDocument(archivedDocumentId);
         final SDocument document = getDocumentWithContent(archivedDocument.getDocumentId());
-        final UpdateRecord updateRecord = UpdateRecord.buildSetFields(document, Collections.singletonMap("content", null));
+        final Map<String, Object> fields = new HashMap<String, Object>(2);
+        fields.put("content", null);
+        fields.put("contentStoreKey", null);
+        final UpdateRecord updateRecord = UpdateRecord.buildSetFields(document, fields);
         SUpdateEvent updateEvent = null;
         if (eventService.hasHandlers(DOCUMENT, EventActionType.UPDATED)) {
             updateEvent = (SUpdateEvent) BuilderFactory.get(SEventBuilderFactory.class).createUpdateEvent(DOCUMENT).setObject(document)
                     .done();
         }
         recorder.recordUpdate(updateRecord, updateEvent);
+        if (document.getContentStoreKey() != null) {
+            releaseContentOnCompletion(document.getContentStoreKey(), true);
+        }
     }
 
     @Override
@@ -0,0 +1,299 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.document.api.impl;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.bonitasoft.engine.core.document.api.DocumentContentStore;
+
+/**
+ * {@link DocumentContentStore} keeping contents as files of a local folder.
+ * A content is stored in a file named after the SHA-256 hash of the content, under a sub folder named after the first two characters of the hash. The
+ * number of references to the content is kept next to it, in a file having the <code>.refs</code> extension.
+ * The folder can be shared by the nodes of a cluster: reference counts are updated under a lock on a file of the sub folder, which is also locked
+ * between the threads of this node.
+ */
+public class FileSystemDocumentContentStore implements DocumentContentStore {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final String REFERENCES_EXTENSION = ".refs";
+
+    private static final String LOCK_FILE_NAME = ".lock";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final File rootFolder;
+
+    // a file lock is held by the whole JVM, threads of this node wait for each other on this lock
+    private final ReentrantLock referencesLock = new ReentrantLock();
+
+    /**
+     * @param rootFolder
+     *            the folder shared by the tenants, contents are not stored when it is empty
+     * @param tenantId
+     *            the tenant, its contents are kept in a sub folder of the root folder
+     */
+    public FileSystemDocumentContentStore(final String rootFolder, final long tenantId) {
+        if (rootFolder == null || rootFolder.trim().isEmpty()) {
+            this.rootFolder = null;
+        } else {
+            this.rootFolder = new File(rootFolder, String.valueOf(tenantId));
+        }
+    }
+
+    @Override
+    public String store(final InputStream content) throws IOException {
+        final File folder = getRootFolder();
+        createFolder(folder);
+        final File temporaryFile = File.createTempFile("content", ".tmp", folder);
+        try {
+            final MessageDigest digest = getDigest();
+            final DigestInputStream input = new DigestInputStream(content, digest);
+            try (OutputStream output = new FileOutputStream(temporaryFile)) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            }
+            final String key = toHex(digest.digest());
+            final File contentFile = getContentFile(key);
+            createFolder(contentFile.getParentFile());
+            try (FolderLock lock = lockReferences(key)) {
+                if (!contentFile.exists() && !temporaryFile.renameTo(contentFile)) {
+                    throw new IOException("Unable to move the content to " + contentFile);
+                }
+                writeReferences(key, readReferences(key) + 1);
+            }
+            return key;
+        } finally {
+            // already moved when the content was not stored yet
+            temporaryFile.delete();
+        }
+    }
+
+    @Override
+    public InputStream read(final String key) throws IOException {
+        return new FileInputStream(getExistingContentFile(key));
+    }
+
+    @Override
+    public InputStream read(final String key, final long offset, final long length) throws IOException {
+        final FileInputStream input = new FileInputStream(getExistingContentFile(key));
+        try {
+            input.getChannel().position(offset);
+        } catch (final IOException e) {
+            input.close();
+            throw e;
+        }
+        return new RangeInputStream(input, length);
+    }
+
+    @Override
+    public long getSize(final String key) throws IOException {
+        return getExistingContentFile(key).length();
+    }
+
+    @Override
+    public void release(final String key) throws IOException {
+        createFolder(getContentFile(key).getParentFile());
+        try (FolderLock lock = lockReferences(key)) {
+            final int references = readReferences(key) - 1;
+            if (references > 0) {
+                writeReferences(key, references);
+            } else {
+                Files.deleteIfExists(getContentFile(key).toPath());
+                Files.deleteIfExists(getReferencesFile(key).toPath());
+            }
+        }
+    }
+
+    int readReferences(final String key) throws IOException {
+        final File referencesFile = getReferencesFile(key);
+        if (!referencesFile.exists()) {
+            return 0;
+        }
+        return Integer.parseInt(new String(Files.readAllBytes(referencesFile.toPath()), StandardCharsets.US_ASCII).trim());
+    }
+
+    private void writeReferences(final String key, final int references) throws IOException {
+        Files.write(getReferencesFile(key).toPath(), String.valueOf(references).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    File getContentFile(final String key) throws IOException {
+        return new File(getSubFolder(key), key);
+    }
+
+    private File getReferencesFile(final String key) throws IOException {
+        return new File(getSubFolder(key), key + REFERENCES_EXTENSION);
+    }
+
+    private File getSubFolder(final String key) throws IOException {
+        return new File(getRootFolder(), key.substring(0, 2));
+    }
+
+    private File getRootFolder() throws IOException {
+        if (rootFolder == null) {
+            throw new IOException("No folder is set to store the document contents, set bonita.tenant.document.contentStore.folder");
+        }
+        return rootFolder;
+    }
+
+    /**
+     * Lock the reference counts of the sub folder of the given key. The lock file is never deleted, so that all nodes lock the same file.
+     */
+    private FolderLock lockReferences(final String key) throws IOException {
+        referencesLock.lock();
+        try {
+            final FileChannel channel = FileChannel.open(new File(getSubFolder(key), LOCK_FILE_NAME).toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+            try {
+                channel.lock();
+            } catch (final IOException e) {
+                channel.close();
+                throw e;
+            }
+            return new FolderLock(channel);
+        } catch (final IOException | RuntimeException e) {
+            referencesLock.unlock();
+            throw e;
+        }
+    }
+
+    private File getExistingContentFile(final String key) throws IOException {
+        final File contentFile = getContentFile(key);
+        if (!contentFile.exists()) {
+            throw new FileNotFoundException("No content found with key " + key);
+        }
+        return contentFile;
+    }
+
+    private static void createFolder(final File folder) throws IOException {
+        if (!folder.exists() && !folder.mkdirs() && !folder.exists()) {
+            throw new IOException("Unable to create the folder " + folder);
+        }
+    }
+
+    private static MessageDigest getDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private class FolderLock implements Closeable {
+
+        private final FileChannel channel;
+
+        FolderLock(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                // releases the file lock
+                channel.close();
+            } finally {
+                referencesLock.unlock();
+            }
+        }
+
+    }
+
+    /**
+     * Stream reading at most a given number of bytes of the underlying stream.
+     */
+    private static class RangeInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        RangeInputStream(final InputStream input, final long length) {
+            super(input);
+            remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            final int read = super.read();
+            if (read != -1) {
+                remaining--;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            final int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read != -1) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.document.api.impl;
+
+import java.io.IOException;
+
+import org.bonitasoft.engine.core.document.api.DocumentContentStore;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
+import org.bonitasoft.engine.transaction.TransactionState;
+
+/**
+ * Releases a reference to a content of the {@link DocumentContentStore} depending on the outcome of the transaction.
+ */
+class ReleaseContentSynchronization implements BonitaTransactionSynchronization {
+
+    private final DocumentContentStore contentStore;
+
+    private final String key;
+
+    private final boolean onCommit;
+
+    /**
+     * @param onCommit
+     *        true to release the content when the transaction is committed, false to release it when the transaction is rolled back
+     */
+    ReleaseContentSynchronization(final DocumentContentStore contentStore, final String key, final boolean onCommit) {
+        this.contentStore = contentStore;
+        this.key = key;
+        this.onCommit = onCommit;
+    }
+
+    @Override
+    public void beforeCommit() {
+        // Nothing to do
+    }
+
+    @Override
+    public void afterCompletion(final TransactionState txState) {
+        if ((txState == TransactionState.COMMITTED) == onCommit) {
+            try {
+                contentStore.release(key);
+            } catch (final IOException e) {
+                // the content is only left unreferenced in the store
+            }
+        }
+    }
+
+}
@@ -39,6 +39,8 @@ public class SLightDocumentImpl implements SLightDocument {
 
     private String url;
 
+    private String contentStoreKey;
+
     public SLightDocumentImpl() {
     }
 
@@ -51,6 +53,7 @@ public class SLightDocumentImpl implements SLightDocument {
         this.fileName = document.getFileName();
         this.mimeType = document.getMimeType();
         this.url = document.getUrl();
+        this.contentStoreKey = document.getContentStoreKey();
     }
 
     public void setId(final long id) {
@@ -130,6 +133,15 @@ public class SLightDocumentImpl implements SLightDocument {
         this.url = url;
     }
 
+    @Override
+    public String getContentStoreKey() {
+        return contentStoreKey;
+    }
+
+    public void setContentStoreKey(final String contentStoreKey) {
+        this.contentStoreKey = contentStoreKey;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -155,6 +167,8 @@ public class SLightDocumentImpl implements SLightDocument {
             return false;
         if (url != null ? !url.equals(sDocument.url) : sDocument.url != null)
             return false;
+        if (contentStoreKey != null ? !contentStoreKey.equals(sDocument.contentStoreKey) : sDocument.contentStoreKey != null)
+            return false;
 
         return true;
     }
@@ -169,6 +183,7 @@ public class SLightDocumentImpl implements SLightDocument {
         result = 31 * result + (fileName != null ? fileName.hashCode() : 0);
         result = 31 * result + (mimeType != null ? mimeType.hashCode() : 0);
         result = 31 * result + (url != null ? url.hashCode() : 0);
+        result = 31 * result + (contentStoreKey != null ? contentStoreKey.hashCode() : 0);
         return result;
     }
 
@@ -183,6 +198,7 @@ public class SLightDocumentImpl implements SLightDocument {
                 ", fileName='" + fileName + '\'' +
                 ", mimeType='" + mimeType + '\'' +
                 ", url='" + url + '\'' +
+                ", contentStoreKey='" + contentStoreKey + '\'' +
                 '}';
     }
 }
@@ -129,6 +129,11 @@ public class SMappedDocumentImpl implements SMappedDocument {
         return document.getUrl();
     }
 
+    @Override
+    public String getContentStoreKey() {
+        return document.getContentStoreKey();
+    }
+
     public String getName() {
         return name;
     }
@@ -26,6 +26,7 @@ import java.util.List;
 
 import org.bonitasoft.engine.archive.ArchiveService;
 import org.bonitasoft.engine.commons.exceptions.SObjectNotFoundException;
+import org.bonitasoft.engine.commons.exceptions.SObjectReadException;
 import org.bonitasoft.engine.core.document.model.SMappedDocument;
 import org.bonitasoft.engine.core.document.model.archive.impl.SAMappedDocumentImpl;
 import org.bonitasoft.engine.core.document.model.impl.SMappedDocumentImpl;
@@ -160,4 +161,18 @@ public class DocumentServiceImplTest {
         //then exception
     }
 
+    @Test(expected = SObjectReadException.class)
+    public void getDocumentContent_should_throw_exception_when_offset_is_negative() throws Exception {
+        //when
+        documentService.getDocumentContent("123", -1, 10);
+        //then exception
+    }
+
+    @Test(expected = SObjectReadException.class)
+    public void getDocumentContent_should_throw_exception_when_length_is_negative() throws Exception {
+        //when
+        documentService.getDocumentContent("123", 0, -10);
+        //then exception
+    }
+
 }
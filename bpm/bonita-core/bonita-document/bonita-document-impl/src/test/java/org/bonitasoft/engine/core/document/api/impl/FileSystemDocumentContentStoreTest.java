@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.document.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileSystemDocumentContentStoreTest {
+
+    private static final byte[] CONTENT = "some document content".getBytes();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private FileSystemDocumentContentStore contentStore;
+
+    @Before
+    public void before() throws Exception {
+        contentStore = new FileSystemDocumentContentStore(temporaryFolder.newFolder("documents").getAbsolutePath(), 1L);
+    }
+
+    @Test
+    public void should_store_contents_of_the_tenant_in_its_own_folder() throws Exception {
+        final String key = contentStore.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(contentStore.getContentFile(key).getParentFile().getParentFile()).isEqualTo(new File(temporaryFolder.getRoot(), "documents/1"));
+    }
+
+    @Test(expected = IOException.class)
+    public void should_not_store_content_when_no_folder_is_set() throws Exception {
+        new FileSystemDocumentContentStore("", 1L).store(new ByteArrayInputStream(CONTENT));
+    }
+
+    @Test
+    public void should_read_stored_content() throws Exception {
+        final String key = contentStore.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(readFully(contentStore.read(key))).isEqualTo(CONTENT);
+        assertThat(contentStore.getSize(key)).isEqualTo(CONTENT.length);
+    }
+
+    @Test
+    public void should_read_a_range_of_the_content() throws Exception {
+        final String key = contentStore.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(new String(readFully(contentStore.read(key, 5, 8)))).isEqualTo("document");
+    }
+
+    @Test
+    public void should_store_same_content_once_and_count_references() throws Exception {
+        final String key1 = contentStore.store(new ByteArrayInputStream(CONTENT));
+        final String key2 = contentStore.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(key1).isEqualTo(key2);
+        assertThat(contentStore.readReferences(key1)).isEqualTo(2);
+    }
+
+    @Test
+    public void should_keep_content_until_last_reference_is_released() throws Exception {
+        final String key = contentStore.store(new ByteArrayInputStream(CONTENT));
+        contentStore.store(new ByteArrayInputStream(CONTENT));
+
+        contentStore.release(key);
+
+        assertThat(readFully(contentStore.read(key))).isEqualTo(CONTENT);
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void should_delete_content_when_last_reference_is_released() throws Exception {
+        final String key = contentStore.store(new ByteArrayInputStream(CONTENT));
+
+        contentStore.release(key);
+
+        contentStore.read(key);
+    }
+
+    private byte[] readFully(final InputStream input) throws IOException {
+        try {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        } finally {
+            input.close();
+        }
+    }
+
+}
@@ -59,6 +59,16 @@ public interface ParameterService {
      */
     Map<String,String> getAll(long processDefinitionId) throws SParameterProcessNotFoundException, SBonitaReadException;
 
+    /**
+     * Get the values of all parameters of a process, loaded in one query and kept in cache until the parameters of the process are modified.
+     *
+     * @param processDefinitionId
+     *            identifier of processDefinition
+     * @return an unmodifiable map of parameter values by name, a parameter having a null value is in the map
+     * @since 7.2
+     */
+    Map<String, String> getSnapshot(long processDefinitionId) throws SBonitaReadException;
+
     /**
      * Delete all parameters for a specific processDefinition
      * 
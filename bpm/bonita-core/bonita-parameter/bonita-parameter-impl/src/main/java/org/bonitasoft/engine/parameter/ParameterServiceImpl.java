@@ -18,8 +18,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.bonitasoft.engine.builder.BuilderFactory;
+import org.bonitasoft.engine.cache.CacheService;
+import org.bonitasoft.engine.cache.SCacheException;
 import org.bonitasoft.engine.commons.exceptions.SObjectCreationException;
 import org.bonitasoft.engine.commons.exceptions.SObjectModificationException;
 import org.bonitasoft.engine.events.EventActionType;
@@ -33,6 +36,7 @@ import org.bonitasoft.engine.persistence.OrderByType;
 import org.bonitasoft.engine.persistence.QueryOptions;
 import org.bonitasoft.engine.persistence.ReadPersistenceService;
 import org.bonitasoft.engine.persistence.SBonitaReadException;
+import org.bonitasoft.engine.persistence.SelectByIdDescriptor;
 import org.bonitasoft.engine.persistence.SelectListDescriptor;
 import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.recorder.Recorder;
@@ -48,16 +52,19 @@ import org.bonitasoft.engine.recorder.model.UpdateRecord;
 public class ParameterServiceImpl implements ParameterService {
 
     public static final int PAGE_SIZE = 100;
+    public static final String CACHE_NAME = "parameters";
     public final String PARAMETER = "PARAMETER";
 
     private final Recorder recorder;
     private final ReadPersistenceService persistenceService;
     private final EventService eventService;
+    private final CacheService cacheService;
 
-    public ParameterServiceImpl(Recorder recorder, ReadPersistenceService persistenceService, EventService eventService) {
+    public ParameterServiceImpl(Recorder recorder, ReadPersistenceService persistenceService, EventService eventService, CacheService cacheService) {
         this.recorder = recorder;
         this.persistenceService = persistenceService;
         this.eventService = eventService;
+        this.cacheService = cacheService;
     }
 
     @Override
@@ -68,6 +75,7 @@ public class ParameterServiceImpl implements ParameterService {
             throw new SParameterNameNotFoundException("no parameter <" + parameterName + "> found in the process <" + processDefinitionId + ">");
         }
         update(sParameter, parameterValue);
+        changeVersion(processDefinitionId);
     }
 
     void update(SParameter sParameter, String parameterValue) throws SObjectModificationException {
@@ -86,6 +94,7 @@ public class ParameterServiceImpl implements ParameterService {
         for (Map.Entry<String, String> entry : parameters.entrySet()) {
             addOrUpdate(processDefinitionId, entry.getKey(), entry.getValue());
         }
+        changeVersion(processDefinitionId);
     }
 
     void addOrUpdate(long processDefinitionId, String name, String value) throws SObjectCreationException, SBonitaReadException, SObjectModificationException {
@@ -108,33 +117,95 @@ public class ParameterServiceImpl implements ParameterService {
 
     @Override
     public Map<String, String> getAll(long processDefinitionId) throws SParameterProcessNotFoundException, SBonitaReadException {
-        Map<String, String> parameters = new HashMap<>();
-        int fromIndex = 0;
-        List<SParameter> sParameters;
-        do {
-            sParameters = get(processDefinitionId, fromIndex, PAGE_SIZE, null);
-            for (SParameter sParameter : sParameters) {
-                parameters.put(sParameter.getName(), sParameter.getValue());
+        return new HashMap<>(getSnapshot(processDefinitionId));
+    }
+
+    /**
+     * The cached snapshot is used only if it was read at the version of the parameters currently in database: a change made by any node of a
+     * cluster changes the version, and the version is read before the parameters so that a snapshot is never cached with a newer version than its
+     * values.
+     */
+    @Override
+    public Map<String, String> getSnapshot(long processDefinitionId) throws SBonitaReadException {
+        final long version = getVersion(processDefinitionId);
+        try {
+            ParametersSnapshot snapshot = (ParametersSnapshot) cacheService.get(CACHE_NAME, processDefinitionId);
+            if (snapshot == null || snapshot.getVersion() != version) {
+                snapshot = new ParametersSnapshot(version, loadSnapshot(processDefinitionId));
+                cacheService.store(CACHE_NAME, processDefinitionId, snapshot);
             }
-            fromIndex += PAGE_SIZE;
+            return snapshot.getValues();
+        } catch (SCacheException e) {
+            throw new SBonitaReadException(e);
+        }
+    }
+
+    Map<String, String> loadSnapshot(long processDefinitionId) throws SBonitaReadException {
+        final Map<String, String> parameters = new HashMap<>();
+        for (SParameter sParameter : get(processDefinitionId, 0, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS, null)) {
+            parameters.put(sParameter.getName(), sParameter.getValue());
+        }
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    /**
+     * @return the version of the parameters of the process definition, 0 if they were never modified since the version was introduced
+     */
+    long getVersion(long processDefinitionId) throws SBonitaReadException {
+        final SParameterVersionImpl version = getVersionEntity(processDefinitionId);
+        return version == null ? 0 : version.getVersion();
+    }
+
+    private SParameterVersionImpl getVersionEntity(long processDefinitionId) throws SBonitaReadException {
+        return persistenceService.selectById(new SelectByIdDescriptor<SParameterVersionImpl>("getParameterVersion", SParameterVersionImpl.class,
+                processDefinitionId));
+    }
 
-        } while (sParameters.size() == PAGE_SIZE);
-        return parameters;
+    /**
+     * Give a new version to the parameters of the process definition. The version is a random stamp rather than a counter so that two concurrent
+     * changes can not end with the same version.
+     */
+    void changeVersion(long processDefinitionId) throws SBonitaReadException, SObjectModificationException {
+        long newVersion;
+        do {
+            newVersion = UUID.randomUUID().getMostSignificantBits();
+        } while (newVersion == 0);
+        final SParameterVersionImpl version = getVersionEntity(processDefinitionId);
+        try {
+            if (version == null) {
+                recorder.recordInsert(new InsertRecord(new SParameterVersionImpl(processDefinitionId, newVersion)), null);
+            } else {
+                final EntityUpdateDescriptor descriptor = new EntityUpdateDescriptor();
+                descriptor.addField("version", newVersion);
+                recorder.recordUpdate(UpdateRecord.buildSetFields(version, descriptor), null);
+            }
+        } catch (SRecorderException e) {
+            throw new SObjectModificationException(e);
+        }
     }
 
     @Override
     public void deleteAll(long processDefinitionId) throws SParameterProcessNotFoundException, SBonitaReadException, SObjectModificationException {
-        List<SParameter> toDelete;
-        do {
-            toDelete = get(processDefinitionId, 0, PAGE_SIZE, null);
-            for (SParameter sParameter : toDelete) {
-                try {
-                    recorder.recordDelete(new DeleteRecord(sParameter), getDeleteEvent(sParameter, PARAMETER));
-                } catch (SRecorderException e) {
-                    throw new SObjectModificationException(e);
-                }
+        for (SParameter sParameter : get(processDefinitionId, 0, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS, null)) {
+            try {
+                recorder.recordDelete(new DeleteRecord(sParameter), getDeleteEvent(sParameter, PARAMETER));
+            } catch (SRecorderException e) {
+                throw new SObjectModificationException(e);
             }
-        } while (toDelete.size() == PAGE_SIZE);
+        }
+        deleteVersion(processDefinitionId);
+    }
+
+    private void deleteVersion(long processDefinitionId) throws SBonitaReadException, SObjectModificationException {
+        final SParameterVersionImpl version = getVersionEntity(processDefinitionId);
+        try {
+            if (version != null) {
+                recorder.recordDelete(new DeleteRecord(version), null);
+            }
+            cacheService.remove(CACHE_NAME, processDefinitionId);
+        } catch (SRecorderException | SCacheException e) {
+            throw new SObjectModificationException(e);
+        }
     }
 
     @Override
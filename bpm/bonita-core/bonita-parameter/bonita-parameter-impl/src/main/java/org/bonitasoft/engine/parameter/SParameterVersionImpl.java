@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.parameter;
+
+import org.bonitasoft.engine.persistence.PersistentObject;
+
+/**
+ * Stamp of the parameters of a process definition, changed each time they are modified. Its id is the id of the process definition.
+ */
+public class SParameterVersionImpl implements PersistentObject {
+
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+
+    private long tenantId;
+
+    private long version;
+
+    public SParameterVersionImpl() {
+    }
+
+    public SParameterVersionImpl(final long processDefinitionId, final long version) {
+        id = processDefinitionId;
+        this.version = version;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(final long id) {
+        this.id = id;
+    }
+
+    public long getTenantId() {
+        return tenantId;
+    }
+
+    @Override
+    public void setTenantId(final long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDiscriminator() {
+        return SParameterVersionImpl.class.getName();
+    }
+
+}
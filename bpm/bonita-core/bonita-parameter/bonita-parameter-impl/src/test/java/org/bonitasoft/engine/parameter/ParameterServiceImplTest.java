@@ -14,16 +14,20 @@
 package org.bonitasoft.engine.parameter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.bonitasoft.engine.cache.CacheService;
 import org.bonitasoft.engine.events.EventService;
 import org.bonitasoft.engine.events.model.SDeleteEvent;
 import org.bonitasoft.engine.events.model.SInsertEvent;
@@ -31,6 +35,7 @@ import org.bonitasoft.engine.events.model.SUpdateEvent;
 import org.bonitasoft.engine.persistence.OrderByOption;
 import org.bonitasoft.engine.persistence.OrderByType;
 import org.bonitasoft.engine.persistence.ReadPersistenceService;
+import org.bonitasoft.engine.persistence.SelectByIdDescriptor;
 import org.bonitasoft.engine.persistence.SelectListDescriptor;
 import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.recorder.Recorder;
@@ -57,9 +62,15 @@ public class ParameterServiceImplTest {
     ReadPersistenceService persistenceService;
     @Mock
     EventService eventService;
+    @Mock
+    CacheService cacheService;
 
     @Captor
     private ArgumentCaptor<SelectListDescriptor<SParameter>> getSelectDescriptor;
+    @Captor
+    private ArgumentCaptor<ParametersSnapshot> snapshotCaptor;
+    @Captor
+    private ArgumentCaptor<InsertRecord> insertCaptor;
 
     @InjectMocks
     private ParameterServiceImpl parameterService;
@@ -99,7 +110,10 @@ public class ParameterServiceImplTest {
         parameters.put("param2", "value2");
         parameters.put("param3", "value3");
         parameterService.addAll(123L, parameters);
-        verify(recorder, times(3)).recordInsert(any(InsertRecord.class), any(SInsertEvent.class));
+        verify(recorder, times(4)).recordInsert(insertCaptor.capture(), any(SInsertEvent.class));
+        for (final InsertRecord insertRecord : insertCaptor.getAllValues().subList(0, 3)) {
+            assertThat(insertRecord.getEntity()).isInstanceOf(SParameterImpl.class);
+        }
     }
 
     @Test
@@ -181,4 +195,98 @@ public class ParameterServiceImplTest {
         spy.getAll(processDefinitionId);
         verify(spy).get(eq(processDefinitionId), eq(0), anyInt(), any(OrderBy.class));
     }
+
+    @Test
+    public void getSnapshot_should_return_the_snapshot_in_cache_when_read_at_the_current_version() throws Exception {
+        final Map<String, String> values = Collections.singletonMap("param1", "value1");
+        doReturn(new SParameterVersionImpl(123L, 7L)).when(persistenceService).selectById(any(SelectByIdDescriptor.class));
+        doReturn(new ParametersSnapshot(7L, values)).when(cacheService).get(ParameterServiceImpl.CACHE_NAME, 123L);
+
+        assertThat(parameterService.getSnapshot(123L)).isSameAs(values);
+        verify(persistenceService, never()).selectList(any(SelectListDescriptor.class));
+    }
+
+    @Test
+    public void getSnapshot_should_reload_the_snapshot_in_cache_when_the_parameters_were_changed_since() throws Exception {
+        doReturn(new SParameterVersionImpl(123L, 8L)).when(persistenceService).selectById(any(SelectByIdDescriptor.class));
+        doReturn(new ParametersSnapshot(7L, Collections.singletonMap("param1", "oldValue"))).when(cacheService).get(ParameterServiceImpl.CACHE_NAME, 123L);
+        doReturn(Arrays.<SParameter> asList(new SParameterImpl("param1", "newValue", 123L))).when(persistenceService).selectList(
+                any(SelectListDescriptor.class));
+
+        assertThat(parameterService.getSnapshot(123L)).containsOnly(entry("param1", "newValue"));
+        verify(cacheService).store(eq(ParameterServiceImpl.CACHE_NAME), eq(123L), snapshotCaptor.capture());
+        assertThat(snapshotCaptor.getValue().getVersion()).isEqualTo(8L);
+    }
+
+    @Test
+    public void getSnapshot_should_load_all_parameters_in_one_query_and_store_them_in_cache() throws Exception {
+        doReturn(Arrays.<SParameter> asList(new SParameterImpl("param1", "value1", 123L), new SParameterImpl("param2", null, 123L))).when(
+                persistenceService).selectList(any(SelectListDescriptor.class));
+
+        final Map<String, String> snapshot = parameterService.getSnapshot(123L);
+
+        assertThat(snapshot).hasSize(2).contains(entry("param1", "value1"), entry("param2", null));
+        verify(persistenceService, times(1)).selectList(any(SelectListDescriptor.class));
+        verify(cacheService).store(eq(ParameterServiceImpl.CACHE_NAME), eq(123L), snapshotCaptor.capture());
+        assertThat(snapshotCaptor.getValue().getValues()).isSameAs(snapshot);
+        assertThat(snapshotCaptor.getValue().getVersion()).isEqualTo(0L);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getSnapshot_should_return_an_unmodifiable_map() throws Exception {
+        parameterService.getSnapshot(123L).put("param1", "value1");
+    }
+
+    @Test
+    public void update_should_create_the_version_of_parameters_never_modified() throws Exception {
+        final ParameterServiceImpl spy = spy(parameterService);
+        doReturn(new SParameterImpl("aParam", "value", 123L)).when(spy).get(123L, "aParam");
+
+        spy.update(123L, "aParam", "newValue");
+
+        verify(recorder).recordInsert(insertCaptor.capture(), any(SInsertEvent.class));
+        final SParameterVersionImpl version = (SParameterVersionImpl) insertCaptor.getValue().getEntity();
+        assertThat(version.getId()).isEqualTo(123L);
+        assertThat(version.getVersion()).isNotEqualTo(0L);
+    }
+
+    @Test
+    public void update_should_change_the_existing_version() throws Exception {
+        final ParameterServiceImpl spy = spy(parameterService);
+        doReturn(new SParameterImpl("aParam", "value", 123L)).when(spy).get(123L, "aParam");
+        final SParameterVersionImpl version = new SParameterVersionImpl(123L, 7L);
+        doReturn(version).when(persistenceService).selectById(any(SelectByIdDescriptor.class));
+
+        spy.update(123L, "aParam", "newValue");
+
+        final ArgumentCaptor<UpdateRecord> updateCaptor = ArgumentCaptor.forClass(UpdateRecord.class);
+        verify(recorder, times(2)).recordUpdate(updateCaptor.capture(), any(SUpdateEvent.class));
+        assertThat(updateCaptor.getAllValues().get(1).getEntity()).isSameAs(version);
+        assertThat(updateCaptor.getAllValues().get(1).getFields().get("version")).isNotEqualTo(7L);
+    }
+
+    @Test
+    public void addAll_should_change_the_version_once() throws Exception {
+        final HashMap<String, String> parameters = new HashMap<>(2);
+        parameters.put("param1", "value1");
+        parameters.put("param2", "value2");
+
+        parameterService.addAll(123L, parameters);
+
+        verify(recorder, times(3)).recordInsert(insertCaptor.capture(), any(SInsertEvent.class));
+        assertThat(insertCaptor.getAllValues().get(2).getEntity()).isInstanceOf(SParameterVersionImpl.class);
+    }
+
+    @Test
+    public void deleteAll_should_delete_the_version_and_the_snapshot() throws Exception {
+        final SParameterVersionImpl version = new SParameterVersionImpl(123L, 7L);
+        doReturn(version).when(persistenceService).selectById(any(SelectByIdDescriptor.class));
+
+        parameterService.deleteAll(123L);
+
+        final ArgumentCaptor<DeleteRecord> deleteCaptor = ArgumentCaptor.forClass(DeleteRecord.class);
+        verify(recorder).recordDelete(deleteCaptor.capture(), any(SDeleteEvent.class));
+        assertThat(deleteCaptor.getValue().getEntity()).isSameAs(version);
+        verify(cacheService).remove(ParameterServiceImpl.CACHE_NAME, 123L);
+    }
 }
@@ -31,6 +31,7 @@ import org.bonitasoft.engine.builder.BuilderFactory;
 import org.bonitasoft.engine.commons.exceptions.SBonitaException;
 import org.bonitasoft.engine.commons.exceptions.SObjectAlreadyExistsException;
 import org.bonitasoft.engine.commons.exceptions.SObjectNotFoundException;
+import org.bonitasoft.engine.commons.exceptions.SObjectReadException;
 import org.bonitasoft.engine.core.document.api.DocumentService;
 import org.bonitasoft.engine.core.document.api.impl.DocumentHelper;
 import org.bonitasoft.engine.core.document.model.SDocument;
@@ -43,6 +44,7 @@ import org.bonitasoft.engine.core.process.instance.model.archive.SAActivityInsta
 import org.bonitasoft.engine.exception.AlreadyExistsException;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.exception.DeletionException;
+import org.bonitasoft.engine.exception.IncorrectParameterException;
 import org.bonitasoft.engine.exception.RetrieveException;
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.persistence.OrderAndField;
@@ -244,6 +246,20 @@ public class DocumentAPIImpl implements DocumentAPI {
         }
     }
 
+    @Override
+    public byte[] getDocumentContent(final String documentStorageId, final long offset, final int length) throws DocumentNotFoundException,
+            IncorrectParameterException {
+        final TenantServiceAccessor tenantAccessor = getTenantAccessor();
+        final DocumentService documentService = tenantAccessor.getDocumentService();
+        try {
+            return documentService.getDocumentContent(documentStorageId, offset, length);
+        } catch (final SObjectNotFoundException sbe) {
+            throw new DocumentNotFoundException(sbe);
+        } catch (final SObjectReadException sbe) {
+            throw new IncorrectParameterException(sbe.getMessage(), sbe);
+        }
+    }
+
     @Override
     public Document getLastDocument(final long processInstanceId, final String documentName) throws DocumentNotFoundException {
         final TenantServiceAccessor tenantAccessor = getTenantAccessor();
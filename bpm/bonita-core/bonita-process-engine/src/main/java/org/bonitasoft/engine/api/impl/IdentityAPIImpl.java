@@ -14,6 +14,7 @@
 package org.bonitasoft.engine.api.impl;
 
 import java.io.Serializable;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.Set;
 import org.bonitasoft.engine.actor.mapping.ActorMappingService;
 import org.bonitasoft.engine.actor.mapping.model.SActor;
 import org.bonitasoft.engine.api.IdentityAPI;
+import org.bonitasoft.engine.api.impl.transaction.CustomTransactions;
 import org.bonitasoft.engine.api.impl.transaction.actor.GetActor;
 import org.bonitasoft.engine.api.impl.transaction.identity.AddUserMembership;
 import org.bonitasoft.engine.api.impl.transaction.identity.AddUserMemberships;
@@ -128,8 +130,8 @@ import org.bonitasoft.engine.identity.model.builder.SUserMembershipBuilderFactor
 import org.bonitasoft.engine.identity.model.builder.SUserMembershipUpdateBuilderFactory;
 import org.bonitasoft.engine.identity.model.builder.SUserUpdateBuilder;
 import org.bonitasoft.engine.identity.model.builder.SUserUpdateBuilderFactory;
-import org.bonitasoft.engine.identity.xml.ExportOrganization;
-import org.bonitasoft.engine.identity.xml.ImportOrganization;
+import org.bonitasoft.engine.identity.xml.StreamingOrganizationExporter;
+import org.bonitasoft.engine.identity.xml.StreamingOrganizationImporter;
 import org.bonitasoft.engine.persistence.OrderByOption;
 import org.bonitasoft.engine.persistence.OrderByType;
 import org.bonitasoft.engine.profile.ProfileService;
@@ -1410,11 +1412,13 @@ public class IdentityAPIImpl implements IdentityAPI {
     }
 
     @Override
+    @CustomTransactions
     public void importOrganization(final String organizationContent) throws OrganizationImportException {
         importOrganization(organizationContent, ImportPolicy.MERGE_DUPLICATES);
     }
 
     @Override
+    @CustomTransactions
     public void importOrganization(final String organizationContent, final ImportPolicy policy) throws OrganizationImportException {
         final TenantServiceAccessor tenantAccessor = getTenantAccessor();
         try {
@@ -1422,23 +1426,26 @@ public class IdentityAPIImpl implements IdentityAPI {
             final SCustomUserInfoValueUpdateBuilderFactory updaterFactor = BuilderFactory.get(SCustomUserInfoValueUpdateBuilderFactory.class);
             final SCustomUserInfoValueAPI customUserInfoValueAPI = new SCustomUserInfoValueAPI(tenantAccessor.getIdentityService(), creatorFactory,
                     updaterFactor);
-            new ImportOrganization(tenantAccessor, organizationContent, policy, customUserInfoValueAPI).execute();
+            final int chunkSize = tenantAccessor.getTenantConfiguration().getOrganizationImportChunkSize();
+            new StreamingOrganizationImporter(tenantAccessor, policy, customUserInfoValueAPI, chunkSize).importOrganization(organizationContent);
         } catch (final SBonitaException e) {
             throw new OrganizationImportException(e);
         }
     }
 
     @Override
+    @CustomTransactions
     public String exportOrganization() throws OrganizationExportException {
+        final StringWriter writer = new StringWriter();
         final TenantServiceAccessor tenantAccessor = getTenantAccessor();
-        final int maxResults = 100;
-        final ExportOrganization exportOrganization = new ExportOrganization(tenantAccessor.getXMLWriter(), tenantAccessor.getIdentityService(), maxResults);
+        final int pageSize = tenantAccessor.getTenantConfiguration().getOrganizationExportPageSize();
         try {
-            exportOrganization.execute();
-            return exportOrganization.getResult();
+            new StreamingOrganizationExporter(tenantAccessor.getIdentityService(), tenantAccessor.getUserTransactionService(), pageSize)
+                    .exportOrganization(writer);
         } catch (final SBonitaException e) {
             throw new OrganizationExportException(e);
         }
+        return writer.toString();
     }
 
     @Override
@@ -127,6 +127,7 @@ public class PlatformAPIImpl implements PlatformAPI {
         try {
             final SPlatform platform = constructPlatform(platformAccessor);
             platformService.createTables();
+            platformAccessor.getArchivePartitionService().partitionArchiveTables();
 
             transactionService.begin();
             try {
@@ -631,6 +632,7 @@ public class PlatformAPIImpl implements PlatformAPI {
             // ignore not existing platform
         }
         try {
+            platformAccessor.getArchivePartitionService().unpartitionArchiveTables();
             platformService.deleteTables();
         } catch (final SBonitaException e) {
             throw new DeletionException(e);
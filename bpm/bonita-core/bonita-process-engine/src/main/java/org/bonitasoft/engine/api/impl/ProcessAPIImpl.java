@@ -108,6 +108,7 @@ import org.bonitasoft.engine.api.impl.transaction.task.SetTaskPriority;
 import org.bonitasoft.engine.archive.ArchiveService;
 import org.bonitasoft.engine.bar.BARResourceType;
 import org.bonitasoft.engine.bar.BusinessArchiveService;
+import org.bonitasoft.engine.bar.PreparedBusinessArchive;
 import org.bonitasoft.engine.bar.ResourcesService;
 import org.bonitasoft.engine.bar.SBARResource;
 import org.bonitasoft.engine.bpm.actor.ActorCriterion;
@@ -314,6 +315,7 @@ import org.bonitasoft.engine.exception.CreationException;
 import org.bonitasoft.engine.exception.DeletionException;
 import org.bonitasoft.engine.exception.ExecutionException;
 import org.bonitasoft.engine.exception.FormMappingNotFoundException;
+import org.bonitasoft.engine.exception.IncorrectParameterException;
 import org.bonitasoft.engine.exception.NotFoundException;
 import org.bonitasoft.engine.exception.NotSerializableException;
 import org.bonitasoft.engine.exception.ProcessInstanceHierarchicalDeletionException;
@@ -643,6 +645,7 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @CustomTransactions
     public ProcessDefinition deployAndEnableProcess(final DesignProcessDefinition designProcessDefinition) throws ProcessDeployException,
             ProcessEnablementException, AlreadyExistsException, InvalidProcessDefinitionException {
         BusinessArchive businessArchive;
@@ -655,18 +658,14 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @CustomTransactions
     public ProcessDefinition deployAndEnableProcess(final BusinessArchive businessArchive) throws ProcessDeployException, ProcessEnablementException,
             AlreadyExistsException {
-        final ProcessDefinition processDefinition = deploy(businessArchive);
-        try {
-            enableProcess(processDefinition.getId());
-        } catch (final ProcessDefinitionNotFoundException e) {
-            throw new ProcessEnablementException(e.getMessage());
-        }
-        return processDefinition;
+        return deploy(businessArchive, true);
     }
 
     @Override
+    @CustomTransactions
     public ProcessDefinition deploy(final DesignProcessDefinition designProcessDefinition) throws AlreadyExistsException, ProcessDeployException {
         try {
             final BusinessArchive businessArchive = new BusinessArchiveBuilder().createNewBusinessArchive().setProcessDefinition(designProcessDefinition)
@@ -678,15 +677,49 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @CustomTransactions
     public ProcessDefinition deploy(final BusinessArchive businessArchive) throws ProcessDeployException, AlreadyExistsException {
+        try {
+            return deploy(businessArchive, false);
+        } catch (final ProcessEnablementException e) {
+            throw new ProcessDeployException(e);
+        }
+    }
+
+    /**
+     * The artifacts of the business archive are prepared outside of any transaction, only the process definition and the prepared artifacts are
+     * written in the deployment transaction.
+     */
+    private ProcessDefinition deploy(final BusinessArchive businessArchive, final boolean enable) throws ProcessDeployException,
+            ProcessEnablementException, AlreadyExistsException {
         final TenantServiceAccessor tenantAccessor = getTenantAccessor();
         final BusinessArchiveService businessArchiveService = tenantAccessor.getBusinessArchiveService();
+        final PreparedBusinessArchive preparedBusinessArchive;
         try {
-            return ModelConvertor.toProcessDefinition(businessArchiveService.deploy(businessArchive));
-        } catch (SObjectCreationException e) {
+            preparedBusinessArchive = businessArchiveService.prepare(businessArchive);
+        } catch (final SObjectCreationException e) {
             throw new ProcessDeployException(e);
-        } catch (SAlreadyExistsException e) {
+        }
+        try {
+            return tenantAccessor.getUserTransactionService().executeInTransaction(new Callable<ProcessDefinition>() {
+
+                @Override
+                public ProcessDefinition call() throws Exception {
+                    final SProcessDefinition sProcessDefinition = businessArchiveService.deploy(preparedBusinessArchive);
+                    if (enable) {
+                        enableProcess(sProcessDefinition.getId());
+                    }
+                    return ModelConvertor.toProcessDefinition(sProcessDefinition);
+                }
+            });
+        } catch (final SAlreadyExistsException e) {
             throw new AlreadyExistsException(e.getMessage());
+        } catch (final ProcessDefinitionNotFoundException e) {
+            throw new ProcessEnablementException(e.getMessage());
+        } catch (final ProcessEnablementException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new ProcessDeployException(e);
         }
     }
 
@@ -941,6 +974,7 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @AdmissionControlled
     public ProcessInstance startProcess(final long processDefinitionId) throws ProcessActivationException, ProcessExecutionException {
         try {
             return startProcess(getUserId(), processDefinitionId);
@@ -950,6 +984,7 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @AdmissionControlled
     public ProcessInstance startProcess(final long userId, final long processDefinitionId) throws ProcessDefinitionNotFoundException,
             ProcessExecutionException, ProcessActivationException {
         return startProcess(userId, processDefinitionId, null, null);
@@ -1390,16 +1425,13 @@ public class ProcessAPIImpl implements ProcessAPI {
     public List<HumanTaskInstance> getPendingHumanTaskInstances(final long userId, final int startIndex, final int maxResults,
             final ActivityInstanceCriterion pagingCriterion) {
         final TenantServiceAccessor tenantAccessor = getTenantAccessor();
-        final ActorMappingService actorMappingService = tenantAccessor.getActorMappingService();
         final FlowNodeStateManager flowNodeStateManager = tenantAccessor.getFlowNodeStateManager();
         final OrderAndField orderAndField = OrderAndFields.getOrderAndFieldForActivityInstance(pagingCriterion);
 
-        final ProcessDefinitionService definitionService = tenantAccessor.getProcessDefinitionService();
         final ActivityInstanceService activityInstanceService = tenantAccessor.getActivityInstanceService();
         try {
-            final Set<Long> actorIds = getActorsForUser(userId, actorMappingService, definitionService);
-            final List<SHumanTaskInstance> pendingTasks = activityInstanceService.getPendingTasks(userId, actorIds, startIndex, maxResults,
-                    orderAndField.getField(), orderAndField.getOrder());
+            final List<SHumanTaskInstance> pendingTasks = activityInstanceService.getPendingTasks(userId, startIndex, maxResults, orderAndField.getField(),
+                    orderAndField.getOrder());
             return ModelConvertor.toHumanTaskInstances(pendingTasks, flowNodeStateManager);
         } catch (final SBonitaException e) {
             return Collections.emptyList();
@@ -3032,6 +3064,7 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @AdmissionControlled
     public ProcessInstance startProcess(final long processDefinitionId, final Map<String, Serializable> initialVariables)
             throws ProcessDefinitionNotFoundException, ProcessActivationException, ProcessExecutionException {
         final List<Operation> operations = createSetDataOperation(processDefinitionId, initialVariables);
@@ -3039,12 +3072,14 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @AdmissionControlled
     public ProcessInstance startProcessWithInputs(final long processDefinitionId, final Map<String, Serializable> instantiationInputs)
             throws ProcessDefinitionNotFoundException, ProcessActivationException, ProcessExecutionException, ContractViolationException {
         return startProcessWithInputs(0, processDefinitionId, instantiationInputs);
     }
 
     @Override
+    @AdmissionControlled
     public ProcessInstance startProcessWithInputs(final long userId, final long processDefinitionId, final Map<String, Serializable> instantiationInputs)
             throws ProcessDefinitionNotFoundException, ProcessActivationException, ProcessExecutionException, ContractViolationException {
         try {
@@ -3055,6 +3090,7 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @AdmissionControlled
     public ProcessInstance startProcess(final long userId, final long processDefinitionId, final Map<String, Serializable> initialVariables)
             throws ProcessDefinitionNotFoundException, ProcessActivationException, ProcessExecutionException {
         final List<Operation> operations = createSetDataOperation(processDefinitionId, initialVariables);
@@ -3089,6 +3125,7 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @AdmissionControlled
     public ProcessInstance startProcess(final long processDefinitionId, final List<Operation> operations, final Map<String, Serializable> context)
             throws ProcessExecutionException, ProcessDefinitionNotFoundException, ProcessActivationException {
         try {
@@ -3099,6 +3136,7 @@ public class ProcessAPIImpl implements ProcessAPI {
     }
 
     @Override
+    @AdmissionControlled
     public ProcessInstance startProcess(final long userId, final long processDefinitionId, final List<Operation> operations,
             final Map<String, Serializable> context) throws ProcessDefinitionNotFoundException, ProcessActivationException, ProcessExecutionException {
         final ProcessStarter starter = new ProcessStarter(userId, processDefinitionId, operations, context);
@@ -3529,6 +3567,19 @@ public class ProcessAPIImpl implements ProcessAPI {
         }
     }
 
+    @CustomTransactions
+    @Override
+    public long purgeArchivedProcessInstances(final long processDefinitionId, final Date fromEndDate, final Date toEndDate) throws DeletionException {
+        if (fromEndDate == null || toEndDate == null) {
+            throw new IllegalArgumentException("The period of the archived process instances to purge is missing");
+        }
+        try {
+            return getTenantAccessor().getArchivedProcessInstancesPurger().purge(processDefinitionId, fromEndDate.getTime(), toEndDate.getTime());
+        } catch (final SBonitaException e) {
+            throw new DeletionException(e);
+        }
+    }
+
     @Override
     public long deleteArchivedProcessInstancesInAllStates(final List<Long> sourceProcessInstanceIds) throws DeletionException {
         if (sourceProcessInstanceIds == null || sourceProcessInstanceIds.isEmpty()) {
@@ -4368,6 +4419,12 @@ public class ProcessAPIImpl implements ProcessAPI {
         return documentAPI.getDocumentContent(documentStorageId);
     }
 
+    @Override
+    public byte[] getDocumentContent(final String documentStorageId, final long offset, final int length) throws DocumentNotFoundException,
+            IncorrectParameterException {
+        return documentAPI.getDocumentContent(documentStorageId, offset, length);
+    }
+
     @Override
     public Document getLastDocument(final long processInstanceId, final String documentName) throws DocumentNotFoundException {
         return documentAPI.getLastDocument(processInstanceId, documentName);
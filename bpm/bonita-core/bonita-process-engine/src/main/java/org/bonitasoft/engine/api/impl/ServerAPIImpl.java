@@ -40,6 +40,7 @@ import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.exception.BonitaHomeConfigurationException;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.BonitaRuntimeException;
+import org.bonitasoft.engine.exception.ServerBusyException;
 import org.bonitasoft.engine.exception.TenantStatusException;
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
@@ -60,6 +61,7 @@ import org.bonitasoft.engine.session.Session;
 import org.bonitasoft.engine.session.SessionService;
 import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
 import org.bonitasoft.engine.transaction.UserTransactionService;
+import org.bonitasoft.engine.work.WorkService;
 
 /**
  * @author Matthieu Chaffotte
@@ -420,6 +422,10 @@ public class ServerAPIImpl implements ServerAPI {
         if (session == null) {
             throw new BonitaRuntimeException("session is null");
         }
+        if (session instanceof APISession && method.isAnnotationPresent(AdmissionControlled.class)) {
+            // wait before opening the transaction: nothing is held while the works already committed are executed
+            checkWorkQueueCapacity(((APISession) session).getTenantId(), apiInterfaceName, method);
+        }
         final UserTransactionService userTransactionService = selectUserTransactionService(session, getSessionType(session));
 
         final Callable<Object> callable = new Callable<Object>() {
@@ -438,6 +444,17 @@ public class ServerAPIImpl implements ServerAPI {
         return userTransactionService.executeInTransaction(callable);
     }
 
+    protected void checkWorkQueueCapacity(final long tenantId, final String apiInterfaceName, final Method method) throws Exception {
+        if (!getWorkService(tenantId).awaitQueueCapacity()) {
+            throw new ServerBusyException("Too many works are waiting to be executed on tenant with ID " + tenantId + ", method '" + apiInterfaceName + "."
+                    + method.getName() + "()' cannot be called for now.");
+        }
+    }
+
+    protected WorkService getWorkService(final long tenantId) throws Exception {
+        return getServiceAccessorFactoryInstance().createTenantServiceAccessor(tenantId).getWorkService();
+    }
+
     protected UserTransactionService selectUserTransactionService(final Session session, final SessionType sessionType) throws BonitaHomeNotSetException,
             InstantiationException, IllegalAccessException, ClassNotFoundException, IOException, BonitaHomeConfigurationException {
         UserTransactionService transactionService;
@@ -32,6 +32,10 @@ public class TenantConfiguration {
 
     private String cleanInvalidSessionsJobCron = "0 0 */2 * * ?";
 
+    private int organizationImportChunkSize = 1000;
+
+    private int organizationExportPageSize = 1000;
+
     private List<JobRegister> jobsToRegister;
 
     private List<TenantLifecycleService> lifecycleServices;
@@ -77,6 +81,32 @@ public class TenantConfiguration {
         this.cleanInvalidSessionsJobCron = cleanInvalidSessionsJobCron;
     }
 
+    /**
+     * Number of organization elements (users, roles, groups, memberships) imported in a single transaction
+     *
+     * @since 7.2.0
+     */
+    public int getOrganizationImportChunkSize() {
+        return organizationImportChunkSize;
+    }
+
+    public void setOrganizationImportChunkSize(final int organizationImportChunkSize) {
+        this.organizationImportChunkSize = organizationImportChunkSize;
+    }
+
+    /**
+     * Number of organization elements (users, roles, groups, memberships) read in a single transaction when exporting the organization
+     *
+     * @since 7.2.0
+     */
+    public int getOrganizationExportPageSize() {
+        return organizationExportPageSize;
+    }
+
+    public void setOrganizationExportPageSize(final int organizationExportPageSize) {
+        this.organizationExportPageSize = organizationExportPageSize;
+    }
+
     public List<TenantLifecycleService> getLifecycleServices() {
         return lifecycleServices;
     }
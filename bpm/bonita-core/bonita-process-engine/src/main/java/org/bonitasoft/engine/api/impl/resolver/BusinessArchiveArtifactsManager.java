@@ -69,11 +69,23 @@ public class BusinessArchiveArtifactsManager {
     }
 
     public boolean resolveDependencies(final BusinessArchive businessArchive, final SProcessDefinition sDefinition) {
+        return resolveDependencies(businessArchive, sDefinition, Collections.<BusinessArchiveArtifactManager, Object> emptyMap());
+    }
+
+    /**
+     * Deploy the artifacts of the business archive, using the artifacts already prepared by the {@link PreparableArtifactManager}s
+     *
+     * @param preparedArtifacts
+     *        the result of {@link PreparableArtifactManager#prepare(BusinessArchive)} by artifact manager, managers not in it deploy from the business
+     *        archive
+     */
+    public boolean resolveDependencies(final BusinessArchive businessArchive, final SProcessDefinition sDefinition,
+            final Map<BusinessArchiveArtifactManager, Object> preparedArtifacts) {
         final List<BusinessArchiveArtifactManager> artifactManagers = getArtifactManagers();
         boolean resolved = true;
         for (final BusinessArchiveArtifactManager artifactManager : artifactManagers) {
             try {
-                resolved &= artifactManager.deploy(businessArchive, sDefinition);
+                resolved &= deploy(artifactManager, businessArchive, sDefinition, preparedArtifacts);
                 if (!resolved) {
                     for (Problem problem : artifactManager.checkResolution(sDefinition)) {
                         technicalLoggerService.log(BusinessArchiveArtifactsManager.class, INFO, problem.getDescription());
@@ -88,6 +100,15 @@ public class BusinessArchiveArtifactsManager {
         return resolved;
     }
 
+    @SuppressWarnings("unchecked")
+    private boolean deploy(final BusinessArchiveArtifactManager artifactManager, final BusinessArchive businessArchive, final SProcessDefinition sDefinition,
+            final Map<BusinessArchiveArtifactManager, Object> preparedArtifacts) throws BonitaException, SBonitaException {
+        if (preparedArtifacts.containsKey(artifactManager)) {
+            return ((PreparableArtifactManager<Object>) artifactManager).deploy(preparedArtifacts.get(artifactManager), businessArchive, sDefinition);
+        }
+        return artifactManager.deploy(businessArchive, sDefinition);
+    }
+
     public void resolveDependenciesForAllProcesses(TenantServiceAccessor tenantAccessor) {
         try {
             List<Long> processDefinitionIds = tenantAccessor.getProcessDefinitionService().getProcessDefinitionIds(0, Integer.MAX_VALUE);
@@ -40,7 +40,7 @@ import org.bonitasoft.engine.persistence.QueryOptions;
  * @author Matthieu Chaffotte
  * @author Celine Souchet
  */
-public class ClasspathArtifactManager implements BusinessArchiveArtifactManager {
+public class ClasspathArtifactManager implements PreparableArtifactManager<Map<String, byte[]>> {
 
     private final DependencyService dependencyService;
 
@@ -51,6 +51,11 @@ public class ClasspathArtifactManager implements BusinessArchiveArtifactManager
     @Override
     public boolean deploy(final BusinessArchive businessArchive, final SProcessDefinition processDefinition)
             throws ConnectorException, SBonitaException {
+        return deploy(prepare(businessArchive), businessArchive, processDefinition);
+    }
+
+    @Override
+    public Map<String, byte[]> prepare(final BusinessArchive businessArchive) {
         final Map<String, byte[]> resources = businessArchive.getResources("^classpath/.*$");
 
         // remove the classpath/ on path of dependencies
@@ -60,6 +65,12 @@ public class ClasspathArtifactManager implements BusinessArchiveArtifactManager
             final byte[] jarContent = resource.getValue();
             resourcesWithRealName.put(name, jarContent);
         }
+        return resourcesWithRealName;
+    }
+
+    @Override
+    public boolean deploy(final Map<String, byte[]> resourcesWithRealName, final BusinessArchive businessArchive, final SProcessDefinition processDefinition)
+            throws SBonitaException {
         addDependencies(resourcesWithRealName, dependencyService, processDefinition.getId());
         return true;
     }
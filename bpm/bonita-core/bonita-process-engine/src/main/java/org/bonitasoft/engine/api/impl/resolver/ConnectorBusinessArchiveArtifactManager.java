@@ -14,9 +14,17 @@
 package org.bonitasoft.engine.api.impl.resolver;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bonitasoft.engine.bar.SBARResource;
 import org.bonitasoft.engine.bpm.bar.BarResource;
@@ -30,6 +38,7 @@ import org.bonitasoft.engine.commons.exceptions.SObjectModificationException;
 import org.bonitasoft.engine.connector.ConnectorException;
 import org.bonitasoft.engine.core.connector.ConnectorService;
 import org.bonitasoft.engine.core.connector.exception.SConnectorException;
+import org.bonitasoft.engine.core.connector.parser.SConnectorImplementationDescriptor;
 import org.bonitasoft.engine.core.process.definition.model.SConnectorDefinition;
 import org.bonitasoft.engine.core.process.definition.model.SFlowNodeDefinition;
 import org.bonitasoft.engine.core.process.definition.model.SProcessDefinition;
@@ -37,18 +46,27 @@ import org.bonitasoft.engine.persistence.SBonitaReadException;
 import org.bonitasoft.engine.recorder.SRecorderException;
 
 /**
+ * The connector implementation files (.impl) of the business archive are parsed when the archive is prepared, on at most
+ * <code>numberOfThreads</code> threads, so that the deployment transaction only stores them.
+ *
  * @author Baptiste Mesta
  * @author Matthieu Chaffotte
  * @author Celine Souchet
  */
-public class ConnectorBusinessArchiveArtifactManager implements BusinessArchiveArtifactManager {
+public class ConnectorBusinessArchiveArtifactManager implements PreparableArtifactManager<ConnectorBusinessArchiveArtifactManager.PreparedConnectors> {
 
     public static final String CONNECTOR = "connector";
     public static final int BATCH_SIZE = 10;
     private final ConnectorService connectorService;
+    private final int numberOfThreads;
 
     public ConnectorBusinessArchiveArtifactManager(ConnectorService connectorService) {
+        this(connectorService, 1);
+    }
+
+    public ConnectorBusinessArchiveArtifactManager(ConnectorService connectorService, int numberOfThreads) {
         this.connectorService = connectorService;
+        this.numberOfThreads = numberOfThreads;
     }
 
     void addToBusinessArchive(BusinessArchiveBuilder businessArchiveBuilder, List<SBARResource> resources) {
@@ -60,12 +78,70 @@ public class ConnectorBusinessArchiveArtifactManager implements BusinessArchiveA
     @Override
     public boolean deploy(final BusinessArchive businessArchive, final SProcessDefinition processDefinition)
             throws ConnectorException, SRecorderException {
+        final PreparedConnectors preparedConnectors;
+        try {
+            preparedConnectors = prepare(businessArchive);
+        } catch (final SConnectorException e) {
+            throw new ConnectorException(e);
+        }
+        return deploy(preparedConnectors, businessArchive, processDefinition);
+    }
+
+    @Override
+    public PreparedConnectors prepare(final BusinessArchive businessArchive) throws SConnectorException {
+        final Map<String, byte[]> resources = businessArchive.getResources("^" + CONNECTOR + "/.*$");
+        final Map<String, byte[]> implementations = new HashMap<>(resources.size());
+        for (Map.Entry<String, byte[]> entry : resources.entrySet()) {
+            implementations.put(entry.getKey().substring((CONNECTOR + "/").length()), entry.getValue());
+        }
+        return new PreparedConnectors(implementations, parse(implementations));
+    }
+
+    private List<SConnectorImplementationDescriptor> parse(final Map<String, byte[]> implementations) throws SConnectorException {
+        final List<SConnectorImplementationDescriptor> descriptors = new ArrayList<>(implementations.size());
+        if (numberOfThreads <= 1 || implementations.size() <= 1) {
+            for (Map.Entry<String, byte[]> entry : implementations.entrySet()) {
+                descriptors.add(connectorService.parseConnectorImplementation(entry.getKey(), entry.getValue()));
+            }
+            return descriptors;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(numberOfThreads, implementations.size()), new ParserThreadFactory());
+        try {
+            final List<Future<SConnectorImplementationDescriptor>> futures = new ArrayList<>(implementations.size());
+            for (final Map.Entry<String, byte[]> entry : implementations.entrySet()) {
+                futures.add(executor.submit(new Callable<SConnectorImplementationDescriptor>() {
+
+                    @Override
+                    public SConnectorImplementationDescriptor call() throws Exception {
+                        return connectorService.parseConnectorImplementation(entry.getKey(), entry.getValue());
+                    }
+                }));
+            }
+            for (final Future<SConnectorImplementationDescriptor> future : futures) {
+                descriptors.add(future.get());
+            }
+            return descriptors;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof SConnectorException) {
+                throw (SConnectorException) e.getCause();
+            }
+            throw new SConnectorException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SConnectorException("Interrupted while parsing the connector implementations", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean deploy(final PreparedConnectors preparedConnectors, final BusinessArchive businessArchive, final SProcessDefinition processDefinition)
+            throws ConnectorException, SRecorderException {
         try {
-            final Map<String, byte[]> resources = businessArchive.getResources("^" + CONNECTOR + "/.*$");
-            for (Map.Entry<String, byte[]> entry : resources.entrySet()) {
-                connectorService.addConnectorImplementation(processDefinition.getId(), entry.getKey().substring((CONNECTOR + "/").length()), entry.getValue());
+            for (Map.Entry<String, byte[]> entry : preparedConnectors.getImplementations().entrySet()) {
+                connectorService.addConnectorImplementation(processDefinition.getId(), entry.getKey(), entry.getValue());
             }
-            return connectorService.loadConnectors(processDefinition)
+            return connectorService.loadConnectors(processDefinition, preparedConnectors.getDescriptors())
                     && checkAllConnectorsHaveImplementation(connectorService, processDefinition).isEmpty();
         } catch (final SConnectorException e) {
             throw new ConnectorException(e);
@@ -136,4 +212,39 @@ public class ConnectorBusinessArchiveArtifactManager implements BusinessArchiveA
         return allResources;
     }
 
+    /**
+     * The connector implementation files of a business archive, by name, and their parsed content
+     */
+    public static final class PreparedConnectors {
+
+        private final Map<String, byte[]> implementations;
+
+        private final List<SConnectorImplementationDescriptor> descriptors;
+
+        PreparedConnectors(final Map<String, byte[]> implementations, final List<SConnectorImplementationDescriptor> descriptors) {
+            this.implementations = implementations;
+            this.descriptors = descriptors;
+        }
+
+        public Map<String, byte[]> getImplementations() {
+            return implementations;
+        }
+
+        public List<SConnectorImplementationDescriptor> getDescriptors() {
+            return descriptors;
+        }
+    }
+
+    private static final class ParserThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger nbThread = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "Bonita-Connector-Implementation-Parser-" + nbThread.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
@@ -17,6 +17,8 @@ import static org.bonitasoft.engine.form.FormMappingType.PROCESS_OVERVIEW;
 import static org.bonitasoft.engine.form.FormMappingType.PROCESS_START;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -62,7 +64,7 @@ import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
 /**
  * @author Laurent Leseigneur
  */
-public class FormMappingAndPageArtifactManager implements BusinessArchiveArtifactManager {
+public class FormMappingAndPageArtifactManager implements PreparableArtifactManager<Map<String, Properties>> {
 
     public static final String ERROR_MESSAGE = "error while resolving form mapping %s";
     private static final String REGEX = "^resources/customPages/(custompage_.*)\\.(zip)$";
@@ -87,19 +89,44 @@ public class FormMappingAndPageArtifactManager implements BusinessArchiveArtifac
     @Override
     public boolean deploy(final BusinessArchive businessArchive, final SProcessDefinition processDefinition)
             throws ProcessDeployException {
+        return deploy(Collections.<String, Properties> emptyMap(), businessArchive, processDefinition);
+    }
 
-        deployProcessPages(businessArchive, processDefinition.getId(), sessionService.getLoggedUserFromSession(sessionAccessor));
+    /**
+     * Read the properties of the custom pages of the business archive. Invalid pages are left out, their error is reported when they are deployed.
+     */
+    @Override
+    public Map<String, Properties> prepare(final BusinessArchive businessArchive) {
+        final Map<String, Properties> pagesProperties = new HashMap<>();
+        for (final Map.Entry<String, byte[]> resource : getPageResources(businessArchive).entrySet()) {
+            try {
+                pagesProperties.put(resource.getKey(), pageService.readPageZip(resource.getValue()));
+            } catch (final SBonitaException e) {
+                // the page zip is read again when deployed
+            }
+        }
+        return pagesProperties;
+    }
+
+    @Override
+    public boolean deploy(final Map<String, Properties> pagesProperties, final BusinessArchive businessArchive, final SProcessDefinition processDefinition)
+            throws ProcessDeployException {
+        deployProcessPages(businessArchive, processDefinition.getId(), sessionService.getLoggedUserFromSession(sessionAccessor), pagesProperties);
         deployFormMappings(businessArchive, processDefinition.getId());
         return checkResolution(processDefinition).isEmpty();
     }
 
     public void deployProcessPages(BusinessArchive businessArchive, Long processDefinitionId, long userId) {
+        deployProcessPages(businessArchive, processDefinitionId, userId, Collections.<String, Properties> emptyMap());
+    }
+
+    private void deployProcessPages(BusinessArchive businessArchive, Long processDefinitionId, long userId, Map<String, Properties> pagesProperties) {
         final Map<String, byte[]> pageResources = getPageResources(businessArchive);
         for (final Map.Entry<String, byte[]> resource : pageResources.entrySet()) {
             try {
                 // TODO: pages are stored twice in Database: once as as page and once as an external resource (in ExternalResourceArtifactManager).
                 // Remove this notion of external resource for custom pages.
-                deployPage(resource.getKey(), resource.getValue(), processDefinitionId, userId, pageService);
+                deployPage(resource.getKey(), resource.getValue(), processDefinitionId, userId, pageService, pagesProperties.get(resource.getKey()));
             } catch (SBonitaException e) {
                 technicalLoggerService.log(getClass(), TechnicalLogSeverity.WARNING, "Unable to deploy all pages", e);
             }
@@ -110,7 +137,8 @@ public class FormMappingAndPageArtifactManager implements BusinessArchiveArtifac
         return businessArchive.getResources(REGEX);
     }
 
-    private void deployPage(String resourcePath, byte[] pageContent, Long processDefinitionId, long userId, PageService pageService) throws SBonitaException {
+    private void deployPage(String resourcePath, byte[] pageContent, Long processDefinitionId, long userId, PageService pageService,
+            Properties preparedPageProperties) throws SBonitaException {
         final Matcher pathMatcher = getPathMatcher(resourcePath);
         if (pathMatcher.matches()) {
             final String pageName = pathMatcher.group(1);
@@ -120,7 +148,7 @@ public class FormMappingAndPageArtifactManager implements BusinessArchiveArtifac
             if (sPage != null) {
                 pageService.updatePageContent(sPage.getId(), pageContent, contentName);
             } else {
-                final Properties pageProperties = pageService.readPageZip(pageContent);
+                final Properties pageProperties = preparedPageProperties != null ? preparedPageProperties : pageService.readPageZip(pageContent);
                 final PageCreator pageCreator = new PageCreator(pageName, contentName, ContentType.FORM, processDefinitionId)
                         .setDisplayName(pageProperties.getProperty(PageService.PROPERTIES_DISPLAY_NAME))
                         .setDescription(pageProperties.getProperty(PageService.PROPERTIES_DESCRIPTION));
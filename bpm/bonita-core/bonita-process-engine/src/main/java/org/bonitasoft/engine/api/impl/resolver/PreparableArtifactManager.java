@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.api.impl.resolver;
+
+import org.bonitasoft.engine.bpm.bar.BusinessArchive;
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.core.process.definition.model.SProcessDefinition;
+import org.bonitasoft.engine.exception.BonitaException;
+
+/**
+ * A {@link BusinessArchiveArtifactManager} that prepares its part of the business archive before the deployment transaction.
+ * <p>
+ * {@link #prepare(BusinessArchive)} is called outside of any transaction, one manager after the other: it parses and validates the
+ * artifacts but must not access the database. What it returns is given back to {@link #deploy(Object, BusinessArchive, SProcessDefinition)}, in the
+ * deployment transaction, which then only has to store it.
+ *
+ * @param <T>
+ *        the type of the prepared artifacts
+ */
+public interface PreparableArtifactManager<T> extends BusinessArchiveArtifactManager {
+
+    /**
+     * @param businessArchive
+     *        the business archive being deployed
+     * @return the parsed and validated artifacts of this manager
+     */
+    T prepare(BusinessArchive businessArchive) throws BonitaException, SBonitaException;
+
+    /**
+     * Same as {@link #deploy(BusinessArchive, SProcessDefinition)}, using the artifacts prepared by {@link #prepare(BusinessArchive)}
+     */
+    boolean deploy(T preparedArtifacts, BusinessArchive businessArchive, SProcessDefinition processDefinition) throws BonitaException, SBonitaException;
+
+}
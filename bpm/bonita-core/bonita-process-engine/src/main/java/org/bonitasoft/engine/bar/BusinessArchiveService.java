@@ -28,9 +28,29 @@ import org.bonitasoft.engine.core.process.definition.model.SProcessDefinition;
  */
 public interface BusinessArchiveService {
 
-
     SProcessDefinition deploy(BusinessArchive businessArchive) throws SObjectCreationException, SAlreadyExistsException;
 
+    /**
+     * Extract and validate the artifacts of the business archive. This does not access the database and should be called outside of the transaction
+     * deploying the archive.
+     *
+     * @param businessArchive
+     *        the business archive to prepare
+     * @return the prepared business archive, to give to {@link #deploy(PreparedBusinessArchive)}
+     * @throws SObjectCreationException
+     *         if an artifact of the business archive is invalid
+     */
+    PreparedBusinessArchive prepare(BusinessArchive businessArchive) throws SObjectCreationException;
+
+    /**
+     * Store the process definition and deploy the prepared artifacts of the business archive.
+     *
+     * @param preparedBusinessArchive
+     *        the business archive returned by {@link #prepare(BusinessArchive)}
+     * @return the deployed process definition
+     */
+    SProcessDefinition deploy(PreparedBusinessArchive preparedBusinessArchive) throws SObjectCreationException, SAlreadyExistsException;
+
     BusinessArchive export(long processDefinitionId) throws SBonitaException, InvalidBusinessArchiveFormatException;
 
     void delete(long processDefinitionId) throws SProcessDefinitionNotFoundException, SObjectModificationException;
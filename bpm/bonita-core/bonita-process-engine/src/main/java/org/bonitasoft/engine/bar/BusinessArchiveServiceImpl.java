@@ -14,8 +14,15 @@
 
 package org.bonitasoft.engine.bar;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.bonitasoft.engine.api.impl.SessionInfos;
+import org.bonitasoft.engine.api.impl.resolver.BusinessArchiveArtifactManager;
 import org.bonitasoft.engine.api.impl.resolver.BusinessArchiveArtifactsManager;
+import org.bonitasoft.engine.api.impl.resolver.PreparableArtifactManager;
 import org.bonitasoft.engine.bpm.bar.BusinessArchive;
 import org.bonitasoft.engine.bpm.bar.InvalidBusinessArchiveFormatException;
 import org.bonitasoft.engine.bpm.process.DesignProcessDefinition;
@@ -59,25 +66,62 @@ public class BusinessArchiveServiceImpl implements BusinessArchiveService {
 
     @Override
     public SProcessDefinition deploy(BusinessArchive businessArchive) throws SObjectCreationException, SAlreadyExistsException {
+        return deploy(prepare(businessArchive));
+    }
+
+    @Override
+    public PreparedBusinessArchive prepare(final BusinessArchive businessArchive) throws SObjectCreationException {
+        final long startTime = System.currentTimeMillis();
+        final Map<BusinessArchiveArtifactManager, Object> preparedArtifacts = new HashMap<BusinessArchiveArtifactManager, Object>();
+        for (final PreparableArtifactManager<?> artifactManager : getPreparableArtifactManagers()) {
+            try {
+                preparedArtifacts.put(artifactManager, artifactManager.prepare(businessArchive));
+            } catch (final Exception e) {
+                throw new SObjectCreationException("Unable to prepare the business archive of process " + businessArchive.getProcessDefinition().getName(),
+                        e);
+            }
+        }
+        return new PreparedBusinessArchive(businessArchive, preparedArtifacts, System.currentTimeMillis() - startTime);
+    }
 
+    private List<PreparableArtifactManager<?>> getPreparableArtifactManagers() {
+        final List<PreparableArtifactManager<?>> preparableArtifactManagers = new ArrayList<PreparableArtifactManager<?>>();
+        for (final BusinessArchiveArtifactManager artifactManager : businessArchiveArtifactsManager.getArtifactManagers()) {
+            if (artifactManager instanceof PreparableArtifactManager) {
+                preparableArtifactManagers.add((PreparableArtifactManager<?>) artifactManager);
+            }
+        }
+        return preparableArtifactManagers;
+    }
+
+    @Override
+    public SProcessDefinition deploy(PreparedBusinessArchive preparedBusinessArchive) throws SObjectCreationException, SAlreadyExistsException {
+        final BusinessArchive businessArchive = preparedBusinessArchive.getBusinessArchive();
         final DesignProcessDefinition designProcessDefinition = businessArchive.getProcessDefinition();
 
         SProcessDefinition sProcessDefinition;
+        final long storeTime;
+        final long deployTime;
         try {
+            long startTime = System.currentTimeMillis();
             checkIfExists(designProcessDefinition);
             sProcessDefinition = processDefinitionService.store(designProcessDefinition);
+            storeTime = System.currentTimeMillis() - startTime;
 
-            final boolean isResolved = businessArchiveArtifactsManager.resolveDependencies(businessArchive, sProcessDefinition);
+            startTime = System.currentTimeMillis();
+            final boolean isResolved = businessArchiveArtifactsManager.resolveDependencies(businessArchive, sProcessDefinition,
+                    preparedBusinessArchive.getPreparedArtifacts());
             if (isResolved) {
                 businessArchiveArtifactsManager.resolveAndCreateDependencies(businessArchive, processDefinitionService, dependencyService,
                         sProcessDefinition);
             }
+            deployTime = System.currentTimeMillis() - startTime;
         } catch (SAlreadyExistsException e) {
             throw e;
         } catch (final SBonitaException e) {
             throw new SObjectCreationException(e);
         }
-        info(sProcessDefinition);
+        info(sProcessDefinition, preparedBusinessArchive.getPreparationTime(), storeTime, deployTime);
         return sProcessDefinition;
     }
 
@@ -91,10 +135,11 @@ public class BusinessArchiveServiceImpl implements BusinessArchiveService {
         }
     }
 
-    void info(SProcessDefinition sProcessDefinition) {
+    void info(SProcessDefinition sProcessDefinition, long preparationTime, long storeTime, long deployTime) {
         if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.INFO)) {
             logger.log(this.getClass(), TechnicalLogSeverity.INFO, "The user <" + SessionInfos.getUserNameFromSession() + "> has installed process <"
-                    + sProcessDefinition.getName() + "> in version <" + sProcessDefinition.getVersion() + "> with id <" + sProcessDefinition.getId() + ">");
+                    + sProcessDefinition.getName() + "> in version <" + sProcessDefinition.getVersion() + "> with id <" + sProcessDefinition.getId()
+                    + "> (prepared in " + preparationTime + " ms, stored in " + storeTime + " ms, artifacts deployed in " + deployTime + " ms)");
         }
     }
 
@@ -116,4 +161,5 @@ public class BusinessArchiveServiceImpl implements BusinessArchiveService {
             throw new SObjectModificationException("Unable to delete the process definition <" + processDefinitionId + ">", e);
         }
     }
+
 }
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.bar;
+
+import java.util.Map;
+
+import org.bonitasoft.engine.api.impl.resolver.BusinessArchiveArtifactManager;
+import org.bonitasoft.engine.bpm.bar.BusinessArchive;
+
+/**
+ * A {@link BusinessArchive} whose artifacts were already extracted and validated by the
+ * {@link org.bonitasoft.engine.api.impl.resolver.PreparableArtifactManager}s, ready to be deployed.
+ */
+public class PreparedBusinessArchive {
+
+    private final BusinessArchive businessArchive;
+
+    private final Map<BusinessArchiveArtifactManager, Object> preparedArtifacts;
+
+    private final long preparationTime;
+
+    public PreparedBusinessArchive(final BusinessArchive businessArchive, final Map<BusinessArchiveArtifactManager, Object> preparedArtifacts,
+            final long preparationTime) {
+        this.businessArchive = businessArchive;
+        this.preparedArtifacts = preparedArtifacts;
+        this.preparationTime = preparationTime;
+    }
+
+    public BusinessArchive getBusinessArchive() {
+        return businessArchive;
+    }
+
+    public Map<BusinessArchiveArtifactManager, Object> getPreparedArtifacts() {
+        return preparedArtifacts;
+    }
+
+    /**
+     * @return the time spent preparing the artifacts, in milliseconds
+     */
+    public long getPreparationTime() {
+        return preparationTime;
+    }
+
+}
@@ -15,9 +15,12 @@ package org.bonitasoft.engine.bpm.model.impl;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.bonitasoft.engine.actor.mapping.ActorMappingService;
 import org.bonitasoft.engine.actor.mapping.SActorNotFoundException;
@@ -165,6 +168,9 @@ public class BPMInstancesCreator {
 
     private FlowNodeStateManager stateManager;
 
+    private final Map<SFlowElementContainerDefinition, DataInstantiationPlan> dataInstantiationPlans = Collections
+            .synchronizedMap(new WeakHashMap<SFlowElementContainerDefinition, DataInstantiationPlan>());
+
     public BPMInstancesCreator(final ActivityInstanceService activityInstanceService,
             final ActorMappingService actorMappingService, final GatewayInstanceService gatewayInstanceService,
             final EventInstanceService eventInstanceService, final ConnectorInstanceService connectorInstanceService,
@@ -218,6 +224,28 @@ public class BPMInstancesCreator {
         return flownNodeInstance;
     }
 
+    /**
+     * Create the inner activity instances of a multi-instance activity, the activity instances themselves are inserted in batch.
+     *
+     * @param firstLoopCounter
+     *        loop counter of the first inner instance created, the following ones get the next loop counters
+     */
+    public List<SFlowNodeInstance> createInnerActivityInstances(final long processDefinitionId, final long rootContainerId, final long parentContainerId,
+            final SActivityDefinition activityDefinition, final long rootProcessInstanceId, final long parentProcessInstanceId, final int firstLoopCounter,
+            final int numberOfInstances) throws SBonitaException {
+        final List<SActivityInstance> activityInstances = new ArrayList<SActivityInstance>(numberOfInstances);
+        for (int loopCounter = firstLoopCounter; loopCounter < firstLoopCounter + numberOfInstances; loopCounter++) {
+            activityInstances.add((SActivityInstance) toFlowNodeInstance(processDefinitionId, rootContainerId, parentContainerId,
+                    SFlowElementsContainerType.FLOWNODE, activityDefinition, rootProcessInstanceId, parentProcessInstanceId, true, loopCounter,
+                    SStateCategory.NORMAL, -1));
+        }
+        activityInstanceService.createActivityInstances(activityInstances);
+        for (final SActivityInstance activityInstance : activityInstances) {
+            createConnectorInstances(activityInstance, activityDefinition.getConnectors(), SConnectorInstance.FLOWNODE_TYPE);
+        }
+        return new ArrayList<SFlowNodeInstance>(activityInstances);
+    }
+
     public SFlowNodeInstance toFlowNodeInstance(final long processDefinitionId, final long rootContainerId, final long parentContainerId,
                                                 final SFlowElementsContainerType parentContainerType, final SFlowNodeDefinition sFlowNodeDefinition, final long rootProcessInstanceId,
                                                 final long parentProcessInstanceId, final boolean createInnerActivity, final int loopCounter, final SStateCategory stateCategory,
@@ -565,42 +593,52 @@ public class BPMInstancesCreator {
                                     final SProcessDefinition processDefinition, final SExpressionContext expressionContext, final List<SOperation> operations,
                                     final Map<String, Object> context, SExpressionContext expressionContextToEvaluateOperations) throws SDataInstanceNotWellFormedException, SExpressionTypeUnknownException, SExpressionEvaluationException,
             SExpressionDependencyMissingException, SInvalidExpressionException, SDataInstanceException, SFlowNodeNotFoundException, SFlowNodeReadException {
-        final List<SDataDefinition> sDataDefinitions = processContainer.getDataDefinitions();
+        final DataInstantiationPlan plan = getDataInstantiationPlan(processContainer);
+        final List<SDataDefinition> sDataDefinitions = plan.getDataDefinitions();
+        final Map<String, SOperation> operationsToSetData = new HashMap<>();
+        for (final SDataDefinition sDataDefinition : sDataDefinitions) {
+            final SOperation operation = getOperationToSetData(sDataDefinition.getName(), operations);
+            if (operation != null) {
+                operationsToSetData.put(sDataDefinition.getName(), operation);
+                operations.remove(operation);
+            }
+        }
+        final Map<String, Serializable> defaultValues = plan.evaluateDefaultValues(expressionResolverService, expressionContext,
+                operationsToSetData.keySet());
         final List<SDataInstance> sDataInstances = new ArrayList<>(sDataDefinitions.size());
         for (final SDataDefinition sDataDefinition : sDataDefinitions) {
-            sDataInstances.add(createDataInstance(processInstance, expressionContext, operations, context, expressionContextToEvaluateOperations, sDataDefinition));
-
+            final SOperation operation = operationsToSetData.get(sDataDefinition.getName());
+            final Serializable dataValue;
+            if (operation != null) {
+                final SExpressionContext currentExpressionContext = expressionContextToEvaluateOperations != null ? expressionContextToEvaluateOperations
+                        : expressionContext;
+                currentExpressionContext.setInputValues(context);
+                dataValue = (Serializable) expressionResolverService.evaluate(operation.getRightOperand(), currentExpressionContext);
+            } else {
+                if (sDataDefinition.getDefaultValueExpression() == null && sDataDefinition.isTransientData()) {
+                    warningWhenTransientDataWithNullValue();
+                }
+                dataValue = defaultValues.get(sDataDefinition.getName());
+            }
+            sDataInstances.add(createDataInstanceObject(processInstance, sDataDefinition, dataValue));
         }
         if (hasLocalOrInheritedData(processDefinition, processContainer)) {
             // we create here only normal data, not transient because there is no transient on process
-            createDataForProcess(sDataInstances);
+            dataInstanceService.createDataInstances(sDataInstances);
         }
         debugLogVariableInitialized(processInstance, processDefinition);
     }
 
-    SDataInstance createDataInstance(SProcessInstance processInstance, SExpressionContext expressionContext, List<SOperation> operations, Map<String, Object> context, SExpressionContext expressionContextToEvaluateOperations, SDataDefinition sDataDefinition) throws SExpressionTypeUnknownException, SExpressionEvaluationException, SExpressionDependencyMissingException, SInvalidExpressionException, SDataInstanceNotWellFormedException {
-        SExpression expression;
-        SExpressionContext currentExpressionContext;
-        final SOperation operation;
-        if ((operation = getOperationToSetData(sDataDefinition.getName(), operations)) != null) {
-            expression = operation.getRightOperand();
-            currentExpressionContext = expressionContextToEvaluateOperations != null ? expressionContextToEvaluateOperations : expressionContext;
-            currentExpressionContext.setInputValues(context);
-            operations.remove(operation);
-        } else {
-            expression = sDataDefinition.getDefaultValueExpression();
-            currentExpressionContext = expressionContext;
-        }
-        return createDataInstanceObject(processInstance, sDataDefinition, evaluateExpression(sDataDefinition, expression, currentExpressionContext));
-    }
-
-    private Serializable evaluateExpression(SDataDefinition sDataDefinition, SExpression expression, SExpressionContext currentExpressionContext) throws SExpressionTypeUnknownException, SExpressionEvaluationException, SExpressionDependencyMissingException, SInvalidExpressionException {
-        if (expression != null) {
-            return (Serializable) expressionResolverService.evaluate(expression, currentExpressionContext);
-        } else if (sDataDefinition.isTransientData()) {
-            warningWhenTransientDataWithNullValue();
+    /**
+     * The plan is kept as long as the container definition is in use, a new one is compiled when the process definition is reloaded.
+     */
+    DataInstantiationPlan getDataInstantiationPlan(final SFlowElementContainerDefinition container) {
+        DataInstantiationPlan plan = dataInstantiationPlans.get(container);
+        if (plan == null) {
+            plan = DataInstantiationPlan.compile(container.getDataDefinitions(), expressionResolverService);
+            dataInstantiationPlans.put(container, plan);
         }
-        return null;
+        return plan;
     }
 
     void debugLogVariableInitialized(SProcessInstance processInstance, SProcessDefinition processDefinition) {
@@ -646,15 +684,6 @@ public class BPMInstancesCreator {
         }
     }
 
-    private void createDataForProcess(final List<SDataInstance> sDataInstances)
-            throws SDataInstanceException, SFlowNodeNotFoundException, SFlowNodeReadException {
-        if (!sDataInstances.isEmpty()) {
-            for (final SDataInstance sDataInstance : sDataInstances) {
-                dataInstanceService.createDataInstance(sDataInstance);
-            }
-        }
-    }
-
     private boolean hasLocalOrInheritedData(final SProcessDefinition processDefinition, final SFlowElementContainerDefinition processContainer) {
         // processContainer is different of processDefinition.getProcessContainer() if it's a sub-process
         return !processContainer.getDataDefinitions().isEmpty() || !processDefinition.getProcessContainer().getDataDefinitions().isEmpty();
@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.bpm.model.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.core.expression.control.api.ExpressionResolverService;
+import org.bonitasoft.engine.core.expression.control.model.SExpressionContext;
+import org.bonitasoft.engine.data.definition.model.SDataDefinition;
+import org.bonitasoft.engine.expression.exception.SExpressionDependencyMissingException;
+import org.bonitasoft.engine.expression.exception.SExpressionEvaluationException;
+import org.bonitasoft.engine.expression.exception.SExpressionTypeUnknownException;
+import org.bonitasoft.engine.expression.exception.SInvalidExpressionException;
+import org.bonitasoft.engine.expression.model.SExpression;
+
+/**
+ * How the data of a container are initialized, computed once per container definition instead of once per instance:
+ * default values that are constants of an immutable type are evaluated only once, the other default values are evaluated all together.
+ */
+final class DataInstantiationPlan {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>> asList(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class));
+
+    private final List<SDataDefinition> dataDefinitions;
+
+    private final Map<String, Serializable> constantValues;
+
+    private final List<SDataDefinition> evaluatedDataDefinitions;
+
+    private final List<SExpression> defaultValueExpressions;
+
+    private DataInstantiationPlan(final List<SDataDefinition> dataDefinitions, final Map<String, Serializable> constantValues,
+            final List<SDataDefinition> evaluatedDataDefinitions, final List<SExpression> defaultValueExpressions) {
+        this.dataDefinitions = dataDefinitions;
+        this.constantValues = constantValues;
+        this.evaluatedDataDefinitions = evaluatedDataDefinitions;
+        this.defaultValueExpressions = defaultValueExpressions;
+    }
+
+    static DataInstantiationPlan compile(final List<SDataDefinition> dataDefinitions, final ExpressionResolverService expressionResolverService) {
+        final Map<String, Serializable> constantValues = new HashMap<String, Serializable>();
+        final List<SDataDefinition> evaluatedDataDefinitions = new ArrayList<SDataDefinition>();
+        final List<SExpression> defaultValueExpressions = new ArrayList<SExpression>();
+        for (final SDataDefinition dataDefinition : dataDefinitions) {
+            final SExpression expression = dataDefinition.getDefaultValueExpression();
+            if (expression == null) {
+                continue;
+            }
+            final Serializable constantValue = foldConstant(expression, expressionResolverService);
+            if (constantValue != null) {
+                constantValues.put(dataDefinition.getName(), constantValue);
+            } else {
+                evaluatedDataDefinitions.add(dataDefinition);
+                defaultValueExpressions.add(expression);
+            }
+        }
+        return new DataInstantiationPlan(Collections.unmodifiableList(new ArrayList<SDataDefinition>(dataDefinitions)), constantValues,
+                evaluatedDataDefinitions, defaultValueExpressions);
+    }
+
+    private static Serializable foldConstant(final SExpression expression, final ExpressionResolverService expressionResolverService) {
+        if (!SExpression.TYPE_CONSTANT.equals(expression.getExpressionType()) || expression.getDependencies() != null
+                && !expression.getDependencies().isEmpty()) {
+            return null;
+        }
+        final Object value;
+        try {
+            value = expressionResolverService.evaluate(expression);
+        } catch (final SBonitaException e) {
+            // the error will be thrown when evaluated for an instance
+            return null;
+        }
+        if (value != null && IMMUTABLE_TYPES.contains(value.getClass())) {
+            return (Serializable) value;
+        }
+        return null;
+    }
+
+    List<SDataDefinition> getDataDefinitions() {
+        return dataDefinitions;
+    }
+
+    /**
+     * @param dataDefinitionsToSkip
+     *        data that are not initialized using their default value, their default value is not evaluated
+     * @return the default values of the data, by data name
+     */
+    Map<String, Serializable> evaluateDefaultValues(final ExpressionResolverService expressionResolverService, final SExpressionContext expressionContext,
+            final Set<String> dataDefinitionsToSkip) throws SExpressionTypeUnknownException, SExpressionEvaluationException,
+            SExpressionDependencyMissingException, SInvalidExpressionException {
+        final Map<String, Serializable> defaultValues = new HashMap<String, Serializable>(constantValues);
+        final List<SDataDefinition> definitionsToEvaluate = new ArrayList<SDataDefinition>(evaluatedDataDefinitions.size());
+        final List<SExpression> expressionsToEvaluate = new ArrayList<SExpression>(evaluatedDataDefinitions.size());
+        for (int i = 0; i < evaluatedDataDefinitions.size(); i++) {
+            if (!dataDefinitionsToSkip.contains(evaluatedDataDefinitions.get(i).getName())) {
+                definitionsToEvaluate.add(evaluatedDataDefinitions.get(i));
+                expressionsToEvaluate.add(defaultValueExpressions.get(i));
+            }
+        }
+        if (!expressionsToEvaluate.isEmpty()) {
+            final List<Object> values = expressionResolverService.evaluate(expressionsToEvaluate, expressionContext);
+            for (int i = 0; i < definitionsToEvaluate.size(); i++) {
+                defaultValues.put(definitionsToEvaluate.get(i).getName(), (Serializable) values.get(i));
+            }
+        }
+        return defaultValues;
+    }
+
+}
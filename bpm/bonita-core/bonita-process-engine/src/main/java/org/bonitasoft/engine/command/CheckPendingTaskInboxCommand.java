@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.command;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.bonitasoft.engine.command.system.CommandWithParameters;
+import org.bonitasoft.engine.persistence.SBonitaReadException;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+
+/**
+ * Compares the pending task inbox with the candidates computed from the pending mappings and returns the ids of the tasks for which they differ.
+ */
+public class CheckPendingTaskInboxCommand extends CommandWithParameters {
+
+    @Override
+    public Serializable execute(final Map<String, Serializable> parameters, final TenantServiceAccessor serviceAccessor)
+            throws SCommandParameterizationException, SCommandExecutionException {
+        try {
+            return new ArrayList<Long>(serviceAccessor.getPendingTaskInboxService().getInconsistentTasks());
+        } catch (final SBonitaReadException e) {
+            throw new SCommandExecutionException(e);
+        }
+    }
+
+}
@@ -14,6 +14,8 @@
 package org.bonitasoft.engine.command;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -43,6 +45,15 @@ public class ExecuteBDMQueryCommand extends CommandWithParameters {
 
     public static final String MAX_RESULTS = "maxResults";
 
+    /**
+     * Optional list of persistence ids: when set, the query is executed once per id (set as the "persistenceId" query parameter) and the results
+     * are returned in a single JSON object keyed by persistence id. Used by the client lazy loader to resolve a relation for several sibling objects
+     * in one call.
+     */
+    public static final String PERSISTENCE_IDS = "persistenceIds";
+
+    private static final String PERSISTENCE_ID = "persistenceId";
+
     @Override
     public Serializable execute(final Map<String, Serializable> parameters, final TenantServiceAccessor serviceAccessor)
             throws SCommandParameterizationException, SCommandExecutionException {
@@ -58,16 +69,35 @@ public class ExecuteBDMQueryCommand extends CommandWithParameters {
             throw new SCommandParameterizationException(e);
         }
         final Boolean returnsList = (Boolean) parameters.get(RETURNS_LIST);
+        @SuppressWarnings("unchecked")
+        final List<Long> persistenceIds = (List<Long>) parameters.get(PERSISTENCE_IDS);
+        if (persistenceIds != null) {
+            final LinkedHashMap<Long, Serializable> results = new LinkedHashMap<Long, Serializable>();
+            for (final Long persistenceId : persistenceIds) {
+                final Map<String, Serializable> idQueryParameters = new HashMap<String, Serializable>();
+                if (queryParameters != null) {
+                    idQueryParameters.putAll(queryParameters);
+                }
+                idQueryParameters.put(PERSISTENCE_ID, persistenceId);
+                results.put(persistenceId, executeQuery(parameters, businessDataRepository, queryName, idQueryParameters, resultClass, returnsList));
+            }
+            return serializeResult(results);
+        }
+        return serializeResult(executeQuery(parameters, businessDataRepository, queryName, queryParameters, resultClass, returnsList));
+    }
+
+    private Serializable executeQuery(final Map<String, Serializable> parameters, final BusinessDataRepository businessDataRepository,
+            final String queryName, final Map<String, Serializable> queryParameters, final Class<? extends Serializable> resultClass,
+            final Boolean returnsList) throws SCommandParameterizationException, SCommandExecutionException {
         if (returnsList != null && returnsList) {
             final Integer startIndex = getIntegerMandadoryParameter(parameters, START_INDEX);
             final Integer maxResults = getIntegerMandadoryParameter(parameters, MAX_RESULTS);
             final List<? extends Serializable> list = businessDataRepository.findListByNamedQuery(queryName, resultClass, queryParameters, startIndex,
                     maxResults);
-            return serializeResult((Serializable) list);
+            return (Serializable) list;
         }
         try {
-            final Serializable result = businessDataRepository.findByNamedQuery(queryName, resultClass, queryParameters);
-            return serializeResult(result);
+            return businessDataRepository.findByNamedQuery(queryName, resultClass, queryParameters);
         } catch (final NonUniqueResultException e) {
             throw new SCommandExecutionException(e);
         }
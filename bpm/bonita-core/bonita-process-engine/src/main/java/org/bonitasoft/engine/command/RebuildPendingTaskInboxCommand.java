@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.command;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.bonitasoft.engine.command.system.CommandWithParameters;
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityModificationException;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+
+/**
+ * Rebuilds the whole pending task inbox from the pending mappings, the actor members and the user memberships.
+ * Tenants created before the inbox existed are rebuilt when they start, this command is meant for an inbox found inconsistent by
+ * {@link CheckPendingTaskInboxCommand}. Returns the number of pending tasks processed.
+ */
+public class RebuildPendingTaskInboxCommand extends CommandWithParameters {
+
+    @Override
+    public Serializable execute(final Map<String, Serializable> parameters, final TenantServiceAccessor serviceAccessor)
+            throws SCommandParameterizationException, SCommandExecutionException {
+        try {
+            return serviceAccessor.getPendingTaskInboxService().rebuildAll();
+        } catch (final SActivityModificationException e) {
+            throw new SCommandExecutionException(e);
+        }
+    }
+
+}
@@ -71,6 +71,16 @@ public class ConnectorServiceDecorator implements ConnectorService {
         return connectorService.loadConnectors(sDefinition);
     }
 
+    @Override
+    public boolean loadConnectors(final SProcessDefinition sDefinition, final List<SConnectorImplementationDescriptor> descriptors) throws SConnectorException {
+        return connectorService.loadConnectors(sDefinition, descriptors);
+    }
+
+    @Override
+    public SConnectorImplementationDescriptor parseConnectorImplementation(final String name, final byte[] content) throws SConnectorException {
+        return connectorService.parseConnectorImplementation(name, content);
+    }
+
     @Override
     public void setConnectorImplementation(final SProcessDefinition sProcessDefinition, final String connectorId,
             final String connectorVersion, final byte[] connectorImplementationArchive) throws SConnectorException, SInvalidConnectorImplementationException {
@@ -13,6 +13,8 @@
  **/
 package org.bonitasoft.engine.execution;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.bonitasoft.engine.SArchivingException;
@@ -47,6 +49,7 @@ import org.bonitasoft.engine.core.process.instance.api.states.StateCode;
 import org.bonitasoft.engine.core.process.instance.model.SActivityInstance;
 import org.bonitasoft.engine.core.process.instance.model.SFlowElementsContainerType;
 import org.bonitasoft.engine.core.process.instance.model.SFlowNodeInstance;
+import org.bonitasoft.engine.core.process.instance.model.SMultiInstanceActivityInstance;
 import org.bonitasoft.engine.core.process.instance.model.SProcessInstance;
 import org.bonitasoft.engine.core.process.instance.model.archive.builder.SAAutomaticTaskInstanceBuilderFactory;
 import org.bonitasoft.engine.core.process.instance.model.builder.SUserTaskInstanceBuilderFactory;
@@ -54,9 +57,16 @@ import org.bonitasoft.engine.data.instance.api.DataInstanceContainer;
 import org.bonitasoft.engine.data.instance.api.DataInstanceService;
 import org.bonitasoft.engine.dependency.model.ScopeType;
 import org.bonitasoft.engine.execution.archive.ProcessArchiver;
+import org.bonitasoft.engine.execution.state.BatchHitFlowNodeState;
 import org.bonitasoft.engine.execution.state.FlowNodeStateManager;
 import org.bonitasoft.engine.execution.work.WorkFactory;
+import org.bonitasoft.engine.persistence.FilterOption;
+import org.bonitasoft.engine.persistence.OrderByOption;
+import org.bonitasoft.engine.persistence.OrderByType;
+import org.bonitasoft.engine.persistence.QueryOptions;
 import org.bonitasoft.engine.persistence.SBonitaReadException;
+import org.bonitasoft.engine.tracking.TimeTracker;
+import org.bonitasoft.engine.tracking.TimeTrackerRecords;
 import org.bonitasoft.engine.work.SWorkRegisterException;
 import org.bonitasoft.engine.work.WorkService;
 
@@ -96,11 +106,16 @@ public class FlowNodeExecutorImpl implements FlowNodeExecutor {
 
     private final ContractDataService contractDataService;
 
+    private final TimeTracker timeTracker;
+
+    private int multiInstanceCompletionBatchSize = 1;
+
     public FlowNodeExecutorImpl(final FlowNodeStateManager flowNodeStateManager, final ActivityInstanceService activityInstanceManager,
             final OperationService operationService, final ArchiveService archiveService, final DataInstanceService dataInstanceService,
             final ContainerRegistry containerRegistry, final ProcessDefinitionService processDefinitionService, final SCommentService commentService,
             final ProcessInstanceService processInstanceService, final ConnectorInstanceService connectorInstanceService,
-            final ClassLoaderService classLoaderService, final WorkService workService, final ContractDataService contractDataService) {
+            final ClassLoaderService classLoaderService, final WorkService workService, final ContractDataService contractDataService,
+            final TimeTracker timeTracker) {
         super();
         this.flowNodeStateManager = flowNodeStateManager;
         activityInstanceService = activityInstanceManager;
@@ -116,6 +131,16 @@ public class FlowNodeExecutorImpl implements FlowNodeExecutor {
         this.processDefinitionService = processDefinitionService;
         this.commentService = commentService;
         this.contractDataService = contractDataService;
+        this.timeTracker = timeTracker;
+    }
+
+    /**
+     * @param multiInstanceCompletionBatchSize
+     *        maximum number of finished inner instances of a parallel multi-instance activity taken into account at once by the multi-instance. 1
+     *        takes them into account one by one.
+     */
+    public void setMultiInstanceCompletionBatchSize(final int multiInstanceCompletionBatchSize) {
+        this.multiInstanceCompletionBatchSize = multiInstanceCompletionBatchSize;
     }
 
     @Override
@@ -125,9 +150,12 @@ public class FlowNodeExecutorImpl implements FlowNodeExecutor {
             // if state is part of normal state and the flowNode state category is aborting or canceling it's not necessary to execute the state
             StateCode stateCode = StateCode.DONE;
             if (state.getStateCategory().equals(flowNodeInstance.getStateCategory())) {
+                final long startTime = System.currentTimeMillis();
                 stateCode = state.execute(processDefinition, flowNodeInstance);
                 // Add a system comment for Human task only
                 addSystemComment(flowNodeInstance, state);
+                timeTracker.track(TimeTrackerRecords.FLOW_NODE_STATE_EXECUTION, System.currentTimeMillis() - startTime, flowNodeInstance.getId(),
+                        state.getId());
             }
             return stateCode;
         } catch (final SCommentAddException e) {
@@ -257,24 +285,86 @@ public class FlowNodeExecutorImpl implements FlowNodeExecutor {
     public void childFinished(final long processDefinitionId, final long flowNodeInstanceId, final long parentId) throws SFlowNodeNotFoundException,
             SFlowNodeReadException, SProcessDefinitionNotFoundException, SBonitaReadException, SArchivingException, SFlowNodeModificationException,
             SFlowNodeExecutionException, SContractDataDeletionException {
-        final SFlowNodeInstance sFlowNodeInstanceChild = activityInstanceService.getFlowNodeInstance(flowNodeInstanceId);
+        final SFlowNodeInstance sFlowNodeInstanceChild;
+        try {
+            sFlowNodeInstanceChild = activityInstanceService.getFlowNodeInstance(flowNodeInstanceId);
+        } catch (final SFlowNodeNotFoundException e) {
+            if (isAlreadyTakenIntoAccount(parentId)) {
+                return;
+            }
+            throw e;
+        }
+        final SActivityInstance activityInstanceParent = (SActivityInstance) activityInstanceService.getFlowNodeInstance(parentId);
+        final FlowNodeState parentState = flowNodeStateManager.getState(activityInstanceParent.getStateId());
+        final List<SFlowNodeInstance> finishedChildren = getFinishedChildren(activityInstanceParent, parentState, sFlowNodeInstanceChild);
 
         // TODO check deletion here
-        archiveFlowNodeInstance(sFlowNodeInstanceChild, true, processDefinitionId);
+        for (final SFlowNodeInstance finishedChild : finishedChildren) {
+            archiveFlowNodeInstance(finishedChild, true, processDefinitionId);
+        }
 
-        final SActivityInstance activityInstanceParent = (SActivityInstance) activityInstanceService.getFlowNodeInstance(parentId);
-        decrementToken(activityInstanceParent);
+        decrementToken(activityInstanceParent, finishedChildren.size());
         final SProcessDefinition sProcessDefinition = processDefinitionService.getProcessDefinition(processDefinitionId);
-        final boolean hit = flowNodeStateManager.getState(activityInstanceParent.getStateId()).hit(sProcessDefinition, activityInstanceParent,
-                sFlowNodeInstanceChild);
+        final boolean hit;
+        if (finishedChildren.size() > 1) {
+            hit = ((BatchHitFlowNodeState) parentState).hit(sProcessDefinition, activityInstanceParent, finishedChildren);
+        } else {
+            hit = parentState.hit(sProcessDefinition, activityInstanceParent, sFlowNodeInstanceChild);
+        }
         if (hit) {// we continue parent if hit of the parent return true
             // in a new work?
             stepForward(parentId, null, null, sFlowNodeInstanceChild.getParentProcessInstanceId(), null, null);
         }
     }
 
+    /**
+     * The finished inner instances of a parallel multi-instance activity are taken into account by batches: the notification of the first one also
+     * takes into account the other inner instances that are already finished, so that the multi-instance is updated once for all of them.
+     */
+    private List<SFlowNodeInstance> getFinishedChildren(final SActivityInstance parent, final FlowNodeState parentState, final SFlowNodeInstance child)
+            throws SBonitaReadException {
+        if (multiInstanceCompletionBatchSize <= 1 || !(parentState instanceof BatchHitFlowNodeState) || !(parent instanceof SMultiInstanceActivityInstance)
+                || ((SMultiInstanceActivityInstance) parent).isSequential()) {
+            return Collections.singletonList(child);
+        }
+        final SUserTaskInstanceBuilderFactory keyProvider = BuilderFactory.get(SUserTaskInstanceBuilderFactory.class);
+        final List<FilterOption> filters = new ArrayList<FilterOption>(2);
+        filters.add(new FilterOption(SActivityInstance.class, keyProvider.getParentActivityInstanceKey(), parent.getId()));
+        filters.add(new FilterOption(SActivityInstance.class, keyProvider.getTerminalKey(), true));
+        final OrderByOption orderByOption = new OrderByOption(SActivityInstance.class, keyProvider.getIdKey(), OrderByType.ASC);
+        final QueryOptions queryOptions = new QueryOptions(0, multiInstanceCompletionBatchSize, Collections.singletonList(orderByOption), filters, null);
+        final List<SFlowNodeInstance> finishedChildren = new ArrayList<SFlowNodeInstance>(multiInstanceCompletionBatchSize);
+        finishedChildren.add(child);
+        for (final SActivityInstance sibling : activityInstanceService.searchActivityInstances(SActivityInstance.class, queryOptions)) {
+            if (sibling.getId() != child.getId() && finishedChildren.size() < multiInstanceCompletionBatchSize) {
+                finishedChildren.add(sibling);
+            }
+        }
+        return finishedChildren;
+    }
+
+    /**
+     * A finished inner instance of a multi-instance activity is already archived when it was taken into account with the batch of one of its
+     * siblings.
+     */
+    private boolean isAlreadyTakenIntoAccount(final long parentId) throws SFlowNodeReadException {
+        if (multiInstanceCompletionBatchSize <= 1) {
+            return false;
+        }
+        try {
+            return activityInstanceService.getFlowNodeInstance(parentId) instanceof SMultiInstanceActivityInstance;
+        } catch (final SFlowNodeNotFoundException e) {
+            // the multi-instance itself is finished
+            return true;
+        }
+    }
+
     private void decrementToken(final SActivityInstance sActivityInstance) throws SFlowNodeModificationException {
-        final int tokenCount = sActivityInstance.getTokenCount() - 1;
+        decrementToken(sActivityInstance, 1);
+    }
+
+    private void decrementToken(final SActivityInstance sActivityInstance, final int numberOfTokens) throws SFlowNodeModificationException {
+        final int tokenCount = sActivityInstance.getTokenCount() - numberOfTokens;
         activityInstanceService.setTokenCount(sActivityInstance, tokenCount);
     }
 
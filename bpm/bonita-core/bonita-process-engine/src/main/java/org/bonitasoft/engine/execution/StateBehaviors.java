@@ -16,6 +16,7 @@ package org.bonitasoft.engine.execution;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -169,6 +170,8 @@ public class StateBehaviors {
     private final RefBusinessDataService refBusinessDataService;
     private ProcessExecutor processExecutor;
 
+    private int parallelMultiInstanceWindowSize;
+
     public StateBehaviors(final BPMInstancesCreator bpmInstancesCreator, final EventsHandler eventsHandler,
             final ActivityInstanceService activityInstanceService, final UserFilterService userFilterService, final ClassLoaderService classLoaderService,
             final ActorMappingService actorMappingService, final ConnectorInstanceService connectorInstanceService,
@@ -204,6 +207,49 @@ public class StateBehaviors {
         this.processExecutor = processExecutor;
     }
 
+    /**
+     * @param parallelMultiInstanceWindowSize
+     *        maximum number of inner instances of a parallel multi-instance activity that are active at the same time, the other ones are created when
+     *        active ones are finished. 0 creates all inner instances when the multi-instance activity is initialized.
+     */
+    public void setParallelMultiInstanceWindowSize(final int parallelMultiInstanceWindowSize) {
+        this.parallelMultiInstanceWindowSize = parallelMultiInstanceWindowSize;
+    }
+
+    public boolean isWindowed(final SMultiInstanceActivityInstance miActivityInstance) {
+        return !miActivityInstance.isSequential() && parallelMultiInstanceWindowSize > 0;
+    }
+
+    /**
+     * @return the number of inner instances to create when the multi-instance activity is initialized
+     */
+    public int getNumberOfInstancesToCreateOnInitialization(final SMultiInstanceActivityInstance miActivityInstance, final int numberOfInstanceMax) {
+        if (miActivityInstance.isSequential()) {
+            return 1;
+        }
+        if (isWindowed(miActivityInstance)) {
+            return Math.min(parallelMultiInstanceWindowSize, numberOfInstanceMax);
+        }
+        return numberOfInstanceMax;
+    }
+
+    /**
+     * Create the inner instances of a windowed parallel multi-instance activity that fit in the window, without going over the loop cardinality
+     * recorded when the multi-instance activity was initialized.
+     *
+     * @return the created inner instances, they still have to be executed
+     */
+    public List<SFlowNodeInstance> fillWindow(final long processDefinitionId, final SActivityDefinition activity,
+            final SMultiInstanceActivityInstance miActivityInstance) throws SBonitaException {
+        final int remaining = miActivityInstance.getLoopCardinality() - miActivityInstance.getNumberOfInstances();
+        final int room = parallelMultiInstanceWindowSize - miActivityInstance.getNumberOfActiveInstances();
+        final int numberOfInstanceToCreate = Math.min(remaining, room);
+        if (numberOfInstanceToCreate <= 0) {
+            return Collections.emptyList();
+        }
+        return createInnerInstances(processDefinitionId, activity, miActivityInstance, numberOfInstanceToCreate);
+    }
+
     public DataInstanceContainer getParentContainerType(final SFlowNodeInstance flowNodeInstance) {
         DataInstanceContainer parentContainerType;
         if (flowNodeInstance.getLogicalGroup(2) <= 0) {
@@ -850,15 +896,10 @@ public class StateBehaviors {
         final SMultiInstanceActivityInstanceBuilderFactory keyProvider = BuilderFactory.get(SMultiInstanceActivityInstanceBuilderFactory.class);
         final long rootProcessInstanceId = flowNodeInstance.getLogicalGroup(keyProvider.getRootProcessInstanceIndex());
         final long parentProcessInstanceId = flowNodeInstance.getLogicalGroup(keyProvider.getParentProcessInstanceIndex());
-        int nbOfcreatedInstances = 0;
-        final int nbOfInstances = flowNodeInstance.getNumberOfInstances();
-        final List<SFlowNodeInstance> createdInstances = new ArrayList<SFlowNodeInstance>();
-        for (int i = nbOfInstances; i < nbOfInstances + numberOfInstanceToCreate; i++) {
-            createdInstances.add(bpmInstancesCreator.createFlowNodeInstance(processDefinitionId, flowNodeInstance.getRootContainerId(),
-                    flowNodeInstance.getId(), SFlowElementsContainerType.FLOWNODE, activity, rootProcessInstanceId, parentProcessInstanceId, true, i,
-                    SStateCategory.NORMAL, -1));
-            nbOfcreatedInstances++;
-        }
+        final List<SFlowNodeInstance> createdInstances = bpmInstancesCreator.createInnerActivityInstances(processDefinitionId,
+                flowNodeInstance.getRootContainerId(), flowNodeInstance.getId(), activity, rootProcessInstanceId, parentProcessInstanceId,
+                flowNodeInstance.getNumberOfInstances(), numberOfInstanceToCreate);
+        final int nbOfcreatedInstances = createdInstances.size();
         activityInstanceService.addMultiInstanceNumberOfActiveActivities(flowNodeInstance, nbOfcreatedInstances);
         final int tokenCount = flowNodeInstance.getTokenCount() + nbOfcreatedInstances;
         activityInstanceService.setTokenCount(flowNodeInstance, tokenCount);
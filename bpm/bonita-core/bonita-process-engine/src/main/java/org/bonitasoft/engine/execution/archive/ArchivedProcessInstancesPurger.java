@@ -0,0 +1,240 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.execution.archive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bonitasoft.engine.core.process.instance.api.ArchivedProcessInstancePurgeService;
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SProcessInstanceModificationException;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+
+/**
+ * Purge the archived process instances of a process definition that ended in a period.
+ * Root process instances to purge are selected page by page, ordered by id. Each page is split in chunks of chunkSize root process instances
+ * that are purged in parallel by numberOfThreads threads, each chunk in its own transaction, so that no transaction holds more than one chunk.
+ * A thread waits delayBetweenChunksInMs after each chunk to leave room to the other transactions of the tenant.
+ * A chunk that fails is logged and skipped: its archived process instances are left untouched and are purged by the next purge of the same
+ * period.
+ */
+public class ArchivedProcessInstancesPurger {
+
+    private final ArchivedProcessInstancePurgeService purgeService;
+
+    private final UserTransactionService transactionService;
+
+    private final SessionAccessor sessionAccessor;
+
+    private final TechnicalLoggerService logger;
+
+    private final int numberOfThreads;
+
+    private final int chunkSize;
+
+    private final long delayBetweenChunksInMs;
+
+    public ArchivedProcessInstancesPurger(final ArchivedProcessInstancePurgeService purgeService, final UserTransactionService transactionService,
+            final SessionAccessor sessionAccessor, final TechnicalLoggerService logger, final int numberOfThreads, final int chunkSize,
+            final long delayBetweenChunksInMs) {
+        this.purgeService = purgeService;
+        this.transactionService = transactionService;
+        this.sessionAccessor = sessionAccessor;
+        this.logger = logger;
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.delayBetweenChunksInMs = delayBetweenChunksInMs;
+    }
+
+    /**
+     * Must be called outside of any transaction, on a thread bound to the tenant.
+     *
+     * @param processDefinitionId
+     *            the id of the process definition of the root process instances to purge
+     * @param fromEndDate
+     *            the lowest end date of the root process instances, inclusive, in milliseconds
+     * @param toEndDate
+     *            the highest end date of the root process instances, exclusive, in milliseconds
+     * @return the number of archived process instances deleted
+     * @throws SProcessInstanceModificationException
+     *             if the root process instances to purge can't be read
+     */
+    public long purge(final long processDefinitionId, final long fromEndDate, final long toEndDate) throws SProcessInstanceModificationException {
+        final long tenantId;
+        try {
+            tenantId = sessionAccessor.getTenantId();
+        } catch (final Exception e) {
+            throw new SProcessInstanceModificationException(e);
+        }
+        final int pageSize = chunkSize * numberOfThreads;
+        final ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads, new PurgeThreadFactory(tenantId));
+        final PurgeProgress progress = new PurgeProgress(processDefinitionId);
+        try {
+            List<Long> rootProcessInstanceIds;
+            long lastRootProcessInstanceId = -1;
+            do {
+                rootProcessInstanceIds = getRootProcessInstanceIdsToPurge(processDefinitionId, fromEndDate, toEndDate, lastRootProcessInstanceId, pageSize);
+                if (!rootProcessInstanceIds.isEmpty()) {
+                    lastRootProcessInstanceId = rootProcessInstanceIds.get(rootProcessInstanceIds.size() - 1);
+                    purgePage(executor, tenantId, rootProcessInstanceIds, progress);
+                    progress.log(lastRootProcessInstanceId);
+                }
+            } while (rootProcessInstanceIds.size() == pageSize);
+        } finally {
+            executor.shutdownNow();
+        }
+        return progress.getDeletedProcessInstances();
+    }
+
+    private List<Long> getRootProcessInstanceIdsToPurge(final long processDefinitionId, final long fromEndDate, final long toEndDate,
+            final long afterRootProcessInstanceId, final int maxResults) throws SProcessInstanceModificationException {
+        try {
+            return transactionService.executeInTransaction(new Callable<List<Long>>() {
+
+                @Override
+                public List<Long> call() throws Exception {
+                    return purgeService.getRootProcessInstanceIdsToPurge(processDefinitionId, fromEndDate, toEndDate, afterRootProcessInstanceId,
+                            maxResults);
+                }
+            });
+        } catch (final Exception e) {
+            throw new SProcessInstanceModificationException(e);
+        }
+    }
+
+    private void purgePage(final ExecutorService executor, final long tenantId, final List<Long> rootProcessInstanceIds, final PurgeProgress progress)
+            throws SProcessInstanceModificationException {
+        final List<List<Long>> chunks = new ArrayList<List<Long>>();
+        final List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < rootProcessInstanceIds.size(); i += chunkSize) {
+            final List<Long> chunk = new ArrayList<Long>(rootProcessInstanceIds.subList(i, Math.min(i + chunkSize, rootProcessInstanceIds.size())));
+            chunks.add(chunk);
+            futures.add(executor.submit(new PurgeChunk(tenantId, chunk)));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                progress.chunkPurged(chunks.get(i).size(), futures.get(i).get());
+            } catch (final ExecutionException e) {
+                progress.chunkFailed(chunks.get(i).size());
+                if (logger.isLoggable(getClass(), TechnicalLogSeverity.WARNING)) {
+                    logger.log(getClass(), TechnicalLogSeverity.WARNING, "Unable to purge the archived process instances of the root process instances "
+                            + chunks.get(i) + ", they will be purged next time", e.getCause());
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SProcessInstanceModificationException(e);
+            }
+        }
+    }
+
+    private final class PurgeChunk implements Callable<Integer> {
+
+        private final long tenantId;
+
+        private final List<Long> rootProcessInstanceIds;
+
+        PurgeChunk(final long tenantId, final List<Long> rootProcessInstanceIds) {
+            this.tenantId = tenantId;
+            this.rootProcessInstanceIds = rootProcessInstanceIds;
+        }
+
+        @Override
+        public Integer call() throws Exception {
+            sessionAccessor.setTenantId(tenantId);
+            try {
+                final Integer deleted = transactionService.executeInTransaction(new Callable<Integer>() {
+
+                    @Override
+                    public Integer call() throws Exception {
+                        return purgeService.purge(rootProcessInstanceIds);
+                    }
+                });
+                if (delayBetweenChunksInMs > 0) {
+                    Thread.sleep(delayBetweenChunksInMs);
+                }
+                return deleted;
+            } finally {
+                sessionAccessor.deleteTenantId();
+            }
+        }
+    }
+
+    private final class PurgeProgress {
+
+        private final long processDefinitionId;
+
+        private final long startTime = System.currentTimeMillis();
+
+        private long purgedRootProcessInstances;
+
+        private long failedRootProcessInstances;
+
+        private long deletedProcessInstances;
+
+        PurgeProgress(final long processDefinitionId) {
+            this.processDefinitionId = processDefinitionId;
+        }
+
+        void chunkPurged(final int rootProcessInstances, final int deleted) {
+            purgedRootProcessInstances += rootProcessInstances;
+            deletedProcessInstances += deleted;
+        }
+
+        void chunkFailed(final int rootProcessInstances) {
+            failedRootProcessInstances += rootProcessInstances;
+        }
+
+        long getDeletedProcessInstances() {
+            return deletedProcessInstances;
+        }
+
+        void log(final long lastRootProcessInstanceId) {
+            if (logger.isLoggable(ArchivedProcessInstancesPurger.class, TechnicalLogSeverity.INFO)) {
+                final long elapsedInSeconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+                logger.log(ArchivedProcessInstancesPurger.class, TechnicalLogSeverity.INFO, "Purge of process definition " + processDefinitionId + ": "
+                        + purgedRootProcessInstances + " root process instances purged (" + deletedProcessInstances + " archived process instances, "
+                        + purgedRootProcessInstances / elapsedInSeconds + " root process instances/s), " + failedRootProcessInstances
+                        + " failed, up to root process instance " + lastRootProcessInstanceId);
+            }
+        }
+    }
+
+    private static final class PurgeThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger nbThread = new AtomicInteger(1);
+
+        private final long tenantId;
+
+        PurgeThreadFactory(final long tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "Bonita-Purge-" + tenantId + "-" + nbThread.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.execution.handler;
+
+import java.util.UUID;
+
+import org.bonitasoft.engine.core.process.instance.api.PendingTaskInboxService;
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityModificationException;
+import org.bonitasoft.engine.events.model.SEvent;
+import org.bonitasoft.engine.events.model.SHandlerExecutionException;
+import org.bonitasoft.engine.events.model.SUpdateEvent;
+import org.bonitasoft.engine.identity.model.SUserMembership;
+import org.bonitasoft.engine.service.impl.ServiceAccessorFactory;
+
+/**
+ * Updates the pending task inbox of the tasks whose actors contain a group or a role when a user gains or loses a membership.
+ * An updated membership is handled as the deletion of its old group and role followed by the addition of the new ones.
+ */
+public class PendingTaskInboxUserMembershipHandler implements SProcessInstanceHandler<SEvent> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long tenantId;
+
+    private final String identifier;
+
+    public PendingTaskInboxUserMembershipHandler(final long tenantId) {
+        this.tenantId = tenantId;
+        identifier = UUID.randomUUID().toString();
+    }
+
+    @Override
+    public void execute(final SEvent event) throws SHandlerExecutionException {
+        final SUserMembership userMembership = (SUserMembership) event.getObject();
+        final PendingTaskInboxService pendingTaskInboxService = getPendingTaskInboxService();
+        try {
+            if (event.getType().endsWith(SEvent.CREATED)) {
+                pendingTaskInboxService.userMembershipAdded(userMembership.getUserId(), userMembership.getGroupId(), userMembership.getRoleId());
+            } else if (event.getType().endsWith(SEvent.UPDATED)) {
+                final SUserMembership oldUserMembership = (SUserMembership) ((SUpdateEvent) event).getOldObject();
+                if (oldUserMembership.getUserId() != userMembership.getUserId() || oldUserMembership.getGroupId() != userMembership.getGroupId()
+                        || oldUserMembership.getRoleId() != userMembership.getRoleId()) {
+                    pendingTaskInboxService.userMembershipDeleted(oldUserMembership.getUserId(), oldUserMembership.getGroupId(),
+                            oldUserMembership.getRoleId());
+                    pendingTaskInboxService.userMembershipAdded(userMembership.getUserId(), userMembership.getGroupId(), userMembership.getRoleId());
+                }
+            } else {
+                pendingTaskInboxService.userMembershipDeleted(userMembership.getUserId(), userMembership.getGroupId(), userMembership.getRoleId());
+            }
+        } catch (final SActivityModificationException e) {
+            throw new SHandlerExecutionException(e);
+        }
+    }
+
+    private PendingTaskInboxService getPendingTaskInboxService() throws SHandlerExecutionException {
+        try {
+            return ServiceAccessorFactory.getInstance().createTenantServiceAccessor(tenantId).getPendingTaskInboxService();
+        } catch (final Exception e) {
+            throw new SHandlerExecutionException(e.getMessage(), null);
+        }
+    }
+
+    @Override
+    public boolean isInterested(final SEvent event) {
+        return event.getObject() instanceof SUserMembership;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return identifier;
+    }
+
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.execution.state;
+
+import java.util.List;
+
+import org.bonitasoft.engine.core.process.definition.model.SProcessDefinition;
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityStateExecutionException;
+import org.bonitasoft.engine.core.process.instance.api.states.FlowNodeState;
+import org.bonitasoft.engine.core.process.instance.model.SFlowNodeInstance;
+
+/**
+ * A state that can take into account several finished children at once, so that the parent is updated once for all of them instead of once per
+ * child.
+ */
+public interface BatchHitFlowNodeState extends FlowNodeState {
+
+    /**
+     * Same as {@link #hit(SProcessDefinition, SFlowNodeInstance, SFlowNodeInstance)} for all the given finished children.
+     *
+     * @param childInstances
+     *        the finished children, they are already archived
+     * @return true if the state is finished (the execution will continue automatically)
+     * @throws SActivityStateExecutionException
+     */
+    boolean hit(SProcessDefinition processDefinition, SFlowNodeInstance parentInstance, List<SFlowNodeInstance> childInstances)
+            throws SActivityStateExecutionException;
+
+}
@@ -30,7 +30,6 @@ import org.bonitasoft.engine.core.process.definition.model.SProcessDefinition;
 import org.bonitasoft.engine.core.process.instance.api.ActivityInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityExecutionException;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityStateExecutionException;
-import org.bonitasoft.engine.core.process.instance.api.states.FlowNodeState;
 import org.bonitasoft.engine.core.process.instance.api.states.StateCode;
 import org.bonitasoft.engine.core.process.instance.model.SActivityInstance;
 import org.bonitasoft.engine.core.process.instance.model.SFlowNodeInstance;
@@ -52,7 +51,7 @@ import org.bonitasoft.engine.persistence.QueryOptions;
  * @author Matthieu Chaffotte
  * @author Celine Souchet
  */
-public class ExecutingMultiInstanceActivityStateImpl implements FlowNodeState {
+public class ExecutingMultiInstanceActivityStateImpl implements BatchHitFlowNodeState {
 
     private final ExpressionResolverService expressionResolverService;
 
@@ -98,6 +97,12 @@ public class ExecutingMultiInstanceActivityStateImpl implements FlowNodeState {
     @Override
     public boolean hit(final SProcessDefinition processDefinition, final SFlowNodeInstance flowNodeInstance, final SFlowNodeInstance childInstance)
             throws SActivityStateExecutionException {
+        return hit(processDefinition, flowNodeInstance, Collections.singletonList(childInstance));
+    }
+
+    @Override
+    public boolean hit(final SProcessDefinition processDefinition, final SFlowNodeInstance flowNodeInstance, final List<SFlowNodeInstance> childInstances)
+            throws SActivityStateExecutionException {
         final SFlowElementContainerDefinition processContainer = processDefinition.getProcessContainer();
         final SActivityDefinition activityDefinition = (SActivityDefinition) processContainer.getFlowNode(flowNodeInstance.getFlowNodeDefinitionId());
         final SMultiInstanceLoopCharacteristics loopCharacteristics = (SMultiInstanceLoopCharacteristics) activityDefinition.getLoopCharacteristics();
@@ -110,12 +115,18 @@ public class ExecutingMultiInstanceActivityStateImpl implements FlowNodeState {
                 return true;
             }
 
-            if (childInstance.isAborting() || childInstance.isCanceling()) {
-                // TODO add synchronization
-                activityInstanceService.addMultiInstanceNumberOfTerminatedActivities(miActivity, 1);
-            } else {
-                // TODO add synchronization
-                activityInstanceService.addMultiInstanceNumberOfCompletedActivities(miActivity, 1);
+            int numberOfTerminatedChildren = 0;
+            for (final SFlowNodeInstance childInstance : childInstances) {
+                if (childInstance.isAborting() || childInstance.isCanceling()) {
+                    numberOfTerminatedChildren++;
+                }
+            }
+            final int numberOfCompletedChildren = childInstances.size() - numberOfTerminatedChildren;
+            if (numberOfTerminatedChildren > 0) {
+                activityInstanceService.addMultiInstanceNumberOfTerminatedActivities(miActivity, numberOfTerminatedChildren);
+            }
+            if (numberOfCompletedChildren > 0) {
+                activityInstanceService.addMultiInstanceNumberOfCompletedActivities(miActivity, numberOfCompletedChildren);
                 // check the completionCondition
                 final SExpression completionCondition = loopCharacteristics.getCompletionCondition();
                 final Map<String, Object> input = new HashMap<>(1);
@@ -134,6 +145,10 @@ public class ExecutingMultiInstanceActivityStateImpl implements FlowNodeState {
                         if (miActivity.isSequential()) {
                             return true;
                         }
+                        if (stateBehaviors.isWindowed(miActivity)) {
+                            // close the window: no more inner instance must be created
+                            activityInstanceService.setLoopCardinality(miActivity, miActivity.getNumberOfInstances());
+                        }
                     }
                 }
             }
@@ -154,6 +169,15 @@ public class ExecutingMultiInstanceActivityStateImpl implements FlowNodeState {
                 }
                 return numberOfActiveInstances == 0 && (createInnerInstances == null || createInnerInstances.size() == 0);
             }
+            if (stateBehaviors.isWindowed(miActivity)) {
+                // instantiate the next inner instances that fit in the window
+                final List<SFlowNodeInstance> createInnerInstances = stateBehaviors.fillWindow(processDefinition.getId(), activityDefinition, miActivity);
+                for (final SFlowNodeInstance sFlowNodeInstance : createInnerInstances) {
+                    containerRegistry.executeFlowNode(processDefinition.getId(), sFlowNodeInstance.getLogicalGroup(3), sFlowNodeInstance.getId(), null,
+                            null);
+                }
+                return numberOfActiveInstances == 0 && createInnerInstances.isEmpty();
+            }
             return numberOfActiveInstances == 0 || numberOfInstances == numberOfCompletedInstances + numberOfTerminatedInstances;
         } catch (final SBonitaException e) {
             throw new SActivityStateExecutionException(e);
@@ -73,13 +73,17 @@ public class InitializingMultiInstanceActivityStateImpl implements FlowNodeState
                     numberOfInstanceMax = stateBehaviors.getNumberOfInstancesToCreateFromInputRef(processDefinition, multiInstanceActivityInstance, miLoop,
                             numberOfInstanceMax);
                     stateBehaviors.updateOutputData(processDefinition, multiInstanceActivityInstance, miLoop, numberOfInstanceMax);
+                    if (stateBehaviors.isWindowed(multiInstanceActivityInstance)) {
+                        // remember the size of the input so that the next windows are created without reading it again
+                        activityInstanceService.setLoopCardinality(multiInstanceActivityInstance, numberOfInstanceMax);
+                    }
                 }
                 if (numberOfInstanceMax < 0) {
                     throw new SActivityStateExecutionException("The multi instance on activity " + flowNodeInstance.getName() + " of process "
                             + processDefinition.getName() + " " + processDefinition.getVersion() + " did not have loop cardinality nor loop data input ref set");
                 }
-                stateBehaviors.createInnerInstances(processDefinition.getId(), activity, multiInstanceActivityInstance, miLoop.isSequential() ? 1
-                        : numberOfInstanceMax);
+                stateBehaviors.createInnerInstances(processDefinition.getId(), activity, multiInstanceActivityInstance,
+                        stateBehaviors.getNumberOfInstancesToCreateOnInitialization(multiInstanceActivityInstance, numberOfInstanceMax));
             }
         } catch (final SActivityStateExecutionException e) {
             throw e;
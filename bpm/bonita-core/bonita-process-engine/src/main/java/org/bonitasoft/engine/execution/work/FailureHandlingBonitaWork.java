@@ -23,6 +23,7 @@ import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.service.TenantServiceAccessor;
 import org.bonitasoft.engine.service.TenantServiceSingleton;
 import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
+import org.bonitasoft.engine.tracking.TimeTrackerRecords;
 import org.bonitasoft.engine.work.BonitaWork;
 
 /**
@@ -33,8 +34,11 @@ public class FailureHandlingBonitaWork extends WrappingBonitaWork {
 
     private static final long serialVersionUID = 1L;
 
+    private final long creationTime;
+
     public FailureHandlingBonitaWork(final BonitaWork work) {
         super(work);
+        creationTime = System.currentTimeMillis();
     }
 
     protected void logIncident(final Exception cause, final Exception exceptionWhenHandlingFailure) {
@@ -57,6 +61,7 @@ public class FailureHandlingBonitaWork extends WrappingBonitaWork {
         final TechnicalLoggerService loggerService = tenantAccessor.getTechnicalLoggerService();
         final SessionAccessor sessionAccessor = tenantAccessor.getSessionAccessor();
         context.put(TENANT_ACCESSOR, tenantAccessor);
+        tenantAccessor.getTimeTracker().track(TimeTrackerRecords.WORK_QUEUE_WAIT, System.currentTimeMillis() - creationTime);
         try {
             sessionAccessor.setTenantId(getTenantId());
 
@@ -22,6 +22,8 @@ import org.bonitasoft.engine.lock.LockService;
 import org.bonitasoft.engine.lock.SLockException;
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.tracking.TimeTracker;
+import org.bonitasoft.engine.tracking.TimeTrackerRecords;
 import org.bonitasoft.engine.work.BonitaWork;
 import org.bonitasoft.engine.work.SWorkRegisterException;
 import org.bonitasoft.engine.work.WorkService;
@@ -54,6 +56,7 @@ public class LockProcessInstanceWork extends WrappingBonitaWork {
     public void work(final Map<String, Object> context) throws Exception {
         final TechnicalLoggerService loggerService = getTenantAccessor(context).getTechnicalLoggerService();
         final LockService lockService = getTenantAccessor(context).getLockService();
+        final TimeTracker timeTracker = getTenantAccessor(context).getTimeTracker();
         final String objectType = SFlowElementsContainerType.PROCESS.name();
 
         BonitaLock lock = null;
@@ -62,7 +65,9 @@ public class LockProcessInstanceWork extends WrappingBonitaWork {
                 loggerService.log(getClass(), TechnicalLogSeverity.DEBUG, Thread.currentThread().getName() + " trying to get lock for instance "
                         + processInstanceId + ": " + getWorkStack());
             }
+            final long startTime = System.currentTimeMillis();
             lock = lockService.tryLock(processInstanceId, objectType, TIMEOUT, timeUnit, getTenantId());
+            timeTracker.track(TimeTrackerRecords.LOCK_PROCESS_INSTANCE_WAIT, System.currentTimeMillis() - startTime, processInstanceId, lock == null ? 0 : 1);
             if (lock == null) {
                 // lock has not been obtained
                 if (loggerService.isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
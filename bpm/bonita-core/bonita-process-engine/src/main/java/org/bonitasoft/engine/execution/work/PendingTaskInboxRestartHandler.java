@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.execution.work;
+
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.core.process.instance.api.PendingTaskInboxService;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.service.PlatformServiceAccessor;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+
+/**
+ * Fills the pending task inbox of a tenant created before the inbox existed, before the tenant accepts API calls and restarts its works.
+ */
+public class PendingTaskInboxRestartHandler implements TenantRestartHandler {
+
+    @Override
+    public void beforeServicesStart(final PlatformServiceAccessor platformServiceAccessor, final TenantServiceAccessor tenantServiceAccessor)
+            throws RestartException {
+        final PendingTaskInboxService pendingTaskInboxService = tenantServiceAccessor.getPendingTaskInboxService();
+        final TechnicalLoggerService logger = tenantServiceAccessor.getTechnicalLoggerService();
+        try {
+            if (pendingTaskInboxService.isBuilt()) {
+                return;
+            }
+            if (logger.isLoggable(getClass(), TechnicalLogSeverity.INFO)) {
+                logger.log(getClass(), TechnicalLogSeverity.INFO, "The pending task inbox is empty while some tasks are pending, rebuilding it");
+            }
+            pendingTaskInboxService.rebuildAll();
+        } catch (final SBonitaException e) {
+            throw new RestartException("Unable to build the pending task inbox", e);
+        }
+    }
+
+    @Override
+    public void afterServicesStart(final PlatformServiceAccessor platformServiceAccessor, final TenantServiceAccessor tenantServiceAccessor) {
+    }
+
+}
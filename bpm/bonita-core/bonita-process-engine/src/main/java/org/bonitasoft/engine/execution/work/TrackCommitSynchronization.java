@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.execution.work;
+
+import org.bonitasoft.engine.tracking.TimeTracker;
+import org.bonitasoft.engine.tracking.TimeTrackerRecords;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
+import org.bonitasoft.engine.transaction.TransactionState;
+
+/**
+ * Track the duration of the commit of a transaction, from the before commit callbacks to the end of the commit.
+ * It is only registered when {@link TimeTrackerRecords#TRANSACTION_COMMIT} is trackable.
+ */
+class TrackCommitSynchronization implements BonitaTransactionSynchronization {
+
+    private final TimeTracker timeTracker;
+
+    private long beforeCommitTime;
+
+    TrackCommitSynchronization(final TimeTracker timeTracker) {
+        this.timeTracker = timeTracker;
+    }
+
+    @Override
+    public void beforeCommit() {
+        beforeCommitTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public void afterCompletion(final TransactionState txState) {
+        if (txState == TransactionState.COMMITTED && beforeCommitTime > 0) {
+            timeTracker.track(TimeTrackerRecords.TRANSACTION_COMMIT, System.currentTimeMillis() - beforeCommitTime);
+        }
+    }
+
+}
@@ -17,6 +17,8 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 
 import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.tracking.TimeTracker;
+import org.bonitasoft.engine.tracking.TimeTrackerRecords;
 import org.bonitasoft.engine.transaction.UserTransactionService;
 import org.bonitasoft.engine.work.BonitaWork;
 
@@ -40,11 +42,15 @@ public class TxBonitaWork extends WrappingBonitaWork {
     public void work(final Map<String, Object> context) throws Exception {
         final TenantServiceAccessor tenantAccessor = getTenantAccessor(context);
         final UserTransactionService userTransactionService = tenantAccessor.getUserTransactionService();
+        final TimeTracker timeTracker = tenantAccessor.getTimeTracker();
 
         final Callable<Void> runWork = new Callable<Void>() {
 
             @Override
             public Void call() throws Exception {
+                if (timeTracker.isTrackable(TimeTrackerRecords.TRANSACTION_COMMIT)) {
+                    userTransactionService.registerBonitaSynchronization(new TrackCommitSynchronization(timeTracker));
+                }
                 getWrappedWork().work(context);
                 return null;
             }
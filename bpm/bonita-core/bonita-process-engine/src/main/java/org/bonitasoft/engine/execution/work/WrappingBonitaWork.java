@@ -36,6 +36,11 @@ public abstract class WrappingBonitaWork extends TenantAwareBonitaWork {
         return wrappedWork.getDescription();
     }
 
+    @Override
+    public String getWorkType() {
+        return wrappedWork.getWorkType();
+    }
+
     @Override
     public String getRecoveryProcedure() {
         return wrappedWork.getRecoveryProcedure();
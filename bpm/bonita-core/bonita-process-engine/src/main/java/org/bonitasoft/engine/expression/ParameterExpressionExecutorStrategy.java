@@ -23,11 +23,11 @@ import org.bonitasoft.engine.expression.exception.SInvalidExpressionException;
 import org.bonitasoft.engine.expression.model.ExpressionKind;
 import org.bonitasoft.engine.expression.model.SExpression;
 import org.bonitasoft.engine.parameter.ParameterService;
-import org.bonitasoft.engine.parameter.SParameter;
 import org.bonitasoft.engine.persistence.SBonitaReadException;
 
 /**
- * Retrieve a String parameter from the ParameterService. The content of the expression must be the parameter name, as a String.
+ * Retrieve a String parameter from the snapshot of the process parameters given by the ParameterService. The content of the expression must be the
+ * parameter name, as a String.
  * The dependency map must contain a value for 'processDefinitionId' key to identify the process definition context to evaluate the parameter.
  * 
  * @see {@link ParameterService}
@@ -47,36 +47,44 @@ public class ParameterExpressionExecutorStrategy extends NonEmptyContentExpressi
     @Override
     public Object evaluate(final SExpression expression, final Map<String, Object> context, final Map<Integer, Object> resolvedExpressions,
             final ContainerState containerState) throws SExpressionDependencyMissingException, SExpressionEvaluationException {
+        if (context != null && !context.isEmpty()) {
+            return evaluate(expression, getParameters(expression, context));
+        }
+        return null;
+    }
+
+    private Map<String, String> getParameters(final SExpression expression, final Map<String, Object> context) throws SExpressionDependencyMissingException,
+            SExpressionEvaluationException {
+        if (!context.containsKey(PROCESS_DEFINITION_ID)) {
+            throw new SExpressionDependencyMissingException("Mandatory dependency processDefinitionId is missing.");
+        }
+        final long processDefinitionId = (Long) context.get(PROCESS_DEFINITION_ID);
+        try {
+            return parameterService.getSnapshot(processDefinitionId);
+        } catch (SBonitaReadException e) {
+            throw new SExpressionEvaluationException("Unable to read references parameter '" + expression.getContent() + "' ", e, expression.getName());
+        }
+    }
+
+    private Object evaluate(final SExpression expression, final Map<String, String> parameters) throws SExpressionEvaluationException {
         final String expressionContent = expression.getContent();
+        if (!parameters.containsKey(expressionContent)) {
+            throw new SExpressionEvaluationException("Referenced parameter '" + expressionContent + "' does not exist", expression.getName());
+        }
+        final String value = parameters.get(expressionContent);
         try {
-            if (context != null && !context.isEmpty()) {
-                if (context.containsKey(PROCESS_DEFINITION_ID)) {
-                    final long processDefinitionId = (Long) context.get(PROCESS_DEFINITION_ID);
-                    final SParameter parameter = parameterService.get(processDefinitionId, expressionContent);
-                    if(parameter== null){
-                        throw new SExpressionEvaluationException("Referenced parameter '" + expressionContent + "' does not exist", expression.getName());
-                    }
-                    try {
-                        final String returnType = expression.getReturnType();
-                        if (Boolean.class.getName().equals(returnType)) {
-                            return Boolean.parseBoolean(parameter.getValue());
-                        } else if (Double.class.getName().equals(returnType)) {
-                            return Double.parseDouble(parameter.getValue());
-                        } else if (Integer.class.getName().equals(returnType)) {
-                            return Integer.parseInt(parameter.getValue());
-                        } else if (String.class.getName().equals(returnType)) {
-                            return parameter.getValue();
-                        }
-                    } catch (final NumberFormatException e) {
-                        throw new SExpressionEvaluationException("Can't convert value = " + parameter.getValue() + " in type = returnType", e,
-                                expression.getName());
-                    }
-                } else {
-                    throw new SExpressionDependencyMissingException("Mandatory dependency processDefinitionId is missing.");
-                }
+            final String returnType = expression.getReturnType();
+            if (Boolean.class.getName().equals(returnType)) {
+                return Boolean.parseBoolean(value);
+            } else if (Double.class.getName().equals(returnType)) {
+                return Double.parseDouble(value);
+            } else if (Integer.class.getName().equals(returnType)) {
+                return Integer.parseInt(value);
+            } else if (String.class.getName().equals(returnType)) {
+                return value;
             }
-        } catch (SBonitaReadException e) {
-            throw new SExpressionEvaluationException("Unable to read references parameter '" + expressionContent + "' ", e, expression.getName());
+        } catch (final NumberFormatException e) {
+            throw new SExpressionEvaluationException("Can't convert value = " + value + " in type = returnType", e, expression.getName());
         }
         return null;
     }
@@ -74,7 +74,7 @@ public class OrganizationNodeBuilder {
         }
     }
 
-    private static XMLNode getCustomUserInfoDefinitionNode(final SCustomUserInfoDefinition userInfoDef) {
+    static XMLNode getCustomUserInfoDefinitionNode(final SCustomUserInfoDefinition userInfoDef) {
         final XMLNode userInfDefNode = new XMLNode(OrganizationMappingConstants.CUSTOM_USER_INFO_DEFINITION);
         addCustomUserInfoDefinitionName(userInfoDef, userInfDefNode);
         addCustomUserInfoDefinitionDescription(userInfoDef, userInfDefNode);
@@ -134,7 +134,7 @@ public class OrganizationNodeBuilder {
         }
     }
 
-    private static XMLNode getMembershipNode(final Map<Long, String> userNames, final Map<Long, String> groupIdParentPath, final UserMembership membership) {
+    static XMLNode getMembershipNode(final Map<Long, String> userNames, final Map<Long, String> groupIdParentPath, final UserMembership membership) {
         final XMLNode membershipNode = new XMLNode(OrganizationMappingConstants.MEMBERSHIP);
         XMLNode node = new XMLNode(OrganizationMappingConstants.USER_NAME);
         node.setContent(String.valueOf(membership.getUsername()));
@@ -161,7 +161,7 @@ public class OrganizationNodeBuilder {
         return membershipNode;
     }
 
-    private static XMLNode getRoleNode(final Role role) {
+    static XMLNode getRoleNode(final Role role) {
         final XMLNode roleNode = new XMLNode(OrganizationMappingConstants.ROLE);
         if (role.getName() != null) {
             roleNode.addAttribute(OrganizationMappingConstants.NAME, role.getName());
@@ -189,7 +189,7 @@ public class OrganizationNodeBuilder {
         return roleNode;
     }
 
-    private static XMLNode getGroupNode(final Group group) {
+    static XMLNode getGroupNode(final Group group) {
         final XMLNode groupNode = new XMLNode(OrganizationMappingConstants.GROUP);
         if (group.getName() != null) {
             groupNode.addAttribute(OrganizationMappingConstants.NAME, group.getName());
@@ -220,7 +220,7 @@ public class OrganizationNodeBuilder {
         return groupNode;
     }
 
-    private static XMLNode getUserNode(final ExportedUser user) {
+    static XMLNode getUserNode(final ExportedUser user) {
         final XMLNode userNode = new XMLNode(OrganizationMappingConstants.USER);
         userNode.addAttribute(OrganizationMappingConstants.USER_NAME, user.getUserName());
         addPasswordNode(user, userNode);
@@ -403,7 +403,7 @@ public class OrganizationNodeBuilder {
         return contactDataNode;
     }
 
-    private static XMLNode getRootNode() {
+    static XMLNode getRootNode() {
         final XMLNode organizationNode = new XMLNode(NS_PREFIX + ":" + OrganizationMappingConstants.IDENTITY_ORGANIZATION);
         organizationNode.addAttribute("xmlns:" + NS_PREFIX, NAMESPACE);
         return organizationNode;
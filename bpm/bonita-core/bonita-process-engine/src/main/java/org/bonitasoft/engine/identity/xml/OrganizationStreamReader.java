@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.identity.xml;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.xml.ElementBinding;
+import org.bonitasoft.engine.xml.SXMLParseException;
+
+/**
+ * Reads an organization XML with StAX and gives each top level element (custom user info definition, user, role, group, membership) to a handler
+ * as soon as it is read, instead of building the whole organization in memory.
+ * Elements are built using the same {@link ElementBinding}s as the organization parser.
+ */
+public class OrganizationStreamReader {
+
+    /**
+     * Receives the top level elements of the organization in document order
+     */
+    public interface ElementHandler {
+
+        void handle(String elementName, Object element) throws SBonitaException;
+
+    }
+
+    private final Map<String, Class<? extends ElementBinding>> binders;
+
+    public OrganizationStreamReader() {
+        this(OrganizationNodeBuilder.BINDINGS);
+    }
+
+    OrganizationStreamReader(final List<Class<? extends ElementBinding>> bindings) {
+        binders = new HashMap<String, Class<? extends ElementBinding>>();
+        for (final Class<? extends ElementBinding> binderClass : bindings) {
+            final ElementBinding binding = newBinding(binderClass);
+            if (!OrganizationMappingConstants.IDENTITY_ORGANIZATION.equals(binding.getElementTag())) {
+                binders.put(binding.getElementTag(), binderClass);
+            }
+        }
+    }
+
+    public void read(final Reader xmlReader, final ElementHandler handler) throws SBonitaException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            final XMLStreamReader reader = factory.createXMLStreamReader(xmlReader);
+            try {
+                read(reader, handler);
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException e) {
+            throw new SXMLParseException(e);
+        }
+    }
+
+    private void read(final XMLStreamReader reader, final ElementHandler handler) throws XMLStreamException, SBonitaException {
+        final Stack<ElementBinding> model = new Stack<ElementBinding>();
+        final Stack<String> elements = new Stack<String>();
+        Map<String, String> tempAttributes = new HashMap<String, String>();
+        StringBuilder tempVal = null;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final String startName = reader.getLocalName();
+                    final Class<? extends ElementBinding> binderClass = binders.get(startName);
+                    if (binderClass != null) {
+                        final ElementBinding binder = newBinding(binderClass);
+                        binder.setBinders(model);
+                        model.push(binder);
+                        elements.push(startName);
+                        binder.setAttributes(getAttributes(reader));
+                    } else {
+                        tempAttributes = getAttributes(reader);
+                    }
+                    tempVal = null;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    if (tempVal == null) {
+                        tempVal = new StringBuilder();
+                    }
+                    final String text = reader.getText();
+                    if (text.trim().length() > 0) {
+                        tempVal.append(text);
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    final String endName = reader.getLocalName();
+                    if (!elements.isEmpty() && endName.equals(elements.peek())) {
+                        elements.pop();
+                        final Object object = model.pop().getObject();
+                        if (model.isEmpty()) {
+                            handler.handle(endName, object);
+                        } else {
+                            model.peek().setChildObject(endName, object);
+                        }
+                    } else if (!model.isEmpty()) {
+                        model.peek().setChildElement(endName, tempVal != null ? tempVal.toString() : "", tempAttributes);
+                    }
+                    tempVal = null;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private Map<String, String> getAttributes(final XMLStreamReader reader) {
+        final Map<String, String> attributes = new HashMap<String, String>();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    private ElementBinding newBinding(final Class<? extends ElementBinding> binderClass) {
+        try {
+            return binderClass.newInstance();
+        } catch (final Exception e) {
+            throw new IllegalStateException("Unable to instantiate binding " + binderClass.getName(), e);
+        }
+    }
+
+}
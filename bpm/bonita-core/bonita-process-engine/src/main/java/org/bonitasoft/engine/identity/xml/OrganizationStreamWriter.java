@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.identity.xml;
+
+import java.io.Writer;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.bonitasoft.engine.xml.XMLNode;
+
+/**
+ * Writes an organization XML with StAX, one top level element at a time, so that the whole organization never has to be held in memory.
+ * Elements are given as {@link XMLNode}s built by the {@link OrganizationNodeBuilder}, the output is indented the same way as the organization
+ * written by the {@link org.bonitasoft.engine.xml.XMLWriter}.
+ */
+public class OrganizationStreamWriter {
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final String INDENT = "  ";
+
+    private static final String XMLNS_PREFIX = "xmlns:";
+
+    private final XMLStreamWriter writer;
+
+    private int depth;
+
+    public OrganizationStreamWriter(final Writer output) throws XMLStreamException {
+        writer = XMLOutputFactory.newInstance().createXMLStreamWriter(output);
+    }
+
+    public void startOrganization() throws XMLStreamException {
+        writer.writeStartDocument(ENCODING, "1.0");
+        startElement(OrganizationNodeBuilder.getRootNode());
+    }
+
+    public void startSection(final String sectionName) throws XMLStreamException {
+        startElement(new XMLNode(sectionName));
+    }
+
+    public void writeElement(final XMLNode node) throws XMLStreamException {
+        if (node.getChildNodes().isEmpty()) {
+            newLine();
+            if (node.getContent() == null) {
+                writer.writeEmptyElement(node.getName());
+                writeAttributes(node.getAttributes());
+            } else {
+                writer.writeStartElement(node.getName());
+                writeAttributes(node.getAttributes());
+                writer.writeCharacters(node.getContent());
+                writer.writeEndElement();
+            }
+        } else {
+            startElement(node);
+            for (final XMLNode child : node.getChildNodes()) {
+                writeElement(child);
+            }
+            endElement();
+        }
+    }
+
+    public void endSection() throws XMLStreamException {
+        endElement();
+    }
+
+    public void endOrganization() throws XMLStreamException {
+        endElement();
+        writer.writeCharacters("\n");
+        writer.writeEndDocument();
+        writer.flush();
+    }
+
+    public void flush() throws XMLStreamException {
+        writer.flush();
+    }
+
+    private void startElement(final XMLNode node) throws XMLStreamException {
+        newLine();
+        writer.writeStartElement(node.getName());
+        writeAttributes(node.getAttributes());
+        if (node.getContent() != null) {
+            writer.writeCharacters(node.getContent());
+        }
+        depth++;
+    }
+
+    private void endElement() throws XMLStreamException {
+        depth--;
+        newLine();
+        writer.writeEndElement();
+    }
+
+    private void writeAttributes(final Map<String, String> attributes) throws XMLStreamException {
+        if (attributes != null) {
+            for (final Entry<String, String> attribute : attributes.entrySet()) {
+                if (attribute.getKey().startsWith(XMLNS_PREFIX)) {
+                    writer.writeNamespace(attribute.getKey().substring(XMLNS_PREFIX.length()), attribute.getValue());
+                } else if (attribute.getValue() != null) {
+                    writer.writeAttribute(attribute.getKey(), attribute.getValue());
+                }
+            }
+        }
+    }
+
+    private void newLine() throws XMLStreamException {
+        final StringBuilder indentation = new StringBuilder("\n");
+        for (int i = 0; i < depth; i++) {
+            indentation.append(INDENT);
+        }
+        writer.writeCharacters(indentation.toString());
+    }
+
+}
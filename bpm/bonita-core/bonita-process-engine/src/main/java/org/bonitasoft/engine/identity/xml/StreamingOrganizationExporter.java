@@ -0,0 +1,338 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.identity.xml;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.bonitasoft.engine.builder.BuilderFactory;
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.identity.ExportedCustomUserInfoValue;
+import org.bonitasoft.engine.identity.ExportedUser;
+import org.bonitasoft.engine.identity.ExportedUserBuilder;
+import org.bonitasoft.engine.identity.ExportedUserBuilderFactory;
+import org.bonitasoft.engine.identity.Group;
+import org.bonitasoft.engine.identity.IdentityService;
+import org.bonitasoft.engine.identity.Role;
+import org.bonitasoft.engine.identity.SIdentityException;
+import org.bonitasoft.engine.identity.UserMembership;
+import org.bonitasoft.engine.identity.model.SContactInfo;
+import org.bonitasoft.engine.identity.model.SCustomUserInfoDefinition;
+import org.bonitasoft.engine.identity.model.SCustomUserInfoValue;
+import org.bonitasoft.engine.identity.model.SGroup;
+import org.bonitasoft.engine.identity.model.SRole;
+import org.bonitasoft.engine.identity.model.SUser;
+import org.bonitasoft.engine.identity.model.SUserMembership;
+import org.bonitasoft.engine.identity.model.builder.SCustomUserInfoValueBuilderFactory;
+import org.bonitasoft.engine.identity.model.builder.SGroupBuilderFactory;
+import org.bonitasoft.engine.identity.model.builder.SRoleBuilderFactory;
+import org.bonitasoft.engine.identity.model.builder.SUserBuilderFactory;
+import org.bonitasoft.engine.persistence.FilterOption;
+import org.bonitasoft.engine.persistence.OrderByOption;
+import org.bonitasoft.engine.persistence.OrderByType;
+import org.bonitasoft.engine.persistence.PersistentObject;
+import org.bonitasoft.engine.persistence.QueryOptions;
+import org.bonitasoft.engine.persistence.SBonitaReadException;
+import org.bonitasoft.engine.service.ModelConvertor;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+import org.bonitasoft.engine.xml.XMLNode;
+
+/**
+ * Exports the organization by writing it directly in a {@link Writer}, page by page, instead of building the whole XML document in memory.
+ * <p>
+ * Users, roles, groups and memberships are read with keyset paging (ordered by id, starting after the last id of the previous page) so that each page costs the
+ * same whatever its position. Each page is read in its own transaction and written once the transaction is over. Only the user names and the group
+ * parent paths are kept during the export, to write the managers and the memberships. The contact info and custom user info values are read for a
+ * whole page of users at once.
+ * </p>
+ */
+public class StreamingOrganizationExporter {
+
+    private final IdentityService identityService;
+
+    private final UserTransactionService userTransactionService;
+
+    private final int pageSize;
+
+    private final Map<Long, String> userNames = new HashMap<Long, String>();
+
+    private final Map<Long, String> groupIdParentPath = new HashMap<Long, String>();
+
+    private Map<Long, String> userInfoDefinitionNames;
+
+    private long lastUserId = -1;
+
+    public StreamingOrganizationExporter(final IdentityService identityService, final UserTransactionService userTransactionService, final int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive but was " + pageSize);
+        }
+        this.identityService = identityService;
+        this.userTransactionService = userTransactionService;
+        this.pageSize = pageSize;
+    }
+
+    public void exportOrganization(final Writer output) throws SBonitaException {
+        try {
+            final OrganizationStreamWriter writer = new OrganizationStreamWriter(output);
+            writer.startOrganization();
+            exportCustomUserInfoDefinitions(writer);
+            exportUsers(writer);
+            exportRoles(writer);
+            exportGroups(writer);
+            exportMemberships(writer);
+            writer.endOrganization();
+        } catch (final XMLStreamException e) {
+            throw new SIdentityException(e);
+        }
+    }
+
+    private void exportCustomUserInfoDefinitions(final OrganizationStreamWriter writer) throws SBonitaException, XMLStreamException {
+        final List<SCustomUserInfoDefinition> definitions = inTransaction(new Callable<List<SCustomUserInfoDefinition>>() {
+
+            @Override
+            public List<SCustomUserInfoDefinition> call() throws Exception {
+                final List<SCustomUserInfoDefinition> allDefinitions = new ArrayList<SCustomUserInfoDefinition>();
+                List<SCustomUserInfoDefinition> currentPage;
+                int startIndex = 0;
+                do {
+                    currentPage = identityService.getCustomUserInfoDefinitions(startIndex, pageSize);
+                    allDefinitions.addAll(currentPage);
+                    startIndex += pageSize;
+                } while (currentPage.size() == pageSize);
+                return allDefinitions;
+            }
+        });
+        userInfoDefinitionNames = new HashMap<Long, String>(definitions.size());
+        writer.startSection(OrganizationMappingConstants.CUSTOM_USER_INFO_DEFINITIONS);
+        for (final SCustomUserInfoDefinition definition : definitions) {
+            userInfoDefinitionNames.put(definition.getId(), definition.getName());
+            writer.writeElement(OrganizationNodeBuilder.getCustomUserInfoDefinitionNode(definition));
+        }
+        writer.endSection();
+    }
+
+    private void exportUsers(final OrganizationStreamWriter writer) throws SBonitaException, XMLStreamException {
+        final String idKey = BuilderFactory.get(SUserBuilderFactory.class).getIdKey();
+        writer.startSection(OrganizationMappingConstants.USERS);
+        List<XMLNode> page;
+        do {
+            final long afterId = lastUserId;
+            page = inTransaction(new Callable<List<XMLNode>>() {
+
+                @Override
+                public List<XMLNode> call() throws Exception {
+                    return getUserNodes(identityService.searchUsers(getPageOptions(SUser.class, idKey, afterId)));
+                }
+            });
+            for (final XMLNode userNode : page) {
+                writer.writeElement(userNode);
+            }
+            writer.flush();
+        } while (page.size() == pageSize);
+        writer.endSection();
+    }
+
+    private List<XMLNode> getUserNodes(final List<SUser> users) throws SBonitaException {
+        final Map<Long, List<ExportedCustomUserInfoValue>> userInfoValues = getCustomUserInfoValues(users);
+        final Map<Long, SContactInfo> personalInfos = new HashMap<Long, SContactInfo>(users.size());
+        final Map<Long, SContactInfo> professionalInfos = new HashMap<Long, SContactInfo>(users.size());
+        for (final SContactInfo contactInfo : identityService.getUserContactInfos(getIds(users))) {
+            (contactInfo.isPersonal() ? personalInfos : professionalInfos).put(contactInfo.getUserId(), contactInfo);
+        }
+        final List<XMLNode> nodes = new ArrayList<XMLNode>(users.size());
+        for (final SUser user : users) {
+            userNames.put(user.getId(), user.getUserName());
+            lastUserId = user.getId();
+        }
+        for (final SUser user : users) {
+            nodes.add(OrganizationNodeBuilder.getUserNode(toExportedUser(user, personalInfos.get(user.getId()), professionalInfos.get(user.getId()),
+                    userInfoValues.get(user.getId()))));
+        }
+        return nodes;
+    }
+
+    private List<Long> getIds(final List<SUser> users) {
+        final List<Long> userIds = new ArrayList<Long>(users.size());
+        for (final SUser user : users) {
+            userIds.add(user.getId());
+        }
+        return userIds;
+    }
+
+    private ExportedUser toExportedUser(final SUser sUser, final SContactInfo personalInfo, final SContactInfo professionalInfo,
+            final List<ExportedCustomUserInfoValue> userInfoValues) throws SIdentityException {
+        final ExportedUserBuilder userBuilder = ExportedUserBuilderFactory.createNewInstance(sUser.getUserName(), sUser.getPassword());
+        // Do not export dates and id
+        userBuilder.setPasswordEncrypted(true);
+        userBuilder.setFirstName(sUser.getFirstName());
+        userBuilder.setLastName(sUser.getLastName());
+        userBuilder.setTitle(sUser.getTitle());
+        userBuilder.setJobTitle(sUser.getJobTitle());
+        userBuilder.setCreatedBy(sUser.getCreatedBy());
+        userBuilder.setIconName(sUser.getIconName());
+        userBuilder.setIconPath(sUser.getIconPath());
+        userBuilder.setEnabled(sUser.isEnabled());
+        userBuilder.setManagerUserId(sUser.getManagerUserId());
+        userBuilder.setManagerUserName(getManagerUserName(sUser.getManagerUserId()));
+        if (personalInfo != null) {
+            userBuilder.setPersonalData(ModelConvertor.toUserContactData(personalInfo));
+        }
+        if (professionalInfo != null) {
+            userBuilder.setProfessionalData(ModelConvertor.toUserContactData(professionalInfo));
+        }
+        if (userInfoValues != null) {
+            for (final ExportedCustomUserInfoValue userInfoValue : userInfoValues) {
+                userBuilder.addCustomUserInfoValue(userInfoValue);
+            }
+        }
+        return userBuilder.done();
+    }
+
+    private String getManagerUserName(final long managerUserId) throws SIdentityException {
+        if (managerUserId <= 0) {
+            return null;
+        }
+        String managerUserName = userNames.get(managerUserId);
+        if (managerUserName == null) {
+            managerUserName = identityService.getUser(managerUserId).getUserName();
+            userNames.put(managerUserId, managerUserName);
+        }
+        return managerUserName;
+    }
+
+    /**
+     * Reads the custom user info values of a whole page of users at once instead of querying them user by user
+     */
+    private Map<Long, List<ExportedCustomUserInfoValue>> getCustomUserInfoValues(final List<SUser> users) throws SBonitaReadException {
+        final Map<Long, List<ExportedCustomUserInfoValue>> valuesByUser = new HashMap<Long, List<ExportedCustomUserInfoValue>>();
+        if (users.isEmpty() || userInfoDefinitionNames.isEmpty()) {
+            return valuesByUser;
+        }
+        final List<Long> userIds = getIds(users);
+        final SCustomUserInfoValueBuilderFactory keyProvider = BuilderFactory.get(SCustomUserInfoValueBuilderFactory.class);
+        final List<OrderByOption> orderBy = Collections.singletonList(new OrderByOption(SCustomUserInfoValue.class, keyProvider.getIdKey(),
+                OrderByType.ASC));
+        long lastId = -1;
+        List<SCustomUserInfoValue> currentPage;
+        do {
+            final List<FilterOption> filters = new ArrayList<FilterOption>(2);
+            filters.add(new FilterOption(SCustomUserInfoValue.class, keyProvider.getUserIdKey()).in(userIds));
+            filters.add(new FilterOption(SCustomUserInfoValue.class, keyProvider.getIdKey()).greaterThan(lastId));
+            currentPage = identityService.searchCustomUserInfoValue(new QueryOptions(0, pageSize, orderBy, filters, null));
+            for (final SCustomUserInfoValue value : currentPage) {
+                List<ExportedCustomUserInfoValue> userValues = valuesByUser.get(value.getUserId());
+                if (userValues == null) {
+                    userValues = new ArrayList<ExportedCustomUserInfoValue>();
+                    valuesByUser.put(value.getUserId(), userValues);
+                }
+                userValues.add(new ExportedCustomUserInfoValue(userInfoDefinitionNames.get(value.getDefinitionId()), value.getValue()));
+                lastId = value.getId();
+            }
+        } while (currentPage.size() == pageSize);
+        return valuesByUser;
+    }
+
+    private void exportRoles(final OrganizationStreamWriter writer) throws SBonitaException, XMLStreamException {
+        final String idKey = BuilderFactory.get(SRoleBuilderFactory.class).getIdKey();
+        writer.startSection(OrganizationMappingConstants.ROLES);
+        long lastId = -1;
+        List<SRole> page;
+        do {
+            final long afterId = lastId;
+            page = inTransaction(new Callable<List<SRole>>() {
+
+                @Override
+                public List<SRole> call() throws Exception {
+                    return identityService.searchRoles(getPageOptions(SRole.class, idKey, afterId));
+                }
+            });
+            for (final Role role : ModelConvertor.toRoles(page)) {
+                writer.writeElement(OrganizationNodeBuilder.getRoleNode(role));
+                lastId = role.getId();
+            }
+            writer.flush();
+        } while (page.size() == pageSize);
+        writer.endSection();
+    }
+
+    private void exportGroups(final OrganizationStreamWriter writer) throws SBonitaException, XMLStreamException {
+        final String idKey = BuilderFactory.get(SGroupBuilderFactory.class).getIdKey();
+        writer.startSection(OrganizationMappingConstants.GROUPS);
+        long lastId = -1;
+        List<SGroup> page;
+        do {
+            final long afterId = lastId;
+            page = inTransaction(new Callable<List<SGroup>>() {
+
+                @Override
+                public List<SGroup> call() throws Exception {
+                    return identityService.searchGroups(getPageOptions(SGroup.class, idKey, afterId));
+                }
+            });
+            for (final Group group : ModelConvertor.toGroups(page)) {
+                groupIdParentPath.put(group.getId(), group.getParentPath());
+                writer.writeElement(OrganizationNodeBuilder.getGroupNode(group));
+                lastId = group.getId();
+            }
+            writer.flush();
+        } while (page.size() == pageSize);
+        writer.endSection();
+    }
+
+    private void exportMemberships(final OrganizationStreamWriter writer) throws SBonitaException, XMLStreamException {
+        writer.startSection(OrganizationMappingConstants.MEMBERSHIPS);
+        long lastId = -1;
+        List<SUserMembership> page;
+        do {
+            final long afterId = lastId;
+            page = inTransaction(new Callable<List<SUserMembership>>() {
+
+                @Override
+                public List<SUserMembership> call() throws Exception {
+                    return identityService.getUserMembershipsAfter(afterId, pageSize);
+                }
+            });
+            for (final UserMembership membership : ModelConvertor.toUserMembership(page, userNames, groupIdParentPath)) {
+                writer.writeElement(OrganizationNodeBuilder.getMembershipNode(userNames, groupIdParentPath, membership));
+                lastId = membership.getId();
+            }
+            writer.flush();
+        } while (page.size() == pageSize);
+        writer.endSection();
+    }
+
+    private QueryOptions getPageOptions(final Class<? extends PersistentObject> persistentClass, final String idKey, final long afterId) {
+        final List<OrderByOption> orderBy = Collections.singletonList(new OrderByOption(persistentClass, idKey, OrderByType.ASC));
+        final List<FilterOption> filters = Collections.singletonList(new FilterOption(persistentClass, idKey).greaterThan(afterId));
+        return new QueryOptions(0, pageSize, orderBy, filters, null);
+    }
+
+    private <T> T inTransaction(final Callable<T> callable) throws SBonitaException {
+        try {
+            return userTransactionService.executeInTransaction(callable);
+        } catch (final SBonitaException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SIdentityException(e);
+        }
+    }
+
+}
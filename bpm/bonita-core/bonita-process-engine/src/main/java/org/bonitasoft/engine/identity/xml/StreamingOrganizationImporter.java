@@ -0,0 +1,591 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.identity.xml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.bonitasoft.engine.api.impl.SCustomUserInfoValueAPI;
+import org.bonitasoft.engine.api.impl.SessionInfos;
+import org.bonitasoft.engine.builder.BuilderFactory;
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.identity.CustomUserInfoDefinitionCreator;
+import org.bonitasoft.engine.identity.ExportedUser;
+import org.bonitasoft.engine.identity.GroupCreator;
+import org.bonitasoft.engine.identity.GroupCreator.GroupField;
+import org.bonitasoft.engine.identity.IdentityService;
+import org.bonitasoft.engine.identity.ImportPolicy;
+import org.bonitasoft.engine.identity.OrganizationImportException;
+import org.bonitasoft.engine.identity.RoleCreator;
+import org.bonitasoft.engine.identity.RoleCreator.RoleField;
+import org.bonitasoft.engine.identity.SIdentityException;
+import org.bonitasoft.engine.identity.UserMembership;
+import org.bonitasoft.engine.identity.model.SCustomUserInfoDefinition;
+import org.bonitasoft.engine.identity.model.SGroup;
+import org.bonitasoft.engine.identity.model.SRole;
+import org.bonitasoft.engine.identity.model.SUser;
+import org.bonitasoft.engine.identity.model.SUserMembership;
+import org.bonitasoft.engine.identity.model.builder.SUserMembershipBuilderFactory;
+import org.bonitasoft.engine.identity.model.builder.SUserUpdateBuilderFactory;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.service.ModelConvertor;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+import org.bonitasoft.engine.xml.Parser;
+
+/**
+ * Import an organization without loading it entirely in memory and without holding a single transaction for the whole import.
+ * <p>
+ * The XML is validated against the schema in a streaming way, then read element by element with {@link OrganizationStreamReader}. Elements are
+ * imported by chunks of <code>chunkSize</code> elements, each chunk in its own transaction. The existing users, roles, groups and memberships of a
+ * chunk are resolved with one query per type and the new ones are inserted in one batch.
+ * <p>
+ * Memberships, managers and assigners are only resolved against the users, roles and groups of the imported organization, not against the other
+ * elements of the tenant. With {@link ImportPolicy#FAIL_ON_DUPLICATES}, the whole organization is checked for duplicates, chunk by chunk, before
+ * any chunk is imported.
+ * <p>
+ * Must be called outside of any transaction.
+ */
+public class StreamingOrganizationImporter {
+
+    private static final String LEGACY_NS = "xmlns:organization=\"http://documentation.bonitasoft.com/organization-xml-schema\"";
+
+    private static final String VERSIONED_NS = "xmlns:organization=\"http://documentation.bonitasoft.com/organization-xml-schema/1.1\"";
+
+    private final TenantServiceAccessor serviceAccessor;
+
+    private final IdentityService identityService;
+
+    private final UserTransactionService userTransactionService;
+
+    private final TechnicalLoggerService logger;
+
+    private final Parser parser;
+
+    private final ImportPolicy policy;
+
+    private final ImportOrganizationStrategy strategy;
+
+    private final SCustomUserInfoValueAPI userInfoValueAPI;
+
+    private final int chunkSize;
+
+    private final Map<String, Long> userNameToId = new HashMap<String, Long>();
+
+    private final Map<String, Long> roleNameToId = new HashMap<String, Long>();
+
+    private final Map<String, Long> groupPathToId = new HashMap<String, Long>();
+
+    private final Set<Long> createdUserIds = new HashSet<Long>();
+
+    private final Set<Long> createdRoleIds = new HashSet<Long>();
+
+    private final Set<Long> createdGroupIds = new HashSet<Long>();
+
+    private final Map<String, SCustomUserInfoDefinition> customUserInfoDefinitions = new HashMap<String, SCustomUserInfoDefinition>();
+
+    private final Map<String, String> managerOfUsers = new LinkedHashMap<String, String>();
+
+    private long userIdFromSession;
+
+    public StreamingOrganizationImporter(final TenantServiceAccessor serviceAccessor, final ImportPolicy policy,
+            final SCustomUserInfoValueAPI userInfoValueAPI, final int chunkSize) throws OrganizationImportException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive but was " + chunkSize);
+        }
+        this.serviceAccessor = serviceAccessor;
+        this.policy = policy;
+        this.userInfoValueAPI = userInfoValueAPI;
+        this.chunkSize = chunkSize;
+        identityService = serviceAccessor.getIdentityService();
+        userTransactionService = serviceAccessor.getUserTransactionService();
+        logger = serviceAccessor.getTechnicalLoggerService();
+        parser = serviceAccessor.getParserFactgory().createParser(OrganizationNodeBuilder.BINDINGS);
+        strategy = createStrategy(policy, identityService, userInfoValueAPI);
+    }
+
+    private static ImportOrganizationStrategy createStrategy(final ImportPolicy policy, final IdentityService identityService,
+            final SCustomUserInfoValueAPI userInfoValueAPI) throws OrganizationImportException {
+        switch (policy) {
+            case FAIL_ON_DUPLICATES:
+                return new ImportOrganizationFailOnDuplicatesStrategy();
+            case IGNORE_DUPLICATES:
+                return new ImportOrganizationIgnoreDuplicatesStrategy();
+            case MERGE_DUPLICATES:
+                return new ImportOrganizationMergeDuplicatesStrategy(identityService, userInfoValueAPI);
+            default:
+                throw new OrganizationImportException("No import strategy found for " + policy);
+        }
+    }
+
+    private static String updateNamespace(String content) {
+        if (content != null) {
+            if (content.contains(LEGACY_NS)) {
+                content = content.replace(LEGACY_NS, VERSIONED_NS);
+            }
+        }
+        return content;
+    }
+
+    public void importOrganization(final String organizationContent) throws SBonitaException {
+        final String content = updateNamespace(organizationContent);
+        validate(content);
+        userIdFromSession = inTransaction(new Callable<Long>() {
+
+            @Override
+            public Long call() throws Exception {
+                return getUserIdFromSession();
+            }
+        });
+        if (ImportPolicy.FAIL_ON_DUPLICATES.equals(policy)) {
+            read(content, new DuplicateChecker());
+        }
+        read(content, new ChunkHandler() {
+
+            @Override
+            protected void handleChunk(final String elementName, final List<?> elements) throws SBonitaException {
+                importChunk(elementName, elements);
+            }
+        });
+        updateManagers();
+    }
+
+    private void read(final String content, final ChunkHandler handler) throws SBonitaException {
+        new OrganizationStreamReader().read(new StringReader(content), handler);
+        handler.flushChunk();
+    }
+
+    protected long getUserIdFromSession() {
+        return SessionInfos.getUserIdFromSession();
+    }
+
+    private void validate(final String content) throws SBonitaException {
+        final InputStream schemaStream = this.getClass().getResourceAsStream("/bos-organization.xsd");
+        try {
+            parser.setSchema(schemaStream);
+            parser.validate(new StringReader(content));
+        } catch (final IOException e) {
+            throw new SImportOrganizationException(e);
+        } finally {
+            try {
+                schemaStream.close();
+            } catch (final IOException e) {
+                throw new SImportOrganizationException(e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void importChunk(final String elementName, final List<?> elements) throws SBonitaException {
+        if (OrganizationMappingConstants.CUSTOM_USER_INFO_DEFINITION.equals(elementName)) {
+            final CustomUserInfoDefinitionImporter importer = new CustomUserInfoDefinitionImporter(serviceAccessor, strategy);
+            customUserInfoDefinitions.putAll(importer.importCustomUserInfoDefinitions((List<CustomUserInfoDefinitionCreator>) elements));
+        } else if (OrganizationMappingConstants.USER.equals(elementName)) {
+            importUsers((List<ExportedUser>) elements);
+        } else if (OrganizationMappingConstants.ROLE.equals(elementName)) {
+            importRoles((List<RoleCreator>) elements);
+        } else if (OrganizationMappingConstants.GROUP.equals(elementName)) {
+            importGroups((List<GroupCreator>) elements);
+        } else if (OrganizationMappingConstants.MEMBERSHIP.equals(elementName)) {
+            importMemberships((List<UserMembership>) elements);
+        }
+    }
+
+    private void importUsers(final List<ExportedUser> users) throws SBonitaException {
+        final List<String> userNames = new ArrayList<String>(users.size());
+        for (final ExportedUser user : users) {
+            userNames.add(user.getUserName());
+        }
+        final Map<String, SUser> existingUsers = new HashMap<String, SUser>();
+        for (final SUser existingUser : identityService.getUsersByUsername(userNames)) {
+            existingUsers.put(existingUser.getUserName(), existingUser);
+        }
+        final CustomUserInfoValueImporter userInfoValueImporter = new CustomUserInfoValueImporter(userInfoValueAPI, customUserInfoDefinitions);
+        final UserImporter userImporter = new UserImporter(serviceAccessor, strategy, userIdFromSession, userInfoValueImporter);
+        final Map<String, SUser> importedUsers = userImporter.importUsers(users, existingUsers);
+        for (final SUser importedUser : importedUsers.values()) {
+            if (!existingUsers.containsKey(importedUser.getUserName())) {
+                createdUserIds.add(importedUser.getId());
+            }
+            userNameToId.put(importedUser.getUserName(), importedUser.getId());
+        }
+        for (final ExportedUser user : users) {
+            final String managerUserName = user.getManagerUserName();
+            if (managerUserName != null && managerUserName.trim().length() > 0) {
+                managerOfUsers.put(user.getUserName(), managerUserName);
+            }
+        }
+    }
+
+    private void updateManagers() throws SBonitaException {
+        final List<Entry<String, String>> usersToUpdate = new ArrayList<Entry<String, String>>(managerOfUsers.entrySet());
+        for (int i = 0; i < usersToUpdate.size(); i += chunkSize) {
+            final List<Entry<String, String>> managersChunk = usersToUpdate.subList(i, Math.min(i + chunkSize, usersToUpdate.size()));
+            inTransaction(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    updateManagers(managersChunk);
+                    return null;
+                }
+            });
+        }
+    }
+
+    private void updateManagers(final List<Entry<String, String>> managersChunk) throws SBonitaException {
+        final List<String> userNames = new ArrayList<String>(managersChunk.size());
+        for (final Entry<String, String> userAndManager : managersChunk) {
+            if (userNameToId.containsKey(userAndManager.getValue())) {
+                userNames.add(userAndManager.getKey());
+            } else if (logger.isLoggable(getClass(), TechnicalLogSeverity.WARNING)) {
+                logger.log(this.getClass(), TechnicalLogSeverity.WARNING, "The user " + userAndManager.getKey() + " has a manager with username "
+                        + userAndManager.getValue() + ", but this one does not exist. Please set it manually.");
+            }
+        }
+        if (userNames.isEmpty()) {
+            return;
+        }
+        for (final SUser user : identityService.getUsersByUsername(userNames)) {
+            final Long managerId = userNameToId.get(managerOfUsers.get(user.getUserName()));
+            identityService.updateUser(user, BuilderFactory.get(SUserUpdateBuilderFactory.class).createNewInstance().updateManagerUserId(managerId).done());
+        }
+    }
+
+    private void importRoles(final List<RoleCreator> roleCreators) throws SBonitaException {
+        final Map<String, SRole> existingRoles = getExistingRoles(roleCreators);
+        final Map<String, SRole> newRoles = new LinkedHashMap<String, SRole>();
+        final List<RoleCreator> repeatedRoles = new ArrayList<RoleCreator>();
+        for (final RoleCreator roleCreator : roleCreators) {
+            final String roleName = getRoleName(roleCreator);
+            final SRole existingRole = existingRoles.get(roleName);
+            if (existingRole != null) {
+                strategy.foundExistingRole(existingRole, roleCreator);
+                roleNameToId.put(existingRole.getName(), existingRole.getId());
+            } else if (newRoles.containsKey(roleName)) {
+                repeatedRoles.add(roleCreator);
+            } else {
+                newRoles.put(roleName, ModelConvertor.constructSRole(roleCreator, userIdFromSession));
+            }
+        }
+        identityService.createRoles(new ArrayList<SRole>(newRoles.values()));
+        for (final SRole newRole : newRoles.values()) {
+            createdRoleIds.add(newRole.getId());
+            roleNameToId.put(newRole.getName(), newRole.getId());
+        }
+        for (final RoleCreator repeatedRole : repeatedRoles) {
+            strategy.foundExistingRole(newRoles.get(getRoleName(repeatedRole)), repeatedRole);
+        }
+    }
+
+    private Map<String, SRole> getExistingRoles(final List<RoleCreator> roleCreators) throws SIdentityException {
+        final List<String> roleNames = new ArrayList<String>(roleCreators.size());
+        for (final RoleCreator roleCreator : roleCreators) {
+            roleNames.add(getRoleName(roleCreator));
+        }
+        final Map<String, SRole> existingRoles = new HashMap<String, SRole>();
+        for (final SRole existingRole : identityService.getRolesByName(roleNames)) {
+            existingRoles.put(existingRole.getName(), existingRole);
+        }
+        return existingRoles;
+    }
+
+    private String getRoleName(final RoleCreator creator) {
+        return (String) creator.getFields().get(RoleField.NAME);
+    }
+
+    private void importGroups(final List<GroupCreator> groupCreators) throws SBonitaException {
+        final Map<String, SGroup> existingGroups = getExistingGroups(groupCreators);
+        final Map<String, SGroup> newGroups = new LinkedHashMap<String, SGroup>();
+        final List<GroupCreator> repeatedGroups = new ArrayList<GroupCreator>();
+        for (final GroupCreator groupCreator : groupCreators) {
+            final String groupPath = getGroupPath(groupCreator);
+            final SGroup existingGroup = existingGroups.get(groupPath);
+            if (existingGroup != null) {
+                strategy.foundExistingGroup(existingGroup, groupCreator);
+                groupPathToId.put(existingGroup.getPath(), existingGroup.getId());
+            } else if (newGroups.containsKey(groupPath)) {
+                repeatedGroups.add(groupCreator);
+            } else {
+                newGroups.put(groupPath, ModelConvertor.constructSGroup(groupCreator, userIdFromSession));
+            }
+        }
+        identityService.createGroups(new ArrayList<SGroup>(newGroups.values()));
+        for (final SGroup newGroup : newGroups.values()) {
+            createdGroupIds.add(newGroup.getId());
+            groupPathToId.put(newGroup.getPath(), newGroup.getId());
+        }
+        for (final GroupCreator repeatedGroup : repeatedGroups) {
+            strategy.foundExistingGroup(newGroups.get(getGroupPath(repeatedGroup)), repeatedGroup);
+        }
+    }
+
+    private Map<String, SGroup> getExistingGroups(final List<GroupCreator> groupCreators) throws SIdentityException {
+        final List<String> groupPaths = new ArrayList<String>(groupCreators.size());
+        for (final GroupCreator groupCreator : groupCreators) {
+            groupPaths.add(getGroupPath(groupCreator));
+        }
+        final Map<String, SGroup> existingGroups = new HashMap<String, SGroup>();
+        for (final SGroup existingGroup : identityService.getGroupsByPath(groupPaths)) {
+            existingGroups.put(existingGroup.getPath(), existingGroup);
+        }
+        return existingGroups;
+    }
+
+    private String getGroupPath(final GroupCreator creator) {
+        final Map<GroupField, Serializable> fields = creator.getFields();
+        final String name = (String) fields.get(GroupField.NAME);
+        final String parentPath = (String) fields.get(GroupField.PARENT_PATH);
+        if (parentPath == null) {
+            return "/" + name;
+        }
+        return parentPath + "/" + name;
+    }
+
+    private void importMemberships(final List<UserMembership> memberships) throws SBonitaException {
+        final List<UserMembership> resolvedMemberships = new ArrayList<UserMembership>(memberships.size());
+        final List<long[]> resolvedIds = new ArrayList<long[]>(memberships.size());
+        for (final UserMembership newMembership : memberships) {
+            final Long userId = getUserId(newMembership);
+            final Long groupId = getGroupId(newMembership);
+            final Long roleId = getRoleId(newMembership);
+            if (userId != null && groupId != null && roleId != null) {
+                resolvedMemberships.add(newMembership);
+                resolvedIds.add(new long[] { userId, groupId, roleId });
+            } else if (logger.isLoggable(getClass(), TechnicalLogSeverity.WARNING)) {
+                logger.log(getClass(), TechnicalLogSeverity.WARNING, "The membership " + newMembership
+                        + " coud not be imported because the user, group or role can't be found\n userId=" + userId + " groupId=" + groupId + " roleId="
+                        + roleId);
+            }
+        }
+        final Map<String, SUserMembership> existingMemberships = getExistingMemberships(resolvedIds);
+        final Map<String, SUserMembership> newMemberships = new LinkedHashMap<String, SUserMembership>();
+        final List<String> repeatedMemberships = new ArrayList<String>();
+        for (int i = 0; i < resolvedMemberships.size(); i++) {
+            final long[] ids = resolvedIds.get(i);
+            final String key = getMembershipKey(ids[0], ids[1], ids[2]);
+            final SUserMembership existingMembership = existingMemberships.get(key);
+            if (existingMembership != null) {
+                strategy.foundExistingMembership(existingMembership);
+            } else if (newMemberships.containsKey(key)) {
+                repeatedMemberships.add(key);
+            } else {
+                newMemberships.put(key, buildMembership(resolvedMemberships.get(i), ids[0], ids[1], ids[2]));
+            }
+        }
+        identityService.createUserMemberships(new ArrayList<SUserMembership>(newMemberships.values()));
+        for (final String repeatedMembership : repeatedMemberships) {
+            strategy.foundExistingMembership(newMemberships.get(repeatedMembership));
+        }
+    }
+
+    /**
+     * A membership can only exist if none of its user, group and role has been created by this import
+     */
+    private Map<String, SUserMembership> getExistingMemberships(final List<long[]> resolvedIds) throws SIdentityException {
+        final Set<Long> userIds = new HashSet<Long>();
+        final Set<Long> groupIds = new HashSet<Long>();
+        final Set<Long> roleIds = new HashSet<Long>();
+        for (final long[] ids : resolvedIds) {
+            if (!createdUserIds.contains(ids[0]) && !createdGroupIds.contains(ids[1]) && !createdRoleIds.contains(ids[2])) {
+                userIds.add(ids[0]);
+                groupIds.add(ids[1]);
+                roleIds.add(ids[2]);
+            }
+        }
+        final Map<String, SUserMembership> existingMemberships = new HashMap<String, SUserMembership>();
+        for (final SUserMembership existingMembership : identityService.getUserMemberships(new ArrayList<Long>(userIds), new ArrayList<Long>(groupIds),
+                new ArrayList<Long>(roleIds))) {
+            existingMemberships.put(getMembershipKey(existingMembership.getUserId(), existingMembership.getGroupId(), existingMembership.getRoleId()),
+                    existingMembership);
+        }
+        return existingMemberships;
+    }
+
+    private static String getMembershipKey(final long userId, final long groupId, final long roleId) {
+        return userId + "/" + groupId + "/" + roleId;
+    }
+
+    private SUserMembership buildMembership(final UserMembership newMembership, final long userId, final long groupId, final long roleId) {
+        final Date assignedDate = newMembership.getAssignedDate();
+        return BuilderFactory.get(SUserMembershipBuilderFactory.class).createNewInstance(userId, groupId, roleId)
+                .setAssignedBy(getAssignedBy(newMembership)).setAssignedDate(assignedDate != null ? assignedDate.getTime() : 0).done();
+    }
+
+    private Long getUserId(final UserMembership newMembership) {
+        final String username = newMembership.getUsername();
+        if (username == null || username.isEmpty()) {
+            return -1L;
+        }
+        return userNameToId.get(username);
+    }
+
+    private Long getGroupId(final UserMembership newMembership) {
+        final String groupParentPath = newMembership.getGroupParentPath();
+        final String groupFullPath = (groupParentPath == null ? '/' : groupParentPath + '/') + newMembership.getGroupName();
+        return groupPathToId.get(groupFullPath);
+    }
+
+    private Long getRoleId(final UserMembership newMembership) {
+        final String roleName = newMembership.getRoleName();
+        if (roleName == null || roleName.isEmpty()) {
+            return -1L;
+        }
+        return roleNameToId.get(roleName);
+    }
+
+    private long getAssignedBy(final UserMembership newMembership) {
+        final String assignedByName = newMembership.getAssignedByName();
+        if (assignedByName == null || assignedByName.isEmpty()) {
+            return -1L;
+        }
+        final Long assignedBy = userNameToId.get(assignedByName);
+        return assignedBy != null ? assignedBy : -1L;
+    }
+
+    private <T> T inTransaction(final Callable<T> callable) throws SBonitaException {
+        try {
+            return userTransactionService.executeInTransaction(callable);
+        } catch (final SBonitaException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SImportOrganizationException(e);
+        }
+    }
+
+    /**
+     * Group the elements read from the organization by chunks of <code>chunkSize</code> elements of the same type and handle each chunk in its
+     * own transaction.
+     */
+    private abstract class ChunkHandler implements OrganizationStreamReader.ElementHandler {
+
+        private final List<Object> chunk = new ArrayList<Object>();
+
+        private String chunkElementName;
+
+        @Override
+        public void handle(final String elementName, final Object element) throws SBonitaException {
+            if (!elementName.equals(chunkElementName)) {
+                flushChunk();
+                chunkElementName = elementName;
+            }
+            chunk.add(element);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void flushChunk() throws SBonitaException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            final List<Object> elements = new ArrayList<Object>(chunk);
+            final String elementName = chunkElementName;
+            chunk.clear();
+            inTransaction(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    handleChunk(elementName, elements);
+                    return null;
+                }
+            });
+        }
+
+        protected abstract void handleChunk(String elementName, List<?> elements) throws SBonitaException;
+
+    }
+
+    /**
+     * Check, before anything is imported, that no element of the organization already exists. Used with {@link ImportPolicy#FAIL_ON_DUPLICATES}
+     * so that a duplicate does not leave a partially imported organization.
+     * <p>
+     * Memberships are not checked: a membership can only exist if its user, group and role already exist, which is reported first.
+     */
+    private class DuplicateChecker extends ChunkHandler {
+
+        @Override
+        public void handle(final String elementName, final Object element) throws SBonitaException {
+            if (!OrganizationMappingConstants.MEMBERSHIP.equals(elementName)) {
+                super.handle(elementName, element);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void handleChunk(final String elementName, final List<?> elements) throws SBonitaException {
+            if (OrganizationMappingConstants.CUSTOM_USER_INFO_DEFINITION.equals(elementName)) {
+                checkCustomUserInfoDefinitions((List<CustomUserInfoDefinitionCreator>) elements);
+            } else if (OrganizationMappingConstants.USER.equals(elementName)) {
+                checkUsers((List<ExportedUser>) elements);
+            } else if (OrganizationMappingConstants.ROLE.equals(elementName)) {
+                checkRoles((List<RoleCreator>) elements);
+            } else if (OrganizationMappingConstants.GROUP.equals(elementName)) {
+                checkGroups((List<GroupCreator>) elements);
+            }
+        }
+
+        private void checkCustomUserInfoDefinitions(final List<CustomUserInfoDefinitionCreator> creators) throws SBonitaException {
+            for (final CustomUserInfoDefinitionCreator creator : creators) {
+                if (identityService.hasCustomUserInfoDefinition(creator.getName())) {
+                    strategy.foundExistingCustomUserInfoDefinition(identityService.getCustomUserInfoDefinitionByName(creator.getName()), creator);
+                }
+            }
+        }
+
+        private void checkUsers(final List<ExportedUser> users) throws SBonitaException {
+            final Map<String, ExportedUser> usersByName = new LinkedHashMap<String, ExportedUser>();
+            for (final ExportedUser user : users) {
+                usersByName.put(user.getUserName(), user);
+            }
+            for (final SUser existingUser : identityService.getUsersByUsername(new ArrayList<String>(usersByName.keySet()))) {
+                strategy.foundExistingUser(existingUser, usersByName.get(existingUser.getUserName()));
+            }
+        }
+
+        private void checkRoles(final List<RoleCreator> roleCreators) throws SBonitaException {
+            final Map<String, SRole> existingRoles = getExistingRoles(roleCreators);
+            for (final RoleCreator roleCreator : roleCreators) {
+                final SRole existingRole = existingRoles.get(getRoleName(roleCreator));
+                if (existingRole != null) {
+                    strategy.foundExistingRole(existingRole, roleCreator);
+                }
+            }
+        }
+
+        private void checkGroups(final List<GroupCreator> groupCreators) throws SBonitaException {
+            final Map<String, SGroup> existingGroups = getExistingGroups(groupCreators);
+            for (final GroupCreator groupCreator : groupCreators) {
+                final SGroup existingGroup = existingGroups.get(getGroupPath(groupCreator));
+                if (existingGroup != null) {
+                    strategy.foundExistingGroup(existingGroup, groupCreator);
+                }
+            }
+        }
+
+    }
+
+}
@@ -69,6 +69,26 @@ public class UserImporter {
         return userNameToSUsers;
     }
 
+    /**
+     * Import users whose already existing counterparts have been resolved beforehand, avoiding one lookup per imported user
+     *
+     * @param existingUsers
+     *        the existing users of the tenant having the same user name as one of the users to import
+     */
+    public Map<String, SUser> importUsers(final List<ExportedUser> usersToImport, final Map<String, SUser> existingUsers) throws SBonitaException {
+        final Map<String, SUser> userNameToSUsers = new HashMap<String, SUser>(usersToImport.size());
+        for (final ExportedUser userToImport : usersToImport) {
+            SUser sUser = existingUsers.get(userToImport.getUserName());
+            if (sUser != null) {
+                strategy.foundExistingUser(sUser, userToImport);
+            } else {
+                sUser = addAllUserInfo(userToImport);
+            }
+            userNameToSUsers.put(sUser.getUserName(), sUser);
+        }
+        return userNameToSUsers;
+    }
+
     private boolean hasUserWithUserName(String userName) throws SBonitaReadException {
         final SUserBuilderFactory keyProvider = BuilderFactory.get(SUserBuilderFactory.class);
         final FilterOption filter = new FilterOption(SUser.class, keyProvider.getUserNameKey(), userName);
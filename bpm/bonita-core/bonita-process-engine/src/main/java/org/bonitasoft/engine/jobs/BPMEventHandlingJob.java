@@ -38,6 +38,7 @@ import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
 import org.bonitasoft.engine.scheduler.JobParameter;
 import org.bonitasoft.engine.scheduler.JobService;
+import org.bonitasoft.engine.scheduler.LightweightJob;
 import org.bonitasoft.engine.scheduler.SchedulerService;
 import org.bonitasoft.engine.scheduler.exception.SJobConfigurationException;
 import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
@@ -50,7 +51,7 @@ import org.bonitasoft.engine.work.WorkService;
  * @author Matthieu Chaffotte
  * @author Emmanuel Duchastenier
  */
-public class BPMEventHandlingJob extends InternalJob {
+public class BPMEventHandlingJob extends InternalJob implements LightweightJob {
 
     private static final long serialVersionUID = 8929044925208984537L;
 
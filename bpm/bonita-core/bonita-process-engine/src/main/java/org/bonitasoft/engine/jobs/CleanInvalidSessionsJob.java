@@ -16,6 +16,7 @@ package org.bonitasoft.engine.jobs;
 import java.io.Serializable;
 import java.util.Map;
 
+import org.bonitasoft.engine.scheduler.LightweightJob;
 import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
 import org.bonitasoft.engine.service.PlatformServiceAccessor;
 import org.bonitasoft.engine.service.impl.ServiceAccessorFactory;
@@ -24,7 +25,7 @@ import org.bonitasoft.engine.session.SessionService;
 /**
  * @author Elias Ricken de Medeiros
  */
-public class CleanInvalidSessionsJob extends InternalJob {
+public class CleanInvalidSessionsJob extends InternalJob implements LightweightJob {
 
     private static final long serialVersionUID = 2448120492184242153L;
 
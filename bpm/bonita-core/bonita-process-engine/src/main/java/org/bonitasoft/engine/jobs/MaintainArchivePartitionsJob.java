@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.jobs;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.core.process.instance.api.ArchivedProcessInstancePurgeService;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.platform.ArchivePartitionService;
+import org.bonitasoft.engine.scheduler.JobParameter;
+import org.bonitasoft.engine.scheduler.JobService;
+import org.bonitasoft.engine.scheduler.SchedulerService;
+import org.bonitasoft.engine.scheduler.exception.SJobConfigurationException;
+import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
+import org.bonitasoft.engine.service.PlatformServiceAccessor;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.service.impl.ServiceAccessorFactory;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+
+/**
+ * Create the partitions of the coming months of the archive tables and drop the expired ones, see {@link ArchivePartitionService}.
+ * <p>
+ * Before the expired partitions can be dropped, the archived process instance trees of the tenant whose root was archived before the expiration date
+ * are purged by batches, so that their comments, documents and contract data do not outlive them: each execution purges one batch in the transaction
+ * of the job, and is executed again right after it while a full batch was purged. The partitions are shared by all the tenants: they are only dropped
+ * once the job of every tenant has purged its expired process instances.
+ */
+public class MaintainArchivePartitionsJob extends InternalJob {
+
+    private static final long serialVersionUID = 4106283950274869571L;
+
+    public static final String NAME = "MaintainArchivePartitions";
+
+    private int batchSize = 50;
+
+    private transient ArchivePartitionService archivePartitionService;
+
+    private transient ArchivedProcessInstancePurgeService purgeService;
+
+    private transient UserTransactionService transactionService;
+
+    private transient JobService jobService;
+
+    private transient SchedulerService schedulerService;
+
+    private transient TechnicalLoggerService loggerService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Create the coming partitions of the archive tables and drop the expired ones";
+    }
+
+    @Override
+    public void execute() throws SJobExecutionException {
+        if (!archivePartitionService.isEnabled()) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        try {
+            if (purgeExpiredProcessInstances(now)) {
+                archivePartitionService.maintainPartitions(now);
+            } else {
+                archivePartitionService.createMissingPartitions(now);
+                rescheduleJob();
+            }
+        } catch (final Exception e) {
+            throw new SJobExecutionException("Unable to maintain the archive partitions", e);
+        }
+    }
+
+    /**
+     * @return true when the tenant has no more expired process instance to purge
+     */
+    private boolean purgeExpiredProcessInstances(final long now) throws Exception {
+        final long expirationDate = archivePartitionService.getExpirationDate(now);
+        if (expirationDate < 0) {
+            return true;
+        }
+        final List<Long> rootProcessInstanceIds = purgeService.getRootProcessInstanceIdsArchivedBefore(expirationDate, batchSize);
+        purgeService.purge(rootProcessInstanceIds);
+        return rootProcessInstanceIds.size() < batchSize;
+    }
+
+    private void rescheduleJob() throws Exception {
+        final ExecuteAgainJobSynchronization jobSynchronization = new ExecuteAgainJobSynchronization(getName(), jobService, schedulerService, loggerService);
+        transactionService.registerBonitaSynchronization(jobSynchronization);
+    }
+
+    @Override
+    public void setAttributes(final Map<String, Serializable> attributes) throws SJobConfigurationException {
+        final PlatformServiceAccessor platformServiceAccessor;
+        try {
+            platformServiceAccessor = ServiceAccessorFactory.getInstance().createPlatformServiceAccessor();
+        } catch (final Exception e) {
+            throw new SJobConfigurationException(e);
+        }
+        setAttributes(platformServiceAccessor, getTenantServiceAccessor(), attributes);
+    }
+
+    void setAttributes(final PlatformServiceAccessor platformServiceAccessor, final TenantServiceAccessor tenantServiceAccessor,
+            final Map<String, Serializable> attributes) {
+        archivePartitionService = platformServiceAccessor.getArchivePartitionService();
+        purgeService = tenantServiceAccessor.getArchivedProcessInstancePurgeService();
+        transactionService = tenantServiceAccessor.getUserTransactionService();
+        jobService = tenantServiceAccessor.getJobService();
+        schedulerService = tenantServiceAccessor.getSchedulerService();
+        loggerService = tenantServiceAccessor.getTechnicalLoggerService();
+
+        final Integer size = (Integer) attributes.get(JobParameter.BATCH_SIZE.name());
+        if (size != null) {
+            batchSize = size;
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.jobs;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import org.bonitasoft.engine.scheduler.JobParameter;
+import org.bonitasoft.engine.scheduler.JobRegister;
+import org.bonitasoft.engine.scheduler.trigger.Trigger;
+import org.bonitasoft.engine.scheduler.trigger.Trigger.MisfireRestartPolicy;
+import org.bonitasoft.engine.scheduler.trigger.UnixCronTrigger;
+
+/**
+ * Register the {@link MaintainArchivePartitionsJob} of a tenant, so that the archive partitions are maintained while the nodes keep running.
+ */
+public class MaintainArchivePartitionsJobRegister implements JobRegister {
+
+    private final String cron;
+
+    private final int batchSize;
+
+    /**
+     * @param batchSize
+     *        number of expired root process instances purged, with all their archived elements, by each execution of the job
+     */
+    public MaintainArchivePartitionsJobRegister(final String cron, final int batchSize) {
+        this.cron = cron;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String getJobName() {
+        return MaintainArchivePartitionsJob.NAME;
+    }
+
+    @Override
+    public boolean canBeExecutedConcurrently() {
+        return false;
+    }
+
+    @Override
+    public Trigger getTrigger() {
+        return new UnixCronTrigger("UnixCronTrigger" + MaintainArchivePartitionsJob.NAME, new Date(), cron, MisfireRestartPolicy.NONE);
+    }
+
+    @Override
+    public Class<?> getJobClass() {
+        return MaintainArchivePartitionsJob.class;
+    }
+
+    @Override
+    public Map<String, Serializable> getJobParameters() {
+        return Collections.<String, Serializable> singletonMap(JobParameter.BATCH_SIZE.name(), batchSize);
+    }
+
+    @Override
+    public String getJobDescription() {
+        return "job " + MaintainArchivePartitionsJob.NAME + " with cron " + cron + " and a batch size of " + batchSize;
+    }
+
+}
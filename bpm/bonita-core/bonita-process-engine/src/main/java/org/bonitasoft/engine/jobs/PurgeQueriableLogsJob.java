@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.jobs;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.scheduler.JobParameter;
+import org.bonitasoft.engine.scheduler.JobService;
+import org.bonitasoft.engine.scheduler.SchedulerService;
+import org.bonitasoft.engine.scheduler.exception.SJobConfigurationException;
+import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.services.QueriableLoggerService;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+
+/**
+ * Delete the queriable logs older than the retention of the tenant, by batches: each execution deletes one batch in the transaction of the job, and is
+ * executed again right after it while a full batch was deleted.
+ */
+public class PurgeQueriableLogsJob extends InternalJob {
+
+    private static final long serialVersionUID = -2404537624577931826L;
+
+    public static final String NAME = "PurgeQueriableLogs";
+
+    private int batchSize = 1000;
+
+    private transient QueriableLoggerService queriableLoggerService;
+
+    private transient UserTransactionService transactionService;
+
+    private transient JobService jobService;
+
+    private transient SchedulerService schedulerService;
+
+    private transient TechnicalLoggerService loggerService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Purge the queriable logs older than the retention";
+    }
+
+    @Override
+    public void execute() throws SJobExecutionException {
+        try {
+            final int deleted = queriableLoggerService.purgeExpiredLogs(batchSize);
+            if (deleted == batchSize) {
+                rescheduleJob();
+            }
+        } catch (final Exception e) {
+            throw new SJobExecutionException("Unable to purge the queriable logs", e);
+        }
+    }
+
+    private void rescheduleJob() throws Exception {
+        final ExecuteAgainJobSynchronization jobSynchronization = new ExecuteAgainJobSynchronization(getName(), jobService, schedulerService, loggerService);
+        transactionService.registerBonitaSynchronization(jobSynchronization);
+    }
+
+    @Override
+    public void setAttributes(final Map<String, Serializable> attributes) throws SJobConfigurationException {
+        setAttributes(getTenantServiceAccessor(), attributes);
+    }
+
+    void setAttributes(final TenantServiceAccessor tenantServiceAccessor, final Map<String, Serializable> attributes) {
+        queriableLoggerService = tenantServiceAccessor.getQueriableLoggerService();
+        transactionService = tenantServiceAccessor.getUserTransactionService();
+        jobService = tenantServiceAccessor.getJobService();
+        schedulerService = tenantServiceAccessor.getSchedulerService();
+        loggerService = tenantServiceAccessor.getTechnicalLoggerService();
+
+        final Integer size = (Integer) attributes.get(JobParameter.BATCH_SIZE.name());
+        if (size != null) {
+            batchSize = size;
+        }
+    }
+
+}
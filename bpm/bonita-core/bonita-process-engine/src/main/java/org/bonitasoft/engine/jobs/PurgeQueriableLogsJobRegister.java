@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.jobs;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import org.bonitasoft.engine.scheduler.JobParameter;
+import org.bonitasoft.engine.scheduler.JobRegister;
+import org.bonitasoft.engine.scheduler.trigger.Trigger;
+import org.bonitasoft.engine.scheduler.trigger.Trigger.MisfireRestartPolicy;
+import org.bonitasoft.engine.scheduler.trigger.UnixCronTrigger;
+
+/**
+ * Register the {@link PurgeQueriableLogsJob} of a tenant. Being a scheduled job, the purge is executed by one node of the cluster at a time.
+ */
+public class PurgeQueriableLogsJobRegister implements JobRegister {
+
+    private final String cron;
+
+    private final int batchSize;
+
+    public PurgeQueriableLogsJobRegister(final String cron, final int batchSize) {
+        this.cron = cron;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String getJobName() {
+        return PurgeQueriableLogsJob.NAME;
+    }
+
+    @Override
+    public boolean canBeExecutedConcurrently() {
+        return false;
+    }
+
+    @Override
+    public Trigger getTrigger() {
+        return new UnixCronTrigger("UnixCronTrigger" + PurgeQueriableLogsJob.NAME, new Date(), cron, MisfireRestartPolicy.NONE);
+    }
+
+    @Override
+    public Class<?> getJobClass() {
+        return PurgeQueriableLogsJob.class;
+    }
+
+    @Override
+    public Map<String, Serializable> getJobParameters() {
+        return Collections.<String, Serializable> singletonMap(JobParameter.BATCH_SIZE.name(), batchSize);
+    }
+
+    @Override
+    public String getJobDescription() {
+        return "job " + PurgeQueriableLogsJob.NAME + " with cron " + cron + " and a batch size of " + batchSize;
+    }
+
+}
@@ -28,6 +28,7 @@ import org.bonitasoft.engine.persistence.SBonitaReadException;
 import org.bonitasoft.engine.persistence.SearchFields;
 import org.bonitasoft.engine.search.descriptor.SearchEntityDescriptor;
 import org.bonitasoft.engine.search.impl.SearchFilter;
+import org.bonitasoft.engine.search.impl.SearchOptionsImpl;
 import org.bonitasoft.engine.search.impl.SearchResultImpl;
 
 /**
@@ -51,6 +52,10 @@ public abstract class AbstractSearchEntity<C extends Serializable, S extends Per
 
     private List<C> clientObjects;
 
+    private boolean hasMoreResults;
+
+    private boolean countExact;
+
     /**
      * @param searchDescriptor
      *            The search descriptor of the searched entity
@@ -64,7 +69,7 @@ public abstract class AbstractSearchEntity<C extends Serializable, S extends Per
 
     @Override
     public void execute() throws SBonitaException {
-        List<S> serverObjects;
+        final List<S> serverObjects;
         if (options == null) {
             throw new SBonitaReadException("SearchOptions cannot be null");
         }
@@ -89,17 +94,61 @@ public abstract class AbstractSearchEntity<C extends Serializable, S extends Per
             final OrderByOption order = searchDescriptor.getEntityOrder(sort);
             orderOptions.add(order);
         }
-        final QueryOptions countOptions = new QueryOptions(0, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS, null, filterOptions, userSearchTerm);
-        count = executeCount(countOptions);
-        if (count > 0 && numberOfResults != 0) {
-            final QueryOptions searchOptions = new QueryOptions(fromIndex, numberOfResults, orderOptions, filterOptions, userSearchTerm);
-            serverObjects = executeSearch(searchOptions);
-        } else {
-            serverObjects = Collections.emptyList();
+        switch (getCountMode()) {
+            case NONE:
+                // one more result is read to know if there is a next page
+                final List<S> results = executeSearch(new QueryOptions(fromIndex, plusOne(numberOfResults), orderOptions, filterOptions, userSearchTerm));
+                // the results read are at least preceded by fromIndex matching results
+                count = results.isEmpty() ? 0 : (long) fromIndex + results.size();
+                serverObjects = keepPage(results, 0, numberOfResults);
+                countExact = !hasMoreResults && (!results.isEmpty() || fromIndex == 0);
+                break;
+            case CAPPED:
+                // the count stops one result after the limit instead of counting all of them
+                final int countLimit = ((SearchOptionsImpl) options).getCountLimit();
+                final long cappedCount = executeCount(new QueryOptions(filterOptions, userSearchTerm, plusOne(countLimit)));
+                count = Math.min(cappedCount, countLimit);
+                countExact = cappedCount <= countLimit;
+                if (count > 0 && numberOfResults != 0) {
+                    serverObjects = keepPage(executeSearch(new QueryOptions(fromIndex, plusOne(numberOfResults), orderOptions, filterOptions,
+                            userSearchTerm)), 0, numberOfResults);
+                } else {
+                    serverObjects = Collections.emptyList();
+                }
+                break;
+            default:
+                final QueryOptions countOptions = new QueryOptions(0, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS, null, filterOptions, userSearchTerm);
+                count = executeCount(countOptions);
+                if (count > 0 && numberOfResults != 0) {
+                    final QueryOptions searchOptions = new QueryOptions(fromIndex, numberOfResults, orderOptions, filterOptions, userSearchTerm);
+                    serverObjects = executeSearch(searchOptions);
+                } else {
+                    serverObjects = Collections.emptyList();
+                }
+                hasMoreResults = (long) fromIndex + serverObjects.size() < count;
+                countExact = true;
+                break;
         }
         clientObjects = convertToClientObjects(serverObjects);
     }
 
+    private CountMode getCountMode() {
+        if (options instanceof SearchOptionsImpl) {
+            return ((SearchOptionsImpl) options).getCountMode();
+        }
+        return CountMode.EXACT;
+    }
+
+    private int plusOne(final long numberOfResults) {
+        return (int) Math.min(numberOfResults + 1, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS);
+    }
+
+    private List<S> keepPage(final List<S> results, final int fromIndex, final int numberOfResults) {
+        final int toIndex = (int) Math.min((long) fromIndex + numberOfResults, results.size());
+        hasMoreResults = results.size() > toIndex;
+        return results.subList(Math.min(fromIndex, toIndex), toIndex);
+    }
+
     /**
      * Execute the count here
      *
@@ -131,7 +180,7 @@ public abstract class AbstractSearchEntity<C extends Serializable, S extends Per
 
     @Override
     public SearchResult<C> getResult() {
-        return new SearchResultImpl<C>(count, clientObjects);
+        return new SearchResultImpl<C>(count, clientObjects, hasMoreResults, countExact);
     }
 
     protected SearchFilter getSearchFilter(final SearchOptions searchOptions, final String searchedKey) {
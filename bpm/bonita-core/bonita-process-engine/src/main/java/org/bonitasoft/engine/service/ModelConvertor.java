@@ -1519,9 +1519,13 @@ public class ModelConvertor {
     }
 
     public static SRole constructSRole(final RoleCreator creator) {
+        return constructSRole(creator, SessionInfos.getUserIdFromSession());
+    }
+
+    public static SRole constructSRole(final RoleCreator creator, final long createdBy) {
         final long now = System.currentTimeMillis();
         final SRoleBuilder roleBuilder = BuilderFactory.get(SRoleBuilderFactory.class).createNewInstance();
-        roleBuilder.setCreatedBy(SessionInfos.getUserIdFromSession());
+        roleBuilder.setCreatedBy(createdBy);
         roleBuilder.setCreationDate(now).setLastUpdate(now);
         final Map<RoleField, Serializable> fields = creator.getFields();
         roleBuilder.setName((String) fields.get(RoleField.NAME));
@@ -1545,9 +1549,13 @@ public class ModelConvertor {
     }
 
     public static SGroup constructSGroup(final GroupCreator creator) {
+        return constructSGroup(creator, SessionInfos.getUserIdFromSession());
+    }
+
+    public static SGroup constructSGroup(final GroupCreator creator, final long createdBy) {
         final long now = System.currentTimeMillis();
         final SGroupBuilder groupBuilder = BuilderFactory.get(SGroupBuilderFactory.class).createNewInstance();
-        groupBuilder.setCreatedBy(SessionInfos.getUserIdFromSession());
+        groupBuilder.setCreatedBy(createdBy);
         groupBuilder.setCreationDate(now).setLastUpdate(now);
         final Map<GroupField, Serializable> fields = creator.getFields();
         groupBuilder.setName((String) fields.get(GroupField.NAME));
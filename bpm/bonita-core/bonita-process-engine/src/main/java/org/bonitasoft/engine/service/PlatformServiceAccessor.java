@@ -21,6 +21,7 @@ import org.bonitasoft.engine.core.form.FormMappingService;
 import org.bonitasoft.engine.core.platform.login.PlatformLoginService;
 import org.bonitasoft.engine.dependency.DependencyService;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.platform.ArchivePartitionService;
 import org.bonitasoft.engine.platform.PlatformService;
 import org.bonitasoft.engine.platform.authentication.PlatformAuthenticationService;
 import org.bonitasoft.engine.platform.command.PlatformCommandService;
@@ -71,4 +72,6 @@ public interface PlatformServiceAccessor extends ServiceAccessor {
     BroadcastService getBroadcastService();
 
     PlatformAuthenticationService getPlatformAuthenticationService();
+
+    ArchivePartitionService getArchivePartitionService();
 }
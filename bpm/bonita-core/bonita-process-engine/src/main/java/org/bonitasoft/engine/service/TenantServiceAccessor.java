@@ -45,6 +45,8 @@ import org.bonitasoft.engine.core.operation.OperationService;
 import org.bonitasoft.engine.core.process.comment.api.SCommentService;
 import org.bonitasoft.engine.core.process.definition.ProcessDefinitionService;
 import org.bonitasoft.engine.core.process.instance.api.ActivityInstanceService;
+import org.bonitasoft.engine.core.process.instance.api.ArchivedProcessInstancePurgeService;
+import org.bonitasoft.engine.core.process.instance.api.PendingTaskInboxService;
 import org.bonitasoft.engine.core.process.instance.api.GatewayInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.ProcessInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.RefBusinessDataService;
@@ -57,6 +59,7 @@ import org.bonitasoft.engine.execution.ContainerRegistry;
 import org.bonitasoft.engine.execution.FlowNodeExecutor;
 import org.bonitasoft.engine.execution.ProcessExecutor;
 import org.bonitasoft.engine.execution.TransactionalProcessInstanceInterruptor;
+import org.bonitasoft.engine.execution.archive.ArchivedProcessInstancesPurger;
 import org.bonitasoft.engine.execution.event.EventsHandler;
 import org.bonitasoft.engine.execution.state.FlowNodeStateManager;
 import org.bonitasoft.engine.expression.ExpressionService;
@@ -122,6 +125,8 @@ public interface TenantServiceAccessor extends ServiceAccessor {
 
     ActivityInstanceService getActivityInstanceService();
 
+    PendingTaskInboxService getPendingTaskInboxService();
+
     BPMInstancesCreator getBPMInstancesCreator();
 
     FlowNodeExecutor getFlowNodeExecutor();
@@ -251,4 +256,8 @@ public interface TenantServiceAccessor extends ServiceAccessor {
     BusinessArchiveService getBusinessArchiveService();
 
     ResourcesService getResourcesService();
+
+    ArchivedProcessInstancesPurger getArchivedProcessInstancesPurger();
+
+    ArchivedProcessInstancePurgeService getArchivedProcessInstancePurgeService();
 }
@@ -20,6 +20,7 @@ import org.bonitasoft.engine.commons.transaction.TransactionExecutor;
 import org.bonitasoft.engine.core.platform.login.PlatformLoginService;
 import org.bonitasoft.engine.dependency.DependencyService;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.platform.ArchivePartitionService;
 import org.bonitasoft.engine.platform.PlatformService;
 import org.bonitasoft.engine.platform.authentication.PlatformAuthenticationService;
 import org.bonitasoft.engine.platform.command.PlatformCommandService;
@@ -65,6 +66,7 @@ public class SpringPlatformServiceAccessor implements PlatformServiceAccessor {
     private PlatformCacheService platformCacheService;
     private BroadcastService broadcastService;
     private PlatformAuthenticationService platformAuthenticationService;
+    private ArchivePartitionService archivePartitionService;
 
     public SpringPlatformServiceAccessor() {
         beanAccessor = SpringFileSystemBeanAccessorFactory.getPlatformAccessor();
@@ -191,4 +193,12 @@ public class SpringPlatformServiceAccessor implements PlatformServiceAccessor {
         }
         return platformAuthenticationService;
     }
+
+    @Override
+    public ArchivePartitionService getArchivePartitionService() {
+        if (archivePartitionService == null) {
+            archivePartitionService = beanAccessor.getService(ArchivePartitionService.class);
+        }
+        return archivePartitionService;
+    }
 }
@@ -51,6 +51,8 @@ import org.bonitasoft.engine.core.operation.OperationService;
 import org.bonitasoft.engine.core.process.comment.api.SCommentService;
 import org.bonitasoft.engine.core.process.definition.ProcessDefinitionService;
 import org.bonitasoft.engine.core.process.instance.api.ActivityInstanceService;
+import org.bonitasoft.engine.core.process.instance.api.ArchivedProcessInstancePurgeService;
+import org.bonitasoft.engine.core.process.instance.api.PendingTaskInboxService;
 import org.bonitasoft.engine.core.process.instance.api.GatewayInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.ProcessInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.RefBusinessDataService;
@@ -64,6 +66,7 @@ import org.bonitasoft.engine.execution.ContainerRegistry;
 import org.bonitasoft.engine.execution.FlowNodeExecutor;
 import org.bonitasoft.engine.execution.ProcessExecutor;
 import org.bonitasoft.engine.execution.TransactionalProcessInstanceInterruptor;
+import org.bonitasoft.engine.execution.archive.ArchivedProcessInstancesPurger;
 import org.bonitasoft.engine.execution.event.EventsHandler;
 import org.bonitasoft.engine.execution.state.FlowNodeStateManager;
 import org.bonitasoft.engine.expression.ExpressionService;
@@ -129,6 +132,7 @@ public class SpringTenantServiceAccessor implements TenantServiceAccessor {
     private TransactionService transactionService;
     private ProcessDefinitionService processDefinitionService;
     private ActivityInstanceService activityInstanceService;
+    private PendingTaskInboxService pendingTaskInboxService;
     private ProcessInstanceService processInstanceService;
     private FlowNodeExecutor flowNodeExecutor;
     private ProcessExecutor processExecutor;
@@ -238,6 +242,8 @@ public class SpringTenantServiceAccessor implements TenantServiceAccessor {
     private Recorder recorder;
     private BusinessArchiveService businessArchiveService;
     private ResourcesService resourcesService;
+    private ArchivedProcessInstancesPurger archivedProcessInstancesPurger;
+    private ArchivedProcessInstancePurgeService archivedProcessInstancePurgeService;
 
     public SpringTenantServiceAccessor(final Long tenantId) {
         beanAccessor = SpringFileSystemBeanAccessorFactory.getTenantAccessor(tenantId);
@@ -295,7 +301,7 @@ public class SpringTenantServiceAccessor implements TenantServiceAccessor {
     @Override
     public QueriableLoggerService getQueriableLoggerService() {
         if (queriableLoggerService == null) {
-            queriableLoggerService = beanAccessor.getService("syncQueriableLoggerService", QueriableLoggerService.class);
+            queriableLoggerService = beanAccessor.getService("queriableLoggerService", QueriableLoggerService.class);
         }
         return queriableLoggerService;
     }
@@ -344,6 +350,14 @@ public class SpringTenantServiceAccessor implements TenantServiceAccessor {
         return activityInstanceService;
     }
 
+    @Override
+    public PendingTaskInboxService getPendingTaskInboxService() {
+        if (pendingTaskInboxService == null) {
+            pendingTaskInboxService = beanAccessor.getService(PendingTaskInboxService.class);
+        }
+        return pendingTaskInboxService;
+    }
+
     @Override
     public BPMInstancesCreator getBPMInstancesCreator() {
         if (bpmInstancesCreator == null) {
@@ -876,4 +890,20 @@ public class SpringTenantServiceAccessor implements TenantServiceAccessor {
         }
         return resourcesService;
     }
+
+    @Override
+    public ArchivedProcessInstancesPurger getArchivedProcessInstancesPurger() {
+        if (archivedProcessInstancesPurger == null) {
+            archivedProcessInstancesPurger = beanAccessor.getService(ArchivedProcessInstancesPurger.class);
+        }
+        return archivedProcessInstancesPurger;
+    }
+
+    @Override
+    public ArchivedProcessInstancePurgeService getArchivedProcessInstancePurgeService() {
+        if (archivedProcessInstancePurgeService == null) {
+            archivedProcessInstancePurgeService = beanAccessor.getService(ArchivedProcessInstancePurgeService.class);
+        }
+        return archivedProcessInstancePurgeService;
+    }
 }
@@ -35,4 +35,9 @@ public class FakeAPI {
 
     }
 
+    @AdmissionControlled
+    public void admissionControlledMethod() {
+
+    }
+
 }
@@ -25,7 +25,6 @@ import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyMapOf;
-import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -43,7 +42,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -1081,25 +1079,12 @@ public class ProcessAPIImplTest {
 
     @Test
     public void getPendingHumanTaskInstances_should_return_user_tasks_of_enabled_and_disabled_processes() throws Exception {
-        final Set<Long> actorIds = new HashSet<Long>();
-        actorIds.add(454545L);
         final long userId = 1983L;
-        final List<Long> processDefinitionIds = new ArrayList<Long>();
-        processDefinitionIds.add(7897987L);
-        when(processDefinitionService.getProcessDefinitionIds(0, Integer.MAX_VALUE)).thenReturn(processDefinitionIds);
-        final List<SActor> actors = new ArrayList<SActor>();
-        final SActor actor = mock(SActor.class);
-        actors.add(actor);
-        when(actor.getId()).thenReturn(454545L);
-        when(actorMappingService.getActors(new HashSet<Long>(processDefinitionIds), userId)).thenReturn(actors);
         final OrderAndField orderAndField = OrderAndFields.getOrderAndFieldForActivityInstance(ActivityInstanceCriterion.NAME_DESC);
 
         processAPI.getPendingHumanTaskInstances(userId, 0, 100, ActivityInstanceCriterion.NAME_DESC);
 
-        verify(processDefinitionService).getProcessDefinitionIds(0, Integer.MAX_VALUE);
-        verify(actorMappingService).getActors(anySetOf(Long.class), eq(userId));
-        verify(activityInstanceService).getPendingTasks(eq(userId), anySetOf(Long.class), eq(0), eq(100), eq(orderAndField.getField()),
-                eq(orderAndField.getOrder()));
+        verify(activityInstanceService).getPendingTasks(eq(userId), eq(0), eq(100), eq(orderAndField.getField()), eq(orderAndField.getOrder()));
     }
 
     @Test
@@ -41,6 +41,7 @@ import java.util.concurrent.Callable;
 
 import org.bonitasoft.engine.api.internal.ServerWrappedException;
 import org.bonitasoft.engine.exception.BonitaRuntimeException;
+import org.bonitasoft.engine.exception.ServerBusyException;
 import org.bonitasoft.engine.exception.TenantStatusException;
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
@@ -52,6 +53,7 @@ import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
 import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
 import org.bonitasoft.engine.transaction.STransactionNotFoundException;
 import org.bonitasoft.engine.transaction.UserTransactionService;
+import org.bonitasoft.engine.work.WorkService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -250,6 +252,59 @@ public class ServerAPIImplTest {
         }
     }
 
+    @Test
+    public void invokeAPIInTransactionShouldRejectAdmissionControlledMethodWithoutOpeningTransactionWhenWorkQueueIsFull() throws Throwable {
+        // given:
+        final APISessionImpl session = buildSession(54L);
+        final ServerAPIImpl serverAPIImplSpy = spy(serverAPIImpl);
+        final WorkService workService = mock(WorkService.class);
+        doReturn(workService).when(serverAPIImplSpy).getWorkService(54L);
+        when(workService.awaitQueueCapacity()).thenReturn(false);
+
+        try {
+            // when:
+            serverAPIImplSpy.invokeAPIInTransaction(null, new FakeAPI(), FakeAPI.class.getMethod("admissionControlledMethod"), session, "apiInterfaceName");
+            fail("the call should be rejected");
+        } catch (final ServerBusyException e) {
+            // then:
+            assertThat(e.getMessage()).contains("apiInterfaceName.admissionControlledMethod()");
+            verify(serverAPIImplSpy, never()).selectUserTransactionService(any(Session.class), any(ServerAPIImpl.SessionType.class));
+        }
+    }
+
+    @Test
+    public void invokeAPIInTransactionShouldOpenTransactionOfAdmissionControlledMethodWhenWorkQueueHasCapacity() throws Throwable {
+        // given:
+        final APISessionImpl session = buildSession(54L);
+        final ServerAPIImpl serverAPIImplSpy = spy(serverAPIImpl);
+        final WorkService workService = mock(WorkService.class);
+        final UserTransactionService userTransactionService = mock(UserTransactionService.class);
+        doReturn(workService).when(serverAPIImplSpy).getWorkService(54L);
+        doReturn(userTransactionService).when(serverAPIImplSpy).selectUserTransactionService(any(Session.class), any(ServerAPIImpl.SessionType.class));
+        when(workService.awaitQueueCapacity()).thenReturn(true);
+
+        // when:
+        serverAPIImplSpy.invokeAPIInTransaction(null, new FakeAPI(), FakeAPI.class.getMethod("admissionControlledMethod"), session, "apiInterfaceName");
+
+        // then:
+        verify(userTransactionService).executeInTransaction(any(Callable.class));
+    }
+
+    @Test
+    public void invokeAPIInTransactionShouldNotCheckWorkQueueOfNotAnnotatedMethod() throws Throwable {
+        // given:
+        final APISessionImpl session = buildSession(54L);
+        final ServerAPIImpl serverAPIImplSpy = spy(serverAPIImpl);
+        doReturn(mock(UserTransactionService.class)).when(serverAPIImplSpy).selectUserTransactionService(any(Session.class),
+                any(ServerAPIImpl.SessionType.class));
+
+        // when:
+        serverAPIImplSpy.invokeAPIInTransaction(null, new FakeAPI(), FakeAPI.class.getMethod("notAnnotatedMethod"), session, "apiInterfaceName");
+
+        // then:
+        verify(serverAPIImplSpy, never()).getWorkService(anyLong());
+    }
+
     @Test
     public void checkMethodAccessibilityOnTenantAPIShouldBePossibleOnAnnotatedMethods() throws Exception {
         // Given:
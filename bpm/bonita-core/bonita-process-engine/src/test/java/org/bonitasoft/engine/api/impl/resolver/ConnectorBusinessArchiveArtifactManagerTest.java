@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.api.impl.resolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bonitasoft.engine.api.impl.resolver.ConnectorBusinessArchiveArtifactManager.PreparedConnectors;
+import org.bonitasoft.engine.bpm.bar.BusinessArchive;
+import org.bonitasoft.engine.core.connector.ConnectorService;
+import org.bonitasoft.engine.core.connector.exception.SConnectorException;
+import org.bonitasoft.engine.core.connector.parser.SConnectorImplementationDescriptor;
+import org.bonitasoft.engine.core.process.definition.model.impl.SFlowElementContainerDefinitionImpl;
+import org.bonitasoft.engine.core.process.definition.model.impl.SProcessDefinitionImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConnectorBusinessArchiveArtifactManagerTest {
+
+    private static final byte[] EMAIL_IMPL = "email".getBytes();
+
+    private static final byte[] REST_IMPL = "rest".getBytes();
+
+    @Mock
+    private ConnectorService connectorService;
+
+    @Mock
+    private BusinessArchive businessArchive;
+
+    @Mock
+    private SConnectorImplementationDescriptor emailDescriptor;
+
+    @Mock
+    private SConnectorImplementationDescriptor restDescriptor;
+
+    private ConnectorBusinessArchiveArtifactManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        final Map<String, byte[]> resources = new HashMap<String, byte[]>();
+        resources.put("connector/email.impl", EMAIL_IMPL);
+        resources.put("connector/rest.impl", REST_IMPL);
+        doReturn(resources).when(businessArchive).getResources("^connector/.*$");
+        doReturn(emailDescriptor).when(connectorService).parseConnectorImplementation("email.impl", EMAIL_IMPL);
+        doReturn(restDescriptor).when(connectorService).parseConnectorImplementation("rest.impl", REST_IMPL);
+        manager = new ConnectorBusinessArchiveArtifactManager(connectorService, 4);
+    }
+
+    @Test
+    public void prepare_should_parse_all_connector_implementations() throws Exception {
+        final PreparedConnectors preparedConnectors = manager.prepare(businessArchive);
+
+        assertThat(preparedConnectors.getImplementations()).hasSize(2).containsKeys("email.impl", "rest.impl");
+        assertThat(preparedConnectors.getDescriptors()).hasSize(2).contains(emailDescriptor, restDescriptor);
+    }
+
+    @Test
+    public void prepare_should_parse_connector_implementations_in_the_calling_thread_with_one_thread() throws Exception {
+        manager = new ConnectorBusinessArchiveArtifactManager(connectorService, 1);
+
+        final PreparedConnectors preparedConnectors = manager.prepare(businessArchive);
+
+        assertThat(preparedConnectors.getDescriptors()).hasSize(2).contains(emailDescriptor, restDescriptor);
+    }
+
+    @Test(expected = SConnectorException.class)
+    public void prepare_should_fail_when_a_connector_implementation_is_invalid() throws Exception {
+        doThrow(new SConnectorException("invalid")).when(connectorService).parseConnectorImplementation("rest.impl", REST_IMPL);
+
+        manager.prepare(businessArchive);
+    }
+
+    @Test
+    public void deploy_should_load_the_prepared_connector_implementations_without_parsing_them_again() throws Exception {
+        final PreparedConnectors preparedConnectors = manager.prepare(businessArchive);
+        final SProcessDefinitionImpl processDefinition = new SProcessDefinitionImpl("process", "1.0");
+        processDefinition.setId(12L);
+        processDefinition.setProcessContainer(new SFlowElementContainerDefinitionImpl());
+        doReturn(true).when(connectorService).loadConnectors(processDefinition, preparedConnectors.getDescriptors());
+
+        final boolean resolved = manager.deploy(preparedConnectors, businessArchive, processDefinition);
+
+        assertThat(resolved).isTrue();
+        verify(connectorService).addConnectorImplementation(12L, "email.impl", EMAIL_IMPL);
+        verify(connectorService).addConnectorImplementation(12L, "rest.impl", REST_IMPL);
+        verify(connectorService, never()).loadConnectors(processDefinition);
+    }
+
+}
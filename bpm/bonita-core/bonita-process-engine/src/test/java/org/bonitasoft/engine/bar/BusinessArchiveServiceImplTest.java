@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.bar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.bonitasoft.engine.api.impl.resolver.BusinessArchiveArtifactManager;
+import org.bonitasoft.engine.api.impl.resolver.BusinessArchiveArtifactsManager;
+import org.bonitasoft.engine.api.impl.resolver.PreparableArtifactManager;
+import org.bonitasoft.engine.bpm.bar.BusinessArchive;
+import org.bonitasoft.engine.bpm.process.DesignProcessDefinition;
+import org.bonitasoft.engine.classloader.ClassLoaderService;
+import org.bonitasoft.engine.commons.exceptions.SObjectCreationException;
+import org.bonitasoft.engine.core.process.definition.ProcessDefinitionService;
+import org.bonitasoft.engine.core.process.definition.exception.SProcessDefinitionNotFoundException;
+import org.bonitasoft.engine.core.process.definition.model.SProcessDefinition;
+import org.bonitasoft.engine.dependency.DependencyService;
+import org.bonitasoft.engine.exception.BonitaException;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BusinessArchiveServiceImplTest {
+
+    @Mock
+    private ProcessDefinitionService processDefinitionService;
+
+    @Mock
+    private DependencyService dependencyService;
+
+    @Mock
+    private BusinessArchiveArtifactsManager businessArchiveArtifactsManager;
+
+    @Mock
+    private TechnicalLoggerService logger;
+
+    @Mock
+    private ClassLoaderService classLoaderService;
+
+    @Mock
+    private BusinessArchive businessArchive;
+
+    @Mock
+    private DesignProcessDefinition designProcessDefinition;
+
+    @Mock
+    private BusinessArchiveArtifactManager artifactManager;
+
+    private PreparableArtifactManager<?> classpathManager;
+
+    private PreparableArtifactManager<?> connectorManager;
+
+    private BusinessArchiveServiceImpl businessArchiveService;
+
+    @Before
+    public void before() throws Exception {
+        classpathManager = mock(PreparableArtifactManager.class);
+        connectorManager = mock(PreparableArtifactManager.class);
+        doReturn(designProcessDefinition).when(businessArchive).getProcessDefinition();
+        doReturn("myProcess").when(designProcessDefinition).getName();
+        doReturn("1.0").when(designProcessDefinition).getVersion();
+        doReturn(Arrays.asList(classpathManager, artifactManager, connectorManager)).when(businessArchiveArtifactsManager).getArtifactManagers();
+        doReturn("classpath").when(classpathManager).prepare(businessArchive);
+        doReturn("connectors").when(connectorManager).prepare(businessArchive);
+        businessArchiveService = new BusinessArchiveServiceImpl(processDefinitionService, dependencyService, businessArchiveArtifactsManager, logger,
+                classLoaderService);
+    }
+
+    @Test
+    public void prepare_should_prepare_artifacts_of_all_preparable_artifact_managers() throws Exception {
+        final PreparedBusinessArchive preparedBusinessArchive = businessArchiveService.prepare(businessArchive);
+
+        assertThat(preparedBusinessArchive.getBusinessArchive()).isEqualTo(businessArchive);
+        assertThat(preparedBusinessArchive.getPreparedArtifacts()).hasSize(2).contains(entry(classpathManager, "classpath"),
+                entry(connectorManager, "connectors"));
+    }
+
+    @Test(expected = SObjectCreationException.class)
+    public void prepare_should_throw_creation_exception_when_an_artifact_is_invalid() throws Exception {
+        doThrow(new BonitaException("invalid connector")).when(connectorManager).prepare(businessArchive);
+
+        businessArchiveService.prepare(businessArchive);
+    }
+
+    @Test
+    public void deploy_should_deploy_prepared_artifacts() throws Exception {
+        final SProcessDefinition sProcessDefinition = mock(SProcessDefinition.class);
+        doThrow(new SProcessDefinitionNotFoundException("myProcess")).when(processDefinitionService).getProcessDefinitionId(anyString(), anyString());
+        doReturn(sProcessDefinition).when(processDefinitionService).store(designProcessDefinition);
+        final Map<BusinessArchiveArtifactManager, Object> preparedArtifacts = Collections.<BusinessArchiveArtifactManager, Object> singletonMap(
+                classpathManager, "classpath");
+
+        final SProcessDefinition deployed = businessArchiveService.deploy(new PreparedBusinessArchive(businessArchive, preparedArtifacts, 12L));
+
+        assertThat(deployed).isEqualTo(sProcessDefinition);
+        verify(businessArchiveArtifactsManager).resolveDependencies(businessArchive, sProcessDefinition, preparedArtifacts);
+    }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.bpm.model.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.bonitasoft.engine.core.expression.control.api.ExpressionResolverService;
+import org.bonitasoft.engine.core.expression.control.model.SExpressionContext;
+import org.bonitasoft.engine.data.definition.model.SDataDefinition;
+import org.bonitasoft.engine.expression.model.SExpression;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataInstantiationPlanTest {
+
+    @Mock
+    private ExpressionResolverService expressionResolverService;
+
+    @Mock
+    private SExpressionContext expressionContext;
+
+    @Test
+    public void should_evaluate_constant_default_values_only_once() throws Exception {
+        final SExpression constant = expression(SExpression.TYPE_CONSTANT);
+        doReturn("hello").when(expressionResolverService).evaluate(constant);
+        final DataInstantiationPlan plan = DataInstantiationPlan.compile(Arrays.asList(data("text", constant)), expressionResolverService);
+
+        final Map<String, Serializable> first = plan.evaluateDefaultValues(expressionResolverService, expressionContext, Collections.<String> emptySet());
+        final Map<String, Serializable> second = plan.evaluateDefaultValues(expressionResolverService, expressionContext, Collections.<String> emptySet());
+
+        assertThat(first).contains(entry("text", "hello"));
+        assertThat(second).contains(entry("text", "hello"));
+        verify(expressionResolverService, times(1)).evaluate(constant);
+        verify(expressionResolverService, never()).evaluate(anyListOf(SExpression.class), any(SExpressionContext.class));
+    }
+
+    @Test
+    public void should_evaluate_non_constant_default_values_in_one_call() throws Exception {
+        final SExpression script1 = expression(SExpression.TYPE_READ_ONLY_SCRIPT);
+        final SExpression script2 = expression(SExpression.TYPE_READ_ONLY_SCRIPT);
+        doReturn(Arrays.<Object> asList(1L, 2L)).when(expressionResolverService).evaluate(Arrays.asList(script1, script2), expressionContext);
+        final DataInstantiationPlan plan = DataInstantiationPlan.compile(Arrays.asList(data("a", script1), data("b", script2), data("c", null)),
+                expressionResolverService);
+
+        final Map<String, Serializable> values = plan.evaluateDefaultValues(expressionResolverService, expressionContext, Collections.<String> emptySet());
+
+        assertThat(values).contains(entry("a", 1L), entry("b", 2L));
+        assertThat(values).doesNotContainKey("c");
+        verify(expressionResolverService, times(1)).evaluate(anyListOf(SExpression.class), any(SExpressionContext.class));
+    }
+
+    @Test
+    public void should_not_evaluate_default_values_of_skipped_data() throws Exception {
+        final SExpression script1 = expression(SExpression.TYPE_READ_ONLY_SCRIPT);
+        final SExpression script2 = expression(SExpression.TYPE_READ_ONLY_SCRIPT);
+        doReturn(Arrays.<Object> asList(2L)).when(expressionResolverService).evaluate(Arrays.asList(script2), expressionContext);
+        final DataInstantiationPlan plan = DataInstantiationPlan.compile(Arrays.asList(data("a", script1), data("b", script2)), expressionResolverService);
+
+        final Map<String, Serializable> values = plan.evaluateDefaultValues(expressionResolverService, expressionContext, Collections.singleton("a"));
+
+        assertThat(values).contains(entry("b", 2L));
+        assertThat(values).doesNotContainKey("a");
+    }
+
+    private SExpression expression(final String type) {
+        final SExpression expression = mock(SExpression.class);
+        doReturn(type).when(expression).getExpressionType();
+        return expression;
+    }
+
+    private SDataDefinition data(final String name, final SExpression defaultValue) {
+        final SDataDefinition dataDefinition = mock(SDataDefinition.class);
+        doReturn(name).when(dataDefinition).getName();
+        doReturn(defaultValue).when(dataDefinition).getDefaultValueExpression();
+        return dataDefinition;
+    }
+
+}
@@ -13,10 +13,13 @@
  **/
 package org.bonitasoft.engine.command;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -90,6 +93,27 @@ public class ExecuteBDMQueryCommandTest {
         verify(bdrService).findListByNamedQuery(queryName, resultClass, queryParameters, 0, 10);
     }
 
+    @Test
+    public void should_Execute_call_findByNamedQuery_once_per_persistence_id_and_return_results_by_id() throws Exception {
+        Map<String, Serializable> parameters = new HashMap<String, Serializable>();
+        String queryName = "testQuery";
+        parameters.put(ExecuteBDMQueryCommand.QUERY_NAME, queryName);
+        parameters.put(ExecuteBDMQueryCommand.RETURN_TYPE, String.class.getName());
+        parameters.put(ExecuteBDMQueryCommand.QUERY_PARAMETERS, new HashMap<String, Serializable>());
+        parameters.put(ExecuteBDMQueryCommand.RETURNS_LIST, false);
+        parameters.put(ExecuteBDMQueryCommand.PERSISTENCE_IDS, new ArrayList<Long>(Arrays.asList(12L, 13L)));
+        Map<String, Serializable> firstParameters = new HashMap<String, Serializable>();
+        firstParameters.put("persistenceId", 12L);
+        Map<String, Serializable> secondParameters = new HashMap<String, Serializable>();
+        secondParameters.put("persistenceId", 13L);
+        doReturn("first").when(bdrService).findByNamedQuery(queryName, String.class, firstParameters);
+        doReturn("second").when(bdrService).findByNamedQuery(queryName, String.class, secondParameters);
+
+        final byte[] result = (byte[]) command.execute(parameters, tenantServiceAccessor);
+
+        assertThat(new String(result).replaceAll("\\s", "")).isEqualTo("{\"12\":\"first\",\"13\":\"second\"}");
+    }
+
     @Test(expected = SCommandParameterizationException.class)
     public void should_Execute_throw_SCommandParameterizationException_if_no_query_name() throws Exception {
         Map<String, Serializable> parameters = new HashMap<String, Serializable>();
@@ -27,6 +27,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.anyList;
@@ -57,6 +58,7 @@ import org.bonitasoft.engine.core.expression.control.api.ExpressionResolverServi
 import org.bonitasoft.engine.core.expression.control.model.SExpressionContext;
 import org.bonitasoft.engine.core.filter.FilterResult;
 import org.bonitasoft.engine.core.filter.UserFilterService;
+import org.bonitasoft.engine.core.process.definition.model.SActivityDefinition;
 import org.bonitasoft.engine.core.process.definition.model.SCallActivityDefinition;
 import org.bonitasoft.engine.core.process.definition.model.SConnectorDefinition;
 import org.bonitasoft.engine.core.process.definition.model.SFlowElementContainerDefinition;
@@ -68,6 +70,7 @@ import org.bonitasoft.engine.core.process.instance.api.ActivityInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityStateExecutionException;
 import org.bonitasoft.engine.core.process.instance.model.SConnectorInstance;
 import org.bonitasoft.engine.core.process.instance.model.SFlowNodeInstance;
+import org.bonitasoft.engine.core.process.instance.model.SMultiInstanceActivityInstance;
 import org.bonitasoft.engine.core.process.instance.model.SPendingActivityMapping;
 import org.bonitasoft.engine.data.instance.api.DataInstanceContainer;
 import org.bonitasoft.engine.expression.model.SExpression;
@@ -627,4 +630,59 @@ public class StateBehaviorsTest {
 
         verify(processExecutor).start(147L, -1, 0, 0, context, operations, callerId, -1, evaluatedExpressions);
     }
+    @Test
+    public void should_create_all_inner_instances_of_a_parallel_multi_instance_when_there_is_no_window() throws Exception {
+        final SMultiInstanceActivityInstance miActivity = mock(SMultiInstanceActivityInstance.class);
+
+        assertThat(behaviors.getNumberOfInstancesToCreateOnInitialization(miActivity, 20000)).isEqualTo(20000);
+    }
+
+    @Test
+    public void should_create_only_one_inner_instance_of_a_sequential_multi_instance() throws Exception {
+        final SMultiInstanceActivityInstance miActivity = mock(SMultiInstanceActivityInstance.class);
+        when(miActivity.isSequential()).thenReturn(true);
+        behaviors.setParallelMultiInstanceWindowSize(100);
+
+        assertThat(behaviors.getNumberOfInstancesToCreateOnInitialization(miActivity, 20000)).isEqualTo(1);
+    }
+
+    @Test
+    public void should_create_the_first_window_of_inner_instances_of_a_windowed_parallel_multi_instance() throws Exception {
+        final SMultiInstanceActivityInstance miActivity = mock(SMultiInstanceActivityInstance.class);
+        behaviors.setParallelMultiInstanceWindowSize(100);
+
+        assertThat(behaviors.getNumberOfInstancesToCreateOnInitialization(miActivity, 20000)).isEqualTo(100);
+        assertThat(behaviors.getNumberOfInstancesToCreateOnInitialization(miActivity, 30)).isEqualTo(30);
+    }
+
+    @Test
+    public void fillWindow_should_create_inner_instances_up_to_the_window_size() throws Exception {
+        final SMultiInstanceActivityInstance miActivity = mock(SMultiInstanceActivityInstance.class);
+        final SActivityDefinition activity = mock(SActivityDefinition.class);
+        when(miActivity.getLoopCardinality()).thenReturn(20000);
+        when(miActivity.getNumberOfInstances()).thenReturn(150);
+        when(miActivity.getNumberOfActiveInstances()).thenReturn(97);
+        behaviors.setParallelMultiInstanceWindowSize(100);
+        final StateBehaviors spy = spy(behaviors);
+        final List<SFlowNodeInstance> created = Arrays.asList(mock(SFlowNodeInstance.class), mock(SFlowNodeInstance.class),
+                mock(SFlowNodeInstance.class));
+        doReturn(created).when(spy).createInnerInstances(processDefinitionId, activity, miActivity, 3);
+
+        assertThat(spy.fillWindow(processDefinitionId, activity, miActivity)).isEqualTo(created);
+    }
+
+    @Test
+    public void fillWindow_should_not_create_more_inner_instances_than_the_loop_cardinality() throws Exception {
+        final SMultiInstanceActivityInstance miActivity = mock(SMultiInstanceActivityInstance.class);
+        final SActivityDefinition activity = mock(SActivityDefinition.class);
+        when(miActivity.getLoopCardinality()).thenReturn(20000);
+        when(miActivity.getNumberOfInstances()).thenReturn(20000);
+        when(miActivity.getNumberOfActiveInstances()).thenReturn(12);
+        behaviors.setParallelMultiInstanceWindowSize(100);
+        final StateBehaviors spy = spy(behaviors);
+
+        assertThat(spy.fillWindow(processDefinitionId, activity, miActivity)).isEmpty();
+        verify(spy, never()).createInnerInstances(anyLong(), any(SActivityDefinition.class), any(SMultiInstanceActivityInstance.class), anyInt());
+    }
+
 }
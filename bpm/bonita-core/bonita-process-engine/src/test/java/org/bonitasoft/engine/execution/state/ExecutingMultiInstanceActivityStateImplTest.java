@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.execution.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.bonitasoft.engine.core.expression.control.api.ExpressionResolverService;
+import org.bonitasoft.engine.core.process.definition.model.SActivityDefinition;
+import org.bonitasoft.engine.core.process.definition.model.SFlowElementContainerDefinition;
+import org.bonitasoft.engine.core.process.definition.model.SMultiInstanceLoopCharacteristics;
+import org.bonitasoft.engine.core.process.definition.model.SProcessDefinition;
+import org.bonitasoft.engine.core.process.instance.api.ActivityInstanceService;
+import org.bonitasoft.engine.core.process.instance.model.SFlowNodeInstance;
+import org.bonitasoft.engine.core.process.instance.model.SMultiInstanceActivityInstance;
+import org.bonitasoft.engine.core.process.instance.model.SStateCategory;
+import org.bonitasoft.engine.execution.ContainerRegistry;
+import org.bonitasoft.engine.execution.StateBehaviors;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExecutingMultiInstanceActivityStateImplTest {
+
+    @Mock
+    private ExpressionResolverService expressionResolverService;
+
+    @Mock
+    private ContainerRegistry containerRegistry;
+
+    @Mock
+    private ActivityInstanceService activityInstanceService;
+
+    @Mock
+    private StateBehaviors stateBehaviors;
+
+    @Mock
+    private SProcessDefinition processDefinition;
+
+    @Mock
+    private SFlowElementContainerDefinition processContainer;
+
+    @Mock
+    private SActivityDefinition activityDefinition;
+
+    @Mock
+    private SMultiInstanceLoopCharacteristics loopCharacteristics;
+
+    @Mock
+    private SMultiInstanceActivityInstance miActivity;
+
+    @InjectMocks
+    private ExecutingMultiInstanceActivityStateImpl executingMultiInstanceActivityState;
+
+    @Before
+    public void before() {
+        when(processDefinition.getProcessContainer()).thenReturn(processContainer);
+        when(processContainer.getFlowNode(anyLong())).thenReturn(activityDefinition);
+        when(activityDefinition.getLoopCharacteristics()).thenReturn(loopCharacteristics);
+        when(miActivity.getStateCategory()).thenReturn(SStateCategory.NORMAL);
+    }
+
+    @Test
+    public void hit_should_update_the_multi_instance_once_for_all_finished_children() throws Exception {
+        final SFlowNodeInstance aborted = mock(SFlowNodeInstance.class);
+        when(aborted.isAborting()).thenReturn(true);
+        when(miActivity.getNumberOfActiveInstances()).thenReturn(5);
+        when(miActivity.getNumberOfCompletedInstances()).thenReturn(2);
+        when(miActivity.getNumberOfTerminatedInstances()).thenReturn(1);
+        when(miActivity.getNumberOfInstances()).thenReturn(8);
+
+        final boolean hit = executingMultiInstanceActivityState.hit(processDefinition, miActivity,
+                Arrays.asList(mock(SFlowNodeInstance.class), aborted, mock(SFlowNodeInstance.class)));
+
+        assertThat(hit).isFalse();
+        verify(activityInstanceService).addMultiInstanceNumberOfCompletedActivities(miActivity, 2);
+        verify(activityInstanceService).addMultiInstanceNumberOfTerminatedActivities(miActivity, 1);
+    }
+
+    @Test
+    public void hit_should_not_update_completed_children_when_all_finished_children_are_terminated() throws Exception {
+        final SFlowNodeInstance canceled = mock(SFlowNodeInstance.class);
+        when(canceled.isCanceling()).thenReturn(true);
+
+        final boolean hit = executingMultiInstanceActivityState.hit(processDefinition, miActivity, Arrays.asList(canceled));
+
+        assertThat(hit).isTrue();
+        verify(activityInstanceService).addMultiInstanceNumberOfTerminatedActivities(miActivity, 1);
+        verify(activityInstanceService, never()).addMultiInstanceNumberOfCompletedActivities(any(SMultiInstanceActivityInstance.class), anyInt());
+    }
+
+}
@@ -15,6 +15,7 @@ package org.bonitasoft.engine.execution.work;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
@@ -39,6 +40,8 @@ import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.service.TenantServiceAccessor;
 import org.bonitasoft.engine.session.SessionService;
 import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
+import org.bonitasoft.engine.tracking.TimeTracker;
+import org.bonitasoft.engine.tracking.TimeTrackerRecords;
 import org.bonitasoft.engine.work.BonitaWork;
 import org.junit.Before;
 import org.junit.Test;
@@ -77,6 +80,9 @@ public class FailureHandlingBonitaWorkTest {
     @Mock
     private SProcessDefinitionDeployInfo sProcessDefinitionDeployInfo;
 
+    @Mock
+    private TimeTracker timeTracker;
+
     private FailureHandlingBonitaWork txBonitawork;
 
     @Before
@@ -88,6 +94,7 @@ public class FailureHandlingBonitaWorkTest {
         when(tenantAccessor.getSessionAccessor()).thenReturn(sessionAccessor);
         when(tenantAccessor.getSessionService()).thenReturn(sessionService);
         when(tenantAccessor.getIncidentService()).thenReturn(incidentService);
+        when(tenantAccessor.getTimeTracker()).thenReturn(timeTracker);
         doReturn(tenantAccessor).when(txBonitawork).getTenantAccessor();
     }
 
@@ -98,6 +105,13 @@ public class FailureHandlingBonitaWorkTest {
         verify(wrappedWork, times(1)).work(singletonMap);
     }
 
+    @Test
+    public void work_should_track_the_time_spent_before_execution() throws Exception {
+        txBonitawork.work(new HashMap<String, Object>());
+
+        verify(timeTracker).track(eq(TimeTrackerRecords.WORK_QUEUE_WAIT), anyLong());
+    }
+
     @Test
     public void testWorkFailureIsHandled() throws Throwable {
         final Map<String, Object> singletonMap = new HashMap<String, Object>();
@@ -14,6 +14,7 @@
 package org.bonitasoft.engine.execution.work;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +27,8 @@ import org.bonitasoft.engine.lock.BonitaLock;
 import org.bonitasoft.engine.lock.LockService;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.tracking.TimeTracker;
+import org.bonitasoft.engine.tracking.TimeTrackerRecords;
 import org.bonitasoft.engine.work.BonitaWork;
 import org.bonitasoft.engine.work.WorkService;
 import org.junit.Before;
@@ -47,6 +50,8 @@ public class LockProcessInstanceWorkTest {
 
     private WorkService workService;
 
+    private TimeTracker timeTracker;
+
     private static final long TENANT_ID = 1;
 
     @Before
@@ -56,6 +61,8 @@ public class LockProcessInstanceWorkTest {
         tenantAccessor = mock(TenantServiceAccessor.class);
         lockService = mock(LockService.class);
         workService = mock(WorkService.class);
+        timeTracker = mock(TimeTracker.class);
+        when(tenantAccessor.getTimeTracker()).thenReturn(timeTracker);
         when(tenantAccessor.getLockService()).thenReturn(lockService);
         when(tenantAccessor.getWorkService()).thenReturn(workService);
         when(tenantAccessor.getTechnicalLoggerService()).thenReturn(mock(TechnicalLoggerService.class));
@@ -71,6 +78,7 @@ public class LockProcessInstanceWorkTest {
         verify(lockService, times(1)).tryLock(eq(processInstanceId), eq(PROCESS), eq(20L), eq(TimeUnit.MILLISECONDS), eq(TENANT_ID));
         verify(lockService, times(1)).unlock(bonitaLock, TENANT_ID);
         verify(wrappedWork, times(1)).work(singletonMap);
+        verify(timeTracker).track(eq(TimeTrackerRecords.LOCK_PROCESS_INSTANCE_WAIT), anyLong(), eq(processInstanceId), eq(1L));
     }
 
     @Test
@@ -80,6 +88,7 @@ public class LockProcessInstanceWorkTest {
         lockProcessInstanceWork.work(singletonMap);
         verify(lockService, times(1)).tryLock(eq(processInstanceId), eq(PROCESS), eq(20L), eq(TimeUnit.MILLISECONDS), eq(TENANT_ID));
         verify(wrappedWork, times(0)).work(singletonMap);
+        verify(timeTracker).track(eq(TimeTrackerRecords.LOCK_PROCESS_INSTANCE_WAIT), anyLong(), eq(processInstanceId), eq(0L));
     }
 
     @Test
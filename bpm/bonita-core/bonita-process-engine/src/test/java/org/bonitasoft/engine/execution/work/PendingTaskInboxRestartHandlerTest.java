@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.execution.work;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.bonitasoft.engine.core.process.instance.api.PendingTaskInboxService;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.service.PlatformServiceAccessor;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PendingTaskInboxRestartHandlerTest {
+
+    @Mock
+    private PlatformServiceAccessor platformServiceAccessor;
+
+    @Mock
+    private TenantServiceAccessor tenantServiceAccessor;
+
+    @Mock
+    private PendingTaskInboxService pendingTaskInboxService;
+
+    @Mock
+    private TechnicalLoggerService logger;
+
+    private final PendingTaskInboxRestartHandler restartHandler = new PendingTaskInboxRestartHandler();
+
+    @Before
+    public void before() {
+        doReturn(pendingTaskInboxService).when(tenantServiceAccessor).getPendingTaskInboxService();
+        doReturn(logger).when(tenantServiceAccessor).getTechnicalLoggerService();
+    }
+
+    @Test
+    public void should_rebuild_the_inbox_of_a_tenant_created_before_the_inbox_existed() throws Exception {
+        doReturn(false).when(pendingTaskInboxService).isBuilt();
+
+        restartHandler.beforeServicesStart(platformServiceAccessor, tenantServiceAccessor);
+
+        verify(pendingTaskInboxService).rebuildAll();
+    }
+
+    @Test
+    public void should_not_rebuild_an_inbox_already_built() throws Exception {
+        doReturn(true).when(pendingTaskInboxService).isBuilt();
+
+        restartHandler.beforeServicesStart(platformServiceAccessor, tenantServiceAccessor);
+
+        verify(pendingTaskInboxService, never()).rebuildAll();
+    }
+
+}
@@ -15,6 +15,8 @@ package org.bonitasoft.engine.execution.work;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,10 +27,15 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 
 import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.tracking.TimeTracker;
+import org.bonitasoft.engine.tracking.TimeTrackerRecords;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
 import org.bonitasoft.engine.transaction.UserTransactionService;
 import org.bonitasoft.engine.work.BonitaWork;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 public class TxBonitaWorkTest {
 
@@ -40,12 +47,16 @@ public class TxBonitaWorkTest {
 
     private UserTransactionService userTransactionService;
 
+    private TimeTracker timeTracker;
+
     @Before
     public void before() {
         txBonitawork = new TxBonitaWork(wrappedWork);
         tenantAccessor = mock(TenantServiceAccessor.class);
         userTransactionService = mock(UserTransactionService.class);
         when(tenantAccessor.getUserTransactionService()).thenReturn(userTransactionService);
+        timeTracker = mock(TimeTracker.class);
+        when(tenantAccessor.getTimeTracker()).thenReturn(timeTracker);
     }
 
     @SuppressWarnings("unchecked")
@@ -56,6 +67,36 @@ public class TxBonitaWorkTest {
         verify(userTransactionService, times(1)).executeInTransaction(any(Callable.class));
     }
 
+    @Test
+    public void work_should_register_commit_tracking_when_trackable() throws Exception {
+        when(timeTracker.isTrackable(TimeTrackerRecords.TRANSACTION_COMMIT)).thenReturn(true);
+        executeCallableOnExecuteInTransaction();
+
+        txBonitawork.work(Collections.<String, Object> singletonMap("tenantAccessor", tenantAccessor));
+
+        verify(userTransactionService).registerBonitaSynchronization(any(TrackCommitSynchronization.class));
+    }
+
+    @Test
+    public void work_should_not_register_commit_tracking_when_not_trackable() throws Exception {
+        executeCallableOnExecuteInTransaction();
+
+        txBonitawork.work(Collections.<String, Object> singletonMap("tenantAccessor", tenantAccessor));
+
+        verify(userTransactionService, never()).registerBonitaSynchronization(any(BonitaTransactionSynchronization.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void executeCallableOnExecuteInTransaction() throws Exception {
+        doAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                return ((Callable<Void>) invocation.getArguments()[0]).call();
+            }
+        }).when(userTransactionService).executeInTransaction(any(Callable.class));
+    }
+
     @Test
     public void getDescription() {
         when(wrappedWork.getDescription()).thenReturn("The description");
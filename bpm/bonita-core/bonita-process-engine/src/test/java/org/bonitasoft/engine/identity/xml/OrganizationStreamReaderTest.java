@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.identity.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.identity.ExportedUser;
+import org.bonitasoft.engine.identity.GroupCreator;
+import org.bonitasoft.engine.identity.GroupCreator.GroupField;
+import org.bonitasoft.engine.identity.RoleCreator;
+import org.bonitasoft.engine.identity.RoleCreator.RoleField;
+import org.bonitasoft.engine.identity.UserMembership;
+import org.junit.Test;
+
+public class OrganizationStreamReaderTest {
+
+    private static final String ORGANIZATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<organization:Organization xmlns:organization=\"http://documentation.bonitasoft.com/organization-xml-schema/1.1\">\n"
+            + "  <users>\n"
+            + "    <user userName=\"john\">\n"
+            + "      <password encrypted=\"false\">bpm</password>\n"
+            + "      <jobTitle>QA Analyst</jobTitle>\n"
+            + "      <manager>walter</manager>\n"
+            + "      <personalData/>\n"
+            + "      <professionalData/>\n"
+            + "    </user>\n"
+            + "    <user userName=\"walter\">\n"
+            + "      <password encrypted=\"false\">bpm</password>\n"
+            + "      <personalData/>\n"
+            + "      <professionalData/>\n"
+            + "    </user>\n"
+            + "  </users>\n"
+            + "  <roles>\n"
+            + "    <role name=\"Tester\">\n"
+            + "      <displayName>Bonita tester</displayName>\n"
+            + "    </role>\n"
+            + "  </roles>\n"
+            + "  <groups>\n"
+            + "    <group name=\"QA\">\n"
+            + "      <displayName>QA team</displayName>\n"
+            + "    </group>\n"
+            + "  </groups>\n"
+            + "  <memberships>\n"
+            + "    <membership>\n"
+            + "      <userName>john</userName>\n"
+            + "      <roleName>Tester</roleName>\n"
+            + "      <groupName>QA</groupName>\n"
+            + "    </membership>\n"
+            + "  </memberships>\n"
+            + "</organization:Organization>";
+
+    private final List<String> names = new ArrayList<String>();
+
+    private final List<Object> elements = new ArrayList<Object>();
+
+    @Test
+    public void should_give_each_top_level_element_to_the_handler_in_document_order() throws Exception {
+        new OrganizationStreamReader().read(new StringReader(ORGANIZATION), new CollectingHandler());
+
+        assertThat(names).containsExactly("user", "user", "role", "group", "membership");
+    }
+
+    @Test
+    public void should_build_elements_using_organization_bindings() throws Exception {
+        new OrganizationStreamReader().read(new StringReader(ORGANIZATION), new CollectingHandler());
+
+        final ExportedUser john = (ExportedUser) elements.get(0);
+        assertThat(john.getUserName()).isEqualTo("john");
+        assertThat(john.getPassword()).isEqualTo("bpm");
+        assertThat(john.getJobTitle()).isEqualTo("QA Analyst");
+        assertThat(john.getManagerUserName()).isEqualTo("walter");
+        assertThat(((RoleCreator) elements.get(2)).getFields().get(RoleField.DISPLAY_NAME)).isEqualTo("Bonita tester");
+        assertThat(((GroupCreator) elements.get(3)).getFields().get(GroupField.NAME)).isEqualTo("QA");
+        final UserMembership membership = (UserMembership) elements.get(4);
+        assertThat(membership.getUsername()).isEqualTo("john");
+        assertThat(membership.getRoleName()).isEqualTo("Tester");
+        assertThat(membership.getGroupName()).isEqualTo("QA");
+    }
+
+    private class CollectingHandler implements OrganizationStreamReader.ElementHandler {
+
+        @Override
+        public void handle(final String elementName, final Object element) throws SBonitaException {
+            names.add(elementName);
+            elements.add(element);
+        }
+    }
+
+}
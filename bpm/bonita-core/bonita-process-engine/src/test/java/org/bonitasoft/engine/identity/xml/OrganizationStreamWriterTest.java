@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.identity.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.identity.ExportedUser;
+import org.bonitasoft.engine.identity.ExportedUserBuilder;
+import org.bonitasoft.engine.identity.ExportedUserBuilderFactory;
+import org.bonitasoft.engine.identity.RoleCreator;
+import org.bonitasoft.engine.identity.RoleCreator.RoleField;
+import org.bonitasoft.engine.identity.impl.RoleImpl;
+import org.junit.Test;
+
+public class OrganizationStreamWriterTest {
+
+    private final List<Object> elements = new ArrayList<Object>();
+
+    @Test
+    public void should_write_an_organization_readable_by_the_organization_reader() throws Exception {
+        final StringWriter output = new StringWriter();
+        final OrganizationStreamWriter writer = new OrganizationStreamWriter(output);
+        final ExportedUserBuilder userBuilder = ExportedUserBuilderFactory.createNewInstance("john", "bpm");
+        userBuilder.setJobTitle("QA Analyst & tester");
+        final RoleImpl role = new RoleImpl(1L, "Tester");
+        role.setDisplayName("Bonita tester");
+
+        writer.startOrganization();
+        writer.startSection(OrganizationMappingConstants.USERS);
+        writer.writeElement(OrganizationNodeBuilder.getUserNode(userBuilder.done()));
+        writer.endSection();
+        writer.startSection(OrganizationMappingConstants.ROLES);
+        writer.writeElement(OrganizationNodeBuilder.getRoleNode(role));
+        writer.endSection();
+        writer.endOrganization();
+
+        new OrganizationStreamReader().read(new StringReader(output.toString()), new OrganizationStreamReader.ElementHandler() {
+
+            @Override
+            public void handle(final String elementName, final Object element) throws SBonitaException {
+                elements.add(element);
+            }
+        });
+        assertThat(elements).hasSize(2);
+        assertThat(((ExportedUser) elements.get(0)).getUserName()).isEqualTo("john");
+        assertThat(((ExportedUser) elements.get(0)).getJobTitle()).isEqualTo("QA Analyst & tester");
+        assertThat(((RoleCreator) elements.get(1)).getFields().get(RoleField.DISPLAY_NAME)).isEqualTo("Bonita tester");
+    }
+
+    @Test
+    public void should_declare_the_organization_namespace_on_the_root_element() throws Exception {
+        final StringWriter output = new StringWriter();
+        final OrganizationStreamWriter writer = new OrganizationStreamWriter(output);
+
+        writer.startOrganization();
+        writer.startSection(OrganizationMappingConstants.USERS);
+        writer.endSection();
+        writer.endOrganization();
+
+        assertThat(output.toString()).contains(
+                "<organization:Organization xmlns:organization=\"http://documentation.bonitasoft.com/organization-xml-schema/1.1\">");
+        assertThat(output.toString()).contains("\n  <users>");
+    }
+
+}
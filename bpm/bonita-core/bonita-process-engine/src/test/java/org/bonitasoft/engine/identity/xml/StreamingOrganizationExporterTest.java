@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.identity.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+
+import org.bonitasoft.engine.identity.IdentityService;
+import org.bonitasoft.engine.identity.model.SContactInfo;
+import org.bonitasoft.engine.identity.model.SCustomUserInfoDefinition;
+import org.bonitasoft.engine.identity.model.SCustomUserInfoValue;
+import org.bonitasoft.engine.identity.model.SUser;
+import org.bonitasoft.engine.identity.model.SUserMembership;
+import org.bonitasoft.engine.persistence.QueryOptions;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StreamingOrganizationExporterTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private IdentityService identityService;
+
+    @Mock
+    private UserTransactionService userTransactionService;
+
+    @Mock
+    private SUser john;
+
+    @Mock
+    private SUser walter;
+
+    @Mock
+    private SContactInfo johnPersonalInfo;
+
+    @Mock
+    private SCustomUserInfoDefinition skills;
+
+    @Mock
+    private SCustomUserInfoDefinition location;
+
+    @Mock
+    private SCustomUserInfoDefinition team;
+
+    @Mock
+    private SCustomUserInfoValue johnSkills;
+
+    @Mock
+    private SUserMembership johnIsDeveloper;
+
+    @Mock
+    private SUserMembership johnIsTester;
+
+    @Mock
+    private SUserMembership walterIsDeveloper;
+
+    private StreamingOrganizationExporter exporter;
+
+    @Before
+    public void setUp() throws Exception {
+        when(userTransactionService.executeInTransaction(any(Callable.class))).thenAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                return ((Callable<?>) invocation.getArguments()[0]).call();
+            }
+        });
+        when(john.getId()).thenReturn(1L);
+        when(john.getUserName()).thenReturn("john");
+        when(walter.getId()).thenReturn(2L);
+        when(walter.getUserName()).thenReturn("walter");
+        when(johnPersonalInfo.getUserId()).thenReturn(1L);
+        when(johnPersonalInfo.isPersonal()).thenReturn(true);
+        when(johnPersonalInfo.getEmail()).thenReturn("john@bonitasoft.com");
+        when(skills.getId()).thenReturn(25L);
+        when(skills.getName()).thenReturn("Skills");
+        when(location.getName()).thenReturn("Location");
+        when(team.getName()).thenReturn("Team");
+        when(johnSkills.getUserId()).thenReturn(1L);
+        when(johnSkills.getDefinitionId()).thenReturn(25L);
+        when(johnSkills.getValue()).thenReturn("Java");
+        exporter = new StreamingOrganizationExporter(identityService, userTransactionService, PAGE_SIZE);
+    }
+
+    @Test
+    public void should_export_all_custom_user_info_definitions_page_by_page() throws Exception {
+        when(identityService.getCustomUserInfoDefinitions(0, PAGE_SIZE)).thenReturn(Arrays.asList(skills, location));
+        when(identityService.getCustomUserInfoDefinitions(2, PAGE_SIZE)).thenReturn(Arrays.asList(team));
+        final StringWriter output = new StringWriter();
+
+        exporter.exportOrganization(output);
+
+        assertThat(output.toString()).contains("<name>Skills</name>").contains("<name>Location</name>").contains("<name>Team</name>");
+    }
+
+    @Test
+    public void should_read_contact_info_and_custom_user_info_values_for_a_whole_page_of_users() throws Exception {
+        when(identityService.getCustomUserInfoDefinitions(0, PAGE_SIZE)).thenReturn(Arrays.asList(skills));
+        when(identityService.searchUsers(any(QueryOptions.class))).thenReturn(Arrays.asList(john, walter), Collections.<SUser> emptyList());
+        when(identityService.getUserContactInfos(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(johnPersonalInfo));
+        when(identityService.searchCustomUserInfoValue(any(QueryOptions.class))).thenReturn(Arrays.asList(johnSkills));
+        final StringWriter output = new StringWriter();
+
+        exporter.exportOrganization(output);
+
+        verify(identityService, never()).getUserContactInfo(anyLong(), anyBoolean());
+        assertThat(output.toString()).contains("john@bonitasoft.com").contains("<value>Java</value>");
+    }
+
+    @Test
+    public void should_read_each_page_of_memberships_after_the_last_exported_one() throws Exception {
+        mockMembership(johnIsDeveloper, 10L, "john", "Developer");
+        mockMembership(johnIsTester, 11L, "john", "Tester");
+        mockMembership(walterIsDeveloper, 14L, "walter", "Developer");
+        when(identityService.getUserMembershipsAfter(-1L, PAGE_SIZE)).thenReturn(Arrays.asList(johnIsDeveloper, johnIsTester));
+        when(identityService.getUserMembershipsAfter(11L, PAGE_SIZE)).thenReturn(Arrays.asList(walterIsDeveloper));
+        final StringWriter output = new StringWriter();
+
+        exporter.exportOrganization(output);
+
+        assertThat(output.toString()).contains("<roleName>Tester</roleName>").contains("<userName>walter</userName>");
+    }
+
+    private void mockMembership(final SUserMembership membership, final long id, final String userName, final String roleName) {
+        when(membership.getId()).thenReturn(id);
+        when(membership.getUsername()).thenReturn(userName);
+        when(membership.getRoleName()).thenReturn(roleName);
+        when(membership.getGroupName()).thenReturn("R&D");
+    }
+
+}
@@ -0,0 +1,263 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.identity.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.bonitasoft.engine.api.impl.SCustomUserInfoValueAPI;
+import org.bonitasoft.engine.identity.IdentityService;
+import org.bonitasoft.engine.identity.ImportPolicy;
+import org.bonitasoft.engine.identity.model.SGroup;
+import org.bonitasoft.engine.identity.model.SRole;
+import org.bonitasoft.engine.identity.model.SUser;
+import org.bonitasoft.engine.identity.model.SUserMembership;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+import org.bonitasoft.engine.xml.ElementBinding;
+import org.bonitasoft.engine.xml.Parser;
+import org.bonitasoft.engine.xml.ParserFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StreamingOrganizationImporterTest {
+
+    private static final long EXISTING_ROLE_ID = 12L;
+
+    private static final long EXISTING_USER_ID = 13L;
+
+    /**
+     * jack only exists in the tenant and developer only exists in the tenant: memberships using them are not imported
+     */
+    private static final String ORGANIZATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<organization:Organization xmlns:organization=\"http://documentation.bonitasoft.com/organization-xml-schema/1.1\">\n"
+            + "  <users>\n"
+            + "    <user userName=\"john\">\n"
+            + "      <password encrypted=\"false\">bpm</password>\n"
+            + "      <manager>walter</manager>\n"
+            + "      <personalData/>\n"
+            + "      <professionalData/>\n"
+            + "    </user>\n"
+            + "    <user userName=\"walter\">\n"
+            + "      <password encrypted=\"false\">bpm</password>\n"
+            + "      <manager>jack</manager>\n"
+            + "      <personalData/>\n"
+            + "      <professionalData/>\n"
+            + "    </user>\n"
+            + "  </users>\n"
+            + "  <roles>\n"
+            + "    <role name=\"Tester\">\n"
+            + "      <displayName>Bonita tester</displayName>\n"
+            + "    </role>\n"
+            + "  </roles>\n"
+            + "  <groups>\n"
+            + "    <group name=\"QA\">\n"
+            + "      <displayName>QA team</displayName>\n"
+            + "    </group>\n"
+            + "  </groups>\n"
+            + "  <memberships>\n"
+            + "    <membership>\n"
+            + "      <userName>john</userName>\n"
+            + "      <roleName>Tester</roleName>\n"
+            + "      <groupName>QA</groupName>\n"
+            + "      <assignedBy>jack</assignedBy>\n"
+            + "    </membership>\n"
+            + "    <membership>\n"
+            + "      <userName>jack</userName>\n"
+            + "      <roleName>Tester</roleName>\n"
+            + "      <groupName>QA</groupName>\n"
+            + "    </membership>\n"
+            + "    <membership>\n"
+            + "      <userName>walter</userName>\n"
+            + "      <roleName>Developer</roleName>\n"
+            + "      <groupName>QA</groupName>\n"
+            + "    </membership>\n"
+            + "  </memberships>\n"
+            + "</organization:Organization>";
+
+    @Mock
+    private TenantServiceAccessor serviceAccessor;
+
+    @Mock
+    private IdentityService identityService;
+
+    @Mock
+    private UserTransactionService userTransactionService;
+
+    @Mock
+    private TechnicalLoggerService logger;
+
+    @Mock
+    private ParserFactory parserFactory;
+
+    @Mock
+    private Parser parser;
+
+    @Mock
+    private SCustomUserInfoValueAPI userInfoValueAPI;
+
+    @Mock
+    private SRole existingTester;
+
+    @Mock
+    private SUser existingWalter;
+
+    private long nextUserId = 100L;
+
+    @Before
+    public void setUp() throws Exception {
+        when(serviceAccessor.getIdentityService()).thenReturn(identityService);
+        when(serviceAccessor.getUserTransactionService()).thenReturn(userTransactionService);
+        when(serviceAccessor.getTechnicalLoggerService()).thenReturn(logger);
+        when(serviceAccessor.getParserFactgory()).thenReturn(parserFactory);
+        when(parserFactory.createParser(Matchers.<List<Class<? extends ElementBinding>>> any())).thenReturn(parser);
+        when(userTransactionService.executeInTransaction(any(Callable.class))).thenAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                return ((Callable<?>) invocation.getArguments()[0]).call();
+            }
+        });
+        when(identityService.createUser(any(SUser.class))).thenAnswer(new Answer<SUser>() {
+
+            @Override
+            public SUser answer(final InvocationOnMock invocation) throws Throwable {
+                final SUser user = mock(SUser.class);
+                when(user.getUserName()).thenReturn(((SUser) invocation.getArguments()[0]).getUserName());
+                when(user.getId()).thenReturn(nextUserId++);
+                return user;
+            }
+        });
+        when(existingTester.getName()).thenReturn("Tester");
+        when(existingTester.getId()).thenReturn(EXISTING_ROLE_ID);
+        when(existingWalter.getUserName()).thenReturn("walter");
+        when(existingWalter.getId()).thenReturn(EXISTING_USER_ID);
+    }
+
+    private void importOrganization(final ImportPolicy policy) throws Exception {
+        importOrganization(policy, 1);
+    }
+
+    private void importOrganization(final ImportPolicy policy, final int chunkSize) throws Exception {
+        final StreamingOrganizationImporter importer = spy(new StreamingOrganizationImporter(serviceAccessor, policy, userInfoValueAPI, chunkSize));
+        doReturn(5L).when(importer).getUserIdFromSession();
+        importer.importOrganization(ORGANIZATION);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private List<SUserMembership> createdMemberships() throws Exception {
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(identityService, times(3)).createUserMemberships(captor.capture());
+        final List<SUserMembership> memberships = new ArrayList<SUserMembership>();
+        for (final List<SUserMembership> chunk : captor.getAllValues()) {
+            memberships.addAll(chunk);
+        }
+        return memberships;
+    }
+
+    @Test
+    public void fail_on_duplicates_should_import_nothing_when_an_element_already_exists() throws Exception {
+        doReturn(Arrays.asList(existingTester)).when(identityService).getRolesByName(Arrays.asList("Tester"));
+
+        try {
+            importOrganization(ImportPolicy.FAIL_ON_DUPLICATES);
+        } catch (final ImportDuplicateInOrganizationException e) {
+            verify(identityService, never()).createUser(any(SUser.class));
+            verify(identityService, never()).createRoles(anyListOf(SRole.class));
+            verify(identityService, never()).createGroups(anyListOf(SGroup.class));
+            verify(identityService, never()).createUserMemberships(anyListOf(SUserMembership.class));
+            return;
+        }
+        fail("the import should have failed on the existing role");
+    }
+
+    @Test
+    public void fail_on_duplicates_should_only_import_memberships_between_imported_elements() throws Exception {
+        importOrganization(ImportPolicy.FAIL_ON_DUPLICATES);
+
+        final List<SUserMembership> memberships = createdMemberships();
+        assertThat(memberships).hasSize(1);
+        assertThat(memberships.get(0).getUserId()).isEqualTo(100L);
+        assertThat(memberships.get(0).getAssignedBy()).isEqualTo(-1L);
+    }
+
+    @Test
+    public void fail_on_duplicates_should_check_and_import_each_chunk_with_one_query_per_type() throws Exception {
+        importOrganization(ImportPolicy.FAIL_ON_DUPLICATES, 10);
+
+        verify(identityService, times(2)).getUsersByUsername(Arrays.asList("john", "walter"));
+        verify(identityService, times(2)).getRolesByName(Arrays.asList("Tester"));
+        verify(identityService, times(2)).getGroupsByPath(Arrays.asList("/QA"));
+        verify(identityService).createRoles(anyListOf(SRole.class));
+        verify(identityService).createGroups(anyListOf(SGroup.class));
+        verify(identityService).createUserMemberships(anyListOf(SUserMembership.class));
+        // session, 3 chunks checked, 4 chunks imported and 1 chunk of managers
+        verify(userTransactionService, times(9)).executeInTransaction(any(Callable.class));
+    }
+
+    @Test
+    public void ignore_duplicates_should_keep_existing_elements_and_link_them_to_the_imported_ones() throws Exception {
+        doReturn(Arrays.asList(existingTester)).when(identityService).getRolesByName(Arrays.asList("Tester"));
+
+        importOrganization(ImportPolicy.IGNORE_DUPLICATES);
+
+        verify(identityService).createRoles(Collections.<SRole> emptyList());
+        verify(identityService, never()).updateRole(any(SRole.class), any(EntityUpdateDescriptor.class));
+        final List<SUserMembership> memberships = createdMemberships();
+        assertThat(memberships).hasSize(1);
+        assertThat(memberships.get(0).getUserId()).isEqualTo(100L);
+        assertThat(memberships.get(0).getRoleId()).isEqualTo(EXISTING_ROLE_ID);
+    }
+
+    @Test
+    public void merge_duplicates_should_update_existing_elements_and_link_them_to_the_imported_ones() throws Exception {
+        doReturn(Arrays.asList(existingTester)).when(identityService).getRolesByName(Arrays.asList("Tester"));
+        doReturn(Arrays.asList(existingWalter)).when(identityService).getUsersByUsername(Arrays.asList("walter"));
+
+        importOrganization(ImportPolicy.MERGE_DUPLICATES);
+
+        verify(identityService).updateRole(eq(existingTester), any(EntityUpdateDescriptor.class));
+        verify(identityService).updateUser(eq(existingWalter), any(EntityUpdateDescriptor.class), eq(false));
+        final List<SUserMembership> memberships = createdMemberships();
+        assertThat(memberships).hasSize(1);
+        assertThat(memberships.get(0).getRoleId()).isEqualTo(EXISTING_ROLE_ID);
+    }
+
+}
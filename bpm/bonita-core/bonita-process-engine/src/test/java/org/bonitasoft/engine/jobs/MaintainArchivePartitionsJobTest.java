@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.jobs;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.bonitasoft.engine.core.process.instance.api.ArchivedProcessInstancePurgeService;
+import org.bonitasoft.engine.platform.ArchivePartitionService;
+import org.bonitasoft.engine.platform.exception.SArchivePartitionException;
+import org.bonitasoft.engine.scheduler.JobParameter;
+import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
+import org.bonitasoft.engine.service.PlatformServiceAccessor;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MaintainArchivePartitionsJobTest {
+
+    private static final long EXPIRATION_DATE = 1441065600000L;
+
+    @Mock
+    private PlatformServiceAccessor platformServiceAccessor;
+
+    @Mock
+    private TenantServiceAccessor tenantServiceAccessor;
+
+    @Mock
+    private ArchivePartitionService archivePartitionService;
+
+    @Mock
+    private ArchivedProcessInstancePurgeService purgeService;
+
+    @Mock
+    private UserTransactionService transactionService;
+
+    private final MaintainArchivePartitionsJob job = new MaintainArchivePartitionsJob();
+
+    @Before
+    public void setUp() {
+        doReturn(archivePartitionService).when(platformServiceAccessor).getArchivePartitionService();
+        doReturn(purgeService).when(tenantServiceAccessor).getArchivedProcessInstancePurgeService();
+        doReturn(transactionService).when(tenantServiceAccessor).getUserTransactionService();
+        job.setAttributes(platformServiceAccessor, tenantServiceAccessor,
+                Collections.<String, Serializable> singletonMap(JobParameter.BATCH_SIZE.name(), 2));
+    }
+
+    @Test
+    public void execute_should_maintain_the_partitions() throws Exception {
+        doReturn(true).when(archivePartitionService).isEnabled();
+        doReturn(-1L).when(archivePartitionService).getExpirationDate(anyLong());
+
+        job.execute();
+
+        verify(archivePartitionService).maintainPartitions(anyLong());
+        verifyZeroInteractions(purgeService);
+    }
+
+    @Test
+    public void execute_should_purge_the_last_expired_process_instances_then_maintain_the_partitions() throws Exception {
+        doReturn(true).when(archivePartitionService).isEnabled();
+        doReturn(EXPIRATION_DATE).when(archivePartitionService).getExpirationDate(anyLong());
+        doReturn(Arrays.asList(5L)).when(purgeService).getRootProcessInstanceIdsArchivedBefore(EXPIRATION_DATE, 2);
+
+        job.execute();
+
+        verify(purgeService).purge(Arrays.asList(5L));
+        verify(archivePartitionService).maintainPartitions(anyLong());
+        verify(transactionService, never()).registerBonitaSynchronization(any(ExecuteAgainJobSynchronization.class));
+    }
+
+    @Test
+    public void execute_should_only_create_the_partitions_and_execute_again_while_expired_process_instances_remain() throws Exception {
+        doReturn(true).when(archivePartitionService).isEnabled();
+        doReturn(EXPIRATION_DATE).when(archivePartitionService).getExpirationDate(anyLong());
+        doReturn(Arrays.asList(5L, 6L)).when(purgeService).getRootProcessInstanceIdsArchivedBefore(EXPIRATION_DATE, 2);
+
+        job.execute();
+
+        verify(purgeService).purge(Arrays.asList(5L, 6L));
+        verify(archivePartitionService).createMissingPartitions(anyLong());
+        verify(archivePartitionService, never()).maintainPartitions(anyLong());
+        verify(transactionService).registerBonitaSynchronization(any(ExecuteAgainJobSynchronization.class));
+    }
+
+    @Test
+    public void execute_should_do_nothing_when_partitioning_is_disabled() throws Exception {
+        job.execute();
+
+        verify(archivePartitionService, never()).maintainPartitions(anyLong());
+        verify(purgeService, never()).getRootProcessInstanceIdsArchivedBefore(anyLong(), anyInt());
+    }
+
+    @Test(expected = SJobExecutionException.class)
+    public void execute_should_fail_when_a_partition_cannot_be_maintained() throws Exception {
+        doReturn(true).when(archivePartitionService).isEnabled();
+        doReturn(-1L).when(archivePartitionService).getExpirationDate(anyLong());
+        doThrow(SArchivePartitionException.class).when(archivePartitionService).maintainPartitions(anyLong());
+
+        job.execute();
+    }
+
+}
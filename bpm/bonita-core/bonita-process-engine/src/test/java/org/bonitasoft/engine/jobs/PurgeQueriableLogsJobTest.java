@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.jobs;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.Serializable;
+import java.util.Collections;
+
+import org.bonitasoft.engine.scheduler.JobParameter;
+import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
+import org.bonitasoft.engine.service.TenantServiceAccessor;
+import org.bonitasoft.engine.services.QueriableLoggerService;
+import org.bonitasoft.engine.services.SQueriableLogException;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
+import org.bonitasoft.engine.transaction.UserTransactionService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PurgeQueriableLogsJobTest {
+
+    @Mock
+    private TenantServiceAccessor tenantServiceAccessor;
+
+    @Mock
+    private QueriableLoggerService queriableLoggerService;
+
+    @Mock
+    private UserTransactionService transactionService;
+
+    private final PurgeQueriableLogsJob job = new PurgeQueriableLogsJob();
+
+    @Before
+    public void setUp() {
+        doReturn(queriableLoggerService).when(tenantServiceAccessor).getQueriableLoggerService();
+        doReturn(transactionService).when(tenantServiceAccessor).getUserTransactionService();
+        job.setAttributes(tenantServiceAccessor, Collections.<String, Serializable> singletonMap(JobParameter.BATCH_SIZE.name(), 10));
+    }
+
+    @Test
+    public void execute_should_execute_the_job_again_when_a_full_batch_was_deleted() throws Exception {
+        doReturn(10).when(queriableLoggerService).purgeExpiredLogs(10);
+
+        job.execute();
+
+        verify(transactionService).registerBonitaSynchronization(any(ExecuteAgainJobSynchronization.class));
+    }
+
+    @Test
+    public void execute_should_not_execute_the_job_again_when_the_purge_is_done() throws Exception {
+        doReturn(3).when(queriableLoggerService).purgeExpiredLogs(10);
+
+        job.execute();
+
+        verify(transactionService, never()).registerBonitaSynchronization(any(BonitaTransactionSynchronization.class));
+    }
+
+    @Test(expected = SJobExecutionException.class)
+    public void execute_should_fail_when_the_purge_fails() throws Exception {
+        doThrow(SQueriableLogException.class).when(queriableLoggerService).purgeExpiredLogs(10);
+
+        job.execute();
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bonitasoft.engine.persistence.PersistentObject;
+import org.bonitasoft.engine.persistence.QueryOptions;
+import org.bonitasoft.engine.search.descriptor.SearchEntityDescriptor;
+import org.junit.Test;
+
+public class AbstractSearchEntityTest {
+
+    @Test
+    public void should_count_all_results_by_default() throws Exception {
+        final IntegerSearch search = new IntegerSearch(new SearchOptionsBuilder(0, 10).done(), 25);
+
+        search.execute();
+
+        assertThat(search.getSearchResult().getCount()).isEqualTo(25);
+        assertThat(search.getSearchResult().getResult()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(search.getSearchResult().hasMoreResults()).isTrue();
+        assertThat(search.getSearchResult().isCountExact()).isTrue();
+        assertThat(search.numberOfCounts).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_have_more_results_on_the_last_page() throws Exception {
+        final IntegerSearch search = new IntegerSearch(new SearchOptionsBuilder(20, 10).done(), 25);
+
+        search.execute();
+
+        assertThat(search.getSearchResult().getResult()).containsExactly(20, 21, 22, 23, 24);
+        assertThat(search.getSearchResult().hasMoreResults()).isFalse();
+    }
+
+    @Test
+    public void should_read_one_more_result_instead_of_counting_when_count_is_disabled() throws Exception {
+        final IntegerSearch search = new IntegerSearch(new SearchOptionsBuilder(10, 10).withoutCount().done(), 25);
+
+        search.execute();
+
+        assertThat(search.getSearchResult().getCount()).isEqualTo(21);
+        assertThat(search.getSearchResult().isCountExact()).isFalse();
+        assertThat(search.getSearchResult().getResult()).containsExactly(10, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+        assertThat(search.getSearchResult().hasMoreResults()).isTrue();
+        assertThat(search.numberOfCounts).isEqualTo(0);
+        assertThat(search.lastSearchOptions.getNumberOfResults()).isEqualTo(11);
+    }
+
+    @Test
+    public void should_give_the_exact_count_on_the_last_page_when_count_is_disabled() throws Exception {
+        final IntegerSearch search = new IntegerSearch(new SearchOptionsBuilder(20, 10).withoutCount().done(), 25);
+
+        search.execute();
+
+        assertThat(search.getSearchResult().getCount()).isEqualTo(25);
+        assertThat(search.getSearchResult().isCountExact()).isTrue();
+        assertThat(search.getSearchResult().hasMoreResults()).isFalse();
+    }
+
+    @Test
+    public void should_not_know_the_count_after_the_last_page_when_count_is_disabled() throws Exception {
+        final IntegerSearch search = new IntegerSearch(new SearchOptionsBuilder(30, 10).withoutCount().done(), 25);
+
+        search.execute();
+
+        assertThat(search.getSearchResult().getCount()).isEqualTo(0);
+        assertThat(search.getSearchResult().isCountExact()).isFalse();
+        assertThat(search.getSearchResult().getResult()).isEmpty();
+    }
+
+    @Test
+    public void should_count_up_to_the_limit_when_count_is_capped() throws Exception {
+        final IntegerSearch search = new IntegerSearch(new SearchOptionsBuilder(10, 10).countUpTo(15).done(), 25);
+
+        search.execute();
+
+        assertThat(search.getSearchResult().getCount()).isEqualTo(15);
+        assertThat(search.getSearchResult().isCountExact()).isFalse();
+        assertThat(search.getSearchResult().getResult()).containsExactly(10, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+        assertThat(search.getSearchResult().hasMoreResults()).isTrue();
+        assertThat(search.lastCountOptions.getCountLimit()).isEqualTo(16);
+        assertThat(search.lastSearchOptions.getFromIndex()).isEqualTo(10);
+        assertThat(search.lastSearchOptions.getNumberOfResults()).isEqualTo(11);
+    }
+
+    @Test
+    public void should_give_the_exact_count_when_lower_than_the_limit() throws Exception {
+        final IntegerSearch search = new IntegerSearch(new SearchOptionsBuilder(0, 10).countUpTo(100).done(), 25);
+
+        search.execute();
+
+        assertThat(search.getSearchResult().getCount()).isEqualTo(25);
+        assertThat(search.getSearchResult().isCountExact()).isTrue();
+        assertThat(search.getSearchResult().getResult()).hasSize(10);
+        assertThat(search.getSearchResult().hasMoreResults()).isTrue();
+    }
+
+    @Test
+    public void should_not_search_when_capped_count_is_zero() throws Exception {
+        final IntegerSearch search = new IntegerSearch(new SearchOptionsBuilder(0, 10).countUpTo(100).done(), 0);
+
+        search.execute();
+
+        assertThat(search.getSearchResult().getCount()).isEqualTo(0);
+        assertThat(search.getSearchResult().getResult()).isEmpty();
+        assertThat(search.getSearchResult().hasMoreResults()).isFalse();
+        assertThat(search.lastSearchOptions).isNull();
+    }
+
+    private static class IntegerSearch extends AbstractSearchEntity<Integer, PersistentObject> {
+
+        private final int numberOfElements;
+
+        private int numberOfCounts;
+
+        private QueryOptions lastCountOptions;
+
+        private QueryOptions lastSearchOptions;
+
+        IntegerSearch(final SearchOptions options, final int numberOfElements) {
+            super(mock(SearchEntityDescriptor.class), options);
+            this.numberOfElements = numberOfElements;
+        }
+
+        @Override
+        public long executeCount(final QueryOptions queryOptions) {
+            numberOfCounts++;
+            lastCountOptions = queryOptions;
+            return Math.min(numberOfElements, queryOptions.getCountLimit());
+        }
+
+        @Override
+        public List<PersistentObject> executeSearch(final QueryOptions queryOptions) {
+            lastSearchOptions = queryOptions;
+            final List<PersistentObject> elements = new ArrayList<PersistentObject>();
+            for (int i = queryOptions.getFromIndex(); i < numberOfElements && elements.size() < queryOptions.getNumberOfResults(); i++) {
+                final PersistentObject element = mock(PersistentObject.class);
+                doReturn((long) i).when(element).getId();
+                elements.add(element);
+            }
+            return elements;
+        }
+
+        CountedSearchResult<Integer> getSearchResult() {
+            return (CountedSearchResult<Integer>) getResult();
+        }
+
+        @Override
+        public List<Integer> convertToClientObjects(final List<PersistentObject> serverObjects) {
+            final List<Integer> clientObjects = new ArrayList<Integer>(serverObjects.size());
+            for (final PersistentObject serverObject : serverObjects) {
+                clientObjects.add((int) serverObject.getId());
+            }
+            return clientObjects;
+        }
+    }
+
+}
@@ -66,6 +66,16 @@ public interface ActivityInstanceService extends FlowNodeInstanceService {
      */
     void createActivityInstance(SActivityInstance activityInstance) throws SActivityCreationException;
 
+    /**
+     * Create the given activity instances in DB. When nobody listens to the creation of activity instances they are inserted in JDBC batches.
+     *
+     * @param activityInstances
+     *        the SActivityInstance objects to create
+     * @throws SActivityCreationException
+     * @since 7.2
+     */
+    void createActivityInstances(List<SActivityInstance> activityInstances) throws SActivityCreationException;
+
     /**
      * Create a new pending activity mapping in DB
      *
@@ -150,12 +160,10 @@ public interface ActivityInstanceService extends FlowNodeInstanceService {
     SAActivityInstance getMostRecentArchivedActivityInstance(long activityInstanceId) throws SActivityReadException, SActivityInstanceNotFoundException;
 
     /**
-     * Get pending tasks for the user in specific actors. This is used for pagination
+     * Get pending tasks the user is a candidate for, as listed in the pending task inbox. This is used for pagination
      *
      * @param userId
      *        identifier of user
-     * @param actorIds
-     *        identifiers of actor
      * @param fromIndex
      *        Index of the record to be retrieved from. First record has index 0
      * @param maxResults
@@ -167,7 +175,7 @@ public interface ActivityInstanceService extends FlowNodeInstanceService {
      * @return a list of SActivityInstance objects
      * @throws SActivityReadException
      */
-    List<SHumanTaskInstance> getPendingTasks(long userId, Set<Long> actorIds, int fromIndex, int maxResults, String sortFieldName, OrderByType order)
+    List<SHumanTaskInstance> getPendingTasks(long userId, int fromIndex, int maxResults, String sortFieldName, OrderByType order)
             throws SActivityReadException;
 
     /**
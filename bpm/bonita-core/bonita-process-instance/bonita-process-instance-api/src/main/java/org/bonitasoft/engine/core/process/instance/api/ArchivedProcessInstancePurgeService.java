@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.process.instance.api;
+
+import java.util.List;
+
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SProcessInstanceModificationException;
+import org.bonitasoft.engine.persistence.SBonitaReadException;
+
+/**
+ * Deletes whole trees of archived process instances with set-based statements.
+ * A tree is identified by the id of its root process instance: all archived elements of the root process instance and of its called process
+ * instances are deleted together, without loading them.
+ * No delete event is fired for the deleted archived elements.
+ *
+ * @since 7.2
+ */
+public interface ArchivedProcessInstancePurgeService {
+
+    /**
+     * Get the ids of the archived root process instances of a process definition that ended in the given period and that are no more running.
+     * Ids are returned in ascending order, starting after the given id, so that the selection can be resumed from the last id returned.
+     *
+     * @param processDefinitionId
+     *            the id of the process definition of the root process instances
+     * @param fromEndDate
+     *            the lowest end date, inclusive, in milliseconds
+     * @param toEndDate
+     *            the highest end date, exclusive, in milliseconds
+     * @param afterRootProcessInstanceId
+     *            only ids greater than this one are returned
+     * @param maxResults
+     *            the maximum number of ids to return
+     * @return the ids of the root process instances to purge
+     * @throws SBonitaReadException
+     */
+    List<Long> getRootProcessInstanceIdsToPurge(long processDefinitionId, long fromEndDate, long toEndDate, long afterRootProcessInstanceId,
+            int maxResults) throws SBonitaReadException;
+
+    /**
+     * Get the ids of the archived root process instances, of any process definition, that were archived in a final state before the given date and
+     * that are no more running. Ids are returned in ascending order.
+     *
+     * @param archiveDate
+     *            the date before which the root process instances were archived, exclusive, in milliseconds
+     * @param maxResults
+     *            the maximum number of ids to return
+     * @return the ids of the root process instances to purge
+     * @throws SBonitaReadException
+     */
+    List<Long> getRootProcessInstanceIdsArchivedBefore(long archiveDate, int maxResults) throws SBonitaReadException;
+
+    /**
+     * Delete the archived process instances, flow nodes, data, connectors, comments, contract data and documents of the given root process
+     * instances and of all process instances they called.
+     *
+     * @param rootProcessInstanceIds
+     *            the ids of root process instances that are no more running
+     * @return the number of archived process instances deleted
+     * @throws SProcessInstanceModificationException
+     */
+    int purge(List<Long> rootProcessInstanceIds) throws SProcessInstanceModificationException;
+
+}
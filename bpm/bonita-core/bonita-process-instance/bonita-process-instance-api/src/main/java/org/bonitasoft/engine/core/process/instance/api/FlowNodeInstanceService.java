@@ -316,6 +316,17 @@ public interface FlowNodeInstanceService {
      */
     void deleteFlowNodeInstance(SFlowNodeInstance sFlowNodeInstance) throws SFlowNodeReadException, SFlowNodeDeletionException;
 
+    /**
+     * Delete all flow node instances of a process instance, using one statement when no handler is registered on their deletion.
+     * The elements of the flow node instances must have been deleted before.
+     *
+     * @param parentProcessInstanceId
+     *        id of the process instance containing the flow node instances
+     * @throws SFlowNodeDeletionException
+     * @since 7.2
+     */
+    void deleteFlowNodeInstances(long parentProcessInstanceId) throws SFlowNodeDeletionException;
+
     /**
      * Get the process instance ID. It can be itself if containerType is a PROCESS_INSTANCE, or the containing process instance id if containerType is a
      * ACTIVITY_INSTANCE.
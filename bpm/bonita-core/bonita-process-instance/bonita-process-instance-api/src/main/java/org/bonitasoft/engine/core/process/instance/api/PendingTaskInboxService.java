@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.process.instance.api;
+
+import java.util.List;
+
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityModificationException;
+import org.bonitasoft.engine.core.process.instance.model.SPendingActivityMapping;
+import org.bonitasoft.engine.persistence.SBonitaReadException;
+
+/**
+ * Maintains the pending task inbox: the users that can execute each pending human task.
+ * <p>
+ * The inbox is computed from the {@link SPendingActivityMapping}s of the tasks, the actor members and the user memberships, and must be kept up to
+ * date when any of them changes. It can be rebuilt from scratch and checked against what the mappings give if it is suspected to be out of date.
+ * </p>
+ * <p>
+ * The inbox holds one entry per candidate user of each pending task, so a task mapped to an actor containing a group or a role of n users costs n
+ * inserts when it becomes pending, and a membership or actor member change touches every pending task of the actors concerned. Actors mapped to
+ * very large groups or roles make the inbox grow and its maintenance cost accordingly.
+ * </p>
+ */
+public interface PendingTaskInboxService {
+
+    /**
+     * Add to the inbox the users that can execute the task of the mapping through this mapping
+     */
+    void addCandidates(SPendingActivityMapping mapping) throws SActivityModificationException;
+
+    /**
+     * Remove all the entries of the task from the inbox, e.g. when the task is not pending anymore
+     */
+    void deleteCandidates(long humanTaskInstanceId) throws SActivityModificationException;
+
+    /**
+     * Remove all the entries of the inbox of the tenant
+     */
+    void deleteAllCandidates() throws SActivityModificationException;
+
+    /**
+     * Add the users of a new actor member to the inbox of the pending tasks of its actor.
+     * Exactly one of userId, groupId or roleId is set, except for a membership member that have both groupId and roleId; the others are <= 0.
+     */
+    void actorMemberAdded(long actorId, long userId, long groupId, long roleId) throws SActivityModificationException;
+
+    /**
+     * Rebuild the inbox of the pending tasks of the actor after one of its members was removed
+     */
+    void actorMemberDeleted(long actorId) throws SActivityModificationException;
+
+    /**
+     * Add the user to the inbox of the pending tasks of the actors mapped to the group and/or the role of the new membership
+     */
+    void userMembershipAdded(long userId, long groupId, long roleId) throws SActivityModificationException;
+
+    /**
+     * Remove the user from the inbox of the pending tasks that were only available to this user through the deleted membership
+     */
+    void userMembershipDeleted(long userId, long groupId, long roleId) throws SActivityModificationException;
+
+    /**
+     * Recompute the entries of a single task from its pending mappings
+     */
+    void rebuild(long humanTaskInstanceId) throws SActivityModificationException;
+
+    /**
+     * Delete the whole inbox of the tenant and recompute it from the pending mappings
+     * 
+     * @return the number of pending tasks put in the inbox
+     */
+    long rebuildAll() throws SActivityModificationException;
+
+    /**
+     * Compare the inbox with what the pending mappings, the actor members and the user memberships give
+     * 
+     * @return the ids of the tasks having missing or extra entries in the inbox
+     */
+    List<Long> getInconsistentTasks() throws SBonitaReadException;
+
+    /**
+     * @return the ids of the users in the inbox of the task
+     */
+    List<Long> getCandidates(long humanTaskInstanceId) throws SBonitaReadException;
+
+    /**
+     * @return false if the inbox is empty while some pending tasks have mappings, which is the case of a tenant created before the inbox existed
+     */
+    boolean isBuilt() throws SBonitaReadException;
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.process.instance.model;
+
+import org.bonitasoft.engine.persistence.PersistentObject;
+
+/**
+ * Entry of the pending task inbox: a user that can execute a pending human task.
+ * The inbox is the materialized result of the {@link SPendingActivityMapping}s of the task resolved against the actor members and the user
+ * memberships, so that the pending tasks of a user can be found with a single indexed lookup.
+ */
+public interface SPendingTaskInboxEntry extends PersistentObject {
+
+    /**
+     * the id of the user that can execute the task
+     */
+    long getUserId();
+
+    /**
+     * the id of the pending human task instance
+     */
+    long getHumanTaskInstanceId();
+
+}
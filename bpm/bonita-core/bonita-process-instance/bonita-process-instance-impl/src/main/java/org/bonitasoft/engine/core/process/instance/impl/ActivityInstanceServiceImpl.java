@@ -29,6 +29,7 @@ import org.bonitasoft.engine.core.connector.ConnectorInstanceService;
 import org.bonitasoft.engine.core.connector.exception.SConnectorInstanceDeletionException;
 import org.bonitasoft.engine.core.process.definition.model.SFlowNodeType;
 import org.bonitasoft.engine.core.process.instance.api.ActivityInstanceService;
+import org.bonitasoft.engine.core.process.instance.api.PendingTaskInboxService;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityCreationException;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityInstanceNotFoundException;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityModificationException;
@@ -78,6 +79,7 @@ import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.persistence.search.FilterOperationType;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
 import org.bonitasoft.engine.recorder.model.DeleteAllRecord;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
@@ -126,12 +128,15 @@ public class ActivityInstanceServiceImpl extends FlowNodeInstancesServiceImpl im
 
     private final ConnectorInstanceService connectorInstanceService;
 
+    private final PendingTaskInboxService pendingTaskInboxService;
+
     public ActivityInstanceServiceImpl(final Recorder recorder, final PersistenceService persistenceService, final ArchiveService archiveService,
             final DataInstanceService dataInstanceService, final ConnectorInstanceService connectorInstanceService, final EventService eventService,
-            final TechnicalLoggerService logger) {
+            final TechnicalLoggerService logger, final PendingTaskInboxService pendingTaskInboxService) {
         super(recorder, persistenceService, eventService, logger, archiveService);
         this.dataInstanceService = dataInstanceService;
         this.connectorInstanceService = connectorInstanceService;
+        this.pendingTaskInboxService = pendingTaskInboxService;
         sUserTaskInstanceBuilder = BuilderFactory.get(SUserTaskInstanceBuilderFactory.class);
         sMultiInstanceActivityInstanceBuilder = BuilderFactory.get(SMultiInstanceActivityInstanceBuilderFactory.class);
     }
@@ -172,6 +177,31 @@ public class ActivityInstanceServiceImpl extends FlowNodeInstancesServiceImpl im
         }
     }
 
+    @Override
+    public void createActivityInstances(final List<SActivityInstance> activityInstances) throws SActivityCreationException {
+        if (activityInstances.isEmpty()) {
+            return;
+        }
+        if (getEventService().hasHandlers(ACTIVITYINSTANCE, EventActionType.CREATED)) {
+            // handlers expect one event per activity instance
+            for (final SActivityInstance activityInstance : activityInstances) {
+                createActivityInstance(activityInstance);
+            }
+            return;
+        }
+        try {
+            getRecorder().recordBatchInsert(new BatchInsertRecord(activityInstances), null);
+        } catch (final SRecorderException e) {
+            throw new SActivityCreationException(e);
+        }
+        if (getLogger().isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
+            final SActivityInstance first = activityInstances.get(0);
+            getLogger().log(this.getClass(), TechnicalLogSeverity.DEBUG, "Created " + activityInstances.size() + " " + first.getType().getValue() + " <"
+                    + first.getName() + "> in batch, parent activity instance id = <" + first.getParentActivityInstanceId()
+                    + ">, root process instance id = <" + first.getRootProcessInstanceId() + ">");
+        }
+    }
+
     @Override
     public void addPendingActivityMappings(final SPendingActivityMapping mapping) throws SActivityCreationException {
         final InsertRecord insertRecord = new InsertRecord(mapping);
@@ -182,8 +212,11 @@ public class ActivityInstanceServiceImpl extends FlowNodeInstancesServiceImpl im
         }
         try {
             getRecorder().recordInsert(insertRecord, insertEvent);
+            pendingTaskInboxService.addCandidates(mapping);
         } catch (final SRecorderException e) {
             throw new SActivityCreationException(e);
+        } catch (final SActivityModificationException e) {
+            throw new SActivityCreationException(e);
         }
     }
 
@@ -196,6 +229,7 @@ public class ActivityInstanceServiceImpl extends FlowNodeInstancesServiceImpl im
             while (!(mappings = getPendingMappings(humanTaskInstanceId, queryOptions)).isEmpty()) {
                 deletePendingMappings(mappings, createEvents);
             }
+            pendingTaskInboxService.deleteCandidates(humanTaskInstanceId);
         } catch (final SBonitaException e) {
             throw new SActivityModificationException(e);
         }
@@ -225,6 +259,8 @@ public class ActivityInstanceServiceImpl extends FlowNodeInstancesServiceImpl im
         } catch (final SRecorderException e) {
             throw new SActivityModificationException("Can't delete all pending mappings not attached to an actor.", e);
         }
+        // only called when the organization is deleted: no user remains to be a candidate of any task
+        pendingTaskInboxService.deleteAllCandidates();
     }
 
     /**
@@ -328,15 +364,11 @@ public class ActivityInstanceServiceImpl extends FlowNodeInstancesServiceImpl im
     }
 
     @Override
-    public List<SHumanTaskInstance> getPendingTasks(final long userId, final Set<Long> actorIds, final int fromIndex, final int maxResults,
-            final String sortFieldName, final OrderByType order) throws SActivityReadException {
+    public List<SHumanTaskInstance> getPendingTasks(final long userId, final int fromIndex, final int maxResults, final String sortFieldName,
+            final OrderByType order) throws SActivityReadException {
         try {
-        final SelectListDescriptor<SHumanTaskInstance> selectListDescriptor;
-        if (actorIds.isEmpty()) {
-            selectListDescriptor = SelectDescriptorBuilder.getPendingUserTasks(userId, fromIndex, maxResults, sortFieldName, order);
-        } else {
-            selectListDescriptor = SelectDescriptorBuilder.getPendingUserTasks(userId, actorIds, fromIndex, maxResults, sortFieldName, order);
-        }
+        final SelectListDescriptor<SHumanTaskInstance> selectListDescriptor = SelectDescriptorBuilder.getPendingUserTasks(userId, fromIndex, maxResults,
+                sortFieldName, order);
         return getPersistenceService().selectList(selectListDescriptor);
         } catch (final SBonitaReadException bre) {
             throw new SActivityReadException(bre);
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.process.instance.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.core.document.api.DocumentService;
+import org.bonitasoft.engine.core.process.instance.api.ArchivedProcessInstancePurgeService;
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SProcessInstanceModificationException;
+import org.bonitasoft.engine.core.process.instance.model.archive.SAProcessInstance;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.OrderByType;
+import org.bonitasoft.engine.persistence.QueryOptions;
+import org.bonitasoft.engine.persistence.SBonitaReadException;
+import org.bonitasoft.engine.persistence.SelectListDescriptor;
+import org.bonitasoft.engine.services.PersistenceService;
+import org.bonitasoft.engine.sessionaccessor.ReadSessionAccessor;
+
+/**
+ * Purge archived process instance trees using the bulk statements of archived.process.instance.queries.hbm.xml.
+ * Elements of called process instances are found using the root process instance id of the archived process instances and the root container id
+ * of the archived flow nodes, so a tree is deleted with a fixed number of statements whatever its size.
+ * Documents are still deleted one by one by the {@link DocumentService} because their content may have to be released.
+ */
+public class ArchivedProcessInstancePurgeServiceImpl implements ArchivedProcessInstancePurgeService {
+
+    private static final String[] DELETE_STATEMENTS = {
+            "deleteArchivedDataInstancesOfProcessInstanceTrees",
+            "deleteArchivedDataInstancesOfFlowNodeInstanceTrees",
+            "deleteArchivedConnectorInstancesOfProcessInstanceTrees",
+            "deleteArchivedConnectorInstancesOfFlowNodeInstanceTrees",
+            "deleteArchivedCommentsOfProcessInstanceTrees",
+            "deleteArchivedProcessContractDataOfProcessInstanceTrees",
+            "deleteArchivedTaskContractDataOfFlowNodeInstanceTrees",
+            "deleteArchivedFlowNodeInstancesOfProcessInstanceTrees" };
+
+    private static final String DELETE_PROCESS_INSTANCES = "deleteArchivedProcessInstanceTrees";
+
+    private final PersistenceService persistenceService;
+
+    private final DocumentService documentService;
+
+    private final ReadSessionAccessor sessionAccessor;
+
+    private final TechnicalLoggerService logger;
+
+    public ArchivedProcessInstancePurgeServiceImpl(final PersistenceService persistenceService, final DocumentService documentService,
+            final ReadSessionAccessor sessionAccessor, final TechnicalLoggerService logger) {
+        this.persistenceService = persistenceService;
+        this.documentService = documentService;
+        this.sessionAccessor = sessionAccessor;
+        this.logger = logger;
+    }
+
+    @Override
+    public List<Long> getRootProcessInstanceIdsToPurge(final long processDefinitionId, final long fromEndDate, final long toEndDate,
+            final long afterRootProcessInstanceId, final int maxResults) throws SBonitaReadException {
+        final Map<String, Object> inputParameters = new HashMap<String, Object>(4);
+        inputParameters.put("processDefinitionId", processDefinitionId);
+        inputParameters.put("fromEndDate", fromEndDate);
+        inputParameters.put("toEndDate", toEndDate);
+        inputParameters.put("afterRootProcessInstanceId", afterRootProcessInstanceId);
+        final QueryOptions queryOptions = new QueryOptions(0, maxResults, SAProcessInstance.class, "sourceObjectId", OrderByType.ASC);
+        return persistenceService.selectList(new SelectListDescriptor<Long>("getArchivedRootProcessInstanceIdsToPurge", inputParameters,
+                SAProcessInstance.class, queryOptions));
+    }
+
+    @Override
+    public List<Long> getRootProcessInstanceIdsArchivedBefore(final long archiveDate, final int maxResults) throws SBonitaReadException {
+        final Map<String, Object> inputParameters = new HashMap<String, Object>(1);
+        inputParameters.put("archiveDate", archiveDate);
+        final QueryOptions queryOptions = new QueryOptions(0, maxResults, SAProcessInstance.class, "sourceObjectId", OrderByType.ASC);
+        return persistenceService.selectList(new SelectListDescriptor<Long>("getArchivedRootProcessInstanceIdsArchivedBefore", inputParameters,
+                SAProcessInstance.class, queryOptions));
+    }
+
+    @Override
+    public int purge(final List<Long> rootProcessInstanceIds) throws SProcessInstanceModificationException {
+        if (rootProcessInstanceIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            deleteArchivedDocuments(rootProcessInstanceIds);
+            final Map<String, Object> parameters = new HashMap<String, Object>(2);
+            parameters.put("tenantId", sessionAccessor.getTenantId());
+            parameters.put("rootProcessInstanceIds", rootProcessInstanceIds);
+            for (final String statement : DELETE_STATEMENTS) {
+                final int deleted = persistenceService.update(statement, parameters);
+                if (logger.isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
+                    logger.log(getClass(), TechnicalLogSeverity.DEBUG, statement + ": " + deleted + " rows deleted");
+                }
+            }
+            return persistenceService.update(DELETE_PROCESS_INSTANCES, parameters);
+        } catch (final SBonitaException e) {
+            throw new SProcessInstanceModificationException(e);
+        }
+    }
+
+    private void deleteArchivedDocuments(final List<Long> rootProcessInstanceIds) throws SBonitaException {
+        final Map<String, Object> inputParameters = new HashMap<String, Object>(1);
+        inputParameters.put("rootProcessInstanceIds", rootProcessInstanceIds);
+        final List<Long> processInstanceIds = persistenceService.selectList(new SelectListDescriptor<Long>("getArchivedProcessInstanceIdsOfTrees",
+                inputParameters, SAProcessInstance.class, QueryOptions.countQueryOptions()));
+        for (final Long processInstanceId : processInstanceIds) {
+            documentService.deleteArchivedDocuments(processInstanceId);
+        }
+    }
+
+}
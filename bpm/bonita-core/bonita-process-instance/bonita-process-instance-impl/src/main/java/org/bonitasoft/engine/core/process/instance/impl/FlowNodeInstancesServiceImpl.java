@@ -60,6 +60,7 @@ import org.bonitasoft.engine.queriablelogger.model.builder.HasCRUDEAction;
 import org.bonitasoft.engine.queriablelogger.model.builder.SLogBuilder;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.BulkDeleteRecord;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
 import org.bonitasoft.engine.recorder.model.UpdateRecord;
@@ -481,6 +482,17 @@ public abstract class FlowNodeInstancesServiceImpl implements FlowNodeInstanceSe
         }
     }
 
+    @Override
+    public void deleteFlowNodeInstances(final long parentProcessInstanceId) throws SFlowNodeDeletionException {
+        final FilterOption filterOption = new FilterOption(SFlowNodeInstance.class, activityInstanceKeyProvider.getParentProcessInstanceKey(),
+                parentProcessInstanceId);
+        try {
+            recorder.recordBulkDelete(new BulkDeleteRecord(SFlowNodeInstance.class, Collections.singletonList(filterOption), FLOWNODE_INSTANCE));
+        } catch (final SRecorderException e) {
+            throw new SFlowNodeDeletionException(e);
+        }
+    }
+
     @Override
     public void deleteArchivedFlowNodeInstance(final SAFlowNodeInstance saFlowNodeInstance) throws SFlowNodeDeletionException {
         final DeleteRecord deleteRecord = new DeleteRecord(saFlowNodeInstance);
@@ -0,0 +1,357 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.process.instance.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.core.process.instance.api.PendingTaskInboxService;
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityModificationException;
+import org.bonitasoft.engine.core.process.instance.model.SPendingActivityMapping;
+import org.bonitasoft.engine.core.process.instance.model.SPendingTaskInboxEntry;
+import org.bonitasoft.engine.core.process.instance.model.impl.SPendingTaskInboxEntryImpl;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.PersistentObject;
+import org.bonitasoft.engine.persistence.QueryOptions;
+import org.bonitasoft.engine.persistence.ReadPersistenceService;
+import org.bonitasoft.engine.persistence.SBonitaReadException;
+import org.bonitasoft.engine.persistence.SelectListDescriptor;
+import org.bonitasoft.engine.recorder.Recorder;
+import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
+import org.bonitasoft.engine.recorder.model.DeleteAllRecord;
+import org.bonitasoft.engine.recorder.model.DeleteRecord;
+
+/**
+ * Keeps the pending task inbox up to date incrementally: each change only touches the tasks of the actors concerned by the change.
+ * Lists of ids given to queries are split in batches of {@value #BATCH_SIZE} to keep the IN clauses small.
+ */
+public class PendingTaskInboxServiceImpl implements PendingTaskInboxService {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final Recorder recorder;
+
+    private final ReadPersistenceService persistenceService;
+
+    private final TechnicalLoggerService logger;
+
+    public PendingTaskInboxServiceImpl(final Recorder recorder, final ReadPersistenceService persistenceService, final TechnicalLoggerService logger) {
+        this.recorder = recorder;
+        this.persistenceService = persistenceService;
+        this.logger = logger;
+    }
+
+    @Override
+    public void addCandidates(final SPendingActivityMapping mapping) throws SActivityModificationException {
+        try {
+            addCandidates(mapping.getActivityId(), getUserIdsOfMapping(mapping));
+        } catch (final SBonitaException e) {
+            throw new SActivityModificationException(e);
+        }
+    }
+
+    @Override
+    public void deleteCandidates(final long humanTaskInstanceId) throws SActivityModificationException {
+        try {
+            final Map<String, Object> parameters = Collections.<String, Object> singletonMap("humanTaskInstanceId", humanTaskInstanceId);
+            List<SPendingTaskInboxEntry> entries;
+            while (!(entries = selectEntries("getPendingTaskInboxEntriesOfTask", parameters)).isEmpty()) {
+                delete(entries);
+            }
+        } catch (final SBonitaException e) {
+            throw new SActivityModificationException(e);
+        }
+    }
+
+    @Override
+    public void deleteAllCandidates() throws SActivityModificationException {
+        try {
+            recorder.recordDeleteAll(new DeleteAllRecord(SPendingTaskInboxEntry.class, null));
+        } catch (final SRecorderException e) {
+            throw new SActivityModificationException("Can't delete the pending task inbox.", e);
+        }
+    }
+
+    @Override
+    public void actorMemberAdded(final long actorId, final long userId, final long groupId, final long roleId) throws SActivityModificationException {
+        try {
+            final List<Long> taskIds = getPendingTaskIdsOfActors(Collections.singletonList(actorId));
+            if (taskIds.isEmpty()) {
+                return;
+            }
+            final Set<Long> userIds = getUserIdsOfMember(userId, groupId, roleId);
+            final List<SPendingTaskInboxEntry> entries = new ArrayList<SPendingTaskInboxEntry>();
+            for (final Long taskId : taskIds) {
+                entries.addAll(getNewEntries(taskId, userIds));
+            }
+            insert(entries);
+        } catch (final SBonitaException e) {
+            throw new SActivityModificationException(e);
+        }
+    }
+
+    @Override
+    public void actorMemberDeleted(final long actorId) throws SActivityModificationException {
+        try {
+            for (final Long taskId : getPendingTaskIdsOfActors(Collections.singletonList(actorId))) {
+                rebuild(taskId);
+            }
+        } catch (final SBonitaReadException e) {
+            throw new SActivityModificationException(e);
+        }
+    }
+
+    @Override
+    public void userMembershipAdded(final long userId, final long groupId, final long roleId) throws SActivityModificationException {
+        try {
+            final Set<Long> user = Collections.singleton(userId);
+            final List<SPendingTaskInboxEntry> entries = new ArrayList<SPendingTaskInboxEntry>();
+            for (final Long taskId : getPendingTaskIdsOfMembership(groupId, roleId)) {
+                entries.addAll(getNewEntries(taskId, user));
+            }
+            insert(entries);
+        } catch (final SBonitaException e) {
+            throw new SActivityModificationException(e);
+        }
+    }
+
+    @Override
+    public void userMembershipDeleted(final long userId, final long groupId, final long roleId) throws SActivityModificationException {
+        try {
+            final List<Long> taskIds = getPendingTaskIdsOfMembership(groupId, roleId);
+            for (final List<Long> batch : split(taskIds)) {
+                final Map<String, Object> parameters = new HashMap<String, Object>(2);
+                parameters.put("userId", userId);
+                parameters.put("humanTaskInstanceIds", batch);
+                // the user may still be a candidate of some of these tasks through another membership, an actor member or a user mapping
+                final Set<Long> stillCandidate = new HashSet<Long>(selectAllIds("getPendingTaskIdsOfUserAmong", parameters, SPendingActivityMapping.class));
+                final List<SPendingTaskInboxEntry> entries = selectEntries("getPendingTaskInboxEntriesOfUser", parameters);
+                for (final SPendingTaskInboxEntry entry : entries) {
+                    if (!stillCandidate.contains(entry.getHumanTaskInstanceId())) {
+                        delete(entry);
+                    }
+                }
+            }
+        } catch (final SBonitaException e) {
+            throw new SActivityModificationException(e);
+        }
+    }
+
+    @Override
+    public void rebuild(final long humanTaskInstanceId) throws SActivityModificationException {
+        deleteCandidates(humanTaskInstanceId);
+        try {
+            addCandidates(humanTaskInstanceId, getExpectedCandidates(humanTaskInstanceId));
+        } catch (final SBonitaException e) {
+            throw new SActivityModificationException(e);
+        }
+    }
+
+    @Override
+    public long rebuildAll() throws SActivityModificationException {
+        deleteAllCandidates();
+        long numberOfTasks = 0;
+        try {
+            List<Long> taskIds;
+            int fromIndex = 0;
+            do {
+                taskIds = getPendingTaskIdsWithMapping(fromIndex);
+                for (final Long taskId : taskIds) {
+                    addCandidates(taskId, getExpectedCandidates(taskId));
+                }
+                numberOfTasks += taskIds.size();
+                fromIndex += BATCH_SIZE;
+            } while (taskIds.size() == BATCH_SIZE);
+        } catch (final SBonitaException e) {
+            throw new SActivityModificationException(e);
+        }
+        if (logger.isLoggable(getClass(), TechnicalLogSeverity.INFO)) {
+            logger.log(getClass(), TechnicalLogSeverity.INFO, "Pending task inbox rebuilt for " + numberOfTasks + " pending tasks");
+        }
+        return numberOfTasks;
+    }
+
+    @Override
+    public List<Long> getInconsistentTasks() throws SBonitaReadException {
+        final List<Long> inconsistentTasks = new ArrayList<Long>();
+        List<Long> taskIds;
+        int fromIndex = 0;
+        do {
+            taskIds = getPendingTaskIdsWithMapping(fromIndex);
+            for (final Long taskId : taskIds) {
+                if (!getExpectedCandidates(taskId).equals(new HashSet<Long>(getCandidates(taskId)))) {
+                    inconsistentTasks.add(taskId);
+                }
+            }
+            fromIndex += BATCH_SIZE;
+        } while (taskIds.size() == BATCH_SIZE);
+        inconsistentTasks.addAll(selectAllIds("getPendingTaskInboxTaskIdsWithoutMapping", Collections.<String, Object> emptyMap(),
+                SPendingTaskInboxEntry.class));
+        return inconsistentTasks;
+    }
+
+    @Override
+    public List<Long> getCandidates(final long humanTaskInstanceId) throws SBonitaReadException {
+        return selectAllIds("getPendingTaskInboxUserIdsOfTask", Collections.<String, Object> singletonMap("humanTaskInstanceId", humanTaskInstanceId),
+                SPendingTaskInboxEntry.class);
+    }
+
+    @Override
+    public boolean isBuilt() throws SBonitaReadException {
+        final QueryOptions firstResult = new QueryOptions(0, 1);
+        if (!persistenceService.selectList(new SelectListDescriptor<SPendingTaskInboxEntry>("getPendingTaskInboxEntries",
+                Collections.<String, Object> emptyMap(), SPendingTaskInboxEntry.class, firstResult)).isEmpty()) {
+            return true;
+        }
+        return persistenceService.selectList(new SelectListDescriptor<Long>("getPendingTaskIdsWithMapping", Collections.<String, Object> emptyMap(),
+                SPendingActivityMapping.class, Long.class, firstResult)).isEmpty();
+    }
+
+    private void addCandidates(final long humanTaskInstanceId, final Collection<Long> userIds) throws SBonitaReadException, SRecorderException {
+        insert(getNewEntries(humanTaskInstanceId, userIds));
+    }
+
+    private List<SPendingTaskInboxEntry> getNewEntries(final long humanTaskInstanceId, final Collection<Long> userIds) throws SBonitaReadException {
+        if (userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Set<Long> newCandidates = new HashSet<Long>(userIds);
+        newCandidates.removeAll(getCandidates(humanTaskInstanceId));
+        final List<SPendingTaskInboxEntry> entries = new ArrayList<SPendingTaskInboxEntry>(newCandidates.size());
+        for (final Long userId : newCandidates) {
+            entries.add(new SPendingTaskInboxEntryImpl(userId, humanTaskInstanceId));
+        }
+        return entries;
+    }
+
+    private void insert(final List<SPendingTaskInboxEntry> entries) throws SRecorderException {
+        if (!entries.isEmpty()) {
+            recorder.recordBatchInsert(new BatchInsertRecord(entries), null);
+        }
+    }
+
+    private Set<Long> getExpectedCandidates(final long humanTaskInstanceId) throws SBonitaReadException {
+        final Set<Long> userIds = new HashSet<Long>();
+        final List<SPendingActivityMapping> mappings = persistenceService.selectList(new SelectListDescriptor<SPendingActivityMapping>(
+                "getPendingMappingsOfTask", Collections.<String, Object> singletonMap("activityId", humanTaskInstanceId), SPendingActivityMapping.class,
+                new QueryOptions(0, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS)));
+        for (final SPendingActivityMapping mapping : mappings) {
+            userIds.addAll(getUserIdsOfMapping(mapping));
+        }
+        return userIds;
+    }
+
+    private Set<Long> getUserIdsOfMapping(final SPendingActivityMapping mapping) throws SBonitaReadException {
+        if (mapping.getUserId() > 0) {
+            return Collections.singleton(mapping.getUserId());
+        }
+        final Set<Long> userIds = new HashSet<Long>();
+        if (mapping.getActorId() > 0) {
+            final Map<String, Object> parameters = Collections.<String, Object> singletonMap("actorId", mapping.getActorId());
+            userIds.addAll(selectAllIds("getUserIdsOfActorUserMembers", parameters, SPendingActivityMapping.class));
+            userIds.addAll(selectAllIds("getUserIdsOfActorMembershipMembers", parameters, SPendingActivityMapping.class));
+        }
+        return userIds;
+    }
+
+    private Set<Long> getUserIdsOfMember(final long userId, final long groupId, final long roleId) throws SBonitaReadException {
+        if (userId > 0) {
+            return Collections.singleton(userId);
+        }
+        final Map<String, Object> parameters = new HashMap<String, Object>(2);
+        final String queryName;
+        if (groupId > 0 && roleId > 0) {
+            queryName = "getUserIdsWithMembership";
+            parameters.put("groupId", groupId);
+            parameters.put("roleId", roleId);
+        } else if (groupId > 0) {
+            queryName = "getUserIdsWithMembershipInGroup";
+            parameters.put("groupId", groupId);
+        } else if (roleId > 0) {
+            queryName = "getUserIdsWithMembershipInRole";
+            parameters.put("roleId", roleId);
+        } else {
+            return Collections.emptySet();
+        }
+        return new HashSet<Long>(selectAllIds(queryName, parameters, SPendingActivityMapping.class));
+    }
+
+    private List<Long> getPendingTaskIdsOfMembership(final long groupId, final long roleId) throws SBonitaReadException {
+        final Map<String, Object> parameters = new HashMap<String, Object>(2);
+        parameters.put("groupId", groupId);
+        parameters.put("roleId", roleId);
+        return getPendingTaskIdsOfActors(selectAllIds("getActorIdsOfMembership", parameters, SPendingActivityMapping.class));
+    }
+
+    private List<Long> getPendingTaskIdsOfActors(final List<Long> actorIds) throws SBonitaReadException {
+        final Set<Long> taskIds = new HashSet<Long>();
+        for (final List<Long> batch : split(actorIds)) {
+            taskIds.addAll(selectAllIds("getPendingTaskIdsOfActors", Collections.<String, Object> singletonMap("actorIds", batch),
+                    SPendingActivityMapping.class));
+        }
+        return new ArrayList<Long>(taskIds);
+    }
+
+    private List<Long> getPendingTaskIdsWithMapping(final int fromIndex) throws SBonitaReadException {
+        return persistenceService.selectList(new SelectListDescriptor<Long>("getPendingTaskIdsWithMapping", Collections.<String, Object> emptyMap(),
+                SPendingActivityMapping.class, Long.class, new QueryOptions(fromIndex, BATCH_SIZE)));
+    }
+
+    private List<Long> selectAllIds(final String queryName, final Map<String, Object> parameters, final Class<? extends PersistentObject> entityClass)
+            throws SBonitaReadException {
+        final List<Long> ids = new ArrayList<Long>();
+        List<Long> page;
+        int fromIndex = 0;
+        do {
+            page = persistenceService.selectList(new SelectListDescriptor<Long>(queryName, parameters, entityClass, Long.class, new QueryOptions(fromIndex,
+                    BATCH_SIZE)));
+            ids.addAll(page);
+            fromIndex += BATCH_SIZE;
+        } while (page.size() == BATCH_SIZE);
+        return ids;
+    }
+
+    private List<SPendingTaskInboxEntry> selectEntries(final String queryName, final Map<String, Object> parameters) throws SBonitaReadException {
+        return persistenceService.selectList(new SelectListDescriptor<SPendingTaskInboxEntry>(queryName, parameters, SPendingTaskInboxEntry.class,
+                new QueryOptions(0, BATCH_SIZE)));
+    }
+
+    private void delete(final List<SPendingTaskInboxEntry> entries) throws SRecorderException {
+        for (final SPendingTaskInboxEntry entry : entries) {
+            delete(entry);
+        }
+    }
+
+    private void delete(final SPendingTaskInboxEntry entry) throws SRecorderException {
+        recorder.recordDelete(new DeleteRecord(entry), null);
+    }
+
+    private static List<List<Long>> split(final List<Long> ids) {
+        final List<List<Long>> batches = new ArrayList<List<Long>>();
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            batches.add(ids.subList(i, Math.min(i + BATCH_SIZE, ids.size())));
+        }
+        return batches;
+    }
+
+}
@@ -44,6 +44,7 @@ import org.bonitasoft.engine.core.process.instance.api.ActivityInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.ProcessInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.event.EventInstanceService;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SAProcessInstanceNotFoundException;
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SFlowNodeDeletionException;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SFlowNodeNotFoundException;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SFlowNodeReadException;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SProcessInstanceCreationException;
@@ -450,12 +451,25 @@ public class ProcessInstanceServiceImpl implements ProcessInstanceService {
     private void deleteFlowNodeInstances(final long processInstanceId, final SProcessDefinition processDefinition) throws SFlowNodeReadException,
             SProcessInstanceModificationException {
         List<SFlowNodeInstance> activityInstances;
+        int fromIndex = 0;
         do {
-            activityInstances = activityService.getFlowNodeInstances(processInstanceId, 0, BATCH_SIZE);
+            // flow node instances are only deleted at the end, all together: page through them
+            activityInstances = activityService.getFlowNodeInstances(processInstanceId, fromIndex, BATCH_SIZE);
             for (final SFlowNodeInstance activityInstance : activityInstances) {
-                deleteFlowNodeInstance(activityInstance, processDefinition);
+                try {
+                    deleteFlowNodeInstanceElements(activityInstance, processDefinition);
+                } catch (final SBonitaException e) {
+                    setExceptionContext(processDefinition, activityInstance, e);
+                    throw new SProcessInstanceModificationException(e);
+                }
             }
+            fromIndex += BATCH_SIZE;
         } while (activityInstances.size() == BATCH_SIZE);
+        try {
+            activityService.deleteFlowNodeInstances(processInstanceId);
+        } catch (final SFlowNodeDeletionException e) {
+            throw new SProcessInstanceModificationException(e);
+        }
     }
 
     @Override
@@ -123,21 +123,12 @@ public class SelectDescriptorBuilder {
         return new SelectListDescriptor<SHumanTaskInstance>("getAssignedUserTasks", parameters, SHumanTaskInstance.class, queryOptions);
     }
 
-    public static SelectListDescriptor<SHumanTaskInstance> getPendingUserTasks(final long userId, final Set<Long> actorIds, final int fromIndex,
-            final int maxResults, final String sortFieldName, final OrderByType order) {
-        final Map<String, Object> parameters = new HashMap<String, Object>(3);
-        parameters.put("actorIds", actorIds);
-        parameters.put("userId", userId);
-        final QueryOptions queryOptions = new QueryOptions(fromIndex, maxResults, SActivityInstance.class, sortFieldName, order);
-        return new SelectListDescriptor<SHumanTaskInstance>("getPendingUserTasks", parameters, SHumanTaskInstance.class, queryOptions);
-    }
-
     public static SelectListDescriptor<SHumanTaskInstance> getPendingUserTasks(final long userId, final int fromIndex, final int maxResults,
             final String sortFieldName, final OrderByType order) {
         final Map<String, Object> parameters = new HashMap<String, Object>(3);
         parameters.put("userId", userId);
         final QueryOptions queryOptions = new QueryOptions(fromIndex, maxResults, SActivityInstance.class, sortFieldName, order);
-        return new SelectListDescriptor<SHumanTaskInstance>("getPendingUserTasksWithoutActorIds", parameters, SHumanTaskInstance.class, queryOptions);
+        return new SelectListDescriptor<SHumanTaskInstance>("getPendingUserTasks", parameters, SHumanTaskInstance.class, queryOptions);
     }
 
     public static SelectOneDescriptor<Long> getNumberOfProcessInstances() {
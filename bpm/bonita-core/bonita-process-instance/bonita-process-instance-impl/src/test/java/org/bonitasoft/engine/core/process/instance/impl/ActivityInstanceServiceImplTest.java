@@ -19,24 +19,32 @@ import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.bonitasoft.engine.core.process.instance.api.PendingTaskInboxService;
 import org.bonitasoft.engine.core.process.instance.api.exceptions.SActivityReadException;
+import org.bonitasoft.engine.core.process.instance.model.SActivityInstance;
 import org.bonitasoft.engine.core.process.instance.model.SFlowNodeInstance;
 import org.bonitasoft.engine.core.process.instance.model.SFlowNodeInstanceStateCounter;
 import org.bonitasoft.engine.core.process.instance.model.SHumanTaskInstance;
+import org.bonitasoft.engine.core.process.instance.model.SPendingActivityMapping;
 import org.bonitasoft.engine.core.process.instance.model.builder.SFlowNodeInstanceBuilderFactory;
 import org.bonitasoft.engine.core.process.instance.model.builder.impl.SUserTaskInstanceBuilderFactoryImpl;
 import org.bonitasoft.engine.data.instance.api.DataInstanceContainer;
+import org.bonitasoft.engine.events.EventActionType;
+import org.bonitasoft.engine.events.EventService;
+import org.bonitasoft.engine.events.model.SInsertEvent;
 import org.bonitasoft.engine.events.model.SUpdateEvent;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.persistence.QueryOptions;
@@ -44,6 +52,8 @@ import org.bonitasoft.engine.persistence.SBonitaReadException;
 import org.bonitasoft.engine.persistence.SelectListDescriptor;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
+import org.bonitasoft.engine.recorder.model.InsertRecord;
 import org.bonitasoft.engine.recorder.model.UpdateRecord;
 import org.bonitasoft.engine.services.PersistenceService;
 import org.junit.Test;
@@ -68,6 +78,12 @@ public class ActivityInstanceServiceImplTest {
     @Mock
     private TechnicalLoggerService logger;
 
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private PendingTaskInboxService pendingTaskInboxService;
+
     @InjectMocks
     private ActivityInstanceServiceImpl activityInstanceServiceImpl;
 
@@ -100,6 +116,22 @@ public class ActivityInstanceServiceImplTest {
         activityInstanceServiceImpl.getProcessInstanceId(1L, DataInstanceContainer.MESSAGE_INSTANCE.name());
     }
 
+    @Test
+    public void addPendingActivityMappings_should_add_the_candidates_of_the_mapping_to_the_pending_task_inbox() throws Exception {
+        final SPendingActivityMapping mapping = mock(SPendingActivityMapping.class);
+
+        activityInstanceServiceImpl.addPendingActivityMappings(mapping);
+
+        verify(pendingTaskInboxService).addCandidates(mapping);
+    }
+
+    @Test
+    public void deletePendingMappings_should_remove_the_task_from_the_pending_task_inbox() throws Exception {
+        activityInstanceServiceImpl.deletePendingMappings(12L);
+
+        verify(pendingTaskInboxService).deleteCandidates(12L);
+    }
+
     @Test
     public void getPossibleUserIdsOfPendingTasks() throws Exception {
         final List<Long> sUserIds = new ArrayList<Long>();
@@ -355,4 +387,25 @@ public class ActivityInstanceServiceImplTest {
         assertThat(numberOfFlownodesInState).isEmpty();
     }
 
+    @Test
+    public void createActivityInstances_should_insert_activity_instances_in_batch_when_nobody_listens_to_their_creation() throws Exception {
+        final SActivityInstance first = mock(SActivityInstance.class);
+        final SActivityInstance second = mock(SActivityInstance.class);
+        when(eventService.hasHandlers(ActivityInstanceServiceImpl.ACTIVITYINSTANCE, EventActionType.CREATED)).thenReturn(false);
+
+        activityInstanceServiceImpl.createActivityInstances(Arrays.asList(first, second));
+
+        final ArgumentCaptor<BatchInsertRecord> captor = ArgumentCaptor.forClass(BatchInsertRecord.class);
+        verify(recorder).recordBatchInsert(captor.capture(), Matchers.<SInsertEvent> any());
+        assertThat(captor.getValue().getEntity()).containsExactly(first, second);
+        verify(recorder, never()).recordInsert(any(InsertRecord.class), any(SInsertEvent.class));
+    }
+
+    @Test
+    public void createActivityInstances_should_do_nothing_when_there_is_no_activity_instance() throws Exception {
+        activityInstanceServiceImpl.createActivityInstances(Collections.<SActivityInstance> emptyList());
+
+        verify(recorder, never()).recordBatchInsert(any(BatchInsertRecord.class), any(SInsertEvent.class));
+    }
+
 }
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.process.instance.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.core.document.api.DocumentService;
+import org.bonitasoft.engine.core.process.instance.api.exceptions.SProcessInstanceModificationException;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.SelectListDescriptor;
+import org.bonitasoft.engine.services.PersistenceService;
+import org.bonitasoft.engine.services.SPersistenceException;
+import org.bonitasoft.engine.sessionaccessor.ReadSessionAccessor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ArchivedProcessInstancePurgeServiceImplTest {
+
+    private static final long TENANT_ID = 12L;
+
+    @Mock
+    private PersistenceService persistenceService;
+
+    @Mock
+    private DocumentService documentService;
+
+    @Mock
+    private ReadSessionAccessor sessionAccessor;
+
+    @Mock
+    private TechnicalLoggerService logger;
+
+    @InjectMocks
+    private ArchivedProcessInstancePurgeServiceImpl purgeService;
+
+    @Before
+    public void before() throws Exception {
+        doReturn(TENANT_ID).when(sessionAccessor).getTenantId();
+        doReturn(Arrays.asList(1L, 2L, 3L)).when(persistenceService).selectList(any(SelectListDescriptor.class));
+    }
+
+    @Test
+    public void getRootProcessInstanceIdsToPurge_should_select_root_process_instances_after_the_given_one() throws Exception {
+        final ArgumentCaptor<SelectListDescriptor> descriptor = ArgumentCaptor.forClass(SelectListDescriptor.class);
+
+        final List<Long> ids = purgeService.getRootProcessInstanceIdsToPurge(5L, 1000L, 2000L, 42L, 100);
+
+        verify(persistenceService).selectList(descriptor.capture());
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+        assertThat(descriptor.getValue().getQueryName()).isEqualTo("getArchivedRootProcessInstanceIdsToPurge");
+        assertThat(descriptor.getValue().getInputParameters()).contains(entry("processDefinitionId", 5L), entry("fromEndDate", 1000L),
+                entry("toEndDate", 2000L), entry("afterRootProcessInstanceId", 42L));
+        assertThat(descriptor.getValue().getQueryOptions().getNumberOfResults()).isEqualTo(100);
+    }
+
+    @Test
+    public void getRootProcessInstanceIdsArchivedBefore_should_select_root_process_instances_of_all_process_definitions() throws Exception {
+        final ArgumentCaptor<SelectListDescriptor> descriptor = ArgumentCaptor.forClass(SelectListDescriptor.class);
+
+        final List<Long> ids = purgeService.getRootProcessInstanceIdsArchivedBefore(1000L, 50);
+
+        verify(persistenceService).selectList(descriptor.capture());
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+        assertThat(descriptor.getValue().getQueryName()).isEqualTo("getArchivedRootProcessInstanceIdsArchivedBefore");
+        assertThat(descriptor.getValue().getInputParameters()).containsOnly(entry("archiveDate", 1000L));
+        assertThat(descriptor.getValue().getQueryOptions().getNumberOfResults()).isEqualTo(50);
+    }
+
+    @Test
+    public void purge_should_delete_documents_then_elements_then_process_instances_of_the_trees() throws Exception {
+        doReturn(7).when(persistenceService).update(eq("deleteArchivedProcessInstanceTrees"), anyMapOf(String.class, Object.class));
+
+        final int deleted = purgeService.purge(Arrays.asList(1L, 2L));
+
+        assertThat(deleted).isEqualTo(7);
+        final InOrder inOrder = inOrder(documentService, persistenceService);
+        inOrder.verify(documentService).deleteArchivedDocuments(1L);
+        inOrder.verify(documentService).deleteArchivedDocuments(2L);
+        inOrder.verify(documentService).deleteArchivedDocuments(3L);
+        inOrder.verify(persistenceService).update(eq("deleteArchivedDataInstancesOfProcessInstanceTrees"), anyMapOf(String.class, Object.class));
+        inOrder.verify(persistenceService).update(eq("deleteArchivedFlowNodeInstancesOfProcessInstanceTrees"), anyMapOf(String.class, Object.class));
+        inOrder.verify(persistenceService).update(eq("deleteArchivedProcessInstanceTrees"), anyMapOf(String.class, Object.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void purge_should_give_tenant_and_root_process_instances_to_the_statements() throws Exception {
+        final ArgumentCaptor<Map> parameters = ArgumentCaptor.forClass(Map.class);
+
+        purgeService.purge(Arrays.asList(1L, 2L));
+
+        verify(persistenceService).update(eq("deleteArchivedProcessInstanceTrees"), parameters.capture());
+        assertThat(parameters.getValue()).contains(entry("tenantId", TENANT_ID), entry("rootProcessInstanceIds", Arrays.asList(1L, 2L)));
+    }
+
+    @Test
+    public void purge_should_do_nothing_without_root_process_instances() throws Exception {
+        final int deleted = purgeService.purge(Collections.<Long> emptyList());
+
+        assertThat(deleted).isEqualTo(0);
+        verifyZeroInteractions(persistenceService, documentService);
+    }
+
+    @Test(expected = SProcessInstanceModificationException.class)
+    public void purge_should_throw_exception_when_a_statement_fails() throws Exception {
+        doThrow(new SPersistenceException("error")).when(persistenceService).update(anyString(), anyMapOf(String.class, Object.class));
+
+        try {
+            purgeService.purge(Arrays.asList(1L, 2L));
+        } finally {
+            verify(persistenceService, never()).update(eq("deleteArchivedProcessInstanceTrees"), anyMapOf(String.class, Object.class));
+        }
+    }
+
+}
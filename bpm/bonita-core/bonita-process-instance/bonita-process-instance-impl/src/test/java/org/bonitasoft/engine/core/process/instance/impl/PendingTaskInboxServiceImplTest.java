@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.process.instance.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.core.process.instance.model.SPendingActivityMapping;
+import org.bonitasoft.engine.core.process.instance.model.SPendingTaskInboxEntry;
+import org.bonitasoft.engine.core.process.instance.model.impl.SPendingTaskInboxEntryImpl;
+import org.bonitasoft.engine.events.model.SDeleteEvent;
+import org.bonitasoft.engine.events.model.SInsertEvent;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.ReadPersistenceService;
+import org.bonitasoft.engine.persistence.SelectListDescriptor;
+import org.bonitasoft.engine.recorder.Recorder;
+import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
+import org.bonitasoft.engine.recorder.model.DeleteAllRecord;
+import org.bonitasoft.engine.recorder.model.DeleteRecord;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PendingTaskInboxServiceImplTest {
+
+    private static final long TASK_ID = 12L;
+
+    @Mock
+    private Recorder recorder;
+
+    @Mock
+    private ReadPersistenceService persistenceService;
+
+    @Mock
+    private TechnicalLoggerService logger;
+
+    private PendingTaskInboxServiceImpl pendingTaskInboxService;
+
+    private final Map<String, List<?>> queryResults = new HashMap<String, List<?>>();
+
+    @Before
+    public void before() throws Exception {
+        pendingTaskInboxService = new PendingTaskInboxServiceImpl(recorder, persistenceService, logger);
+        when(persistenceService.selectList(any(SelectListDescriptor.class))).thenAnswer(new Answer<List<?>>() {
+
+            @Override
+            public List<?> answer(final InvocationOnMock invocation) throws Throwable {
+                final List<?> result = queryResults.remove(((SelectListDescriptor<?>) invocation.getArguments()[0]).getQueryName());
+                return result == null ? Collections.emptyList() : result;
+            }
+        });
+    }
+
+    @Test
+    public void addCandidates_should_add_the_user_of_a_user_mapping() throws Exception {
+        pendingTaskInboxService.addCandidates(mapping(5L, -1L));
+
+        assertThat(insertedUserIds()).containsExactly(5L);
+    }
+
+    @Test
+    public void addCandidates_should_add_members_of_the_actor_that_are_not_already_candidates() throws Exception {
+        queryResults.put("getUserIdsOfActorUserMembers", Arrays.asList(1L, 2L));
+        queryResults.put("getUserIdsOfActorMembershipMembers", Arrays.asList(2L, 3L));
+        queryResults.put("getPendingTaskInboxUserIdsOfTask", Arrays.asList(3L));
+
+        pendingTaskInboxService.addCandidates(mapping(-1L, 8L));
+
+        assertThat(insertedUserIds()).containsOnly(1L, 2L);
+    }
+
+    @Test
+    public void userMembershipDeleted_should_only_remove_tasks_the_user_is_no_longer_a_candidate_for() throws Exception {
+        final SPendingTaskInboxEntryImpl stillCandidate = new SPendingTaskInboxEntryImpl(4L, 100L);
+        final SPendingTaskInboxEntryImpl noLongerCandidate = new SPendingTaskInboxEntryImpl(4L, 101L);
+        queryResults.put("getActorIdsOfMembership", Arrays.asList(8L));
+        queryResults.put("getPendingTaskIdsOfActors", Arrays.asList(100L, 101L));
+        queryResults.put("getPendingTaskIdsOfUserAmong", Arrays.asList(100L));
+        queryResults.put("getPendingTaskInboxEntriesOfUser", Arrays.asList(stillCandidate, noLongerCandidate));
+
+        pendingTaskInboxService.userMembershipDeleted(4L, 50L, 60L);
+
+        final ArgumentCaptor<DeleteRecord> captor = ArgumentCaptor.forClass(DeleteRecord.class);
+        verify(recorder).recordDelete(captor.capture(), any(SDeleteEvent.class));
+        assertThat(captor.getValue().getEntity()).isSameAs(noLongerCandidate);
+    }
+
+    @Test
+    public void userMembershipAdded_should_add_the_user_to_the_tasks_of_the_actors_of_the_membership() throws Exception {
+        queryResults.put("getActorIdsOfMembership", Arrays.asList(8L));
+        queryResults.put("getPendingTaskIdsOfActors", Arrays.asList(100L, 101L));
+
+        pendingTaskInboxService.userMembershipAdded(4L, 50L, 60L);
+
+        assertThat(insertedTaskIds()).containsOnly(100L, 101L);
+        verify(recorder).recordBatchInsert(any(BatchInsertRecord.class), any(SInsertEvent.class));
+    }
+
+    @Test
+    public void addCandidates_should_not_insert_when_all_users_are_already_candidates() throws Exception {
+        queryResults.put("getPendingTaskInboxUserIdsOfTask", Arrays.asList(5L));
+
+        pendingTaskInboxService.addCandidates(mapping(5L, -1L));
+
+        verify(recorder, never()).recordBatchInsert(any(BatchInsertRecord.class), any(SInsertEvent.class));
+    }
+
+    @Test
+    public void deleteAllCandidates_should_delete_all_entries_of_the_tenant() throws Exception {
+        pendingTaskInboxService.deleteAllCandidates();
+
+        final ArgumentCaptor<DeleteAllRecord> captor = ArgumentCaptor.forClass(DeleteAllRecord.class);
+        verify(recorder).recordDeleteAll(captor.capture());
+        assertThat(captor.getValue().getEntityClass()).isEqualTo(SPendingTaskInboxEntry.class);
+        assertThat(captor.getValue().getFilters()).isEmpty();
+    }
+
+    @Test
+    public void isBuilt_should_be_false_when_the_inbox_is_empty_while_tasks_have_mappings() throws Exception {
+        queryResults.put("getPendingTaskIdsWithMapping", Arrays.asList(100L));
+
+        assertThat(pendingTaskInboxService.isBuilt()).isFalse();
+    }
+
+    @Test
+    public void isBuilt_should_be_true_when_the_inbox_has_entries() throws Exception {
+        queryResults.put("getPendingTaskInboxEntries", Arrays.asList(new SPendingTaskInboxEntryImpl(4L, 100L)));
+        queryResults.put("getPendingTaskIdsWithMapping", Arrays.asList(100L));
+
+        assertThat(pendingTaskInboxService.isBuilt()).isTrue();
+    }
+
+    @Test
+    public void isBuilt_should_be_true_when_no_task_is_pending() throws Exception {
+        assertThat(pendingTaskInboxService.isBuilt()).isTrue();
+    }
+
+    private SPendingActivityMapping mapping(final long userId, final long actorId) {
+        final SPendingActivityMapping mapping = mock(SPendingActivityMapping.class);
+        when(mapping.getActivityId()).thenReturn(TASK_ID);
+        when(mapping.getUserId()).thenReturn(userId);
+        when(mapping.getActorId()).thenReturn(actorId);
+        return mapping;
+    }
+
+    private List<Long> insertedUserIds() throws Exception {
+        final List<Long> userIds = new ArrayList<Long>();
+        for (final SPendingTaskInboxEntry entry : insertedEntries()) {
+            userIds.add(entry.getUserId());
+        }
+        return userIds;
+    }
+
+    private List<Long> insertedTaskIds() throws Exception {
+        final List<Long> taskIds = new ArrayList<Long>();
+        for (final SPendingTaskInboxEntry entry : insertedEntries()) {
+            taskIds.add(entry.getHumanTaskInstanceId());
+        }
+        return taskIds;
+    }
+
+    private List<SPendingTaskInboxEntry> insertedEntries() throws Exception {
+        final ArgumentCaptor<BatchInsertRecord> captor = ArgumentCaptor.forClass(BatchInsertRecord.class);
+        verify(recorder, atLeast(0)).recordBatchInsert(captor.capture(), any(SInsertEvent.class));
+        final List<SPendingTaskInboxEntry> entries = new ArrayList<SPendingTaskInboxEntry>();
+        for (final BatchInsertRecord record : captor.getAllValues()) {
+            for (final Object entity : record.getEntity()) {
+                entries.add((SPendingTaskInboxEntry) entity);
+            }
+        }
+        return entries;
+    }
+
+}
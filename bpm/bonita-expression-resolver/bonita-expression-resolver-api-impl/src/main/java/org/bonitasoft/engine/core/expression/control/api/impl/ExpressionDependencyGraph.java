@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.expression.control.api.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.engine.expression.model.ExpressionKind;
+import org.bonitasoft.engine.expression.model.SExpression;
+
+/**
+ * Dependency graph of a list of expressions, built with a single walk of the expression trees.
+ * Each distinct expression is kept once, the ones having the same discriminant being considered identical, in an order where every expression comes
+ * after its dependencies.
+ */
+class ExpressionDependencyGraph {
+
+    private final List<SExpression> evaluationOrder = new ArrayList<>();
+
+    private final Map<SExpression, Integer> discriminants = new IdentityHashMap<>();
+
+    private final Set<Integer> visitedDiscriminants = new HashSet<>();
+
+    private final Map<ExpressionKind, List<SExpression>> expressionsByKind = new HashMap<>();
+
+    ExpressionDependencyGraph(final List<SExpression> expressions) {
+        for (final SExpression expression : expressions) {
+            if (expression != null) {
+                visit(expression);
+            }
+        }
+    }
+
+    private void visit(final SExpression expression) {
+        if (discriminants.containsKey(expression)) {
+            // same instance already visited: its dependencies are visited as well
+            return;
+        }
+        final int discriminant = expression.getDiscriminant();
+        discriminants.put(expression, discriminant);
+        if (!visitedDiscriminants.add(discriminant)) {
+            // an identical expression is already in the graph
+            return;
+        }
+        final List<SExpression> dependencies = expression.getDependencies();
+        if (dependencies != null) {
+            for (final SExpression dependency : dependencies) {
+                visit(dependency);
+            }
+        }
+        evaluationOrder.add(expression);
+        List<SExpression> expressionsOfKind = expressionsByKind.get(expression.getExpressionKind());
+        if (expressionsOfKind == null) {
+            expressionsOfKind = new ArrayList<>();
+            expressionsByKind.put(expression.getExpressionKind(), expressionsOfKind);
+        }
+        expressionsOfKind.add(expression);
+    }
+
+    /**
+     * @return the distinct expressions of the graph, each one after its dependencies
+     */
+    List<SExpression> getEvaluationOrder() {
+        return evaluationOrder;
+    }
+
+    /**
+     * @return the distinct expressions of the graph of the given kind, or null if there is none
+     */
+    List<SExpression> getExpressionsOfKind(final ExpressionKind kind) {
+        return expressionsByKind.get(kind);
+    }
+
+    /**
+     * @return the discriminant of an expression of the graph, computed only once
+     */
+    int getDiscriminant(final SExpression expression) {
+        final Integer discriminant = discriminants.get(expression);
+        if (discriminant == null) {
+            return expression.getDiscriminant();
+        }
+        return discriminant;
+    }
+
+}
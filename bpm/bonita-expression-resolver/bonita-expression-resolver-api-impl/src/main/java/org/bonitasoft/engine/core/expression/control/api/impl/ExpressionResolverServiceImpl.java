@@ -14,7 +14,6 @@
 package org.bonitasoft.engine.core.expression.control.api.impl;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -108,23 +107,19 @@ public class ExpressionResolverServiceImpl implements ExpressionResolverService
 
             loadProcessClassLoader(newEvaluationContext);
 
-            final Map<SExpression, SExpression> dataReplacement = new HashMap<>();
-            // We incrementally build the Map of already resolved expressions:
+            // The dependency graph is built once, identical sub-expressions being evaluated only once:
+            final ExpressionDependencyGraph dependencyGraph = new ExpressionDependencyGraph(expressions);
+            // All results go in a single table of resolved expressions, shared by all evaluations:
             final Map<Integer, Object> resolvedExpressions = new HashMap<>();
             // Let's evaluate all expressions with no dependencies first:
-            resolvedExpressions.putAll(evaluateAllExpressionsWithNoDependencies(dependencyValues, dataReplacement, expressions, newEvaluationContext));
+            evaluateAllExpressionsWithNoDependencies(dependencyValues, dependencyGraph, resolvedExpressions, newEvaluationContext);
+            // Then evaluate all remaining expressions, dependencies first:
+            evaluateExpressionsWithResolvedDependencies(dependencyValues, dependencyGraph, resolvedExpressions, newEvaluationContext.getContainerState());
 
-            for (final SExpression sExpression : expressions) {
-                if (sExpression != null) {
-                    // Then evaluate recursively all remaining expressions:
-                    resolvedExpressions.putAll(evaluateExpressionWithResolvedDependencies(sExpression, dependencyValues, dataReplacement, resolvedExpressions,
-                            newEvaluationContext.getContainerState()));
-                }
-            }
             final List<Object> results = new ArrayList<>(expressions.size());
             for (final SExpression sExpression : expressions) {
                 if (sExpression != null) {
-                    final int key = sExpression.getDiscriminant();
+                    final int key = dependencyGraph.getDiscriminant(sExpression);
                     final Object res = resolvedExpressions.get(key);
                     if (res == null && !resolvedExpressions.containsKey(key)) {
                         throw new SExpressionEvaluationException("No result found for the expression " + sExpression, sExpression.getName());
@@ -163,12 +158,10 @@ public class ExpressionResolverServiceImpl implements ExpressionResolverService
         return exception;
     }
 
-    private Map<Integer, Object> evaluateAllExpressionsWithNoDependencies(final Map<String, Object> dependencyValues,
-            final Map<SExpression, SExpression> dataReplacement, final List<SExpression> expressions, final SExpressionContext evaluationContext)
-            throws SExpressionTypeUnknownException, SExpressionEvaluationException, SExpressionDependencyMissingException, SInvalidExpressionException {
-        final Map<Integer, Object> resolvedExpressions = new HashMap<>();
-        final Map<ExpressionKind, List<SExpression>> expressionMapByKind = flattenDependencies(expressions);
-        final List<SExpression> variableExpressions = expressionMapByKind.get(new ExpressionKind(ExpressionType.TYPE_VARIABLE.name()));
+    private void evaluateAllExpressionsWithNoDependencies(final Map<String, Object> dependencyValues, final ExpressionDependencyGraph dependencyGraph,
+            final Map<Integer, Object> resolvedExpressions, final SExpressionContext evaluationContext) throws SExpressionTypeUnknownException,
+            SExpressionEvaluationException, SExpressionDependencyMissingException, SInvalidExpressionException {
+        final List<SExpression> variableExpressions = dependencyGraph.getExpressionsOfKind(new ExpressionKind(ExpressionType.TYPE_VARIABLE.name()));
 
         if (evaluationContext.isEvaluateInDefinition() && variableExpressions != null && !variableExpressions.isEmpty()) {
             final SExpression expressionNotProvided = variablesAreAllProvided(variableExpressions, evaluationContext);
@@ -179,11 +172,8 @@ public class ExpressionResolverServiceImpl implements ExpressionResolverService
             }
         }
         for (final ExpressionKind kind : ExpressionExecutorStrategy.NO_DEPENDENCY_EXPRESSION_EVALUATION_ORDER) {
-            resolvedExpressions.putAll(evaluateExpressionsOfKind(dependencyValues, expressionMapByKind.get(kind), kind, dataReplacement, resolvedExpressions,
-                    evaluationContext.getContainerState()));
-            expressionMapByKind.remove(kind);
+            evaluateExpressionsOfKind(dependencyValues, dependencyGraph, kind, resolvedExpressions, evaluationContext.getContainerState());
         }
-        return resolvedExpressions;
     }
 
     private SExpression variablesAreAllProvided(final List<SExpression> variableExpressions, final SExpressionContext evaluationContext) {
@@ -198,79 +188,40 @@ public class ExpressionResolverServiceImpl implements ExpressionResolverService
         return null;
     }
 
-    private Map<? extends Integer, ? extends Object> evaluateExpressionWithResolvedDependencies(final SExpression sExpression,
-            final Map<String, Object> dependencyValues, final Map<SExpression, SExpression> dataReplacement,
-            final Map<Integer, Object> alreadyResolvedExpressions, final ContainerState containerState) throws SExpressionTypeUnknownException,
+    private void evaluateExpressionsWithResolvedDependencies(final Map<String, Object> dependencyValues, final ExpressionDependencyGraph dependencyGraph,
+            final Map<Integer, Object> resolvedExpressions, final ContainerState containerState) throws SExpressionTypeUnknownException,
             SExpressionEvaluationException, SExpressionDependencyMissingException, SInvalidExpressionException {
-        final Map<Integer, Object> resolvedExpressions = new HashMap<>(alreadyResolvedExpressions);
-        // Evaluate the dependencies first:
-        for (final SExpression dep : sExpression.getDependencies()) {
-            resolvedExpressions.putAll(evaluateExpressionWithResolvedDependencies(dep, dependencyValues, dataReplacement, resolvedExpressions, containerState));
-        }
-        // Then evaluate the expression itself:
-        if (!resolvedExpressions.containsKey(sExpression.getDiscriminant())) {
-            // Let's evaluate the expression only if it is not already in the list of resolved dependencies:
-            final Object exprResult = expressionService.evaluate(sExpression, dependencyValues, resolvedExpressions, containerState);
-            addResultToMap(resolvedExpressions, dataReplacement, sExpression, exprResult, dependencyValues);
+        for (final SExpression sExpression : dependencyGraph.getEvaluationOrder()) {
+            final int discriminant = dependencyGraph.getDiscriminant(sExpression);
+            // Let's evaluate the expression only if it is not already in the resolved expressions:
+            if (!resolvedExpressions.containsKey(discriminant)) {
+                final Object exprResult = expressionService.evaluate(sExpression, dependencyValues, resolvedExpressions, containerState);
+                addResultToMap(resolvedExpressions, discriminant, sExpression, exprResult, dependencyValues);
+            }
         }
-        return resolvedExpressions;
     }
 
-    private Map<Integer, Object> evaluateExpressionsOfKind(final Map<String, Object> dependencyValues, final List<SExpression> expressionsOfKind,
-            final ExpressionKind kind, final Map<SExpression, SExpression> dataReplacement, final Map<Integer, Object> alreadyResolvedExpressions,
-            final ContainerState containerState) throws SExpressionTypeUnknownException, SExpressionEvaluationException,
-            SExpressionDependencyMissingException, SInvalidExpressionException {
-        final Map<Integer, Object> resolvedExpressions = new HashMap<>();
+    private void evaluateExpressionsOfKind(final Map<String, Object> dependencyValues, final ExpressionDependencyGraph dependencyGraph,
+            final ExpressionKind kind, final Map<Integer, Object> resolvedExpressions, final ContainerState containerState)
+            throws SExpressionTypeUnknownException, SExpressionEvaluationException, SExpressionDependencyMissingException, SInvalidExpressionException {
+        final List<SExpression> expressionsOfKind = dependencyGraph.getExpressionsOfKind(kind);
         if (expressionsOfKind != null) {
-            final List<Object> evaluationResults = expressionService.evaluate(kind, expressionsOfKind, dependencyValues, alreadyResolvedExpressions,
+            final List<Object> evaluationResults = expressionService.evaluate(kind, expressionsOfKind, dependencyValues, resolvedExpressions,
                     containerState);
-            final Iterator<SExpression> variableIterator = expressionsOfKind.iterator();
+            final Iterator<SExpression> expressionIterator = expressionsOfKind.iterator();
             for (final Object evaluationResult : evaluationResults) {
-                final SExpression expression = variableIterator.next();
-                addResultToMap(resolvedExpressions, dataReplacement, expression, evaluationResult, dependencyValues);
+                final SExpression expression = expressionIterator.next();
+                addResultToMap(resolvedExpressions, dependencyGraph.getDiscriminant(expression), expression, evaluationResult, dependencyValues);
             }
         }
-        return resolvedExpressions;
     }
 
-    private void addResultToMap(final Map<Integer, Object> resolvedExpressions, final Map<SExpression, SExpression> dataReplacement,
-            final SExpression expression, final Object expressionResult, final Map<String, Object> dependencyValues) {
-        resolvedExpressions.put(expression.getDiscriminant(), expressionResult);
+    private void addResultToMap(final Map<Integer, Object> resolvedExpressions, final int discriminant, final SExpression expression,
+            final Object expressionResult, final Map<String, Object> dependencyValues) {
+        resolvedExpressions.put(discriminant, expressionResult);
         if (expressionService.mustPutEvaluatedExpressionInContext(expression.getExpressionKind())) {
             dependencyValues.put(expression.getContent(), expressionResult);
         }
-        final SExpression replacement = dataReplacement.get(expression);
-        if (replacement != null) {
-            resolvedExpressions.put(replacement.getDiscriminant(), expressionResult);
-            if (expressionService.mustPutEvaluatedExpressionInContext(expression.getExpressionKind())) {
-                dependencyValues.put(replacement.getContent(), expressionResult);
-            }
-        }
-    }
-
-    private Map<ExpressionKind, List<SExpression>> flattenDependencies(final Collection<SExpression> collection) {
-        final Map<ExpressionKind, List<SExpression>> expressionMapByKind = new HashMap<>();
-        for (final SExpression sExpression : collection) {
-            if (sExpression == null) {
-                continue;
-            }
-            final ExpressionKind expressionKind = sExpression.getExpressionKind();
-            // Get from the map the list of expressions of given ExpressionKind
-            List<SExpression> exprList = expressionMapByKind.get(expressionKind);
-
-            // If no present, put it in the map
-            if (exprList == null) {
-                exprList = new ArrayList<>();
-                expressionMapByKind.put(expressionKind, exprList);
-            }
-            if (!exprList.contains(sExpression)) {
-                exprList.add(sExpression);
-            }
-            if (sExpression.getDependencies() != null) {
-                expressionMapByKind.putAll(flattenDependencies(sExpression.getDependencies()));
-            }
-        }
-        return expressionMapByKind;
     }
 
     private void fillContext(final SExpressionContext evaluationContext, final Map<String, Object> dependencyValues)
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.core.expression.control.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.bonitasoft.engine.expression.model.ExpressionKind;
+import org.bonitasoft.engine.expression.model.SExpression;
+import org.junit.Test;
+
+public class ExpressionDependencyGraphTest {
+
+    private static final ExpressionKind CONSTANT = new ExpressionKind("TYPE_CONSTANT");
+
+    private static final ExpressionKind GROOVY = new ExpressionKind("TYPE_READ_ONLY_SCRIPT", "GROOVY");
+
+    static SExpression expression(final int discriminant, final ExpressionKind kind, final SExpression... dependencies) {
+        final SExpression expression = mock(SExpression.class);
+        when(expression.getDiscriminant()).thenReturn(discriminant);
+        when(expression.getExpressionKind()).thenReturn(kind);
+        when(expression.getContent()).thenReturn("expression" + discriminant);
+        when(expression.getDependencies()).thenReturn(Arrays.asList(dependencies));
+        return expression;
+    }
+
+    @Test
+    public void should_order_dependencies_before_the_expressions_using_them() {
+        final SExpression constant = expression(1, CONSTANT);
+        final SExpression script = expression(2, GROOVY, constant);
+        final SExpression root = expression(3, GROOVY, script);
+
+        final ExpressionDependencyGraph graph = new ExpressionDependencyGraph(Collections.singletonList(root));
+
+        assertThat(graph.getEvaluationOrder()).containsExactly(constant, script, root);
+    }
+
+    @Test
+    public void should_keep_shared_and_identical_expressions_only_once() {
+        final SExpression constant = expression(1, CONSTANT);
+        final SExpression identicalConstant = expression(1, CONSTANT);
+        final SExpression script1 = expression(2, GROOVY, constant);
+        final SExpression script2 = expression(3, GROOVY, constant, identicalConstant);
+
+        final ExpressionDependencyGraph graph = new ExpressionDependencyGraph(Arrays.asList(script1, script2, null));
+
+        assertThat(graph.getEvaluationOrder()).containsExactly(constant, script1, script2);
+        assertThat(graph.getDiscriminant(identicalConstant)).isEqualTo(1);
+    }
+
+    @Test
+    public void should_group_expressions_by_kind_including_dependencies() {
+        final SExpression constant1 = expression(1, CONSTANT);
+        final SExpression constant2 = expression(2, CONSTANT);
+        final SExpression script = expression(3, GROOVY, constant2);
+
+        final ExpressionDependencyGraph graph = new ExpressionDependencyGraph(Arrays.asList(constant1, script));
+
+        assertThat(graph.getExpressionsOfKind(CONSTANT)).containsExactly(constant1, constant2);
+        assertThat(graph.getExpressionsOfKind(GROOVY)).containsExactly(script);
+        assertThat(graph.getExpressionsOfKind(new ExpressionKind("TYPE_VARIABLE"))).isNull();
+    }
+
+}
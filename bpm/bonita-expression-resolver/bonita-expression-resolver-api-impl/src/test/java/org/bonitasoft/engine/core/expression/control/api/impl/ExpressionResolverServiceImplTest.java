@@ -13,15 +13,26 @@
  **/
 package org.bonitasoft.engine.core.expression.control.api.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bonitasoft.engine.core.expression.control.api.impl.ExpressionDependencyGraphTest.expression;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
 
 import org.bonitasoft.engine.classloader.ClassLoaderService;
 import org.bonitasoft.engine.core.expression.control.model.SExpressionContext;
 import org.bonitasoft.engine.core.process.definition.ProcessDefinitionService;
+import org.bonitasoft.engine.expression.ContainerState;
 import org.bonitasoft.engine.expression.ExpressionService;
+import org.bonitasoft.engine.expression.model.ExpressionKind;
 import org.bonitasoft.engine.expression.model.SExpression;
 import org.bonitasoft.engine.tracking.TimeTracker;
 import org.junit.Test;
@@ -82,4 +93,25 @@ public class ExpressionResolverServiceImplTest {
         verify(classLoaderService, never()).getLocalClassLoader(anyString(), anyLong());
     }
 
+    @Test
+    public void evaluate_should_evaluate_shared_dependencies_only_once() throws Exception {
+        final ExpressionKind groovy = new ExpressionKind("TYPE_READ_ONLY_SCRIPT", "GROOVY");
+        final SExpression shared = expression(1, groovy);
+        final SExpression left = expression(2, groovy, shared);
+        final SExpression right = expression(3, groovy, shared);
+        final SExpression root = expression(4, groovy, left, right);
+        when(expressionService.evaluate(any(SExpression.class), anyMapOf(String.class, Object.class), anyMapOf(Integer.class, Object.class),
+                any(ContainerState.class))).thenReturn("result");
+
+        final List<Object> results = resolverService.evaluate(Arrays.asList(root, left), new SExpressionContext());
+
+        assertThat(results).containsExactly("result", "result");
+        verify(expressionService).evaluate(eq(shared), anyMapOf(String.class, Object.class), anyMapOf(Integer.class, Object.class),
+                any(ContainerState.class));
+        verify(expressionService).evaluate(eq(left), anyMapOf(String.class, Object.class), anyMapOf(Integer.class, Object.class),
+                any(ContainerState.class));
+        verify(expressionService).evaluate(eq(root), anyMapOf(String.class, Object.class), anyMapOf(Integer.class, Object.class),
+                any(ContainerState.class));
+    }
+
 }
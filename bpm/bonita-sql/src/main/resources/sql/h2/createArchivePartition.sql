@@ -0,0 +1 @@
+MERGE INTO arch_partition KEY (name) VALUES ('${partition}', ${fromDate}, ${toDate});
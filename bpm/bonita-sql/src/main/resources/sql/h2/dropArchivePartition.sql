@@ -0,0 +1,5 @@
+DELETE FROM arch_process_instance WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DELETE FROM arch_flownode_instance WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DELETE FROM arch_connector_instance WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DELETE FROM arch_data_instance WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DELETE FROM arch_partition WHERE name = '${partition}';
@@ -0,0 +1,15 @@
+-- H2 has no table partitioning: partitions are only recorded in arch_partition and dropping one deletes the archives of its month.
+-- This emulated mode is meant for tests.
+CREATE TABLE arch_partition (
+  name VARCHAR(50) NOT NULL,
+  fromDate BIGINT NOT NULL,
+  toDate BIGINT NOT NULL,
+  PRIMARY KEY (name)
+);
+-- Single row leased by the node that maintains the partitions, see ArchivePartitionServiceImpl
+CREATE TABLE arch_partition_lock (
+  id INT NOT NULL,
+  lockedUntil BIGINT NOT NULL,
+  PRIMARY KEY (id)
+);
+INSERT INTO arch_partition_lock VALUES (1, 0);
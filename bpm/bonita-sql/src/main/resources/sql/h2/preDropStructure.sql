@@ -19,11 +19,14 @@ ALTER TABLE flownode_instance DROP CONSTRAINT fk_flownode_instance_tenantId;
 ALTER TABLE group_ DROP CONSTRAINT fk_group__tenantId;
 ALTER TABLE job_desc DROP CONSTRAINT fk_job_desc_tenantId;
 ALTER TABLE job_param DROP CONSTRAINT fk_job_param_tenantId;
+ALTER TABLE job_timer DROP CONSTRAINT fk_job_timer_tenantId;
 ALTER TABLE message_instance DROP CONSTRAINT fk_message_instance_tenantId;
 ALTER TABLE custom_usr_inf_def DROP CONSTRAINT fk_custom_usr_inf_def_tenantId;
 ALTER TABLE custom_usr_inf_val DROP CONSTRAINT fk_custom_usr_inf_val_tenantId;
 ALTER TABLE pending_mapping DROP CONSTRAINT fk_pending_mapping_tenantId;
 ALTER TABLE pending_mapping DROP CONSTRAINT fk_pending_mapping_flownode_instanceId;
+ALTER TABLE pending_task_inbox DROP CONSTRAINT fk_pending_task_inbox_tenantId;
+ALTER TABLE pending_task_inbox DROP CONSTRAINT fk_pending_task_inbox_flownode_instanceId;
 ALTER TABLE processcategorymapping DROP CONSTRAINT fk_processcategorymapping_tenantId;
 ALTER TABLE process_comment DROP CONSTRAINT fk_process_comment_tenantId;
 ALTER TABLE process_definition DROP CONSTRAINT fk_process_definition_tenantId;
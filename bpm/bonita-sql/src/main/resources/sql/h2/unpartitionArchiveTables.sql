@@ -0,0 +1,2 @@
+DROP TABLE arch_partition_lock;
+DROP TABLE arch_partition;
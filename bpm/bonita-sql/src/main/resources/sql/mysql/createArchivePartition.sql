@@ -0,0 +1,19 @@
+-- A range partition holds everything below its upper bound that is not in a lower partition: the first partition created also holds older archives.
+-- DDL is committed statement by statement: each partition is only added when it is missing, so that the script can be executed again after a failure.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'arch_process_instance' AND partition_name = '${partition}') = 0, 'ALTER TABLE arch_process_instance REORGANIZE PARTITION pmax INTO (PARTITION ${partition} VALUES LESS THAN (${toDate}), PARTITION pmax VALUES LESS THAN MAXVALUE)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'arch_flownode_instance' AND partition_name = '${partition}') = 0, 'ALTER TABLE arch_flownode_instance REORGANIZE PARTITION pmax INTO (PARTITION ${partition} VALUES LESS THAN (${toDate}), PARTITION pmax VALUES LESS THAN MAXVALUE)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'arch_connector_instance' AND partition_name = '${partition}') = 0, 'ALTER TABLE arch_connector_instance REORGANIZE PARTITION pmax INTO (PARTITION ${partition} VALUES LESS THAN (${toDate}), PARTITION pmax VALUES LESS THAN MAXVALUE)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'arch_data_instance' AND partition_name = '${partition}') = 0, 'ALTER TABLE arch_data_instance REORGANIZE PARTITION pmax INTO (PARTITION ${partition} VALUES LESS THAN (${toDate}), PARTITION pmax VALUES LESS THAN MAXVALUE)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+INSERT IGNORE INTO arch_partition VALUES ('${partition}', ${fromDate}, ${toDate});
@@ -145,6 +145,7 @@ CREATE TABLE document (
   filename VARCHAR(255),
   mimetype VARCHAR(255),
   url VARCHAR(1024),
+  contentstorekey VARCHAR(64),
   content LONGBLOB,
   PRIMARY KEY (tenantid, id)
 ) ENGINE = INNODB;
@@ -432,6 +433,16 @@ CREATE TABLE pending_mapping (
 ) ENGINE = INNODB;
 CREATE UNIQUE INDEX idx_UQ_pending_mapping ON pending_mapping (tenantid, activityId, userId, actorId);
 
+CREATE TABLE pending_task_inbox (
+	tenantid BIGINT NOT NULL,
+  	id BIGINT NOT NULL,
+  	userId BIGINT NOT NULL,
+  	humanTaskInstanceId BIGINT NOT NULL,
+  	PRIMARY KEY (tenantid, id)
+) ENGINE = INNODB;
+CREATE INDEX idx_pending_task_inbox_user ON pending_task_inbox (tenantid, userId, humanTaskInstanceId);
+CREATE INDEX idx_pending_task_inbox_task ON pending_task_inbox (tenantid, humanTaskInstanceId);
+
 CREATE TABLE ref_biz_data_inst (
 	tenantid BIGINT NOT NULL,
   	id BIGINT NOT NULL,
@@ -819,6 +830,7 @@ CREATE TABLE queriablelog_p (
 ) ENGINE = INNODB;
 
 CREATE INDEX idx_queriablelog ON queriablelog_p (queriableLogId);
+CREATE INDEX idx_queriable_log_time ON queriable_log (tenantid, timeStamp);
 ALTER TABLE queriablelog_p ADD CONSTRAINT fk_queriableLogId FOREIGN KEY (tenantid, queriableLogId) REFERENCES queriable_log(tenantid, id);
 CREATE TABLE page (
   tenantId BIGINT NOT NULL,
@@ -958,6 +970,21 @@ CREATE TABLE job_log (
 CREATE INDEX fk_job_log_jobId_idx ON job_log(jobDescriptorId ASC, tenantid ASC);
 
 ALTER TABLE job_log ADD CONSTRAINT fk_job_log_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE;
+CREATE TABLE job_timer (
+  tenantid BIGINT NOT NULL,
+  id BIGINT NOT NULL,
+  jobDescriptorId BIGINT NOT NULL,
+  jobName VARCHAR(100) NOT NULL,
+  triggerName VARCHAR(255) NOT NULL,
+  dueDate BIGINT NOT NULL,
+  ownerNode VARCHAR(50),
+  claimedUntil BIGINT NOT NULL,
+  failureCount INT NOT NULL,
+  PRIMARY KEY (tenantid, id)
+) ENGINE = INNODB;
+CREATE INDEX idx_job_timer_due ON job_timer (tenantid, dueDate, claimedUntil);
+CREATE INDEX idx_job_timer_job ON job_timer (tenantid, jobName);
+ALTER TABLE job_timer ADD CONSTRAINT fk_job_timer_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE;
 CREATE TABLE theme (
   tenantId BIGINT NOT NULL,
   id BIGINT NOT NULL,
@@ -1009,6 +1036,13 @@ CREATE TABLE proc_parameter (
   PRIMARY KEY (tenantId, id)
 ) ENGINE = INNODB;
 
+CREATE TABLE proc_parameter_version (
+  tenantId BIGINT NOT NULL,
+  id BIGINT NOT NULL,
+  version BIGINT NOT NULL,
+  PRIMARY KEY (tenantId, id)
+) ENGINE = INNODB;
+
 CREATE TABLE bar_resource (
   tenantId BIGINT NOT NULL,
   id BIGINT NOT NULL,
@@ -0,0 +1,18 @@
+-- DDL is committed statement by statement: each partition is only dropped when it exists, so that the script can be executed again after a failure.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'arch_process_instance' AND partition_name = '${partition}') > 0, 'ALTER TABLE arch_process_instance DROP PARTITION ${partition}', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'arch_flownode_instance' AND partition_name = '${partition}') > 0, 'ALTER TABLE arch_flownode_instance DROP PARTITION ${partition}', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'arch_connector_instance' AND partition_name = '${partition}') > 0, 'ALTER TABLE arch_connector_instance DROP PARTITION ${partition}', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'arch_data_instance' AND partition_name = '${partition}') > 0, 'ALTER TABLE arch_data_instance DROP PARTITION ${partition}', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+DELETE FROM arch_partition WHERE name = '${partition}';
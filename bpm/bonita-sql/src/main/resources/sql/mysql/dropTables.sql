@@ -15,6 +15,7 @@ DROP TABLE arch_process_instance;
 DROP TABLE arch_connector_instance;
 DROP TABLE multi_biz_data;
 DROP TABLE ref_biz_data_inst;
+DROP TABLE pending_task_inbox;
 DROP TABLE pending_mapping;
 DROP TABLE connector_instance;
 DROP TABLE flownode_instance;
@@ -51,6 +52,7 @@ DROP TABLE blob_;
 DROP TABLE profilemember;
 DROP TABLE profileentry;
 DROP TABLE profile;
+DROP TABLE job_timer;
 DROP TABLE job_log;
 DROP TABLE job_param;
 DROP TABLE job_desc;
@@ -62,4 +64,5 @@ DROP TABLE form_mapping;
 DROP TABLE page_mapping;
 DROP TABLE process_content;
 DROP TABLE proc_parameter;
+DROP TABLE proc_parameter_version;
 DROP TABLE bar_resource;
\ No newline at end of file
@@ -0,0 +1,28 @@
+-- Range partitioning of the archive tables by archive month.
+-- Executed right after postCreateStructure.sql when bonita.platform.archive.partitioning.enabled is true.
+-- Partitioned InnoDB tables can neither have foreign keys nor a primary key without the partitioning column: the tenant foreign keys are removed
+-- and archiveDate is added to the primary key. unpartitionArchiveTables.sql puts the foreign keys back before the structure is dropped.
+CREATE TABLE arch_partition (
+  name VARCHAR(50) NOT NULL,
+  fromDate BIGINT NOT NULL,
+  toDate BIGINT NOT NULL,
+  PRIMARY KEY (name)
+) ENGINE = INNODB;
+-- Single row leased by the node that maintains the partitions, see ArchivePartitionServiceImpl
+CREATE TABLE arch_partition_lock (
+  id INT NOT NULL,
+  lockedUntil BIGINT NOT NULL,
+  PRIMARY KEY (id)
+) ENGINE = INNODB;
+INSERT INTO arch_partition_lock VALUES (1, 0);
+ALTER TABLE arch_process_instance DROP FOREIGN KEY fk_arch_process_instance_tenantId;
+ALTER TABLE arch_process_instance DROP PRIMARY KEY, ADD PRIMARY KEY (tenantid, id, archiveDate);
+ALTER TABLE arch_process_instance PARTITION BY RANGE (archiveDate) (PARTITION pmax VALUES LESS THAN MAXVALUE);
+ALTER TABLE arch_flownode_instance DROP FOREIGN KEY fk_arch_flownode_instance_tenantId;
+ALTER TABLE arch_flownode_instance DROP PRIMARY KEY, ADD PRIMARY KEY (tenantid, id, archiveDate);
+ALTER TABLE arch_flownode_instance PARTITION BY RANGE (archiveDate) (PARTITION pmax VALUES LESS THAN MAXVALUE);
+ALTER TABLE arch_connector_instance DROP PRIMARY KEY, ADD PRIMARY KEY (tenantid, id, archiveDate);
+ALTER TABLE arch_connector_instance PARTITION BY RANGE (archiveDate) (PARTITION pmax VALUES LESS THAN MAXVALUE);
+ALTER TABLE arch_data_instance DROP FOREIGN KEY fk_arch_data_instance_tenantId;
+ALTER TABLE arch_data_instance DROP PRIMARY KEY, ADD PRIMARY KEY (tenantid, id, archiveDate);
+ALTER TABLE arch_data_instance PARTITION BY RANGE (archiveDate) (PARTITION pmax VALUES LESS THAN MAXVALUE);
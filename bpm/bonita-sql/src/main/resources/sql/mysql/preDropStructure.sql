@@ -19,10 +19,13 @@ ALTER TABLE flownode_instance DROP FOREIGN KEY fk_flownode_instance_tenantId;
 ALTER TABLE group_ DROP FOREIGN KEY fk_group__tenantId;
 ALTER TABLE job_desc DROP FOREIGN KEY fk_job_desc_tenantId;
 ALTER TABLE job_param DROP FOREIGN KEY fk_job_param_tenantId;
+ALTER TABLE job_timer DROP FOREIGN KEY fk_job_timer_tenantId;
 ALTER TABLE custom_usr_inf_def DROP FOREIGN KEY fk_custom_usr_inf_def_tenantId;
 ALTER TABLE custom_usr_inf_val DROP FOREIGN KEY fk_custom_usr_inf_val_tenantId;
 ALTER TABLE pending_mapping DROP FOREIGN KEY fk_pending_mapping_tenantId;
 ALTER TABLE pending_mapping DROP FOREIGN KEY fk_pending_mapping_flownode_instanceId;
+ALTER TABLE pending_task_inbox DROP FOREIGN KEY fk_pending_task_inbox_tenantId;
+ALTER TABLE pending_task_inbox DROP FOREIGN KEY fk_pending_task_inbox_flownode_instanceId;
 ALTER TABLE processcategorymapping DROP FOREIGN KEY fk_processcategorymapping_tenantId;
 ALTER TABLE process_comment DROP FOREIGN KEY fk_process_comment_tenantId;
 ALTER TABLE process_definition DROP FOREIGN KEY fk_process_definition_tenantId;
@@ -0,0 +1,9 @@
+DROP TABLE arch_partition_lock;
+DROP TABLE arch_partition;
+ALTER TABLE arch_process_instance REMOVE PARTITIONING;
+ALTER TABLE arch_process_instance ADD CONSTRAINT fk_arch_process_instance_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id);
+ALTER TABLE arch_flownode_instance REMOVE PARTITIONING;
+ALTER TABLE arch_flownode_instance ADD CONSTRAINT fk_arch_flownode_instance_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id);
+ALTER TABLE arch_connector_instance REMOVE PARTITIONING;
+ALTER TABLE arch_data_instance REMOVE PARTITIONING;
+ALTER TABLE arch_data_instance ADD CONSTRAINT fk_arch_data_instance_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id);
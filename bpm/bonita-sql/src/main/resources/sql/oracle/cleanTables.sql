@@ -15,6 +15,7 @@ DELETE FROM arch_process_instance;
 DELETE FROM arch_connector_instance;
 DELETE FROM multi_biz_data;
 DELETE FROM ref_biz_data_inst;
+DELETE FROM pending_task_inbox;
 DELETE FROM pending_mapping;
 DELETE FROM message_instance;
 DELETE FROM waiting_event;
@@ -48,6 +49,7 @@ DELETE FROM sequence WHERE tenantId <> -1;
 DELETE FROM profilemember;
 DELETE FROM profileentry;
 DELETE FROM profile;
+DELETE FROM job_timer;
 DELETE FROM job_log;
 DELETE FROM job_param;
 DELETE FROM job_desc;
@@ -57,5 +59,6 @@ DELETE FROM platformCommand;
 DELETE FROM form_mapping;
 DELETE FROM page_mapping;
 DELETE FROM proc_parameter;
+DELETE FROM proc_parameter_version;
 
  
\ No newline at end of file
@@ -0,0 +1,5 @@
+-- A range partition holds everything below its upper bound that is not in a lower partition: the first partition created also holds older archives.
+-- DDL is committed statement by statement: a table is only split when its partition is missing, so that the script can be executed again after a failure.
+-- The PL/SQL block ends with a doubled delimiter: the last one separates the statements, the other one ends the block.
+BEGIN FOR t IN (SELECT table_name FROM user_tables WHERE table_name IN ('ARCH_PROCESS_INSTANCE', 'ARCH_FLOWNODE_INSTANCE', 'ARCH_CONNECTOR_INSTANCE', 'ARCH_DATA_INSTANCE') AND table_name NOT IN (SELECT table_name FROM user_tab_partitions WHERE partition_name = UPPER('${partition}'))) LOOP EXECUTE IMMEDIATE 'ALTER TABLE ' || t.table_name || ' SPLIT PARTITION pmax AT (${toDate}) INTO (PARTITION ${partition}, PARTITION pmax) UPDATE GLOBAL INDEXES'; END LOOP; END;;
+MERGE INTO arch_partition p USING (SELECT '${partition}' AS name FROM dual) n ON (p.name = n.name) WHEN NOT MATCHED THEN INSERT VALUES ('${partition}', ${fromDate}, ${toDate});
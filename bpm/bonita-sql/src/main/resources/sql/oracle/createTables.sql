@@ -141,6 +141,7 @@ CREATE TABLE document (
   filename VARCHAR2(255 CHAR),
   mimetype VARCHAR2(255 CHAR),
   url VARCHAR2(1024 CHAR),
+  contentstorekey VARCHAR2(64 CHAR),
   content BLOB,
   PRIMARY KEY (tenantid, id)
 );
@@ -426,6 +427,16 @@ CREATE TABLE pending_mapping (
 );
 CREATE UNIQUE INDEX idx_UQ_pending_mapping ON pending_mapping (tenantid, activityId, userId, actorId);
 
+CREATE TABLE pending_task_inbox (
+	tenantid NUMBER(19, 0) NOT NULL,
+  	id NUMBER(19, 0) NOT NULL,
+  	userId NUMBER(19, 0) NOT NULL,
+  	humanTaskInstanceId NUMBER(19, 0) NOT NULL,
+  	PRIMARY KEY (tenantid, id)
+);
+CREATE INDEX idx_pending_task_inbox_user ON pending_task_inbox (tenantid, userId, humanTaskInstanceId);
+CREATE INDEX idx_pending_task_inbox_task ON pending_task_inbox (tenantid, humanTaskInstanceId);
+
 
 CREATE TABLE ref_biz_data_inst (
 	tenantid NUMBER(19, 0) NOT NULL,
@@ -807,6 +818,7 @@ CREATE TABLE queriablelog_p (
 );
 
 CREATE INDEX idx_queriablelog ON queriablelog_p (queriableLogId);
+CREATE INDEX idx_queriable_log_time ON queriable_log (tenantid, timeStamp);
 ALTER TABLE queriablelog_p ADD CONSTRAINT fk_queriableLogId FOREIGN KEY (tenantid, queriableLogId) REFERENCES queriable_log(tenantid, id);
 
 CREATE TABLE page (
@@ -943,6 +955,21 @@ CREATE TABLE job_log (
 
 ALTER TABLE job_param ADD CONSTRAINT fk_job_param_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE;
 ALTER TABLE job_log ADD CONSTRAINT fk_job_log_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE;
+CREATE TABLE job_timer (
+  tenantId NUMBER(19, 0) NOT NULL,
+  id NUMBER(19, 0) NOT NULL,
+  jobDescriptorId NUMBER(19, 0) NOT NULL,
+  jobName VARCHAR2(100 CHAR) NOT NULL,
+  triggerName VARCHAR2(255 CHAR) NOT NULL,
+  dueDate NUMBER(19, 0) NOT NULL,
+  ownerNode VARCHAR2(50 CHAR),
+  claimedUntil NUMBER(19, 0) NOT NULL,
+  failureCount INT NOT NULL,
+  PRIMARY KEY (tenantId, id)
+);
+CREATE INDEX idx_job_timer_due ON job_timer (tenantId, dueDate, claimedUntil);
+CREATE INDEX idx_job_timer_job ON job_timer (tenantId, jobName);
+ALTER TABLE job_timer ADD CONSTRAINT fk_job_timer_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE;
 CREATE TABLE theme (
   tenantId NUMBER(19, 0) NOT NULL,
   id NUMBER(19, 0) NOT NULL,
@@ -994,6 +1021,13 @@ CREATE TABLE proc_parameter (
   PRIMARY KEY (tenantId, id)
 );
 
+CREATE TABLE proc_parameter_version (
+  tenantId NUMBER(19, 0) NOT NULL,
+  id NUMBER(19, 0) NOT NULL,
+  version NUMBER(19, 0) NOT NULL,
+  PRIMARY KEY (tenantId, id)
+);
+
 CREATE TABLE bar_resource (
   tenantId NUMBER(19, 0) NOT NULL,
   id NUMBER(19, 0) NOT NULL,
@@ -0,0 +1,4 @@
+-- DDL is committed statement by statement: a partition is only dropped when it exists, so that the script can be executed again after a failure.
+-- The PL/SQL block ends with a doubled delimiter: the last one separates the statements, the other one ends the block.
+BEGIN FOR t IN (SELECT table_name FROM user_tables WHERE table_name IN ('ARCH_PROCESS_INSTANCE', 'ARCH_FLOWNODE_INSTANCE', 'ARCH_CONNECTOR_INSTANCE', 'ARCH_DATA_INSTANCE') AND table_name IN (SELECT table_name FROM user_tab_partitions WHERE partition_name = UPPER('${partition}'))) LOOP EXECUTE IMMEDIATE 'ALTER TABLE ' || t.table_name || ' DROP PARTITION ${partition} UPDATE GLOBAL INDEXES'; END LOOP; END;;
+DELETE FROM arch_partition WHERE name = '${partition}';
@@ -15,6 +15,7 @@ DROP TABLE arch_process_instance cascade constraints purge;
 DROP TABLE arch_connector_instance cascade constraints purge;
 DROP TABLE multi_biz_data cascade constraints purge;
 DROP TABLE ref_biz_data_inst cascade constraints purge;
+DROP TABLE pending_task_inbox cascade constraints purge;
 DROP TABLE pending_mapping cascade constraints purge;
 DROP TABLE connector_instance cascade constraints purge;
 DROP TABLE flownode_instance cascade constraints purge;
@@ -51,6 +52,7 @@ DROP TABLE blob_ cascade constraints purge;
 DROP TABLE profilemember cascade constraints purge;
 DROP TABLE profileentry cascade constraints purge;
 DROP TABLE profile cascade constraints purge;
+DROP TABLE job_timer cascade constraints purge;
 DROP TABLE job_log cascade constraints purge;
 DROP TABLE job_param cascade constraints purge;
 DROP TABLE job_desc cascade constraints purge;
@@ -62,4 +64,5 @@ DROP TABLE form_mapping cascade constraints purge;
 DROP TABLE page_mapping cascade constraints purge;
 DROP TABLE process_content cascade constraints purge;
 DROP TABLE proc_parameter cascade constraints purge;
+DROP TABLE proc_parameter_version cascade constraints purge;
 DROP TABLE bar_resource cascade constraints purge;
@@ -12,6 +12,7 @@ INSERT INTO sequence VALUES(${tenantid}, 31, 1);
 INSERT INTO sequence VALUES(${tenantid}, 70, 1);
 INSERT INTO sequence VALUES(${tenantid}, 71, 1);
 INSERT INTO sequence VALUES(${tenantid}, 72, 1);
+INSERT INTO sequence VALUES(${tenantid}, 73, 1);
 INSERT INTO sequence VALUES(${tenantid}, 90, 1);
 INSERT INTO sequence VALUES(${tenantid}, 500, 1);
 INSERT INTO sequence VALUES(${tenantid}, 9890, 1);
@@ -28,6 +29,7 @@ INSERT INTO sequence VALUES(${tenantid}, 10015, 1);
 INSERT INTO sequence VALUES(${tenantid}, 10016, 1);
 INSERT INTO sequence VALUES(${tenantid}, 10017, 1);
 INSERT INTO sequence VALUES(${tenantid}, 10018, 1);
+INSERT INTO sequence VALUES(${tenantid}, 10019, 1);
 INSERT INTO sequence VALUES(${tenantid}, 10020, 1);
 INSERT INTO sequence VALUES(${tenantid}, 10021, 1);
 INSERT INTO sequence VALUES(${tenantid}, 10030, 1);
@@ -0,0 +1,19 @@
+-- Range partitioning of the archive tables by archive month, requires Oracle 12.2 or later with the Partitioning option.
+-- Executed right after postCreateStructure.sql when bonita.platform.archive.partitioning.enabled is true. Indexes stay global.
+CREATE TABLE arch_partition (
+  name VARCHAR2(50 CHAR) NOT NULL,
+  fromDate NUMBER(19, 0) NOT NULL,
+  toDate NUMBER(19, 0) NOT NULL,
+  PRIMARY KEY (name)
+);
+-- Single row leased by the node that maintains the partitions, see ArchivePartitionServiceImpl
+CREATE TABLE arch_partition_lock (
+  id NUMBER(10, 0) NOT NULL,
+  lockedUntil NUMBER(19, 0) NOT NULL,
+  PRIMARY KEY (id)
+);
+INSERT INTO arch_partition_lock VALUES (1, 0);
+ALTER TABLE arch_process_instance MODIFY PARTITION BY RANGE (archiveDate) (PARTITION pmax VALUES LESS THAN (MAXVALUE));
+ALTER TABLE arch_flownode_instance MODIFY PARTITION BY RANGE (archiveDate) (PARTITION pmax VALUES LESS THAN (MAXVALUE));
+ALTER TABLE arch_connector_instance MODIFY PARTITION BY RANGE (archiveDate) (PARTITION pmax VALUES LESS THAN (MAXVALUE));
+ALTER TABLE arch_data_instance MODIFY PARTITION BY RANGE (archiveDate) (PARTITION pmax VALUES LESS THAN (MAXVALUE));
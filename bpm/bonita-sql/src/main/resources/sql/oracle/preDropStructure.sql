@@ -7,6 +7,7 @@ ALTER TABLE external_identity_mapping DROP CONSTRAINT fk_extIdMap_tenId;
 ALTER TABLE custom_usr_inf_def DROP CONSTRAINT fk_custom_usr_inf_def_tenantId;
 ALTER TABLE custom_usr_inf_val DROP CONSTRAINT fk_custom_usr_inf_val_tenantId;
 ALTER TABLE pending_mapping DROP CONSTRAINT fk_pMap_flnId;
+ALTER TABLE pending_task_inbox DROP CONSTRAINT fk_pInbox_flnId;
 ALTER TABLE processcategorymapping DROP CONSTRAINT fk_procCatMap_tenId;
 ALTER TABLE multi_biz_data DROP CONSTRAINT fk_multi_biz_data_tenantId;
 ALTER TABLE ref_biz_data_inst DROP CONSTRAINT fk_ref_biz_data_inst_tenantId;
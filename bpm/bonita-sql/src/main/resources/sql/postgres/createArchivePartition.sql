@@ -0,0 +1,24 @@
+-- Archives of the month that were written to the default partition before the partition existed are moved to the new partition: PostgreSQL
+-- refuses to attach a partition while the default partition holds rows of its range. The default partition is locked so that no such row is added meanwhile.
+-- DDL is transactional: the script is executed in a single transaction, and it can be executed again for a partition that already exists.
+LOCK TABLE arch_process_instance_pdefault IN EXCLUSIVE MODE;
+CREATE TABLE IF NOT EXISTS arch_process_instance_${partition} (LIKE arch_process_instance INCLUDING DEFAULTS);
+INSERT INTO arch_process_instance_${partition} SELECT * FROM arch_process_instance_pdefault WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DELETE FROM arch_process_instance_pdefault WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DO $$ BEGIN IF NOT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = 'arch_process_instance_${partition}'::regclass) THEN ALTER TABLE arch_process_instance ATTACH PARTITION arch_process_instance_${partition} FOR VALUES FROM (${fromDate}) TO (${toDate}); END IF; END $$;
+LOCK TABLE arch_flownode_instance_pdefault IN EXCLUSIVE MODE;
+CREATE TABLE IF NOT EXISTS arch_flownode_instance_${partition} (LIKE arch_flownode_instance INCLUDING DEFAULTS);
+INSERT INTO arch_flownode_instance_${partition} SELECT * FROM arch_flownode_instance_pdefault WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DELETE FROM arch_flownode_instance_pdefault WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DO $$ BEGIN IF NOT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = 'arch_flownode_instance_${partition}'::regclass) THEN ALTER TABLE arch_flownode_instance ATTACH PARTITION arch_flownode_instance_${partition} FOR VALUES FROM (${fromDate}) TO (${toDate}); END IF; END $$;
+LOCK TABLE arch_connector_instance_pdefault IN EXCLUSIVE MODE;
+CREATE TABLE IF NOT EXISTS arch_connector_instance_${partition} (LIKE arch_connector_instance INCLUDING DEFAULTS);
+INSERT INTO arch_connector_instance_${partition} SELECT * FROM arch_connector_instance_pdefault WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DELETE FROM arch_connector_instance_pdefault WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DO $$ BEGIN IF NOT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = 'arch_connector_instance_${partition}'::regclass) THEN ALTER TABLE arch_connector_instance ATTACH PARTITION arch_connector_instance_${partition} FOR VALUES FROM (${fromDate}) TO (${toDate}); END IF; END $$;
+LOCK TABLE arch_data_instance_pdefault IN EXCLUSIVE MODE;
+CREATE TABLE IF NOT EXISTS arch_data_instance_${partition} (LIKE arch_data_instance INCLUDING DEFAULTS);
+INSERT INTO arch_data_instance_${partition} SELECT * FROM arch_data_instance_pdefault WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DELETE FROM arch_data_instance_pdefault WHERE archiveDate >= ${fromDate} AND archiveDate < ${toDate};
+DO $$ BEGIN IF NOT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = 'arch_data_instance_${partition}'::regclass) THEN ALTER TABLE arch_data_instance ATTACH PARTITION arch_data_instance_${partition} FOR VALUES FROM (${fromDate}) TO (${toDate}); END IF; END $$;
+INSERT INTO arch_partition VALUES ('${partition}', ${fromDate}, ${toDate}) ON CONFLICT (name) DO NOTHING;
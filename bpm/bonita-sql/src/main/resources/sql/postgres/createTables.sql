@@ -143,6 +143,7 @@ CREATE TABLE document (
   filename VARCHAR(255),
   mimetype VARCHAR(255),
   url VARCHAR(1024),
+  contentstorekey VARCHAR(64),
   content BYTEA,
   PRIMARY KEY (tenantid, id)
 );
@@ -428,6 +429,16 @@ CREATE TABLE pending_mapping (
 );
 CREATE UNIQUE INDEX idx_UQ_pending_mapping ON pending_mapping (tenantid, activityId, userId, actorId);
 
+CREATE TABLE pending_task_inbox (
+	tenantid INT8 NOT NULL,
+  	id INT8 NOT NULL,
+  	userId INT8 NOT NULL,
+  	humanTaskInstanceId INT8 NOT NULL,
+  	PRIMARY KEY (tenantid, id)
+);
+CREATE INDEX idx_pending_task_inbox_user ON pending_task_inbox (tenantid, userId, humanTaskInstanceId);
+CREATE INDEX idx_pending_task_inbox_task ON pending_task_inbox (tenantid, humanTaskInstanceId);
+
 CREATE TABLE ref_biz_data_inst (
 	tenantid INT8 NOT NULL,
   	id INT8 NOT NULL,
@@ -814,6 +825,7 @@ CREATE TABLE queriablelog_p (
 );
 
 CREATE INDEX idx_queriablelog ON queriablelog_p (queriableLogId);
+CREATE INDEX idx_queriable_log_time ON queriable_log (tenantid, timeStamp);
 ALTER TABLE queriablelog_p ADD CONSTRAINT fk_queriableLogId FOREIGN KEY (tenantid, queriableLogId) REFERENCES queriable_log(tenantid, id);
 CREATE TABLE page (
   tenantId INT8 NOT NULL,
@@ -948,6 +960,21 @@ CREATE TABLE job_log (
 
 ALTER TABLE job_param ADD CONSTRAINT fk_job_param_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE;
 ALTER TABLE job_log ADD CONSTRAINT fk_job_log_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE;
+CREATE TABLE job_timer (
+  tenantid INT8 NOT NULL,
+  id INT8 NOT NULL,
+  jobDescriptorId INT8 NOT NULL,
+  jobName VARCHAR(100) NOT NULL,
+  triggerName VARCHAR(255) NOT NULL,
+  dueDate INT8 NOT NULL,
+  ownerNode VARCHAR(50),
+  claimedUntil INT8 NOT NULL,
+  failureCount INT NOT NULL,
+  PRIMARY KEY (tenantid, id)
+);
+CREATE INDEX idx_job_timer_due ON job_timer (tenantid, dueDate, claimedUntil);
+CREATE INDEX idx_job_timer_job ON job_timer (tenantid, jobName);
+ALTER TABLE job_timer ADD CONSTRAINT fk_job_timer_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE;
 CREATE TABLE theme (
   tenantId INT8 NOT NULL,
   id INT8 NOT NULL,
@@ -997,6 +1024,13 @@ CREATE TABLE proc_parameter (
   PRIMARY KEY (tenantId, id)
 );
 
+CREATE TABLE proc_parameter_version (
+  tenantId INT8 NOT NULL,
+  id INT8 NOT NULL,
+  version INT8 NOT NULL,
+  PRIMARY KEY (tenantId, id)
+);
+
 CREATE TABLE bar_resource (
   tenantId INT8 NOT NULL,
   id INT8 NOT NULL,
@@ -17,6 +17,7 @@ DELETE FROM multi_biz_data WHERE tenantid = ${tenantid};
 DELETE FROM ref_biz_data_inst WHERE tenantid = ${tenantid};
 DELETE FROM connector_instance WHERE tenantid = ${tenantid};
 DELETE FROM message_instance WHERE tenantid = ${tenantid};
+DELETE FROM pending_task_inbox WHERE tenantid = ${tenantid};
 DELETE FROM pending_mapping WHERE tenantid = ${tenantid};
 DELETE FROM event_trigger_instance WHERE tenantid = ${tenantid};
 DELETE FROM waiting_event WHERE tenantid = ${tenantid};
@@ -48,6 +49,7 @@ DELETE FROM sequence WHERE tenantid = ${tenantid};
 DELETE FROM profilemember WHERE tenantid = ${tenantid};
 DELETE FROM profileentry WHERE tenantid = ${tenantid};
 DELETE FROM profile WHERE tenantid = ${tenantid};
+DELETE FROM job_timer WHERE tenantid = ${tenantid};
 DELETE FROM job_log WHERE tenantid = ${tenantid};
 DELETE FROM job_param WHERE tenantid = ${tenantid};
 DELETE FROM job_desc WHERE tenantid = ${tenantid};
@@ -56,3 +58,4 @@ DELETE FROM form_mapping WHERE tenantid = ${tenantid};
 DELETE FROM page_mapping WHERE tenantid = ${tenantid};
 DELETE FROM process_content WHERE tenantid = ${tenantid};
 DELETE FROM proc_parameter WHERE tenantid = ${tenantid};
+DELETE FROM proc_parameter_version WHERE tenantid = ${tenantid};
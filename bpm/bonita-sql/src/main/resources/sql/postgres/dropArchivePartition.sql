@@ -0,0 +1,5 @@
+DROP TABLE IF EXISTS arch_process_instance_${partition};
+DROP TABLE IF EXISTS arch_flownode_instance_${partition};
+DROP TABLE IF EXISTS arch_connector_instance_${partition};
+DROP TABLE IF EXISTS arch_data_instance_${partition};
+DELETE FROM arch_partition WHERE name = '${partition}';
@@ -0,0 +1,52 @@
+-- Range partitioning of the archive tables by archive month, requires PostgreSQL 11 or later.
+-- Executed right after postCreateStructure.sql when bonita.platform.archive.partitioning.enabled is true: the tables are still empty and are recreated as partitioned tables.
+-- Rows outside of the monthly partitions created by the ArchivePartitionService go to the default partition.
+CREATE TABLE arch_partition (
+  name VARCHAR(50) NOT NULL,
+  fromDate INT8 NOT NULL,
+  toDate INT8 NOT NULL,
+  PRIMARY KEY (name)
+);
+-- Single row leased by the node that maintains the partitions, see ArchivePartitionServiceImpl
+CREATE TABLE arch_partition_lock (
+  id INT4 NOT NULL,
+  lockedUntil INT8 NOT NULL,
+  PRIMARY KEY (id)
+);
+INSERT INTO arch_partition_lock VALUES (1, 0);
+ALTER TABLE arch_process_instance DROP CONSTRAINT fk_arch_process_instance_tenantId;
+CREATE TABLE arch_process_instance_p (LIKE arch_process_instance INCLUDING DEFAULTS) PARTITION BY RANGE (archiveDate);
+DROP TABLE arch_process_instance;
+ALTER TABLE arch_process_instance_p RENAME TO arch_process_instance;
+ALTER TABLE arch_process_instance ADD PRIMARY KEY (tenantid, id, archiveDate);
+CREATE INDEX idx1_arch_process_instance ON arch_process_instance (tenantId, sourceObjectId, rootProcessInstanceId, callerId);
+CREATE INDEX idx2_arch_process_instance ON arch_process_instance (tenantId, processDefinitionId, archiveDate);
+CREATE INDEX idx3_arch_process_instance ON arch_process_instance (tenantId, sourceObjectId, callerId, stateId);
+CREATE TABLE arch_process_instance_pdefault PARTITION OF arch_process_instance DEFAULT;
+ALTER TABLE arch_process_instance ADD CONSTRAINT fk_arch_process_instance_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id);
+ALTER TABLE arch_flownode_instance DROP CONSTRAINT fk_arch_flownode_instance_tenantId;
+CREATE TABLE arch_flownode_instance_p (LIKE arch_flownode_instance INCLUDING DEFAULTS) PARTITION BY RANGE (archiveDate);
+DROP TABLE arch_flownode_instance;
+ALTER TABLE arch_flownode_instance_p RENAME TO arch_flownode_instance;
+ALTER TABLE arch_flownode_instance ADD PRIMARY KEY (tenantid, id, archiveDate);
+CREATE INDEX idx_afi_kind_lg2_executedBy ON arch_flownode_instance(kind, logicalGroup2, executedBy);
+CREATE INDEX idx_afi_kind_lg3 ON arch_flownode_instance(tenantId, kind, logicalGroup3);
+CREATE INDEX idx_afi_sourceId_tenantid_kind ON arch_flownode_instance (sourceObjectId, tenantid, kind);
+CREATE INDEX idx1_arch_flownode_instance ON arch_flownode_instance (tenantId, rootContainerId, parentContainerId);
+CREATE TABLE arch_flownode_instance_pdefault PARTITION OF arch_flownode_instance DEFAULT;
+ALTER TABLE arch_flownode_instance ADD CONSTRAINT fk_arch_flownode_instance_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id);
+CREATE TABLE arch_connector_instance_p (LIKE arch_connector_instance INCLUDING DEFAULTS) PARTITION BY RANGE (archiveDate);
+DROP TABLE arch_connector_instance;
+ALTER TABLE arch_connector_instance_p RENAME TO arch_connector_instance;
+ALTER TABLE arch_connector_instance ADD PRIMARY KEY (tenantid, id, archiveDate);
+CREATE INDEX idx1_arch_connector_instance ON arch_connector_instance (tenantId, containerId, containerType);
+CREATE TABLE arch_connector_instance_pdefault PARTITION OF arch_connector_instance DEFAULT;
+ALTER TABLE arch_data_instance DROP CONSTRAINT fk_arch_data_instance_tenantId;
+CREATE TABLE arch_data_instance_p (LIKE arch_data_instance INCLUDING DEFAULTS) PARTITION BY RANGE (archiveDate);
+DROP TABLE arch_data_instance;
+ALTER TABLE arch_data_instance_p RENAME TO arch_data_instance;
+ALTER TABLE arch_data_instance ADD PRIMARY KEY (tenantid, id, archiveDate);
+CREATE INDEX idx1_arch_data_instance ON arch_data_instance (tenantId, containerId, containerType, archiveDate, name, sourceObjectId);
+CREATE INDEX idx2_arch_data_instance ON arch_data_instance (sourceObjectId, containerId, archiveDate, id, tenantId);
+CREATE TABLE arch_data_instance_pdefault PARTITION OF arch_data_instance DEFAULT;
+ALTER TABLE arch_data_instance ADD CONSTRAINT fk_arch_data_instance_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id);
@@ -0,0 +1,3 @@
+-- Partitions are dropped along with their archive table by dropTables.sql
+DROP TABLE arch_partition_lock;
+DROP TABLE arch_partition;
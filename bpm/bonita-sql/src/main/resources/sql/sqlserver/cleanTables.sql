@@ -32,6 +32,8 @@ DELETE FROM multi_biz_data
 GO
 DELETE FROM ref_biz_data_inst
 GO
+DELETE FROM pending_task_inbox
+GO
 DELETE FROM pending_mapping
 GO
 DELETE FROM message_instance
@@ -98,6 +100,8 @@ DELETE FROM profileentry
 GO
 DELETE FROM profile
 GO
+DELETE FROM job_timer
+GO
 DELETE FROM job_log
 GO
 DELETE FROM job_param
@@ -116,6 +120,8 @@ DELETE FROM page_mapping
 GO
 DELETE FROM proc_parameter
 GO
+DELETE FROM proc_parameter_version
+GO
 
 -- do NOT clear directly PLATFORM table, Hibernate needs to update its cache to know the platform has been deleted
  
\ No newline at end of file
@@ -0,0 +1,6 @@
+IF NOT EXISTS (SELECT 1 FROM sys.partition_range_values v JOIN sys.partition_functions f ON v.function_id = f.function_id WHERE f.name = 'pf_arch_archiveDate' AND v.value = ${fromDate}) BEGIN ALTER PARTITION SCHEME ps_arch_archiveDate NEXT USED [PRIMARY] ALTER PARTITION FUNCTION pf_arch_archiveDate() SPLIT RANGE (${fromDate}) END
+GO
+IF NOT EXISTS (SELECT 1 FROM sys.partition_range_values v JOIN sys.partition_functions f ON v.function_id = f.function_id WHERE f.name = 'pf_arch_archiveDate' AND v.value = ${toDate}) BEGIN ALTER PARTITION SCHEME ps_arch_archiveDate NEXT USED [PRIMARY] ALTER PARTITION FUNCTION pf_arch_archiveDate() SPLIT RANGE (${toDate}) END
+GO
+IF NOT EXISTS (SELECT 1 FROM arch_partition WHERE name = '${partition}') INSERT INTO arch_partition VALUES ('${partition}', ${fromDate}, ${toDate})
+GO
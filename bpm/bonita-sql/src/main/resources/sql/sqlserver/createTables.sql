@@ -163,6 +163,7 @@ CREATE TABLE document (
   filename NVARCHAR(255),
   mimetype NVARCHAR(255),
   url NVARCHAR(1024),
+  contentstorekey NVARCHAR(64),
   content VARBINARY(MAX),
   PRIMARY KEY (tenantid, id)
 )
@@ -476,6 +477,19 @@ GO
 CREATE UNIQUE INDEX idx_UQ_pending_mapping ON pending_mapping (tenantid, activityId, userId, actorId)
 GO
 
+CREATE TABLE pending_task_inbox (
+	tenantid NUMERIC(19, 0) NOT NULL,
+  	id NUMERIC(19, 0) NOT NULL,
+  	userId NUMERIC(19, 0) NOT NULL,
+  	humanTaskInstanceId NUMERIC(19, 0) NOT NULL,
+  	PRIMARY KEY (tenantid, id)
+)
+GO
+CREATE INDEX idx_pending_task_inbox_user ON pending_task_inbox (tenantid, userId, humanTaskInstanceId)
+GO
+CREATE INDEX idx_pending_task_inbox_task ON pending_task_inbox (tenantid, humanTaskInstanceId)
+GO
+
 CREATE TABLE ref_biz_data_inst (
 	tenantid NUMERIC(19, 0) NOT NULL,
   	id NUMERIC(19, 0) NOT NULL,
@@ -924,6 +938,8 @@ GO
 
 CREATE INDEX idx_queriablelog ON queriablelog_p (queriableLogId, id)
 GO
+CREATE INDEX idx_queriable_log_time ON queriable_log (tenantid, timeStamp)
+GO
 ALTER TABLE queriablelog_p ADD CONSTRAINT fk_queriableLogId FOREIGN KEY (tenantid, queriableLogId) REFERENCES queriable_log(tenantid, id)
 GO
 CREATE TABLE page (
@@ -1077,6 +1093,25 @@ ALTER TABLE job_param ADD CONSTRAINT fk_job_param_jobid FOREIGN KEY (tenantid, j
 GO
 ALTER TABLE job_log ADD CONSTRAINT fk_job_log_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE
 GO
+CREATE TABLE job_timer (
+  tenantid NUMERIC(19, 0) NOT NULL,
+  id NUMERIC(19, 0) NOT NULL,
+  jobDescriptorId NUMERIC(19, 0) NOT NULL,
+  jobName NVARCHAR(100) NOT NULL,
+  triggerName NVARCHAR(255) NOT NULL,
+  dueDate NUMERIC(19, 0) NOT NULL,
+  ownerNode NVARCHAR(50),
+  claimedUntil NUMERIC(19, 0) NOT NULL,
+  failureCount INT NOT NULL,
+  PRIMARY KEY (tenantid, id)
+)
+GO
+CREATE INDEX idx_job_timer_due ON job_timer (tenantid, dueDate, claimedUntil)
+GO
+CREATE INDEX idx_job_timer_job ON job_timer (tenantid, jobName)
+GO
+ALTER TABLE job_timer ADD CONSTRAINT fk_job_timer_jobid FOREIGN KEY (tenantid, jobDescriptorId) REFERENCES job_desc(tenantid, id) ON DELETE CASCADE
+GO
 CREATE TABLE theme (
   tenantId NUMERIC(19, 0) NOT NULL,
   id NUMERIC(19, 0) NOT NULL,
@@ -1128,6 +1163,13 @@ CREATE TABLE proc_parameter (
   PRIMARY KEY (tenantId, id)
 )
 GO
+CREATE TABLE proc_parameter_version (
+  tenantId NUMERIC(19, 0) NOT NULL,
+  id NUMERIC(19, 0) NOT NULL,
+  version NUMERIC(19, 0) NOT NULL,
+  PRIMARY KEY (tenantId, id)
+)
+GO
 CREATE TABLE bar_resource (
   tenantId NUMERIC(19, 0) NOT NULL,
   id NUMERIC(19, 0) NOT NULL,
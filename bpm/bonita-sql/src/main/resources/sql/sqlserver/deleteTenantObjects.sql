@@ -36,6 +36,8 @@ DELETE FROM connector_instance WHERE tenantid = ${tenantid}
 GO
 DELETE FROM message_instance WHERE tenantid = ${tenantid}
 GO
+DELETE FROM pending_task_inbox WHERE tenantid = ${tenantid}
+GO
 DELETE FROM pending_mapping WHERE tenantid = ${tenantid}
 GO
 DELETE FROM event_trigger_instance WHERE tenantid = ${tenantid}
@@ -98,6 +100,8 @@ DELETE FROM profileentry WHERE tenantid = ${tenantid}
 GO
 DELETE FROM profile WHERE tenantid = ${tenantid}
 GO
+DELETE FROM job_timer WHERE tenantid = ${tenantid}
+GO
 DELETE FROM job_log WHERE tenantid = ${tenantid}
 GO
 DELETE FROM job_param WHERE tenantid = ${tenantid}
@@ -114,3 +118,5 @@ DELETE FROM process_content WHERE tenantid = ${tenantid}
 GO
 DELETE FROM proc_parameter WHERE tenantid = ${tenantid}
 GO
+DELETE FROM proc_parameter_version WHERE tenantid = ${tenantid}
+GO
@@ -0,0 +1,5 @@
+-- The month is only truncated while its lower boundary exists: once it is merged, $PARTITION would designate the partition of the previous months.
+IF EXISTS (SELECT 1 FROM sys.partition_range_values v JOIN sys.partition_functions f ON v.function_id = f.function_id WHERE f.name = 'pf_arch_archiveDate' AND v.value = ${fromDate}) BEGIN TRUNCATE TABLE arch_process_instance WITH (PARTITIONS ($PARTITION.pf_arch_archiveDate(${fromDate}))) TRUNCATE TABLE arch_flownode_instance WITH (PARTITIONS ($PARTITION.pf_arch_archiveDate(${fromDate}))) TRUNCATE TABLE arch_connector_instance WITH (PARTITIONS ($PARTITION.pf_arch_archiveDate(${fromDate}))) TRUNCATE TABLE arch_data_instance WITH (PARTITIONS ($PARTITION.pf_arch_archiveDate(${fromDate}))) ALTER PARTITION FUNCTION pf_arch_archiveDate() MERGE RANGE (${fromDate}) END
+GO
+DELETE FROM arch_partition WHERE name = '${partition}'
+GO
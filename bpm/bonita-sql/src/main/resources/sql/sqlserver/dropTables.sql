@@ -32,6 +32,8 @@ DROP TABLE multi_biz_data
 GO
 DROP TABLE ref_biz_data_inst
 GO
+DROP TABLE pending_task_inbox
+GO
 DROP TABLE pending_mapping
 GO
 DROP TABLE connector_instance
@@ -104,6 +106,8 @@ DROP TABLE profileentry
 GO
 DROP TABLE profile
 GO
+DROP TABLE job_timer
+GO
 DROP TABLE job_log
 GO
 DROP TABLE job_param
@@ -126,5 +130,7 @@ DROP TABLE process_content
 GO
 DROP TABLE proc_parameter
 GO
+DROP TABLE proc_parameter_version
+GO
 DROP TABLE bar_resource
 GO
\ No newline at end of file
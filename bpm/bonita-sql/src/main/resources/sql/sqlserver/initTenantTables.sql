@@ -26,6 +26,8 @@ INSERT INTO sequence VALUES(${tenantid}, 71, 1)
 GO
 INSERT INTO sequence VALUES(${tenantid}, 72, 1)
 GO
+INSERT INTO sequence VALUES(${tenantid}, 73, 1)
+GO
 INSERT INTO sequence VALUES(${tenantid}, 90, 1)
 GO
 INSERT INTO sequence VALUES(${tenantid}, 500, 1)
@@ -58,6 +60,8 @@ INSERT INTO sequence VALUES(${tenantid}, 10017, 1)
 GO
 INSERT INTO sequence VALUES(${tenantid}, 10018, 1)
 GO
+INSERT INTO sequence VALUES(${tenantid}, 10019, 1)
+GO
 INSERT INTO sequence VALUES(${tenantid}, 10020, 1)
 GO
 INSERT INTO sequence VALUES(${tenantid}, 10021, 1)
@@ -0,0 +1,59 @@
+-- Range partitioning of the archive tables by archive month, requires SQL Server 2016 or later.
+-- Executed right after postCreateStructure.sql when bonita.platform.archive.partitioning.enabled is true.
+-- The primary keys are rebuilt on the partition scheme with archiveDate, so that every index is aligned and a month can be truncated.
+CREATE TABLE arch_partition (
+  name NVARCHAR(50) NOT NULL,
+  fromDate NUMERIC(19, 0) NOT NULL,
+  toDate NUMERIC(19, 0) NOT NULL,
+  PRIMARY KEY (name)
+)
+GO
+-- Single row leased by the node that maintains the partitions, see ArchivePartitionServiceImpl
+CREATE TABLE arch_partition_lock (
+  id INT NOT NULL,
+  lockedUntil NUMERIC(19, 0) NOT NULL,
+  PRIMARY KEY (id)
+)
+GO
+INSERT INTO arch_partition_lock VALUES (1, 0)
+GO
+IF NOT EXISTS (SELECT 1 FROM sys.partition_functions WHERE name = 'pf_arch_archiveDate') CREATE PARTITION FUNCTION pf_arch_archiveDate (NUMERIC(19, 0)) AS RANGE RIGHT FOR VALUES ()
+GO
+IF NOT EXISTS (SELECT 1 FROM sys.partition_schemes WHERE name = 'ps_arch_archiveDate') CREATE PARTITION SCHEME ps_arch_archiveDate AS PARTITION pf_arch_archiveDate ALL TO ([PRIMARY])
+GO
+DECLARE @pk NVARCHAR(128) SELECT @pk = name FROM sys.key_constraints WHERE type = 'PK' AND parent_object_id = OBJECT_ID('arch_process_instance') EXEC('ALTER TABLE arch_process_instance DROP CONSTRAINT ' + @pk)
+GO
+ALTER TABLE arch_process_instance ADD CONSTRAINT pk_arch_process_instance PRIMARY KEY CLUSTERED (tenantid, id, archiveDate) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx1_arch_process_instance ON arch_process_instance (tenantId, sourceObjectId, rootProcessInstanceId, callerId) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx2_arch_process_instance ON arch_process_instance (tenantId, processDefinitionId, archiveDate) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx3_arch_process_instance ON arch_process_instance (tenantId, sourceObjectId, callerId, stateId) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+DECLARE @pk NVARCHAR(128) SELECT @pk = name FROM sys.key_constraints WHERE type = 'PK' AND parent_object_id = OBJECT_ID('arch_flownode_instance') EXEC('ALTER TABLE arch_flownode_instance DROP CONSTRAINT ' + @pk)
+GO
+ALTER TABLE arch_flownode_instance ADD CONSTRAINT pk_arch_flownode_instance PRIMARY KEY CLUSTERED (tenantid, id, archiveDate) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx_afi_kind_lg2_executedBy ON arch_flownode_instance(kind, logicalGroup2, executedBy) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx_afi_kind_lg3 ON arch_flownode_instance(tenantId, kind, logicalGroup3) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx_afi_sourceId_tenantid_kind ON arch_flownode_instance (sourceObjectId, tenantid, kind) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx1_arch_flownode_instance ON arch_flownode_instance (tenantId, rootContainerId, parentContainerId) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+DECLARE @pk NVARCHAR(128) SELECT @pk = name FROM sys.key_constraints WHERE type = 'PK' AND parent_object_id = OBJECT_ID('arch_connector_instance') EXEC('ALTER TABLE arch_connector_instance DROP CONSTRAINT ' + @pk)
+GO
+ALTER TABLE arch_connector_instance ADD CONSTRAINT pk_arch_connector_instance PRIMARY KEY CLUSTERED (tenantid, id, archiveDate) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx1_arch_connector_instance ON arch_connector_instance (tenantId, containerId, containerType) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+DECLARE @pk NVARCHAR(128) SELECT @pk = name FROM sys.key_constraints WHERE type = 'PK' AND parent_object_id = OBJECT_ID('arch_data_instance') EXEC('ALTER TABLE arch_data_instance DROP CONSTRAINT ' + @pk)
+GO
+ALTER TABLE arch_data_instance ADD CONSTRAINT pk_arch_data_instance PRIMARY KEY CLUSTERED (tenantid, id, archiveDate) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx1_arch_data_instance ON arch_data_instance (tenantId, containerId, containerType, archiveDate, name, sourceObjectId) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
+CREATE INDEX idx2_arch_data_instance ON arch_data_instance (sourceObjectId, containerId, archiveDate, id, tenantId) WITH (DROP_EXISTING = ON) ON ps_arch_archiveDate(archiveDate)
+GO
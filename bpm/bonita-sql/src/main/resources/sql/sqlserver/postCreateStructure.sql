@@ -39,6 +39,8 @@ ALTER TABLE job_desc ADD CONSTRAINT fk_job_desc_tenantId FOREIGN KEY (tenantid)
 GO
 ALTER TABLE job_param ADD CONSTRAINT fk_job_param_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id)
 GO
+ALTER TABLE job_timer ADD CONSTRAINT fk_job_timer_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id)
+GO
 ALTER TABLE message_instance ADD CONSTRAINT fk_message_instance_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id)
 GO
 ALTER TABLE custom_usr_inf_def ADD CONSTRAINT fk_custom_usr_inf_def_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id)
@@ -49,6 +51,10 @@ ALTER TABLE pending_mapping ADD CONSTRAINT fk_pending_mapping_tenantId FOREIGN K
 GO
 ALTER TABLE pending_mapping ADD CONSTRAINT fk_pending_mapping_flownode_instanceId FOREIGN KEY (tenantid, activityId) REFERENCES flownode_instance(tenantid, id)
 GO
+ALTER TABLE pending_task_inbox ADD CONSTRAINT fk_pending_task_inbox_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id)
+GO
+ALTER TABLE pending_task_inbox ADD CONSTRAINT fk_pending_task_inbox_flownode_instanceId FOREIGN KEY (tenantid, humanTaskInstanceId) REFERENCES flownode_instance(tenantid, id)
+GO
 ALTER TABLE processcategorymapping ADD CONSTRAINT fk_processcategorymapping_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id)
 GO
 ALTER TABLE process_comment ADD CONSTRAINT fk_process_comment_tenantId FOREIGN KEY (tenantid) REFERENCES tenant(id)
@@ -39,6 +39,8 @@ ALTER TABLE job_desc DROP CONSTRAINT fk_job_desc_tenantId
 GO
 ALTER TABLE job_param DROP CONSTRAINT fk_job_param_tenantId
 GO
+ALTER TABLE job_timer DROP CONSTRAINT fk_job_timer_tenantId
+GO
 ALTER TABLE message_instance DROP CONSTRAINT fk_message_instance_tenantId
 GO
 ALTER TABLE custom_usr_inf_def DROP CONSTRAINT fk_custom_usr_inf_def_tenantId
@@ -49,6 +51,10 @@ ALTER TABLE pending_mapping DROP CONSTRAINT fk_pending_mapping_tenantId
 GO
 ALTER TABLE pending_mapping DROP CONSTRAINT fk_pending_mapping_flownode_instanceId
 GO
+ALTER TABLE pending_task_inbox DROP CONSTRAINT fk_pending_task_inbox_tenantId
+GO
+ALTER TABLE pending_task_inbox DROP CONSTRAINT fk_pending_task_inbox_flownode_instanceId
+GO
 ALTER TABLE processcategorymapping DROP CONSTRAINT fk_processcategorymapping_tenantId
 GO
 ALTER TABLE process_comment DROP CONSTRAINT fk_process_comment_tenantId
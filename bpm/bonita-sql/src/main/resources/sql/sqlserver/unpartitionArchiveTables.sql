@@ -0,0 +1,5 @@
+-- The partition function and scheme are kept: they are reused if the platform is created again
+DROP TABLE arch_partition_lock
+GO
+DROP TABLE arch_partition
+GO
@@ -16,6 +16,7 @@ package org.bonitasoft.engine.bdm.dao.client.resources;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -49,6 +50,22 @@ public class BusinessObjectDeserializer {
         return (List<T>) mapper.readValue(serializedResult, createListJavaType(targetType));
     }
 
+    @SuppressWarnings("unchecked")
+    public <T> Map<Long, T> deserializeByPersistenceId(final byte[] serializedResult, final Class<T> targetType) throws JsonParseException,
+            JsonMappingException, IOException {
+        return (Map<Long, T>) mapper.readValue(serializedResult, createMapJavaType(createJavaType(targetType)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Map<Long, List<T>> deserializeListByPersistenceId(final byte[] serializedResult, final Class<T> targetType) throws JsonParseException,
+            JsonMappingException, IOException {
+        return (Map<Long, List<T>>) mapper.readValue(serializedResult, createMapJavaType(createListJavaType(targetType)));
+    }
+
+    private JavaType createMapJavaType(final JavaType valueType) {
+        return typeFactory.constructMapType(Map.class, createJavaType(Long.class), valueType);
+    }
+
     private JavaType createListJavaType(final Type elementType) {
         return typeFactory.constructCollectionType(List.class, createJavaType(elementType));
     }
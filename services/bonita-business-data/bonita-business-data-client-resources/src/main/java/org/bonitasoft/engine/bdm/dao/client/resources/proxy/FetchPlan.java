@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.bdm.dao.client.resources.proxy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Names of the lazy relations to load eagerly when entities are proxified.
+ * Each relation of the plan is loaded for all the proxified entities at once, with a single call to the server.
+ */
+public class FetchPlan {
+
+    public static final FetchPlan NONE = new FetchPlan(Collections.<String> emptySet());
+
+    private final Set<String> relations;
+
+    private FetchPlan(final Set<String> relations) {
+        this.relations = Collections.unmodifiableSet(relations);
+    }
+
+    public static FetchPlan fetch(final String... relationNames) {
+        return new FetchPlan(new LinkedHashSet<String>(Arrays.asList(relationNames)));
+    }
+
+    public FetchPlan and(final String... relationNames) {
+        final Set<String> newRelations = new LinkedHashSet<String>(relations);
+        newRelations.addAll(Arrays.asList(relationNames));
+        return new FetchPlan(newRelations);
+    }
+
+    public Set<String> getRelations() {
+        return relations;
+    }
+
+    public boolean isEmpty() {
+        return relations.isEmpty();
+    }
+
+}
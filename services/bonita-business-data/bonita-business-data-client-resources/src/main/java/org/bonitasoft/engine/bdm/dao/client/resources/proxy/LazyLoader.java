@@ -15,6 +15,8 @@ package org.bonitasoft.engine.bdm.dao.client.resources.proxy;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.bonitasoft.engine.api.CommandAPI;
@@ -55,6 +57,28 @@ public class LazyLoader {
         }
     }
 
+    /**
+     * Load the relation of the given getter for all the given entities with a single command call.
+     *
+     * @return the loaded values by persistence id of the entity owning the relation
+     */
+    public Map<Long, Object> loadAll(final Method method, final Collection<Long> persistenceIds) {
+        if (persistenceIds.isEmpty()) {
+            return new HashMap<Long, Object>();
+        }
+        try {
+            final EntityGetter getter = new EntityGetter(method);
+            final Map<String, Serializable> commandParameters = BDMQueryCommandParameters.createCommandParameters(getter, persistenceIds);
+            final byte[] serializedResult = (byte[]) getCommandAPI().execute("executeBDMQuery", commandParameters);
+            if (getter.returnsList()) {
+                return new HashMap<Long, Object>(deserializer.deserializeListByPersistenceId(serializedResult, getter.getTargetEntityClass()));
+            }
+            return new HashMap<Long, Object>(deserializer.deserializeByPersistenceId(serializedResult, getter.getTargetEntityClass()));
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     /**
      * protected for testing
      */
@@ -16,13 +16,17 @@ package org.bonitasoft.engine.bdm.dao.client.resources.proxy;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javassist.util.proxy.MethodFilter;
 import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.ProxyFactory;
 
 import org.bonitasoft.engine.bdm.Entity;
+import org.bonitasoft.engine.bdm.dao.client.resources.utils.Capitalizer;
 import org.bonitasoft.engine.bdm.lazy.LazyLoaded;
 
 /**
@@ -36,12 +40,25 @@ public class Proxyfier {
         this.lazyLoader = lazyLoader;
     }
 
-    @SuppressWarnings("unchecked")
     public <T extends Entity> T proxify(final T entity) {
-        return (T) proxifyEntity(entity);
+        return proxify(entity, FetchPlan.NONE);
+    }
+
+    /**
+     * Proxify the entity and load the relations of the fetch plan
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> T proxify(final T entity, final FetchPlan fetchPlan) {
+        if (entity == null) {
+            return null;
+        }
+        final Siblings siblings = new Siblings();
+        final T proxy = (T) proxifyEntity(entity, siblings);
+        siblings.fetch(fetchPlan);
+        return proxy;
     }
 
-    private Entity proxifyEntity(final Entity entity) {
+    private Entity proxifyEntity(final Entity entity, final Siblings siblings) {
         if (entity == null) {
             return null;
         }
@@ -49,28 +66,110 @@ public class Proxyfier {
         factory.setSuperclass(entity.getClass());
         factory.setFilter(new AllMethodFilter());
         try {
-            return (Entity) factory.create(new Class<?>[0], new Object[0], new LazyMethodHandler(entity, lazyLoader));
+            final LazyMethodHandler handler = new LazyMethodHandler(entity, lazyLoader, siblings);
+            siblings.add(handler);
+            return (Entity) factory.create(new Class<?>[0], new Object[0], handler);
         } catch (final Exception e) {
             throw new RuntimeException("Error when proxifying object", e);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public <T extends Entity> List<T> proxify(final List<T> entities) {
+        return proxify(entities, FetchPlan.NONE);
+    }
+
+    /**
+     * Proxify the entities and load the relations of the fetch plan for all of them, one server call per relation
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> List<T> proxify(final List<T> entities, final FetchPlan fetchPlan) {
         if (entities == null) {
             return null;
         }
-        return (List<T>) proxifyEntities((List<Entity>) entities);
+        final Siblings siblings = new Siblings();
+        final List<T> proxies = (List<T>) proxifyEntities((List<Entity>) entities, siblings);
+        siblings.fetch(fetchPlan);
+        return proxies;
     }
 
-    private List<Entity> proxifyEntities(final List<Entity> entities) {
+    private List<Entity> proxifyEntities(final List<Entity> entities, final Siblings siblings) {
         final List<Entity> proxies = new ArrayList<Entity>();
         for (final Entity entity : entities) {
-            proxies.add(proxifyEntity(entity));
+            proxies.add(proxifyEntity(entity, siblings));
         }
         return proxies;
     }
 
+    /**
+     * Entities proxified together (e.g. the result of a query): when a lazy relation is accessed on one of them, it is loaded for all the siblings
+     * that have not loaded it yet with a single call to the server.
+     */
+    private class Siblings {
+
+        private final List<LazyMethodHandler> handlers = new ArrayList<LazyMethodHandler>();
+
+        void add(final LazyMethodHandler handler) {
+            handlers.add(handler);
+        }
+
+        void fetch(final FetchPlan fetchPlan) {
+            if (handlers.isEmpty()) {
+                return;
+            }
+            final Class<?> entityClass = handlers.get(0).entity.getClass();
+            for (final String relation : fetchPlan.getRelations()) {
+                final Method getter = getLazyGetter(entityClass, relation);
+                try {
+                    load(getter);
+                } catch (final Exception e) {
+                    throw new RuntimeException("Error when fetching relation " + relation, e);
+                }
+            }
+        }
+
+        private Method getLazyGetter(final Class<?> entityClass, final String relation) {
+            final Method getter;
+            try {
+                getter = entityClass.getMethod("get" + Capitalizer.capitalize(relation));
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalArgumentException(relation + " is not a relation of " + entityClass.getName(), e);
+            }
+            if (!getter.isAnnotationPresent(LazyLoaded.class)) {
+                throw new IllegalArgumentException(relation + " is not a lazy relation of " + entityClass.getName());
+            }
+            return getter;
+        }
+
+        /**
+         * Load the relation of the getter for every sibling that did not load it yet
+         */
+        void load(final Method getter) throws Exception {
+            final Set<Long> persistenceIds = new LinkedHashSet<Long>();
+            final List<LazyMethodHandler> toLoad = new ArrayList<LazyMethodHandler>();
+            for (final LazyMethodHandler handler : handlers) {
+                if (handler.isNotLoaded(getter) && handler.entity.getPersistenceId() != null) {
+                    persistenceIds.add(handler.entity.getPersistenceId());
+                    toLoad.add(handler);
+                }
+            }
+            if (toLoad.isEmpty()) {
+                return;
+            }
+            if (toLoad.size() == 1) {
+                toLoad.get(0).loadSingle(getter);
+                return;
+            }
+            final Map<Long, Object> values = lazyLoader.loadAll(getter, persistenceIds);
+            for (final LazyMethodHandler handler : toLoad) {
+                handler.loaded(getter, values.get(handler.entity.getPersistenceId()));
+            }
+        }
+
+        boolean hasSeveralEntities() {
+            return handlers.size() > 1;
+        }
+    }
+
     /**
      * Handler that lazy load values for lazy loading methods that hasn't been loaded
      */
@@ -79,10 +178,12 @@ public class Proxyfier {
         private final LazyLoader lazyloader;
         private final List<String> alreadyLoaded = new ArrayList<String>();
         private final Entity entity;
+        private final Siblings siblings;
 
-        public LazyMethodHandler(final Entity entity, final LazyLoader lazyloader) {
+        public LazyMethodHandler(final Entity entity, final LazyLoader lazyloader, final Siblings siblings) {
             this.entity = entity;
             this.lazyloader = lazyloader;
+            this.siblings = siblings;
         }
 
         @Override
@@ -91,8 +192,12 @@ public class Proxyfier {
 
             if (isGetterOrSetter(thisMethod)) {
                 if (isGetter(thisMethod) && shouldBeLoaded(thisMethod, invocationResult)) {
-                    invocationResult = lazyloader.load(thisMethod, entity.getPersistenceId());
-                    callSetterOnEntity(invocationResult, thisMethod);
+                    if (entity.getPersistenceId() != null && siblings.hasSeveralEntities()) {
+                        siblings.load(thisMethod);
+                        invocationResult = thisMethod.invoke(entity, args);
+                    } else {
+                        invocationResult = loadSingle(thisMethod);
+                    }
                 }
                 alreadyLoaded.add(toFieldName(thisMethod.getName()));
             }
@@ -100,6 +205,21 @@ public class Proxyfier {
             return proxifyIfNeeded(invocationResult);
         }
 
+        private Object loadSingle(final Method getter) throws Exception {
+            final Object loaded = lazyloader.load(getter, entity.getPersistenceId());
+            loaded(getter, loaded);
+            return loaded;
+        }
+
+        private void loaded(final Method getter, final Object loaded) throws Exception {
+            callSetterOnEntity(loaded, getter);
+            alreadyLoaded.add(toFieldName(getter.getName()));
+        }
+
+        private boolean isNotLoaded(final Method getter) {
+            return !alreadyLoaded.contains(toFieldName(getter.getName()));
+        }
+
         private void callSetterOnEntity(final Object invocationResult, final Method getter) throws NoSuchMethodException, SecurityException,
                 IllegalAccessException, IllegalArgumentException, InvocationTargetException {
             if (invocationResult != null) {
@@ -115,11 +235,11 @@ public class Proxyfier {
         @SuppressWarnings("unchecked")
         private Object proxifyIfNeeded(final Object invocationResult) {
             if (isAnEntity(invocationResult)) {
-                return proxifyEntity((Entity) invocationResult);
+                return proxifyEntity((Entity) invocationResult, new Siblings());
             }
 
             if (isAListOfEntities(invocationResult)) {
-                return proxifyEntities((List<Entity>) invocationResult);
+                return proxifyEntities((List<Entity>) invocationResult, new Siblings());
             }
             return invocationResult;
         }
@@ -14,6 +14,8 @@
 package org.bonitasoft.engine.bdm.dao.client.resources.utils;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -33,4 +35,20 @@ public class BDMQueryCommandParameters {
         commandParameters.put("queryParameters", (Serializable) queryParameters);
         return commandParameters;
     }
+
+    /**
+     * Create parameters to resolve the relation of the given getter for several entities in a single command call. Results are returned by the
+     * command as a JSON object keyed by persistence id.
+     */
+    public static Map<String, Serializable> createCommandParameters(final EntityGetter getter, final Collection<Long> persistenceIds) {
+        final Map<String, Serializable> commandParameters = new HashMap<String, Serializable>();
+        commandParameters.put("queryName", getter.getAssociatedNamedQuery());
+        commandParameters.put("returnType", getter.getReturnTypeClassName());
+        commandParameters.put("returnsList", getter.returnsList());
+        commandParameters.put("startIndex", 0);
+        commandParameters.put("maxResults", Integer.MAX_VALUE);
+        commandParameters.put("queryParameters", new HashMap<String, Serializable>());
+        commandParameters.put("persistenceIds", new ArrayList<Long>(persistenceIds));
+        return commandParameters;
+    }
 }
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -81,6 +82,37 @@ public class LazyLoaderTest {
         assertThat((List<Child>) loadedChild).containsOnly(luce, julien);
     }
 
+    @Test
+    public void should_load_objects_of_several_entities_with_a_single_command_call() throws Exception {
+        Child luce = new Child("Luce", 2);
+        Child julien = new Child("Julien", 5);
+        String json = "{\"22\":" + luce.toJson() + ",\"23\":" + julien.toJson() + "}";
+        Method getChild = Parent.class.getMethod("getChild");
+        List<Long> persistenceIds = Arrays.asList(22L, 23L);
+        when(commandAPI.execute("executeBDMQuery", BDMQueryCommandParameters.createCommandParameters(new EntityGetter(getChild), persistenceIds)))
+                .thenReturn(json.getBytes());
+
+        Map<Long, Object> loadedChildren = lazyLoader.loadAll(getChild, persistenceIds);
+
+        assertThat(loadedChildren).containsOnly(entry(22L, luce), entry(23L, julien));
+    }
+
+    @Test
+    public void should_load_lists_of_objects_of_several_entities_with_a_single_command_call() throws Exception {
+        Child luce = new Child("Luce", 2);
+        Child julien = new Child("Julien", 5);
+        String json = "{\"22\":[" + luce.toJson() + "," + julien.toJson() + "],\"23\":[]}";
+        Method getChildren = Parent.class.getMethod("getChildren");
+        List<Long> persistenceIds = Arrays.asList(22L, 23L);
+        when(commandAPI.execute("executeBDMQuery", BDMQueryCommandParameters.createCommandParameters(new EntityGetter(getChildren), persistenceIds)))
+                .thenReturn(json.getBytes());
+
+        Map<Long, Object> loadedChildren = lazyLoader.loadAll(getChildren, persistenceIds);
+
+        assertThat((List<Child>) loadedChildren.get(22L)).containsExactly(luce, julien);
+        assertThat((List<Child>) loadedChildren.get(23L)).isEmpty();
+    }
+
     @Test
     public void should_getParameters_return_real_type_when_query_returns_list() throws Exception {
         long persistenceId = 22L;
@@ -14,13 +14,20 @@
 package org.bonitasoft.engine.bdm.dao.client.resources.proxy;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.assertj.core.api.Assertions;
 import org.bonita.pojo.AddressForTesting;
@@ -104,4 +111,64 @@ public class ProxyfierTest {
         Assertions.assertThat(lazyAddresses).hasSize(2);
 
     }
+
+    @Test
+    public void should_load_lazy_relation_of_all_siblings_with_a_single_call() throws Exception {
+        //given
+        final EmployeeForTesting employee1 = employee(1L);
+        final EmployeeForTesting employee2 = employee(2L);
+        final List<AddressForTesting> addresses1 = Arrays.asList(new AddressForTesting());
+        final List<AddressForTesting> addresses2 = Arrays.asList(new AddressForTesting(), new AddressForTesting());
+        final Map<Long, Object> addressesByEmployee = new HashMap<Long, Object>();
+        addressesByEmployee.put(1L, addresses1);
+        addressesByEmployee.put(2L, addresses2);
+        doReturn(addressesByEmployee).when(lazyLoader).loadAll(any(Method.class), anyCollectionOf(Long.class));
+
+        //when
+        final List<EmployeeForTesting> proxies = proxyfier.proxify(Arrays.asList(employee1, employee2));
+        final List<AddressForTesting> lazyAddresses1 = proxies.get(0).getAddresses();
+        final List<AddressForTesting> lazyAddresses2 = proxies.get(1).getAddresses();
+
+        //then
+        Assertions.assertThat(lazyAddresses1).hasSize(1);
+        Assertions.assertThat(lazyAddresses2).hasSize(2);
+        verify(lazyLoader, times(1)).loadAll(any(Method.class), anyCollectionOf(Long.class));
+        verify(lazyLoader, never()).load(any(Method.class), anyLong());
+    }
+
+    @Test
+    public void should_load_relations_of_fetch_plan_when_proxifying() throws Exception {
+        //given
+        final Map<Long, Object> addressesByEmployee = new HashMap<Long, Object>();
+        addressesByEmployee.put(1L, Arrays.asList(new AddressForTesting()));
+        addressesByEmployee.put(2L, Arrays.asList(new AddressForTesting()));
+        doReturn(addressesByEmployee).when(lazyLoader).loadAll(any(Method.class), anyCollectionOf(Long.class));
+
+        //when
+        final List<EmployeeForTesting> proxies = proxyfier.proxify(Arrays.asList(employee(1L), employee(2L)), FetchPlan.fetch("addresses"));
+
+        //then
+        verify(lazyLoader).loadAll(EmployeeForTesting.class.getMethod("getAddresses"), new LinkedHashSet<Long>(Arrays.asList(1L, 2L)));
+        Assertions.assertThat(proxies.get(0).getAddresses()).hasSize(1);
+        Assertions.assertThat(proxies.get(1).getAddresses()).hasSize(1);
+        verify(lazyLoader, times(1)).loadAll(any(Method.class), anyCollectionOf(Long.class));
+    }
+
+    @Test
+    public void should_not_call_the_server_when_no_sibling_has_to_be_loaded() throws Exception {
+        proxyfier.proxify(Arrays.asList(new EmployeeForTesting(), new EmployeeForTesting()), FetchPlan.fetch("addresses"));
+
+        verify(lazyLoader, never()).loadAll(any(Method.class), anyCollectionOf(Long.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_fail_when_fetch_plan_contains_an_unknown_relation() throws Exception {
+        proxyfier.proxify(Arrays.asList(employee(1L), employee(2L)), FetchPlan.fetch("unknown"));
+    }
+
+    private EmployeeForTesting employee(final long persistenceId) {
+        final EmployeeForTesting employee = new EmployeeForTesting();
+        employee.setPersistenceId(persistenceId);
+        return employee;
+    }
 }
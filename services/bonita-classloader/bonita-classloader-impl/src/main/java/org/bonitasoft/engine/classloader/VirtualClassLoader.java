@@ -22,7 +22,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.bonitasoft.engine.data.instance.model.impl.XStreamFactory;
+import org.bonitasoft.engine.data.instance.model.impl.ValueCodecs;
 
 /**
  * @author Elias Ricken de Medeiros
@@ -145,7 +145,7 @@ public class VirtualClassLoader extends ClassLoader {
     }
 
     private void destroy(BonitaClassLoader classloader) {
-        XStreamFactory.remove(this);
+        ValueCodecs.remove(this);
         if (classloader != null) {
             classloader.destroy();
         }
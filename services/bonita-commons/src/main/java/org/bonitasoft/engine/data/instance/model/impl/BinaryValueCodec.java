@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.data.instance.model.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.codec.binary.Base64;
+
+/**
+ * Codec storing values as deflated Java serialization, encoded in base64 so that it fits in the existing text column.
+ * Classes are resolved with the context class loader, resolved classes are cached for each class loader. The cached classes are weakly referenced so
+ * that the cache does not keep the class loader alive.
+ * Only values whose classes all declare a <code>serialVersionUID</code> are encoded, so that they stay readable when their classes are redeployed:
+ * {@link #encode(Serializable)} throws an {@link InvalidClassException} for the other values.
+ */
+public class BinaryValueCodec implements ValueCodec {
+
+    static final String PREFIX = "#bin1:";
+
+    private static final Map<ClassLoader, ConcurrentMap<String, WeakReference<Class<?>>>> CLASS_CACHES = Collections
+            .synchronizedMap(new WeakHashMap<ClassLoader, ConcurrentMap<String, WeakReference<Class<?>>>>());
+
+    @Override
+    public boolean accepts(final String encodedValue) {
+        return encodedValue.startsWith(PREFIX);
+    }
+
+    @Override
+    public String encode(final Serializable value) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new DeclaredVersionObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            output.writeObject(value);
+        }
+        return PREFIX + Base64.encodeBase64String(bytes.toByteArray());
+    }
+
+    @Override
+    public Serializable decode(final String encodedValue) throws IOException {
+        final byte[] bytes = Base64.decodeBase64(encodedValue.substring(PREFIX.length()));
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try (ObjectInputStream input = new ClassLoaderObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)), classLoader)) {
+            return (Serializable) input.readObject();
+        } catch (final ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Forget the classes resolved with the given class loader.
+     */
+    public static void remove(final ClassLoader classLoader) {
+        CLASS_CACHES.remove(classLoader);
+    }
+
+    private static ConcurrentMap<String, WeakReference<Class<?>>> getClassCache(final ClassLoader classLoader) {
+        synchronized (CLASS_CACHES) {
+            ConcurrentMap<String, WeakReference<Class<?>>> classCache = CLASS_CACHES.get(classLoader);
+            if (classCache == null) {
+                classCache = new ConcurrentHashMap<String, WeakReference<Class<?>>>();
+                CLASS_CACHES.put(classLoader, classCache);
+            }
+            return classCache;
+        }
+    }
+
+    private static boolean declaresSerialVersionUID(final Class<?> clazz) {
+        try {
+            clazz.getDeclaredField("serialVersionUID");
+            return true;
+        } catch (final NoSuchFieldException e) {
+            return false;
+        }
+    }
+
+    private static class DeclaredVersionObjectOutputStream extends ObjectOutputStream {
+
+        DeclaredVersionObjectOutputStream(final OutputStream output) throws IOException {
+            super(output);
+        }
+
+        @Override
+        protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
+            final Class<?> clazz = desc.forClass();
+            // the serialVersionUID of arrays and enums does not depend on their content
+            if (!clazz.isArray() && !Enum.class.isAssignableFrom(clazz) && !declaresSerialVersionUID(clazz)) {
+                throw new InvalidClassException(clazz.getName(), "no serialVersionUID declared");
+            }
+            super.writeClassDescriptor(desc);
+        }
+
+    }
+
+    private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        private final ConcurrentMap<String, WeakReference<Class<?>>> classCache;
+
+        ClassLoaderObjectInputStream(final InputStream input, final ClassLoader classLoader) throws IOException {
+            super(input);
+            this.classLoader = classLoader;
+            classCache = classLoader != null ? getClassCache(classLoader) : null;
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (classCache == null) {
+                return super.resolveClass(desc);
+            }
+            final String name = desc.getName();
+            final WeakReference<Class<?>> reference = classCache.get(name);
+            Class<?> clazz = reference != null ? reference.get() : null;
+            if (clazz == null) {
+                try {
+                    clazz = Class.forName(name, false, classLoader);
+                } catch (final ClassNotFoundException e) {
+                    // primitive types are not found by name
+                    return super.resolveClass(desc);
+                }
+                classCache.put(name, new WeakReference<Class<?>>(clazz));
+            }
+            return clazz;
+        }
+
+    }
+
+}
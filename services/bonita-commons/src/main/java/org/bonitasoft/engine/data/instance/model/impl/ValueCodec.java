@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.data.instance.model.impl;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Converts the value of a Java object data to the text stored in database, and back.
+ */
+public interface ValueCodec {
+
+    /**
+     * @param encodedValue
+     *            a value read from the database
+     * @return true if the value was encoded by this codec
+     */
+    boolean accepts(String encodedValue);
+
+    String encode(Serializable value) throws IOException;
+
+    Serializable decode(String encodedValue) throws IOException;
+
+}
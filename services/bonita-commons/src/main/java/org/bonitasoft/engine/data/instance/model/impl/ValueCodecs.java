@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.data.instance.model.impl;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+
+/**
+ * Entry point to encode and decode the values of Java object data.
+ * New values are written as XML, which stays readable in the database. When the binary encoding is enabled (platform property
+ * <code>bonita.platform.data.binary.encoding</code>), they are written with the more compact {@link BinaryValueCodec} instead, or as XML when the object
+ * graph is not fully serializable or has a class without a declared <code>serialVersionUID</code>.
+ * Values are decoded with the codec that wrote them, so both encodings can be read whatever the property.
+ */
+public final class ValueCodecs {
+
+    private static final BinaryValueCodec BINARY = new BinaryValueCodec();
+
+    private static final XMLValueCodec XML = new XMLValueCodec();
+
+    private static volatile boolean binaryEncoding;
+
+    private ValueCodecs() {
+    }
+
+    /**
+     * Enables the binary encoding of the new values.
+     */
+    public static void setBinaryEncoding(final boolean binaryEncoding) {
+        ValueCodecs.binaryEncoding = binaryEncoding;
+    }
+
+    public static String encode(final Serializable value) {
+        return encode(value, binaryEncoding);
+    }
+
+    static String encode(final Serializable value, final boolean binary) {
+        if (value == null) {
+            return null;
+        }
+        if (!binary) {
+            return XML.encode(value);
+        }
+        try {
+            return BINARY.encode(value);
+        } catch (final NotSerializableException | InvalidClassException e) {
+            // XStream does not need the whole object graph to be serializable, and matches the fields by name when a class is redeployed
+            return XML.encode(value);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to encode value of type " + value.getClass().getName(), e);
+        }
+    }
+
+    public static Serializable decode(final String encodedValue) {
+        if (encodedValue == null) {
+            return null;
+        }
+        if (!BINARY.accepts(encodedValue)) {
+            return XML.decode(encodedValue);
+        }
+        try {
+            return BINARY.decode(encodedValue);
+        } catch (final InvalidClassException e) {
+            throw new IllegalStateException("Unable to decode value: the deployed class " + e.classname + " is not compatible with the stored value", e);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to decode value", e);
+        }
+    }
+
+    /**
+     * Removes the codec caches related to the given class loader.
+     */
+    public static void remove(final ClassLoader classLoader) {
+        XStreamFactory.remove(classLoader);
+        BinaryValueCodec.remove(classLoader);
+    }
+
+}
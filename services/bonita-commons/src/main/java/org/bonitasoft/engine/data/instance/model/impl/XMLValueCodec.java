@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.data.instance.model.impl;
+
+import java.io.Serializable;
+
+/**
+ * Codec storing values as XML using XStream. Values written before the binary codec existed are all XML.
+ */
+public class XMLValueCodec implements ValueCodec {
+
+    @Override
+    public boolean accepts(final String encodedValue) {
+        return true;
+    }
+
+    @Override
+    public String encode(final Serializable value) {
+        return XStreamFactory.getXStream().toXML(value);
+    }
+
+    @Override
+    public Serializable decode(final String encodedValue) {
+        return (Serializable) XStreamFactory.getXStream().fromXML(encodedValue);
+    }
+
+}
@@ -13,6 +13,7 @@
  **/
 package org.bonitasoft.engine.data.instance.model.impl;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -21,16 +22,18 @@ import com.thoughtworks.xstream.io.xml.StaxDriver;
 
 public class XStreamFactory {
 
-    private static final Map<ClassLoader, XStream> XSTREAM_MAP = new WeakHashMap<>();
+    private static final Map<ClassLoader, XStream> XSTREAM_MAP = Collections.synchronizedMap(new WeakHashMap<ClassLoader, XStream>());
 
     public static XStream getXStream() {
         final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        XStream xStream = XSTREAM_MAP.get(classLoader);
-        if (xStream == null) {
-            xStream = new XStream(new StaxDriver());
-            XSTREAM_MAP.put(classLoader, xStream);
+        synchronized (XSTREAM_MAP) {
+            XStream xStream = XSTREAM_MAP.get(classLoader);
+            if (xStream == null) {
+                xStream = new XStream(new StaxDriver());
+                XSTREAM_MAP.put(classLoader, xStream);
+            }
+            return xStream;
         }
-        return xStream;
     }
 
     /**
@@ -39,6 +39,16 @@ public interface DataInstanceService {
      */
     void createDataInstance(final SDataInstance dataInstance) throws SDataInstanceException;
 
+    /**
+     * Create the given data instances in DB using batch inserts, no insert event is fired for them
+     *
+     * @param dataInstances
+     *            SDataInstance objects to create
+     * @throws SDataInstanceException
+     * @since 7.2
+     */
+    void createDataInstances(final List<SDataInstance> dataInstances) throws SDataInstanceException;
+
     /**
      * Update the specific dataInstance according to the given descriptor
      * 
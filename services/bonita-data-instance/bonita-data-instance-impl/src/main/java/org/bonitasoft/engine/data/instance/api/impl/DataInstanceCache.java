@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.data.instance.api.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.engine.commons.Pair;
+import org.bonitasoft.engine.data.instance.model.SDataInstance;
+
+/**
+ * Data instances read during one transaction, by container and by name.
+ * The data of a container are always loaded all together, so a loaded container that does not contain a data means the data does not exist in it.
+ */
+class DataInstanceCache {
+
+    private final Map<Pair<Long, String>, Map<String, SDataInstance>> dataByContainer = new HashMap<Pair<Long, String>, Map<String, SDataInstance>>();
+
+    private final Map<Pair<Long, String>, List<Pair<Long, String>>> containerHierarchies = new HashMap<Pair<Long, String>, List<Pair<Long, String>>>();
+
+    /**
+     * @return the hierarchy of the container, from the container to the root, or null if it was not resolved yet in this transaction
+     */
+    List<Pair<Long, String>> getContainerHierarchy(final Pair<Long, String> container) {
+        return containerHierarchies.get(container);
+    }
+
+    void putContainerHierarchy(final Pair<Long, String> container, final List<Pair<Long, String>> containerHierarchy) {
+        containerHierarchies.put(container, containerHierarchy);
+    }
+
+    List<Pair<Long, String>> getContainersNotLoaded(final List<Pair<Long, String>> containerHierarchy) {
+        final List<Pair<Long, String>> containersNotLoaded = new ArrayList<Pair<Long, String>>();
+        for (final Pair<Long, String> container : containerHierarchy) {
+            if (!dataByContainer.containsKey(container)) {
+                containersNotLoaded.add(container);
+            }
+        }
+        return containersNotLoaded;
+    }
+
+    void load(final List<Pair<Long, String>> containers, final List<SDataInstance> dataInstances) {
+        for (final Pair<Long, String> container : containers) {
+            dataByContainer.put(container, new LinkedHashMap<String, SDataInstance>());
+        }
+        for (final SDataInstance dataInstance : dataInstances) {
+            put(dataInstance);
+        }
+    }
+
+    boolean isLoaded(final long containerId, final String containerType) {
+        return dataByContainer.containsKey(new Pair<Long, String>(containerId, containerType));
+    }
+
+    /**
+     * @return the data of the container having this name, null if the container is loaded but does not contain it
+     */
+    SDataInstance get(final String dataName, final long containerId, final String containerType) {
+        return dataByContainer.get(new Pair<Long, String>(containerId, containerType)).get(dataName);
+    }
+
+    /**
+     * Put a created or updated data in the cache, if its container is loaded.
+     */
+    void put(final SDataInstance dataInstance) {
+        final Map<String, SDataInstance> containerData = dataByContainer.get(new Pair<Long, String>(dataInstance.getContainerId(),
+                dataInstance.getContainerType()));
+        if (containerData != null) {
+            containerData.put(dataInstance.getName(), dataInstance);
+        }
+    }
+
+    void remove(final SDataInstance dataInstance) {
+        final Map<String, SDataInstance> containerData = dataByContainer.get(new Pair<Long, String>(dataInstance.getContainerId(),
+                dataInstance.getContainerType()));
+        if (containerData != null) {
+            containerData.remove(dataInstance.getName());
+        }
+    }
+
+    /**
+     * Forget the data of a container which were all deleted, they will be loaded again if needed.
+     */
+    void removeContainer(final long containerId, final String containerType) {
+        dataByContainer.remove(new Pair<Long, String>(containerId, containerType));
+    }
+
+    /**
+     * Get the data visible from the first container of the hierarchy, a data hiding the data having the same name in the containers after it.
+     * All the containers of the hierarchy must be loaded.
+     *
+     * @param dataNames
+     *        the names of the data to get, or null to get all visible data
+     */
+    List<SDataInstance> getVisibleDataInstances(final List<Pair<Long, String>> containerHierarchy, final Collection<String> dataNames) {
+        final Set<String> wantedNames = dataNames == null ? null : new HashSet<String>(dataNames);
+        final Set<String> alreadyUsedNames = new HashSet<String>();
+        final List<SDataInstance> dataInstances = new ArrayList<SDataInstance>();
+        for (final Pair<Long, String> container : containerHierarchy) {
+            for (final SDataInstance dataInstance : dataByContainer.get(container).values()) {
+                final String name = dataInstance.getName();
+                if ((wantedNames == null || wantedNames.contains(name)) && alreadyUsedNames.add(name)) {
+                    dataInstances.add(dataInstance);
+                }
+            }
+        }
+        return dataInstances;
+    }
+
+}
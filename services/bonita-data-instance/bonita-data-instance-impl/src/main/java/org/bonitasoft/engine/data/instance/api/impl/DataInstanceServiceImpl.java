@@ -45,6 +45,8 @@ import org.bonitasoft.engine.data.instance.model.SDataInstance;
 import org.bonitasoft.engine.data.instance.model.archive.SADataInstance;
 import org.bonitasoft.engine.data.instance.model.archive.builder.SADataInstanceBuilderFactory;
 import org.bonitasoft.engine.data.instance.model.builder.SDataInstanceBuilderFactory;
+import org.bonitasoft.engine.events.EventActionType;
+import org.bonitasoft.engine.events.EventService;
 import org.bonitasoft.engine.events.model.SDeleteEvent;
 import org.bonitasoft.engine.events.model.SEvent;
 import org.bonitasoft.engine.events.model.SInsertEvent;
@@ -52,6 +54,7 @@ import org.bonitasoft.engine.events.model.SUpdateEvent;
 import org.bonitasoft.engine.events.model.builders.SEventBuilderFactory;
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.FilterOption;
 import org.bonitasoft.engine.persistence.OrderByOption;
 import org.bonitasoft.engine.persistence.OrderByType;
 import org.bonitasoft.engine.persistence.QueryOptions;
@@ -62,10 +65,14 @@ import org.bonitasoft.engine.persistence.SelectListDescriptor;
 import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
+import org.bonitasoft.engine.recorder.model.BulkDeleteRecord;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
 import org.bonitasoft.engine.recorder.model.InsertRecord;
 import org.bonitasoft.engine.recorder.model.UpdateRecord;
+import org.bonitasoft.engine.transaction.STransactionNotFoundException;
+import org.bonitasoft.engine.transaction.TransactionService;
 
 /**
  * General mechanism for lookup is to look in specific flow node to search a data instance. When referring to "local" data instance, it means the lookup is
@@ -90,12 +97,21 @@ public class DataInstanceServiceImpl implements DataInstanceService {
 
     protected final TechnicalLoggerService logger;
 
+    private final TransactionService transactionService;
+
+    private final EventService eventService;
+
+    private final ThreadLocal<DataInstanceCache> transactionCaches = new ThreadLocal<DataInstanceCache>();
+
     public DataInstanceServiceImpl(final Recorder recorder, final ReadPersistenceService persistenceService,
-            final ArchiveService archiveService, final TechnicalLoggerService logger) {
+            final ArchiveService archiveService, final TechnicalLoggerService logger, final TransactionService transactionService,
+            final EventService eventService) {
         this.recorder = recorder;
         this.persistenceService = persistenceService;
         this.archiveService = archiveService;
         this.logger = logger;
+        this.transactionService = transactionService;
+        this.eventService = eventService;
     }
 
     private void archiveDataInstance(final SDataInstance sDataInstance) throws SDataInstanceException {
@@ -116,11 +132,8 @@ public class DataInstanceServiceImpl implements DataInstanceService {
             final ParentContainerResolver parentContainerResolver) throws SDataInstanceException {
         NullCheckingUtil.checkArgsNotNull(dataName, containerType);
 
-
-        final String queryName = "getDataInstancesWithNames";
-        final Map<String, Object> inputParameters = new HashMap<String, Object>();
-        inputParameters.put("dataNames", Collections.singletonList(dataName));
-        final List<SDataInstance> dataInstances = getSDatainstanceOfContainers(containerId, containerType, parentContainerResolver, queryName, inputParameters);
+        final List<SDataInstance> dataInstances = getSDatainstanceOfContainers(containerId, containerType, parentContainerResolver,
+                Collections.singletonList(dataName));
         if (dataInstances.size() == 0) {
             throw new SDataInstanceNotFoundException("DataInstance with name not found: [name: " + dataName + ", container type: " + containerType + ", container id: " + containerId + ']');
         } else if (dataInstances.size() > 1) {
@@ -137,9 +150,7 @@ public class DataInstanceServiceImpl implements DataInstanceService {
             throws SDataInstanceException {
         NullCheckingUtil.checkArgsNotNull(containerType);
 
-        final String queryName = "getDataInstances";
-        final Map<String, Object> inputParameters = new HashMap<String, Object>();
-        final List<SDataInstance> dataInstances = getSDatainstanceOfContainers(containerId, containerType, parentContainerResolver, queryName, inputParameters);
+        final List<SDataInstance> dataInstances = getSDatainstanceOfContainers(containerId, containerType, parentContainerResolver, null);
 
         //apply pagination
         final int startIndex = Math.max(0, fromIndex);
@@ -162,32 +173,52 @@ public class DataInstanceServiceImpl implements DataInstanceService {
         return containers;
     }
 
-    private List<SDataInstance> getSDatainstanceOfContainers(long containerId, String containerType, ParentContainerResolver parentContainerResolver, String queryName, Map<String, Object> inputParameters) throws SDataInstanceNotFoundException, SDataInstanceReadException {
+    private List<SDataInstance> getSDatainstanceOfContainers(final long containerId, final String containerType,
+            final ParentContainerResolver parentContainerResolver, final List<String> dataNames) throws SDataInstanceNotFoundException,
+            SDataInstanceReadException {
+        final DataInstanceCache cache = getTransactionCache();
+        final Pair<Long, String> container = new Pair<>(containerId, containerType);
         //getAllContainers from me to root
-        final List<Pair<Long, String>> containerHierarchy;
-        try {
-            containerHierarchy = parentContainerResolver.getContainerHierarchy(new Pair<>(containerId, containerType));
-        } catch (SObjectNotFoundException | SObjectReadException e) {
-            throw new SDataInstanceNotFoundException(e);
+        List<Pair<Long, String>> containerHierarchy = cache == null ? null : cache.getContainerHierarchy(container);
+        if (containerHierarchy == null) {
+            try {
+                containerHierarchy = parentContainerResolver.getContainerHierarchy(container);
+            } catch (SObjectNotFoundException | SObjectReadException e) {
+                throw new SDataInstanceNotFoundException(e);
+            }
         }
-
-        final Map<String, List<Long>> containers = buildContainersMap(containerHierarchy, inputParameters);
-
-        //gte all data of any of th possible containers
-        List<SDataInstance> dataInstances;
-        try {
-            dataInstances = persistenceService.selectList(new SelectListDescriptor<SDataInstance>(getDynamicContainersQueryName(queryName, containers.size()), inputParameters, SDataInstance.class, new QueryOptions(0, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS)));
-        } catch (final SBonitaReadException e) {
-            throw new SDataInstanceReadException("Unable to check if a data instance already exists: " + e.getMessage(), e);
+        if (cache == null) {
+            return getVisibleDataInstances(containerHierarchy, dataNames);
+        }
+        cache.putContainerHierarchy(container, containerHierarchy);
+        final List<Pair<Long, String>> containersNotLoaded = cache.getContainersNotLoaded(containerHierarchy);
+        if (!containersNotLoaded.isEmpty()) {
+            //load all data of the containers at once: the other data of the hierarchy are likely to be read in the same transaction
+            cache.load(containersNotLoaded, selectDataInstancesOfContainers(containersNotLoaded, "getDataInstances", new HashMap<String, Object>()));
+        }
+        return cache.getVisibleDataInstances(containerHierarchy, dataNames);
     }
 
+    private List<SDataInstance> getVisibleDataInstances(final List<Pair<Long, String>> containerHierarchy, final List<String> dataNames)
+            throws SDataInstanceReadException {
+        final Map<String, Object> inputParameters = new HashMap<String, Object>();
+        final String queryName;
+        if (dataNames == null) {
+            queryName = "getDataInstances";
+        } else {
+            queryName = "getDataInstancesWithNames";
+            inputParameters.put("dataNames", dataNames);
+        }
+        final List<SDataInstance> dataInstances = selectDataInstancesOfContainers(containerHierarchy, queryName, inputParameters);
+
         //order the retrieved list by container level
+        final Map<Pair<Long, String>, Integer> containerRanks = getContainerRanks(containerHierarchy);
         Collections.sort(dataInstances, new Comparator<SDataInstance>() {
-    @Override
+
+            @Override
             public int compare(SDataInstance o1, SDataInstance o2) {
-                final Pair<Long, String> o1Container = new Pair<Long, String>(o1.getContainerId(), o1.getContainerType());
-                final Pair<Long, String> o2Container = new Pair<Long, String>(o2.getContainerId(), o2.getContainerType());
-                return containerHierarchy.indexOf(o1Container) - containerHierarchy.indexOf(o2Container);
+                return getContainerRank(containerRanks, o1.getContainerId(), o1.getContainerType())
+                        - getContainerRank(containerRanks, o2.getContainerId(), o2.getContainerType());
             }
         });
 
@@ -196,15 +227,56 @@ public class DataInstanceServiceImpl implements DataInstanceService {
         final Iterator<SDataInstance> it = dataInstances.iterator();
         while (it.hasNext()) {
             SDataInstance current = it.next();
-            if (alreadyUsedNames.contains(current.getName())) {
+            if (!alreadyUsedNames.add(current.getName())) {
                 it.remove();
-            } else {
-                alreadyUsedNames.add(current.getName());
+            }
         }
-    }
         return dataInstances;
     }
 
+    private List<SDataInstance> selectDataInstancesOfContainers(final List<Pair<Long, String>> containerHierarchy, final String queryName,
+            final Map<String, Object> inputParameters) throws SDataInstanceReadException {
+        final Map<String, List<Long>> containers = buildContainersMap(containerHierarchy, inputParameters);
+        try {
+            return persistenceService.selectList(new SelectListDescriptor<SDataInstance>(getDynamicContainersQueryName(queryName, containers.size()),
+                    inputParameters, SDataInstance.class, new QueryOptions(0, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS)));
+        } catch (final SBonitaReadException e) {
+            throw new SDataInstanceReadException("Unable to check if a data instance already exists: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<Pair<Long, String>, Integer> getContainerRanks(final List<Pair<Long, String>> containerHierarchy) {
+        final Map<Pair<Long, String>, Integer> containerRanks = new HashMap<Pair<Long, String>, Integer>(containerHierarchy.size() * 2);
+        for (int rank = containerHierarchy.size() - 1; rank >= 0; rank--) {
+            // iterate from the root so that the rank of a container is its first position in the hierarchy
+            containerRanks.put(containerHierarchy.get(rank), rank);
+        }
+        return containerRanks;
+    }
+
+    private int getContainerRank(final Map<Pair<Long, String>, Integer> containerRanks, final long containerId, final String containerType) {
+        final Integer rank = containerRanks.get(new Pair<Long, String>(containerId, containerType));
+        return rank == null ? -1 : rank;
+    }
+
+    private DataInstanceCache getTransactionCache() {
+        if (transactionService == null) {
+            return null;
+        }
+        DataInstanceCache cache = transactionCaches.get();
+        if (cache == null) {
+            try {
+                transactionService.registerBonitaSynchronization(new RemoveDataInstanceCacheSynchronization(transactionCaches));
+            } catch (final STransactionNotFoundException e) {
+                // not in a transaction: data instances are read directly
+                return null;
+            }
+            cache = new DataInstanceCache();
+            transactionCaches.set(cache);
+        }
+        return cache;
+    }
+
     @Override
     public SDataInstance getLocalDataInstance(final String dataName, final long containerId, final String containerType) throws SDataInstanceReadException {
         final SDataInstance dataInstance = internalGetLocalDataInstance(dataName, containerId, containerType);
@@ -217,6 +289,10 @@ public class DataInstanceServiceImpl implements DataInstanceService {
     private SDataInstance internalGetLocalDataInstance(final String dataName, final long containerId, final String containerType)
             throws SDataInstanceReadException {
         NullCheckingUtil.checkArgsNotNull(dataName, containerType);
+        final DataInstanceCache cache = transactionCaches.get();
+        if (cache != null && cache.isLoaded(containerId, containerType)) {
+            return cache.get(dataName, containerId, containerType);
+        }
         final SDataInstanceBuilderFactory fact = BuilderFactory.get(SDataInstanceBuilderFactory.class);
         final Map<String, Object> paraMap = CollectionUtil.buildSimpleMap(fact.getNameKey(), dataName);
         paraMap.put(fact.getContainerIdKey(), containerId);
@@ -271,17 +347,19 @@ public class DataInstanceServiceImpl implements DataInstanceService {
         }
 
         //order the retrieved list by container level and by archive date
+        final Map<Pair<Long, String>, Integer> containerRanks = getContainerRanks(containerHierarchy);
         Collections.sort(dataInstances, new Comparator<SADataInstance>() {
-    @Override
+
+            @Override
             public int compare(SADataInstance o1, SADataInstance o2) {
-                final Pair<Long, String> o1Container = new Pair<Long, String>(o1.getContainerId(), o1.getContainerType());
-                final Pair<Long, String> o2Container = new Pair<Long, String>(o2.getContainerId(), o2.getContainerType());
-                if (containerHierarchy.indexOf(o1Container) - containerHierarchy.indexOf(o2Container) == 0) {
+                final int rankDifference = getContainerRank(containerRanks, o1.getContainerId(), o1.getContainerType())
+                        - getContainerRank(containerRanks, o2.getContainerId(), o2.getContainerType());
+                if (rankDifference == 0) {
                     //those 2 data are in the same container, let's compare archived dates
-                    return (int) (o2.getArchiveDate() - o1.getArchiveDate());
-        }
-                return containerHierarchy.indexOf(o1Container) - containerHierarchy.indexOf(o2Container);
-    }
+                    return Long.compare(o2.getArchiveDate(), o1.getArchiveDate());
+                }
+                return rankDifference;
+            }
         });
 
         //remove duplicates
@@ -412,10 +490,7 @@ public class DataInstanceServiceImpl implements DataInstanceService {
             return Collections.emptyList();
         }
 
-        final String queryName = "getDataInstancesWithNames";
-        final Map<String, Object> inputParameters = new HashMap<String, Object>();
-        inputParameters.put("dataNames", dataNames);
-        return getSDatainstanceOfContainers(containerId, containerType, parentContainerResolver, queryName, inputParameters);
+        return getSDatainstanceOfContainers(containerId, containerType, parentContainerResolver, dataNames);
         }
 
     @Override
@@ -464,13 +539,17 @@ public class DataInstanceServiceImpl implements DataInstanceService {
     public void deleteLocalDataInstances(final long containerId, final String dataInstanceContainerType, final boolean dataPresent)
             throws SDataInstanceException {
         if (dataPresent) {
-            final int deleteBatchSize = 80;
-            List<SDataInstance> sDataInstances = getLocalDataInstances(containerId, dataInstanceContainerType, 0, deleteBatchSize);
-            while (sDataInstances.size() > 0) {
-                for (final SDataInstance sDataInstance : sDataInstances) {
-                    deleteDataInstance(sDataInstance);
-                }
-                sDataInstances = getLocalDataInstances(containerId, dataInstanceContainerType, 0, deleteBatchSize);
+            final SDataInstanceBuilderFactory fact = BuilderFactory.get(SDataInstanceBuilderFactory.class);
+            final List<FilterOption> filters = Arrays.asList(new FilterOption(SDataInstance.class, fact.getContainerIdKey(), containerId),
+                    new FilterOption(SDataInstance.class, fact.getContainerTypeKey(), dataInstanceContainerType));
+            try {
+                recorder.recordBulkDelete(new BulkDeleteRecord(SDataInstance.class, filters, DATA_INSTANCE));
+            } catch (final SRecorderException e) {
+                throw new SDeleteDataInstanceException("Impossible to delete data instances of container " + dataInstanceContainerType + " " + containerId, e);
+            }
+            final DataInstanceCache cache = transactionCaches.get();
+            if (cache != null) {
+                cache.removeContainer(containerId, dataInstanceContainerType);
             }
         }
     }
@@ -514,9 +593,45 @@ public class DataInstanceServiceImpl implements DataInstanceService {
         } catch (final SRecorderException e) {
             throw new SCreateDataInstanceException("Impossible to create data instance.", e);
         }
+        putInTransactionCache(dataInstance);
         archiveDataInstance(dataInstance);
     }
 
+    @Override
+    public void createDataInstances(final List<SDataInstance> dataInstances) throws SDataInstanceException {
+        if (dataInstances.isEmpty()) {
+            return;
+        }
+        if (eventService.hasHandlers(DATA_INSTANCE, EventActionType.CREATED)) {
+            // handlers expect one event per data instance
+            for (final SDataInstance dataInstance : dataInstances) {
+                createDataInstance(dataInstance);
+            }
+            return;
+        }
+        try {
+            recorder.recordBatchInsert(new BatchInsertRecord(dataInstances), null);
+        } catch (final SRecorderException e) {
+            throw new SCreateDataInstanceException("Impossible to create data instances.", e);
+        }
+        final List<ArchiveInsertRecord> archiveInsertRecords = new ArrayList<ArchiveInsertRecord>(dataInstances.size());
+        for (final SDataInstance dataInstance : dataInstances) {
+            putInTransactionCache(dataInstance);
+            if (!dataInstance.isTransientData()) {
+                final SADataInstance saDataInstance = BuilderFactory.get(SADataInstanceBuilderFactory.class).createNewInstance(dataInstance).done();
+                archiveInsertRecords.add(new ArchiveInsertRecord(saDataInstance));
+            }
+        }
+        if (!archiveInsertRecords.isEmpty()) {
+            try {
+                archiveService.recordInserts(System.currentTimeMillis(), archiveInsertRecords.toArray(new ArchiveInsertRecord[archiveInsertRecords.size()]));
+            } catch (final SRecorderException e) {
+                logOnExceptionMethod("createDataInstances", e);
+                throw new SDataInstanceException("Unable to create SADataInstance", e);
+            }
+        }
+    }
+
     @Override
     public void updateDataInstance(final SDataInstance dataInstance, final EntityUpdateDescriptor descriptor) throws SDataInstanceException {
         NullCheckingUtil.checkArgsNotNull(dataInstance);
@@ -527,6 +642,7 @@ public class DataInstanceServiceImpl implements DataInstanceService {
         } catch (final SRecorderException e) {
             throw new SUpdateDataInstanceException("Impossible to update data instance '" + dataInstance.getName() + "': " + e.getMessage(), e);
         }
+        putInTransactionCache(dataInstance);
         archiveDataInstance(dataInstance);
     }
 
@@ -540,6 +656,17 @@ public class DataInstanceServiceImpl implements DataInstanceService {
         } catch (final SRecorderException e) {
             throw new SDeleteDataInstanceException("Impossible to delete data instance", e);
         }
+        final DataInstanceCache cache = transactionCaches.get();
+        if (cache != null) {
+            cache.remove(dataInstance);
+        }
+    }
+
+    private void putInTransactionCache(final SDataInstance dataInstance) {
+        final DataInstanceCache cache = transactionCaches.get();
+        if (cache != null) {
+            cache.put(dataInstance);
+        }
     }
 
     @Override
@@ -16,7 +16,8 @@ package org.bonitasoft.engine.data.instance.model.archive.impl;
 import java.io.Serializable;
 
 import org.bonitasoft.engine.data.instance.model.SDataInstance;
-import org.bonitasoft.engine.data.instance.model.impl.XStreamFactory;
+import org.bonitasoft.engine.data.instance.model.impl.SXMLObjectDataInstanceImpl;
+import org.bonitasoft.engine.data.instance.model.impl.ValueCodecs;
 
 /**
  * @author Matthieu Chaffotte
@@ -34,20 +35,22 @@ public final class SAXMLObjectDataInstanceImpl extends SADataInstanceImpl {
 
     public SAXMLObjectDataInstanceImpl(final SDataInstance sDataInstance) {
         super(sDataInstance);
-        setValue(sDataInstance.getValue());
+        if (sDataInstance instanceof SXMLObjectDataInstanceImpl) {
+            // archive the stored value as is: no need to decode it and encode it again
+            value = ((SXMLObjectDataInstanceImpl) sDataInstance).getEncodedValue();
+        } else {
+            setValue(sDataInstance.getValue());
+        }
     }
 
     @Override
     public Serializable getValue() {
-        if (value != null) {
-            return (Serializable) XStreamFactory.getXStream().fromXML(value);
-        }
-        return null;
+        return ValueCodecs.decode(value);
     }
 
     @Override
     public void setValue(final Serializable value) {
-        this.value = XStreamFactory.getXStream().toXML(value);
+        this.value = ValueCodecs.encode(value);
     }
 
     @Override
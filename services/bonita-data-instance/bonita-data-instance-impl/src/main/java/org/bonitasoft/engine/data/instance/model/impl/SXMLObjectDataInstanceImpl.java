@@ -35,14 +35,24 @@ public final class SXMLObjectDataInstanceImpl extends SDataInstanceImpl {
         super(dataDefinition);
     }
 
+    /**
+     * The value is only decoded when it is read
+     */
     @Override
     public Serializable getValue() {
-        return revert(value);
+        return ValueCodecs.decode(value);
     }
 
     @Override
     public void setValue(final Serializable value) {
-        this.value = convert(value);
+        this.value = ValueCodecs.encode(value);
+    }
+
+    /**
+     * @return the value as stored in database, without decoding it
+     */
+    public String getEncodedValue() {
+        return value;
     }
 
     @Override
@@ -50,15 +60,4 @@ public final class SXMLObjectDataInstanceImpl extends SDataInstanceImpl {
         return SXMLObjectDataInstanceImpl.class.getSimpleName();
     }
 
-    private String convert(final Serializable value) {
-        return XStreamFactory.getXStream().toXML(value);
-    }
-
-    private Serializable revert(final String value) {
-        if (value != null) {
-            return (Serializable) XStreamFactory.getXStream().fromXML(value);
-        }
-        return null;
-    }
-
 }
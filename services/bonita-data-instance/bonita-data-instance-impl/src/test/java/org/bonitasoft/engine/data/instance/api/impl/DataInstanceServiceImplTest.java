@@ -14,31 +14,46 @@
 package org.bonitasoft.engine.data.instance.api.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.bonitasoft.engine.archive.ArchiveInsertRecord;
 import org.bonitasoft.engine.archive.ArchiveService;
+import org.bonitasoft.engine.commons.Pair;
 import org.bonitasoft.engine.commons.exceptions.SBonitaException;
 import org.bonitasoft.engine.data.instance.api.ParentContainerResolver;
 import org.bonitasoft.engine.data.instance.exception.SDataInstanceNotFoundException;
 import org.bonitasoft.engine.data.instance.exception.SDataInstanceReadException;
+import org.bonitasoft.engine.data.instance.model.SDataInstance;
 import org.bonitasoft.engine.data.instance.model.archive.SADataInstance;
 import org.bonitasoft.engine.data.instance.model.archive.impl.SAShortTextDataInstanceImpl;
 import org.bonitasoft.engine.data.instance.model.impl.SShortTextDataInstanceImpl;
+import org.bonitasoft.engine.events.EventActionType;
+import org.bonitasoft.engine.events.EventService;
+import org.bonitasoft.engine.events.model.SInsertEvent;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.persistence.ReadPersistenceService;
 import org.bonitasoft.engine.persistence.SBonitaReadException;
 import org.bonitasoft.engine.persistence.SelectListDescriptor;
 import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.recorder.Recorder;
+import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
 import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
+import org.bonitasoft.engine.recorder.model.InsertRecord;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
+import org.bonitasoft.engine.transaction.STransactionNotFoundException;
+import org.bonitasoft.engine.transaction.TransactionService;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -69,6 +84,12 @@ public class DataInstanceServiceImplTest {
     @Mock
     private ParentContainerResolver parentContainerResolver;
 
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private EventService eventService;
+
     @Captor
     private ArgumentCaptor<ArchiveInsertRecord> archiveInsertRecordArgumentCaptor;
 
@@ -144,6 +165,29 @@ public class DataInstanceServiceImplTest {
         assertThat(entity.getValue()).isEqualTo("theValue");
     }
 
+    @Test
+    public final void should_createDataInstances_insert_them_in_a_single_batch() throws Exception {
+        //given
+        final List<SDataInstance> dataInstances = Arrays.<SDataInstance> asList(new SShortTextDataInstanceImpl(), new SShortTextDataInstanceImpl());
+        //when
+        dataInstanceServiceImpl.createDataInstances(dataInstances);
+        //then
+        verify(recorder).recordBatchInsert(any(BatchInsertRecord.class), Matchers.<SInsertEvent> eq(null));
+        verify(recorder, never()).recordInsert(any(InsertRecord.class), any(SInsertEvent.class));
+    }
+
+    @Test
+    public final void should_createDataInstances_insert_them_one_by_one_when_creation_events_are_handled() throws Exception {
+        //given
+        doReturn(true).when(eventService).hasHandlers("DATA_INSTANCE", EventActionType.CREATED);
+        final List<SDataInstance> dataInstances = Arrays.<SDataInstance> asList(new SShortTextDataInstanceImpl(), new SShortTextDataInstanceImpl());
+        //when
+        dataInstanceServiceImpl.createDataInstances(dataInstances);
+        //then
+        verify(recorder, times(2)).recordInsert(any(InsertRecord.class), any(SInsertEvent.class));
+        verify(recorder, never()).recordBatchInsert(any(BatchInsertRecord.class), any(SInsertEvent.class));
+    }
+
     @Test
     public final void should_updateDataInstance_archive_the_new_value() throws Exception {
         //given
@@ -160,4 +204,75 @@ public class DataInstanceServiceImplTest {
         assertThat(entity.getValue()).isEqualTo("theNewValue");
     }
 
+    @Test
+    public final void should_read_data_of_the_hierarchy_only_once_in_a_transaction() throws Exception {
+        //given
+        final SShortTextDataInstanceImpl activityData = dataInstance("data", 2, "ACTIVITY_INSTANCE");
+        final SShortTextDataInstanceImpl processData = dataInstance("data", 1, "PROCESS_INSTANCE");
+        final SShortTextDataInstanceImpl otherProcessData = dataInstance("other", 1, "PROCESS_INSTANCE");
+        mockHierarchy();
+        doReturn(Arrays.asList(processData, otherProcessData, activityData)).when(persistenceService).selectList(
+                Matchers.<SelectListDescriptor<SDataInstance>> any());
+        //when
+        final SDataInstance data = dataInstanceServiceImpl.getDataInstance("data", 2, "ACTIVITY_INSTANCE", parentContainerResolver);
+        final SDataInstance other = dataInstanceServiceImpl.getDataInstance("other", 2, "ACTIVITY_INSTANCE", parentContainerResolver);
+        final List<SDataInstance> all = dataInstanceServiceImpl.getDataInstances(2, "ACTIVITY_INSTANCE", parentContainerResolver, 0, 10);
+        //then
+        assertThat(data).isSameAs(activityData);
+        assertThat(other).isSameAs(otherProcessData);
+        assertThat(all).containsExactly(activityData, otherProcessData);
+        verify(persistenceService, times(1)).selectList(Matchers.<SelectListDescriptor<SDataInstance>> any());
+        verify(parentContainerResolver, times(1)).getContainerHierarchy(new Pair<Long, String>(2L, "ACTIVITY_INSTANCE"));
+        verify(transactionService).registerBonitaSynchronization(any(BonitaTransactionSynchronization.class));
+    }
+
+    @Test
+    public final void should_see_created_and_deleted_data_in_the_transaction_cache() throws Exception {
+        //given
+        mockHierarchy();
+        doReturn(Collections.emptyList()).when(persistenceService).selectList(Matchers.<SelectListDescriptor<SDataInstance>> any());
+        dataInstanceServiceImpl.getDataInstances(2, "ACTIVITY_INSTANCE", parentContainerResolver, 0, 10);
+        final SShortTextDataInstanceImpl created = dataInstance("data", 1, "PROCESS_INSTANCE");
+        //when
+        dataInstanceServiceImpl.createDataInstance(created);
+        //then
+        assertThat(dataInstanceServiceImpl.getDataInstance("data", 2, "ACTIVITY_INSTANCE", parentContainerResolver)).isSameAs(created);
+        assertThat(dataInstanceServiceImpl.getLocalDataInstance("data", 1, "PROCESS_INSTANCE")).isSameAs(created);
+        dataInstanceServiceImpl.deleteDataInstance(created);
+        assertThat(dataInstanceServiceImpl.getDataInstances(2, "ACTIVITY_INSTANCE", parentContainerResolver, 0, 10)).isEmpty();
+        verify(persistenceService, times(1)).selectList(Matchers.<SelectListDescriptor<SDataInstance>> any());
+    }
+
+    @Test
+    public final void should_read_data_directly_when_not_in_a_transaction() throws Exception {
+        //given
+        final SShortTextDataInstanceImpl activityData = dataInstance("data", 2, "ACTIVITY_INSTANCE");
+        final SShortTextDataInstanceImpl processData = dataInstance("data", 1, "PROCESS_INSTANCE");
+        mockHierarchy();
+        doThrow(new STransactionNotFoundException("no transaction")).when(transactionService).registerBonitaSynchronization(
+                any(BonitaTransactionSynchronization.class));
+        // like hibernate, return a list that can be modified
+        doReturn(new ArrayList<SDataInstance>(Arrays.asList(processData, activityData))).when(persistenceService).selectList(
+                Matchers.<SelectListDescriptor<SDataInstance>> any());
+        //when
+        final SDataInstance data = dataInstanceServiceImpl.getDataInstance("data", 2, "ACTIVITY_INSTANCE", parentContainerResolver);
+        dataInstanceServiceImpl.getDataInstance("data", 2, "ACTIVITY_INSTANCE", parentContainerResolver);
+        //then
+        assertThat(data).isSameAs(activityData);
+        verify(persistenceService, times(2)).selectList(Matchers.<SelectListDescriptor<SDataInstance>> any());
+    }
+
+    private void mockHierarchy() throws Exception {
+        doReturn(Arrays.asList(new Pair<Long, String>(2L, "ACTIVITY_INSTANCE"), new Pair<Long, String>(1L, "PROCESS_INSTANCE"))).when(
+                parentContainerResolver).getContainerHierarchy(new Pair<Long, String>(2L, "ACTIVITY_INSTANCE"));
+    }
+
+    private SShortTextDataInstanceImpl dataInstance(final String name, final long containerId, final String containerType) {
+        final SShortTextDataInstanceImpl dataInstance = new SShortTextDataInstanceImpl();
+        dataInstance.setName(name);
+        dataInstance.setContainerId(containerId);
+        dataInstance.setContainerType(containerType);
+        return dataInstance;
+    }
+
 }
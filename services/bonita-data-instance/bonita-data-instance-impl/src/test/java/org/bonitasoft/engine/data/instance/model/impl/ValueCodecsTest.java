@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.data.instance.model.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.commons.codec.binary.Base64;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ValueCodecsTest {
+
+    @After
+    public void tearDown() {
+        ValueCodecs.setBinaryEncoding(false);
+    }
+
+    @Test
+    public void should_encode_as_xml_by_default() {
+        final String encoded = ValueCodecs.encode("value");
+
+        assertThat(encoded.startsWith(BinaryValueCodec.PREFIX)).isFalse();
+        assertThat(ValueCodecs.decode(encoded)).isEqualTo("value");
+    }
+
+    @Test
+    public void should_encode_as_binary_when_enabled() {
+        ValueCodecs.setBinaryEncoding(true);
+
+        final String encoded = ValueCodecs.encode("value");
+
+        assertThat(encoded).startsWith(BinaryValueCodec.PREFIX);
+        assertThat(ValueCodecs.decode(encoded)).isEqualTo("value");
+    }
+
+    @Test
+    public void should_decode_encoded_value() {
+        final HashMap<String, Serializable> value = new HashMap<String, Serializable>();
+        value.put("name", "walter");
+        value.put("age", 42L);
+
+        final String encoded = ValueCodecs.encode(value, true);
+
+        assertThat(encoded).startsWith(BinaryValueCodec.PREFIX);
+        assertThat(ValueCodecs.decode(encoded)).isEqualTo(value);
+    }
+
+    @Test
+    public void should_fail_explicitly_to_decode_value_written_with_another_serialVersionUID() throws Exception {
+        final VersionedValue value = new VersionedValue();
+        value.name = "walter";
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(serialized)) {
+            output.writeObject(value);
+        }
+        final byte[] bytes = serialized.toByteArray();
+        // the serialVersionUID is written on 8 bytes right after the class name
+        final byte[] className = VersionedValue.class.getName().getBytes("UTF-8");
+        bytes[indexOf(bytes, className) + className.length + 7] = 2;
+        final ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (DeflaterOutputStream output = new DeflaterOutputStream(deflated)) {
+            output.write(bytes);
+        }
+
+        try {
+            ValueCodecs.decode(BinaryValueCodec.PREFIX + Base64.encodeBase64String(deflated.toByteArray()));
+            fail("the value should not be decoded");
+        } catch (final IllegalStateException e) {
+            assertThat(e.getCause()).isInstanceOf(InvalidClassException.class);
+            assertThat(e.getMessage()).contains(VersionedValue.class.getName());
+        }
+    }
+
+    @Test
+    public void should_decode_values_stored_as_xml() {
+        final String xml = XStreamFactory.getXStream().toXML("legacy value");
+
+        assertThat(ValueCodecs.decode(xml)).isEqualTo("legacy value");
+    }
+
+    @Test
+    public void should_encode_as_xml_when_value_is_not_fully_serializable() {
+        final ValueWithNonSerializableField value = new ValueWithNonSerializableField();
+        value.name = "walter";
+
+        final String encoded = ValueCodecs.encode(value, true);
+
+        assertThat(encoded.startsWith(BinaryValueCodec.PREFIX)).isFalse();
+        assertThat(((ValueWithNonSerializableField) ValueCodecs.decode(encoded)).name).isEqualTo("walter");
+    }
+
+    @Test
+    public void should_encode_as_xml_when_a_class_does_not_declare_serialVersionUID() {
+        final UnversionedValue value = new UnversionedValue();
+        value.name = "walter";
+
+        final String encoded = ValueCodecs.encode(value, true);
+
+        assertThat(encoded.startsWith(BinaryValueCodec.PREFIX)).isFalse();
+        assertThat(((UnversionedValue) ValueCodecs.decode(encoded)).name).isEqualTo("walter");
+    }
+
+    @Test
+    public void should_keep_null_values_null() {
+        assertThat(ValueCodecs.encode(null)).isNull();
+        assertThat(ValueCodecs.decode(null)).isNull();
+    }
+
+    @Test
+    public void should_be_smaller_than_xml_for_a_large_value() {
+        final HashMap<String, Serializable> value = new HashMap<String, Serializable>();
+        for (int i = 0; i < 1000; i++) {
+            value.put("key" + i, "value" + i);
+        }
+
+        assertThat(ValueCodecs.encode(value, true).length()).isLessThan(XStreamFactory.getXStream().toXML(value).length());
+    }
+
+    private static int indexOf(final byte[] bytes, final byte[] searched) {
+        for (int i = 0; i <= bytes.length - searched.length; i++) {
+            int j = 0;
+            while (j < searched.length && bytes[i + j] == searched[j]) {
+                j++;
+            }
+            if (j == searched.length) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("not found");
+    }
+
+    static class VersionedValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        String name;
+    }
+
+    @SuppressWarnings("serial")
+    static class UnversionedValue implements Serializable {
+
+        String name;
+    }
+
+    static class ValueWithNonSerializableField implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        String name;
+
+        Object lock = new Object();
+    }
+
+}
@@ -13,6 +13,7 @@
  **/
 package org.bonitasoft.engine.events.impl;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -23,18 +24,35 @@ import org.bonitasoft.engine.events.EventActionType;
 import org.bonitasoft.engine.events.EventService;
 import org.bonitasoft.engine.events.model.HandlerRegistrationException;
 import org.bonitasoft.engine.events.model.HandlerUnregistrationException;
+import org.bonitasoft.engine.events.model.SBatchedHandler;
 import org.bonitasoft.engine.events.model.SEvent;
 import org.bonitasoft.engine.events.model.SFireEventException;
 import org.bonitasoft.engine.events.model.SHandler;
+import org.bonitasoft.engine.events.model.SHandlerExecutionException;
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.transaction.STransactionNotFoundException;
+import org.bonitasoft.engine.transaction.TransactionService;
 
 public abstract class AbstractEventServiceImpl implements EventService {
 
     protected static TechnicalLoggerService logger;
 
+    private final TransactionService transactionService;
+
+    private final ThreadLocal<BatchedEventsSynchronization> batchedEvents = new ThreadLocal<BatchedEventsSynchronization>();
+
     protected AbstractEventServiceImpl(final TechnicalLoggerService logger) {
+        this(logger, null);
+    }
+
+    /**
+     * @param transactionService
+     *        used to give the events to the {@link SBatchedHandler}s once the transaction is committed, may be null to give them right away
+     */
+    protected AbstractEventServiceImpl(final TechnicalLoggerService logger, final TransactionService transactionService) {
         AbstractEventServiceImpl.logger = logger;
+        this.transactionService = transactionService;
     }
 
     /**
@@ -48,38 +66,34 @@ public abstract class AbstractEventServiceImpl implements EventService {
             logger.log(this.getClass(), TechnicalLogSeverity.TRACE, LogUtil.getLogBeforeMethod(this.getClass(), "fireEvent"));
         }
         if (event != null) {
-            // if at least 1 eventFilter contains a group of handlers for the given event type
-            if (containsHandlerFor(event.getType())) {
-                // retrieve the handler list concerned by the given event
-                final Collection<SHandler<SEvent>> handlers = getHandlersFor(event.getType());
-
-                if (handlers.size() > 0) {
-                    if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.TRACE)) {
-                        logger.log(this.getClass(), TechnicalLogSeverity.TRACE, "Found " + handlers.size() + " for event " + event.getType()
-                                + ". All handlers: " + handlers);
-                    }
-                    SFireEventException sFireEventException = null;
-                    for (final SHandler<SEvent> handler : handlers) {
-                        // for each handler, I check if it's interested or not by the given event
-                        try {
-                            if (handler.isInterested(event)) {
-                                handler.execute(event);
-                            }
-                        } catch (final Exception e) {
-                            if (sFireEventException == null) {
-                                sFireEventException = new SFireEventException("Unable to execute some handler.");
-                            }
-                            sFireEventException.addHandlerException(e);
-                            // for now, I just log the Exception into the console
-                            if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.ERROR)) {
-                                logger.log(this.getClass(), TechnicalLogSeverity.ERROR, "Unable to execute handler.", e);
-                            }
+            // retrieve the handlers registered for the type of the given event, if any
+            final SHandler<SEvent>[] handlers = getHandlerArrayFor(event.getType());
+            if (handlers != null && handlers.length > 0) {
+                if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.TRACE)) {
+                    logger.log(this.getClass(), TechnicalLogSeverity.TRACE, "Found " + handlers.length + " for event " + event.getType()
+                            + ". All handlers: " + Arrays.toString(handlers));
+                }
+                SFireEventException sFireEventException = null;
+                for (final SHandler<SEvent> handler : handlers) {
+                    // for each handler, I check if it's interested or not by the given event
+                    try {
+                        if (handler.isInterested(event)) {
+                            execute(handler, event);
+                        }
+                    } catch (final Exception e) {
+                        if (sFireEventException == null) {
+                            sFireEventException = new SFireEventException("Unable to execute some handler.");
+                        }
+                        sFireEventException.addHandlerException(e);
+                        // for now, I just log the Exception into the console
+                        if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.ERROR)) {
+                            logger.log(this.getClass(), TechnicalLogSeverity.ERROR, "Unable to execute handler.", e);
                         }
-                    }
-                    if (sFireEventException != null) {
-                        throw sFireEventException;
                     }
                 }
+                if (sFireEventException != null) {
+                    throw sFireEventException;
+                }
             }
             if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.TRACE)) {
                 logger.log(this.getClass(), TechnicalLogSeverity.TRACE, LogUtil.getLogAfterMethod(this.getClass(), "fireEvent"));
@@ -93,8 +107,51 @@ public abstract class AbstractEventServiceImpl implements EventService {
         }
     }
 
+    private void execute(final SHandler<SEvent> handler, final SEvent event) throws SHandlerExecutionException {
+        if (handler instanceof SBatchedHandler) {
+            addToBatch((SBatchedHandler<SEvent>) handler, event);
+        } else {
+            handler.execute(event);
+        }
+    }
+
+    private void addToBatch(final SBatchedHandler<SEvent> handler, final SEvent event) throws SHandlerExecutionException {
+        BatchedEventsSynchronization synchronization = batchedEvents.get();
+        if (synchronization == null) {
+            if (transactionService == null) {
+                handler.executeBatch(Collections.singletonList(event));
+                return;
+            }
+            synchronization = new BatchedEventsSynchronization(batchedEvents, logger);
+            try {
+                transactionService.registerBonitaSynchronization(synchronization);
+            } catch (final STransactionNotFoundException e) {
+                // not in a transaction: nothing to wait for
+                handler.executeBatch(Collections.singletonList(event));
+                return;
+            }
+            batchedEvents.set(synchronization);
+        }
+        synchronization.addEvent(handler, event);
+    }
+
     protected abstract Collection<SHandler<SEvent>> getHandlersFor(final String type);
 
+    /**
+     * Get the handlers of the given event type as an array, so that firing an event does not need to copy or iterate over a collection.
+     * Implementations are encouraged to keep these arrays precomputed.
+     *
+     * @return the handlers registered for the event type, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    protected SHandler<SEvent>[] getHandlerArrayFor(final String type) {
+        final Collection<SHandler<SEvent>> handlers = getHandlersFor(type);
+        if (handlers == null) {
+            return null;
+        }
+        return handlers.toArray(new SHandler[handlers.size()]);
+    }
+
     protected abstract boolean containsHandlerFor(final String type);
 
     /**
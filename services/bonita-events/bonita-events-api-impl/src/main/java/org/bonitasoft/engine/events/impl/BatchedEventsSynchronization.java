@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.events.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.events.model.SBatchedHandler;
+import org.bonitasoft.engine.events.model.SEvent;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
+import org.bonitasoft.engine.transaction.TransactionState;
+
+/**
+ * Collects the events of a transaction for the {@link SBatchedHandler}s and gives them to the handlers once the transaction is committed.
+ */
+class BatchedEventsSynchronization implements BonitaTransactionSynchronization {
+
+    private final ThreadLocal<BatchedEventsSynchronization> localSynchronization;
+
+    private final TechnicalLoggerService logger;
+
+    private final Map<String, HandlerEvents> eventsByHandler = new LinkedHashMap<String, HandlerEvents>();
+
+    BatchedEventsSynchronization(final ThreadLocal<BatchedEventsSynchronization> localSynchronization, final TechnicalLoggerService logger) {
+        this.localSynchronization = localSynchronization;
+        this.logger = logger;
+    }
+
+    void addEvent(final SBatchedHandler<SEvent> handler, final SEvent event) {
+        HandlerEvents handlerEvents = eventsByHandler.get(handler.getIdentifier());
+        if (handlerEvents == null) {
+            handlerEvents = new HandlerEvents(handler);
+            eventsByHandler.put(handler.getIdentifier(), handlerEvents);
+        }
+        handlerEvents.events.add(event);
+    }
+
+    @Override
+    public void beforeCommit() {
+        // Nothing to do
+    }
+
+    @Override
+    public void afterCompletion(final TransactionState txState) {
+        // events fired by the handlers themselves belong to another transaction
+        localSynchronization.remove();
+        if (txState == TransactionState.COMMITTED) {
+            executeHandlers(eventsByHandler.values());
+        }
+    }
+
+    private void executeHandlers(final Collection<HandlerEvents> allHandlerEvents) {
+        for (final HandlerEvents handlerEvents : allHandlerEvents) {
+            try {
+                handlerEvents.handler.executeBatch(handlerEvents.events);
+            } catch (final Exception e) {
+                if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.ERROR)) {
+                    logger.log(this.getClass(), TechnicalLogSeverity.ERROR, "Unable to execute handler " + handlerEvents.handler.getIdentifier()
+                            + " on " + handlerEvents.events.size() + " events.", e);
+                }
+            }
+        }
+    }
+
+    private static final class HandlerEvents {
+
+        private final SBatchedHandler<SEvent> handler;
+
+        private final List<SEvent> events = new ArrayList<SEvent>();
+
+        HandlerEvents(final SBatchedHandler<SEvent> handler) {
+            this.handler = handler;
+        }
+
+    }
+
+}
@@ -14,7 +14,9 @@
 package org.bonitasoft.engine.events.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -25,6 +27,7 @@ import org.bonitasoft.engine.events.model.HandlerUnregistrationException;
 import org.bonitasoft.engine.events.model.SEvent;
 import org.bonitasoft.engine.events.model.SHandler;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.transaction.TransactionService;
 
 /**
  * @author Christophe Havard
@@ -38,25 +41,55 @@ public class EventServiceImpl extends AbstractEventServiceImpl {
      */
     protected Map<String, List<SHandler<SEvent>>> registeredHandlers;
 
+    /**
+     * Handlers of each event type having at least one handler, rebuilt on each registration change so that firing an event needs no lock nor copy
+     */
+    private volatile Map<String, SHandler<SEvent>[]> handlersByType = Collections.emptyMap();
+
     public EventServiceImpl(final TechnicalLoggerService logger) {
-        super(logger);
+        this(logger, null);
+    }
+
+    public EventServiceImpl(final TechnicalLoggerService logger, final TransactionService transactionService) {
+        super(logger, transactionService);
         registeredHandlers = new HashMap<String, List<SHandler<SEvent>>>();
     }
 
     @Override
     protected boolean containsHandlerFor(final String key) {
-        return registeredHandlers.containsKey(key);
+        return handlersByType.containsKey(key);
     }
 
     @Override
     protected Collection<SHandler<SEvent>> getHandlersFor(final String eventType) {
-        return registeredHandlers.get(eventType);
+        final SHandler<SEvent>[] handlers = handlersByType.get(eventType);
+        if (handlers == null) {
+            return null;
+        }
+        return Arrays.asList(handlers);
+    }
+
+    @Override
+    protected SHandler<SEvent>[] getHandlerArrayFor(final String eventType) {
+        return handlersByType.get(eventType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void updateHandlersByType() {
+        final Map<String, SHandler<SEvent>[]> newHandlersByType = new HashMap<String, SHandler<SEvent>[]>();
+        for (final Map.Entry<String, List<SHandler<SEvent>>> entry : registeredHandlers.entrySet()) {
+            final List<SHandler<SEvent>> handlers = entry.getValue();
+            if (!handlers.isEmpty()) {
+                newHandlersByType.put(entry.getKey(), handlers.toArray(new SHandler[handlers.size()]));
+            }
+        }
+        handlersByType = newHandlersByType;
     }
 
     @Override
-    protected void addHandlerFor(final String eventType, final SHandler<SEvent> handler) throws HandlerRegistrationException {
+    protected synchronized void addHandlerFor(final String eventType, final SHandler<SEvent> handler) throws HandlerRegistrationException {
         // check if the given event type is already registered in the Event Service
-        if (containsHandlerFor(eventType)) {
+        if (registeredHandlers.containsKey(eventType)) {
             // if the handler already exists for the same eventType, an Exception is thrown
             final List<SHandler<SEvent>> handlers = registeredHandlers.get(eventType);
 
@@ -74,10 +107,11 @@ public class EventServiceImpl extends AbstractEventServiceImpl {
             newHandlerList.add(handler);
             registeredHandlers.put(eventType, newHandlerList);
         }
+        updateHandlersByType();
     }
 
     @Override
-    protected void removeAllHandlersFor(final SHandler<SEvent> handler) {
+    protected synchronized void removeAllHandlersFor(final SHandler<SEvent> handler) {
         for (final String eventType : registeredHandlers.keySet()) {
             try {
                 removeHandler(eventType, handler);
@@ -88,9 +122,9 @@ public class EventServiceImpl extends AbstractEventServiceImpl {
     }
 
     @Override
-    protected void removeHandlerFor(final String eventType, final SHandler<SEvent> h) throws HandlerUnregistrationException {
+    protected synchronized void removeHandlerFor(final String eventType, final SHandler<SEvent> h) throws HandlerUnregistrationException {
         boolean removed = false;
-        Collection<SHandler<SEvent>> handlers = getHandlersFor(eventType);
+        Collection<SHandler<SEvent>> handlers = registeredHandlers.get(eventType);
         if (handlers != null) {
             Iterator<SHandler<SEvent>> it = handlers.iterator();
             while (!removed && it.hasNext()) {
@@ -104,5 +138,6 @@ public class EventServiceImpl extends AbstractEventServiceImpl {
         if (!removed) {
             throw new HandlerUnregistrationException();
         }
+        updateHandlersByType();
     }
 }
@@ -13,14 +13,33 @@
  **/
 package org.bonitasoft.engine.events.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.bonitasoft.engine.events.EventService;
 import org.bonitasoft.engine.events.EventServiceTest;
+import org.bonitasoft.engine.events.TestEvent;
+import org.bonitasoft.engine.events.TestHandler;
+import org.bonitasoft.engine.events.model.SBatchedHandler;
+import org.bonitasoft.engine.events.model.SEvent;
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
+import org.bonitasoft.engine.transaction.STransactionNotFoundException;
+import org.bonitasoft.engine.transaction.TransactionService;
+import org.bonitasoft.engine.transaction.TransactionState;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 /**
  *
@@ -41,4 +60,92 @@ public class EventServiceImplTest extends EventServiceTest {
         return logger;
     }
 
+    @Test
+    public void hasHandlers_should_be_false_once_all_handlers_of_the_type_are_removed() throws Exception {
+        final EventService eventService = instantiateEventServiceImplementation();
+        final TestHandler handler = new TestHandler();
+        eventService.addHandler("INTERESTING", handler);
+        assertTrue(eventService.hasHandlers("INTERESTING", null));
+
+        eventService.removeHandler("INTERESTING", handler);
+
+        assertFalse(eventService.hasHandlers("INTERESTING", null));
+    }
+
+    @Test
+    public void batched_handler_should_receive_all_events_of_the_transaction_after_commit() throws Exception {
+        final TransactionService transactionService = mock(TransactionService.class);
+        final EventService eventService = new EventServiceImpl(mockTechnicalLoggerService(), transactionService);
+        final CollectingBatchedHandler handler = new CollectingBatchedHandler();
+        eventService.addHandler("INTERESTING", handler);
+        final TestEvent event1 = new TestEvent("INTERESTING");
+        final TestEvent event2 = new TestEvent("INTERESTING");
+
+        eventService.fireEvent(event1);
+        eventService.fireEvent(event2);
+
+        assertTrue(handler.batches.isEmpty());
+        final ArgumentCaptor<BonitaTransactionSynchronization> synchronization = ArgumentCaptor.forClass(BonitaTransactionSynchronization.class);
+        verify(transactionService).registerBonitaSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(TransactionState.COMMITTED);
+        assertEquals(Arrays.<List<SEvent>> asList(Arrays.<SEvent> asList(event1, event2)), handler.batches);
+    }
+
+    @Test
+    public void batched_handler_should_not_receive_events_of_a_rolled_back_transaction() throws Exception {
+        final TransactionService transactionService = mock(TransactionService.class);
+        final EventService eventService = new EventServiceImpl(mockTechnicalLoggerService(), transactionService);
+        final CollectingBatchedHandler handler = new CollectingBatchedHandler();
+        eventService.addHandler("INTERESTING", handler);
+
+        eventService.fireEvent(new TestEvent("INTERESTING"));
+
+        final ArgumentCaptor<BonitaTransactionSynchronization> synchronization = ArgumentCaptor.forClass(BonitaTransactionSynchronization.class);
+        verify(transactionService).registerBonitaSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(TransactionState.ROLLEDBACK);
+        assertTrue(handler.batches.isEmpty());
+    }
+
+    @Test
+    public void batched_handler_should_receive_event_right_away_outside_of_a_transaction() throws Exception {
+        final TransactionService transactionService = mock(TransactionService.class);
+        doThrow(new STransactionNotFoundException("no transaction")).when(transactionService).registerBonitaSynchronization(
+                any(BonitaTransactionSynchronization.class));
+        final EventService eventService = new EventServiceImpl(mockTechnicalLoggerService(), transactionService);
+        final CollectingBatchedHandler handler = new CollectingBatchedHandler();
+        eventService.addHandler("INTERESTING", handler);
+        final TestEvent event = new TestEvent("INTERESTING");
+
+        eventService.fireEvent(event);
+
+        assertEquals(Arrays.<List<SEvent>> asList(Arrays.<SEvent> asList(event)), handler.batches);
+    }
+
+    private static class CollectingBatchedHandler implements SBatchedHandler<SEvent> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<List<SEvent>> batches = new ArrayList<List<SEvent>>();
+
+        @Override
+        public void executeBatch(final List<SEvent> events) {
+            batches.add(events);
+        }
+
+        @Override
+        public void execute(final SEvent event) {
+            throw new IllegalStateException("should not be called");
+        }
+
+        @Override
+        public boolean isInterested(final SEvent event) {
+            return true;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return "collecting";
+        }
+    }
+
 }
@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.events.model;
+
+import java.util.List;
+
+/**
+ * Handler consuming all the events of a transaction it is interested in at once, after the transaction is committed.
+ * <p>
+ * {@link #isInterested(SEvent)} is still called when the event is fired, but the interesting events are only collected: they are given to
+ * {@link #executeBatch(List)} in the order they were fired once the transaction is committed, and dropped if it is rolled back. An event fired outside
+ * of a transaction is given alone to {@link #executeBatch(List)} right away. {@link #execute(SEvent)} is not called by the event service.
+ * <p>
+ * As the transaction is already committed, a failure of the handler is only logged.
+ *
+ * @since 7.2.0
+ */
+public interface SBatchedHandler<T extends SEvent> extends SHandler<T> {
+
+    /**
+     * Performs the action corresponding to all the events of a transaction
+     */
+    void executeBatch(List<T> events) throws SHandlerExecutionException;
+
+}
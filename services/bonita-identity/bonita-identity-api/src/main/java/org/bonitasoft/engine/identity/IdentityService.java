@@ -72,6 +72,16 @@ public interface IdentityService {
      */
     SRole getRoleByName(String roleName) throws SRoleNotFoundException;
 
+    /**
+     * Get the {@link SRole}s of the given names that exist, with a single query.
+     *
+     * @param roleNames
+     *        the names of the roles
+     * @return the existing roles, in no particular order
+     * @throws SIdentityException occurs on persistence layer access problem
+     */
+    List<SRole> getRolesByName(List<String> roleNames) throws SIdentityException;
+
     /**
      * Get total number of {@link SRole} for this tenant
      *
@@ -137,6 +147,16 @@ public interface IdentityService {
      */
     SGroup getGroupByPath(String groupPath) throws SGroupNotFoundException;
 
+    /**
+     * Get the {@link SGroup}s of the given paths that exist, with a single query.
+     *
+     * @param groupPaths
+     *        the paths of the groups, e.g. /acme/hr
+     * @return the existing groups, in no particular order
+     * @throws SIdentityException occurs on persistence layer access problem
+     */
+    List<SGroup> getGroupsByPath(List<String> groupPaths) throws SIdentityException;
+
     /**
      * Get {@link SGroup} by its identifier
      *
@@ -526,6 +546,33 @@ public interface IdentityService {
      */
     SUserMembership getLightUserMembership(long userId, long groupId, long roleId) throws SIdentityException;
 
+    /**
+     * Get, with a single query, the {@link SUserMembership}s whose user, group and role are all among the given ones.
+     *
+     * @param userIds
+     *        The users' identifiers
+     * @param groupIds
+     *        The groups' identifiers
+     * @param roleIds
+     *        The roles' identifiers
+     * @return the matching {@link SUserMembership}s, with their userName, groupName and roleName
+     * @throws SIdentityException occurs on persistence layer access problem
+     */
+    List<SUserMembership> getUserMemberships(List<Long> userIds, List<Long> groupIds, List<Long> roleIds) throws SIdentityException;
+
+    /**
+     * Get the {@link SUserMembership}s having an identifier greater than the given one, sorted by identifier
+     * <p> Used to page over all the memberships without skipping or repeating any of them when memberships are added or deleted between two pages.
+     *
+     * @param afterUserMembershipId
+     *        The identifier of the last {@link SUserMembership} of the previous page, -1 for the first page
+     * @param maxResults
+     *        Number of result to retrieve
+     * @return the {@link SUserMembership}s, with their userName, groupName and roleName
+     * @throws SIdentityException occurs on persistence layer access problem
+     */
+    List<SUserMembership> getUserMembershipsAfter(long afterUserMembershipId, int maxResults) throws SIdentityException;
+
     /**
      * Get a {@link List} of {@link SUserMembership} of the given identifiers if they exists
      *
@@ -863,6 +910,15 @@ public interface IdentityService {
      */
     void createRole(SRole role) throws SIdentityException;
 
+    /**
+     * Create the given roles in DB with batched inserts. A creation event is still fired for each role.
+     *
+     * @param roles
+     *        the role objects
+     * @throws SIdentityException
+     */
+    void createRoles(List<SRole> roles) throws SIdentityException;
+
     /**
      * Update role according to the descriptor
      *
@@ -883,6 +939,15 @@ public interface IdentityService {
      */
     void createGroup(SGroup group) throws SGroupCreationException;
 
+    /**
+     * Create the given groups in DB with batched inserts. A creation event is still fired for each group.
+     *
+     * @param groups
+     *        the group objects
+     * @throws SGroupCreationException
+     */
+    void createGroups(List<SGroup> groups) throws SGroupCreationException;
+
     /**
      * Update group according to the descriptor
      *
@@ -903,6 +968,15 @@ public interface IdentityService {
      */
     void createUserMembership(SUserMembership userMembership) throws SUserMembershipCreationException;
 
+    /**
+     * Create the given userMemberships in DB with batched inserts. A creation event is still fired for each userMembership.
+     *
+     * @param userMemberships
+     *        the userMembership objects
+     * @throws SUserMembershipCreationException
+     */
+    void createUserMemberships(List<SUserMembership> userMemberships) throws SUserMembershipCreationException;
+
     /**
      * Update userMembership according to the descriptor
      *
@@ -1184,6 +1258,17 @@ public interface IdentityService {
      */
     SContactInfo getUserContactInfo(long userId, boolean isPersonal) throws SIdentityException;
 
+    /**
+     * Return the personal and professional contact info of several users at once.
+     *
+     * @param userIds
+     *        the IDs of the users to retrieve the contact info from
+     * @return the contact info found, at most two for each user
+     * @throws SIdentityException
+     *         if a Read problem occurred
+     */
+    List<SContactInfo> getUserContactInfos(List<Long> userIds) throws SIdentityException;
+
     /**
      * Create user contact information for given data
      *
@@ -26,6 +26,7 @@ import org.bonitasoft.engine.commons.exceptions.SBonitaException;
 import org.bonitasoft.engine.events.EventActionType;
 import org.bonitasoft.engine.events.EventService;
 import org.bonitasoft.engine.events.model.SDeleteEvent;
+import org.bonitasoft.engine.events.model.SFireEventException;
 import org.bonitasoft.engine.events.model.SInsertEvent;
 import org.bonitasoft.engine.events.model.SUpdateEvent;
 import org.bonitasoft.engine.events.model.builders.SEventBuilderFactory;
@@ -68,6 +69,7 @@ import org.bonitasoft.engine.identity.model.builder.SRoleLogBuilderFactory;
 import org.bonitasoft.engine.identity.model.builder.SUserBuilderFactory;
 import org.bonitasoft.engine.identity.model.builder.SUserLogBuilder;
 import org.bonitasoft.engine.identity.model.builder.SUserLogBuilderFactory;
+import org.bonitasoft.engine.identity.model.builder.SUserMembershipBuilderFactory;
 import org.bonitasoft.engine.identity.model.builder.SUserMembershipLogBuilder;
 import org.bonitasoft.engine.identity.model.builder.SUserMembershipLogBuilderFactory;
 import org.bonitasoft.engine.identity.model.impl.SUserImpl;
@@ -77,6 +79,7 @@ import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.persistence.OrderByOption;
 import org.bonitasoft.engine.persistence.OrderByType;
+import org.bonitasoft.engine.persistence.PersistentObject;
 import org.bonitasoft.engine.persistence.QueryOptions;
 import org.bonitasoft.engine.persistence.ReadPersistenceService;
 import org.bonitasoft.engine.persistence.SBonitaReadException;
@@ -90,6 +93,7 @@ import org.bonitasoft.engine.queriablelogger.model.builder.SLogBuilder;
 import org.bonitasoft.engine.queriablelogger.model.builder.SPersistenceLogBuilder;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
 import org.bonitasoft.engine.recorder.model.DeleteAllRecord;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
@@ -153,6 +157,41 @@ public class IdentityServiceImpl implements IdentityService {
         }
     }
 
+    @Override
+    public void createGroups(final List<SGroup> groups) throws SGroupCreationException {
+        final String methodName = "createGroups";
+        logBeforeMethod(methodName);
+        try {
+            recordBatchInsert(groups, GROUP);
+            for (final SGroup group : groups) {
+                log(group.getId(), SQueriableLog.STATUS_OK, getGroupLog(ActionType.CREATED, "Adding a new group with name " + group.getName()), methodName);
+            }
+            logAfterMethod(methodName);
+        } catch (final SRecorderException re) {
+            logOnExceptionMethod(methodName, re);
+            throw new SGroupCreationException(re);
+        }
+    }
+
+    /**
+     * Insert the entities with batched inserts, then fire the creation event of each of them, as {@link Recorder#recordInsert} would.
+     */
+    private void recordBatchInsert(final List<? extends PersistentObject> entities, final String type) throws SRecorderException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        recorder.recordBatchInsert(new BatchInsertRecord(entities), null);
+        if (eventService.hasHandlers(type, EventActionType.CREATED)) {
+            try {
+                for (final PersistentObject entity : entities) {
+                    eventService.fireEvent(getInsertEvent(entity, type));
+                }
+            } catch (final SFireEventException e) {
+                throw new SRecorderException(e);
+            }
+        }
+    }
+
     private SInsertEvent getInsertEvent(final Object object, final String type) {
         if (eventService.hasHandlers(type, EventActionType.CREATED)) {
             return (SInsertEvent) BuilderFactory.get(SEventBuilderFactory.class).createInsertEvent(type).setObject(object).done();
@@ -238,6 +277,22 @@ public class IdentityServiceImpl implements IdentityService {
         }
     }
 
+    @Override
+    public void createRoles(final List<SRole> roles) throws SIdentityException {
+        final String methodName = "createRoles";
+        logBeforeMethod(methodName);
+        try {
+            recordBatchInsert(roles, ROLE);
+            for (final SRole role : roles) {
+                log(role.getId(), SQueriableLog.STATUS_OK, getRoleLog(ActionType.CREATED, "Adding a new role with name " + role.getName()), methodName);
+            }
+            logAfterMethod(methodName);
+        } catch (final SRecorderException e) {
+            logOnExceptionMethod(methodName, e);
+            throw new SIdentityException("Can't add roles " + roles, e);
+        }
+    }
+
     @Override
     public SUser createUser(final SUser user) throws SUserCreationException {
         final String methodName = "createUser";
@@ -323,6 +378,24 @@ public class IdentityServiceImpl implements IdentityService {
         }
     }
 
+    @Override
+    public void createUserMemberships(final List<SUserMembership> userMemberships) throws SUserMembershipCreationException {
+        final String methodName = "createUserMemberships";
+        logBeforeMethod(methodName);
+        try {
+            recordBatchInsert(userMemberships, USERMEMBERSHIP);
+            for (final SUserMembership userMembership : userMemberships) {
+                final String message = "Adding a new user membership for user " + userMembership.getUsername() + " with role "
+                        + userMembership.getRoleName() + " in group " + userMembership.getGroupName();
+                log(userMembership.getId(), SQueriableLog.STATUS_OK, getUserMembershipLog(ActionType.CREATED, message, userMembership), methodName);
+            }
+            logAfterMethod(methodName);
+        } catch (final SRecorderException re) {
+            logOnExceptionMethod(methodName, re);
+            throw new SUserMembershipCreationException(re);
+        }
+    }
+
     @Override
     public void deleteGroup(final long groupId) throws SGroupNotFoundException, SGroupDeletionException {
         final SGroup group = getGroup(groupId);
@@ -1104,6 +1177,55 @@ public class IdentityServiceImpl implements IdentityService {
         }
     }
 
+    @Override
+    public List<SRole> getRolesByName(final List<String> roleNames) throws SIdentityException {
+        final String methodName = "getRolesByName";
+        logBeforeMethod(methodName);
+        if (roleNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            final QueryOptions queryOptions = new QueryOptions(0, roleNames.size(), SRole.class, "name", OrderByType.ASC);
+            final Map<String, Object> parameters = Collections.singletonMap("names", (Object) roleNames);
+            final List<SRole> roles = persistenceService.selectList(new SelectListDescriptor<SRole>("getRolesByNames", parameters, SRole.class, queryOptions));
+            logAfterMethod(methodName);
+            return roles;
+        } catch (final SBonitaReadException e) {
+            logOnExceptionMethod(methodName, e);
+            throw new SIdentityException("Can't get the roles named " + roleNames, e);
+        }
+    }
+
+    @Override
+    public List<SGroup> getGroupsByPath(final List<String> groupPaths) throws SIdentityException {
+        final String methodName = "getGroupsByPath";
+        logBeforeMethod(methodName);
+        if (groupPaths.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // the same name may be used under several parents: groups are selected by name and then kept by path
+        final List<String> groupNames = new ArrayList<String>(groupPaths.size());
+        for (final String groupPath : groupPaths) {
+            groupNames.add(groupPath.substring(groupPath.lastIndexOf('/') + 1));
+        }
+        try {
+            final Map<String, Object> parameters = Collections.singletonMap("names", (Object) groupNames);
+            final List<SGroup> groupsWithName = persistenceService.selectList(new SelectListDescriptor<SGroup>("getGroupsByNames", parameters,
+                    SGroup.class, QueryOptions.countQueryOptions()));
+            final List<SGroup> groups = new ArrayList<SGroup>(groupPaths.size());
+            for (final SGroup group : groupsWithName) {
+                if (groupPaths.contains(group.getPath())) {
+                    groups.add(group);
+                }
+            }
+            logAfterMethod(methodName);
+            return groups;
+        } catch (final SBonitaReadException e) {
+            logOnExceptionMethod(methodName, e);
+            throw new SIdentityException("Can't get the groups of paths " + groupPaths, e);
+        }
+    }
+
     @Override
     public SGroup getGroupByPath(final String groupPath) throws SGroupNotFoundException {
         final String methodName = "getGroupByPath";
@@ -1210,6 +1332,26 @@ public class IdentityServiceImpl implements IdentityService {
         }
     }
 
+    @Override
+    public List<SContactInfo> getUserContactInfos(final List<Long> userIds) throws SIdentityException {
+        final String methodName = "getUserContactInfos";
+        logBeforeMethod(methodName);
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            final QueryOptions queryOptions = new QueryOptions(0, userIds.size() * 2, SContactInfo.class, "id", OrderByType.ASC);
+            final Map<String, Object> parameters = Collections.singletonMap("userIds", (Object) userIds);
+            final List<SContactInfo> contactInfos = persistenceService.selectList(new SelectListDescriptor<SContactInfo>("getUserContactInfos", parameters,
+                    SContactInfo.class, queryOptions));
+            logAfterMethod(methodName);
+            return contactInfos;
+        } catch (final SBonitaReadException e) {
+            logOnExceptionMethod(methodName, e);
+            throw new SUserNotFoundException("Cannot get user contact info for user ids: " + userIds, e);
+        }
+    }
+
     @Override
     public SUser getUserByUserName(final String userName) throws SUserNotFoundException {
         final String methodName = "getUserByUserName";
@@ -1577,6 +1719,10 @@ public class IdentityServiceImpl implements IdentityService {
             SUpdateEvent updateEvent = null;
             if (eventService.hasHandlers(USERMEMBERSHIP, EventActionType.UPDATED)) {
                 updateEvent = (SUpdateEvent) BuilderFactory.get(SEventBuilderFactory.class).createUpdateEvent(USERMEMBERSHIP).setObject(userMembership).done();
+                final SUserMembership oldUserMembership = BuilderFactory.get(SUserMembershipBuilderFactory.class)
+                        .createNewInstance(userMembership.getUserId(), userMembership.getGroupId(), userMembership.getRoleId())
+                        .setAssignedBy(userMembership.getAssignedBy()).setAssignedDate(userMembership.getAssignedDate()).done();
+                updateEvent.setOldObject(oldUserMembership);
             }
             recorder.recordUpdate(updateRecord, updateEvent);
             logAfterMethod(methodName);
@@ -1683,6 +1829,46 @@ public class IdentityServiceImpl implements IdentityService {
         }
     }
 
+    @Override
+    public List<SUserMembership> getUserMemberships(final List<Long> userIds, final List<Long> groupIds, final List<Long> roleIds)
+            throws SIdentityException {
+        final String methodName = "getUserMemberships";
+        logBeforeMethod(methodName);
+        if (userIds.isEmpty() || groupIds.isEmpty() || roleIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            final Map<String, Object> parameters = new HashMap<String, Object>(3);
+            parameters.put("userIds", userIds);
+            parameters.put("groupIds", groupIds);
+            parameters.put("roleIds", roleIds);
+            final List<SUserMembership> userMemberships = persistenceService.selectList(new SelectListDescriptor<SUserMembership>(
+                    "getUserMembershipsWithIds", parameters, SUserMembership.class, QueryOptions.countQueryOptions()));
+            logAfterMethod(methodName);
+            return userMemberships;
+        } catch (final SBonitaReadException e) {
+            logOnExceptionMethod(methodName, e);
+            throw new SIdentityException("Can't get the userMemberships of users " + userIds + ", groups " + groupIds + " and roles " + roleIds, e);
+        }
+    }
+
+    @Override
+    public List<SUserMembership> getUserMembershipsAfter(final long afterUserMembershipId, final int maxResults) throws SIdentityException {
+        final String methodName = "getUserMembershipsAfter";
+        logBeforeMethod(methodName);
+        try {
+            final Map<String, Object> parameters = Collections.singletonMap("afterId", (Object) afterUserMembershipId);
+            final List<SUserMembership> userMemberships = persistenceService.selectList(new SelectListDescriptor<SUserMembership>(
+                    "getUserMembershipsAfterId", parameters, SUserMembership.class, new QueryOptions(0, maxResults, SUserMembership.class, "id",
+                            OrderByType.ASC)));
+            logAfterMethod(methodName);
+            return userMemberships;
+        } catch (final SBonitaReadException e) {
+            logOnExceptionMethod(methodName, e);
+            throw new SIdentityException("Can't get the userMemberships after " + afterUserMembershipId, e);
+        }
+    }
+
     private SUserMembership getUserMembership(final long userId, final long groupId, final long roleId, final SelectOneDescriptor<SUserMembership> descriptor)
             throws SBonitaReadException, SIdentityException {
         final SUserMembership sUserMembership = persistenceService.selectOne(descriptor);
@@ -15,24 +15,36 @@ package org.bonitasoft.engine.identity.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
+import org.bonitasoft.engine.events.EventActionType;
 import org.bonitasoft.engine.events.EventService;
+import org.bonitasoft.engine.events.model.SEvent;
+import org.bonitasoft.engine.events.model.SInsertEvent;
 import org.bonitasoft.engine.identity.SGroupNotFoundException;
 import org.bonitasoft.engine.identity.SIdentityException;
 import org.bonitasoft.engine.identity.model.SGroup;
+import org.bonitasoft.engine.identity.model.impl.SGroupImpl;
 import org.bonitasoft.engine.identity.recorder.SelectDescriptorBuilder;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.persistence.OrderByType;
 import org.bonitasoft.engine.persistence.QueryOptions;
 import org.bonitasoft.engine.persistence.ReadPersistenceService;
 import org.bonitasoft.engine.persistence.SBonitaReadException;
+import org.bonitasoft.engine.persistence.SelectListDescriptor;
 import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.recorder.Recorder;
+import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
+import org.bonitasoft.engine.services.QueriableLoggerService;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
@@ -58,6 +70,9 @@ public class IdentityServiceImplForGroupTest {
     @Mock
     private TechnicalLoggerService logger;
 
+    @Mock
+    private QueriableLoggerService queriableLoggerService;
+
     @InjectMocks
     private IdentityServiceImpl identityServiceImpl;
 
@@ -66,6 +81,37 @@ public class IdentityServiceImplForGroupTest {
         MockitoAnnotations.initMocks(this);
     }
 
+    @Test
+    public void getGroupsByPath_should_keep_the_groups_of_the_given_paths_among_the_groups_of_the_same_names() throws Exception {
+        final SGroup rootHr = group(1L, "hr", null);
+        final SGroup acmeHr = group(2L, "hr", "/acme");
+        final SGroup acme = group(3L, "acme", null);
+        doReturn(Arrays.asList(rootHr, acmeHr, acme)).when(persistenceService).selectList(Matchers.<SelectListDescriptor<SGroup>> any());
+
+        final List<SGroup> groups = identityServiceImpl.getGroupsByPath(Arrays.asList("/acme/hr", "/acme"));
+
+        assertEquals(Arrays.asList(acmeHr, acme), groups);
+    }
+
+    @Test
+    public void createGroups_should_insert_all_groups_in_one_batch_and_fire_an_event_per_group() throws Exception {
+        final List<SGroup> groups = Arrays.asList(group(1L, "hr", null), group(2L, "rd", null));
+        doReturn(true).when(eventService).hasHandlers("GROUP", EventActionType.CREATED);
+
+        identityServiceImpl.createGroups(groups);
+
+        verify(recorder).recordBatchInsert(any(BatchInsertRecord.class), Matchers.<SInsertEvent> eq(null));
+        verify(eventService, times(2)).fireEvent(any(SEvent.class));
+    }
+
+    private SGroup group(final long id, final String name, final String parentPath) {
+        final SGroupImpl group = new SGroupImpl();
+        group.setId(id);
+        group.setName(name);
+        group.setParentPath(parentPath);
+        return group;
+    }
+
     /**
      * Test method for {@link org.bonitasoft.engine.identity.impl.IdentityServiceImpl#getNumberOfGroupChildren(long)}.
      */
@@ -104,4 +104,16 @@ public interface QueriableLoggerService {
      */
     List<SQueriableLog> searchLogs(final QueryOptions searchOptions) throws SBonitaReadException;
 
+    /**
+     * Delete the oldest queriable logs past the configured retention, with their parameters. At most <code>maxResults</code> logs are deleted so the
+     * transaction stays small: call it again while it returns <code>maxResults</code>.
+     * 
+     * @param maxResults
+     *            the maximum number of logs to delete
+     * @return the number of deleted logs, 0 when there is no retention
+     * @throws SQueriableLogException
+     * @since 7.2
+     */
+    int purgeExpiredLogs(int maxResults) throws SQueriableLogException;
+
 }
@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.services.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.OrderByType;
+import org.bonitasoft.engine.persistence.PersistentObject;
+import org.bonitasoft.engine.persistence.QueryOptions;
+import org.bonitasoft.engine.persistence.SBonitaReadException;
+import org.bonitasoft.engine.persistence.SelectListDescriptor;
+import org.bonitasoft.engine.platform.PlatformService;
+import org.bonitasoft.engine.queriablelogger.model.SQueriableLog;
+import org.bonitasoft.engine.services.PersistenceService;
+import org.bonitasoft.engine.services.QueriableLogSessionProvider;
+import org.bonitasoft.engine.services.QueriableLoggerStrategy;
+import org.bonitasoft.engine.services.SPersistenceException;
+import org.bonitasoft.engine.services.SQueriableLogException;
+import org.bonitasoft.engine.services.SQueriableLogNotFoundException;
+import org.bonitasoft.engine.sessionaccessor.ReadSessionAccessor;
+import org.bonitasoft.engine.sessionaccessor.STenantIdNotSetException;
+import org.bonitasoft.engine.transaction.STransactionNotFoundException;
+import org.bonitasoft.engine.transaction.TransactionService;
+
+/**
+ * Queriable logger that keeps the logs of a transaction in memory and sends them to the database in a single JDBC batch just before the commit.
+ * The buffer is bounded: when it reaches <code>maxBufferSize</code> logs, they are sent right away.
+ * Logs are searched in the database, so the buffer of the current transaction is flushed before any read to keep search results consistent.
+ * When <code>retentionInDays</code> is strictly positive, the logs older than the retention are deleted by {@link #purgeExpiredLogs(int)}, which is called
+ * by a periodic job in its own transaction.
+ */
+public class BatchQueriableLoggerServiceImpl extends AbstractQueriableLoggerImpl {
+
+    static final long ONE_DAY = 24L * 60 * 60 * 1000;
+
+    private final TransactionService transactionService;
+
+    private final ReadSessionAccessor sessionAccessor;
+
+    private final int maxBufferSize;
+
+    private final int retentionInDays;
+
+    private final ThreadLocal<QueriableLogBuffer> buffers = new ThreadLocal<QueriableLogBuffer>();
+
+    public BatchQueriableLoggerServiceImpl(final PersistenceService persistenceService, final QueriableLoggerStrategy loggerStrategy,
+            final QueriableLogSessionProvider sessionProvider, final TechnicalLoggerService logger, final PlatformService platformService,
+            final TransactionService transactionService, final ReadSessionAccessor sessionAccessor, final int maxBufferSize, final int retentionInDays) {
+        super(persistenceService, loggerStrategy, sessionProvider, platformService, logger);
+        this.transactionService = transactionService;
+        this.sessionAccessor = sessionAccessor;
+        this.maxBufferSize = maxBufferSize;
+        this.retentionInDays = retentionInDays;
+    }
+
+    @Override
+    protected void log(final List<SQueriableLog> loggableLogs) {
+        final QueriableLogBuffer buffer = getBuffer();
+        if (buffer == null) {
+            // not in a transaction: nothing to wait for
+            insert(loggableLogs);
+            return;
+        }
+        buffer.add(loggableLogs);
+        if (buffer.size() >= maxBufferSize) {
+            flush(buffer);
+        }
+    }
+
+    private QueriableLogBuffer getBuffer() {
+        QueriableLogBuffer buffer = buffers.get();
+        if (buffer == null) {
+            buffer = new QueriableLogBuffer(this, buffers);
+            try {
+                transactionService.registerBonitaSynchronization(buffer);
+                transactionService.registerBeforeCommitCallable(buffer);
+            } catch (final STransactionNotFoundException e) {
+                return null;
+            }
+            buffers.set(buffer);
+        }
+        return buffer;
+    }
+
+    void flush(final QueriableLogBuffer buffer) {
+        final List<PersistentObject> logs = buffer.drain();
+        if (!logs.isEmpty()) {
+            insert(logs);
+        }
+    }
+
+    private void flushPendingLogs() {
+        final QueriableLogBuffer buffer = buffers.get();
+        if (buffer != null) {
+            flush(buffer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void insert(final List<? extends PersistentObject> logs) {
+        try {
+            if (logger != null && logger.isLoggable(this.getClass(), TechnicalLogSeverity.TRACE)) {
+                logger.log(this.getClass(), TechnicalLogSeverity.TRACE, "Persisting " + logs.size() + " logs...");
+            }
+            getPersitenceService().insertInBatch((List<PersistentObject>) logs);
+        } catch (final SPersistenceException e) {
+            final String message = "Error while persisting logs transaction :" + System.getProperty("line.separator") + "Logs " + logs;
+            if (logger != null && logger.isLoggable(this.getClass(), TechnicalLogSeverity.ERROR)) {
+                logger.log(this.getClass(), TechnicalLogSeverity.ERROR, message, e);
+            }
+        }
+    }
+
+    @Override
+    public int purgeExpiredLogs(final int maxResults) throws SQueriableLogException {
+        return purgeExpiredLogs(System.currentTimeMillis(), maxResults);
+    }
+
+    int purgeExpiredLogs(final long now, final int maxResults) throws SQueriableLogException {
+        if (retentionInDays <= 0) {
+            return 0;
+        }
+        return deleteLogsOlderThan(now - retentionInDays * ONE_DAY, maxResults);
+    }
+
+    /**
+     * Delete at most <code>maxResults</code> queriable logs of the current tenant, and their parameters, logged before the given timestamp.
+     *
+     * @param timestamp
+     *            the timestamp, in milliseconds, before which logs are deleted
+     * @param maxResults
+     *            the maximum number of logs to delete
+     * @return the number of deleted logs
+     * @throws SQueriableLogException
+     */
+    int deleteLogsOlderThan(final long timestamp, final int maxResults) throws SQueriableLogException {
+        try {
+            final long tenantId = sessionAccessor.getTenantId();
+            final Map<String, Object> parameters = new HashMap<String, Object>(2);
+            parameters.put("tenantId", tenantId);
+            parameters.put("timestamp", timestamp);
+            final List<Long> logIds = getPersitenceService().selectList(
+                    new SelectListDescriptor<Long>("getQueriableLogIdsOlderThan", parameters, SQueriableLog.class, Long.class, new QueryOptions(0, maxResults)));
+            if (logIds.isEmpty()) {
+                return 0;
+            }
+            final Map<String, Object> deleteParameters = new HashMap<String, Object>(2);
+            deleteParameters.put("tenantId", tenantId);
+            deleteParameters.put("ids", logIds);
+            getPersitenceService().update("deleteQueriableLogParametersOfLogs", deleteParameters);
+            final int deleted = getPersitenceService().update("deleteQueriableLogs", deleteParameters);
+            if (logger != null && logger.isLoggable(this.getClass(), TechnicalLogSeverity.DEBUG)) {
+                logger.log(this.getClass(), TechnicalLogSeverity.DEBUG, "Purged " + deleted + " queriable logs older than " + timestamp);
+            }
+            return deleted;
+        } catch (final STenantIdNotSetException e) {
+            throw new SQueriableLogException(e);
+        } catch (final SBonitaReadException e) {
+            throw new SQueriableLogException(e);
+        } catch (final SPersistenceException e) {
+            throw new SQueriableLogException(e);
+        }
+    }
+
+    @Override
+    public int getNumberOfLogs() throws SQueriableLogException {
+        flushPendingLogs();
+        return super.getNumberOfLogs();
+    }
+
+    @Override
+    public List<SQueriableLog> getLogs(final int startIndex, final int maxResults, final String field, final OrderByType order) throws SQueriableLogException {
+        flushPendingLogs();
+        return super.getLogs(startIndex, maxResults, field, order);
+    }
+
+    @Override
+    public long getNumberOfLogs(final QueryOptions searchOptions) throws SBonitaReadException {
+        flushPendingLogs();
+        return super.getNumberOfLogs(searchOptions);
+    }
+
+    @Override
+    public List<SQueriableLog> searchLogs(final QueryOptions searchOptions) throws SBonitaReadException {
+        flushPendingLogs();
+        return super.searchLogs(searchOptions);
+    }
+
+    @Override
+    public SQueriableLog getLog(final long logId) throws SQueriableLogNotFoundException, SQueriableLogException {
+        flushPendingLogs();
+        return super.getLog(logId);
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.services.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.bonitasoft.engine.persistence.PersistentObject;
+import org.bonitasoft.engine.queriablelogger.model.SQueriableLog;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
+import org.bonitasoft.engine.transaction.TransactionState;
+
+/**
+ * Queriable logs written during a transaction and not yet sent to the database.
+ * The buffer is flushed just before the commit, before Hibernate flushes its session, and is forgotten once the transaction is completed.
+ */
+class QueriableLogBuffer implements Callable<Void>, BonitaTransactionSynchronization {
+
+    private final BatchQueriableLoggerServiceImpl loggerService;
+
+    private final ThreadLocal<QueriableLogBuffer> buffers;
+
+    private final List<PersistentObject> logs = new ArrayList<PersistentObject>();
+
+    QueriableLogBuffer(final BatchQueriableLoggerServiceImpl loggerService, final ThreadLocal<QueriableLogBuffer> buffers) {
+        this.loggerService = loggerService;
+        this.buffers = buffers;
+    }
+
+    void add(final List<SQueriableLog> queriableLogs) {
+        logs.addAll(queriableLogs);
+    }
+
+    int size() {
+        return logs.size();
+    }
+
+    List<PersistentObject> drain() {
+        final List<PersistentObject> drained = new ArrayList<PersistentObject>(logs);
+        logs.clear();
+        return drained;
+    }
+
+    @Override
+    public Void call() {
+        loggerService.flush(this);
+        return null;
+    }
+
+    @Override
+    public void beforeCommit() {
+        // Nothing to do: logs are flushed by the before commit callable
+    }
+
+    @Override
+    public void afterCompletion(final TransactionState txState) {
+        buffers.remove();
+    }
+
+}
@@ -37,6 +37,8 @@ public class QueriableLogUpdater {
     private final QueriableLogSessionProvider sessionProvider;
     private final PlatformService platformService;
     private final TechnicalLoggerService logger;
+    // the platform version does not change while the engine runs: read it once instead of loading the platform properties for each log
+    private volatile String productVersion;
 
     public QueriableLogUpdater(final QueriableLogSessionProvider sessionProvider, final PlatformService platformService, final TechnicalLoggerService logger) {
         this.sessionProvider = sessionProvider;
@@ -45,8 +47,7 @@ public class QueriableLogUpdater {
     }
 
     public SQueriableLog buildFinalLog(final String callerClassName, final String callerMethodName, final SQueriableLog log) {
-        final SQueriableLogBuilderFactory fact = BuilderFactory.get(SQueriableLogBuilderFactory.class);
-        final SQueriableLogBuilder builder = fact.fromInstance(log);
+        final SQueriableLogBuilder builder = BuilderFactory.get(SQueriableLogBuilderFactory.class).fromInstance(log);
 
         final String rawMessage = log.getRawMessage();
         if (rawMessage.length() > MAX_MESSAGE_LENGTH) {
@@ -66,10 +67,17 @@ public class QueriableLogUpdater {
         }
         final SQueriableLog finalLog = builder.callerClassName(callerClassName).callerMethodName(callerMethodName)
                 .userId(sessionProvider.getUserId()).clusterNode(sessionProvider.getClusterNode())
-                .productVersion(platformService.getSPlatformProperties().getPlatformVersion())
+                .productVersion(getProductVersion())
                 .done();
         return finalLog;
 
     }
 
+    private String getProductVersion() {
+        if (productVersion == null) {
+            productVersion = platformService.getSPlatformProperties().getPlatformVersion();
+        }
+        return productVersion;
+    }
+
 }
@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.PersistentObject;
+import org.bonitasoft.engine.persistence.SelectListDescriptor;
+import org.bonitasoft.engine.platform.PlatformService;
+import org.bonitasoft.engine.platform.model.SPlatformProperties;
+import org.bonitasoft.engine.queriablelogger.model.SQueriableLog;
+import org.bonitasoft.engine.queriablelogger.model.SQueriableLogSeverity;
+import org.bonitasoft.engine.queriablelogger.model.impl.SQueriableLogImpl;
+import org.bonitasoft.engine.services.PersistenceService;
+import org.bonitasoft.engine.services.QueriableLogSessionProvider;
+import org.bonitasoft.engine.services.QueriableLoggerStrategy;
+import org.bonitasoft.engine.services.SPersistenceException;
+import org.bonitasoft.engine.services.SQueriableLogException;
+import org.bonitasoft.engine.sessionaccessor.ReadSessionAccessor;
+import org.bonitasoft.engine.transaction.STransactionNotFoundException;
+import org.bonitasoft.engine.transaction.TransactionService;
+import org.bonitasoft.engine.transaction.TransactionState;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchQueriableLoggerServiceImplTest {
+
+    private static final String ACTION = "action";
+
+    private static final long TENANT_ID = 12L;
+
+    @Mock
+    private PersistenceService persistenceService;
+
+    @Mock
+    private QueriableLoggerStrategy loggerStrategy;
+
+    @Mock
+    private QueriableLogSessionProvider sessionProvider;
+
+    @Mock
+    private TechnicalLoggerService logger;
+
+    @Mock
+    private PlatformService platformService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private ReadSessionAccessor sessionAccessor;
+
+    private BatchQueriableLoggerServiceImpl logService;
+
+    @Before
+    public void setUp() throws Exception {
+        final SPlatformProperties platformProperties = mock(SPlatformProperties.class);
+        doReturn(platformProperties).when(platformService).getSPlatformProperties();
+        doReturn("7.2").when(platformProperties).getPlatformVersion();
+        doReturn(true).when(loggerStrategy).isLoggable(ACTION, SQueriableLogSeverity.INTERNAL);
+        doReturn(TENANT_ID).when(sessionAccessor).getTenantId();
+        logService = createLogService(3, 0);
+    }
+
+    private BatchQueriableLoggerServiceImpl createLogService(final int maxBufferSize, final int retentionInDays) {
+        return new BatchQueriableLoggerServiceImpl(persistenceService, loggerStrategy, sessionProvider, logger, platformService, transactionService,
+                sessionAccessor, maxBufferSize, retentionInDays);
+    }
+
+    private SQueriableLog createLog() {
+        final SQueriableLogImpl log = new SQueriableLogImpl();
+        log.setActionType(ACTION);
+        log.setSeverity(SQueriableLogSeverity.INTERNAL);
+        log.setActionScope("scope");
+        log.setActionStatus(SQueriableLog.STATUS_OK);
+        log.setRawMessage("message");
+        return log;
+    }
+
+    private QueriableLogBuffer getRegisteredBuffer() throws Exception {
+        final ArgumentCaptor<QueriableLogBuffer> captor = ArgumentCaptor.forClass(QueriableLogBuffer.class);
+        verify(transactionService).registerBeforeCommitCallable(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void log_should_keep_logs_in_memory_until_commit() throws Exception {
+        final SQueriableLog log1 = createLog();
+        final SQueriableLog log2 = createLog();
+
+        logService.log("class", "method", log1);
+        logService.log("class", "method", log2);
+
+        verify(persistenceService, never()).insertInBatch(anyListOf(PersistentObject.class));
+        getRegisteredBuffer().call();
+        verify(persistenceService).insertInBatch(Arrays.<PersistentObject> asList(log1, log2));
+    }
+
+    @Test
+    public void log_should_register_buffer_once_per_transaction() throws Exception {
+        logService.log("class", "method", createLog());
+        logService.log("class", "method", createLog());
+
+        verify(transactionService, times(1)).registerBeforeCommitCallable(any(QueriableLogBuffer.class));
+        verify(transactionService, times(1)).registerBonitaSynchronization(any(QueriableLogBuffer.class));
+    }
+
+    @Test
+    public void log_should_flush_when_buffer_is_full() throws Exception {
+        final SQueriableLog log1 = createLog();
+        final SQueriableLog log2 = createLog();
+        final SQueriableLog log3 = createLog();
+
+        logService.log("class", "method", log1, log2, log3);
+
+        verify(persistenceService).insertInBatch(Arrays.<PersistentObject> asList(log1, log2, log3));
+        assertThat(getRegisteredBuffer().size()).isEqualTo(0);
+    }
+
+    @Test
+    public void log_should_insert_directly_when_not_in_a_transaction() throws Exception {
+        doThrow(STransactionNotFoundException.class).when(transactionService).registerBonitaSynchronization(any(QueriableLogBuffer.class));
+        final SQueriableLog log = createLog();
+
+        logService.log("class", "method", log);
+
+        verify(persistenceService).insertInBatch(Collections.<PersistentObject> singletonList(log));
+    }
+
+    @Test
+    public void searchLogs_should_flush_pending_logs_first() throws Exception {
+        final SQueriableLog log = createLog();
+        logService.log("class", "method", log);
+
+        logService.searchLogs(null);
+
+        verify(persistenceService).insertInBatch(Collections.<PersistentObject> singletonList(log));
+    }
+
+    @Test
+    public void afterCompletion_should_forget_the_buffer_of_the_transaction() throws Exception {
+        logService.log("class", "method", createLog());
+        getRegisteredBuffer().afterCompletion(TransactionState.ROLLEDBACK);
+
+        logService.log("class", "method", createLog());
+
+        verify(transactionService, times(2)).registerBeforeCommitCallable(any(QueriableLogBuffer.class));
+    }
+
+    @Test
+    public void purgeExpiredLogs_should_delete_a_batch_of_logs_older_than_retention() throws Exception {
+        logService = createLogService(3, 7);
+        final long now = 100 * BatchQueriableLoggerServiceImpl.ONE_DAY + 5000;
+        final List<Long> logIds = Arrays.asList(5L, 6L);
+        doReturn(logIds).when(persistenceService).selectList(Matchers.<SelectListDescriptor<Long>> any());
+        doReturn(2).when(persistenceService).update(eq("deleteQueriableLogs"), anyMapOf(String.class, Object.class));
+
+        final int deleted = logService.purgeExpiredLogs(now, 2);
+
+        final ArgumentCaptor<SelectListDescriptor> selectCaptor = ArgumentCaptor.forClass(SelectListDescriptor.class);
+        verify(persistenceService).selectList(selectCaptor.capture());
+        assertThat(selectCaptor.getValue().getQueryName()).isEqualTo("getQueriableLogIdsOlderThan");
+        assertThat(selectCaptor.getValue().getInputParameters()).containsEntry("timestamp", 93 * BatchQueriableLoggerServiceImpl.ONE_DAY + 5000);
+        assertThat(selectCaptor.getValue().getQueryOptions().getNumberOfResults()).isEqualTo(2);
+        final Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("tenantId", TENANT_ID);
+        parameters.put("ids", logIds);
+        verify(persistenceService).update("deleteQueriableLogParametersOfLogs", parameters);
+        verify(persistenceService).update("deleteQueriableLogs", parameters);
+        assertThat(deleted).isEqualTo(2);
+    }
+
+    @Test
+    public void purgeExpiredLogs_should_not_delete_when_no_log_is_expired() throws Exception {
+        logService = createLogService(3, 7);
+        doReturn(Collections.emptyList()).when(persistenceService).selectList(Matchers.<SelectListDescriptor<Long>> any());
+
+        final int deleted = logService.purgeExpiredLogs(100);
+
+        verify(persistenceService, never()).update(anyString(), anyMapOf(String.class, Object.class));
+        assertThat(deleted).isEqualTo(0);
+    }
+
+    @Test
+    public void purgeExpiredLogs_should_do_nothing_without_retention() throws Exception {
+        final int deleted = logService.purgeExpiredLogs(100);
+
+        verify(persistenceService, never()).selectList(Matchers.<SelectListDescriptor<Long>> any());
+        verify(persistenceService, never()).update(anyString(), anyMapOf(String.class, Object.class));
+        assertThat(deleted).isEqualTo(0);
+    }
+
+    @Test(expected = SQueriableLogException.class)
+    public void purgeExpiredLogs_should_throw_exception_when_delete_fails() throws Exception {
+        logService = createLogService(3, 7);
+        doReturn(Arrays.asList(5L)).when(persistenceService).selectList(Matchers.<SelectListDescriptor<Long>> any());
+        doThrow(SPersistenceException.class).when(persistenceService).update(eq("deleteQueriableLogs"), anyMapOf(String.class, Object.class));
+
+        logService.purgeExpiredLogs(100);
+    }
+
+}
@@ -17,6 +17,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
@@ -106,4 +108,15 @@ public class QueriableLogUpdaterTest {
         assertThat(finalLog.getRawMessage()).hasSize(255);
     }
 
+    @Test
+    public void buildFinalLog_should_read_platform_version_only_once() {
+        //when
+        updater.buildFinalLog("class", "method", log);
+        final SQueriableLog finalLog = updater.buildFinalLog("class", "method", getLogBuilderWithMandatoryFields());
+
+        //then
+        assertThat(finalLog.getProductVersion()).isEqualTo("platform.version");
+        verify(platformService, times(1)).getSPlatformProperties();
+    }
+
 }
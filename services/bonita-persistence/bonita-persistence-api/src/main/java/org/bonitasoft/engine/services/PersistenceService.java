@@ -20,6 +20,7 @@ import java.util.Map;
 import org.bonitasoft.engine.persistence.FilterOption;
 import org.bonitasoft.engine.persistence.PersistentObject;
 import org.bonitasoft.engine.persistence.ReadPersistenceService;
+import org.bonitasoft.engine.persistence.SBonitaReadException;
 
 /**
  * @author Charles Souillard
@@ -102,6 +103,19 @@ public interface PersistenceService extends ReadPersistenceService {
      */
     void deleteByTenant(Class<? extends PersistentObject> entityClass, List<FilterOption> filters) throws SPersistenceException;
 
+    /**
+     * Get all elements of a specific table matching the filters for a specific tenant, i.e. the elements {@link #deleteByTenant(Class, List)} would delete
+     *
+     * @param entityClass
+     *        Entity class corresponding to the table
+     * @param filters
+     *        Filters
+     * @return the matching elements
+     * @throws SBonitaReadException
+     * @since 7.2
+     */
+    <T extends PersistentObject> List<T> selectByTenant(Class<T> entityClass, List<FilterOption> filters) throws SBonitaReadException;
+
     /**
      * @param desc
      * @throws SPersistenceException
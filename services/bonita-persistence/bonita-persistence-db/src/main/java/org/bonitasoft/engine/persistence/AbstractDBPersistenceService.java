@@ -138,9 +138,24 @@ public abstract class AbstractDBPersistenceService implements TenantPersistenceS
         final String queryName = getQueryName("getNumberOf", querySuffix, entityClass, filters);
 
         final SelectListDescriptor<Long> descriptor = new SelectListDescriptor<Long>(queryName, parameters, entityClass, Long.class, options);
+        if (options != null && options.getCountLimit() != QueryOptions.UNLIMITED_NUMBER_OF_RESULTS) {
+            return getNumberOfEntitiesUpTo(descriptor, options.getCountLimit());
+        }
         return selectList(descriptor).get(0);
     }
 
+    /**
+     * Count the entities selected by a count query, only up to countLimit. Implementations able to stop counting at the limit should override it, this
+     * one counts all of them.
+     *
+     * @param countDescriptor
+     *        the descriptor of the count query
+     * @return the number of entities, countLimit at most
+     */
+    protected long getNumberOfEntitiesUpTo(final SelectListDescriptor<Long> countDescriptor, final int countLimit) throws SBonitaReadException {
+        return Math.min(selectList(countDescriptor).get(0), countLimit);
+    }
+
     @Override
     public <T extends PersistentObject> List<T> searchEntity(final Class<T> entityClass, final QueryOptions options, final Map<String, Object> parameters)
             throws SBonitaReadException {
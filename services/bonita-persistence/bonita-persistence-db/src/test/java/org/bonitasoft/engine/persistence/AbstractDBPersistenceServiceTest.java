@@ -87,6 +87,11 @@ public class AbstractDBPersistenceServiceTest {
 
         }
 
+        @Override
+        public <T extends PersistentObject> List<T> selectByTenant(final Class<T> entityClass, final List<FilterOption> filters) throws SBonitaReadException {
+            return null;
+        }
+
         @Override
         public void deleteAll(final Class<? extends PersistentObject> entityClass) throws SPersistenceException {
 
@@ -27,6 +27,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.sql.DataSource;
 
 import org.bonitasoft.engine.commons.ClassReflector;
@@ -61,6 +63,12 @@ import org.hibernate.stat.Statistics;
  */
 public abstract class AbstractHibernatePersistenceService extends AbstractDBPersistenceService {
 
+    /**
+     * e.g. SELECT COUNT(DISTINCT p) or SELECT COUNT(p.id): the DISTINCT keyword and the alias of the counted entity are captured
+     */
+    private static final Pattern COUNT_SELECT = Pattern.compile("\\s*SELECT\\s+COUNT\\s*\\(\\s*(DISTINCT\\s+)?(\\w+)(\\.id)?\\s*\\)",
+            Pattern.CASE_INSENSITIVE);
+
     private final SessionFactory sessionFactory;
 
     private final OrderByCheckingMode orderByCheckingMode;
@@ -304,15 +312,24 @@ public abstract class AbstractHibernatePersistenceService extends AbstractDBPers
         }
     }
 
+    /**
+     * Inserts of the same entity are sent in one JDBC batch of <code>hibernate.jdbc.batch_size</code> statements, interleaved entities being regrouped
+     * by <code>hibernate.order_inserts</code>.
+     */
     @Override
     public void insertInBatch(final List<PersistentObject> entities) throws SPersistenceException {
         if (!entities.isEmpty()) {
             final Session session = getSession(true);
-            for (final PersistentObject entity : entities) {
-                final Class<? extends PersistentObject> entityClass = entity.getClass();
-                checkClassMapping(entityClass);
-                setId(entity);
-                session.save(entity);
+            try {
+                for (final PersistentObject entity : entities) {
+                    checkClassMapping(entity.getClass());
+                    setId(entity);
+                    session.save(entity);
+                }
+            } catch (final AssertionFailure | LockAcquisitionException | StaleStateException e) {
+                throw new SRetryableException(e);
+            } catch (final HibernateException he) {
+                throw new SPersistenceException(he);
             }
         }
     }
@@ -423,6 +440,28 @@ public abstract class AbstractHibernatePersistenceService extends AbstractDBPers
         }
     }
 
+    /**
+     * Select the entities of the given class matching the filters. The session filters the entities of the current tenant, if any.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends PersistentObject> List<T> selectByTenant(final Class<T> entityClass, final List<FilterOption> filters) throws SBonitaReadException {
+        try {
+            final Session session = getSession(true);
+            final String entityClassName = entityClass.getCanonicalName();
+            final String alias = getClassAliasMappings().get(entityClassName);
+            String queryString = "SELECT " + alias + " FROM " + entityClassName + " " + alias;
+            if (filters != null && !filters.isEmpty()) {
+                queryString = getQueryWithFilters(queryString, filters, null, isWordSearchEnabled(entityClass));
+            }
+            return session.createQuery(queryString).list();
+        } catch (final AssertionFailure | LockAcquisitionException | StaleStateException e) {
+            throw new SRetryableException(e);
+        } catch (final SPersistenceException | HibernateException e) {
+            throw new SBonitaReadException(e);
+        }
+    }
+
     protected String getQueryWithFilters(final String query, final List<FilterOption> filters, final SearchFields multipleFilter, final boolean enableWordSearch) {
         final StringBuilder builder = new StringBuilder(query);
         final Set<String> specificFilters = new HashSet<String>(filters.size());
@@ -721,6 +760,49 @@ public abstract class AbstractHibernatePersistenceService extends AbstractDBPers
         }
     }
 
+    /**
+     * Select the ids of the counted entities, at most countLimit of them, instead of counting all the matching entities. Count queries that do not
+     * count an entity alias, e.g. COUNT(*), are executed as they are.
+     */
+    @Override
+    protected long getNumberOfEntitiesUpTo(final SelectListDescriptor<Long> countDescriptor, final int countLimit) throws SBonitaReadException {
+        try {
+            checkClassMapping(countDescriptor.getEntityType());
+
+            final Session session = getSession(true);
+            String builtQuery = session.getNamedQuery(countDescriptor.getQueryName()).getQueryString();
+            if (countDescriptor.hasAFilter()) {
+                final QueryOptions queryOptions = countDescriptor.getQueryOptions();
+                final boolean enableWordSearch = isWordSearchEnabled(countDescriptor.getEntityType());
+                builtQuery = getQueryWithFilters(builtQuery, queryOptions.getFilters(), queryOptions.getMultipleFilter(), enableWordSearch);
+            }
+            final String idsQuery = getCountedIdsQuery(builtQuery);
+            if (idsQuery == null) {
+                return super.getNumberOfEntitiesUpTo(countDescriptor, countLimit);
+            }
+            final Query query = session.createQuery(idsQuery);
+            setParameters(query, countDescriptor.getInputParameters());
+            query.setMaxResults(countLimit);
+            return query.list().size();
+        } catch (final AssertionFailure | LockAcquisitionException | StaleStateException e) {
+            throw new SRetryableException(e);
+        } catch (final HibernateException | SPersistenceException e) {
+            throw new SBonitaReadException(e, countDescriptor);
+        }
+    }
+
+    /**
+     * @return the query selecting the ids of the entities counted by the given count query, null if it does not count an entity alias
+     */
+    static String getCountedIdsQuery(final String countQuery) {
+        final Matcher matcher = COUNT_SELECT.matcher(countQuery);
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+        final String distinct = matcher.group(1) == null ? "" : "DISTINCT ";
+        return "SELECT " + distinct + matcher.group(2) + ".id" + countQuery.substring(matcher.end());
+    }
+
     private void checkOrderByClause(final Query query) {
         if (!query.getQueryString().toLowerCase().contains("order by")) {
             switch (orderByCheckingMode) {
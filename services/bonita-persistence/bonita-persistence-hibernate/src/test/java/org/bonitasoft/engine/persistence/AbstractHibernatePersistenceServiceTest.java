@@ -18,9 +18,19 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 
+import java.util.Arrays;
+
+import org.bonitasoft.engine.persistence.model.impl.BlobValueImpl;
+import org.bonitasoft.engine.services.SPersistenceException;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -31,6 +41,9 @@ public class AbstractHibernatePersistenceServiceTest {
     @Mock
     private AbstractHibernatePersistenceService persistenceService;
 
+    @Mock
+    private Session session;
+
     @Test
     public void should_getQueryFilters_append_OR_clause_when_wordSearch_is_enabled() {
         // We can't call the constructor as Hibernate currently tries to instantiate a Connection
@@ -73,4 +86,60 @@ public class AbstractHibernatePersistenceServiceTest {
 
         assertThat(s).isEqualTo("%to''to%t_oto%");
     }
+
+    @Test
+    public void insertInBatch_should_save_entities_in_order() throws Exception {
+        final Book book1 = new Book();
+        final BlobValueImpl blob1 = new BlobValueImpl();
+        blob1.setId(1L);
+        final Book book2 = new Book();
+        final BlobValueImpl blob2 = new BlobValueImpl();
+        blob2.setId(2L);
+        mockInsertInBatch();
+
+        persistenceService.insertInBatch(Arrays.<PersistentObject> asList(book1, blob1, book2, blob2));
+
+        final InOrder inOrder = inOrder(session);
+        inOrder.verify(session).save(book1);
+        inOrder.verify(session).save(blob1);
+        inOrder.verify(session).save(book2);
+        inOrder.verify(session).save(blob2);
+    }
+
+    @Test(expected = SRetryableException.class)
+    public void insertInBatch_should_throw_retryable_exception_on_stale_state() throws Exception {
+        final Book book = new Book();
+        mockInsertInBatch();
+        doThrow(new StaleStateException("stale")).when(session).save(book);
+
+        persistenceService.insertInBatch(Arrays.<PersistentObject> asList(book));
+    }
+
+    @Test(expected = SPersistenceException.class)
+    public void insertInBatch_should_wrap_hibernate_exception() throws Exception {
+        final Book book = new Book();
+        mockInsertInBatch();
+        doThrow(new HibernateException("error")).when(session).save(book);
+
+        persistenceService.insertInBatch(Arrays.<PersistentObject> asList(book));
+    }
+
+    @Test
+    public void getCountedIdsQuery_should_select_the_ids_of_the_counted_entities() {
+        assertThat(AbstractHibernatePersistenceService.getCountedIdsQuery("SELECT COUNT(p) FROM SProcessInstanceImpl AS p WHERE p.name = :name"))
+                .isEqualTo("SELECT p.id FROM SProcessInstanceImpl AS p WHERE p.name = :name");
+        assertThat(AbstractHibernatePersistenceService.getCountedIdsQuery("\n\t\tSELECT count(DISTINCT pm.id) FROM SProcessSupervisorImpl AS pm"))
+                .isEqualTo("SELECT DISTINCT pm.id FROM SProcessSupervisorImpl AS pm");
+    }
+
+    @Test
+    public void getCountedIdsQuery_should_return_null_when_no_entity_alias_is_counted() {
+        assertThat(AbstractHibernatePersistenceService.getCountedIdsQuery("SELECT COUNT(*) FROM SProcessInstanceImpl AS p")).isNull();
+        assertThat(AbstractHibernatePersistenceService.getCountedIdsQuery("SELECT COUNT(p.rootProcessInstanceId) FROM SProcessInstanceImpl AS p")).isNull();
+    }
+
+    private void mockInsertInBatch() throws SPersistenceException {
+        doCallRealMethod().when(persistenceService).insertInBatch(Mockito.anyListOf(PersistentObject.class));
+        doReturn(session).when(persistenceService).getSession(true);
+    }
 }
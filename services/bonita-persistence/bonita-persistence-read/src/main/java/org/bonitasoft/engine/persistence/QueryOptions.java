@@ -37,6 +37,8 @@ public class QueryOptions implements Serializable {
 
     private final List<OrderByOption> orderByOptions;
 
+    private final int countLimit;
+
     public static final int UNLIMITED_NUMBER_OF_RESULTS = Integer.MAX_VALUE;
 
     private static final QueryOptions ALL_RESULTS_QUERY_OPTIONS = new QueryOptions(0, UNLIMITED_NUMBER_OF_RESULTS);
@@ -48,6 +50,7 @@ public class QueryOptions implements Serializable {
         orderByOptions = queryOptions.getOrderByOptions();
         filters = queryOptions.getFilters();
         multipleFilter = queryOptions.getMultipleFilter();
+        countLimit = queryOptions.getCountLimit();
     }
 
     /**
@@ -60,6 +63,7 @@ public class QueryOptions implements Serializable {
         orderByOptions = Collections.emptyList();
         filters = Collections.emptyList();
         multipleFilter = null;
+        countLimit = UNLIMITED_NUMBER_OF_RESULTS;
     }
 
     public QueryOptions(final int fromIndex, final int numberOfResults, final List<OrderByOption> orderByOptions) {
@@ -69,6 +73,7 @@ public class QueryOptions implements Serializable {
         this.orderByOptions = orderByOptions;
         filters = Collections.emptyList();
         multipleFilter = null;
+        countLimit = UNLIMITED_NUMBER_OF_RESULTS;
     }
 
     public QueryOptions(final int fromIndex, final int numberOfResults, final List<OrderByOption> orderByOptions, final List<FilterOption> filters,
@@ -79,13 +84,27 @@ public class QueryOptions implements Serializable {
         this.orderByOptions = orderByOptions;
         this.filters = filters;
         this.multipleFilter = multipleFilter;
+        countLimit = UNLIMITED_NUMBER_OF_RESULTS;
     }
 
     /**
      * Just for get number of elements on a table
      */
     public QueryOptions(final List<FilterOption> filters, final SearchFields multipleFilter) {
-        this(0, UNLIMITED_NUMBER_OF_RESULTS, Collections.<OrderByOption> emptyList(), filters, multipleFilter);
+        this(filters, multipleFilter, UNLIMITED_NUMBER_OF_RESULTS);
+    }
+
+    /**
+     * Just for get number of elements on a table, counting them only up to countLimit
+     */
+    public QueryOptions(final List<FilterOption> filters, final SearchFields multipleFilter, final int countLimit) {
+        super();
+        fromIndex = 0;
+        numberOfResults = UNLIMITED_NUMBER_OF_RESULTS;
+        orderByOptions = Collections.emptyList();
+        this.filters = filters;
+        this.multipleFilter = multipleFilter;
+        this.countLimit = countLimit;
     }
 
     public QueryOptions(final int fromIndex, final int numberOfResults, final Class<? extends PersistentObject> clazz, final String fieldName,
@@ -101,6 +120,7 @@ public class QueryOptions implements Serializable {
         }
         filters = Collections.emptyList();
         multipleFilter = null;
+        countLimit = UNLIMITED_NUMBER_OF_RESULTS;
     }
 
     @Deprecated
@@ -111,6 +131,7 @@ public class QueryOptions implements Serializable {
         this.orderByOptions = orderByOptions;
         filters = Collections.emptyList();
         multipleFilter = null;
+        countLimit = UNLIMITED_NUMBER_OF_RESULTS;
     }
 
     @Deprecated
@@ -122,6 +143,7 @@ public class QueryOptions implements Serializable {
         orderByOptions.add(new OrderByOption(clazz, fieldName, orderByType));
         filters = Collections.emptyList();
         multipleFilter = null;
+        countLimit = UNLIMITED_NUMBER_OF_RESULTS;
     }
 
     public int getFromIndex() {
@@ -144,6 +166,13 @@ public class QueryOptions implements Serializable {
         return orderByOptions;
     }
 
+    /**
+     * @return the number of elements up to which a count query counts, {@link #UNLIMITED_NUMBER_OF_RESULTS} to count them all
+     */
+    public int getCountLimit() {
+        return countLimit;
+    }
+
     public boolean hasOrderByOptions() {
         return orderByOptions != null && !orderByOptions.isEmpty();
     }
@@ -195,6 +224,9 @@ public class QueryOptions implements Serializable {
         if (orderByOptions != null ? !orderByOptions.equals(that.orderByOptions) : that.orderByOptions != null) {
             return false;
         }
+        if (countLimit != that.countLimit) {
+            return false;
+        }
 
         return true;
     }
@@ -206,6 +238,7 @@ public class QueryOptions implements Serializable {
         result = 31 * result + (filters != null ? filters.hashCode() : 0);
         result = 31 * result + (multipleFilter != null ? multipleFilter.hashCode() : 0);
         result = 31 * result + (orderByOptions != null ? orderByOptions.hashCode() : 0);
+        result = 31 * result + countLimit;
         return result;
     }
 }
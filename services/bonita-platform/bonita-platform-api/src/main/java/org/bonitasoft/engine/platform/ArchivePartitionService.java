@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.platform;
+
+import java.util.List;
+
+import org.bonitasoft.engine.platform.exception.SArchivePartitionException;
+import org.bonitasoft.engine.platform.exception.SPlatformCreationException;
+import org.bonitasoft.engine.platform.exception.SPlatformDeletionException;
+
+/**
+ * Manages the range partitioning by archive month of the biggest archive tables: arch_process_instance, arch_flownode_instance,
+ * arch_connector_instance and arch_data_instance.
+ * <p>
+ * Partitioning is optional and must be chosen when the platform is created. When it is enabled, the partitions of the coming months are created ahead
+ * and the archives past the retention period are removed by dropping their whole partition instead of deleting rows.
+ * <p>
+ * The other archive tables (documents, comments, contract data...) are not partitioned: before a partition is dropped, each tenant purges the
+ * archived process instance trees whose root ended before the {@link #getExpirationDate(long) expiration date}, so that dropping the partition
+ * leaves no orphan row behind. A partition that still holds such a root process instance is kept.
+ * <p>
+ * The partitions are shared by all the tenants and nodes of the platform: they are maintained by one of them at a time.
+ *
+ * @since 7.2
+ */
+public interface ArchivePartitionService {
+
+    /**
+     * @return true if the archive tables are partitioned by archive month
+     */
+    boolean isEnabled();
+
+    /**
+     * Turn the freshly created archive tables into partitioned tables. Does nothing when partitioning is not enabled.
+     *
+     * @throws SPlatformCreationException
+     */
+    void partitionArchiveTables() throws SPlatformCreationException;
+
+    /**
+     * Remove what {@link #partitionArchiveTables()} added to the structure, before the tables are dropped. Does nothing when partitioning is not
+     * enabled.
+     *
+     * @throws SPlatformDeletionException
+     */
+    void unpartitionArchiveTables() throws SPlatformDeletionException;
+
+    /**
+     * @param now
+     *        the current date, in milliseconds
+     * @return the archive date before which the archives are expired, in milliseconds, or -1 when they are kept forever
+     */
+    long getExpirationDate(long now);
+
+    /**
+     * Create the partitions of the month of the given date and of the following months, if they do not exist yet. When a partition cannot be
+     * created, the following ones are still created and the first failure is thrown.
+     *
+     * @param now
+     *        the current date, in milliseconds
+     * @return the names of the created partitions
+     * @throws SArchivePartitionException
+     */
+    List<String> createMissingPartitions(long now) throws SArchivePartitionException;
+
+    /**
+     * Drop the partitions of the months that are entirely older than the retention period and that hold no more archived root process instance to
+     * purge. When a partition cannot be dropped, the following ones are still dropped and the first failure is thrown.
+     *
+     * @param now
+     *        the current date, in milliseconds
+     * @return the names of the dropped partitions
+     * @throws SArchivePartitionException
+     */
+    List<String> dropExpiredPartitions(long now) throws SArchivePartitionException;
+
+    /**
+     * Create the missing partitions and drop the expired ones, see {@link #createMissingPartitions(long)} and {@link #dropExpiredPartitions(long)}.
+     * The partitions are all maintained even when one of them fails.
+     *
+     * @param now
+     *        the current date, in milliseconds
+     * @throws SArchivePartitionException
+     *         the first failure, the others are logged
+     */
+    void maintainPartitions(long now) throws SArchivePartitionException;
+
+}
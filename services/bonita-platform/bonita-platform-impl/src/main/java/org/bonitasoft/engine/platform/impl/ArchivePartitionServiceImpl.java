@@ -0,0 +1,416 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.platform.impl;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import javax.sql.DataSource;
+
+import org.bonitasoft.engine.commons.PlatformLifecycleService;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.platform.ArchivePartitionService;
+import org.bonitasoft.engine.platform.exception.SArchivePartitionException;
+import org.bonitasoft.engine.platform.exception.SPlatformCreationException;
+import org.bonitasoft.engine.platform.exception.SPlatformDeletionException;
+
+/**
+ * Partitions are named after their month, e.g. p201510 for October 2015, and months are computed in UTC like the archive dates.
+ * The partitions that exist are recorded in the arch_partition table. The SQL of each database vendor is in partitionArchiveTables.sql,
+ * createArchivePartition.sql, dropArchivePartition.sql and unpartitionArchiveTables.sql, H2 only emulates partitions.
+ * <p>
+ * Partitions are maintained when the node starts, and then periodically by a scheduled job of each tenant. A partition that cannot be created or
+ * dropped does not prevent the others from being maintained, it is tried again the next time.
+ * <p>
+ * Nodes and tenants are serialized by a lease on the single row of the arch_partition_lock table: it is taken with a conditional update before the
+ * partitions are read and given back once they are maintained, and it expires by itself if its holder dies. Whoever does not get it leaves the
+ * partitions to the current holder. The scripts can also be executed again for a partition that already exists or is already dropped.
+ */
+public class ArchivePartitionServiceImpl implements ArchivePartitionService, PlatformLifecycleService {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    // far longer than creating or dropping the partitions, which only moves the rows of the default partition
+    private static final long LOCK_LEASE_IN_MS = 60 * 60 * 1000L;
+
+    private final DataSource datasource;
+
+    private final SQLScriptExecutor sqlScriptExecutor;
+
+    private final TechnicalLoggerService logger;
+
+    private final boolean enabled;
+
+    private final int monthsAhead;
+
+    private final int retentionInMonths;
+
+    /**
+     * @param monthsAhead
+     *        number of months after the current one to create a partition for
+     * @param retentionInMonths
+     *        number of entire months, before the current one, to keep the archives of. 0 keeps them forever.
+     */
+    public ArchivePartitionServiceImpl(final DataSource datasource, final SQLScriptExecutor sqlScriptExecutor, final TechnicalLoggerService logger,
+            final boolean enabled, final int monthsAhead, final int retentionInMonths) {
+        this.datasource = datasource;
+        this.sqlScriptExecutor = sqlScriptExecutor;
+        this.logger = logger;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionInMonths = retentionInMonths;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void partitionArchiveTables() throws SPlatformCreationException {
+        if (!enabled) {
+            return;
+        }
+        try {
+            sqlScriptExecutor.execute("partitionArchiveTables.sql", Collections.<String, String> emptyMap());
+        } catch (final IOException | SQLException e) {
+            throw new SPlatformCreationException(e);
+        }
+    }
+
+    @Override
+    public void unpartitionArchiveTables() throws SPlatformDeletionException {
+        if (!enabled) {
+            return;
+        }
+        try {
+            sqlScriptExecutor.execute("unpartitionArchiveTables.sql", Collections.<String, String> emptyMap());
+        } catch (final IOException | SQLException e) {
+            throw new SPlatformDeletionException(e);
+        }
+    }
+
+    @Override
+    public long getExpirationDate(final long now) {
+        if (!enabled || retentionInMonths <= 0) {
+            return -1;
+        }
+        return getPartitionOfMonth(now, -retentionInMonths).fromDate;
+    }
+
+    @Override
+    public List<String> createMissingPartitions(final long now) throws SArchivePartitionException {
+        if (!enabled) {
+            return Collections.emptyList();
+        }
+        final long lockedUntil = acquireLock(now);
+        if (lockedUntil < 0) {
+            return Collections.emptyList();
+        }
+        try {
+            return createMissingPartitions(now, getPartitions());
+        } finally {
+            releaseLock(lockedUntil);
+        }
+    }
+
+    private List<String> createMissingPartitions(final long now, final List<ArchivePartition> partitions) throws SArchivePartitionException {
+        final Set<String> existing = new HashSet<String>();
+        for (final ArchivePartition partition : partitions) {
+            existing.add(partition.name);
+        }
+        final List<String> created = new ArrayList<String>();
+        final List<SArchivePartitionException> failures = new ArrayList<SArchivePartitionException>();
+        for (int month = 0; month <= monthsAhead; month++) {
+            final ArchivePartition partition = getPartitionOfMonth(now, month);
+            if (!existing.contains(partition.name)) {
+                try {
+                    execute("createArchivePartition.sql", partition);
+                    created.add(partition.name);
+                } catch (final SArchivePartitionException e) {
+                    failures.add(e);
+                }
+            }
+        }
+        if (!created.isEmpty()) {
+            logger.log(getClass(), TechnicalLogSeverity.INFO, "Created archive partitions " + created);
+        }
+        throwIfFailed(failures);
+        return created;
+    }
+
+    @Override
+    public List<String> dropExpiredPartitions(final long now) throws SArchivePartitionException {
+        final long expirationDate = getExpirationDate(now);
+        if (expirationDate < 0) {
+            return Collections.emptyList();
+        }
+        final long lockedUntil = acquireLock(now);
+        if (lockedUntil < 0) {
+            return Collections.emptyList();
+        }
+        try {
+            return dropExpiredPartitions(expirationDate, getPartitions());
+        } finally {
+            releaseLock(lockedUntil);
+        }
+    }
+
+    private List<String> dropExpiredPartitions(final long expirationDate, final List<ArchivePartition> partitions) throws SArchivePartitionException {
+        final List<String> dropped = new ArrayList<String>();
+        final List<String> kept = new ArrayList<String>();
+        final List<SArchivePartitionException> failures = new ArrayList<SArchivePartitionException>();
+        for (final ArchivePartition partition : partitions) {
+            if (partition.toDate <= expirationDate) {
+                if (hasRootProcessInstancesToPurge(partition)) {
+                    kept.add(partition.name);
+                    continue;
+                }
+                try {
+                    execute("dropArchivePartition.sql", partition);
+                    dropped.add(partition.name);
+                } catch (final SArchivePartitionException e) {
+                    failures.add(e);
+                }
+            }
+        }
+        if (!dropped.isEmpty()) {
+            logger.log(getClass(), TechnicalLogSeverity.INFO, "Dropped expired archive partitions " + dropped);
+        }
+        if (!kept.isEmpty()) {
+            logger.log(getClass(), TechnicalLogSeverity.INFO, "Expired archive partitions " + kept
+                    + " are kept until the archived process instances that ended in them are purged by every tenant");
+        }
+        throwIfFailed(failures);
+        return dropped;
+    }
+
+    @Override
+    public void maintainPartitions(final long now) throws SArchivePartitionException {
+        SArchivePartitionException failure = null;
+        try {
+            createMissingPartitions(now);
+        } catch (final SArchivePartitionException e) {
+            failure = e;
+        }
+        try {
+            dropExpiredPartitions(now);
+        } catch (final SArchivePartitionException e) {
+            if (failure == null) {
+                throw e;
+            }
+            logger.log(getClass(), TechnicalLogSeverity.WARNING, e.getMessage(), e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Log all the failures but the first one, which is thrown.
+     */
+    private void throwIfFailed(final List<SArchivePartitionException> failures) throws SArchivePartitionException {
+        if (failures.isEmpty()) {
+            return;
+        }
+        for (final SArchivePartitionException failure : failures.subList(1, failures.size())) {
+            logger.log(getClass(), TechnicalLogSeverity.WARNING, failure.getMessage(), failure);
+        }
+        throw failures.get(0);
+    }
+
+    static ArchivePartition getPartitionOfMonth(final long date, final int monthOffset) {
+        final Calendar calendar = Calendar.getInstance(UTC);
+        calendar.setTimeInMillis(date);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.add(Calendar.MONTH, monthOffset);
+        final String name = String.format("p%04d%02d", calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1);
+        final long fromDate = calendar.getTimeInMillis();
+        calendar.add(Calendar.MONTH, 1);
+        return new ArchivePartition(name, fromDate, calendar.getTimeInMillis());
+    }
+
+    private void execute(final String sqlFile, final ArchivePartition partition) throws SArchivePartitionException {
+        final Map<String, String> replacements = new HashMap<String, String>(3);
+        replacements.put("\\$\\{partition\\}", partition.name);
+        replacements.put("\\$\\{fromDate\\}", Long.toString(partition.fromDate));
+        replacements.put("\\$\\{toDate\\}", Long.toString(partition.toDate));
+        try {
+            sqlScriptExecutor.execute(sqlFile, replacements);
+        } catch (final IOException | SQLException e) {
+            throw new SArchivePartitionException("Unable to execute " + sqlFile + " for the archive partition " + partition.name, e);
+        }
+    }
+
+    /**
+     * A root process instance archived in a final state in the partition, or in an older one, has not been purged yet: its comments, documents and
+     * contract data would be left behind by the drop.
+     */
+    boolean hasRootProcessInstancesToPurge(final ArchivePartition partition) throws SArchivePartitionException {
+        try {
+            final Connection connection = datasource.getConnection();
+            try {
+                final PreparedStatement statement = connection.prepareStatement("SELECT sourceObjectId FROM arch_process_instance"
+                        + " WHERE callerId = -1 AND stateId IN (6, 7, 3, 4) AND archiveDate < ?");
+                try {
+                    statement.setMaxRows(1);
+                    statement.setLong(1, partition.toDate);
+                    final ResultSet resultSet = statement.executeQuery();
+                    return resultSet.next();
+                } finally {
+                    statement.close();
+                }
+            } finally {
+                connection.close();
+            }
+        } catch (final SQLException e) {
+            throw new SArchivePartitionException("Unable to check the archived process instances of the archive partition " + partition.name, e);
+        }
+    }
+
+    /**
+     * @return the date until which the lock is held by the caller, to give to {@link #releaseLock(long)}, or -1 when someone else holds it
+     */
+    long acquireLock(final long now) throws SArchivePartitionException {
+        final long lockedUntil = now + LOCK_LEASE_IN_MS;
+        final int updated;
+        try {
+            updated = updateLock("UPDATE arch_partition_lock SET lockedUntil = ? WHERE id = 1 AND lockedUntil < ?", lockedUntil, now);
+        } catch (final SQLException e) {
+            throw new SArchivePartitionException("Unable to lock the archive partitions", e);
+        }
+        if (updated == 0) {
+            if (logger.isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
+                logger.log(getClass(), TechnicalLogSeverity.DEBUG, "The archive partitions are being maintained by another node or tenant");
+            }
+            return -1;
+        }
+        return lockedUntil;
+    }
+
+    void releaseLock(final long lockedUntil) {
+        try {
+            updateLock("UPDATE arch_partition_lock SET lockedUntil = 0 WHERE id = 1 AND lockedUntil = ?", lockedUntil);
+        } catch (final SQLException e) {
+            logger.log(getClass(), TechnicalLogSeverity.WARNING, "Unable to unlock the archive partitions, the lock expires by itself", e);
+        }
+    }
+
+    private int updateLock(final String sql, final long... parameters) throws SQLException {
+        final Connection connection = datasource.getConnection();
+        try {
+            final PreparedStatement statement = connection.prepareStatement(sql);
+            try {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setLong(i + 1, parameters[i]);
+                }
+                final int updated = statement.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                return updated;
+            } finally {
+                statement.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * @return the existing partitions, oldest first
+     */
+    List<ArchivePartition> getPartitions() throws SArchivePartitionException {
+        final List<ArchivePartition> partitions = new ArrayList<ArchivePartition>();
+        try {
+            final Connection connection = datasource.getConnection();
+            try {
+                final Statement statement = connection.createStatement();
+                try {
+                    final ResultSet resultSet = statement.executeQuery("SELECT name, fromDate, toDate FROM arch_partition ORDER BY fromDate");
+                    while (resultSet.next()) {
+                        partitions.add(new ArchivePartition(resultSet.getString(1), resultSet.getLong(2), resultSet.getLong(3)));
+                    }
+                } finally {
+                    statement.close();
+                }
+            } finally {
+                connection.close();
+            }
+        } catch (final SQLException e) {
+            throw new SArchivePartitionException("Unable to read the archive partitions", e);
+        }
+        return partitions;
+    }
+
+    @Override
+    public void start() {
+        try {
+            maintainPartitions(System.currentTimeMillis());
+        } catch (final SArchivePartitionException e) {
+            // the scheduled job tries again later
+            logger.log(getClass(), TechnicalLogSeverity.WARNING, "Unable to maintain the archive partitions: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        // nothing to do
+    }
+
+    @Override
+    public void pause() {
+        // nothing to do
+    }
+
+    @Override
+    public void resume() {
+        // nothing to do
+    }
+
+    static final class ArchivePartition {
+
+        final String name;
+
+        final long fromDate;
+
+        final long toDate;
+
+        ArchivePartition(final String name, final long fromDate, final long toDate) {
+            this.name = name;
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+        }
+
+    }
+
+}
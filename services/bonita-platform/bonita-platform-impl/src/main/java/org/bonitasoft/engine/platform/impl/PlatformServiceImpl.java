@@ -16,13 +16,8 @@ package org.bonitasoft.engine.platform.impl;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.URL;
-import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -35,7 +30,6 @@ import org.bonitasoft.engine.cache.PlatformCacheService;
 import org.bonitasoft.engine.cache.SCacheException;
 import org.bonitasoft.engine.commons.CollectionUtil;
 import org.bonitasoft.engine.commons.LogUtil;
-import org.bonitasoft.engine.commons.io.IOUtil;
 import org.bonitasoft.engine.events.model.SInsertEvent;
 import org.bonitasoft.engine.events.model.SUpdateEvent;
 import org.bonitasoft.engine.events.model.builders.SEventBuilderFactory;
@@ -135,13 +129,9 @@ public class PlatformServiceImpl implements PlatformService {
 
     private final Recorder recorder;
 
-    private final DataSource datasource;
-
-    private final String statementDelimiter;
-
     private final PlatformRetriever platformRetriever;
 
-    private final List<String> sqlFolders;
+    private final SQLScriptExecutor sqlScriptExecutor;
 
     public PlatformServiceImpl(final PersistenceService platformPersistenceService, PlatformRetriever platformRetriever, final Recorder recorder,
                                final List<TenantPersistenceService> tenantPersistenceServices, final TechnicalLoggerService logger,
@@ -162,10 +152,8 @@ public class PlatformServiceImpl implements PlatformService {
         this.platformCacheService = platformCacheService;
         this.sPlatformProperties = sPlatformProperties;
         this.recorder = recorder;
-        this.datasource = datasource;
-        this.sqlFolders = sqlFolders;
-        this.statementDelimiter = statementDelimiter;
         this.platformRetriever = platformRetriever;
+        sqlScriptExecutor = new SQLScriptExecutor(datasource, sqlFolders, statementDelimiter, logger);
 
         isTraced = logger.isLoggable(this.getClass(), TechnicalLogSeverity.TRACE);
     }
@@ -200,121 +188,13 @@ public class PlatformServiceImpl implements PlatformService {
         }
     }
 
-    /**
-     * @param sqlFolder the folder to look in.
-     * @param sqlFile the name of the file to load.
-     * @return null if not found, the SQL text content in normal cases.
-     */
-    private String getSQLFileContent(final String sqlFolder, final String sqlFile) {
-        final String resourcePath = sqlFolder + "/" + sqlFile; // Must always be forward slash, even on Windows.
-        try {
-            final URL url = this.getClass().getResource(resourcePath);
-            if (url != null) {
-                final byte[] content = IOUtil.getAllContentFrom(url);
-                if (content != null) {
-                    return new String(content);
-                }
-            }
-            else {
-                // try to read from File():
-                final File sqlResource = new File(sqlFolder, sqlFile);
-                if (sqlResource.exists()) {
-                    return new String(IOUtil.getAllContentFrom(sqlResource));
-                }
-            }
-        } catch (final IOException e) {
-            // ignore, will return null
-        }
-        return null;
-    }
-
     /**
      * @param sqlFile
      * @throws IOException
-     * @throws SPersistenceException
+     * @throws SQLException
      */
     protected void executeSQLResource(final String sqlFile, final Map<String, String> replacements) throws IOException, SQLException {
-        for (final String sqlFolder : sqlFolders) {
-            final String fileContent = getSQLFileContent(sqlFolder, sqlFile);
-
-            final String path = sqlFolder + File.separator + sqlFile;
-            if (fileContent != null) {
-                if (logger.isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
-                    logger.log(getClass(), TechnicalLogSeverity.DEBUG, "Processing SQL resource : " + path);
-                }
-                final String regex = statementDelimiter.concat("\r?\n");
-                final List<String> commands = new ArrayList<>(asList(fileContent.split(regex)));
-                final int lastIndex = commands.size() - 1;
-
-                // TODO : Review the algo and see if we can avoid the array.
-                String lastCommand = commands.get(lastIndex);
-                final int index = lastCommand.lastIndexOf(statementDelimiter);
-                if (index > 0) {
-                    lastCommand = lastCommand.substring(0, index);
-                    commands.remove(lastIndex);
-                    commands.add(lastCommand);
-                }
-
-                doExecuteSQLThroughJDBC(commands, replacements);
-            }
-            else {
-                logger.log(getClass(), TechnicalLogSeverity.WARNING, "SQL resource file not found: " + path);
-            }
-        }
-    }
-
-    private void doExecuteSQLThroughJDBC(final List<String> commands, final Map<String, String> replacements) throws SQLException {
-        final Connection connection = getConnection();
-        connection.setAutoCommit(false);
-        try {
-            for (final String command : commands) {
-                if (command.trim().length() > 0) {
-                    final Statement stmt = connection.createStatement();
-                    String filledCommand = null;
-                    try {
-                        if (logger.isLoggable(getClass(), TechnicalLogSeverity.TRACE)) {
-                            logger.log(getClass(), TechnicalLogSeverity.TRACE, command);
-                        }
-                        filledCommand = fillTemplate(command, replacements);
-                        if (logger.isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
-                            logger.log(getClass(), TechnicalLogSeverity.DEBUG, "Executing the following command : " + filledCommand);
-                        }
-
-                        stmt.execute(filledCommand);
-                    } catch (final SQLException e) {
-                        // Just log the Failing command in case of ERROR:
-                        logger.log(getClass(), TechnicalLogSeverity.ERROR, "Following SQL command failed: " + filledCommand);
-                        throw e;
-                    } finally {
-                        stmt.close();
-                    }
-                }
-            }
-            connection.commit();
-        } catch (final SQLException sqe) {
-            connection.rollback();
-            throw sqe;
-        } finally {
-            connection.close();
-        }
-    }
-
-    private String fillTemplate(final String command, final Map<String, String> replacements) {
-        String trimmedCommand = command.trim();
-        if (trimmedCommand.isEmpty() || replacements == null) {
-            return trimmedCommand;
-        }
-
-        for (final Map.Entry<String, String> tableMapping : replacements.entrySet()) {
-            final String stringToReplace = tableMapping.getKey();
-            final String value = tableMapping.getValue();
-            trimmedCommand = trimmedCommand.replaceAll(stringToReplace, value);
-        }
-        return trimmedCommand;
-    }
-
-    private Connection getConnection() throws SQLException {
-        return datasource.getConnection();
+        sqlScriptExecutor.execute(sqlFile, replacements);
     }
 
     @Override
@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.platform.impl;
+
+import static java.util.Arrays.asList;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.bonitasoft.engine.commons.io.IOUtil;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+
+/**
+ * Executes the SQL resources of the platform (e.g. createTables.sql) through JDBC. Each file is looked up in every configured SQL folder, split on the
+ * statement delimiter and executed in a single JDBC transaction, after the given replacements are applied to each statement.
+ */
+public class SQLScriptExecutor {
+
+    private final DataSource datasource;
+
+    private final List<String> sqlFolders;
+
+    private final String statementDelimiter;
+
+    private final TechnicalLoggerService logger;
+
+    public SQLScriptExecutor(final DataSource datasource, final List<String> sqlFolders, final String statementDelimiter, final TechnicalLoggerService logger) {
+        this.datasource = datasource;
+        this.sqlFolders = sqlFolders;
+        this.statementDelimiter = statementDelimiter;
+        this.logger = logger;
+    }
+
+    /**
+     * @param sqlFile the name of the file to execute, looked up in every SQL folder
+     * @param replacements regular expressions to replace in each statement, with their replacement
+     */
+    public void execute(final String sqlFile, final Map<String, String> replacements) throws IOException, SQLException {
+        for (final String sqlFolder : sqlFolders) {
+            final String fileContent = getSQLFileContent(sqlFolder, sqlFile);
+
+            final String path = sqlFolder + File.separator + sqlFile;
+            if (fileContent != null) {
+                if (logger.isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
+                    logger.log(getClass(), TechnicalLogSeverity.DEBUG, "Processing SQL resource : " + path);
+                }
+                final String regex = statementDelimiter.concat("\r?\n");
+                final List<String> commands = new ArrayList<>(asList(fileContent.split(regex)));
+                final int lastIndex = commands.size() - 1;
+
+                // TODO : Review the algo and see if we can avoid the array.
+                String lastCommand = commands.get(lastIndex);
+                final int index = lastCommand.lastIndexOf(statementDelimiter);
+                if (index > 0) {
+                    lastCommand = lastCommand.substring(0, index);
+                    commands.remove(lastIndex);
+                    commands.add(lastCommand);
+                }
+
+                doExecuteSQLThroughJDBC(commands, replacements);
+            }
+            else {
+                logger.log(getClass(), TechnicalLogSeverity.WARNING, "SQL resource file not found: " + path);
+            }
+        }
+    }
+
+    /**
+     * @param sqlFolder the folder to look in.
+     * @param sqlFile the name of the file to load.
+     * @return null if not found, the SQL text content in normal cases.
+     */
+    private String getSQLFileContent(final String sqlFolder, final String sqlFile) {
+        final String resourcePath = sqlFolder + "/" + sqlFile; // Must always be forward slash, even on Windows.
+        try {
+            final URL url = this.getClass().getResource(resourcePath);
+            if (url != null) {
+                final byte[] content = IOUtil.getAllContentFrom(url);
+                if (content != null) {
+                    return new String(content);
+                }
+            }
+            else {
+                // try to read from File():
+                final File sqlResource = new File(sqlFolder, sqlFile);
+                if (sqlResource.exists()) {
+                    return new String(IOUtil.getAllContentFrom(sqlResource));
+                }
+            }
+        } catch (final IOException e) {
+            // ignore, will return null
+        }
+        return null;
+    }
+
+    private void doExecuteSQLThroughJDBC(final List<String> commands, final Map<String, String> replacements) throws SQLException {
+        final Connection connection = getConnection();
+        connection.setAutoCommit(false);
+        try {
+            for (final String command : commands) {
+                if (command.trim().length() > 0) {
+                    final Statement stmt = connection.createStatement();
+                    String filledCommand = null;
+                    try {
+                        if (logger.isLoggable(getClass(), TechnicalLogSeverity.TRACE)) {
+                            logger.log(getClass(), TechnicalLogSeverity.TRACE, command);
+                        }
+                        filledCommand = fillTemplate(command, replacements);
+                        if (logger.isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
+                            logger.log(getClass(), TechnicalLogSeverity.DEBUG, "Executing the following command : " + filledCommand);
+                        }
+
+                        stmt.execute(filledCommand);
+                    } catch (final SQLException e) {
+                        // Just log the Failing command in case of ERROR:
+                        logger.log(getClass(), TechnicalLogSeverity.ERROR, "Following SQL command failed: " + filledCommand);
+                        throw e;
+                    } finally {
+                        stmt.close();
+                    }
+                }
+            }
+            connection.commit();
+        } catch (final SQLException sqe) {
+            connection.rollback();
+            throw sqe;
+        } finally {
+            connection.close();
+        }
+    }
+
+    private String fillTemplate(final String command, final Map<String, String> replacements) {
+        String trimmedCommand = command.trim();
+        if (trimmedCommand.isEmpty() || replacements == null) {
+            return trimmedCommand;
+        }
+
+        for (final Map.Entry<String, String> tableMapping : replacements.entrySet()) {
+            final String stringToReplace = tableMapping.getKey();
+            final String value = tableMapping.getValue();
+            trimmedCommand = trimmedCommand.replaceAll(stringToReplace, value);
+        }
+        return trimmedCommand;
+    }
+
+    private Connection getConnection() throws SQLException {
+        return datasource.getConnection();
+    }
+}
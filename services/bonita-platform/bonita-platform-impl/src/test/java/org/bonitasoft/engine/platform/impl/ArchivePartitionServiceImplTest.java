@@ -0,0 +1,226 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.platform.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.platform.exception.SArchivePartitionException;
+import org.bonitasoft.engine.platform.impl.ArchivePartitionServiceImpl.ArchivePartition;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ArchivePartitionServiceImplTest {
+
+    // 2015-10-15T10:00:00Z
+    private static final long NOW = 1444903200000L;
+
+    private static final long OCTOBER_2015 = 1443657600000L;
+
+    private static final long NOVEMBER_2015 = 1446336000000L;
+
+    private static final long DECEMBER_2015 = 1448928000000L;
+
+    @Mock
+    private DataSource datasource;
+
+    @Mock
+    private SQLScriptExecutor sqlScriptExecutor;
+
+    @Mock
+    private TechnicalLoggerService logger;
+
+    private static final long LOCKED_UNTIL = NOW + 3600000L;
+
+    private ArchivePartitionServiceImpl createService(final boolean enabled, final int retentionInMonths) throws Exception {
+        final ArchivePartitionServiceImpl service = spy(new ArchivePartitionServiceImpl(datasource, sqlScriptExecutor, logger, enabled, 2,
+                retentionInMonths));
+        doReturn(LOCKED_UNTIL).when(service).acquireLock(NOW);
+        doNothing().when(service).releaseLock(anyLong());
+        doReturn(false).when(service).hasRootProcessInstancesToPurge(any(ArchivePartition.class));
+        return service;
+    }
+
+    @Test
+    public void getPartitionOfMonth_should_give_the_utc_bounds_of_the_month() {
+        final ArchivePartition partition = ArchivePartitionServiceImpl.getPartitionOfMonth(NOW, 0);
+
+        assertThat(partition.name).isEqualTo("p201510");
+        assertThat(partition.fromDate).isEqualTo(OCTOBER_2015);
+        assertThat(partition.toDate).isEqualTo(NOVEMBER_2015);
+    }
+
+    @Test
+    public void getPartitionOfMonth_should_move_across_years() {
+        assertThat(ArchivePartitionServiceImpl.getPartitionOfMonth(NOW, 3).name).isEqualTo("p201601");
+        assertThat(ArchivePartitionServiceImpl.getPartitionOfMonth(NOW, -10).name).isEqualTo("p201412");
+    }
+
+    @Test
+    public void createMissingPartitions_should_create_the_partitions_of_the_current_and_next_months_that_do_not_exist() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(true, 0);
+        doReturn(Arrays.asList(new ArchivePartition("p201510", OCTOBER_2015, NOVEMBER_2015))).when(service).getPartitions();
+
+        assertThat(service.createMissingPartitions(NOW)).containsExactly("p201511", "p201512");
+
+        verify(sqlScriptExecutor).execute("createArchivePartition.sql", replacements("p201511", NOVEMBER_2015, DECEMBER_2015));
+        verify(sqlScriptExecutor, never()).execute(eq("createArchivePartition.sql"), eq(replacements("p201510", OCTOBER_2015, NOVEMBER_2015)));
+        verify(service).releaseLock(LOCKED_UNTIL);
+    }
+
+    @Test
+    public void createMissingPartitions_should_leave_the_partitions_to_the_holder_of_the_lock() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(true, 0);
+        doReturn(-1L).when(service).acquireLock(NOW);
+
+        assertThat(service.createMissingPartitions(NOW)).isEmpty();
+
+        verify(service, never()).getPartitions();
+        verify(service, never()).releaseLock(anyLong());
+        verify(sqlScriptExecutor, never()).execute(anyString(), anyMap());
+    }
+
+    @Test
+    public void createMissingPartitions_should_create_the_next_partitions_when_one_fails() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(true, 0);
+        doReturn(Collections.emptyList()).when(service).getPartitions();
+        doThrow(new SQLException("default partition contains rows")).when(sqlScriptExecutor).execute("createArchivePartition.sql",
+                replacements("p201510", OCTOBER_2015, NOVEMBER_2015));
+
+        try {
+            service.createMissingPartitions(NOW);
+            fail("The failure should be thrown");
+        } catch (final SArchivePartitionException e) {
+            assertThat(e.getMessage()).contains("p201510");
+        }
+
+        verify(sqlScriptExecutor).execute("createArchivePartition.sql", replacements("p201511", NOVEMBER_2015, DECEMBER_2015));
+        verify(sqlScriptExecutor).execute(eq("createArchivePartition.sql"), eq(replacements("p201512", DECEMBER_2015, 1451606400000L)));
+        verify(service).releaseLock(LOCKED_UNTIL);
+    }
+
+    @Test
+    public void maintainPartitions_should_drop_the_expired_partitions_when_a_creation_fails() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(true, 1);
+        final SArchivePartitionException failure = new SArchivePartitionException("creation failed", new SQLException());
+        doThrow(failure).when(service).createMissingPartitions(NOW);
+        doReturn(Collections.emptyList()).when(service).dropExpiredPartitions(NOW);
+
+        try {
+            service.maintainPartitions(NOW);
+            fail("The failure should be thrown");
+        } catch (final SArchivePartitionException e) {
+            assertThat(e).isSameAs(failure);
+        }
+
+        verify(service).dropExpiredPartitions(NOW);
+    }
+
+    @Test
+    public void dropExpiredPartitions_should_drop_the_partitions_older_than_the_retention() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(true, 1);
+        doReturn(Arrays.asList(new ArchivePartition("p201508", 1438387200000L, 1441065600000L),
+                new ArchivePartition("p201509", 1441065600000L, OCTOBER_2015),
+                new ArchivePartition("p201510", OCTOBER_2015, NOVEMBER_2015))).when(service).getPartitions();
+
+        assertThat(service.dropExpiredPartitions(NOW)).containsExactly("p201508");
+
+        verify(sqlScriptExecutor).execute("dropArchivePartition.sql", replacements("p201508", 1438387200000L, 1441065600000L));
+        verify(service).releaseLock(LOCKED_UNTIL);
+    }
+
+    @Test
+    public void dropExpiredPartitions_should_keep_the_partitions_holding_process_instances_to_purge() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(true, 1);
+        final ArchivePartition august = new ArchivePartition("p201508", 1438387200000L, 1441065600000L);
+        final ArchivePartition july = new ArchivePartition("p201507", 1435708800000L, 1438387200000L);
+        doReturn(Arrays.asList(july, august)).when(service).getPartitions();
+        doReturn(true).when(service).hasRootProcessInstancesToPurge(august);
+
+        assertThat(service.dropExpiredPartitions(NOW)).containsExactly("p201507");
+
+        verify(sqlScriptExecutor, never()).execute(eq("dropArchivePartition.sql"), eq(replacements("p201508", 1438387200000L, 1441065600000L)));
+    }
+
+    @Test
+    public void dropExpiredPartitions_should_leave_the_partitions_to_the_holder_of_the_lock() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(true, 1);
+        doReturn(-1L).when(service).acquireLock(NOW);
+
+        assertThat(service.dropExpiredPartitions(NOW)).isEmpty();
+
+        verify(service, never()).getPartitions();
+        verify(sqlScriptExecutor, never()).execute(anyString(), anyMap());
+    }
+
+    @Test
+    public void getExpirationDate_should_be_the_start_of_the_oldest_month_kept() throws Exception {
+        assertThat(createService(true, 1).getExpirationDate(NOW)).isEqualTo(1441065600000L);
+        assertThat(createService(true, 0).getExpirationDate(NOW)).isEqualTo(-1L);
+        assertThat(createService(false, 1).getExpirationDate(NOW)).isEqualTo(-1L);
+    }
+
+    @Test
+    public void dropExpiredPartitions_should_keep_archives_forever_when_retention_is_0() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(true, 0);
+
+        assertThat(service.dropExpiredPartitions(NOW)).isEmpty();
+
+        verify(service, never()).getPartitions();
+    }
+
+    @Test
+    public void should_not_touch_the_structure_when_partitioning_is_disabled() throws Exception {
+        final ArchivePartitionServiceImpl service = createService(false, 1);
+
+        service.partitionArchiveTables();
+        assertThat(service.createMissingPartitions(NOW)).isEmpty();
+        assertThat(service.dropExpiredPartitions(NOW)).isEmpty();
+        service.unpartitionArchiveTables();
+
+        verify(sqlScriptExecutor, never()).execute(anyString(), anyMap());
+    }
+
+    private Map<String, String> replacements(final String name, final long fromDate, final long toDate) {
+        final Map<String, String> replacements = new HashMap<String, String>();
+        replacements.put("\\$\\{partition\\}", name);
+        replacements.put("\\$\\{fromDate\\}", Long.toString(fromDate));
+        replacements.put("\\$\\{toDate\\}", Long.toString(toDate));
+        return replacements;
+    }
+
+}
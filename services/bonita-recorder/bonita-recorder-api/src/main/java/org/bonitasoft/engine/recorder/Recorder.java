@@ -17,6 +17,7 @@ import org.bonitasoft.engine.events.model.SDeleteEvent;
 import org.bonitasoft.engine.events.model.SInsertEvent;
 import org.bonitasoft.engine.events.model.SUpdateEvent;
 import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
+import org.bonitasoft.engine.recorder.model.BulkDeleteRecord;
 import org.bonitasoft.engine.recorder.model.DeleteAllRecord;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.InsertRecord;
@@ -77,4 +78,16 @@ public interface Recorder {
      */
     void recordDeleteAll(DeleteAllRecord record) throws SRecorderException;
 
+    /**
+     * Delete all records of a table matching the filters of the record, for the connected tenant.
+     * The records are deleted using one statement unless handlers are registered on the delete event type of the record: in that case the records are
+     * loaded and deleted one by one, firing a delete event for each of them.
+     * 
+     * @param record
+     *            records to delete
+     * @throws SRecorderException
+     * @since 7.2
+     */
+    void recordBulkDelete(BulkDeleteRecord record) throws SRecorderException;
+
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.recorder.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.bonitasoft.engine.persistence.FilterOption;
+import org.bonitasoft.engine.persistence.PersistentObject;
+
+/**
+ * All records of a table matching some filters, for the connected tenant, to delete at once.
+ */
+public class BulkDeleteRecord {
+
+    private final Class<? extends PersistentObject> entityClass;
+
+    private final List<FilterOption> filters;
+
+    private final String eventType;
+
+    /**
+     * @param entityClass
+     *        class of the records to delete
+     * @param filters
+     *        filters the records to delete must match
+     * @param eventType
+     *        type of the delete event fired for each deleted record when handlers are registered on it, null to never fire events
+     */
+    public BulkDeleteRecord(final Class<? extends PersistentObject> entityClass, final List<FilterOption> filters, final String eventType) {
+        this.entityClass = entityClass;
+        this.filters = filters;
+        this.eventType = eventType;
+    }
+
+    public Class<? extends PersistentObject> getEntityClass() {
+        return entityClass;
+    }
+
+    public List<FilterOption> getFilters() {
+        if (filters == null) {
+            return Collections.unmodifiableList(new ArrayList<FilterOption>());
+        }
+        return Collections.unmodifiableList(filters);
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+}
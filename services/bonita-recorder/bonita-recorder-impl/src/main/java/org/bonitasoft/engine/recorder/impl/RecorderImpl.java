@@ -15,18 +15,23 @@ package org.bonitasoft.engine.recorder.impl;
 
 import java.util.List;
 
+import org.bonitasoft.engine.builder.BuilderFactory;
 import org.bonitasoft.engine.commons.LogUtil;
+import org.bonitasoft.engine.events.EventActionType;
 import org.bonitasoft.engine.events.EventService;
 import org.bonitasoft.engine.events.model.SFireEventException;
 import org.bonitasoft.engine.events.model.SDeleteEvent;
 import org.bonitasoft.engine.events.model.SEvent;
 import org.bonitasoft.engine.events.model.SInsertEvent;
 import org.bonitasoft.engine.events.model.SUpdateEvent;
+import org.bonitasoft.engine.events.model.builders.SEventBuilderFactory;
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.PersistentObject;
 import org.bonitasoft.engine.recorder.Recorder;
 import org.bonitasoft.engine.recorder.SRecorderException;
 import org.bonitasoft.engine.recorder.model.BatchInsertRecord;
+import org.bonitasoft.engine.recorder.model.BulkDeleteRecord;
 import org.bonitasoft.engine.recorder.model.DeleteAllRecord;
 import org.bonitasoft.engine.recorder.model.DeleteRecord;
 import org.bonitasoft.engine.recorder.model.InsertRecord;
@@ -118,6 +123,31 @@ public class RecorderImpl implements Recorder {
         }
     }
 
+    @Override
+    public void recordBulkDelete(final BulkDeleteRecord record) throws SRecorderException {
+        final String methodName = "recordBulkDelete";
+
+        traceBeforeMethod(methodName);
+        try {
+            final String eventType = record.getEventType();
+            if (eventType != null && eventService.hasHandlers(eventType, EventActionType.DELETED)) {
+                final SEventBuilderFactory eventBuilderFactory = BuilderFactory.get(SEventBuilderFactory.class);
+                for (final PersistentObject entity : persistenceService.selectByTenant(record.getEntityClass(), record.getFilters())) {
+                    persistenceService.delete(entity);
+                    fireEvent(eventBuilderFactory.createDeleteEvent(eventType).setObject(entity).done());
+                }
+            } else {
+                persistenceService.deleteByTenant(record.getEntityClass(), record.getFilters());
+            }
+            traceAfterMethod(methodName);
+        } catch (final SFireEventException e) {
+            logFireEventExceptionAndThrowSRecorderException(e, methodName);
+        } catch (final Exception e) {
+            traceException(methodName, e);
+            throw new SRecorderException(e);
+        }
+    }
+
     @Override
     public void recordUpdate(final UpdateRecord record, final SUpdateEvent updateEvent) throws SRecorderException {
         String methodName = "recordUpdate";
@@ -18,5 +18,5 @@ package org.bonitasoft.engine.bar;
  * @author Baptiste Mesta
  */
 public enum BARResourceType {
-    DOCUMENT, EXTERNAL, CONNECTOR, USER_FILTER
+    DOCUMENT, EXTERNAL, CONNECTOR, USER_FILTER, CONNECTOR_INDEX
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of the executions of a type of job on the current node.
+ *
+ * @since 7.2.0
+ */
+public class JobExecutionMetrics implements Serializable {
+
+    private static final long serialVersionUID = -2371405628711923651L;
+
+    private final String jobType;
+
+    private final long numberOfExecutions;
+
+    private final long numberOfFailures;
+
+    private final long numberOfCoalescedExecutions;
+
+    private final long totalDuration;
+
+    private final long maxDuration;
+
+    private final long lastExecutionDate;
+
+    public JobExecutionMetrics(final String jobType, final long numberOfExecutions, final long numberOfFailures, final long numberOfCoalescedExecutions,
+            final long totalDuration, final long maxDuration, final long lastExecutionDate) {
+        this.jobType = jobType;
+        this.numberOfExecutions = numberOfExecutions;
+        this.numberOfFailures = numberOfFailures;
+        this.numberOfCoalescedExecutions = numberOfCoalescedExecutions;
+        this.totalDuration = totalDuration;
+        this.maxDuration = maxDuration;
+        this.lastExecutionDate = lastExecutionDate;
+    }
+
+    public String getJobType() {
+        return jobType;
+    }
+
+    public long getNumberOfExecutions() {
+        return numberOfExecutions;
+    }
+
+    public long getNumberOfFailures() {
+        return numberOfFailures;
+    }
+
+    /**
+     * @return the number of times the job was triggered while it was running, and was executed once more by the running execution instead
+     */
+    public long getNumberOfCoalescedExecutions() {
+        return numberOfCoalescedExecutions;
+    }
+
+    /**
+     * @return the total duration of the executions, in milliseconds
+     */
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * @return the average duration of an execution, in milliseconds
+     */
+    public long getAverageDuration() {
+        return numberOfExecutions == 0 ? 0 : totalDuration / numberOfExecutions;
+    }
+
+    /**
+     * @return the duration of the longest execution, in milliseconds
+     */
+    public long getMaxDuration() {
+        return maxDuration;
+    }
+
+    public long getLastExecutionDate() {
+        return lastExecutionDate;
+    }
+
+    @Override
+    public String toString() {
+        return "JobExecutionMetrics [jobType=" + jobType + ", numberOfExecutions=" + numberOfExecutions + ", numberOfFailures=" + numberOfFailures
+                + ", numberOfCoalescedExecutions=" + numberOfCoalescedExecutions + ", totalDuration=" + totalDuration + ", maxDuration=" + maxDuration
+                + ", lastExecutionDate=" + lastExecutionDate + "]";
+    }
+
+}
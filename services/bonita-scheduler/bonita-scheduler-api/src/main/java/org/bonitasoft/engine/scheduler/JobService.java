@@ -30,10 +30,14 @@ import org.bonitasoft.engine.scheduler.exception.jobParameter.SJobParameterCreat
 import org.bonitasoft.engine.scheduler.exception.jobParameter.SJobParameterDeletionException;
 import org.bonitasoft.engine.scheduler.exception.jobParameter.SJobParameterNotFoundException;
 import org.bonitasoft.engine.scheduler.exception.jobParameter.SJobParameterReadException;
+import org.bonitasoft.engine.scheduler.exception.jobTimer.SJobTimerCreationException;
+import org.bonitasoft.engine.scheduler.exception.jobTimer.SJobTimerDeletionException;
+import org.bonitasoft.engine.scheduler.exception.jobTimer.SJobTimerUpdatingException;
 import org.bonitasoft.engine.scheduler.model.SFailedJob;
 import org.bonitasoft.engine.scheduler.model.SJobDescriptor;
 import org.bonitasoft.engine.scheduler.model.SJobLog;
 import org.bonitasoft.engine.scheduler.model.SJobParameter;
+import org.bonitasoft.engine.scheduler.model.SJobTimer;
 
 /**
  * @author Celine Souchet
@@ -47,6 +51,8 @@ public interface JobService {
 
     String JOB_LOG = "JOB_LOG";
 
+    String JOB_TIMER = "JOB_TIMER";
+
     /**
      * Create a new job descriptor for a specific tenant
      *
@@ -313,4 +319,105 @@ public interface JobService {
      */
     void logJobError(final Exception jobException, final Long jobDescriptorId) throws SBonitaReadException, SJobLogUpdatingException,
             SJobLogCreationException, SJobDescriptorReadException;
+
+    /**
+     * Create a new job timer for a specific tenant
+     *
+     * @param sJobTimer JobTimer to create
+     * @param tenantId  Identifier of tenant
+     * @return The created job timer
+     * @throws SJobTimerCreationException
+     * @since 7.2.0
+     */
+    SJobTimer createJobTimer(SJobTimer sJobTimer, long tenantId) throws SJobTimerCreationException;
+
+    /**
+     * Get a specific job timer
+     *
+     * @param id Identifier of job timer
+     * @return Null if the job timer doesn't exist, else the {@link SJobTimer} corresponding to the identifier
+     * @throws SBonitaReadException
+     * @since 7.2.0
+     */
+    SJobTimer getJobTimer(long id) throws SBonitaReadException;
+
+    /**
+     * Get the job timers of a job
+     *
+     * @param jobName The name of the job
+     * @return A list of {@link SJobTimer}
+     * @throws SBonitaReadException
+     * @since 7.2.0
+     */
+    List<SJobTimer> getJobTimers(String jobName) throws SBonitaReadException;
+
+    /**
+     * Get the names of the jobs having at least one job timer
+     *
+     * @return The names of the jobs, ordered by name
+     * @throws SBonitaReadException
+     * @since 7.2.0
+     */
+    List<String> getJobNamesOfJobTimers() throws SBonitaReadException;
+
+    /**
+     * Get a job timer using the name of its trigger
+     *
+     * @param triggerName The name of the trigger
+     * @return Null if no job timer has this trigger name, else the {@link SJobTimer}
+     * @throws SBonitaReadException
+     * @since 7.2.0
+     */
+    SJobTimer getJobTimerByTriggerName(String triggerName) throws SBonitaReadException;
+
+    /**
+     * Get the job timers which are due before the given date and are not claimed by a node, or whose claim has expired.
+     *
+     * @param maxDueDate The maximum due date of the timers
+     * @param now        The current date, used to check if a claim has expired
+     * @param maxResults The maximum number of timers to return
+     * @return A list of {@link SJobTimer} ordered by due date
+     * @throws SBonitaReadException
+     * @since 7.2.0
+     */
+    List<SJobTimer> getClaimableJobTimers(long maxDueDate, long now, int maxResults) throws SBonitaReadException;
+
+    /**
+     * Get the job timers claimed by a node up to a given date
+     *
+     * @param ownerNode    The name of the node
+     * @param claimedUntil The date until which the timers are claimed
+     * @return A list of {@link SJobTimer} ordered by due date
+     * @throws SBonitaReadException
+     * @since 7.2.0
+     */
+    List<SJobTimer> getJobTimersClaimedBy(String ownerNode, long claimedUntil) throws SBonitaReadException;
+
+    /**
+     * Update a {@link SJobTimer}
+     *
+     * @param jobTimer   The timer to update
+     * @param descriptor
+     * @throws SJobTimerUpdatingException
+     * @since 7.2.0
+     */
+    void updateJobTimer(SJobTimer jobTimer, EntityUpdateDescriptor descriptor) throws SJobTimerUpdatingException;
+
+    /**
+     * Delete the specified job timer
+     *
+     * @param sJobTimer JobTimer to delete
+     * @throws SJobTimerDeletionException
+     * @since 7.2.0
+     */
+    void deleteJobTimer(SJobTimer sJobTimer) throws SJobTimerDeletionException;
+
+    /**
+     * Delete all job timers for a specific tenant
+     *
+     * @throws SJobTimerDeletionException
+     * @since 7.2.0
+     */
+    void deleteAllJobTimers() throws SJobTimerDeletionException;
+
 }
@@ -0,0 +1,30 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler;
+
+/**
+ * A {@link StatelessJob} executed very often, such as the internal jobs of the engine, for which the scheduler uses a lighter execution path:
+ * <ul>
+ * <li>the class and the parameters of the job are read once and kept in memory until the job is deleted or executed again with new parameters, so
+ * {@link #setAttributes(java.util.Map)} must not rely on a transaction</li>
+ * <li>the statements are not flushed at the end of each execution, they are flushed on commit</li>
+ * <li>when the job is triggered while one of its executions is running on the same node, the executions are coalesced: the running execution is
+ * executed once more instead of executing the job concurrently, a bounded number of times in a row, so the job must be triggered periodically</li>
+ * </ul>
+ *
+ * @since 7.2.0
+ */
+public interface LightweightJob extends StatelessJob {
+
+}
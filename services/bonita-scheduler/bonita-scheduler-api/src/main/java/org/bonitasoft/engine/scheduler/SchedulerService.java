@@ -15,6 +15,7 @@ package org.bonitasoft.engine.scheduler;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.bonitasoft.engine.commons.PlatformLifecycleService;
 import org.bonitasoft.engine.commons.exceptions.SBonitaException;
@@ -248,4 +249,13 @@ public interface SchedulerService extends PlatformLifecycleService {
      */
     boolean isExistingJob(String jobName) throws SSchedulerException;
 
+    /**
+     * Get the metrics of the executions of the jobs of the current tenant on this node.
+     *
+     * @return the metrics of each type of job, by class name of the job
+     * @throws SSchedulerException
+     * @since 7.2.0
+     */
+    Map<String, JobExecutionMetrics> getJobExecutionMetrics() throws SSchedulerException;
+
 }
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.model;
+
+import org.bonitasoft.engine.persistence.PersistentObject;
+
+/**
+ * A one shot trigger of a job, stored by the engine itself instead of Quartz.
+ * A timer is claimed by a node before being fired: the node owning the claim is the only one allowed to fire it until the claim expires.
+ */
+public interface SJobTimer extends PersistentObject {
+
+    long getJobDescriptorId();
+
+    String getJobName();
+
+    String getTriggerName();
+
+    long getDueDate();
+
+    /**
+     * @return the name of the node which claimed this timer, null if it is not claimed
+     */
+    String getOwnerNode();
+
+    /**
+     * @return the date until which the claim of the owner node is valid, 0 if it is not claimed
+     */
+    long getClaimedUntil();
+
+    /**
+     * @return the number of failed executions of the job since this timer was due
+     */
+    int getFailureCount();
+
+}
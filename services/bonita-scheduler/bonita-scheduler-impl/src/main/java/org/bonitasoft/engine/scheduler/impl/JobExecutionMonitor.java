@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonitasoft.engine.scheduler.JobExecutionMetrics;
+import org.bonitasoft.engine.scheduler.JobIdentifier;
+
+/**
+ * Keeps the metrics of the job executions of this node, by type of job, and coalesces the concurrent executions of the
+ * {@link org.bonitasoft.engine.scheduler.LightweightJob}s.
+ */
+public class JobExecutionMonitor {
+
+    private static final int IDLE = 0;
+
+    private static final int RUNNING = 1;
+
+    private static final int RUNNING_AND_REQUESTED = 2;
+
+    private final ConcurrentMap<JobIdentifier, AtomicInteger> states = new ConcurrentHashMap<JobIdentifier, AtomicInteger>();
+
+    private final ConcurrentMap<Long, ConcurrentMap<String, JobExecutions>> executionsByTenant = new ConcurrentHashMap<Long, ConcurrentMap<String, JobExecutions>>();
+
+    /**
+     * Start an execution of the job.
+     *
+     * @return false if an execution of the job is already running: it will be executed once more by the running execution instead
+     */
+    public boolean startExecution(final JobIdentifier jobIdentifier, final String jobType) {
+        final AtomicInteger state = getState(jobIdentifier);
+        while (true) {
+            if (state.compareAndSet(IDLE, RUNNING)) {
+                return true;
+            }
+            if (state.compareAndSet(RUNNING, RUNNING_AND_REQUESTED) || state.get() == RUNNING_AND_REQUESTED) {
+                getJobExecutions(jobIdentifier.getTenantId(), jobType).coalesced.incrementAndGet();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Called by the running execution once the job is executed.
+     *
+     * @return true if the job was triggered again in the meantime and must be executed once more, false if the execution is finished
+     */
+    public boolean continueExecution(final JobIdentifier jobIdentifier) {
+        final AtomicInteger state = getState(jobIdentifier);
+        while (true) {
+            if (state.compareAndSet(RUNNING_AND_REQUESTED, RUNNING)) {
+                return true;
+            }
+            if (state.compareAndSet(RUNNING, IDLE)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Called by the running execution when the job failed: the coalesced executions are dropped.
+     */
+    public void abortExecution(final JobIdentifier jobIdentifier) {
+        getState(jobIdentifier).set(IDLE);
+    }
+
+    public void executed(final long tenantId, final String jobType, final long duration, final boolean succeeded) {
+        final JobExecutions executions = getJobExecutions(tenantId, jobType);
+        executions.count.incrementAndGet();
+        if (!succeeded) {
+            executions.failures.incrementAndGet();
+        }
+        executions.totalDuration.addAndGet(duration);
+        long maxDuration = executions.maxDuration.get();
+        while (duration > maxDuration && !executions.maxDuration.compareAndSet(maxDuration, duration)) {
+            maxDuration = executions.maxDuration.get();
+        }
+        executions.lastExecutionDate = System.currentTimeMillis();
+    }
+
+    public Map<String, JobExecutionMetrics> getMetrics(final long tenantId) {
+        final Map<String, JobExecutionMetrics> metrics = new HashMap<String, JobExecutionMetrics>();
+        final Map<String, JobExecutions> tenantExecutions = executionsByTenant.get(tenantId);
+        if (tenantExecutions != null) {
+            for (final Entry<String, JobExecutions> entry : tenantExecutions.entrySet()) {
+                final JobExecutions executions = entry.getValue();
+                metrics.put(entry.getKey(), new JobExecutionMetrics(entry.getKey(), executions.count.get(), executions.failures.get(),
+                        executions.coalesced.get(), executions.totalDuration.get(), executions.maxDuration.get(), executions.lastExecutionDate));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Forget the state of a deleted job.
+     */
+    public void remove(final JobIdentifier jobIdentifier) {
+        states.remove(jobIdentifier);
+    }
+
+    private AtomicInteger getState(final JobIdentifier jobIdentifier) {
+        AtomicInteger state = states.get(jobIdentifier);
+        if (state == null) {
+            final AtomicInteger newState = new AtomicInteger(IDLE);
+            state = states.putIfAbsent(jobIdentifier, newState);
+            if (state == null) {
+                state = newState;
+            }
+        }
+        return state;
+    }
+
+    private JobExecutions getJobExecutions(final long tenantId, final String jobType) {
+        ConcurrentMap<String, JobExecutions> tenantExecutions = executionsByTenant.get(tenantId);
+        if (tenantExecutions == null) {
+            final ConcurrentMap<String, JobExecutions> newTenantExecutions = new ConcurrentHashMap<String, JobExecutions>();
+            tenantExecutions = executionsByTenant.putIfAbsent(tenantId, newTenantExecutions);
+            if (tenantExecutions == null) {
+                tenantExecutions = newTenantExecutions;
+            }
+        }
+        JobExecutions executions = tenantExecutions.get(jobType);
+        if (executions == null) {
+            final JobExecutions newExecutions = new JobExecutions();
+            executions = tenantExecutions.putIfAbsent(jobType, newExecutions);
+            if (executions == null) {
+                executions = newExecutions;
+            }
+        }
+        return executions;
+    }
+
+    private static final class JobExecutions {
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicLong failures = new AtomicLong();
+
+        private final AtomicLong coalesced = new AtomicLong();
+
+        private final AtomicLong totalDuration = new AtomicLong();
+
+        private final AtomicLong maxDuration = new AtomicLong();
+
+        private volatile long lastExecutionDate;
+
+    }
+
+}
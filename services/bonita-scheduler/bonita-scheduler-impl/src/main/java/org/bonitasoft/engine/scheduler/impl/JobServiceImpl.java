@@ -17,6 +17,7 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.bonitasoft.engine.builder.BuilderFactory;
@@ -55,13 +56,18 @@ import org.bonitasoft.engine.scheduler.exception.jobParameter.SJobParameterCreat
 import org.bonitasoft.engine.scheduler.exception.jobParameter.SJobParameterDeletionException;
 import org.bonitasoft.engine.scheduler.exception.jobParameter.SJobParameterNotFoundException;
 import org.bonitasoft.engine.scheduler.exception.jobParameter.SJobParameterReadException;
+import org.bonitasoft.engine.scheduler.exception.jobTimer.SJobTimerCreationException;
+import org.bonitasoft.engine.scheduler.exception.jobTimer.SJobTimerDeletionException;
+import org.bonitasoft.engine.scheduler.exception.jobTimer.SJobTimerUpdatingException;
 import org.bonitasoft.engine.scheduler.model.SFailedJob;
 import org.bonitasoft.engine.scheduler.model.SJobDescriptor;
 import org.bonitasoft.engine.scheduler.model.SJobLog;
 import org.bonitasoft.engine.scheduler.model.SJobParameter;
+import org.bonitasoft.engine.scheduler.model.SJobTimer;
 import org.bonitasoft.engine.scheduler.model.impl.SJobDescriptorImpl;
 import org.bonitasoft.engine.scheduler.model.impl.SJobLogImpl;
 import org.bonitasoft.engine.scheduler.model.impl.SJobParameterImpl;
+import org.bonitasoft.engine.scheduler.model.impl.SJobTimerImpl;
 import org.bonitasoft.engine.scheduler.recorder.SelectDescriptorBuilder;
 
 /**
@@ -314,6 +320,100 @@ public class JobServiceImpl implements JobService {
         return readPersistenceService.searchEntity(SJobLog.class, queryOptions, null);
     }
 
+    @Override
+    public SJobTimer createJobTimer(final SJobTimer sJobTimer, final long tenantId) throws SJobTimerCreationException {
+        if (sJobTimer == null) {
+            throw new IllegalArgumentException("The job timer is null");
+        } else if (sJobTimer.getTriggerName() == null) {
+            throw new IllegalArgumentException("The trigger name is null");
+        }
+        final SJobTimerImpl sJobTimerToRecord = new SJobTimerImpl(sJobTimer.getJobDescriptorId(), sJobTimer.getJobName(), sJobTimer.getTriggerName(),
+                sJobTimer.getDueDate());
+        sJobTimerToRecord.setOwnerNode(sJobTimer.getOwnerNode());
+        sJobTimerToRecord.setClaimedUntil(sJobTimer.getClaimedUntil());
+        sJobTimerToRecord.setTenantId(tenantId);
+        try {
+            create(sJobTimerToRecord, JOB_TIMER);
+        } catch (final SRecorderException sre) {
+            throw new SJobTimerCreationException(sre);
+        }
+        return sJobTimerToRecord;
+    }
+
+    @Override
+    public SJobTimer getJobTimer(final long id) throws SBonitaReadException {
+        return readPersistenceService.selectById(SelectDescriptorBuilder.getElementById(SJobTimer.class, "SJobTimer", id));
+    }
+
+    @Override
+    public List<SJobTimer> getJobTimers(final String jobName) throws SBonitaReadException {
+        return readPersistenceService.selectList(SelectDescriptorBuilder.getJobTimersOfJob(jobName));
+    }
+
+    @Override
+    public List<String> getJobNamesOfJobTimers() throws SBonitaReadException {
+        return readPersistenceService.selectList(SelectDescriptorBuilder.getJobNamesOfJobTimers());
+    }
+
+    @Override
+    public SJobTimer getJobTimerByTriggerName(final String triggerName) throws SBonitaReadException {
+        return readPersistenceService.selectOne(SelectDescriptorBuilder.getJobTimerByTriggerName(triggerName));
+    }
+
+    @Override
+    public List<SJobTimer> getClaimableJobTimers(final long maxDueDate, final long now, final int maxResults) throws SBonitaReadException {
+        return readPersistenceService.selectList(SelectDescriptorBuilder.getClaimableJobTimers(maxDueDate, now, maxResults));
+    }
+
+    @Override
+    public List<SJobTimer> getJobTimersClaimedBy(final String ownerNode, final long claimedUntil) throws SBonitaReadException {
+        return readPersistenceService.selectList(SelectDescriptorBuilder.getJobTimersClaimedBy(ownerNode, claimedUntil));
+    }
+
+    @Override
+    public void updateJobTimer(final SJobTimer jobTimer, final EntityUpdateDescriptor descriptor) throws SJobTimerUpdatingException {
+        try {
+            final UpdateRecord updateRecord = UpdateRecord.buildSetFields(jobTimer, descriptor);
+            SUpdateEvent updateEvent = null;
+            if (eventService.hasHandlers(JOB_TIMER, EventActionType.UPDATED)) {
+                updateEvent = (SUpdateEvent) BuilderFactory.get(SEventBuilderFactory.class).createUpdateEvent(JOB_TIMER).setObject(jobTimer)
+                        .done();
+            }
+            recorder.recordUpdate(updateRecord, updateEvent);
+        } catch (final SRecorderException e) {
+            throw new SJobTimerUpdatingException(e);
+        }
+    }
+
+    @Override
+    public void deleteJobTimer(final SJobTimer sJobTimer) throws SJobTimerDeletionException {
+        if (sJobTimer == null) {
+            throw new IllegalArgumentException("The job timer is null");
+        }
+        try {
+            delete(sJobTimer, JOB_TIMER);
+        } catch (final SRecorderException e) {
+            throw new SJobTimerDeletionException(e);
+        }
+    }
+
+    @Override
+    public void deleteAllJobTimers() throws SJobTimerDeletionException {
+        final List<OrderByOption> orders = Arrays.asList(new OrderByOption(SJobTimer.class, "id", OrderByType.ASC));
+        final QueryOptions queryOptions = new QueryOptions(0, 100, orders, Collections.<FilterOption> emptyList(), null);
+        try {
+            List<SJobTimer> jobTimers = readPersistenceService.searchEntity(SJobTimer.class, queryOptions, null);
+            while (!jobTimers.isEmpty()) {
+                for (final SJobTimer jobTimer : jobTimers) {
+                    deleteJobTimer(jobTimer);
+                }
+                jobTimers = readPersistenceService.searchEntity(SJobTimer.class, queryOptions, null);
+            }
+        } catch (final SBonitaReadException e) {
+            throw new SJobTimerDeletionException(e);
+        }
+    }
+
     private void delete(final PersistentObject persistentObject, final String eventType) throws SRecorderException {
         final DeleteRecord deleteRecord = new DeleteRecord(persistentObject);
         SDeleteEvent deleteEvent = null;
@@ -19,13 +19,13 @@ import java.util.concurrent.Callable;
 
 import org.bonitasoft.engine.builder.BuilderFactory;
 import org.bonitasoft.engine.events.EventService;
-import org.bonitasoft.engine.events.model.SEvent;
 import org.bonitasoft.engine.events.model.SFireEventException;
 import org.bonitasoft.engine.events.model.builders.SEventBuilderFactory;
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.scheduler.JobIdentifier;
 import org.bonitasoft.engine.scheduler.JobService;
+import org.bonitasoft.engine.scheduler.LightweightJob;
 import org.bonitasoft.engine.scheduler.StatelessJob;
 import org.bonitasoft.engine.scheduler.exception.SJobConfigurationException;
 import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
@@ -45,16 +45,18 @@ public class JobWrapper implements StatelessJob {
 
     private static final long serialVersionUID = 7145451610635400449L;
 
+    /**
+     * Maximum number of coalesced executions run after an execution of a {@link LightweightJob}, so that a job triggered more often than it is
+     * executed does not keep the thread of its firing forever
+     */
+    static final int MAX_COALESCED_EXECUTIONS = 10;
+
     private final StatelessJob statelessJob;
 
     private final TechnicalLoggerService logger;
 
     private final long tenantId;
 
-    private final SEvent jobExecuting;
-
-    private final SEvent jobCompleted;
-
     private final EventService eventService;
 
     private final JobIdentifier jobIdentifier;
@@ -67,8 +69,11 @@ public class JobWrapper implements StatelessJob {
 
     private final JobService jobService;
 
+    private final JobExecutionMonitor executionMonitor;
+
     public JobWrapper(final JobIdentifier jobIdentifier, final StatelessJob statelessJob, final TechnicalLoggerService logger, final long tenantId,
-                      final EventService eventService, final SessionAccessor sessionAccessor, final TransactionService transactionService, PersistenceService persistenceService, JobService jobService) {
+                      final EventService eventService, final SessionAccessor sessionAccessor, final TransactionService transactionService, PersistenceService persistenceService, JobService jobService,
+                      final JobExecutionMonitor executionMonitor) {
         this.jobIdentifier = jobIdentifier;
         this.sessionAccessor = sessionAccessor;
         this.statelessJob = statelessJob;
@@ -79,8 +84,7 @@ public class JobWrapper implements StatelessJob {
         this.transactionService = transactionService;
         this.persistenceService = persistenceService;
         this.jobService = jobService;
-        jobExecuting = BuilderFactory.get(SEventBuilderFactory.class).createNewInstance(JOB_EXECUTING).done();
-        jobCompleted = BuilderFactory.get(SEventBuilderFactory.class).createNewInstance(JOB_COMPLETED).done();
+        this.executionMonitor = executionMonitor;
     }
 
 
@@ -96,18 +100,110 @@ public class JobWrapper implements StatelessJob {
 
     @Override
     public void execute() throws SJobExecutionException, SFireEventException {
+        final boolean lightweight = statelessJob instanceof LightweightJob;
+        final String jobType = statelessJob.getClass().getName();
+        if (lightweight) {
+            if (!executionMonitor.startExecution(jobIdentifier, jobType)) {
+                if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.DEBUG)) {
+                    logger.log(this.getClass(), TechnicalLogSeverity.DEBUG, "Execution of " + statelessJob.getName()
+                            + " coalesced with the running one");
+                }
+                return;
+            }
+            registerCoalescedExecutions(jobType);
+        }
+        executeAndMonitor(lightweight, jobType);
+    }
+
+    private void executeAndMonitor(final boolean lightweight, final String jobType) throws SJobExecutionException, SFireEventException {
+        final long startTime = System.currentTimeMillis();
+        boolean succeeded = false;
         try {
-            sessionAccessor.setTenantId(tenantId);
-            if (eventService.hasHandlers(JOB_EXECUTING, null)) {
-                jobExecuting.setObject(this);
-                eventService.fireEvent(jobExecuting);
+            executeJob(lightweight);
+            succeeded = true;
+        } finally {
+            executionMonitor.executed(tenantId, jobType, System.currentTimeMillis() - startTime, succeeded);
+        }
+    }
+
+    /**
+     * The executions coalesced with this one are run once its transaction is completed, each one in its own transaction, so that a failing execution
+     * does not roll back the previous ones. They are dropped if this execution is rolled back.
+     * <p>
+     * At most {@link #MAX_COALESCED_EXECUTIONS} executions are run this way: the execution requested after them is left to the next firing of the
+     * job trigger.
+     */
+    private void registerCoalescedExecutions(final String jobType) throws SJobExecutionException {
+        try {
+            transactionService.registerBonitaSynchronization(new BonitaTransactionSynchronization() {
+
+                @Override
+                public void beforeCommit() {
+                    // NOTHING
+                }
+
+                @Override
+                public void afterCompletion(final TransactionState txState) {
+                    if (!TransactionState.COMMITTED.equals(txState)) {
+                        executionMonitor.abortExecution(jobIdentifier);
+                    } else if (executionMonitor.continueExecution(jobIdentifier)) {
+                        executeInAnOtherThread(new Runnable() {
+
+                            @Override
+                            public void run() {
+                                executeCoalescedExecutions(jobType);
+                            }
+                        }, "Coalesced job executor");
+                    }
+                }
+            });
+        } catch (final STransactionNotFoundException e) {
+            executionMonitor.abortExecution(jobIdentifier);
+            throw new SJobExecutionException(e);
+        }
+    }
+
+    void executeCoalescedExecutions(final String jobType) {
+        sessionAccessor.setTenantId(tenantId);
+        try {
+            for (int i = 0; i < MAX_COALESCED_EXECUTIONS; i++) {
+                transactionService.executeInTransaction(new Callable<Void>() {
+
+                    @Override
+                    public Void call() throws Exception {
+                        executeAndMonitor(true, jobType);
+                        return null;
+                    }
+                });
+                if (!executionMonitor.continueExecution(jobIdentifier)) {
+                    return;
+                }
+            }
+            executionMonitor.abortExecution(jobIdentifier);
+            if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.DEBUG)) {
+                logger.log(this.getClass(), TechnicalLogSeverity.DEBUG, MAX_COALESCED_EXECUTIONS + " coalesced executions of " + statelessJob.getName()
+                        + " in a row, the next one is left to the next firing of the job");
             }
+        } catch (final Exception e) {
+            // the failure is already logged and registered on the job: the executions coalesced in the meantime are dropped
+            executionMonitor.abortExecution(jobIdentifier);
+        } finally {
+            sessionAccessor.deleteTenantId();
+        }
+    }
+
+    private void executeJob(final boolean lightweight) throws SJobExecutionException, SFireEventException {
+        try {
+            sessionAccessor.setTenantId(tenantId);
+            fireEvent(JOB_EXECUTING);
             if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.DEBUG)) {
                 logger.log(this.getClass(), TechnicalLogSeverity.DEBUG, "Start execution of " + statelessJob.getName());
             }
             statelessJob.execute();
-            //make sure hibernate flush everything we did before going back to quartz code
-            persistenceService.flushStatements();
+            if (!lightweight) {
+                //make sure hibernate flush everything we did before going back to quartz code
+                persistenceService.flushStatements();
+            }
             if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.DEBUG)) {
                 logger.log(this.getClass(), TechnicalLogSeverity.DEBUG, "Finished execution of " + statelessJob.getName());
             }
@@ -119,10 +215,14 @@ public class JobWrapper implements StatelessJob {
             handleFailure(e);
             throw new SJobExecutionException(e);
         } finally {
-            if (eventService.hasHandlers(JOB_COMPLETED, null)) {
-                jobCompleted.setObject(this);
-                eventService.fireEvent(jobCompleted);
-            }
+            fireEvent(JOB_COMPLETED);
+        }
+    }
+
+    private void fireEvent(final String eventType) throws SFireEventException {
+        // the event is only built when someone listens to it
+        if (eventService.hasHandlers(eventType, null)) {
+            eventService.fireEvent(BuilderFactory.get(SEventBuilderFactory.class).createNewInstance(eventType).setObject(this).done());
         }
     }
 
@@ -145,7 +245,7 @@ public class JobWrapper implements StatelessJob {
 
             @Override
             public void afterCompletion(TransactionState txState) {
-                Thread thread = new Thread(new Runnable() {
+                executeInAnOtherThread(new Runnable() {
                     @Override
                     public void run() {
                         try {
@@ -164,17 +264,23 @@ public class JobWrapper implements StatelessJob {
                         sessionAccessor.deleteTenantId();
                     }
                 }, "Job error handler");
-                thread.start();
-                try {
-                    thread.join();
-                } catch (InterruptedException e) {
-                    logger.log(getClass(), TechnicalLogSeverity.ERROR, "Thread to log error on job " + jobIdentifier.getId() + " interrupted", e);
-                }
-
             }
         });
     }
 
+    /**
+     * A new transaction can not be opened by the thread completing the current one
+     */
+    private void executeInAnOtherThread(final Runnable runnable, final String threadName) {
+        final Thread thread = new Thread(runnable, threadName);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            logger.log(getClass(), TechnicalLogSeverity.ERROR, "Thread " + threadName + " of job " + jobIdentifier.getId() + " interrupted", e);
+        }
+    }
+
     private void logFailedJob(final Exception e) {
         if (logger.isLoggable(this.getClass(), TechnicalLogSeverity.ERROR)) {
             logger.log(this.getClass(), TechnicalLogSeverity.ERROR, "Error while executing job " + jobIdentifier + " : " + e.getMessage(), e);
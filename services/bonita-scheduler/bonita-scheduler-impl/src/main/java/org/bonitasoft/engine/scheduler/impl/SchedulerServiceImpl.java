@@ -19,8 +19,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bonitasoft.engine.builder.BuilderFactory;
 import org.bonitasoft.engine.commons.LogUtil;
@@ -43,9 +46,11 @@ import org.bonitasoft.engine.queriablelogger.model.builder.SLogBuilder;
 import org.bonitasoft.engine.scheduler.AbstractBonitaPlatformJobListener;
 import org.bonitasoft.engine.scheduler.AbstractBonitaTenantJobListener;
 import org.bonitasoft.engine.scheduler.InjectedService;
+import org.bonitasoft.engine.scheduler.JobExecutionMetrics;
 import org.bonitasoft.engine.scheduler.JobIdentifier;
 import org.bonitasoft.engine.scheduler.JobParameter;
 import org.bonitasoft.engine.scheduler.JobService;
+import org.bonitasoft.engine.scheduler.LightweightJob;
 import org.bonitasoft.engine.scheduler.SchedulerExecutor;
 import org.bonitasoft.engine.scheduler.SchedulerService;
 import org.bonitasoft.engine.scheduler.ServicesResolver;
@@ -92,6 +97,11 @@ public class SchedulerServiceImpl implements SchedulerService {
 
     private final int batchSize;
 
+    private final JobExecutionMonitor jobExecutionMonitor = new JobExecutionMonitor();
+
+    // class and parameters of the lightweight jobs, which are not read again at each execution
+    private final Map<JobIdentifier, LightweightJobDefinition> lightweightJobs = new ConcurrentHashMap<JobIdentifier, LightweightJobDefinition>();
+
     /**
      * Create a new instance of scheduler service.
      */
@@ -172,6 +182,7 @@ public class SchedulerServiceImpl implements SchedulerService {
     public void executeAgain(final long jobDescriptorId, final List<SJobParameter> parameters) throws SSchedulerException {
         final SJobDescriptor jobDescriptor = jobService.getJobDescriptor(jobDescriptorId);
         jobService.setJobParameters(getTenantId(), jobDescriptor.getId(), parameters);
+        lightweightJobs.remove(new JobIdentifier(jobDescriptorId, getTenantId(), jobDescriptor.getJobName()));
         schedulerExecutor.executeAgain(jobDescriptorId, getTenantIdAsString(), jobDescriptor.getJobName(), jobDescriptor.disallowConcurrentExecution());
     }
 
@@ -280,6 +291,7 @@ public class SchedulerServiceImpl implements SchedulerService {
         logBeforeMethod(TechnicalLogSeverity.TRACE, "delete");
         final boolean delete = schedulerExecutor.delete(jobName, String.valueOf(getTenantId()));
         jobService.deleteJobDescriptorByJobName(jobName);
+        forgetLightweightJobs(getTenantId(), jobName);
         logAfterMethod(TechnicalLogSeverity.TRACE, "delete");
         return delete;
     }
@@ -289,9 +301,21 @@ public class SchedulerServiceImpl implements SchedulerService {
         logBeforeMethod(TechnicalLogSeverity.TRACE, "deleteJobs");
         schedulerExecutor.deleteJobs(String.valueOf(getTenantId()));
         jobService.deleteAllJobDescriptors();
+        forgetLightweightJobs(getTenantId(), null);
         logAfterMethod(TechnicalLogSeverity.TRACE, "deleteJobs");
     }
 
+    private void forgetLightweightJobs(final long tenantId, final String jobName) {
+        final Iterator<JobIdentifier> iterator = lightweightJobs.keySet().iterator();
+        while (iterator.hasNext()) {
+            final JobIdentifier jobIdentifier = iterator.next();
+            if (jobIdentifier.getTenantId() == tenantId && (jobName == null || jobName.equals(jobIdentifier.getJobName()))) {
+                iterator.remove();
+                jobExecutionMonitor.remove(jobIdentifier);
+            }
+        }
+    }
+
     @Override
     public List<String> getJobs() throws SSchedulerException {
         logBeforeMethod(TechnicalLogSeverity.TRACE, "getJobs");
@@ -320,6 +344,11 @@ public class SchedulerServiceImpl implements SchedulerService {
         try {
             sessionAccessor.setTenantId(jobIdentifier.getTenantId());
             logAfterMethod(TechnicalLogSeverity.TRACE, "getPersistedJob");
+            final LightweightJobDefinition lightweightJob = lightweightJobs.get(jobIdentifier);
+            if (lightweightJob != null) {
+                // no transaction needed: the job definition is already known
+                return createJob(jobIdentifier, lightweightJob.jobClass, lightweightJob.parameters);
+            }
             return transactionService.executeInTransaction(new PersistedJobCallable(jobIdentifier));
         } catch (final Exception e) {
             throw new SSchedulerException("The job class couldn't be instantiated", e);
@@ -345,7 +374,6 @@ public class SchedulerServiceImpl implements SchedulerService {
             }
             final String jobClassName = sJobDescriptor.getJobClassName();
             final Class<?> jobClass = Class.forName(jobClassName);
-            final StatelessJob statelessJob = (StatelessJob) jobClass.newInstance();
 
             final FilterOption filterOption = new FilterOption(SJobParameter.class, "jobDescriptorId", jobIdentifier.getId());
             final List<OrderByOption> orderByoptions = Arrays.asList(new OrderByOption(SJobParameter.class, "id", OrderByType.ASC));
@@ -358,12 +386,33 @@ public class SchedulerServiceImpl implements SchedulerService {
             }
             parameterMap.put(StatelessJob.JOB_DESCRIPTOR_ID, jobIdentifier.getId());
             parameterMap.put(JobParameter.BATCH_SIZE.name(), batchSize);
-            statelessJob.setAttributes(parameterMap);
-            if (servicesResolver != null) {
-                injectServices(statelessJob);
+            if (LightweightJob.class.isAssignableFrom(jobClass)) {
+                lightweightJobs.put(jobIdentifier, new LightweightJobDefinition(jobClass, parameterMap));
             }
-            return new JobWrapper(jobIdentifier, statelessJob, logger, jobIdentifier.getTenantId(), eventService,
-                    sessionAccessor, transactionService, persistenceService, jobService);
+            return createJob(jobIdentifier, jobClass, parameterMap);
+        }
+    }
+
+    private JobWrapper createJob(final JobIdentifier jobIdentifier, final Class<?> jobClass, final Map<String, Serializable> parameters)
+            throws Exception {
+        final StatelessJob statelessJob = (StatelessJob) jobClass.newInstance();
+        statelessJob.setAttributes(new HashMap<String, Serializable>(parameters));
+        if (servicesResolver != null) {
+            injectServices(statelessJob);
+        }
+        return new JobWrapper(jobIdentifier, statelessJob, logger, jobIdentifier.getTenantId(), eventService,
+                sessionAccessor, transactionService, persistenceService, jobService, jobExecutionMonitor);
+    }
+
+    private static final class LightweightJobDefinition {
+
+        private final Class<?> jobClass;
+
+        private final Map<String, Serializable> parameters;
+
+        LightweightJobDefinition(final Class<?> jobClass, final Map<String, Serializable> parameters) {
+            this.jobClass = jobClass;
+            this.parameters = new HashMap<String, Serializable>(parameters);
         }
     }
 
@@ -419,6 +468,11 @@ public class SchedulerServiceImpl implements SchedulerService {
         schedulerExecutor.initializeScheduler();
     }
 
+    @Override
+    public Map<String, JobExecutionMetrics> getJobExecutionMetrics() throws SSchedulerException {
+        return jobExecutionMonitor.getMetrics(getTenantId());
+    }
+
     @Override
     public boolean isExistingJob(final String jobName) throws SSchedulerException {
         return schedulerExecutor.isExistingJob(jobName, String.valueOf(getTenantId()));
@@ -0,0 +1,704 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bonitasoft.engine.commons.exceptions.SBonitaException;
+import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
+import org.bonitasoft.engine.scheduler.AbstractBonitaJobListener;
+import org.bonitasoft.engine.scheduler.AbstractBonitaPlatformJobListener;
+import org.bonitasoft.engine.scheduler.AbstractBonitaTenantJobListener;
+import org.bonitasoft.engine.scheduler.JobIdentifier;
+import org.bonitasoft.engine.scheduler.JobService;
+import org.bonitasoft.engine.scheduler.SchedulerExecutor;
+import org.bonitasoft.engine.scheduler.StatelessJob;
+import org.bonitasoft.engine.scheduler.exception.SSchedulerException;
+import org.bonitasoft.engine.scheduler.model.SJobData;
+import org.bonitasoft.engine.scheduler.model.SJobTimer;
+import org.bonitasoft.engine.scheduler.model.impl.SJobTimerImpl;
+import org.bonitasoft.engine.scheduler.trigger.CronTrigger;
+import org.bonitasoft.engine.scheduler.trigger.RepeatTrigger;
+import org.bonitasoft.engine.scheduler.trigger.Trigger;
+import org.bonitasoft.engine.services.PersistenceService;
+import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
+import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
+import org.bonitasoft.engine.transaction.TransactionService;
+import org.bonitasoft.engine.transaction.TransactionState;
+
+/**
+ * {@link SchedulerExecutor} firing the one shot triggers itself instead of creating one Quartz trigger per timer.
+ * One shot triggers are stored in the job_timer table. Each node polls the timers which are due soon, claims them for a limited time (lease) and keeps
+ * them in an in-memory {@link TimingWheel} until they are due. When a timer is due, it is deleted in the transaction executing the job, only if the node
+ * still owns it: a timer that was deleted, rescheduled or claimed by another node in the meantime is not executed.
+ * Cron and repeat triggers, as well as the jobs executed immediately, are given to the delegate executor.
+ * The job descriptors and parameters are unchanged, so the jobs, their listeners and the failed job handling are the same whatever the trigger.
+ * A timer whose job fails is kept: the failure is logged as for any job, and the timer is released and fired again later, with a delay growing with the
+ * number of failures.
+ */
+public class TimerWheelSchedulerExecutor implements SchedulerExecutor {
+
+    /**
+     * the delay before retrying a failed timer is the poll interval doubled at each failure, up to 2^10 times the poll interval
+     */
+    private static final int MAX_RETRY_DELAY_SHIFT = 10;
+
+    private final SchedulerExecutor delegate;
+
+    private final JobService jobService;
+
+    private final PersistenceService persistenceService;
+
+    private final TransactionService transactionService;
+
+    private final SessionAccessor sessionAccessor;
+
+    private final TechnicalLoggerService logger;
+
+    private final long tickDuration;
+
+    private final int wheelSize;
+
+    private final long lookAhead;
+
+    private final long pollInterval;
+
+    private final int claimBatchSize;
+
+    private final long leaseDuration;
+
+    private final int threadPoolSize;
+
+    private final String nodeName = UUID.randomUUID().toString();
+
+    private final Map<String, List<AbstractBonitaTenantJobListener>> tenantJobListeners = new ConcurrentHashMap<String, List<AbstractBonitaTenantJobListener>>();
+
+    private final List<AbstractBonitaPlatformJobListener> platformJobListeners = new CopyOnWriteArrayList<AbstractBonitaPlatformJobListener>();
+
+    private final Set<String> pausedGroups = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private SchedulerServiceImpl schedulerService;
+
+    private TimingWheel<ClaimedTimer> timingWheel;
+
+    private volatile ScheduledExecutorService ticker;
+
+    private volatile ExecutorService firingExecutor;
+
+    public TimerWheelSchedulerExecutor(final SchedulerExecutor delegate, final JobService jobService, final PersistenceService persistenceService,
+            final TransactionService transactionService, final SessionAccessor sessionAccessor, final TechnicalLoggerService logger,
+            final long tickDuration, final int wheelSize, final long lookAhead, final long pollInterval, final int claimBatchSize,
+            final long leaseDuration, final int threadPoolSize) {
+        if (leaseDuration <= lookAhead) {
+            throw new IllegalArgumentException("The lease duration of the timers (" + leaseDuration + ") must be greater than the look ahead ("
+                    + lookAhead + ")");
+        }
+        this.delegate = delegate;
+        this.jobService = jobService;
+        this.persistenceService = persistenceService;
+        this.transactionService = transactionService;
+        this.sessionAccessor = sessionAccessor;
+        this.logger = logger;
+        this.tickDuration = tickDuration;
+        this.wheelSize = wheelSize;
+        this.lookAhead = lookAhead;
+        this.pollInterval = pollInterval;
+        this.claimBatchSize = claimBatchSize;
+        this.leaseDuration = leaseDuration;
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    @Override
+    public void setBOSSchedulerService(final SchedulerServiceImpl schedulerService) {
+        this.schedulerService = schedulerService;
+        delegate.setBOSSchedulerService(schedulerService);
+    }
+
+    @Override
+    public void schedule(final long jobId, final String groupName, final String jobName, final Trigger trigger, final boolean disallowConcurrentExecution)
+            throws SSchedulerException {
+        if (!isTimer(trigger)) {
+            delegate.schedule(jobId, groupName, jobName, trigger, disallowConcurrentExecution);
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(jobId, jobName, trigger.getName(), trigger.getStartDate().getTime());
+        final boolean claimed = jobTimer.getDueDate() <= now + lookAhead && isStarted();
+        if (claimed) {
+            // the timer is due before the next poll: claim it right away instead of waiting for the next poll
+            jobTimer.setOwnerNode(nodeName);
+            jobTimer.setClaimedUntil(now + leaseDuration);
+        }
+        try {
+            final long tenantId = Long.parseLong(groupName);
+            final SJobTimer createdJobTimer = jobService.createJobTimer(jobTimer, tenantId);
+            if (claimed) {
+                transactionService.registerBonitaSynchronization(new AddToWheelOnCommit(new ClaimedTimer(tenantId, createdJobTimer)));
+            }
+        } catch (final SBonitaException sbe) {
+            throw new SSchedulerException(sbe);
+        }
+    }
+
+    private boolean isTimer(final Trigger trigger) {
+        return !(trigger instanceof CronTrigger) && !(trigger instanceof RepeatTrigger);
+    }
+
+    @Override
+    public void executeNow(final long jobId, final String groupName, final String jobName, final boolean disallowConcurrentExecution)
+            throws SSchedulerException {
+        delegate.executeNow(jobId, groupName, jobName, disallowConcurrentExecution);
+    }
+
+    @Override
+    public void executeAgain(final long jobId, final String groupName, final String jobName, final boolean disallowConcurrentExecution)
+            throws SSchedulerException {
+        try {
+            final List<SJobTimer> jobTimers = jobService.getJobTimers(jobName);
+            if (jobTimers.isEmpty()) {
+                delegate.executeAgain(jobId, groupName, jobName, disallowConcurrentExecution);
+                return;
+            }
+            // the failed timer is still there to be retried: make it due now instead of executing the job a second time
+            final long now = System.currentTimeMillis();
+            for (final SJobTimer jobTimer : jobTimers) {
+                releaseJobTimer(jobTimer, now);
+            }
+        } catch (final SBonitaException sbe) {
+            throw new SSchedulerException(sbe);
+        }
+    }
+
+    @Override
+    public boolean delete(final String jobName, final String groupName) throws SSchedulerException {
+        boolean deleted = false;
+        try {
+            for (final SJobTimer jobTimer : jobService.getJobTimers(jobName)) {
+                jobService.deleteJobTimer(jobTimer);
+                deleted = true;
+            }
+        } catch (final SBonitaException sbe) {
+            throw new SSchedulerException(sbe);
+        }
+        return delegate.delete(jobName, groupName) || deleted;
+    }
+
+    @Override
+    public void deleteJobs(final String groupName) throws SSchedulerException {
+        try {
+            jobService.deleteAllJobTimers();
+        } catch (final SBonitaException sbe) {
+            throw new SSchedulerException(sbe);
+        }
+        delegate.deleteJobs(groupName);
+    }
+
+    @Override
+    public boolean isExistingJob(final String jobName, final String groupName) throws SSchedulerException {
+        return hasJobTimers(jobName) || delegate.isExistingJob(jobName, groupName);
+    }
+
+    @Override
+    public boolean isStillScheduled(final String groupName, final String jobName) throws SSchedulerException {
+        return hasJobTimers(jobName) || delegate.isStillScheduled(groupName, jobName);
+    }
+
+    private boolean hasJobTimers(final String jobName) throws SSchedulerException {
+        try {
+            return !jobService.getJobTimers(jobName).isEmpty();
+        } catch (final SBonitaException sbe) {
+            throw new SSchedulerException(sbe);
+        }
+    }
+
+    @Override
+    public List<String> getJobs(final String groupName) throws SSchedulerException {
+        final Set<String> jobNames = new LinkedHashSet<String>(delegate.getJobs(groupName));
+        jobNames.addAll(getJobNamesOfJobTimers());
+        return new ArrayList<String>(jobNames);
+    }
+
+    /**
+     * The jobs of the timers are the ones of the tenant of the current session, claimed or not, and the ones of all the tenants held in the timing wheel
+     * of this node.
+     */
+    @Override
+    public List<String> getAllJobs() throws SSchedulerException {
+        final Set<String> jobNames = new LinkedHashSet<String>(delegate.getAllJobs());
+        jobNames.addAll(getJobNamesOfJobTimers());
+        for (final ClaimedTimer timer : getTimersInWheel()) {
+            jobNames.add(timer.jobName);
+        }
+        return new ArrayList<String>(jobNames);
+    }
+
+    private List<String> getJobNamesOfJobTimers() throws SSchedulerException {
+        try {
+            return jobService.getJobNamesOfJobTimers();
+        } catch (final SBonitaException sbe) {
+            throw new SSchedulerException(sbe);
+        }
+    }
+
+    synchronized List<ClaimedTimer> getTimersInWheel() {
+        if (timingWheel == null) {
+            return Collections.emptyList();
+        }
+        return timingWheel.getValues();
+    }
+
+    @Override
+    public Date rescheduleJob(final String triggerName, final String groupName, final Date triggerStartTime) throws SSchedulerException {
+        try {
+            final SJobTimer jobTimer = jobService.getJobTimerByTriggerName(triggerName);
+            if (jobTimer == null) {
+                return delegate.rescheduleJob(triggerName, groupName, triggerStartTime);
+            }
+            releaseJobTimer(jobTimer, triggerStartTime.getTime());
+            return triggerStartTime;
+        } catch (final SBonitaException sbe) {
+            throw new SSchedulerException(sbe);
+        }
+    }
+
+    private void releaseJobTimer(final SJobTimer jobTimer, final long dueDate) throws SBonitaException {
+        // release the claim: the node which may hold the timer in its wheel will not be able to fire it anymore
+        final EntityUpdateDescriptor descriptor = new EntityUpdateDescriptor();
+        descriptor.addField("dueDate", dueDate);
+        descriptor.addField("ownerNode", null);
+        descriptor.addField("claimedUntil", 0L);
+        jobService.updateJobTimer(jobTimer, descriptor);
+    }
+
+    @Override
+    public void rescheduleErroneousTriggers() throws SSchedulerException {
+        delegate.rescheduleErroneousTriggers();
+    }
+
+    @Override
+    public void pauseJobs(final String groupName) throws SSchedulerException {
+        pausedGroups.add(groupName);
+        delegate.pauseJobs(groupName);
+    }
+
+    @Override
+    public void resumeJobs(final String groupName) throws SSchedulerException {
+        pausedGroups.remove(groupName);
+        delegate.resumeJobs(groupName);
+    }
+
+    @Override
+    public void addJobListener(final List<AbstractBonitaTenantJobListener> jobListeners, final String groupName) throws SSchedulerException {
+        tenantJobListeners.put(groupName, new ArrayList<AbstractBonitaTenantJobListener>(jobListeners));
+        delegate.addJobListener(jobListeners, groupName);
+    }
+
+    @Override
+    public void addJobListener(final List<AbstractBonitaPlatformJobListener> jobListeners) throws SSchedulerException {
+        platformJobListeners.addAll(jobListeners);
+        delegate.addJobListener(jobListeners);
+    }
+
+    @Override
+    public void initializeScheduler() throws SSchedulerException {
+        delegate.initializeScheduler();
+    }
+
+    @Override
+    public boolean isStarted() throws SSchedulerException {
+        return ticker != null && delegate.isStarted();
+    }
+
+    @Override
+    public boolean isShutdown() throws SSchedulerException {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public synchronized void start() throws SSchedulerException {
+        delegate.start();
+        if (ticker == null) {
+            timingWheel = new TimingWheel<ClaimedTimer>(tickDuration, wheelSize, System.currentTimeMillis());
+            firingExecutor = Executors.newFixedThreadPool(threadPoolSize, new TimerThreadFactory("Bonita-Timer-Firing"));
+            ticker = Executors.newSingleThreadScheduledExecutor(new TimerThreadFactory("Bonita-Timer-Wheel"));
+            ticker.scheduleWithFixedDelay(new PollTimers(), 0, pollInterval, TimeUnit.MILLISECONDS);
+            ticker.scheduleAtFixedRate(new AdvanceClock(), tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() throws SSchedulerException {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            firingExecutor.shutdown();
+            try {
+                firingExecutor.awaitTermination(leaseDuration, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ticker = null;
+            firingExecutor = null;
+            timingWheel = null;
+        }
+        delegate.shutdown();
+    }
+
+    void addToWheel(final List<ClaimedTimer> timers) {
+        final List<ClaimedTimer> expired = new ArrayList<ClaimedTimer>();
+        synchronized (this) {
+            if (timingWheel == null) {
+                // shut down: the claims expire and the timers are fired by the next node polling them
+                return;
+            }
+            for (final ClaimedTimer timer : timers) {
+                if (!timingWheel.add(timer.dueDate, timer)) {
+                    expired.add(timer);
+                }
+            }
+        }
+        fire(expired);
+    }
+
+    void advanceClock(final long now) {
+        final List<ClaimedTimer> expired;
+        synchronized (this) {
+            if (timingWheel == null) {
+                return;
+            }
+            expired = timingWheel.advanceClock(now);
+        }
+        fire(expired);
+    }
+
+    private void fire(final List<ClaimedTimer> timers) {
+        for (final ClaimedTimer timer : timers) {
+            final ExecutorService executor = firingExecutor;
+            if (executor != null) {
+                executor.execute(new FireTimer(timer));
+            }
+        }
+    }
+
+    List<ClaimedTimer> claimDueTimers(final long tenantId) throws Exception {
+        sessionAccessor.setTenantId(tenantId);
+        try {
+            return transactionService.executeInTransaction(new Callable<List<ClaimedTimer>>() {
+
+                @Override
+                public List<ClaimedTimer> call() throws Exception {
+                    final long now = System.currentTimeMillis();
+                    final List<SJobTimer> claimableTimers = jobService.getClaimableJobTimers(now + lookAhead, now, claimBatchSize);
+                    if (claimableTimers.isEmpty()) {
+                        return Collections.emptyList();
+                    }
+                    final List<Long> ids = new ArrayList<Long>(claimableTimers.size());
+                    for (final SJobTimer jobTimer : claimableTimers) {
+                        ids.add(jobTimer.getId());
+                    }
+                    final long claimedUntil = now + leaseDuration;
+                    final Map<String, Object> parameters = new HashMap<String, Object>(5);
+                    parameters.put("tenantId", tenantId);
+                    parameters.put("ids", ids);
+                    parameters.put("ownerNode", nodeName);
+                    parameters.put("claimedUntil", claimedUntil);
+                    parameters.put("now", now);
+                    // conditional update: timers claimed by another node in the meantime are not taken
+                    persistenceService.update("claimJobTimers", parameters);
+                    final List<ClaimedTimer> claimedTimers = new ArrayList<ClaimedTimer>();
+                    for (final SJobTimer jobTimer : jobService.getJobTimersClaimedBy(nodeName, claimedUntil)) {
+                        claimedTimers.add(new ClaimedTimer(tenantId, jobTimer));
+                    }
+                    return claimedTimers;
+                }
+            });
+        } finally {
+            sessionAccessor.deleteTenantId();
+        }
+    }
+
+    void fireTimer(final ClaimedTimer timer) throws Exception {
+        final String groupName = String.valueOf(timer.tenantId);
+        if (pausedGroups.contains(groupName)) {
+            updateTimer("releaseJobTimer", timer, getTimerParameters(timer));
+            return;
+        }
+        final JobIdentifier jobIdentifier = new JobIdentifier(timer.jobDescriptorId, timer.tenantId, timer.jobName);
+        final StatelessJob job = schedulerService.getPersistedJob(jobIdentifier);
+        sessionAccessor.setTenantId(timer.tenantId);
+        final Exception jobException;
+        try {
+            jobException = transactionService.executeInTransaction(new Callable<Exception>() {
+
+                @Override
+                public Exception call() throws Exception {
+                    if (deleteClaimedTimer(timer) == 0) {
+                        // deleted, rescheduled or fired by another node
+                        return null;
+                    }
+                    return execute(timer, job);
+                }
+            });
+        } finally {
+            sessionAccessor.deleteTenantId();
+        }
+        if (jobException != null) {
+            // the failed transaction was rolled back, so the timer is still claimed by this node: release it to fire it again later
+            final Map<String, Object> parameters = getTimerParameters(timer);
+            parameters.put("dueDate", System.currentTimeMillis() + getRetryDelay(timer.failureCount));
+            updateTimer("retryJobTimer", timer, parameters);
+        }
+    }
+
+    long getRetryDelay(final int failureCount) {
+        return pollInterval << Math.min(failureCount, MAX_RETRY_DELAY_SHIFT);
+    }
+
+    private int deleteClaimedTimer(final ClaimedTimer timer) throws SBonitaException {
+        final Map<String, Object> parameters = getTimerParameters(timer);
+        parameters.put("now", System.currentTimeMillis());
+        return persistenceService.update("deleteClaimedJobTimer", parameters);
+    }
+
+    private void updateTimer(final String queryName, final ClaimedTimer timer, final Map<String, Object> parameters) throws Exception {
+        sessionAccessor.setTenantId(timer.tenantId);
+        try {
+            transactionService.executeInTransaction(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    persistenceService.update(queryName, parameters);
+                    return null;
+                }
+            });
+        } finally {
+            sessionAccessor.deleteTenantId();
+        }
+    }
+
+    private Map<String, Object> getTimerParameters(final ClaimedTimer timer) {
+        final Map<String, Object> parameters = new HashMap<String, Object>(4);
+        parameters.put("tenantId", timer.tenantId);
+        parameters.put("id", timer.id);
+        parameters.put("ownerNode", nodeName);
+        return parameters;
+    }
+
+    private Exception execute(final ClaimedTimer timer, final StatelessJob job) {
+        final Map<String, Serializable> context = buildContext(timer, job);
+        final List<AbstractBonitaTenantJobListener> tenantListeners = getTenantJobListeners(String.valueOf(timer.tenantId));
+        for (final AbstractBonitaPlatformJobListener listener : platformJobListeners) {
+            listener.jobToBeExecuted(context);
+        }
+        for (final AbstractBonitaTenantJobListener listener : tenantListeners) {
+            listener.jobToBeExecuted(context);
+        }
+        Exception jobException = null;
+        try {
+            if (job != null) {
+                job.execute();
+            }
+        } catch (final SBonitaException sbe) {
+            jobException = sbe;
+        }
+        sessionAccessor.setTenantId(timer.tenantId);
+        for (final AbstractBonitaPlatformJobListener listener : platformJobListeners) {
+            listener.jobWasExecuted(context, jobException);
+        }
+        for (final AbstractBonitaTenantJobListener listener : tenantListeners) {
+            listener.jobWasExecuted(context, jobException);
+        }
+        return jobException;
+    }
+
+    private List<AbstractBonitaTenantJobListener> getTenantJobListeners(final String groupName) {
+        final List<AbstractBonitaTenantJobListener> listeners = tenantJobListeners.get(groupName);
+        if (listeners == null) {
+            return Collections.emptyList();
+        }
+        return listeners;
+    }
+
+    private Map<String, Serializable> buildContext(final ClaimedTimer timer, final StatelessJob job) {
+        final Map<String, Serializable> context = new HashMap<String, Serializable>();
+        context.put(AbstractBonitaJobListener.BOS_JOB, job);
+        context.put(AbstractBonitaJobListener.JOB_DESCRIPTOR_ID, timer.jobDescriptorId);
+        context.put(AbstractBonitaJobListener.TENANT_ID, timer.tenantId);
+        context.put(AbstractBonitaJobListener.JOB_TYPE, getJobType(job));
+        context.put(AbstractBonitaJobListener.JOB_NAME, timer.jobName);
+        context.put(AbstractBonitaJobListener.JOB_GROUP, String.valueOf(timer.tenantId));
+        context.put(AbstractBonitaJobListener.TRIGGER_NAME, timer.triggerName);
+        context.put(AbstractBonitaJobListener.TRIGGER_GROUP, String.valueOf(timer.tenantId));
+        context.put(AbstractBonitaJobListener.TRIGGER_PREVIOUS_FIRE_TIME, new Date(timer.dueDate));
+        context.put(AbstractBonitaJobListener.TRIGGER_NEXT_FIRE_TIME, null);
+        context.put(AbstractBonitaJobListener.REFIRE_COUNT, Integer.valueOf(0));
+        context.put(AbstractBonitaJobListener.JOB_DATAS, new ArrayList<SJobData>());
+        context.put(AbstractBonitaJobListener.JOB_RESULT, String.valueOf((Object) null));
+        return context;
+    }
+
+    private String getJobType(final StatelessJob job) {
+        if (job == null) {
+            return "null";
+        } else if (job instanceof JobWrapper) {
+            return ((JobWrapper) job).getStatelessJob().getClass().getName();
+        }
+        return job.getClass().getName();
+    }
+
+    private void logError(final String message, final Throwable t) {
+        if (logger.isLoggable(getClass(), TechnicalLogSeverity.ERROR)) {
+            logger.log(getClass(), TechnicalLogSeverity.ERROR, message, t);
+        }
+    }
+
+    static final class ClaimedTimer {
+
+        private final long tenantId;
+
+        private final long id;
+
+        private final long jobDescriptorId;
+
+        private final String jobName;
+
+        private final String triggerName;
+
+        private final long dueDate;
+
+        private final int failureCount;
+
+        ClaimedTimer(final long tenantId, final SJobTimer jobTimer) {
+            this.tenantId = tenantId;
+            id = jobTimer.getId();
+            jobDescriptorId = jobTimer.getJobDescriptorId();
+            jobName = jobTimer.getJobName();
+            triggerName = jobTimer.getTriggerName();
+            dueDate = jobTimer.getDueDate();
+            failureCount = jobTimer.getFailureCount();
+        }
+
+        long getId() {
+            return id;
+        }
+
+    }
+
+    private final class AddToWheelOnCommit implements BonitaTransactionSynchronization {
+
+        private final ClaimedTimer timer;
+
+        AddToWheelOnCommit(final ClaimedTimer timer) {
+            this.timer = timer;
+        }
+
+        @Override
+        public void beforeCommit() {
+            // NOTHING
+        }
+
+        @Override
+        public void afterCompletion(final TransactionState txState) {
+            if (TransactionState.COMMITTED.equals(txState)) {
+                addToWheel(Collections.singletonList(timer));
+            }
+        }
+    }
+
+    private final class PollTimers implements Runnable {
+
+        @Override
+        public void run() {
+            for (final String groupName : tenantJobListeners.keySet()) {
+                if (pausedGroups.contains(groupName)) {
+                    continue;
+                }
+                try {
+                    addToWheel(claimDueTimers(Long.parseLong(groupName)));
+                } catch (final Throwable t) {
+                    logError("Unable to claim the timers of tenant " + groupName, t);
+                }
+            }
+        }
+    }
+
+    private final class AdvanceClock implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                advanceClock(System.currentTimeMillis());
+            } catch (final Throwable t) {
+                logError("Unable to advance the clock of the timers", t);
+            }
+        }
+    }
+
+    private final class FireTimer implements Runnable {
+
+        private final ClaimedTimer timer;
+
+        FireTimer(final ClaimedTimer timer) {
+            this.timer = timer;
+        }
+
+        @Override
+        public void run() {
+            try {
+                fireTimer(timer);
+            } catch (final Throwable t) {
+                // the claim is left as is: the timer will be fired again when it expires
+                logError("Unable to fire the timer " + timer.triggerName + " of job " + timer.jobName, t);
+            }
+        }
+    }
+
+    private static final class TimerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger nbThread = new AtomicInteger(1);
+
+        private final String name;
+
+        TimerThreadFactory(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, name + "-" + nbThread.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
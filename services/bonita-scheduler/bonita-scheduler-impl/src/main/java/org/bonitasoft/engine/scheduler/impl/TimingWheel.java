@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding timers in memory.
+ * Each wheel has a fixed number of buckets covering one tick each; timers too far in the future are given to an overflow wheel whose tick is the whole
+ * interval of the wheel below it, and are cascaded down when their bucket is reached. Adding a timer and advancing the clock by one tick are both done
+ * in constant time, whatever the number of timers.
+ * The deadline of a timer is rounded up to the tick of the wheel, so that a timer is never given back before its expiration.
+ * This class is not thread safe.
+ */
+public class TimingWheel<T> {
+
+    private final long tickDuration;
+
+    private final int wheelSize;
+
+    private final long interval;
+
+    private final List<List<TimerEntry<T>>> buckets;
+
+    private long currentTime;
+
+    private TimingWheel<T> overflowWheel;
+
+    private int size;
+
+    public TimingWheel(final long tickDuration, final int wheelSize, final long startTime) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("The tick duration must be positive");
+        } else if (wheelSize <= 0) {
+            throw new IllegalArgumentException("The wheel size must be positive");
+        }
+        this.tickDuration = tickDuration;
+        this.wheelSize = wheelSize;
+        interval = tickDuration * wheelSize;
+        currentTime = startTime - startTime % tickDuration;
+        buckets = new ArrayList<List<TimerEntry<T>>>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<TimerEntry<T>>());
+        }
+    }
+
+    /**
+     * Add a timer to the wheel.
+     *
+     * @param expiration
+     *        the date, in milliseconds, at which the timer expires
+     * @param value
+     *        the value given back when the timer expires
+     * @return false if the timer is already expired and was not added, true otherwise
+     */
+    public boolean add(final long expiration, final T value) {
+        final long remainder = expiration % tickDuration;
+        final long deadline = remainder == 0 ? expiration : expiration - remainder + tickDuration;
+        if (addEntry(new TimerEntry<T>(deadline, value))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Move the clock of the wheel forward, tick by tick, up to the given time.
+     *
+     * @param time
+     *        the current date, in milliseconds
+     * @return the values of the timers which expired, in order of expiration
+     */
+    public List<T> advanceClock(final long time) {
+        final List<TimerEntry<T>> entries = advanceTo(time);
+        final List<T> expired = new ArrayList<T>(entries.size());
+        for (final TimerEntry<T> entry : entries) {
+            expired.add(entry.value);
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * @return the number of timers which are not expired yet
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the values of the timers which are not expired yet, in no particular order
+     */
+    public List<T> getValues() {
+        final List<T> values = new ArrayList<T>(size);
+        collectValues(values);
+        return values;
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    private boolean addEntry(final TimerEntry<T> entry) {
+        if (entry.deadline < currentTime + tickDuration) {
+            return false;
+        }
+        if (entry.deadline < currentTime + interval) {
+            buckets.get(getSlot(entry.deadline)).add(entry);
+        } else {
+            getOverflowWheel().addEntry(entry);
+        }
+        return true;
+    }
+
+    private List<TimerEntry<T>> advanceTo(final long time) {
+        final List<TimerEntry<T>> expired = new ArrayList<TimerEntry<T>>();
+        while (currentTime + tickDuration <= time) {
+            currentTime += tickDuration;
+            if (overflowWheel != null) {
+                for (final TimerEntry<T> entry : overflowWheel.advanceTo(currentTime)) {
+                    if (!addEntry(entry)) {
+                        expired.add(entry);
+                    }
+                }
+            }
+            final List<TimerEntry<T>> bucket = buckets.get(getSlot(currentTime));
+            expired.addAll(bucket);
+            bucket.clear();
+        }
+        return expired;
+    }
+
+    private void collectValues(final List<T> values) {
+        for (final List<TimerEntry<T>> bucket : buckets) {
+            for (final TimerEntry<T> entry : bucket) {
+                values.add(entry.value);
+            }
+        }
+        if (overflowWheel != null) {
+            overflowWheel.collectValues(values);
+        }
+    }
+
+    private int getSlot(final long deadline) {
+        return (int) (deadline / tickDuration % wheelSize);
+    }
+
+    private TimingWheel<T> getOverflowWheel() {
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel<T>(interval, wheelSize, currentTime);
+        }
+        return overflowWheel;
+    }
+
+    private static final class TimerEntry<T> {
+
+        private final long deadline;
+
+        private final T value;
+
+        TimerEntry(final long deadline, final T value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+    }
+
+}
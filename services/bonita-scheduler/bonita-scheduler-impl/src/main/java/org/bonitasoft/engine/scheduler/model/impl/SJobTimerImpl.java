@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.model.impl;
+
+import org.bonitasoft.engine.scheduler.model.SJobTimer;
+
+public class SJobTimerImpl extends SPersistentObjectImpl implements SJobTimer {
+
+    private static final long serialVersionUID = -2935617826339401283L;
+
+    private long jobDescriptorId;
+
+    private String jobName;
+
+    private String triggerName;
+
+    private long dueDate;
+
+    private String ownerNode;
+
+    private long claimedUntil;
+
+    private int failureCount;
+
+    public SJobTimerImpl() {
+        super();
+    }
+
+    public SJobTimerImpl(final long jobDescriptorId, final String jobName, final String triggerName, final long dueDate) {
+        super();
+        this.jobDescriptorId = jobDescriptorId;
+        this.jobName = jobName;
+        this.triggerName = triggerName;
+        this.dueDate = dueDate;
+    }
+
+    @Override
+    public String getDiscriminator() {
+        return SJobTimerImpl.class.getName();
+    }
+
+    @Override
+    public long getJobDescriptorId() {
+        return jobDescriptorId;
+    }
+
+    public void setJobDescriptorId(final long jobDescriptorId) {
+        this.jobDescriptorId = jobDescriptorId;
+    }
+
+    @Override
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(final String jobName) {
+        this.jobName = jobName;
+    }
+
+    @Override
+    public String getTriggerName() {
+        return triggerName;
+    }
+
+    public void setTriggerName(final String triggerName) {
+        this.triggerName = triggerName;
+    }
+
+    @Override
+    public long getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(final long dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    @Override
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(final String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
+    @Override
+    public long getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(final long claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    @Override
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(final int failureCount) {
+        this.failureCount = failureCount;
+    }
+
+}
@@ -14,14 +14,17 @@
 package org.bonitasoft.engine.scheduler.recorder;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.bonitasoft.engine.persistence.PersistentObject;
 import org.bonitasoft.engine.persistence.QueryOptions;
 import org.bonitasoft.engine.persistence.SelectByIdDescriptor;
 import org.bonitasoft.engine.persistence.SelectListDescriptor;
+import org.bonitasoft.engine.persistence.SelectOneDescriptor;
 import org.bonitasoft.engine.scheduler.model.SFailedJob;
 import org.bonitasoft.engine.scheduler.model.SJobDescriptor;
+import org.bonitasoft.engine.scheduler.model.SJobTimer;
 
 /**
  * @author Celine Souchet
@@ -38,4 +41,35 @@ public class SelectDescriptorBuilder {
         return new SelectListDescriptor<SFailedJob>("getFailedJobs", parameters, SJobDescriptor.class, queryOptions);
     }
 
+    public static SelectListDescriptor<SJobTimer> getJobTimersOfJob(final String jobName) {
+        final Map<String, Object> parameters = Collections.singletonMap("jobName", (Object) jobName);
+        return new SelectListDescriptor<SJobTimer>("getJobTimersOfJob", parameters, SJobTimer.class, new QueryOptions(0,
+                QueryOptions.UNLIMITED_NUMBER_OF_RESULTS));
+    }
+
+    public static SelectListDescriptor<String> getJobNamesOfJobTimers() {
+        return new SelectListDescriptor<String>("getJobNamesOfJobTimers", Collections.<String, Object> emptyMap(), SJobTimer.class, String.class,
+                new QueryOptions(0, QueryOptions.UNLIMITED_NUMBER_OF_RESULTS));
+    }
+
+    public static SelectOneDescriptor<SJobTimer> getJobTimerByTriggerName(final String triggerName) {
+        final Map<String, Object> parameters = Collections.singletonMap("triggerName", (Object) triggerName);
+        return new SelectOneDescriptor<SJobTimer>("getJobTimerByTriggerName", parameters, SJobTimer.class);
+    }
+
+    public static SelectListDescriptor<SJobTimer> getClaimableJobTimers(final long maxDueDate, final long now, final int maxResults) {
+        final Map<String, Object> parameters = new HashMap<String, Object>(2);
+        parameters.put("maxDueDate", maxDueDate);
+        parameters.put("now", now);
+        return new SelectListDescriptor<SJobTimer>("getClaimableJobTimers", parameters, SJobTimer.class, new QueryOptions(0, maxResults));
+    }
+
+    public static SelectListDescriptor<SJobTimer> getJobTimersClaimedBy(final String ownerNode, final long claimedUntil) {
+        final Map<String, Object> parameters = new HashMap<String, Object>(2);
+        parameters.put("ownerNode", ownerNode);
+        parameters.put("claimedUntil", claimedUntil);
+        return new SelectListDescriptor<SJobTimer>("getJobTimersClaimedBy", parameters, SJobTimer.class, new QueryOptions(0,
+                QueryOptions.UNLIMITED_NUMBER_OF_RESULTS));
+    }
+
 }
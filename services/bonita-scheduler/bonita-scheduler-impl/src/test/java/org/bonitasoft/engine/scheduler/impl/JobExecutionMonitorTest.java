@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.bonitasoft.engine.scheduler.JobExecutionMetrics;
+import org.bonitasoft.engine.scheduler.JobIdentifier;
+import org.junit.Test;
+
+public class JobExecutionMonitorTest {
+
+    private static final String JOB_TYPE = "org.bonitasoft.engine.jobs.MyJob";
+
+    private final JobExecutionMonitor monitor = new JobExecutionMonitor();
+
+    private final JobIdentifier jobIdentifier = new JobIdentifier(145, 2, "MyJob");
+
+    @Test
+    public void should_start_execution_when_job_is_not_running() {
+        assertThat(monitor.startExecution(jobIdentifier, JOB_TYPE)).isTrue();
+    }
+
+    @Test
+    public void should_coalesce_execution_when_job_is_running() {
+        monitor.startExecution(jobIdentifier, JOB_TYPE);
+
+        assertThat(monitor.startExecution(jobIdentifier, JOB_TYPE)).isFalse();
+        assertThat(monitor.startExecution(jobIdentifier, JOB_TYPE)).isFalse();
+
+        assertThat(monitor.continueExecution(jobIdentifier)).isTrue();
+        assertThat(monitor.continueExecution(jobIdentifier)).isFalse();
+        assertThat(monitor.getMetrics(2).get(JOB_TYPE).getNumberOfCoalescedExecutions()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_start_execution_again_once_finished() {
+        monitor.startExecution(jobIdentifier, JOB_TYPE);
+        monitor.continueExecution(jobIdentifier);
+
+        assertThat(monitor.startExecution(jobIdentifier, JOB_TYPE)).isTrue();
+    }
+
+    @Test
+    public void should_drop_coalesced_executions_when_execution_is_aborted() {
+        monitor.startExecution(jobIdentifier, JOB_TYPE);
+        monitor.startExecution(jobIdentifier, JOB_TYPE);
+
+        monitor.abortExecution(jobIdentifier);
+
+        assertThat(monitor.startExecution(jobIdentifier, JOB_TYPE)).isTrue();
+    }
+
+    @Test
+    public void should_aggregate_metrics_by_job_type_and_tenant() {
+        monitor.executed(2, JOB_TYPE, 10, true);
+        monitor.executed(2, JOB_TYPE, 30, false);
+        monitor.executed(3, JOB_TYPE, 5, true);
+
+        final Map<String, JobExecutionMetrics> metrics = monitor.getMetrics(2);
+
+        assertThat(metrics).hasSize(1);
+        final JobExecutionMetrics jobMetrics = metrics.get(JOB_TYPE);
+        assertThat(jobMetrics.getNumberOfExecutions()).isEqualTo(2);
+        assertThat(jobMetrics.getNumberOfFailures()).isEqualTo(1);
+        assertThat(jobMetrics.getTotalDuration()).isEqualTo(40);
+        assertThat(jobMetrics.getMaxDuration()).isEqualTo(30);
+        assertThat(jobMetrics.getAverageDuration()).isEqualTo(20);
+        assertThat(monitor.getMetrics(4)).isEmpty();
+    }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import org.bonitasoft.engine.events.EventActionType;
+import org.bonitasoft.engine.events.EventService;
+import org.bonitasoft.engine.events.model.SDeleteEvent;
+import org.bonitasoft.engine.events.model.SInsertEvent;
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.persistence.ReadPersistenceService;
+import org.bonitasoft.engine.persistence.SelectOneDescriptor;
+import org.bonitasoft.engine.recorder.Recorder;
+import org.bonitasoft.engine.recorder.SRecorderException;
+import org.bonitasoft.engine.recorder.model.DeleteRecord;
+import org.bonitasoft.engine.recorder.model.InsertRecord;
+import org.bonitasoft.engine.scheduler.exception.jobTimer.SJobTimerCreationException;
+import org.bonitasoft.engine.scheduler.model.SJobTimer;
+import org.bonitasoft.engine.scheduler.model.impl.SJobTimerImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JobServiceImplForJobTimerTest {
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private ReadPersistenceService readPersistenceService;
+
+    @Mock
+    private Recorder recorder;
+
+    @Mock
+    private TechnicalLoggerService technicalLoggerService;
+
+    @InjectMocks
+    private JobServiceImpl jobServiceImpl;
+
+    @Test
+    public void createJobTimer_should_record_the_timer_on_the_tenant() throws Exception {
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(5L, "job", "trigger", 1000L);
+        jobTimer.setOwnerNode("node");
+        jobTimer.setClaimedUntil(2000L);
+        doReturn(false).when(eventService).hasHandlers(anyString(), any(EventActionType.class));
+
+        final SJobTimer result = jobServiceImpl.createJobTimer(jobTimer, 12L);
+
+        final ArgumentCaptor<InsertRecord> insertRecord = ArgumentCaptor.forClass(InsertRecord.class);
+        verify(recorder).recordInsert(insertRecord.capture(), any(SInsertEvent.class));
+        final SJobTimerImpl recorded = (SJobTimerImpl) insertRecord.getValue().getEntity();
+        assertThat(recorded).isSameAs(result);
+        assertThat(recorded.getTenantId()).isEqualTo(12L);
+        assertThat(recorded.getJobDescriptorId()).isEqualTo(5L);
+        assertThat(recorded.getTriggerName()).isEqualTo("trigger");
+        assertThat(recorded.getDueDate()).isEqualTo(1000L);
+        assertThat(recorded.getOwnerNode()).isEqualTo("node");
+        assertThat(recorded.getClaimedUntil()).isEqualTo(2000L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createJobTimer_should_not_accept_a_null_timer() throws Exception {
+        jobServiceImpl.createJobTimer(null, 12L);
+    }
+
+    @Test(expected = SJobTimerCreationException.class)
+    public void createJobTimer_should_throw_exception_when_recorder_failed() throws Exception {
+        doThrow(new SRecorderException("")).when(recorder).recordInsert(any(InsertRecord.class), any(SInsertEvent.class));
+
+        jobServiceImpl.createJobTimer(new SJobTimerImpl(5L, "job", "trigger", 1000L), 12L);
+    }
+
+    @Test
+    public void getJobTimerByTriggerName_should_select_the_timer_having_the_trigger_name() throws Exception {
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(5L, "job", "trigger", 1000L);
+        doReturn(jobTimer).when(readPersistenceService).selectOne(any(SelectOneDescriptor.class));
+
+        assertThat(jobServiceImpl.getJobTimerByTriggerName("trigger")).isEqualTo(jobTimer);
+    }
+
+    @Test
+    public void deleteJobTimer_should_delete_the_timer() throws Exception {
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(5L, "job", "trigger", 1000L);
+
+        jobServiceImpl.deleteJobTimer(jobTimer);
+
+        verify(recorder).recordDelete(any(DeleteRecord.class), any(SDeleteEvent.class));
+    }
+
+}
@@ -17,24 +17,38 @@ package org.bonitasoft.engine.scheduler.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Callable;
 
 import org.bonitasoft.engine.events.EventService;
 import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
 import org.bonitasoft.engine.scheduler.JobIdentifier;
 import org.bonitasoft.engine.scheduler.JobService;
+import org.bonitasoft.engine.scheduler.LightweightJob;
 import org.bonitasoft.engine.scheduler.StatelessJob;
 import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
 import org.bonitasoft.engine.services.PersistenceService;
 import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
 import org.bonitasoft.engine.transaction.BonitaTransactionSynchronization;
 import org.bonitasoft.engine.transaction.TransactionService;
+import org.bonitasoft.engine.transaction.TransactionState;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 /**
  * @author Baptiste Mesta
@@ -59,11 +73,13 @@ public class JobWrapperTest {
     private JobService jobService;
     @Mock
     private StatelessJob job;
+    @Mock
+    private JobExecutionMonitor executionMonitor;
 
 
     @Before
     public void before(){
-        jobWrapper = new JobWrapper(new JobIdentifier(145, 2, "MyJob"), job, logger, 2, eventService, sessionAccessor, transactionService, persistenceService, jobService);
+        jobWrapper = new JobWrapper(new JobIdentifier(145, 2, "MyJob"), job, logger, 2, eventService, sessionAccessor, transactionService, persistenceService, jobService, executionMonitor);
     }
 
 
@@ -114,4 +130,124 @@ public class JobWrapperTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void should_execute_lightweight_job_without_flush() throws Exception {
+        //given
+        final LightweightJob lightweightJob = mock(LightweightJob.class);
+        jobWrapper = createJobWrapper(lightweightJob);
+        when(executionMonitor.startExecution(any(JobIdentifier.class), any(String.class))).thenReturn(true);
+        //when
+        jobWrapper.execute();
+        //then
+        verify(lightweightJob).execute();
+        verify(persistenceService, never()).flushStatements();
+    }
+
+    @Test
+    public void should_not_execute_lightweight_job_already_running() throws Exception {
+        //given
+        final LightweightJob lightweightJob = mock(LightweightJob.class);
+        jobWrapper = createJobWrapper(lightweightJob);
+        when(executionMonitor.startExecution(any(JobIdentifier.class), any(String.class))).thenReturn(false);
+        //when
+        jobWrapper.execute();
+        //then
+        verify(lightweightJob, never()).execute();
+    }
+
+    @Test
+    public void should_execute_lightweight_job_again_in_a_new_transaction_when_triggered_while_running() throws Exception {
+        //given
+        final LightweightJob lightweightJob = mock(LightweightJob.class);
+        jobWrapper = createJobWrapper(lightweightJob);
+        when(executionMonitor.startExecution(any(JobIdentifier.class), any(String.class))).thenReturn(true);
+        when(executionMonitor.continueExecution(any(JobIdentifier.class))).thenReturn(true, false);
+        doAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                return ((Callable<?>) invocation.getArguments()[0]).call();
+            }
+        }).when(transactionService).executeInTransaction(any(Callable.class));
+        //when
+        jobWrapper.execute();
+        verify(lightweightJob, times(1)).execute();
+        getSynchronization().afterCompletion(TransactionState.COMMITTED);
+        //then
+        verify(lightweightJob, times(2)).execute();
+        verify(transactionService).executeInTransaction(any(Callable.class));
+    }
+
+    @Test
+    public void should_drop_coalesced_executions_when_the_transaction_is_rolled_back() throws Exception {
+        //given
+        final LightweightJob lightweightJob = mock(LightweightJob.class);
+        jobWrapper = createJobWrapper(lightweightJob);
+        when(executionMonitor.startExecution(any(JobIdentifier.class), any(String.class))).thenReturn(true);
+        //when
+        jobWrapper.execute();
+        getSynchronization().afterCompletion(TransactionState.ROLLEDBACK);
+        //then
+        verify(executionMonitor).abortExecution(any(JobIdentifier.class));
+        verify(lightweightJob, times(1)).execute();
+    }
+
+    @Test
+    public void should_drop_coalesced_executions_when_one_of_them_fails() throws Exception {
+        //given
+        final LightweightJob lightweightJob = mock(LightweightJob.class);
+        jobWrapper = createJobWrapper(lightweightJob);
+        when(executionMonitor.continueExecution(any(JobIdentifier.class))).thenReturn(true);
+        doThrow(new SJobExecutionException("failure")).when(transactionService).executeInTransaction(any(Callable.class));
+        //when
+        jobWrapper.executeCoalescedExecutions(lightweightJob.getClass().getName());
+        //then
+        verify(executionMonitor).abortExecution(any(JobIdentifier.class));
+    }
+
+    @Test
+    public void should_stop_running_coalesced_executions_after_the_maximum_per_firing() throws Exception {
+        //given
+        final LightweightJob lightweightJob = mock(LightweightJob.class);
+        jobWrapper = createJobWrapper(lightweightJob);
+        when(executionMonitor.continueExecution(any(JobIdentifier.class))).thenReturn(true);
+        //when
+        jobWrapper.executeCoalescedExecutions(lightweightJob.getClass().getName());
+        //then
+        verify(transactionService, times(JobWrapper.MAX_COALESCED_EXECUTIONS)).executeInTransaction(any(Callable.class));
+        verify(executionMonitor).abortExecution(any(JobIdentifier.class));
+    }
+
+    @Test
+    public void should_run_coalesced_executions_until_no_more_is_requested() throws Exception {
+        //given
+        final LightweightJob lightweightJob = mock(LightweightJob.class);
+        jobWrapper = createJobWrapper(lightweightJob);
+        when(executionMonitor.continueExecution(any(JobIdentifier.class))).thenReturn(true, false);
+        //when
+        jobWrapper.executeCoalescedExecutions(lightweightJob.getClass().getName());
+        //then
+        verify(transactionService, times(2)).executeInTransaction(any(Callable.class));
+        verify(executionMonitor, never()).abortExecution(any(JobIdentifier.class));
+    }
+
+    private BonitaTransactionSynchronization getSynchronization() throws Exception {
+        final ArgumentCaptor<BonitaTransactionSynchronization> synchronization = ArgumentCaptor.forClass(BonitaTransactionSynchronization.class);
+        verify(transactionService).registerBonitaSynchronization(synchronization.capture());
+        return synchronization.getValue();
+    }
+
+    @Test
+    public void should_execute_record_the_execution_metrics() throws Exception {
+        //when
+        jobWrapper.execute();
+        //then
+        verify(executionMonitor).executed(eq(2L), eq(job.getClass().getName()), anyLong(), eq(true));
+    }
+
+    private JobWrapper createJobWrapper(final StatelessJob statelessJob) {
+        return new JobWrapper(new JobIdentifier(145, 2, "MyJob"), statelessJob, logger, 2, eventService, sessionAccessor, transactionService,
+                persistenceService, jobService, executionMonitor);
+    }
+
+}
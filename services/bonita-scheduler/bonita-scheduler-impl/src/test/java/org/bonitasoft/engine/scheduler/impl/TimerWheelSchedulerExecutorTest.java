@@ -0,0 +1,303 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.bonitasoft.engine.recorder.model.EntityUpdateDescriptor;
+import org.bonitasoft.engine.scheduler.AbstractBonitaPlatformJobListener;
+import org.bonitasoft.engine.scheduler.AbstractBonitaTenantJobListener;
+import org.bonitasoft.engine.scheduler.JobIdentifier;
+import org.bonitasoft.engine.scheduler.JobService;
+import org.bonitasoft.engine.scheduler.SchedulerExecutor;
+import org.bonitasoft.engine.scheduler.StatelessJob;
+import org.bonitasoft.engine.scheduler.exception.SJobExecutionException;
+import org.bonitasoft.engine.scheduler.model.SJobTimer;
+import org.bonitasoft.engine.scheduler.model.impl.SJobTimerImpl;
+import org.bonitasoft.engine.scheduler.trigger.OneShotTrigger;
+import org.bonitasoft.engine.scheduler.trigger.Trigger;
+import org.bonitasoft.engine.scheduler.trigger.UnixCronTrigger;
+import org.bonitasoft.engine.services.PersistenceService;
+import org.bonitasoft.engine.sessionaccessor.SessionAccessor;
+import org.bonitasoft.engine.transaction.TransactionService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TimerWheelSchedulerExecutorTest {
+
+    private static final long TENANT_ID = 12L;
+
+    @Mock
+    private SchedulerExecutor delegate;
+
+    @Mock
+    private JobService jobService;
+
+    @Mock
+    private PersistenceService persistenceService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private SessionAccessor sessionAccessor;
+
+    @Mock
+    private TechnicalLoggerService logger;
+
+    @Mock
+    private SchedulerServiceImpl schedulerService;
+
+    @Mock
+    private AbstractBonitaPlatformJobListener platformJobListener;
+
+    @Mock
+    private AbstractBonitaTenantJobListener tenantJobListener;
+
+    private TimerWheelSchedulerExecutor executor;
+
+    @Before
+    public void before() throws Exception {
+        executor = new TimerWheelSchedulerExecutor(delegate, jobService, persistenceService, transactionService, sessionAccessor, logger, 100, 512,
+                5000, 1000, 100, 60000, 2);
+        executor.setBOSSchedulerService(schedulerService);
+        doAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                return ((Callable<?>) invocation.getArguments()[0]).call();
+            }
+        }).when(transactionService).executeInTransaction(any(Callable.class));
+    }
+
+    @Test
+    public void should_give_cron_triggers_to_the_delegate() throws Exception {
+        final Trigger trigger = new UnixCronTrigger("cron", new Date(), "0 * * * * ?");
+
+        executor.schedule(1L, String.valueOf(TENANT_ID), "job", trigger, false);
+
+        verify(delegate).schedule(1L, String.valueOf(TENANT_ID), "job", trigger, false);
+        verify(jobService, never()).createJobTimer(any(SJobTimer.class), any(Long.class));
+    }
+
+    @Test
+    public void should_store_one_shot_triggers_as_job_timers_not_claimed_when_due_later() throws Exception {
+        final Date startDate = new Date(System.currentTimeMillis() + 3600000);
+        final ArgumentCaptor<SJobTimer> jobTimer = ArgumentCaptor.forClass(SJobTimer.class);
+        doReturn(new SJobTimerImpl()).when(jobService).createJobTimer(jobTimer.capture(), eq(TENANT_ID));
+
+        executor.schedule(1L, String.valueOf(TENANT_ID), "job", new OneShotTrigger("trigger", startDate), false);
+
+        assertThat(jobTimer.getValue().getJobDescriptorId()).isEqualTo(1L);
+        assertThat(jobTimer.getValue().getJobName()).isEqualTo("job");
+        assertThat(jobTimer.getValue().getTriggerName()).isEqualTo("trigger");
+        assertThat(jobTimer.getValue().getDueDate()).isEqualTo(startDate.getTime());
+        assertThat(jobTimer.getValue().getOwnerNode()).isNull();
+        verify(delegate, never()).schedule(any(Long.class), anyString(), anyString(), any(Trigger.class), any(Boolean.class));
+    }
+
+    @Test
+    public void should_delete_the_job_timers_and_the_delegate_job() throws Exception {
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(1L, "job", "trigger", 1000L);
+        doReturn(Collections.singletonList(jobTimer)).when(jobService).getJobTimers("job");
+
+        final boolean deleted = executor.delete("job", String.valueOf(TENANT_ID));
+
+        assertThat(deleted).isTrue();
+        verify(jobService).deleteJobTimer(jobTimer);
+        verify(delegate).delete("job", String.valueOf(TENANT_ID));
+    }
+
+    @Test
+    public void should_be_still_scheduled_when_a_job_timer_exists() throws Exception {
+        doReturn(Collections.singletonList(new SJobTimerImpl(1L, "job", "trigger", 1000L))).when(jobService).getJobTimers("job");
+
+        assertThat(executor.isStillScheduled(String.valueOf(TENANT_ID), "job")).isTrue();
+        verify(delegate, never()).isStillScheduled(anyString(), anyString());
+    }
+
+    @Test
+    public void should_reschedule_a_job_timer_and_release_its_claim() throws Exception {
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(1L, "job", "trigger", 1000L);
+        doReturn(jobTimer).when(jobService).getJobTimerByTriggerName("trigger");
+        final Date newDate = new Date(5000L);
+
+        final Date fireDate = executor.rescheduleJob("trigger", String.valueOf(TENANT_ID), newDate);
+
+        assertThat(fireDate).isEqualTo(newDate);
+        final ArgumentCaptor<EntityUpdateDescriptor> descriptor = ArgumentCaptor.forClass(EntityUpdateDescriptor.class);
+        verify(jobService).updateJobTimer(eq(jobTimer), descriptor.capture());
+        assertThat(descriptor.getValue().getFields()).containsEntry("dueDate", 5000L).containsEntry("claimedUntil", 0L).containsEntry("ownerNode", null);
+        verify(delegate, never()).rescheduleJob(anyString(), anyString(), any(Date.class));
+    }
+
+    @Test
+    public void should_make_the_job_timer_due_now_when_executing_again_its_job() throws Exception {
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(1L, "job", "trigger", 1000L);
+        doReturn(Collections.singletonList(jobTimer)).when(jobService).getJobTimers("job");
+
+        executor.executeAgain(1L, String.valueOf(TENANT_ID), "job", false);
+
+        final ArgumentCaptor<EntityUpdateDescriptor> descriptor = ArgumentCaptor.forClass(EntityUpdateDescriptor.class);
+        verify(jobService).updateJobTimer(eq(jobTimer), descriptor.capture());
+        assertThat(descriptor.getValue().getFields()).containsEntry("claimedUntil", 0L).containsEntry("ownerNode", null);
+        verify(delegate, never()).executeAgain(any(Long.class), anyString(), anyString(), any(Boolean.class));
+    }
+
+    @Test
+    public void should_give_the_execution_of_a_job_without_timer_to_the_delegate() throws Exception {
+        doReturn(Collections.emptyList()).when(jobService).getJobTimers("job");
+
+        executor.executeAgain(1L, String.valueOf(TENANT_ID), "job", false);
+
+        verify(delegate).executeAgain(1L, String.valueOf(TENANT_ID), "job", false);
+    }
+
+    @Test
+    public void should_list_the_jobs_of_the_timers_with_the_jobs_of_the_delegate() throws Exception {
+        doReturn(Arrays.asList("cron", "job")).when(delegate).getJobs(String.valueOf(TENANT_ID));
+        doReturn(Arrays.asList("job", "timer")).when(jobService).getJobNamesOfJobTimers();
+
+        assertThat(executor.getJobs(String.valueOf(TENANT_ID))).containsExactly("cron", "job", "timer");
+    }
+
+    @Test
+    public void should_list_all_the_jobs_with_the_ones_held_in_the_wheel() throws Exception {
+        doReturn(Arrays.asList("cron")).when(delegate).getAllJobs();
+        doReturn(Arrays.asList("timer")).when(jobService).getJobNamesOfJobTimers();
+        doReturn(true).when(delegate).isStarted();
+        executor.start();
+        try {
+            final SJobTimerImpl jobTimer = new SJobTimerImpl(1L, "timerOfOtherTenant", "trigger", System.currentTimeMillis() + 3600000);
+            executor.addToWheel(Collections.singletonList(new TimerWheelSchedulerExecutor.ClaimedTimer(13L, jobTimer)));
+
+            assertThat(executor.getAllJobs()).containsExactly("cron", "timer", "timerOfOtherTenant");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_give_the_reschedule_of_an_unknown_trigger_to_the_delegate() throws Exception {
+        final Date newDate = new Date(5000L);
+
+        executor.rescheduleJob("trigger", String.valueOf(TENANT_ID), newDate);
+
+        verify(delegate).rescheduleJob("trigger", String.valueOf(TENANT_ID), newDate);
+    }
+
+    @Test
+    public void should_claim_the_due_job_timers() throws Exception {
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(1L, "job", "trigger", 1000L);
+        jobTimer.setId(7L);
+        doReturn(Collections.singletonList(jobTimer)).when(jobService).getClaimableJobTimers(any(Long.class), any(Long.class), eq(100));
+        doReturn(Collections.singletonList(jobTimer)).when(jobService).getJobTimersClaimedBy(anyString(), any(Long.class));
+
+        final List<TimerWheelSchedulerExecutor.ClaimedTimer> claimedTimers = executor.claimDueTimers(TENANT_ID);
+
+        assertThat(claimedTimers).hasSize(1);
+        assertThat(claimedTimers.get(0).getId()).isEqualTo(7L);
+
+        final ArgumentCaptor<Map> parameters = ArgumentCaptor.forClass(Map.class);
+        verify(persistenceService).update(eq("claimJobTimers"), parameters.capture());
+        assertThat(parameters.getValue()).containsEntry("tenantId", TENANT_ID).containsEntry("ids", Arrays.asList(7L));
+    }
+
+    @Test
+    public void should_execute_the_job_of_a_due_timer_owned_by_the_node() throws Exception {
+        final StatelessJob job = mock(StatelessJob.class);
+        doReturn(job).when(schedulerService).getPersistedJob(any(JobIdentifier.class));
+        doReturn(1).when(persistenceService).update(eq("deleteClaimedJobTimer"), anyMapOf(String.class, Object.class));
+        executor.addJobListener(Collections.singletonList(platformJobListener));
+        executor.addJobListener(Collections.singletonList(tenantJobListener), String.valueOf(TENANT_ID));
+
+        executor.fireTimer(new TimerWheelSchedulerExecutor.ClaimedTimer(TENANT_ID, new SJobTimerImpl(1L, "job", "trigger", 1000L)));
+
+        verify(job).execute();
+        verify(platformJobListener).jobToBeExecuted(anyMapOf(String.class, Serializable.class));
+        verify(tenantJobListener).jobWasExecuted(anyMapOf(String.class, Serializable.class), eq((Exception) null));
+    }
+
+    @Test
+    public void should_not_execute_the_job_of_a_timer_no_more_owned_by_the_node() throws Exception {
+        final StatelessJob job = mock(StatelessJob.class);
+        doReturn(job).when(schedulerService).getPersistedJob(any(JobIdentifier.class));
+        doReturn(0).when(persistenceService).update(eq("deleteClaimedJobTimer"), anyMapOf(String.class, Object.class));
+
+        executor.fireTimer(new TimerWheelSchedulerExecutor.ClaimedTimer(TENANT_ID, new SJobTimerImpl(1L, "job", "trigger", 1000L)));
+
+        verify(job, never()).execute();
+    }
+
+    @Test
+    public void should_release_a_timer_whose_job_failed_to_retry_it_later() throws Exception {
+        final StatelessJob job = mock(StatelessJob.class);
+        doReturn(job).when(schedulerService).getPersistedJob(any(JobIdentifier.class));
+        doReturn(1).when(persistenceService).update(eq("deleteClaimedJobTimer"), anyMapOf(String.class, Object.class));
+        doThrow(new SJobExecutionException("failure")).when(job).execute();
+        final SJobTimerImpl jobTimer = new SJobTimerImpl(1L, "job", "trigger", 1000L);
+        jobTimer.setFailureCount(2);
+        final long before = System.currentTimeMillis();
+
+        executor.fireTimer(new TimerWheelSchedulerExecutor.ClaimedTimer(TENANT_ID, jobTimer));
+
+        final ArgumentCaptor<Map> parameters = ArgumentCaptor.forClass(Map.class);
+        verify(persistenceService).update(eq("retryJobTimer"), parameters.capture());
+        assertThat((Long) parameters.getValue().get("dueDate")).isGreaterThanOrEqualTo(before + 4000L);
+    }
+
+    @Test
+    public void should_increase_the_retry_delay_with_the_failures_up_to_a_maximum() {
+        assertThat(executor.getRetryDelay(0)).isEqualTo(1000L);
+        assertThat(executor.getRetryDelay(3)).isEqualTo(8000L);
+        assertThat(executor.getRetryDelay(50)).isEqualTo(1024000L);
+    }
+
+    @Test
+    public void should_release_the_timers_of_a_paused_tenant() throws Exception {
+        executor.pauseJobs(String.valueOf(TENANT_ID));
+
+        executor.fireTimer(new TimerWheelSchedulerExecutor.ClaimedTimer(TENANT_ID, new SJobTimerImpl(1L, "job", "trigger", 1000L)));
+
+        verify(persistenceService).update(eq("releaseJobTimer"), anyMapOf(String.class, Object.class));
+        verify(schedulerService, never()).getPersistedJob(any(JobIdentifier.class));
+    }
+
+}
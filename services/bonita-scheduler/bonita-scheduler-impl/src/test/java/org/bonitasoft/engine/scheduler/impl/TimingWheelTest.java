@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.scheduler.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+    private final TimingWheel<String> timingWheel = new TimingWheel<String>(10, 8, 1000);
+
+    @Test
+    public void should_not_add_an_already_expired_timer() {
+        assertThat(timingWheel.add(1000, "expired")).isFalse();
+        assertThat(timingWheel.add(995, "expired")).isFalse();
+        assertThat(timingWheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_give_back_a_timer_when_its_rounded_deadline_is_reached() {
+        timingWheel.add(1025, "timer");
+
+        assertThat(timingWheel.advanceClock(1025)).isEmpty();
+        assertThat(timingWheel.advanceClock(1030)).containsExactly("timer");
+        assertThat(timingWheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_give_back_timers_in_order_of_expiration() {
+        timingWheel.add(1050, "second");
+        timingWheel.add(1020, "first");
+        timingWheel.add(1070, "third");
+
+        assertThat(timingWheel.advanceClock(1100)).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    public void should_cascade_timers_of_the_overflow_wheels() {
+        timingWheel.add(1095, "overflow");
+        timingWheel.add(2500, "second overflow");
+        assertThat(timingWheel.size()).isEqualTo(2);
+
+        assertThat(timingWheel.advanceClock(1090)).isEmpty();
+        assertThat(timingWheel.advanceClock(1100)).containsExactly("overflow");
+        assertThat(timingWheel.advanceClock(2490)).isEmpty();
+        assertThat(timingWheel.advanceClock(2500)).containsExactly("second overflow");
+        assertThat(timingWheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_give_back_all_timers_expired_when_the_clock_jumps() {
+        timingWheel.add(1010, "a");
+        timingWheel.add(1500, "b");
+        timingWheel.add(9000, "c");
+
+        assertThat(timingWheel.advanceClock(20000)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void should_give_the_values_of_the_timers_not_expired_yet() {
+        timingWheel.add(1010, "a");
+        timingWheel.add(1500, "b");
+        timingWheel.add(9000, "c");
+
+        timingWheel.advanceClock(1010);
+
+        assertThat(timingWheel.getValues()).containsOnly("b", "c");
+    }
+
+}
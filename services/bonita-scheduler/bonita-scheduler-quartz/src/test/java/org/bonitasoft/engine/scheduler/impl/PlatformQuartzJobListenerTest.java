@@ -126,7 +126,7 @@ public class PlatformQuartzJobListenerTest {
                 new Date(), new Date());
         final ConcurrentQuartzJob job = new ConcurrentQuartzJob();
         job.setBosJob(new JobWrapper(new JobIdentifier(1, 1, "name"), mock(StatelessJob.class), mock(TechnicalLoggerService.class), 9, mock(EventService.class),
-                mock(SessionAccessor.class), mock(TransactionService.class), mock(PersistenceService.class), mock(JobService.class)));
+                mock(SessionAccessor.class), mock(TransactionService.class), mock(PersistenceService.class), mock(JobService.class), new JobExecutionMonitor()));
         final JobExecutionContext context = new JobExecutionContextImpl(scheduler, firedBundle, job);
 
         // When
@@ -13,6 +13,8 @@
  **/
 package org.bonitasoft.engine.tracking;
 
+import java.util.List;
+
 public class Record {
 
     private final long timestamp;
@@ -23,12 +25,27 @@ public class Record {
 
     private final long duration;
 
+    private final long[] fieldValues;
+
     public Record(long timestamp, TimeTrackerRecords name, String description, long duration) {
         super();
         this.timestamp = timestamp;
         this.name = name;
         this.description = description;
         this.duration = duration;
+        this.fieldValues = new long[0];
+    }
+
+    /**
+     * Create a record carrying numeric fields instead of a description. The values are given in the order of {@link TimeTrackerRecords#getFieldNames()}.
+     */
+    public Record(long timestamp, TimeTrackerRecords name, long duration, long... fieldValues) {
+        super();
+        this.timestamp = timestamp;
+        this.name = name;
+        this.description = null;
+        this.duration = duration;
+        this.fieldValues = fieldValues;
     }
 
     public long getTimestamp() {
@@ -39,8 +56,28 @@ public class Record {
         return name;
     }
 
+    /**
+     * @return the description given when tracking, or the numeric fields formatted as <code>name=value</code> pairs if the record was tracked with fields
+     */
     public String getDescription() {
-        return description;
+        if (description != null) {
+            return description;
+        }
+        final List<String> fieldNames = name.getFieldNames();
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fieldValues.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(i < fieldNames.size() ? fieldNames.get(i) : "field" + i);
+            sb.append("=");
+            sb.append(fieldValues[i]);
+        }
+        return sb.toString();
+    }
+
+    public long[] getFieldValues() {
+        return fieldValues.clone();
     }
 
     public long getDuration() {
@@ -17,8 +17,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -82,10 +82,8 @@ public class TimeTracker implements TenantLifecycleService {
             }
         }
 
-        if (activatedRecords == null || activatedRecords.length == 0) {
-            this.activatedRecords = Collections.emptySet();
-        } else {
-            this.activatedRecords = new HashSet<>();
+        this.activatedRecords = EnumSet.noneOf(TimeTrackerRecords.class);
+        if (activatedRecords != null) {
             for (String activatedRecord : activatedRecords) {
                 this.activatedRecords.add(TimeTrackerRecords.valueOf(activatedRecord));
             }
@@ -254,9 +252,44 @@ public class TimeTracker implements TenantLifecycleService {
         if (!isTrackable(recordName)) {
             return;
         }
-        final long timestamp = System.currentTimeMillis();
-        final Record record = new Record(timestamp, recordName, recordDescription, duration);
-        log(TechnicalLogSeverity.DEBUG, "Tracking record: " + record);
+        addRecord(new Record(System.currentTimeMillis(), recordName, recordDescription, duration));
+    }
+
+    /**
+     * Track a record having no field. Nothing is allocated when the record is not trackable, so this can be called on hot paths without checking
+     * {@link #isTrackable(TimeTrackerRecords)} first.
+     */
+    public void track(final TimeTrackerRecords recordName, final long duration) {
+        if (!isTrackable(recordName)) {
+            return;
+        }
+        addRecord(new Record(System.currentTimeMillis(), recordName, duration));
+    }
+
+    /**
+     * Track a record having one numeric field, see {@link #track(TimeTrackerRecords, long)}.
+     */
+    public void track(final TimeTrackerRecords recordName, final long duration, final long fieldValue) {
+        if (!isTrackable(recordName)) {
+            return;
+        }
+        addRecord(new Record(System.currentTimeMillis(), recordName, duration, fieldValue));
+    }
+
+    /**
+     * Track a record having two numeric fields, see {@link #track(TimeTrackerRecords, long)}.
+     */
+    public void track(final TimeTrackerRecords recordName, final long duration, final long firstFieldValue, final long secondFieldValue) {
+        if (!isTrackable(recordName)) {
+            return;
+        }
+        addRecord(new Record(System.currentTimeMillis(), recordName, duration, firstFieldValue, secondFieldValue));
+    }
+
+    private void addRecord(final Record record) {
+        if (logger.isLoggable(getClass(), TechnicalLogSeverity.DEBUG)) {
+            logger.log(getClass(), TechnicalLogSeverity.DEBUG, "Tracking record: " + record);
+        }
         synchronized (this) {
             records.add(record);
         }
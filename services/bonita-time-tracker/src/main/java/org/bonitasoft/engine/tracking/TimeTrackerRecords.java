@@ -13,6 +13,10 @@
  **/
 package org.bonitasoft.engine.tracking;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public enum TimeTrackerRecords {
 
     /**
@@ -62,4 +66,38 @@ public enum TimeTrackerRecords {
      */
     EVALUATE_EXPRESSIONS,
 
+    /**
+     * this key is used to track the execution of one state of a flow node, including the system comment. See FlowNodeExecutor.
+     */
+    FLOW_NODE_STATE_EXECUTION("flowNodeInstanceId", "stateId"),
+
+    /**
+     * this key is used to track the time spent waiting for the lock of a process instance before executing a work. <code>locked</code> is 0 when the lock was
+     * not obtained and the work is rescheduled.
+     */
+    LOCK_PROCESS_INSTANCE_WAIT("processInstanceId", "locked"),
+
+    /**
+     * this key is used to track the time between the creation of a work and the beginning of its execution, including the time spent in the work queue
+     */
+    WORK_QUEUE_WAIT,
+
+    /**
+     * this key is used to track the commit of the transaction of a work, from the before commit callbacks to the end of the commit
+     */
+    TRANSACTION_COMMIT;
+
+    private final String[] fieldNames;
+
+    TimeTrackerRecords(final String... fieldNames) {
+        this.fieldNames = fieldNames;
+    }
+
+    /**
+     * @return the names of the numeric fields given when tracking this record, in the order of their values
+     */
+    public List<String> getFieldNames() {
+        return Collections.unmodifiableList(Arrays.asList(fieldNames));
+    }
+
 }
@@ -13,6 +13,7 @@
  **/
 package org.bonitasoft.engine.tracking;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -127,6 +128,35 @@ public class TimeTrackerTest extends AbstractTimeTrackerTest {
         tracker.stop();
     }
 
+    @Test
+    public void trackRecordsWithFields() {
+        when(flushThread.isStarted()).thenReturn(true);
+        tracker = createTimeTracker(true, null, 10, 2, TimeTrackerRecords.FLOW_NODE_STATE_EXECUTION, TimeTrackerRecords.WORK_QUEUE_WAIT);
+        tracker.start();
+        tracker.track(TimeTrackerRecords.FLOW_NODE_STATE_EXECUTION, 100, 12L, 4L);
+        tracker.track(TimeTrackerRecords.WORK_QUEUE_WAIT, 200);
+        tracker.track(TimeTrackerRecords.LOCK_PROCESS_INSTANCE_WAIT, 300, 5L, 1L);
+
+        final List<Record> records = tracker.getRecordsCopy();
+        assertEquals(2, records.size());
+        assertEquals(TimeTrackerRecords.FLOW_NODE_STATE_EXECUTION, records.get(0).getName());
+        assertEquals(100L, records.get(0).getDuration());
+        assertArrayEquals(new long[] { 12L, 4L }, records.get(0).getFieldValues());
+        assertEquals("flowNodeInstanceId=12, stateId=4", records.get(0).getDescription());
+        assertEquals(TimeTrackerRecords.WORK_QUEUE_WAIT, records.get(1).getName());
+        assertEquals("", records.get(1).getDescription());
+        tracker.stop();
+    }
+
+    @Test
+    public void should_activate_record_when_none_was_activated() {
+        tracker = createTimeTracker(true, null, 2, 2);
+
+        tracker.activateRecord(REC);
+
+        assertEquals(1, tracker.getActivatedRecords().size());
+    }
+
     @Test
     public void should_not_track_when_not_enabled() {
         tracker = createTimeTracker(false, null, 10, 2, REC1, REC2);
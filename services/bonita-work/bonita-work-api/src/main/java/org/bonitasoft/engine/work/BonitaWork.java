@@ -32,6 +32,13 @@ public abstract class BonitaWork implements Runnable, Serializable {
 
     public abstract String getDescription();
 
+    /**
+     * @return the type of this work, used to aggregate the metrics of the work executions
+     */
+    public String getWorkType() {
+        return getClass().getSimpleName();
+    }
+
     /**
      * 
      * @return
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.work;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of the executions of a type of work on the current node.
+ *
+ * @since 7.2.0
+ */
+public class WorkExecutionMetrics implements Serializable {
+
+    private static final long serialVersionUID = 4460919286134505877L;
+
+    private final String workType;
+
+    private final long numberOfExecutions;
+
+    private final long numberOfFailures;
+
+    private final long numberOfRejections;
+
+    private final long totalWaitTime;
+
+    private final long maxWaitTime;
+
+    private final long totalExecutionTime;
+
+    private final long maxExecutionTime;
+
+    public WorkExecutionMetrics(final String workType, final long numberOfExecutions, final long numberOfFailures, final long numberOfRejections,
+            final long totalWaitTime, final long maxWaitTime, final long totalExecutionTime, final long maxExecutionTime) {
+        this.workType = workType;
+        this.numberOfExecutions = numberOfExecutions;
+        this.numberOfFailures = numberOfFailures;
+        this.numberOfRejections = numberOfRejections;
+        this.totalWaitTime = totalWaitTime;
+        this.maxWaitTime = maxWaitTime;
+        this.totalExecutionTime = totalExecutionTime;
+        this.maxExecutionTime = maxExecutionTime;
+    }
+
+    public String getWorkType() {
+        return workType;
+    }
+
+    public long getNumberOfExecutions() {
+        return numberOfExecutions;
+    }
+
+    public long getNumberOfFailures() {
+        return numberOfFailures;
+    }
+
+    /**
+     * @return the number of works that could not be queued because the work queue was full
+     */
+    public long getNumberOfRejections() {
+        return numberOfRejections;
+    }
+
+    /**
+     * @return the total time spent by the works in the queue before their execution, in milliseconds
+     */
+    public long getTotalWaitTime() {
+        return totalWaitTime;
+    }
+
+    /**
+     * @return the average time spent by a work in the queue before its execution, in milliseconds
+     */
+    public long getAverageWaitTime() {
+        return numberOfExecutions == 0 ? 0 : totalWaitTime / numberOfExecutions;
+    }
+
+    /**
+     * @return the longest time spent by a work in the queue before its execution, in milliseconds
+     */
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * @return the total duration of the executions, in milliseconds
+     */
+    public long getTotalExecutionTime() {
+        return totalExecutionTime;
+    }
+
+    /**
+     * @return the average duration of an execution, in milliseconds
+     */
+    public long getAverageExecutionTime() {
+        return numberOfExecutions == 0 ? 0 : totalExecutionTime / numberOfExecutions;
+    }
+
+    /**
+     * @return the duration of the longest execution, in milliseconds
+     */
+    public long getMaxExecutionTime() {
+        return maxExecutionTime;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkExecutionMetrics [workType=" + workType + ", numberOfExecutions=" + numberOfExecutions + ", numberOfFailures=" + numberOfFailures
+                + ", numberOfRejections=" + numberOfRejections + ", totalWaitTime=" + totalWaitTime + ", maxWaitTime=" + maxWaitTime
+                + ", totalExecutionTime=" + totalExecutionTime + ", maxExecutionTime=" + maxExecutionTime + "]";
+    }
+
+}
@@ -13,6 +13,8 @@
  **/
 package org.bonitasoft.engine.work;
 
+import java.util.Map;
+
 import org.bonitasoft.engine.commons.TenantLifecycleService;
 
 /**
@@ -58,4 +60,26 @@ public interface WorkService extends TenantLifecycleService {
      */
     void removeSynchronization();
 
+    /**
+     * Admission control of new load, e.g. the start of a process instance from the API: while the work queue is filled above its high-water mark, the
+     * caller is slowed down, up to a configured maximum delay, so that the works already committed are not rejected because the queue is full.
+     * It must be called before the transaction of the new load is opened, and the new load must be rejected when it returns false.
+     *
+     * @return false if the work queue is still above its high-water mark after the maximum delay
+     * @since 7.2.0
+     */
+    boolean awaitQueueCapacity();
+
+    /**
+     * @return the number of works waiting in the queue of the work service
+     * @since 7.2.0
+     */
+    int getQueueSize();
+
+    /**
+     * @return the metrics of the works executed since the work service started, by type of work
+     * @since 7.2.0
+     */
+    Map<String, WorkExecutionMetrics> getWorkExecutionMetrics();
+
 }
@@ -13,6 +13,7 @@
  **/
 package org.bonitasoft.engine.work;
 
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -37,4 +38,19 @@ public interface BonitaExecutorService extends ExecutorService {
      */
     public void notifyNodeStopped(String nodeName);
 
+    /**
+     * slow down the caller while the queue is filled above its high-water mark, see {@link WorkService#awaitQueueCapacity()}
+     */
+    public boolean awaitQueueCapacity();
+
+    /**
+     * @return the number of elements waiting in the queue
+     */
+    public int getQueueSize();
+
+    /**
+     * @return the metrics of the executed works, by type of work
+     */
+    public Map<String, WorkExecutionMetrics> getWorkExecutionMetrics();
+
 }
@@ -26,10 +26,38 @@ public abstract class BonitaRunnable implements Runnable, Serializable {
 
     private final long tenantId;
 
+    private transient WorkExecutionMonitor workExecutionMonitor;
+
+    private transient long submissionTime;
+
     public BonitaRunnable(final long tenantId) {
         this.tenantId = tenantId;
     }
 
+    /**
+     * Called by the executor when this runnable is put in its queue.
+     */
+    void submitted(final WorkExecutionMonitor workExecutionMonitor, final long submissionTime) {
+        this.workExecutionMonitor = workExecutionMonitor;
+        this.submissionTime = submissionTime;
+    }
+
+    /**
+     * @return the monitor of the executor this runnable was submitted to, or null if it was not submitted to a monitored executor
+     */
+    protected WorkExecutionMonitor getWorkExecutionMonitor() {
+        return workExecutionMonitor;
+    }
+
+    protected long getSubmissionTime() {
+        return submissionTime;
+    }
+
+    /**
+     * Count the works of this runnable as rejected.
+     */
+    protected abstract void rejected(WorkExecutionMonitor monitor);
+
     @Override
     public void run() {
         innerRun();
@@ -14,6 +14,7 @@
 package org.bonitasoft.engine.work;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
@@ -34,8 +35,16 @@ public class BonitaThreadPoolExecutor extends ThreadPoolExecutor implements Boni
 
     private final BlockingQueue<Runnable> workQueue;
 
+    private static final long ADMISSION_CHECK_INTERVAL_IN_MS = 10;
+
     private final TechnicalLoggerService logger;
 
+    private final WorkExecutionMonitor workExecutionMonitor;
+
+    private final int queueHighWaterMark;
+
+    private final long maxAdmissionDelayInMs;
+
     public BonitaThreadPoolExecutor(final int corePoolSize,
             final int maximumPoolSize,
             final long keepAliveTime,
@@ -43,9 +52,69 @@ public class BonitaThreadPoolExecutor extends ThreadPoolExecutor implements Boni
             final BlockingQueue<Runnable> workQueue,
             final ThreadFactory threadFactory,
             final RejectedExecutionHandler handler, final TechnicalLoggerService logger) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler, logger, new WorkExecutionMonitor(), Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * @param queueHighWaterMark
+     *        number of elements in the queue above which new load is slowed down, see {@link #awaitQueueCapacity()}
+     * @param maxAdmissionDelayInMs
+     *        maximum time a caller of {@link #awaitQueueCapacity()} is slowed down
+     */
+    public BonitaThreadPoolExecutor(final int corePoolSize,
+            final int maximumPoolSize,
+            final long keepAliveTime,
+            final TimeUnit unit,
+            final BlockingQueue<Runnable> workQueue,
+            final ThreadFactory threadFactory,
+            final RejectedExecutionHandler handler, final TechnicalLoggerService logger, final WorkExecutionMonitor workExecutionMonitor,
+            final int queueHighWaterMark, final long maxAdmissionDelayInMs) {
         super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
         this.workQueue = workQueue;
         this.logger = logger;
+        this.workExecutionMonitor = workExecutionMonitor;
+        this.queueHighWaterMark = queueHighWaterMark;
+        this.maxAdmissionDelayInMs = maxAdmissionDelayInMs;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (command instanceof BonitaRunnable) {
+            ((BonitaRunnable) command).submitted(workExecutionMonitor, System.currentTimeMillis());
+        }
+        super.execute(command);
+    }
+
+    @Override
+    public boolean awaitQueueCapacity() {
+        final long deadline = System.currentTimeMillis() + maxAdmissionDelayInMs;
+        while (workQueue.size() > queueHighWaterMark) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(Math.min(remaining, ADMISSION_CHECK_INTERVAL_IN_MS));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return workQueue.size();
+    }
+
+    @Override
+    public Map<String, WorkExecutionMetrics> getWorkExecutionMetrics() {
+        return workExecutionMonitor.getMetrics();
+    }
+
+    WorkExecutionMonitor getWorkExecutionMonitor() {
+        return workExecutionMonitor;
     }
 
     @Override
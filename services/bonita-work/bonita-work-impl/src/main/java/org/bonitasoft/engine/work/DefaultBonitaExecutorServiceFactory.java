@@ -32,6 +32,8 @@ import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
  * - If the queue is full, and the number of threads is less than the maxPoolSize, create a new thread to run tasks in.
  * - If the queue is full, and the number of threads is greater than or equal to maxPoolSize, reject the task.
  * When the current number of threads are > than corePoolSize, they are kept idle during keepAliveTimeSeconds
+ * The thread submitting a task never waits for room in the queue, it is the thread completing a transaction. New load is slowed down, then rejected, when the
+ * queue goes above queueHighWaterMark, before its transaction is opened, see {@link WorkService#awaitQueueCapacity()}.
  * 
  * @author Baptiste Mesta
  */
@@ -49,29 +51,51 @@ public class DefaultBonitaExecutorServiceFactory implements BonitaExecutorServic
 
     private final long tenantId;
 
+    private final int queueHighWaterMark;
+
+    private final long maxAdmissionDelayInMs;
+
     public DefaultBonitaExecutorServiceFactory(final TechnicalLoggerService logger, final long tenantId, final int corePoolSize, final int queueCapacity,
             final int maximumPoolSize,
             final long keepAliveTimeSeconds) {
+        this(logger, tenantId, corePoolSize, queueCapacity, maximumPoolSize, keepAliveTimeSeconds, queueCapacity, 0);
+    }
+
+    /**
+     * @param queueHighWaterMark
+     *        number of works in the queue above which new load is slowed down
+     * @param maxAdmissionDelayInMs
+     *        maximum time new load is slowed down while the queue is above its high-water mark
+     */
+    public DefaultBonitaExecutorServiceFactory(final TechnicalLoggerService logger, final long tenantId, final int corePoolSize, final int queueCapacity,
+            final int maximumPoolSize,
+            final long keepAliveTimeSeconds, final int queueHighWaterMark, final long maxAdmissionDelayInMs) {
         this.logger = logger;
         this.tenantId = tenantId;
         this.corePoolSize = corePoolSize;
         this.queueCapacity = queueCapacity;
         this.maximumPoolSize = maximumPoolSize;
         this.keepAliveTimeSeconds = keepAliveTimeSeconds;
+        this.queueHighWaterMark = queueHighWaterMark;
+        this.maxAdmissionDelayInMs = maxAdmissionDelayInMs;
     }
 
     @Override
     public BonitaExecutorService createExecutorService() {
         final BlockingQueue<Runnable> workQueue = new ArrayBlockingQueue<>(queueCapacity);
-        final RejectedExecutionHandler handler = new QueueRejectedExecutionHandler();
+        final WorkExecutionMonitor workExecutionMonitor = new WorkExecutionMonitor();
+        final RejectedExecutionHandler handler = new QueueRejectedExecutionHandler(workExecutionMonitor);
         final WorkerThreadFactory threadFactory = new WorkerThreadFactory("Bonita-Worker", tenantId, maximumPoolSize);
         return new BonitaThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTimeSeconds, TimeUnit.SECONDS, workQueue,
-                threadFactory, handler, logger);
+                threadFactory, handler, logger, workExecutionMonitor, queueHighWaterMark, maxAdmissionDelayInMs);
     }
 
     private final class QueueRejectedExecutionHandler implements RejectedExecutionHandler {
 
-        public QueueRejectedExecutionHandler() {
+        private final WorkExecutionMonitor workExecutionMonitor;
+
+        public QueueRejectedExecutionHandler(final WorkExecutionMonitor workExecutionMonitor) {
+            this.workExecutionMonitor = workExecutionMonitor;
         }
 
         @Override
@@ -80,6 +104,9 @@ public class DefaultBonitaExecutorServiceFactory implements BonitaExecutorServic
                 logger.log(getClass(), TechnicalLogSeverity.INFO, "Tried to run work " + task
                         + " but the work service is shutdown. work will be restarted with the node");
             } else {
+                if (task instanceof BonitaRunnable) {
+                    ((BonitaRunnable) task).rejected(workExecutionMonitor);
+                }
                 throw new RejectedExecutionException(
                         "Unable to run the task "
                                 + task
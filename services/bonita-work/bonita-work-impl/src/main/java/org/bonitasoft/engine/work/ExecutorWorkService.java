@@ -13,6 +13,8 @@
  **/
 package org.bonitasoft.engine.work;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.bonitasoft.engine.log.technical.TechnicalLogSeverity;
@@ -93,12 +95,15 @@ public class ExecutorWorkService implements WorkService {
             logExecutorStateWarn(work);
             return;
         }
+        final long tenantId;
         try {
-            work.setTenantId(sessionAccessor.getTenantId());
+            tenantId = sessionAccessor.getTenantId();
         } catch (final STenantIdNotSetException e) {
             throw new SWorkRegisterException("Unable to read tenant id from session.", e);
         }
-        executor.submit(work);
+        work.setTenantId(tenantId);
+        // run in a sequence of one work so that its execution is monitored like the works registered in a transaction
+        executor.submit(new SequenceRunnableExecutor(Collections.singletonList(work), tenantId, loggerService));
     }
 
     private AbstractWorkSynchronization getContinuationSynchronization() throws SWorkRegisterException {
@@ -194,4 +199,33 @@ public class ExecutorWorkService implements WorkService {
     public void removeSynchronization() {
         synchronizations.remove();
     }
+
+    @Override
+    public boolean awaitQueueCapacity() {
+        final BonitaExecutorService currentExecutor = executor;
+        if (currentExecutor == null) {
+            return true;
+        }
+        final boolean hasCapacity = currentExecutor.awaitQueueCapacity();
+        if (!hasCapacity && loggerService.isLoggable(getClass(), TechnicalLogSeverity.WARNING)) {
+            loggerService.log(getClass(), TechnicalLogSeverity.WARNING, "The work queue is still above its high-water mark, " + currentExecutor.getQueueSize()
+                    + " works are waiting to be executed.");
+        }
+        return hasCapacity;
+    }
+
+    @Override
+    public int getQueueSize() {
+        final BonitaExecutorService currentExecutor = executor;
+        return currentExecutor == null ? 0 : currentExecutor.getQueueSize();
+    }
+
+    @Override
+    public Map<String, WorkExecutionMetrics> getWorkExecutionMetrics() {
+        final BonitaExecutorService currentExecutor = executor;
+        if (currentExecutor == null) {
+            return Collections.emptyMap();
+        }
+        return currentExecutor.getWorkExecutionMetrics();
+    }
 }
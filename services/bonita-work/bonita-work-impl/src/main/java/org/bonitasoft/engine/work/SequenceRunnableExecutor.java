@@ -43,18 +43,33 @@ public class SequenceRunnableExecutor extends BonitaRunnable {
     public void innerRun() {
         for (final BonitaWork work : works) {
             if (!cancelled) {
+                final long startTime = System.currentTimeMillis();
+                boolean succeeded = false;
                 try {
                     work.run();
+                    succeeded = true;
                 } catch (final Exception t) {
                     if (loggerService.isLoggable(getClass(), TechnicalLogSeverity.ERROR)) {
                         loggerService.log(getClass(), TechnicalLogSeverity.ERROR,
                                 "Error while executing one work in the list of works : " + work.getDescription(), t);
                     }
+                } finally {
+                    final WorkExecutionMonitor monitor = getWorkExecutionMonitor();
+                    if (monitor != null) {
+                        monitor.executed(work.getWorkType(), startTime - getSubmissionTime(), System.currentTimeMillis() - startTime, succeeded);
+                    }
                 }
             }
         }
     }
 
+    @Override
+    protected void rejected(final WorkExecutionMonitor monitor) {
+        for (final BonitaWork work : works) {
+            monitor.rejected(work.getWorkType());
+        }
+    }
+
     @Override
     public void cancel() {
         cancelled = true;
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.work;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the metrics of the works executed by an executor, by type of work.
+ */
+public class WorkExecutionMonitor {
+
+    private final ConcurrentMap<String, WorkExecutions> executionsByType = new ConcurrentHashMap<String, WorkExecutions>();
+
+    public void executed(final String workType, final long waitTime, final long executionTime, final boolean succeeded) {
+        final WorkExecutions executions = getWorkExecutions(workType);
+        executions.count.incrementAndGet();
+        if (!succeeded) {
+            executions.failures.incrementAndGet();
+        }
+        executions.totalWaitTime.addAndGet(waitTime);
+        updateMax(executions.maxWaitTime, waitTime);
+        executions.totalExecutionTime.addAndGet(executionTime);
+        updateMax(executions.maxExecutionTime, executionTime);
+    }
+
+    public void rejected(final String workType) {
+        getWorkExecutions(workType).rejections.incrementAndGet();
+    }
+
+    public Map<String, WorkExecutionMetrics> getMetrics() {
+        final Map<String, WorkExecutionMetrics> metrics = new HashMap<String, WorkExecutionMetrics>();
+        for (final Entry<String, WorkExecutions> entry : executionsByType.entrySet()) {
+            final WorkExecutions executions = entry.getValue();
+            metrics.put(entry.getKey(), new WorkExecutionMetrics(entry.getKey(), executions.count.get(), executions.failures.get(),
+                    executions.rejections.get(), executions.totalWaitTime.get(), executions.maxWaitTime.get(), executions.totalExecutionTime.get(),
+                    executions.maxExecutionTime.get()));
+        }
+        return metrics;
+    }
+
+    private void updateMax(final AtomicLong max, final long value) {
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    private WorkExecutions getWorkExecutions(final String workType) {
+        WorkExecutions executions = executionsByType.get(workType);
+        if (executions == null) {
+            final WorkExecutions newExecutions = new WorkExecutions();
+            executions = executionsByType.putIfAbsent(workType, newExecutions);
+            if (executions == null) {
+                executions = newExecutions;
+            }
+        }
+        return executions;
+    }
+
+    private static final class WorkExecutions {
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicLong failures = new AtomicLong();
+
+        private final AtomicLong rejections = new AtomicLong();
+
+        private final AtomicLong totalWaitTime = new AtomicLong();
+
+        private final AtomicLong maxWaitTime = new AtomicLong();
+
+        private final AtomicLong totalExecutionTime = new AtomicLong();
+
+        private final AtomicLong maxExecutionTime = new AtomicLong();
+
+    }
+
+}
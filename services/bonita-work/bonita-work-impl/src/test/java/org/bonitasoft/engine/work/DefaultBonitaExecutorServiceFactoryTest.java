@@ -14,13 +14,36 @@
 package org.bonitasoft.engine.work;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.bonitasoft.engine.log.technical.TechnicalLoggerService;
+import org.junit.After;
 import org.junit.Test;
 
 public class DefaultBonitaExecutorServiceFactoryTest {
 
+    private final TechnicalLoggerService logger = mock(TechnicalLoggerService.class);
+
+    private final CountDownLatch blockWorker = new CountDownLatch(1);
+
+    private BonitaExecutorService executorService;
+
+    @After
+    public void after() throws Exception {
+        blockWorker.countDown();
+        if (executorService != null) {
+            executorService.shutdownAndEmptyQueue();
+            executorService.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void ThreadNameInExecutorServiceShouldContainsTenantId() {
         long tenantId = 999;
@@ -38,4 +61,102 @@ public class DefaultBonitaExecutorServiceFactoryTest {
         String name = ((ThreadPoolExecutor) createExecutorService).getThreadFactory().newThread(r).getName();
         assertThat(name).as("thread name should contains the tenantId").contains(Long.toString(tenantId));
     }
+
+    @Test
+    public void should_record_wait_and_execution_metrics_by_work_type() throws Exception {
+        executorService = new DefaultBonitaExecutorServiceFactory(logger, 1, 1, 10, 1, 10).createExecutorService();
+
+        final CountDownLatch executed = new CountDownLatch(1);
+        executorService.submit(sequenceOf(new CountDownWork(executed)));
+        executed.await(5, TimeUnit.SECONDS);
+        executorService.shutdownAndEmptyQueue();
+        executorService.awaitTermination(5, TimeUnit.SECONDS);
+
+        final Map<String, WorkExecutionMetrics> metrics = executorService.getWorkExecutionMetrics();
+        assertThat(metrics).containsKey("CountDownWork");
+        assertThat(metrics.get("CountDownWork").getNumberOfExecutions()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_reject_works_without_waiting_when_queue_is_full() throws Exception {
+        executorService = new DefaultBonitaExecutorServiceFactory(logger, 1, 1, 1, 1, 10, 1, 0).createExecutorService();
+        executorService.submit(sequenceOf(new BlockingWork(blockWorker)));
+        executorService.submit(sequenceOf(new BlockingWork(blockWorker)));
+
+        try {
+            executorService.submit(sequenceOf(new BlockingWork(blockWorker)));
+            fail("the work should be rejected");
+        } catch (final RejectedExecutionException e) {
+            assertThat(executorService.getWorkExecutionMetrics().get("BlockingWork").getNumberOfRejections()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void should_slow_down_new_load_while_queue_is_above_high_water_mark() throws Exception {
+        executorService = new DefaultBonitaExecutorServiceFactory(logger, 1, 1, 10, 1, 10, 1, 50).createExecutorService();
+        executorService.submit(sequenceOf(new BlockingWork(blockWorker)));
+        executorService.submit(sequenceOf(new BlockingWork(blockWorker)));
+        executorService.submit(sequenceOf(new BlockingWork(blockWorker)));
+
+        final long startTime = System.currentTimeMillis();
+        assertThat(executorService.awaitQueueCapacity()).isFalse();
+        assertThat(System.currentTimeMillis() - startTime).isGreaterThanOrEqualTo(50);
+
+        blockWorker.countDown();
+        assertThat(executorService.awaitQueueCapacity()).isTrue();
+    }
+
+    private SequenceRunnableExecutor sequenceOf(final BonitaWork work) {
+        return new SequenceRunnableExecutor(Collections.singletonList(work), 1, logger);
+    }
+
+    private static class BlockingWork extends BonitaWork {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CountDownLatch latch;
+
+        BlockingWork(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public String getDescription() {
+            return "blocking work";
+        }
+
+        @Override
+        public void work(final Map<String, Object> context) throws Exception {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void handleFailure(final Exception e, final Map<String, Object> context) {
+        }
+    }
+
+    private static class CountDownWork extends BonitaWork {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CountDownLatch latch;
+
+        CountDownWork(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public String getDescription() {
+            return "count down work";
+        }
+
+        @Override
+        public void work(final Map<String, Object> context) {
+            latch.countDown();
+        }
+
+        @Override
+        public void handleFailure(final Exception e, final Map<String, Object> context) {
+        }
+    }
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation
+ * version 2.1 of the License.
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * program; if not, write to the Free Software Foundation, Inc., 51 Franklin Street, Fifth
+ * Floor, Boston, MA 02110-1301, USA.
+ **/
+package org.bonitasoft.engine.work;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+public class WorkExecutionMonitorTest {
+
+    private final WorkExecutionMonitor monitor = new WorkExecutionMonitor();
+
+    @Test
+    public void should_aggregate_executions_by_work_type() {
+        monitor.executed("ExecuteFlowNodeWork", 10, 100, true);
+        monitor.executed("ExecuteFlowNodeWork", 30, 50, false);
+        monitor.executed("NotifyChildFinishedWork", 5, 20, true);
+
+        final Map<String, WorkExecutionMetrics> metrics = monitor.getMetrics();
+
+        assertThat(metrics).hasSize(2);
+        final WorkExecutionMetrics flowNodeWorks = metrics.get("ExecuteFlowNodeWork");
+        assertThat(flowNodeWorks.getNumberOfExecutions()).isEqualTo(2);
+        assertThat(flowNodeWorks.getNumberOfFailures()).isEqualTo(1);
+        assertThat(flowNodeWorks.getTotalWaitTime()).isEqualTo(40);
+        assertThat(flowNodeWorks.getMaxWaitTime()).isEqualTo(30);
+        assertThat(flowNodeWorks.getAverageWaitTime()).isEqualTo(20);
+        assertThat(flowNodeWorks.getTotalExecutionTime()).isEqualTo(150);
+        assertThat(flowNodeWorks.getMaxExecutionTime()).isEqualTo(100);
+        assertThat(metrics.get("NotifyChildFinishedWork").getNumberOfExecutions()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_count_rejections() {
+        monitor.rejected("ExecuteFlowNodeWork");
+        monitor.rejected("ExecuteFlowNodeWork");
+
+        final WorkExecutionMetrics metrics = monitor.getMetrics().get("ExecuteFlowNodeWork");
+
+        assertThat(metrics.getNumberOfRejections()).isEqualTo(2);
+        assertThat(metrics.getNumberOfExecutions()).isEqualTo(0);
+        assertThat(metrics.getAverageExecutionTime()).isEqualTo(0);
+    }
+
+}